@@ -109,6 +109,11 @@ public class CachedChannelProvider implements SeekableChannelsProvider {
         return wrappedProvider.getInputStream(channel, sizeHint);
     }
 
+    @Override
+    public void prefetch(@NotNull final URI uri, @NotNull final long[] offsets, @NotNull final long[] lengths) {
+        wrappedProvider.prefetch(uri, offsets, lengths);
+    }
+
     @Override
     public final CompletableOutputStream getOutputStream(@NotNull final URI uri, final int bufferSizeHint)
             throws IOException {
@@ -90,6 +90,18 @@ public interface SeekableChannelsProvider extends SafeCloseable {
      */
     InputStream getInputStream(SeekableByteChannel channel, int sizeHint) throws IOException;
 
+    /**
+     * Hint that the given byte ranges of {@code uri} will be read soon. Implementations backed by high-latency storage
+     * may use this to fetch the ranges in advance, for example by coalescing adjacent ranges into fewer, larger
+     * requests. This method does not block on fetching, and failures to prefetch are not reported; they will be
+     * encountered again when the data is actually read. The default implementation does nothing.
+     *
+     * @param uri the URI to read from
+     * @param offsets the starting offsets of the ranges, in bytes
+     * @param lengths the lengths of the ranges, in bytes, parallel to {@code offsets}
+     */
+    default void prefetch(@NotNull final URI uri, @NotNull final long[] offsets, @NotNull final long[] lengths) {}
+
     /**
      * Creates a {@link CompletableOutputStream} to write to the given URI.
      *
@@ -0,0 +1,59 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.util.profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread counters of requests sent to remote storage, such as GET requests sent to an object store. Performance
+ * entries sample the counters of the thread they run on when they start and end, as they do for
+ * {@link ThreadProfiler#getCurrentThreadAllocatedBytes() allocated bytes}, so that requests are attributed to the
+ * operation and query that caused them.
+ * <p>
+ * Requests sent asynchronously on behalf of a thread should be {@link #record(long) recorded} against the counters
+ * {@link #forCurrentThread() captured} on that thread when the work was requested. Such requests are attributed to
+ * whichever operation that thread is running when they are sent. Counters may be recorded concurrently from any
+ * thread.
+ */
+public final class RemoteReadCounters {
+
+    private static final ThreadLocal<RemoteReadCounters> CURRENT_THREAD_COUNTERS =
+            ThreadLocal.withInitial(RemoteReadCounters::new);
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private RemoteReadCounters() {}
+
+    /**
+     * @return The counters for the current thread
+     */
+    public static RemoteReadCounters forCurrentThread() {
+        return CURRENT_THREAD_COUNTERS.get();
+    }
+
+    /**
+     * Record a request for {@code numBytes} bytes.
+     *
+     * @param numBytes The number of bytes requested
+     */
+    public void record(final long numBytes) {
+        requests.incrementAndGet();
+        bytes.addAndGet(numBytes);
+    }
+
+    /**
+     * @return The total number of requests recorded against these counters
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return The total number of bytes requested by the requests recorded against these counters
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+}
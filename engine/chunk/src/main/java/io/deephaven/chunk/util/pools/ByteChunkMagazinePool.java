@@ -0,0 +1,163 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit CharChunkMagazinePool and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.chunk.util.pools;
+
+import io.deephaven.util.type.ArrayTypeUtils;
+import io.deephaven.chunk.attributes.Any;
+import io.deephaven.chunk.*;
+import org.jetbrains.annotations.NotNull;
+
+import static io.deephaven.chunk.util.pools.ChunkPoolConstants.*;
+
+/**
+ * {@link ChunkPool} implementation for chunks of bytes, using per-thread magazines and a byte budget rather than soft
+ * references.
+ */
+@SuppressWarnings("rawtypes")
+public final class ByteChunkMagazinePool implements ByteChunkPool {
+
+    private final WritableByteChunk<Any> EMPTY = WritableByteChunk.writableChunkWrap(ArrayTypeUtils.EMPTY_BYTE_ARRAY);
+
+    /**
+     * Sub-pools by power-of-two sizes for {@link WritableByteChunk}s.
+     */
+    private final MagazinePool<WritableByteChunk>[] writableByteChunks;
+
+    /**
+     * Sub-pool of {@link ResettableByteChunk}s.
+     */
+    private final MagazinePool<ResettableByteChunk> resettableByteChunks;
+
+    /**
+     * Sub-pool of {@link ResettableWritableByteChunk}s.
+     */
+    private final MagazinePool<ResettableWritableByteChunk> resettableWritableByteChunks;
+
+    ByteChunkMagazinePool(@NotNull final ChunkPoolStatistics statistics) {
+        final int bytesPerElement = MagazinePool.bytesPerElement(statistics.getChunkType());
+        // noinspection unchecked
+        writableByteChunks = new MagazinePool[NUM_POOLED_CHUNK_CAPACITIES];
+        for (int pcci = 0; pcci < NUM_POOLED_CHUNK_CAPACITIES; ++pcci) {
+            final int chunkLog2Capacity = pcci + SMALLEST_POOLED_CHUNK_LOG2_CAPACITY;
+            final int chunkCapacity = 1 << chunkLog2Capacity;
+            writableByteChunks[pcci] = new MagazinePool<>(
+                    SUB_POOL_MAGAZINE_CAPACITY,
+                    SUB_POOL_DEPOT_CAPACITY,
+                    (long) chunkCapacity * bytesPerElement,
+                    statistics,
+                    () -> ChunkPoolInstrumentation
+                            .getAndRecord(() -> WritableByteChunk.makeWritableChunkForPool(chunkCapacity)),
+                    (final WritableByteChunk chunk) -> chunk.setSize(chunkCapacity));
+        }
+        resettableByteChunks = new MagazinePool<>(
+                SUB_POOL_MAGAZINE_CAPACITY,
+                SUB_POOL_DEPOT_CAPACITY,
+                MagazinePool.RESETTABLE_CHUNK_BYTES,
+                statistics,
+                () -> ChunkPoolInstrumentation.getAndRecord(ResettableByteChunk::makeResettableChunkForPool),
+                ResettableByteChunk::clear);
+        resettableWritableByteChunks = new MagazinePool<>(
+                SUB_POOL_MAGAZINE_CAPACITY,
+                SUB_POOL_DEPOT_CAPACITY,
+                MagazinePool.RESETTABLE_CHUNK_BYTES,
+                statistics,
+                () -> ChunkPoolInstrumentation.getAndRecord(ResettableWritableByteChunk::makeResettableChunkForPool),
+                ResettableWritableByteChunk::clear);
+    }
+
+    @Override
+    public ChunkPool asChunkPool() {
+        return new ChunkPool() {
+            @Override
+            public <ATTR extends Any> WritableChunk<ATTR> takeWritableChunk(final int capacity) {
+                return takeWritableByteChunk(capacity);
+            }
+
+            @Override
+            public <ATTR extends Any> void giveWritableChunk(@NotNull final WritableChunk<ATTR> writableChunk) {
+                giveWritableByteChunk(writableChunk.asWritableByteChunk());
+            }
+
+            @Override
+            public <ATTR extends Any> ResettableReadOnlyChunk<ATTR> takeResettableChunk() {
+                return takeResettableByteChunk();
+            }
+
+            @Override
+            public <ATTR extends Any> void giveResettableChunk(
+                    @NotNull final ResettableReadOnlyChunk<ATTR> resettableChunk) {
+                giveResettableByteChunk(resettableChunk.asResettableByteChunk());
+            }
+
+            @Override
+            public <ATTR extends Any> ResettableWritableChunk<ATTR> takeResettableWritableChunk() {
+                return takeResettableWritableByteChunk();
+            }
+
+            @Override
+            public <ATTR extends Any> void giveResettableWritableChunk(
+                    @NotNull final ResettableWritableChunk<ATTR> resettableWritableChunk) {
+                giveResettableWritableByteChunk(resettableWritableChunk.asResettableWritableByteChunk());
+            }
+        };
+    }
+
+    @Override
+    public <ATTR extends Any> WritableByteChunk<ATTR> takeWritableByteChunk(final int capacity) {
+        if (capacity == 0) {
+            // noinspection unchecked
+            return (WritableByteChunk<ATTR>) EMPTY;
+        }
+        final int poolIndexForTake = getPoolIndexForTake(checkCapacityBounds(capacity));
+        if (poolIndexForTake >= 0) {
+            // noinspection resource
+            final WritableByteChunk result = writableByteChunks[poolIndexForTake].take();
+            result.setSize(capacity);
+            // noinspection unchecked
+            return ChunkPoolReleaseTracking.onTake(result);
+        }
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(WritableByteChunk.makeWritableChunkForPool(capacity));
+    }
+
+    @Override
+    public void giveWritableByteChunk(@NotNull final WritableByteChunk<?> writableByteChunk) {
+        if (writableByteChunk == EMPTY || writableByteChunk.isAlias(EMPTY)) {
+            return;
+        }
+        ChunkPoolReleaseTracking.onGive(writableByteChunk);
+        final int capacity = writableByteChunk.capacity();
+        final int poolIndexForGive = getPoolIndexForGive(checkCapacityBounds(capacity));
+        if (poolIndexForGive >= 0) {
+            writableByteChunks[poolIndexForGive].give(writableByteChunk);
+        }
+    }
+
+    @Override
+    public <ATTR extends Any> ResettableByteChunk<ATTR> takeResettableByteChunk() {
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(resettableByteChunks.take());
+    }
+
+    @Override
+    public void giveResettableByteChunk(@NotNull final ResettableByteChunk resettableByteChunk) {
+        resettableByteChunks.give(ChunkPoolReleaseTracking.onGive(resettableByteChunk));
+    }
+
+    @Override
+    public <ATTR extends Any> ResettableWritableByteChunk<ATTR> takeResettableWritableByteChunk() {
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(resettableWritableByteChunks.take());
+    }
+
+    @Override
+    public void giveResettableWritableByteChunk(
+            @NotNull final ResettableWritableByteChunk resettableWritableByteChunk) {
+        resettableWritableByteChunks.give(ChunkPoolReleaseTracking.onGive(resettableWritableByteChunk));
+    }
+}
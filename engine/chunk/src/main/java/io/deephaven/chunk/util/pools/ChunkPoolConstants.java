@@ -71,5 +71,15 @@ public final class ChunkPoolConstants {
 
     static final int SUB_POOL_SEGMENT_CAPACITY = 10;
 
+    /**
+     * The number of chunks per magazine in the per-thread caches of magazine-based pools.
+     */
+    static final int SUB_POOL_MAGAZINE_CAPACITY = SUB_POOL_SEGMENT_CAPACITY;
+
+    /**
+     * The maximum number of magazines held by the shared depot of each magazine-based sub-pool.
+     */
+    static final int SUB_POOL_DEPOT_CAPACITY = 64;
+
     private ChunkPoolConstants() {}
 }
@@ -3,19 +3,24 @@
 //
 package io.deephaven.chunk.util.pools;
 
+import io.deephaven.chunk.ChunkType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * Static callback holder for pooled chunk allocation.
+ * Static callback holder for pooled chunk allocation, and registry for pool statistics.
  */
 public class ChunkPoolInstrumentation {
 
     private static Function<Supplier<?>, ?> allocationRecorder = Supplier::get;
 
+    private static final Map<ChunkType, ChunkPoolStatistics> statistics = new ConcurrentHashMap<>();
+
     /**
      * Set an allocation recorder for this process' {@link ChunkPool chunk pools}.
      *
@@ -35,4 +40,25 @@ public class ChunkPoolInstrumentation {
         // noinspection unchecked
         return (RETURN_TYPE) allocationRecorder.apply(allocationProcedure);
     }
+
+    /**
+     * Get the statistics for this process' shared {@link ChunkPool chunk pools} of the specified type. Statistics are
+     * only maintained when {@link MultiChunkPool} is configured to use magazine-based pools.
+     *
+     * @param chunkType The chunk type
+     * @return The statistics, or {@code null} if none are maintained for {@code chunkType}
+     */
+    @Nullable
+    public static ChunkPoolStatistics getStatistics(@NotNull final ChunkType chunkType) {
+        return statistics.get(chunkType);
+    }
+
+    /**
+     * Publish the statistics for a chunk type's shared pools.
+     *
+     * @param chunkPoolStatistics The statistics to publish
+     */
+    static void publishStatistics(@NotNull final ChunkPoolStatistics chunkPoolStatistics) {
+        statistics.put(chunkPoolStatistics.getChunkType(), chunkPoolStatistics);
+    }
 }
@@ -0,0 +1,131 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.chunk.util.pools;
+
+import io.deephaven.base.verify.Require;
+import io.deephaven.chunk.ChunkType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte budget and usage statistics for the magazine-based {@link ChunkPool chunk pools} of a single {@link ChunkType}.
+ * Instances are published via {@link ChunkPoolInstrumentation#getStatistics(ChunkType)}.
+ */
+public final class ChunkPoolStatistics {
+
+    private final ChunkType chunkType;
+    private final long budgetBytes;
+
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+
+    ChunkPoolStatistics(@NotNull final ChunkType chunkType, final long budgetBytes) {
+        this.chunkType = chunkType;
+        this.budgetBytes = Require.geqZero(budgetBytes, "budgetBytes");
+    }
+
+    /**
+     * @return The {@link ChunkType} these statistics describe
+     */
+    public ChunkType getChunkType() {
+        return chunkType;
+    }
+
+    /**
+     * @return The maximum number of bytes the pools for this chunk type may retain
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * @return The estimated number of bytes currently retained by the pools for this chunk type
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * @return The number of takes satisfied by a pooled chunk
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of takes that required a new allocation
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of gives that were dropped rather than retained, because the budget or the pool's capacity
+     *         was exhausted
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    /**
+     * Attempt to charge {@code bytes} against the budget.
+     *
+     * @param bytes The number of bytes to charge
+     * @return Whether the charge was accepted; if not, the caller must not retain the item
+     */
+    boolean tryRetain(final long bytes) {
+        long current;
+        do {
+            current = retainedBytes.get();
+            if (current + bytes > budgetBytes) {
+                discards.increment();
+                return false;
+            }
+        } while (!retainedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    /**
+     * Release {@code bytes} previously charged by {@link #tryRetain(long)} for an item that was dropped.
+     *
+     * @param bytes The number of bytes to release
+     */
+    void onDiscard(final long bytes) {
+        retainedBytes.addAndGet(-bytes);
+        discards.increment();
+    }
+
+    /**
+     * Record a take satisfied by a retained item, releasing its charge.
+     *
+     * @param bytes The number of bytes to release
+     */
+    void onHit(final long bytes) {
+        retainedBytes.addAndGet(-bytes);
+        hits.increment();
+    }
+
+    /**
+     * Record a take that required a new allocation.
+     */
+    void onMiss() {
+        misses.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkPoolStatistics{" +
+                "chunkType=" + chunkType +
+                ", budgetBytes=" + budgetBytes +
+                ", retainedBytes=" + getRetainedBytes() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", discards=" + getDiscards() +
+                '}';
+    }
+}
@@ -0,0 +1,311 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.chunk.util.pools;
+
+import io.deephaven.base.verify.Require;
+import io.deephaven.chunk.ChunkType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Highly-concurrent pool of uniformly-sized elements, in the style of a magazine allocator. Each thread caches up to
+ * two magazines (small array-backed stacks) of elements, and exchanges whole magazines with a global depot only when
+ * its own are exhausted or full. The depot is a fixed set of slots manipulated with atomic swaps, so no operation on
+ * the pool ever blocks.
+ * <p>
+ * Unlike {@link io.deephaven.util.datastructures.SegmentedSoftPool}, retained elements are strongly reachable, and the
+ * memory held by the pool is instead bounded by the byte budget of the supplied {@link ChunkPoolStatistics}. Elements
+ * given beyond the budget are dropped for the garbage collector. Once the pool has warmed up, neither
+ * {@link #take()} nor {@link #give(Object)} allocates.
+ */
+final class MagazinePool<ELEMENT_TYPE> {
+
+    /**
+     * Returns the magazines cached by terminated threads to the depot.
+     */
+    private static final Cleaner THREAD_CACHE_CLEANER = Cleaner.create();
+
+    /**
+     * Estimated footprint of a pooled resettable chunk, which holds no storage of its own.
+     */
+    static final long RESETTABLE_CHUNK_BYTES = 32;
+
+    /**
+     * Get the estimated number of bytes per element of a writable chunk's backing storage.
+     *
+     * @param chunkType The chunk type
+     * @return The estimated number of bytes per element
+     */
+    static int bytesPerElement(@NotNull final ChunkType chunkType) {
+        switch (chunkType) {
+            case Boolean:
+            case Byte:
+                return Byte.BYTES;
+            case Char:
+                return Character.BYTES;
+            case Short:
+                return Short.BYTES;
+            case Int:
+            case Float:
+                return Integer.BYTES;
+            case Long:
+            case Double:
+            case Object:
+                return Long.BYTES;
+            default:
+                throw new IllegalArgumentException("Unexpected chunk type " + chunkType);
+        }
+    }
+
+    private final int magazineCapacity;
+    private final long elementBytes;
+    private final ChunkPoolStatistics statistics;
+    private final Supplier<ELEMENT_TYPE> creationProcedure;
+    private final Consumer<ELEMENT_TYPE> cleanupProcedure;
+
+    /**
+     * Depot slots holding non-empty magazines.
+     */
+    private final AtomicReferenceArray<Magazine<ELEMENT_TYPE>> loadedMagazines;
+
+    /**
+     * Depot slots holding empty magazines, retained so that steady-state operation does not allocate them.
+     */
+    private final AtomicReferenceArray<Magazine<ELEMENT_TYPE>> emptyMagazines;
+
+    private final ThreadLocal<ThreadCacheHolder<ELEMENT_TYPE>> threadCaches;
+
+    /**
+     * Create a new pool.
+     *
+     * @param magazineCapacity The number of elements per magazine
+     * @param depotCapacity The maximum number of loaded (and, separately, empty) magazines held by the depot
+     * @param elementBytes The estimated footprint of each element, charged against the budget while retained
+     * @param statistics The budget and statistics to update, typically shared by all pools for a chunk type
+     * @param creationProcedure Creation procedure for new elements
+     * @param cleanupProcedure Cleanup procedure for returned elements. If null, no cleanup will be performed in
+     *        {@link #give(Object)}.
+     */
+    MagazinePool(
+            final int magazineCapacity,
+            final int depotCapacity,
+            final long elementBytes,
+            @NotNull final ChunkPoolStatistics statistics,
+            @NotNull final Supplier<ELEMENT_TYPE> creationProcedure,
+            @Nullable final Consumer<ELEMENT_TYPE> cleanupProcedure) {
+        this.magazineCapacity = Require.gtZero(magazineCapacity, "magazineCapacity");
+        this.elementBytes = Require.geqZero(elementBytes, "elementBytes");
+        this.statistics = statistics;
+        this.creationProcedure = creationProcedure;
+        this.cleanupProcedure = cleanupProcedure;
+        loadedMagazines = new AtomicReferenceArray<>(Require.gtZero(depotCapacity, "depotCapacity"));
+        emptyMagazines = new AtomicReferenceArray<>(depotCapacity);
+        threadCaches = ThreadLocal.withInitial(this::makeThreadCacheHolder);
+    }
+
+    /**
+     * Take an element from the pool, or make a new one if the pool is exhausted. The element belongs to the caller, and
+     * the caller may keep it rather than return it to the pool if desired.
+     *
+     * @return An element from the pool, possibly newly-constructed
+     */
+    ELEMENT_TYPE take() {
+        final ThreadCache<ELEMENT_TYPE> cache = threadCaches.get().cache;
+        if (cache.loaded.empty()) {
+            if (!cache.previous.empty()) {
+                cache.swap();
+            } else {
+                final Magazine<ELEMENT_TYPE> loaded = takeFromDepot(loadedMagazines);
+                if (loaded == null) {
+                    statistics.onMiss();
+                    return creationProcedure.get();
+                }
+                // Both of our magazines are empty; keep one and return the other for use by giving threads
+                giveToDepot(emptyMagazines, cache.previous);
+                cache.previous = cache.loaded;
+                cache.loaded = loaded;
+            }
+        }
+        statistics.onHit(elementBytes);
+        return cache.loaded.take();
+    }
+
+    /**
+     * Give an element to the pool. Neither the caller nor any other thread may interact with the element again until it
+     * has been returned by a subsequent call to {@link #take()}. The element will be cleaned if a cleanup procedure was
+     * provided at pool construction time, unless the pool's budget is exhausted and it is simply dropped.
+     *
+     * @param element The element to give to the pool
+     */
+    void give(@NotNull final ELEMENT_TYPE element) {
+        if (!statistics.tryRetain(elementBytes)) {
+            return;
+        }
+        if (cleanupProcedure != null) {
+            cleanupProcedure.accept(element);
+        }
+        final ThreadCache<ELEMENT_TYPE> cache = threadCaches.get().cache;
+        if (cache.loaded.full()) {
+            if (!cache.previous.full()) {
+                cache.swap();
+            } else {
+                if (!giveToDepot(loadedMagazines, cache.previous)) {
+                    statistics.onDiscard(elementBytes);
+                    return;
+                }
+                final Magazine<ELEMENT_TYPE> empty = takeFromDepot(emptyMagazines);
+                cache.previous = cache.loaded;
+                cache.loaded = empty == null ? new Magazine<>(magazineCapacity) : empty;
+            }
+        }
+        cache.loaded.give(element);
+    }
+
+    private ThreadCacheHolder<ELEMENT_TYPE> makeThreadCacheHolder() {
+        final ThreadCache<ELEMENT_TYPE> cache = new ThreadCache<>(magazineCapacity);
+        final ThreadCacheHolder<ELEMENT_TYPE> holder = new ThreadCacheHolder<>(cache);
+        // The cleanup action must not capture the holder, or it would never become unreachable
+        THREAD_CACHE_CLEANER.register(holder, () -> releaseThreadCache(cache));
+        return holder;
+    }
+
+    /**
+     * Hand the magazines of a terminated thread to the depot, or drop them if the depot is full.
+     *
+     * @param cache The terminated thread's cache
+     */
+    private void releaseThreadCache(@NotNull final ThreadCache<ELEMENT_TYPE> cache) {
+        releaseMagazine(cache.loaded);
+        releaseMagazine(cache.previous);
+    }
+
+    private void releaseMagazine(@NotNull final Magazine<ELEMENT_TYPE> magazine) {
+        if (magazine.empty()) {
+            giveToDepot(emptyMagazines, magazine);
+            return;
+        }
+        if (!giveToDepot(loadedMagazines, magazine)) {
+            while (!magazine.empty()) {
+                magazine.take();
+                statistics.onDiscard(elementBytes);
+            }
+        }
+    }
+
+    /**
+     * Remove a magazine from any occupied slot of {@code depot}.
+     *
+     * @param depot The depot slots to search
+     * @return The magazine, or null if all slots were empty
+     */
+    private static <ELEMENT_TYPE> Magazine<ELEMENT_TYPE> takeFromDepot(
+            @NotNull final AtomicReferenceArray<Magazine<ELEMENT_TYPE>> depot) {
+        final int numSlots = depot.length();
+        final int firstSlot = ThreadLocalRandom.current().nextInt(numSlots);
+        for (int si = 0; si < numSlots; ++si) {
+            final int slot = (firstSlot + si) % numSlots;
+            if (depot.get(slot) != null) {
+                final Magazine<ELEMENT_TYPE> magazine = depot.getAndSet(slot, null);
+                if (magazine != null) {
+                    return magazine;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Place {@code magazine} in any unoccupied slot of {@code depot}.
+     *
+     * @param depot The depot slots to search
+     * @param magazine The magazine to place
+     * @return Whether an unoccupied slot was found
+     */
+    private static <ELEMENT_TYPE> boolean giveToDepot(
+            @NotNull final AtomicReferenceArray<Magazine<ELEMENT_TYPE>> depot,
+            @NotNull final Magazine<ELEMENT_TYPE> magazine) {
+        final int numSlots = depot.length();
+        final int firstSlot = ThreadLocalRandom.current().nextInt(numSlots);
+        for (int si = 0; si < numSlots; ++si) {
+            final int slot = (firstSlot + si) % numSlots;
+            if (depot.get(slot) == null && depot.compareAndSet(slot, null, magazine)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A simple array-backed stack of available elements.
+     */
+    private static final class Magazine<ELEMENT_TYPE> {
+
+        private final ELEMENT_TYPE[] storage;
+
+        private int available;
+
+        private Magazine(final int capacity) {
+            // noinspection unchecked
+            storage = (ELEMENT_TYPE[]) new Object[capacity];
+        }
+
+        private boolean empty() {
+            return available == 0;
+        }
+
+        private boolean full() {
+            return available == storage.length;
+        }
+
+        private ELEMENT_TYPE take() {
+            final ELEMENT_TYPE element = storage[--available];
+            storage[available] = null;
+            return element;
+        }
+
+        private void give(@NotNull final ELEMENT_TYPE element) {
+            storage[available++] = element;
+        }
+    }
+
+    /**
+     * The magazines owned by a single thread.
+     */
+    private static final class ThreadCache<ELEMENT_TYPE> {
+
+        private Magazine<ELEMENT_TYPE> loaded;
+        private Magazine<ELEMENT_TYPE> previous;
+
+        private ThreadCache(final int magazineCapacity) {
+            loaded = new Magazine<>(magazineCapacity);
+            previous = new Magazine<>(magazineCapacity);
+        }
+
+        private void swap() {
+            final Magazine<ELEMENT_TYPE> temp = loaded;
+            loaded = previous;
+            previous = temp;
+        }
+    }
+
+    /**
+     * The per-thread value whose reachability tracks the lifetime of its thread, so that the wrapped
+     * {@link ThreadCache} can be reclaimed after the thread terminates.
+     */
+    private static final class ThreadCacheHolder<ELEMENT_TYPE> {
+
+        private final ThreadCache<ELEMENT_TYPE> cache;
+
+        private ThreadCacheHolder(@NotNull final ThreadCache<ELEMENT_TYPE> cache) {
+            this.cache = cache;
+        }
+    }
+}
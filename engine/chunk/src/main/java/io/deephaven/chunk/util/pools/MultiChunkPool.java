@@ -32,6 +32,7 @@ import io.deephaven.chunk.WritableLongChunk;
 import io.deephaven.chunk.WritableObjectChunk;
 import io.deephaven.chunk.WritableShortChunk;
 import io.deephaven.chunk.attributes.Any;
+import io.deephaven.configuration.Configuration;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
@@ -41,15 +42,30 @@ import java.util.Map;
 /**
  * Provides a set of per-type {@link ChunkPool}s. Normally accessed via a {@link ThreadLocal}, to allow some threads to
  * share a common pool and others to allocate their own.
+ * <p>
+ * By default, the per-type pools hold their chunks via soft references. If {@code MultiChunkPool.useMagazinePools} is
+ * {@code true}, magazine-based pools are used instead: each thread caches chunks locally and exchanges them in batches
+ * with a shared lock-free depot, and the bytes retained for each {@link ChunkType} are bounded by
+ * {@code MultiChunkPool.magazineBudgetBytes.<ChunkType>} (defaulting to {@code MultiChunkPool.magazineBudgetBytes}).
+ * Statistics for magazine-based pools are published via {@link ChunkPoolInstrumentation#getStatistics(ChunkType)}.
  */
 public final class MultiChunkPool implements BooleanChunkPool, ByteChunkPool, CharChunkPool, ShortChunkPool,
         IntChunkPool, LongChunkPool, FloatChunkPool, DoubleChunkPool, ObjectChunkPool {
 
+    private static final boolean USE_MAGAZINE_POOLS = Configuration.getInstance()
+            .getBooleanForClassWithDefault(MultiChunkPool.class, "useMagazinePools", false);
+    private static final long DEFAULT_MAGAZINE_BUDGET_BYTES = Configuration.getInstance()
+            .getLongForClassWithDefault(MultiChunkPool.class, "magazineBudgetBytes", 256L << 20);
+
     private static final MultiChunkPool SHARED_POOL = new MultiChunkPool();
     private static final ThreadLocal<MultiChunkPool> POOL_THREAD_LOCAL = ThreadLocal.withInitial(() -> SHARED_POOL);
 
+    /**
+     * Give this thread its own pools rather than using the shared pools. Has no effect with magazine-based pools,
+     * which already cache chunks per-thread, and whose budgets would be circumvented by dedicated pools.
+     */
     public static void enableDedicatedPoolForThisThread() {
-        if (POOL_THREAD_LOCAL.get() == SHARED_POOL) {
+        if (!USE_MAGAZINE_POOLS && POOL_THREAD_LOCAL.get() == SHARED_POOL) {
             POOL_THREAD_LOCAL.set(new MultiChunkPool());
         }
     }
@@ -58,19 +74,41 @@ public final class MultiChunkPool implements BooleanChunkPool, ByteChunkPool, Ch
         return POOL_THREAD_LOCAL.get();
     }
 
-    private final BooleanChunkPool booleanChunkPool = new BooleanChunkSoftPool();
-    private final CharChunkPool charChunkPool = new CharChunkSoftPool();
-    private final ByteChunkPool byteChunkPool = new ByteChunkSoftPool();
-    private final ShortChunkPool shortChunkPool = new ShortChunkSoftPool();
-    private final IntChunkPool intChunkPool = new IntChunkSoftPool();
-    private final LongChunkPool longChunkPool = new LongChunkSoftPool();
-    private final FloatChunkPool floatChunkPool = new FloatChunkSoftPool();
-    private final DoubleChunkPool doubleChunkPool = new DoubleChunkSoftPool();
-    private final ObjectChunkPool objectChunkPool = new ObjectChunkSoftPool();
+    private final BooleanChunkPool booleanChunkPool;
+    private final CharChunkPool charChunkPool;
+    private final ByteChunkPool byteChunkPool;
+    private final ShortChunkPool shortChunkPool;
+    private final IntChunkPool intChunkPool;
+    private final LongChunkPool longChunkPool;
+    private final FloatChunkPool floatChunkPool;
+    private final DoubleChunkPool doubleChunkPool;
+    private final ObjectChunkPool objectChunkPool;
 
     private final Map<ChunkType, ChunkPool> pools;
 
-    {
+    private MultiChunkPool() {
+        if (USE_MAGAZINE_POOLS) {
+            booleanChunkPool = new BooleanChunkMagazinePool(makeStatistics(ChunkType.Boolean));
+            charChunkPool = new CharChunkMagazinePool(makeStatistics(ChunkType.Char));
+            byteChunkPool = new ByteChunkMagazinePool(makeStatistics(ChunkType.Byte));
+            shortChunkPool = new ShortChunkMagazinePool(makeStatistics(ChunkType.Short));
+            intChunkPool = new IntChunkMagazinePool(makeStatistics(ChunkType.Int));
+            longChunkPool = new LongChunkMagazinePool(makeStatistics(ChunkType.Long));
+            floatChunkPool = new FloatChunkMagazinePool(makeStatistics(ChunkType.Float));
+            doubleChunkPool = new DoubleChunkMagazinePool(makeStatistics(ChunkType.Double));
+            objectChunkPool = new ObjectChunkMagazinePool(makeStatistics(ChunkType.Object));
+        } else {
+            booleanChunkPool = new BooleanChunkSoftPool();
+            charChunkPool = new CharChunkSoftPool();
+            byteChunkPool = new ByteChunkSoftPool();
+            shortChunkPool = new ShortChunkSoftPool();
+            intChunkPool = new IntChunkSoftPool();
+            longChunkPool = new LongChunkSoftPool();
+            floatChunkPool = new FloatChunkSoftPool();
+            doubleChunkPool = new DoubleChunkSoftPool();
+            objectChunkPool = new ObjectChunkSoftPool();
+        }
+
         final EnumMap<ChunkType, ChunkPool> tempPools = new EnumMap<>(ChunkType.class);
         tempPools.put(ChunkType.Boolean, booleanChunkPool.asChunkPool());
         tempPools.put(ChunkType.Char, charChunkPool.asChunkPool());
@@ -84,7 +122,13 @@ public final class MultiChunkPool implements BooleanChunkPool, ByteChunkPool, Ch
         pools = Collections.unmodifiableMap(tempPools);
     }
 
-    private MultiChunkPool() {}
+    private static ChunkPoolStatistics makeStatistics(@NotNull final ChunkType chunkType) {
+        final long budgetBytes = Configuration.getInstance().getLongForClassWithDefault(
+                MultiChunkPool.class, "magazineBudgetBytes." + chunkType.name(), DEFAULT_MAGAZINE_BUDGET_BYTES);
+        final ChunkPoolStatistics statistics = new ChunkPoolStatistics(chunkType, budgetBytes);
+        ChunkPoolInstrumentation.publishStatistics(statistics);
+        return statistics;
+    }
 
     @SuppressWarnings("unused")
     public ChunkPool getChunkPool(@NotNull final ChunkType chunkType) {
@@ -0,0 +1,163 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit CharChunkMagazinePool and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.chunk.util.pools;
+
+import io.deephaven.util.type.ArrayTypeUtils;
+import io.deephaven.chunk.attributes.Any;
+import io.deephaven.chunk.*;
+import org.jetbrains.annotations.NotNull;
+
+import static io.deephaven.chunk.util.pools.ChunkPoolConstants.*;
+
+/**
+ * {@link ChunkPool} implementation for chunks of shorts, using per-thread magazines and a byte budget rather than soft
+ * references.
+ */
+@SuppressWarnings("rawtypes")
+public final class ShortChunkMagazinePool implements ShortChunkPool {
+
+    private final WritableShortChunk<Any> EMPTY = WritableShortChunk.writableChunkWrap(ArrayTypeUtils.EMPTY_SHORT_ARRAY);
+
+    /**
+     * Sub-pools by power-of-two sizes for {@link WritableShortChunk}s.
+     */
+    private final MagazinePool<WritableShortChunk>[] writableShortChunks;
+
+    /**
+     * Sub-pool of {@link ResettableShortChunk}s.
+     */
+    private final MagazinePool<ResettableShortChunk> resettableShortChunks;
+
+    /**
+     * Sub-pool of {@link ResettableWritableShortChunk}s.
+     */
+    private final MagazinePool<ResettableWritableShortChunk> resettableWritableShortChunks;
+
+    ShortChunkMagazinePool(@NotNull final ChunkPoolStatistics statistics) {
+        final int bytesPerElement = MagazinePool.bytesPerElement(statistics.getChunkType());
+        // noinspection unchecked
+        writableShortChunks = new MagazinePool[NUM_POOLED_CHUNK_CAPACITIES];
+        for (int pcci = 0; pcci < NUM_POOLED_CHUNK_CAPACITIES; ++pcci) {
+            final int chunkLog2Capacity = pcci + SMALLEST_POOLED_CHUNK_LOG2_CAPACITY;
+            final int chunkCapacity = 1 << chunkLog2Capacity;
+            writableShortChunks[pcci] = new MagazinePool<>(
+                    SUB_POOL_MAGAZINE_CAPACITY,
+                    SUB_POOL_DEPOT_CAPACITY,
+                    (long) chunkCapacity * bytesPerElement,
+                    statistics,
+                    () -> ChunkPoolInstrumentation
+                            .getAndRecord(() -> WritableShortChunk.makeWritableChunkForPool(chunkCapacity)),
+                    (final WritableShortChunk chunk) -> chunk.setSize(chunkCapacity));
+        }
+        resettableShortChunks = new MagazinePool<>(
+                SUB_POOL_MAGAZINE_CAPACITY,
+                SUB_POOL_DEPOT_CAPACITY,
+                MagazinePool.RESETTABLE_CHUNK_BYTES,
+                statistics,
+                () -> ChunkPoolInstrumentation.getAndRecord(ResettableShortChunk::makeResettableChunkForPool),
+                ResettableShortChunk::clear);
+        resettableWritableShortChunks = new MagazinePool<>(
+                SUB_POOL_MAGAZINE_CAPACITY,
+                SUB_POOL_DEPOT_CAPACITY,
+                MagazinePool.RESETTABLE_CHUNK_BYTES,
+                statistics,
+                () -> ChunkPoolInstrumentation.getAndRecord(ResettableWritableShortChunk::makeResettableChunkForPool),
+                ResettableWritableShortChunk::clear);
+    }
+
+    @Override
+    public ChunkPool asChunkPool() {
+        return new ChunkPool() {
+            @Override
+            public <ATTR extends Any> WritableChunk<ATTR> takeWritableChunk(final int capacity) {
+                return takeWritableShortChunk(capacity);
+            }
+
+            @Override
+            public <ATTR extends Any> void giveWritableChunk(@NotNull final WritableChunk<ATTR> writableChunk) {
+                giveWritableShortChunk(writableChunk.asWritableShortChunk());
+            }
+
+            @Override
+            public <ATTR extends Any> ResettableReadOnlyChunk<ATTR> takeResettableChunk() {
+                return takeResettableShortChunk();
+            }
+
+            @Override
+            public <ATTR extends Any> void giveResettableChunk(
+                    @NotNull final ResettableReadOnlyChunk<ATTR> resettableChunk) {
+                giveResettableShortChunk(resettableChunk.asResettableShortChunk());
+            }
+
+            @Override
+            public <ATTR extends Any> ResettableWritableChunk<ATTR> takeResettableWritableChunk() {
+                return takeResettableWritableShortChunk();
+            }
+
+            @Override
+            public <ATTR extends Any> void giveResettableWritableChunk(
+                    @NotNull final ResettableWritableChunk<ATTR> resettableWritableChunk) {
+                giveResettableWritableShortChunk(resettableWritableChunk.asResettableWritableShortChunk());
+            }
+        };
+    }
+
+    @Override
+    public <ATTR extends Any> WritableShortChunk<ATTR> takeWritableShortChunk(final int capacity) {
+        if (capacity == 0) {
+            // noinspection unchecked
+            return (WritableShortChunk<ATTR>) EMPTY;
+        }
+        final int poolIndexForTake = getPoolIndexForTake(checkCapacityBounds(capacity));
+        if (poolIndexForTake >= 0) {
+            // noinspection resource
+            final WritableShortChunk result = writableShortChunks[poolIndexForTake].take();
+            result.setSize(capacity);
+            // noinspection unchecked
+            return ChunkPoolReleaseTracking.onTake(result);
+        }
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(WritableShortChunk.makeWritableChunkForPool(capacity));
+    }
+
+    @Override
+    public void giveWritableShortChunk(@NotNull final WritableShortChunk<?> writableShortChunk) {
+        if (writableShortChunk == EMPTY || writableShortChunk.isAlias(EMPTY)) {
+            return;
+        }
+        ChunkPoolReleaseTracking.onGive(writableShortChunk);
+        final int capacity = writableShortChunk.capacity();
+        final int poolIndexForGive = getPoolIndexForGive(checkCapacityBounds(capacity));
+        if (poolIndexForGive >= 0) {
+            writableShortChunks[poolIndexForGive].give(writableShortChunk);
+        }
+    }
+
+    @Override
+    public <ATTR extends Any> ResettableShortChunk<ATTR> takeResettableShortChunk() {
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(resettableShortChunks.take());
+    }
+
+    @Override
+    public void giveResettableShortChunk(@NotNull final ResettableShortChunk resettableShortChunk) {
+        resettableShortChunks.give(ChunkPoolReleaseTracking.onGive(resettableShortChunk));
+    }
+
+    @Override
+    public <ATTR extends Any> ResettableWritableShortChunk<ATTR> takeResettableWritableShortChunk() {
+        // noinspection unchecked
+        return ChunkPoolReleaseTracking.onTake(resettableWritableShortChunks.take());
+    }
+
+    @Override
+    public void giveResettableWritableShortChunk(
+            @NotNull final ResettableWritableShortChunk resettableWritableShortChunk) {
+        resettableWritableShortChunks.give(ChunkPoolReleaseTracking.onGive(resettableWritableShortChunk));
+    }
+}
@@ -4,6 +4,7 @@
 package io.deephaven.chunk.util.pools;
 
 import io.deephaven.chunk.ChunkType;
+import io.deephaven.chunk.WritableIntChunk;
 import junit.framework.TestCase;
 
 import java.util.ArrayList;
@@ -55,4 +56,69 @@ public class TestChunkPooling extends TestCase {
             ChunkPoolReleaseTracking.disable();
         }
     }
+
+    public void testMagazinePoolReuse() {
+        final int chunkCapacity = 1024;
+        final int numChunks = 100;
+        final ChunkPoolStatistics statistics = new ChunkPoolStatistics(ChunkType.Int, Long.MAX_VALUE);
+        final IntChunkMagazinePool pool = new IntChunkMagazinePool(statistics);
+        final List<WritableIntChunk<?>> chunks = new ArrayList<>();
+        for (int cycle = 0; cycle < 3; ++cycle) {
+            for (int ci = 0; ci < numChunks; ++ci) {
+                chunks.add(pool.takeWritableIntChunk(chunkCapacity));
+            }
+            TestCase.assertEquals(0, statistics.getRetainedBytes());
+            chunks.forEach(pool::giveWritableIntChunk);
+            chunks.clear();
+            TestCase.assertEquals((long) numChunks * chunkCapacity * Integer.BYTES, statistics.getRetainedBytes());
+        }
+        // Only the first cycle should have allocated
+        TestCase.assertEquals(numChunks, statistics.getMisses());
+        TestCase.assertEquals(2L * numChunks, statistics.getHits());
+        TestCase.assertEquals(0, statistics.getDiscards());
+    }
+
+    public void testMagazinePoolBudget() {
+        final int chunkCapacity = 1024;
+        final int numRetained = 15;
+        final ChunkPoolStatistics statistics =
+                new ChunkPoolStatistics(ChunkType.Int, (long) numRetained * chunkCapacity * Integer.BYTES);
+        final IntChunkMagazinePool pool = new IntChunkMagazinePool(statistics);
+        final List<WritableIntChunk<?>> chunks = new ArrayList<>();
+        for (int ci = 0; ci < 2 * numRetained; ++ci) {
+            chunks.add(pool.takeWritableIntChunk(chunkCapacity));
+        }
+        chunks.forEach(pool::giveWritableIntChunk);
+        chunks.clear();
+        TestCase.assertEquals(statistics.getBudgetBytes(), statistics.getRetainedBytes());
+        TestCase.assertEquals(numRetained, statistics.getDiscards());
+
+        for (int ci = 0; ci < 2 * numRetained; ++ci) {
+            chunks.add(pool.takeWritableIntChunk(chunkCapacity));
+        }
+        TestCase.assertEquals(numRetained, statistics.getHits());
+        TestCase.assertEquals(3L * numRetained, statistics.getMisses());
+        TestCase.assertEquals(0, statistics.getRetainedBytes());
+    }
+
+    public void testMagazinePoolAcrossThreads() throws InterruptedException {
+        final int chunkCapacity = 64;
+        final int numChunks = 500;
+        final ChunkPoolStatistics statistics = new ChunkPoolStatistics(ChunkType.Int, Long.MAX_VALUE);
+        final IntChunkMagazinePool pool = new IntChunkMagazinePool(statistics);
+        final List<WritableIntChunk<?>> chunks = new ArrayList<>();
+        for (int ci = 0; ci < numChunks; ++ci) {
+            chunks.add(pool.takeWritableIntChunk(chunkCapacity));
+        }
+        // Chunks given by another thread are visible to this one once they reach the depot
+        final Thread giver = new Thread(() -> chunks.forEach(pool::giveWritableIntChunk));
+        giver.start();
+        giver.join();
+        chunks.clear();
+        for (int ci = 0; ci < numChunks; ++ci) {
+            chunks.add(pool.takeWritableIntChunk(chunkCapacity));
+        }
+        TestCase.assertTrue(statistics.getHits() >= numChunks - 2 * ChunkPoolConstants.SUB_POOL_MAGAZINE_CAPACITY);
+        chunks.forEach(pool::giveWritableIntChunk);
+    }
 }
@@ -21,9 +21,15 @@ class AggAllByCopyAttributes implements AggSpec.Visitor {
     @Override
     public void visit(AggSpecAbsSum absSum) {}
 
+    @Override
+    public void visit(AggSpecApproximateCountDistinct approxCountDistinct) {}
+
     @Override
     public void visit(AggSpecApproximatePercentile approxPct) {}
 
+    @Override
+    public void visit(AggSpecApproximateTopK approxTopK) {}
+
     @Override
     public void visit(AggSpecAvg avg) {}
 
@@ -3,6 +3,8 @@
 //
 package io.deephaven.engine.table.impl;
 
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.liveness.LivenessScopeStack;
 import io.deephaven.engine.table.DataIndex;
 import io.deephaven.engine.table.Table;
@@ -10,6 +12,7 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.indexer.DataIndexer;
 import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
 import io.deephaven.engine.table.impl.sources.sparse.SparseConstants;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.util.annotations.VisibleForTesting;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,6 +31,20 @@ public class JoinControl {
     private static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
     private static final double DEFAULT_TARGET_LOAD_FACTOR = 0.70;
 
+    /**
+     * Minimum number of rows on each side of a static natural join for the join to be partitioned by key hash and the
+     * partitions joined concurrently, defaults to 4 million.
+     */
+    private static final long MINIMUM_PARTITIONED_NATURAL_JOIN_ROWS = Configuration.getInstance().getLongWithDefault(
+            "JoinControl.minimumPartitionedNaturalJoinRows", 1L << 22);
+    /**
+     * Number of partitions per thread for a partitioned static natural join, defaults to 4. More partitions than
+     * threads balance the load when some partitions receive more rows than others.
+     */
+    private static final int PARTITIONED_NATURAL_JOIN_PARTITIONS_PER_THREAD = Configuration.getInstance()
+            .getIntegerWithDefault("JoinControl.partitionedNaturalJoinPartitionsPerThread", 4);
+    private static final int MAXIMUM_NATURAL_JOIN_PARTITIONS = 1 << 10;
+
     int initialBuildSize() {
         return MINIMUM_INITIAL_HASH_SIZE;
     }
@@ -46,6 +63,28 @@ public class JoinControl {
         return DEFAULT_TARGET_LOAD_FACTOR;
     }
 
+    /**
+     * Determine how many hash partitions to use for a natural join of two static tables without data indexes. Each
+     * partition is built and probed independently, so partitions may be joined concurrently.
+     *
+     * @param leftSize The number of rows in the left table
+     * @param rightSize The number of rows in the right table
+     * @return The number of partitions, a power of two; 1 if the join should not be partitioned
+     */
+    int staticNaturalJoinPartitions(final long leftSize, final long rightSize) {
+        final OperationInitializer operationInitializer = ExecutionContext.getContext().getOperationInitializer();
+        if (Math.min(leftSize, rightSize) < MINIMUM_PARTITIONED_NATURAL_JOIN_ROWS
+                || !operationInitializer.canParallelize()) {
+            return 1;
+        }
+        final long desiredPartitions =
+                (long) operationInitializer.parallelismFactor() * PARTITIONED_NATURAL_JOIN_PARTITIONS_PER_THREAD;
+        if (desiredPartitions < 2) {
+            return 1;
+        }
+        return (int) Math.min(MAXIMUM_NATURAL_JOIN_PARTITIONS, Long.highestOneBit(desiredPartitions - 1) * 2);
+    }
+
     @Nullable
     DataIndex dataIndexToUse(Table table, ColumnSource<?>[] sources) {
         final DataIndexer indexer = DataIndexer.existingOf(table.getRowSet());
@@ -215,7 +215,14 @@ class NaturalJoinHelper {
                 return result;
             }
 
-            if (firstBuildFrom == LeftDataIndex) {
+            // Large joins without a left data index are partitioned by key hash, and partitions joined concurrently
+            final int numPartitions = firstBuildFrom == LeftDataIndex
+                    ? 1
+                    : control.staticNaturalJoinPartitions(leftTable.size(), rightTable.size());
+            if (numPartitions > 1) {
+                rowRedirection = PartitionedStaticNaturalJoin.buildRowRedirection(
+                        leftTable, rightTable, bc, exactMatch, control, numPartitions);
+            } else if (firstBuildFrom == LeftDataIndex) {
                 Assert.neqNull(bc.leftDataIndexTable, "leftDataIndexTable");
                 final StaticHashedNaturalJoinStateManager jsm = TypedHasherFactory.make(
                         StaticNaturalJoinStateManagerTypedBase.class, bc.leftDataIndexSources,
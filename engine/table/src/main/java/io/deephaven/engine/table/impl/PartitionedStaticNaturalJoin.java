@@ -0,0 +1,195 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.attributes.HashCodes;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.chunk.util.hashing.ChunkHasher;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.*;
+import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.SharedContext;
+import io.deephaven.engine.table.impl.by.typed.TypedHasherFactory;
+import io.deephaven.engine.table.impl.naturaljoin.StaticNaturalJoinStateManagerTypedBase;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
+import io.deephaven.engine.table.impl.util.TypedHasherUtil;
+import io.deephaven.engine.table.impl.util.WritableRowRedirection;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.SafeCloseableArray;
+import io.deephaven.util.mutable.MutableLong;
+import org.jetbrains.annotations.NotNull;
+
+import static io.deephaven.engine.table.impl.JoinControl.CHUNK_SIZE;
+
+/**
+ * Computes the row redirection for a natural join of two static tables by radix partitioning the rows of both sides by
+ * the high bits of their key hash, and then building and probing an independent right-side hash table for each
+ * partition. Rows with equal keys always land in the same partition, so the partitions can be joined concurrently, and
+ * each partition's hash table is sized exactly for its right rows.
+ * <p>
+ * The result is identical to that of the serial static natural join, including the errors for duplicate right keys that
+ * are matched by a left row and, when {@code exactMatch} is requested, for unmatched left rows.
+ */
+final class PartitionedStaticNaturalJoin {
+
+    private PartitionedStaticNaturalJoin() {} // static use only
+
+    /**
+     * Compute the row redirection for a natural join of two static tables.
+     *
+     * @param leftTable The left table
+     * @param rightTable The right table
+     * @param bc The bucketing context, supplying the (reinterpreted) key sources for both sides
+     * @param exactMatch Whether every left row must have a matching right row
+     * @param control The join control
+     * @param numPartitions The number of partitions, which must be a power of two greater than one
+     * @return The row redirection from left rows to matching right rows
+     */
+    static WritableRowRedirection buildRowRedirection(
+            @NotNull final QueryTable leftTable,
+            @NotNull final QueryTable rightTable,
+            @NotNull final BucketingContext bc,
+            final boolean exactMatch,
+            @NotNull final JoinControl control,
+            final int numPartitions) {
+        Assert.gt(numPartitions, "numPartitions", 1);
+        Assert.eq(Integer.bitCount(numPartitions), "Integer.bitCount(numPartitions)", 1);
+
+        final RowSet leftRowSet = leftTable.getRowSet();
+        final RowSet[][] leftSliceRows = partition("partitioning left rows of " + bc.listenerDescription,
+                leftRowSet, bc.leftSources, numPartitions);
+        final RowSet[][] rightSliceRows = partition("partitioning right rows of " + bc.listenerDescription,
+                rightTable.getRowSet(), bc.rightSources, numPartitions);
+
+        // Every left row belongs to exactly one partition, so each position is written exactly once
+        final LongArraySource leftRedirections = new LongArraySource();
+        leftRedirections.ensureCapacity(leftRowSet.size());
+
+        OperationInitializerJobScheduler.iterateParallelAndWait(
+                "joining partitions of " + bc.listenerDescription, numPartitions, partition -> {
+                    try (final WritableRowSet leftRows = partitionRows(leftSliceRows, partition);
+                            final WritableRowSet rightRows = partitionRows(rightSliceRows, partition)) {
+                        if (leftRows.isEmpty()) {
+                            return;
+                        }
+                        final StaticNaturalJoinStateManagerTypedBase jsm = TypedHasherFactory.make(
+                                StaticNaturalJoinStateManagerTypedBase.class, bc.leftSources, bc.originalLeftSources,
+                                control.tableSize(rightRows.size()),
+                                control.getMaximumLoadFactor(), control.getTargetLoadFactor());
+                        jsm.buildFromRightSide(rightRows, bc.rightSources);
+
+                        final LongArraySource partitionRedirections = new LongArraySource();
+                        jsm.decorateLeftSide(leftRows, bc.leftSources, partitionRedirections);
+
+                        final MutableLong partitionPosition = new MutableLong();
+                        try (final RowSet leftPositions = leftRowSet.invert(leftRows)) {
+                            leftPositions.forAllRowKeys(leftPosition -> leftRedirections.set(leftPosition,
+                                    partitionRedirections.getUnsafe(partitionPosition.getAndIncrement())));
+                        }
+                    }
+                });
+
+        // The state manager is only needed to build the redirection and format exact match errors
+        final StaticNaturalJoinStateManagerTypedBase jsm = TypedHasherFactory.make(
+                StaticNaturalJoinStateManagerTypedBase.class, bc.leftSources, bc.originalLeftSources,
+                control.initialBuildSize(), control.getMaximumLoadFactor(), control.getTargetLoadFactor());
+        return jsm.buildRowRedirectionFromRedirections(leftTable, exactMatch, leftRedirections,
+                control.getRedirectionType(leftTable));
+    }
+
+    /**
+     * Split {@code rowSet} into position slices, and partition the rows of each slice concurrently by key hash.
+     *
+     * @return The rows of each partition for each slice, indexed by slice and then partition; null for empty partitions
+     */
+    static RowSet[][] partition(
+            @NotNull final String description,
+            @NotNull final RowSet rowSet,
+            @NotNull final ColumnSource<?>[] keySources,
+            final int numPartitions) {
+        // Single-column hashes are scrambled to 31 bits, so the partition must be taken from below the sign bit
+        final int partitionShift = Integer.SIZE - 1 - Integer.numberOfTrailingZeros(numPartitions);
+        final int partitionMask = numPartitions - 1;
+        final long size = rowSet.size();
+        final int numSlices = (int) Math.max(1, Math.min(
+                ExecutionContext.getContext().getOperationInitializer().parallelismFactor(),
+                size / CHUNK_SIZE));
+        final RowSet[][] sliceRows = new RowSet[numSlices][];
+
+        final ChunkHasher[] hashers = new ChunkHasher[keySources.length];
+        for (int ki = 0; ki < keySources.length; ++ki) {
+            hashers[ki] = ChunkHasher.makeHasher(keySources[ki].getChunkType());
+        }
+
+        OperationInitializerJobScheduler.iterateParallelAndWait(description, numSlices, slice -> {
+            final long firstPosition = size * slice / numSlices;
+            final long lastPosition = size * (slice + 1) / numSlices - 1;
+            final RowSetBuilderSequential[] builders = new RowSetBuilderSequential[numPartitions];
+            final int chunkSize = (int) Math.min(CHUNK_SIZE, lastPosition - firstPosition + 1);
+
+            // noinspection unchecked
+            final Chunk<Values>[] keyChunks = new Chunk[keySources.length];
+            try (final SharedContext sharedContext = SharedContext.makeSharedContext();
+                    final WritableIntChunk<HashCodes> hashes = WritableIntChunk.makeWritableChunk(chunkSize);
+                    final RowSet sliceRowSet = rowSet.subSetByPositionRange(firstPosition, lastPosition + 1);
+                    final RowSequence.Iterator rsIt = sliceRowSet.getRowSequenceIterator()) {
+                final ColumnSource.GetContext[] getContexts =
+                        TypedHasherUtil.makeGetContexts(keySources, sharedContext, chunkSize);
+                try (final SafeCloseable ignored = new SafeCloseableArray<>(getContexts)) {
+                    while (rsIt.hasMore()) {
+                        final RowSequence chunkOk = rsIt.getNextRowSequenceWithLength(chunkSize);
+                        TypedHasherUtil.getKeyChunks(keySources, getContexts, keyChunks, chunkOk);
+                        hashers[0].hashInitial(keyChunks[0], hashes);
+                        for (int ki = 1; ki < keySources.length; ++ki) {
+                            hashers[ki].hashUpdate(keyChunks[ki], hashes);
+                        }
+                        sharedContext.reset();
+
+                        final LongChunk<OrderedRowKeys> rowKeys = chunkOk.asRowKeyChunk();
+                        for (int ii = 0; ii < rowKeys.size(); ++ii) {
+                            final int partition = (hashes.get(ii) >>> partitionShift) & partitionMask;
+                            RowSetBuilderSequential builder = builders[partition];
+                            if (builder == null) {
+                                builders[partition] = builder = RowSetFactory.builderSequential();
+                            }
+                            builder.appendKey(rowKeys.get(ii));
+                        }
+                    }
+                }
+            }
+
+            final RowSet[] partitionRows = new RowSet[numPartitions];
+            for (int partition = 0; partition < numPartitions; ++partition) {
+                if (builders[partition] != null) {
+                    partitionRows[partition] = builders[partition].build();
+                }
+            }
+            sliceRows[slice] = partitionRows;
+        });
+        return sliceRows;
+    }
+
+    /**
+     * Combine and release the rows of {@code partition} from each slice. Slices are in position order, so their rows
+     * can be appended in order.
+     */
+    private static WritableRowSet partitionRows(@NotNull final RowSet[][] sliceRows, final int partition) {
+        final RowSetBuilderSequential builder = RowSetFactory.builderSequential();
+        for (final RowSet[] partitionRows : sliceRows) {
+            final RowSet rows = partitionRows[partition];
+            if (rows != null) {
+                builder.appendRowSequence(rows);
+                rows.close();
+                partitionRows[partition] = null;
+            }
+        }
+        return builder.build();
+    }
+}
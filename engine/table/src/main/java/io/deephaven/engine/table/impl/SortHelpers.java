@@ -11,6 +11,7 @@ import io.deephaven.chunk.attributes.ChunkLengths;
 import io.deephaven.chunk.attributes.ChunkPositions;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.primitive.iterator.CloseableIterator;
 import io.deephaven.engine.rowset.RowSequence;
 import io.deephaven.engine.rowset.RowSequenceFactory;
@@ -20,18 +21,25 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.DataIndex;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.impl.sort.LongExternalMergeSort;
 import io.deephaven.engine.table.impl.sort.LongMegaMergeKernel;
+import io.deephaven.engine.table.impl.sort.LongParallelMerge;
 import io.deephaven.engine.table.impl.sort.LongSortKernel;
 import io.deephaven.engine.table.impl.sort.findruns.FindRunsKernel;
 import io.deephaven.engine.table.impl.sort.permute.PermuteKernel;
+import io.deephaven.engine.table.impl.sort.radix.IntLongRadixSortKernel;
+import io.deephaven.engine.table.impl.sort.radix.LongLongRadixSortKernel;
 import io.deephaven.engine.table.impl.sort.timsort.LongIntTimsortKernel;
 import io.deephaven.engine.table.impl.sources.*;
 import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
 import io.deephaven.engine.table.impl.util.ContiguousWritableRowRedirection;
+import io.deephaven.engine.table.impl.util.FileBackedRowRedirection;
 import io.deephaven.engine.table.impl.util.GroupedWritableRowRedirection;
 import io.deephaven.engine.table.impl.util.LongColumnSourceWritableRowRedirection;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
 import io.deephaven.engine.table.impl.util.WritableRowRedirection;
 import io.deephaven.engine.table.iterators.ChunkedColumnIterator;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.util.QueryConstants;
 import io.deephaven.util.annotations.VisibleForTesting;
 import io.deephaven.util.datastructures.LongSizedDataStructure;
@@ -39,6 +47,7 @@ import io.deephaven.util.mutable.MutableInt;
 import io.deephaven.util.type.ArrayTypeUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.util.Map;
 import java.util.function.LongPredicate;
 
@@ -72,6 +81,62 @@ public class SortHelpers {
     @VisibleForTesting
     static int sortChunkSize = Configuration.getInstance().getIntegerWithDefault("QueryTable.sortChunkSize", 1 << 30);
 
+    /**
+     * Sorts of int, long, float and double values (including reinterpreted timestamps) of at least radixSortSize rows
+     * use the LSD radix sort kernels instead of timsort; those kernels still fall back to timsort for input that is
+     * already nearly sorted.
+     */
+    @VisibleForTesting
+    static int radixSortSize = Configuration.getInstance().getIntegerWithDefault("QueryTable.radixSortSize", 1 << 16);
+
+    /**
+     * Radix sort kernels need 16 or 24 bytes per value where timsort needs about 8, so sorts of more than
+     * maximumRadixSortSize rows (including every mega-sort chunk, by default) use timsort instead.
+     */
+    @VisibleForTesting
+    static int maximumRadixSortSize =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.maximumRadixSortSize", 1 << 24);
+
+    /**
+     * When a single-column sort is greater than or equal to parallelSortSize (and smaller than megaSortSize), and the
+     * current {@link OperationInitializer} can parallelize, we split the rows into one run per thread, sort the runs
+     * concurrently, and merge them with a {@link LongParallelMerge}.
+     */
+    @VisibleForTesting
+    static int parallelSortSize =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.parallelSortSize", 1 << 20);
+
+    /**
+     * When a single-column sort of a static table's primitive values is greater than or equal to externalSortSize,
+     * instead of merging sorted chunks in memory, we will spill sorted runs of externalSortRunSize rows to files in
+     * externalSortDirectory and merge them from disk with a {@link LongExternalMergeSort}. The resulting row
+     * redirection is memory-mapped rather than held on the heap. Refreshing and blink tables always sort in memory, as
+     * their sort state is kept on the heap.
+     * <p>
+     * By default, we sort externally once the row keys and values of an in-memory sort would need about half of the
+     * maximum heap.
+     */
+    @VisibleForTesting
+    static long externalSortSize = Configuration.getInstance().getLongWithDefault("QueryTable.externalSortSize",
+            Runtime.getRuntime().maxMemory() / 32);
+    /**
+     * The size of each sorted run that is spilled by an external sort.
+     */
+    @VisibleForTesting
+    static int externalSortRunSize =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.externalSortRunSize", 1 << 24);
+    /**
+     * The maximum number of runs merged at once by an external sort; more runs require additional merge passes.
+     */
+    @VisibleForTesting
+    static int externalSortMaxFanIn =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.externalSortMaxFanIn", 128);
+    /**
+     * The directory for the spill files of external sorts.
+     */
+    static String externalSortDirectory = Configuration.getInstance().getStringWithDefault(
+            "QueryTable.externalSortDirectory", System.getProperty("java.io.tmpdir"));
+
     interface SortMapping extends LongSizedDataStructure {
         long size();
 
@@ -168,6 +233,52 @@ public class SortHelpers {
         }
     }
 
+    final static class FileBackedSortMapping implements SortMapping {
+        /**
+         * The mapping as a memory-mapped row redirection, in locations 0..size-1
+         */
+        final FileBackedRowRedirection redirection;
+
+        private FileBackedSortMapping(FileBackedRowRedirection redirection) {
+            this.redirection = redirection;
+        }
+
+        @Override
+        public long size() {
+            return redirection.size();
+        }
+
+        @NotNull
+        public long[] getArrayMapping() {
+            final long size = size();
+            if (size <= Integer.MAX_VALUE) {
+                final long[] mapping = new long[(int) size];
+                for (int ii = 0; ii < mapping.length; ++ii) {
+                    mapping[ii] = redirection.get(ii);
+                }
+                return mapping;
+            } else {
+                throw new ArrayIndexOutOfBoundsException();
+            }
+        }
+
+        @Override
+        public boolean forEachLong(LongPredicate consumer) {
+            final long size = size();
+            for (long ii = 0; ii < size; ++ii) {
+                if (!consumer.test(redirection.get(ii))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public WritableRowRedirection makeHistoricalRowRedirection() {
+            return redirection;
+        }
+    }
+
     final static class IndexedSortMapping implements SortMapping {
         private final long size;
         private final long[] groupSize;
@@ -244,6 +355,34 @@ public class SortHelpers {
             final RowSet rowSetToSort,
             final boolean usePrev,
             final boolean allowSymbolTable) {
+        return getSortedKeys(order, originalColumnsToSortBy, columnsToSortBy, dataIndex, rowSetToSort, usePrev,
+                allowSymbolTable, false);
+    }
+
+    /**
+     * Sort the rows of a static table. Unlike the other variants, a large enough single-column sort is performed
+     * externally and results in a {@link FileBackedSortMapping}, which should not be copied back to the heap with
+     * {@link SortMapping#getArrayMapping()}.
+     */
+    static SortMapping getSortedKeysForStaticTable(
+            final SortingOrder[] order,
+            final ColumnSource<Comparable<?>>[] originalColumnsToSortBy,
+            final ColumnSource<Comparable<?>>[] columnsToSortBy,
+            final DataIndex dataIndex,
+            final RowSet rowSetToSort) {
+        return getSortedKeys(order, originalColumnsToSortBy, columnsToSortBy, dataIndex, rowSetToSort, false,
+                sortBySymbolTable, true);
+    }
+
+    private static SortMapping getSortedKeys(
+            final SortingOrder[] order,
+            final ColumnSource<Comparable<?>>[] originalColumnsToSortBy,
+            final ColumnSource<Comparable<?>>[] columnsToSortBy,
+            final DataIndex dataIndex,
+            final RowSet rowSetToSort,
+            final boolean usePrev,
+            final boolean allowSymbolTable,
+            final boolean allowExternalSort) {
         if (rowSetToSort.isEmpty()) {
             return EMPTY_SORT_MAPPING;
         }
@@ -258,9 +397,9 @@ public class SortHelpers {
         if (columnsToSortBy.length == 1) {
             if (allowSymbolTable && columnsToSortBy[0] instanceof SymbolTableSource
                     && ((SymbolTableSource<Comparable<?>>) columnsToSortBy[0]).hasSymbolTable(rowSetToSort)) {
-                return doSymbolTableMapping(order[0], columnsToSortBy[0], rowSetToSort, usePrev);
+                return doSymbolTableMapping(order[0], columnsToSortBy[0], rowSetToSort, usePrev, allowExternalSort);
             } else {
-                return getSortMappingOne(order[0], columnsToSortBy[0], rowSetToSort, usePrev);
+                return getSortMappingOne(order[0], columnsToSortBy[0], rowSetToSort, usePrev, allowExternalSort);
             }
         }
 
@@ -353,7 +492,7 @@ public class SortHelpers {
     private static final String SORTED_INDEX_COLUMN_NAME = "SortedIndex";
 
     private static SortMapping doSymbolTableMapping(SortingOrder order, ColumnSource<Comparable<?>> columnSource,
-            RowSet rowSet, boolean usePrev) {
+            RowSet rowSet, boolean usePrev, boolean allowExternalSort) {
         final int sortSize = rowSet.intSize();
 
         final ColumnSource<Long> reinterpreted = columnSource.reinterpret(long.class);
@@ -367,7 +506,7 @@ public class SortHelpers {
         if (symbolTable.size() >= sortSize) {
             // the very first thing we will do is sort the symbol table, using a regular sort; if it is larger than the
             // actual table we care to sort, then it is wasteful to use the symbol table sorting
-            return getSortMappingOne(order, columnSource, rowSet, usePrev);
+            return getSortMappingOne(order, columnSource, rowSet, usePrev, allowExternalSort);
         }
 
         final QueryTable groupedSymbols = (QueryTable) symbolTable.sort(SymbolTableSource.SYMBOL_COLUMN_NAME)
@@ -465,11 +604,16 @@ public class SortHelpers {
     }
 
     private static SortMapping getSortMappingOne(SortingOrder order, ColumnSource<Comparable<?>> columnSource,
-            RowSet rowSet, boolean usePrev) {
+            RowSet rowSet, boolean usePrev, boolean allowExternalSort) {
         final long sortSize = rowSet.size();
 
-        if (sortSize >= megaSortSize) {
+        if (allowExternalSort && sortSize >= externalSortSize
+                && LongExternalMergeSort.supports(columnSource.getChunkType())) {
+            return doExternalSortOne(order, columnSource, rowSet);
+        } else if (sortSize >= megaSortSize) {
             return doMegaSortOne(order, columnSource, rowSet, usePrev, sortSize);
+        } else if (sortSize >= parallelSortSize && canParallelizeSort(columnSource)) {
+            return new ArraySortMapping(doParallelSortOne(order, columnSource, rowSet, usePrev, (int) sortSize));
         } else {
             return new ArraySortMapping(doChunkSortingOne(order, columnSource, rowSet, usePrev, (int) sortSize));
         }
@@ -488,7 +632,7 @@ public class SortHelpers {
         final LongMegaMergeKernel<Values, RowKeys> longMegaMergeKernel =
                 LongMegaMergeKernel.makeContext(columnSource.getChunkType(), order);
         try (final LongSortKernel<Values, RowKeys> sortContext =
-                LongSortKernel.makeContext(columnSource.getChunkType(), order, sortChunkSize, true);
+                makeSortKernel(columnSource.getChunkType(), order, sortChunkSize, true);
                 final RowSequence.Iterator rsIt = rowSet.getRowSequenceIterator()) {
             while (rsIt.hasMore()) {
                 final RowSequence chunkOk = rsIt.getNextRowSequenceWithLength(sortChunkSize);
@@ -512,6 +656,91 @@ public class SortHelpers {
         return new ColumnSourceSortMapping(resultIndices, sortSize);
     }
 
+    /**
+     * Make a kernel to sort {@code size} values of {@code chunkType}, choosing a radix sort kernel for large (but not
+     * huge) inputs where one is available.
+     */
+    private static LongSortKernel<Values, RowKeys> makeSortKernel(ChunkType chunkType, SortingOrder order, int size,
+            boolean preserveValues) {
+        if (size >= radixSortSize && size <= maximumRadixSortSize) {
+            switch (chunkType) {
+                case Int:
+                case Float:
+                    return IntLongRadixSortKernel.createContext(chunkType, size, order, preserveValues);
+                case Long:
+                case Double:
+                    return LongLongRadixSortKernel.createContext(chunkType, size, order, preserveValues);
+            }
+        }
+        return LongSortKernel.makeContext(chunkType, order, size, preserveValues);
+    }
+
+    private static boolean canParallelizeSort(ColumnSource<Comparable<?>> columnSource) {
+        final OperationInitializer operationInitializer = ExecutionContext.getContext().getOperationInitializer();
+        return operationInitializer.canParallelize()
+                && operationInitializer.parallelismFactor() > 1
+                && columnSource.getChunkType() != ChunkType.Boolean;
+    }
+
+    @NotNull
+    private static long[] doParallelSortOne(SortingOrder order, ColumnSource<Comparable<?>> columnSource,
+            RowSet rowSet, boolean usePrev, int sortSize) {
+        final int parallelism = ExecutionContext.getContext().getOperationInitializer().parallelismFactor();
+        final int[] runStarts = new int[parallelism + 1];
+        for (int ri = 0; ri <= parallelism; ++ri) {
+            runStarts[ri] = (int) ((long) sortSize * ri / parallelism);
+        }
+
+        final long[] rowKeysArray = new long[sortSize];
+        try (final WritableChunk<Values> values = columnSource.getChunkType().makeWritableChunk(sortSize)) {
+            OperationInitializerJobScheduler.iterateParallelAndWait("sorting runs", parallelism, run -> {
+                final int runStart = runStarts[run];
+                final int runSize = runStarts[run + 1] - runStart;
+                try (final RowSequence runOk = rowSet.getRowSequenceByPosition(runStart, runSize);
+                        final ColumnSource.FillContext fillContext = columnSource.makeFillContext(runSize);
+                        final LongSortKernel<Values, RowKeys> sortContext =
+                                makeSortKernel(columnSource.getChunkType(), order, runSize, true)) {
+                    final WritableChunk<Values> runValues = values.slice(runStart, runSize);
+                    if (usePrev) {
+                        columnSource.fillPrevChunk(fillContext, runValues, runOk);
+                    } else {
+                        columnSource.fillChunk(fillContext, runValues, runOk);
+                    }
+                    final WritableLongChunk<RowKeys> runKeys =
+                            WritableLongChunk.writableChunkWrap(rowKeysArray, runStart, runSize);
+                    runOk.fillRowKeyChunk(runKeys);
+
+                    sortContext.sort(runKeys, runValues);
+                }
+            });
+            return LongParallelMerge.merge("merging sorted runs", order, rowKeysArray, values, runStarts,
+                    parallelism);
+        }
+    }
+
+    @NotNull
+    private static SortMapping doExternalSortOne(SortingOrder order, ColumnSource<Comparable<?>> columnSource,
+            RowSet rowSet) {
+        final int runSize = (int) Math.min(externalSortRunSize, rowSet.size());
+        try (final LongExternalMergeSort externalSort = new LongExternalMergeSort(columnSource.getChunkType(), order,
+                new File(externalSortDirectory), externalSortMaxFanIn);
+                final LongSortKernel<Values, RowKeys> sortContext =
+                        makeSortKernel(columnSource.getChunkType(), order, runSize, true);
+                final WritableLongChunk<RowKeys> runKeys = WritableLongChunk.makeWritableChunk(runSize);
+                final RowSequence.Iterator rsIt = rowSet.getRowSequenceIterator()) {
+            while (rsIt.hasMore()) {
+                final RowSequence chunkOk = rsIt.getNextRowSequenceWithLength(runSize);
+
+                try (final WritableChunk<Values> runValues = makeAndFillValues(false, chunkOk, columnSource)) {
+                    chunkOk.fillRowKeyChunk(runKeys);
+                    sortContext.sort(runKeys, runValues);
+                    externalSort.addRun(runKeys, runValues);
+                }
+            }
+            return new FileBackedSortMapping(externalSort.merge());
+        }
+    }
+
     @NotNull
     private static long[] doChunkSortingOne(SortingOrder order, ColumnSource<Comparable<?>> columnSource,
             RowSequence rowSequence, boolean usePrev, int chunkSize) {
@@ -521,7 +750,7 @@ public class SortHelpers {
             rowSequence.fillRowKeyChunk(rowKeys);
 
             try (final LongSortKernel<Values, RowKeys> sortContext =
-                    LongSortKernel.makeContext(columnSource.getChunkType(), order, chunkSize, false)) {
+                    makeSortKernel(columnSource.getChunkType(), order, chunkSize, false)) {
                 sortContext.sort(rowKeys, values);
             }
 
@@ -614,7 +843,7 @@ public class SortHelpers {
             final ColumnSource<Comparable<?>> indexColumn =
                     (ColumnSource<Comparable<?>>) ReinterpretUtils.maybeConvertToPrimitive(originalIndexKeyColumn);
 
-            final SortMapping indexMapping = getSortMappingOne(order[0], indexColumn, indexRowSet, usePrev);
+            final SortMapping indexMapping = getSortMappingOne(order[0], indexColumn, indexRowSet, usePrev, false);
 
             final String rowSetColumnName = dataIndex.rowSetColumnName();
             final ColumnSource<RowSet> rawRowSetColumn =
@@ -645,7 +874,7 @@ public class SortHelpers {
 
             final WritableChunk<Values> values = makeAndFillValues(usePrev, rowSet, columnSource);
             try (final LongSortKernel<Values, RowKeys> sortContext =
-                    LongSortKernel.makeContext(chunkType, order[0], sortSize, true)) {
+                    makeSortKernel(chunkType, order[0], sortSize, true)) {
                 sortContext.sort(rowKeys, values);
             }
 
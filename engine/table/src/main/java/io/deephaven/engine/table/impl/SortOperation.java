@@ -235,8 +235,8 @@ public class SortOperation implements QueryTable.MemoizableOperation<QueryTable>
     public Result<QueryTable> initialize(boolean usePrev, long beforeClock) {
         if (!parent.isRefreshing()) {
             final SortHelpers.SortMapping sortedKeys =
-                    SortHelpers.getSortedKeys(sortOrder, originalSortColumns, sortColumns, dataIndex,
-                            parent.getRowSet(), false);
+                    SortHelpers.getSortedKeysForStaticTable(sortOrder, originalSortColumns, sortColumns, dataIndex,
+                            parent.getRowSet());
             return new Result<>(historicalSort(sortedKeys));
         }
         if (parent.isBlink()) {
@@ -38,11 +38,21 @@ class AggAllByExcludeFormattingColumns implements AggSpec.Visitor {
         drop();
     }
 
+    @Override
+    public void visit(AggSpecApproximateCountDistinct approxCountDistinct) {
+        drop();
+    }
+
     @Override
     public void visit(AggSpecApproximatePercentile approxPct) {
         drop();
     }
 
+    @Override
+    public void visit(AggSpecApproximateTopK approxTopK) {
+        drop();
+    }
+
     @Override
     public void visit(AggSpecAvg avg) {
         drop();
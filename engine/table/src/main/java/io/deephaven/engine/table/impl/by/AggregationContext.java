@@ -293,6 +293,19 @@ public class AggregationContext {
         }
     }
 
+    /**
+     * Get the approximate number of bytes of state retained by all operators.
+     *
+     * @return The sum of {@link IterativeChunkedAggregationOperator#stateSizeInBytes()} for all operators
+     */
+    long stateSizeInBytes() {
+        long stateSizeInBytes = 0;
+        for (final IterativeChunkedAggregationOperator operator : operators) {
+            stateSizeInBytes += operator.stateSizeInBytes();
+        }
+        return stateSizeInBytes;
+    }
+
     /**
      * Propagate listener failure to all operators.
      *
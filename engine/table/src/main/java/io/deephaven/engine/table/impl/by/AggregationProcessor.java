@@ -9,7 +9,9 @@ import io.deephaven.api.SortColumn;
 import io.deephaven.api.agg.*;
 import io.deephaven.api.agg.spec.AggSpec;
 import io.deephaven.api.agg.spec.AggSpecAbsSum;
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecApproximatePercentile;
+import io.deephaven.api.agg.spec.AggSpecApproximateTopK;
 import io.deephaven.api.agg.spec.AggSpecAvg;
 import io.deephaven.api.agg.spec.AggSpecCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecDistinct;
@@ -243,6 +245,198 @@ public class AggregationProcessor implements AggregationContextFactory {
         return new AggregationProcessor(Collections.emptyList(), Type.EXPOSE_GROUP_ROW_SETS);
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    // Partial Aggregation Support
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Whether this is a {@link #forAggregation(Collection) normal} aggregation whose results can be computed
+     * independently for disjoint slices of the input rows, and then combined by aggregating the
+     * {@link #forPartialAggregation() partial results} with {@link #forPartialAggregationMerge()}.
+     *
+     * @return Whether partial aggregation is supported
+     */
+    boolean supportsPartialAggregation() {
+        if (type != Type.NORMAL) {
+            return false;
+        }
+        final PartialAggregationSupport support = new PartialAggregationSupport();
+        aggregations.forEach(aggregation -> aggregation.walk(support));
+        return support.supported;
+    }
+
+    /**
+     * Create an {@link AggregationContextFactory} that computes partial results for a slice of the input rows. The
+     * results include the internal columns needed to combine them, as for the base level of a rollup.
+     *
+     * @return The {@link AggregationContextFactory}
+     */
+    AggregationContextFactory forPartialAggregation() {
+        return new AggregationProcessor(aggregations, Type.ROLLUP_BASE);
+    }
+
+    /**
+     * Create an {@link AggregationContextFactory} that combines {@link #forPartialAggregation() partial results} with
+     * the same group-by columns, as for the reaggregated levels of a rollup.
+     *
+     * @return The {@link AggregationContextFactory}
+     */
+    AggregationContextFactory forPartialAggregationMerge() {
+        return new AggregationProcessor(aggregations, Type.ROLLUP_REAGGREGATED);
+    }
+
+    /**
+     * @return The names of the output columns of this aggregation, excluding group-by columns, in order
+     */
+    Stream<ColumnName> getOutputColumns() {
+        return AggregationOutputs.of(aggregations);
+    }
+
+    /**
+     * Visitor to determine whether aggregations support partial aggregation. Only aggregations whose partial results
+     * can be combined cheaply and without loss of information are supported.
+     */
+    private static final class PartialAggregationSupport implements Aggregation.Visitor, AggSpec.Visitor {
+
+        private boolean supported = true;
+
+        private void unsupported() {
+            supported = false;
+        }
+
+        @Override
+        public void visit(@NotNull final Aggregations aggregations) {
+            aggregations.aggregations().forEach(aggregation -> aggregation.walk(this));
+        }
+
+        @Override
+        public void visit(@NotNull final ColumnAggregation columnAgg) {
+            columnAgg.spec().walk(this);
+        }
+
+        @Override
+        public void visit(@NotNull final ColumnAggregations columnAggs) {
+            columnAggs.spec().walk(this);
+        }
+
+        @Override
+        public void visit(@NotNull final Count count) {}
+
+        @Override
+        public void visit(@NotNull final FirstRowKey firstRowKey) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final LastRowKey lastRowKey) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final Partition partition) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecAbsSum absSum) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximateTopK approxTopK) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecAvg avg) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecCountDistinct countDistinct) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecDistinct distinct) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecFirst first) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecFormula formula) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecFreeze freeze) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecGroup group) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecLast last) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecMax max) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecMedian median) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecMin min) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecPercentile pct) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecSortedFirst sortedFirst) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecSortedLast sortedLast) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecStd std) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecSum sum) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecTDigest tDigest) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecUnique unique) {
+            unsupported();
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecWAvg wAvg) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecWSum wSum) {}
+
+        @Override
+        public void visit(@NotNull final AggSpecVar var) {}
+    }
+
     private AggregationProcessor(
             @NotNull final Collection<? extends Aggregation> aggregations,
             @NotNull final Type type) {
@@ -472,6 +666,56 @@ public class AggregationProcessor implements AggregationContextFactory {
                     inputName);
         }
 
+        final void addApproximateCountDistinctOperators(final int precision, final boolean exposeInternal) {
+            for (final Pair pair : resultPairs) {
+                final String inputName = pair.input().name();
+                final String resultName = pair.output().name();
+                final ColumnSource<?> inputSource = maybeReinterpretInstantAsLong(table.getColumnSource(inputName));
+
+                addOperator(new ApproximateCountDistinctOperator(inputSource.getChunkType(), precision, false,
+                        resultName, exposeInternal), inputSource, inputName);
+            }
+        }
+
+        final void addApproximateTopKOperators(@NotNull final AggSpecApproximateTopK approxTopK,
+                final boolean exposeInternal) {
+            final int k = approxTopK.k();
+            final int capacity = approxTopK.capacity().orElse(ApproximateTopKOperator.defaultCapacity(k));
+
+            final String weightName;
+            final DoubleWeightRecordingInternalOperator weightOperator;
+            if (approxTopK.weight().isPresent()) {
+                weightName = approxTopK.weight().get().name();
+                final ColumnSource<?> weightSource = table.getColumnSource(weightName);
+                if (!isInteger(weightSource.getChunkType()) && !isFloatingPoint(weightSource.getChunkType())) {
+                    throw new UnsupportedOperationException(
+                            String.format("Invalid type %s in weight column %s for AggApproxWTopK",
+                                    weightSource.getType(), weightName));
+                }
+                weightOperator = new DoubleWeightRecordingInternalOperator(weightSource.getChunkType());
+                addOperator(weightOperator, weightSource, Stream.of(weightName),
+                        resultPairs.stream().map(pair -> pair.input().name()));
+            } else {
+                weightName = null;
+                weightOperator = null;
+            }
+
+            for (final Pair pair : resultPairs) {
+                final String inputName = pair.input().name();
+                final String resultName = pair.output().name();
+                final ColumnSource<?> inputSource = table.getColumnSource(inputName);
+                final ApproximateTopKOperator operator = new ApproximateTopKOperator(inputSource.getChunkType(),
+                        inputSource.getType(), k, capacity, weightOperator, weightOperator != null,
+                        approxTopK.counts(), false, resultName, exposeInternal);
+
+                if (weightName == null) {
+                    addOperator(operator, inputSource, inputName);
+                } else {
+                    addOperator(operator, inputSource, inputName, weightName);
+                }
+            }
+        }
+
         final void addFreezeOperators() {
             final FreezeByCountOperator countOperator;
             if (freezeByCountIndex >= 0) {
@@ -716,12 +960,23 @@ public class AggregationProcessor implements AggregationContextFactory {
             addBasicOperators((t, n) -> makeSumOperator(t, n, true));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            addApproximateCountDistinctOperators(
+                    approxCountDistinct.precision().orElse(ApproximateCountDistinctOperator.PRECISION_DEFAULT), false);
+        }
+
         @Override
         public void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
             addApproximatePercentileOperators(approxPct.percentile(),
                     approxPct.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateTopK approxTopK) {
+            addApproximateTopKOperators(approxTopK, false);
+        }
+
         @Override
         public void visit(@NotNull final AggSpecAvg avg) {
             addBasicOperators((t, n) -> makeAvgOperator(t, n, false));
@@ -972,6 +1227,17 @@ public class AggregationProcessor implements AggregationContextFactory {
             addBasicOperators((t, n) -> makeSumOperator(t, n, true));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            addApproximateCountDistinctOperators(
+                    approxCountDistinct.precision().orElse(ApproximateCountDistinctOperator.PRECISION_DEFAULT), true);
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximateTopK approxTopK) {
+            addApproximateTopKOperators(approxTopK, true);
+        }
+
         @Override
         public void visit(@NotNull final AggSpecAvg avg) {
             addBasicOperators((t, n) -> makeAvgOperator(t, n, true));
@@ -1122,6 +1388,17 @@ public class AggregationProcessor implements AggregationContextFactory {
             reaggregateAsSum();
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            reaggregateApproximateCountDistinctOperators(
+                    approxCountDistinct.precision().orElse(ApproximateCountDistinctOperator.PRECISION_DEFAULT));
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximateTopK approxTopK) {
+            reaggregateApproximateTopKOperators(approxTopK);
+        }
+
         @Override
         public void visit(@NotNull final AggSpecAvg avg) {
             reaggregateAvgOperator();
@@ -1210,6 +1487,32 @@ public class AggregationProcessor implements AggregationContextFactory {
             }
         }
 
+        private void reaggregateApproximateCountDistinctOperators(final int precision) {
+            for (final Pair pair : resultPairs) {
+                final String resultName = pair.output().name();
+                final String sketchName = resultName + ROLLUP_HLL_SKETCH_COLUMN_ID + ROLLUP_COLUMN_SUFFIX;
+                final ColumnSource<?> sketchSource = table.getColumnSource(sketchName);
+
+                addOperator(new ApproximateCountDistinctOperator(ChunkType.Object, precision, true, resultName, true),
+                        sketchSource, sketchName);
+            }
+        }
+
+        private void reaggregateApproximateTopKOperators(@NotNull final AggSpecApproximateTopK approxTopK) {
+            final int k = approxTopK.k();
+            final int capacity = approxTopK.capacity().orElse(ApproximateTopKOperator.defaultCapacity(k));
+            for (final Pair pair : resultPairs) {
+                final String resultName = pair.output().name();
+                final String sketchName = resultName + ROLLUP_TOP_K_SKETCH_COLUMN_ID + ROLLUP_COLUMN_SUFFIX;
+                final ColumnSource<?> sketchSource = table.getColumnSource(sketchName);
+                final Class<?> itemType = table.getColumnSource(resultName).getComponentType();
+
+                addOperator(new ApproximateTopKOperator(ChunkType.Object, itemType, k, capacity, null,
+                        approxTopK.weight().isPresent(), approxTopK.counts(), true, resultName, true),
+                        sketchSource, sketchName);
+            }
+        }
+
         private void reaggregateSsmBackedOperator(@NotNull final SsmBackOperatorFactory operatorFactory) {
             for (final Pair pair : resultPairs) {
                 final String resultName = pair.output().name();
@@ -0,0 +1,290 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.TableUpdate;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.sources.ObjectArraySource;
+import io.deephaven.util.QueryConstants;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.deephaven.engine.table.impl.by.RollupConstants.ROLLUP_COLUMN_SUFFIX;
+import static io.deephaven.engine.table.impl.by.RollupConstants.ROLLUP_HLL_SKETCH_COLUMN_ID;
+
+/**
+ * Iterative approximate count distinct operator, backed by a {@link HyperLogLogSketch} per destination. Input values
+ * may either be raw values to hash, or (for rollup re-aggregation) the sketches exposed by another instance of this
+ * operator, which are merged.
+ * <p>
+ * Sketches cannot forget values, so only additions are supported, as for {@link TDigestPercentileOperator}. Modified
+ * input sketches are supported when merging, because the sketches exposed by another instance only ever grow.
+ */
+public class ApproximateCountDistinctOperator implements IterativeChunkedAggregationOperator {
+
+    public static final int PRECISION_DEFAULT = 12;
+
+    private final ChunkType chunkType;
+    private final int precision;
+    private final boolean mergeSketches;
+    private final String name;
+    private final boolean exposeInternal;
+
+    private final ObjectArraySource<HyperLogLogSketch> sketches;
+    private final LongArraySource resultColumn;
+
+    /**
+     * Construct an operator.
+     *
+     * @param chunkType The chunk type of the input values
+     * @param precision The precision of the sketches
+     * @param mergeSketches Whether the input values are {@link HyperLogLogSketch sketches} to merge rather than raw
+     *        values
+     * @param name The result column name
+     * @param exposeInternal Whether to expose the sketches for rollup re-aggregation
+     */
+    public ApproximateCountDistinctOperator(
+            @NotNull final ChunkType chunkType,
+            final int precision,
+            final boolean mergeSketches,
+            @NotNull final String name,
+            final boolean exposeInternal) {
+        if (mergeSketches && chunkType != ChunkType.Object) {
+            throw new IllegalArgumentException("Sketches must be supplied as objects, not " + chunkType);
+        }
+        this.chunkType = chunkType;
+        this.precision = precision;
+        this.mergeSketches = mergeSketches;
+        this.name = name;
+        this.exposeInternal = exposeInternal;
+        sketches = new ObjectArraySource<>(HyperLogLogSketch.class);
+        resultColumn = new LongArraySource();
+    }
+
+    private static UnsupportedOperationException modificationUnsupported() {
+        return new UnsupportedOperationException("Approximate count distinct does not support data modification");
+    }
+
+    private static UnsupportedOperationException removalUnsupported() {
+        return new UnsupportedOperationException("Approximate count distinct does not support data removal");
+    }
+
+    @Override
+    public void addChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            stateModified.set(ii, accumulate(values, startPosition, length.get(ii), sketchForSlot(destination)));
+        }
+    }
+
+    @Override
+    public void removeChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        throw removalUnsupported();
+    }
+
+    @Override
+    public void modifyChunk(BucketedContext bucketedContext, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys,
+            IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        if (!mergeSketches) {
+            throw modificationUnsupported();
+        }
+        addChunk(bucketedContext, postValues, postShiftRowKeys, destinations, startPositions, length, stateModified);
+    }
+
+    @Override
+    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        return accumulate(values, 0, values.size(), sketchForSlot(destination));
+    }
+
+    @Override
+    public boolean removeChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        throw removalUnsupported();
+    }
+
+    @Override
+    public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        if (!mergeSketches) {
+            throw modificationUnsupported();
+        }
+        return addChunk(singletonContext, chunkSize, newValues, postShiftRowKeys, destination);
+    }
+
+    /**
+     * Add the values in {@code values} from {@code start} (inclusive) to {@code start + length} (exclusive) to
+     * {@code sketch}.
+     *
+     * @return Whether the sketch changed
+     */
+    private boolean accumulate(@NotNull final Chunk<? extends Values> values, final int start, final int length,
+            @NotNull final HyperLogLogSketch sketch) {
+        final int end = start + length;
+        boolean changed = false;
+        switch (chunkType) {
+            case Boolean: {
+                final BooleanChunk<? extends Values> typedValues = values.asBooleanChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    changed |= sketch.add(HyperLogLogSketch.hash(typedValues.get(ii) ? 1L : 0L));
+                }
+                break;
+            }
+            case Char: {
+                final CharChunk<? extends Values> typedValues = values.asCharChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final char value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_CHAR) {
+                        changed |= sketch.add(HyperLogLogSketch.hash((long) value));
+                    }
+                }
+                break;
+            }
+            case Byte: {
+                final ByteChunk<? extends Values> typedValues = values.asByteChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final byte value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_BYTE) {
+                        changed |= sketch.add(HyperLogLogSketch.hash((long) value));
+                    }
+                }
+                break;
+            }
+            case Short: {
+                final ShortChunk<? extends Values> typedValues = values.asShortChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final short value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_SHORT) {
+                        changed |= sketch.add(HyperLogLogSketch.hash((long) value));
+                    }
+                }
+                break;
+            }
+            case Int: {
+                final IntChunk<? extends Values> typedValues = values.asIntChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final int value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_INT) {
+                        changed |= sketch.add(HyperLogLogSketch.hash((long) value));
+                    }
+                }
+                break;
+            }
+            case Long: {
+                final LongChunk<? extends Values> typedValues = values.asLongChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final long value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_LONG) {
+                        changed |= sketch.add(HyperLogLogSketch.hash(value));
+                    }
+                }
+                break;
+            }
+            case Float: {
+                final FloatChunk<? extends Values> typedValues = values.asFloatChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final float value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_FLOAT) {
+                        changed |= sketch.add(HyperLogLogSketch.hash((double) value));
+                    }
+                }
+                break;
+            }
+            case Double: {
+                final DoubleChunk<? extends Values> typedValues = values.asDoubleChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final double value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_DOUBLE) {
+                        changed |= sketch.add(HyperLogLogSketch.hash(value));
+                    }
+                }
+                break;
+            }
+            case Object: {
+                final ObjectChunk<?, ? extends Values> typedValues = values.asObjectChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final Object value = typedValues.get(ii);
+                    if (value == null) {
+                        continue;
+                    }
+                    changed |= mergeSketches
+                            ? sketch.merge((HyperLogLogSketch) value)
+                            : sketch.add(HyperLogLogSketch.hash(value));
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+        return changed;
+    }
+
+    private HyperLogLogSketch sketchForSlot(final long slot) {
+        HyperLogLogSketch sketch = sketches.getUnsafe(slot);
+        if (sketch == null) {
+            sketches.set(slot, sketch = new HyperLogLogSketch(precision));
+        }
+        return sketch;
+    }
+
+    private void updateDestination(final long destination) {
+        final HyperLogLogSketch sketch = sketches.getUnsafe(destination);
+        resultColumn.set(destination, sketch == null ? 0 : sketch.estimate());
+    }
+
+    @Override
+    public void propagateInitialState(@NotNull final QueryTable resultTable, int startingDestinationsCount) {
+        resultTable.getRowSet().forAllRowKeys(this::updateDestination);
+    }
+
+    @Override
+    public void propagateUpdates(@NotNull final TableUpdate downstream, @NotNull final RowSet newDestinations) {
+        // Estimates are cached by the sketches, so unchanged destinations are cheap to update
+        downstream.added().forAllRowKeys(this::updateDestination);
+        downstream.modified().forAllRowKeys(this::updateDestination);
+    }
+
+    @Override
+    public void ensureCapacity(long tableSize) {
+        resultColumn.ensureCapacity(tableSize);
+        sketches.ensureCapacity(tableSize);
+    }
+
+    @Override
+    public Map<String, ? extends ColumnSource<?>> getResultColumns() {
+        final Map<String, ColumnSource<?>> columns = new LinkedHashMap<>();
+        columns.put(name, resultColumn);
+        if (exposeInternal) {
+            columns.put(name + ROLLUP_HLL_SKETCH_COLUMN_ID + ROLLUP_COLUMN_SUFFIX, sketches);
+        }
+        return columns;
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        resultColumn.startTrackingPrevValues();
+        if (exposeInternal) {
+            sketches.startTrackingPrevValues();
+        }
+    }
+}
@@ -0,0 +1,477 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderRandom;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.TableUpdate;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.sources.ObjectArraySource;
+import io.deephaven.util.QueryConstants;
+import io.deephaven.vector.Vector;
+import io.deephaven.vector.VectorFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.deephaven.engine.table.impl.by.RollupConstants.ROLLUP_COLUMN_SUFFIX;
+import static io.deephaven.engine.table.impl.by.RollupConstants.ROLLUP_TOP_K_SKETCH_COLUMN_ID;
+
+/**
+ * Iterative approximate top-K operator, backed by a {@link SpaceSavingSketch} per destination. Outputs a
+ * {@link Vector} of either the most frequent items or their estimated counts.
+ * <p>
+ * Input values may either be raw items, optionally weighted by the values recorded by a
+ * {@link DoubleWeightRecordingInternalOperator}, or (for rollup re-aggregation) the sketches exposed by another
+ * instance of this operator. Sketches cannot forget items, so raw inputs only support additions, as for
+ * {@link TDigestPercentileOperator}. Merging is not idempotent, so when merging each destination remembers its input
+ * sketches and is rebuilt from them whenever any of them is added, removed, or modified.
+ */
+public class ApproximateTopKOperator implements IterativeChunkedAggregationOperator {
+
+    private static final int CAPACITY_MULTIPLIER_DEFAULT = 10;
+    private static final int CAPACITY_MINIMUM_DEFAULT = 64;
+
+    /**
+     * @param k The number of items to output
+     * @return The default sketch capacity for {@code k}
+     */
+    static int defaultCapacity(final int k) {
+        return (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(CAPACITY_MINIMUM_DEFAULT, (long) k * CAPACITY_MULTIPLIER_DEFAULT));
+    }
+
+    private final ChunkType chunkType;
+    private final int k;
+    private final int capacity;
+    private final DoubleWeightRecordingInternalOperator weightOperator;
+    private final boolean weighted;
+    private final boolean counts;
+    private final boolean mergeSketches;
+    private final String name;
+    private final boolean exposeInternal;
+
+    private final ObjectArraySource<SpaceSavingSketch> sketches;
+    private final ObjectArraySource<List<SpaceSavingSketch>> inputSketches;
+    private final Class<?> resultElementType;
+    private final VectorFactory resultFactory;
+    private final ObjectArraySource<Vector<?>> resultColumn;
+
+    private RowSetBuilderRandom changedDestinations;
+
+    /**
+     * Construct an operator.
+     *
+     * @param chunkType The chunk type of the input values
+     * @param itemType The type of the items
+     * @param k The maximum number of items or counts to output for each destination
+     * @param capacity The capacity of the sketches
+     * @param weightOperator The operator recording input weights, or null if unweighted or merging
+     * @param weighted Whether item counts are sums of weights, which determines the type of count results
+     * @param counts Whether to output the estimated counts of the top items, rather than the items themselves
+     * @param mergeSketches Whether the input values are {@link SpaceSavingSketch sketches} to merge rather than raw
+     *        items
+     * @param name The result column name
+     * @param exposeInternal Whether to expose the sketches for rollup re-aggregation
+     */
+    public ApproximateTopKOperator(
+            @NotNull final ChunkType chunkType,
+            @NotNull final Class<?> itemType,
+            final int k,
+            final int capacity,
+            @Nullable final DoubleWeightRecordingInternalOperator weightOperator,
+            final boolean weighted,
+            final boolean counts,
+            final boolean mergeSketches,
+            @NotNull final String name,
+            final boolean exposeInternal) {
+        if (mergeSketches && chunkType != ChunkType.Object) {
+            throw new IllegalArgumentException("Sketches must be supplied as objects, not " + chunkType);
+        }
+        if (weightOperator != null && (mergeSketches || !weighted)) {
+            throw new IllegalArgumentException("Weights may only be recorded for weighted, unmerged inputs");
+        }
+        this.chunkType = chunkType;
+        this.k = k;
+        this.capacity = capacity;
+        this.weightOperator = weightOperator;
+        this.weighted = weighted;
+        this.counts = counts;
+        this.mergeSketches = mergeSketches;
+        this.name = name;
+        this.exposeInternal = exposeInternal;
+        sketches = new ObjectArraySource<>(SpaceSavingSketch.class);
+        if (mergeSketches) {
+            // noinspection unchecked
+            inputSketches = new ObjectArraySource<>((Class<List<SpaceSavingSketch>>) (Class<?>) List.class);
+        } else {
+            inputSketches = null;
+        }
+        resultElementType = counts ? (weighted ? double.class : long.class) : itemType;
+        resultFactory = VectorFactory.forElementType(resultElementType);
+        // noinspection unchecked
+        resultColumn = new ObjectArraySource<>((Class<Vector<?>>) resultFactory.vectorType(), resultElementType);
+        changedDestinations = RowSetFactory.builderRandom();
+    }
+
+    private static UnsupportedOperationException modificationUnsupported() {
+        return new UnsupportedOperationException("Approximate top-K does not support data modification");
+    }
+
+    private static UnsupportedOperationException removalUnsupported() {
+        return new UnsupportedOperationException("Approximate top-K does not support data removal");
+    }
+
+    @Override
+    public void addChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final DoubleChunk<? extends Values> weights = weightOperator == null ? null : weightOperator.getAddedWeights();
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            stateModified.set(ii, mergeSketches
+                    ? addInputSketches(values.asObjectChunk(), startPosition, length.get(ii), destination)
+                    : accumulate(values, weights, startPosition, length.get(ii), destination));
+        }
+    }
+
+    @Override
+    public void removeChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        if (!mergeSketches) {
+            throw removalUnsupported();
+        }
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            stateModified.set(ii,
+                    removeInputSketches(values.asObjectChunk(), startPosition, length.get(ii), destination));
+        }
+    }
+
+    @Override
+    public void modifyChunk(BucketedContext bucketedContext, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys,
+            IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        if (!mergeSketches) {
+            throw modificationUnsupported();
+        }
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            stateModified.set(ii, modifyInputSketches(preValues.asObjectChunk(), postValues.asObjectChunk(),
+                    startPosition, length.get(ii), destination));
+        }
+    }
+
+    @Override
+    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        if (mergeSketches) {
+            return addInputSketches(values.asObjectChunk(), 0, values.size(), destination);
+        }
+        final DoubleChunk<? extends Values> weights = weightOperator == null ? null : weightOperator.getAddedWeights();
+        return accumulate(values, weights, 0, values.size(), destination);
+    }
+
+    @Override
+    public boolean removeChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        if (!mergeSketches) {
+            throw removalUnsupported();
+        }
+        return removeInputSketches(values.asObjectChunk(), 0, values.size(), destination);
+    }
+
+    @Override
+    public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        if (!mergeSketches) {
+            throw modificationUnsupported();
+        }
+        return modifyInputSketches(previousValues.asObjectChunk(), newValues.asObjectChunk(), 0, newValues.size(),
+                destination);
+    }
+
+    /**
+     * Add the items in {@code values} from {@code start} (inclusive) to {@code start + length} (exclusive) to the
+     * sketch for {@code destination}, weighted by the parallel {@code weights} if non-null.
+     *
+     * @return Whether the sketch changed
+     */
+    private boolean accumulate(@NotNull final Chunk<? extends Values> values,
+            @Nullable final DoubleChunk<? extends Values> weights, final int start, final int length,
+            final long destination) {
+        final SpaceSavingSketch sketch = sketchForSlot(destination);
+        final int end = start + length;
+        boolean changed = false;
+        switch (chunkType) {
+            case Char: {
+                final CharChunk<? extends Values> typedValues = values.asCharChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final char value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_CHAR) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Byte: {
+                final ByteChunk<? extends Values> typedValues = values.asByteChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final byte value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_BYTE) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Short: {
+                final ShortChunk<? extends Values> typedValues = values.asShortChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final short value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_SHORT) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Int: {
+                final IntChunk<? extends Values> typedValues = values.asIntChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final int value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_INT) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Long: {
+                final LongChunk<? extends Values> typedValues = values.asLongChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final long value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_LONG) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Float: {
+                final FloatChunk<? extends Values> typedValues = values.asFloatChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final float value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_FLOAT) {
+                        // Positive and negative zero are the same item
+                        changed |= sketch.add(value == 0.0f ? 0.0f : value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Double: {
+                final DoubleChunk<? extends Values> typedValues = values.asDoubleChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final double value = typedValues.get(ii);
+                    if (value != QueryConstants.NULL_DOUBLE) {
+                        changed |= sketch.add(value == 0.0 ? 0.0 : value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            case Object: {
+                final ObjectChunk<?, ? extends Values> typedValues = values.asObjectChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    final Object value = typedValues.get(ii);
+                    if (value != null) {
+                        changed |= sketch.add(value, weight(weights, ii));
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+        if (changed) {
+            changedDestinations.addKey(destination);
+        }
+        return changed;
+    }
+
+    private static double weight(@Nullable final DoubleChunk<? extends Values> weights, final int position) {
+        return weights == null ? 1.0 : weights.get(position);
+    }
+
+    private boolean addInputSketches(@NotNull final ObjectChunk<?, ? extends Values> values, final int start,
+            final int length, final long destination) {
+        final List<SpaceSavingSketch> destinationInputs = inputSketchesForSlot(destination);
+        final int end = start + length;
+        for (int ii = start; ii < end; ++ii) {
+            final SpaceSavingSketch sketch = (SpaceSavingSketch) values.get(ii);
+            if (sketch != null) {
+                destinationInputs.add(sketch);
+            }
+        }
+        changedDestinations.addKey(destination);
+        return true;
+    }
+
+    private boolean removeInputSketches(@NotNull final ObjectChunk<?, ? extends Values> values, final int start,
+            final int length, final long destination) {
+        final List<SpaceSavingSketch> destinationInputs = inputSketchesForSlot(destination);
+        final int end = start + length;
+        for (int ii = start; ii < end; ++ii) {
+            final SpaceSavingSketch sketch = (SpaceSavingSketch) values.get(ii);
+            if (sketch != null) {
+                removeByIdentity(destinationInputs, sketch);
+            }
+        }
+        changedDestinations.addKey(destination);
+        return true;
+    }
+
+    private boolean modifyInputSketches(@NotNull final ObjectChunk<?, ? extends Values> preValues,
+            @NotNull final ObjectChunk<?, ? extends Values> postValues, final int start, final int length,
+            final long destination) {
+        final List<SpaceSavingSketch> destinationInputs = inputSketchesForSlot(destination);
+        final int end = start + length;
+        for (int ii = start; ii < end; ++ii) {
+            final SpaceSavingSketch preSketch = (SpaceSavingSketch) preValues.get(ii);
+            final SpaceSavingSketch postSketch = (SpaceSavingSketch) postValues.get(ii);
+            if (preSketch == postSketch) {
+                // The sketch has been updated in place
+                continue;
+            }
+            if (preSketch != null) {
+                removeByIdentity(destinationInputs, preSketch);
+            }
+            if (postSketch != null) {
+                destinationInputs.add(postSketch);
+            }
+        }
+        changedDestinations.addKey(destination);
+        return true;
+    }
+
+    private static void removeByIdentity(@NotNull final List<SpaceSavingSketch> sketches,
+            @NotNull final SpaceSavingSketch sketch) {
+        for (int si = sketches.size() - 1; si >= 0; --si) {
+            if (sketches.get(si) == sketch) {
+                sketches.remove(si);
+                return;
+            }
+        }
+        throw new IllegalStateException("Removed sketch was never added: " + sketch);
+    }
+
+    private SpaceSavingSketch sketchForSlot(final long slot) {
+        SpaceSavingSketch sketch = sketches.getUnsafe(slot);
+        if (sketch == null) {
+            sketches.set(slot, sketch = new SpaceSavingSketch(capacity));
+        }
+        return sketch;
+    }
+
+    private List<SpaceSavingSketch> inputSketchesForSlot(final long slot) {
+        List<SpaceSavingSketch> destinationInputs = inputSketches.getUnsafe(slot);
+        if (destinationInputs == null) {
+            inputSketches.set(slot, destinationInputs = new ArrayList<>());
+        }
+        return destinationInputs;
+    }
+
+    private void updateDestination(final long destination) {
+        final SpaceSavingSketch sketch = sketchForSlot(destination);
+        if (mergeSketches) {
+            sketch.clear();
+            final List<SpaceSavingSketch> destinationInputs = inputSketches.getUnsafe(destination);
+            if (destinationInputs != null) {
+                for (final SpaceSavingSketch inputSketch : destinationInputs) {
+                    sketch.merge(inputSketch);
+                }
+            }
+        }
+        resultColumn.set(destination, makeResult(sketch));
+    }
+
+    private Vector<?> makeResult(@NotNull final SpaceSavingSketch sketch) {
+        if (!counts) {
+            final Object[] topItems = sketch.topItems(k);
+            final Object result = Array.newInstance(resultElementType, topItems.length);
+            for (int ii = 0; ii < topItems.length; ++ii) {
+                Array.set(result, ii, topItems[ii]);
+            }
+            return resultFactory.vectorWrap(result);
+        }
+        final double[] topCounts = sketch.topCounts(k);
+        if (weighted) {
+            return resultFactory.vectorWrap(topCounts);
+        }
+        final long[] result = new long[topCounts.length];
+        for (int ii = 0; ii < topCounts.length; ++ii) {
+            result[ii] = Math.round(topCounts[ii]);
+        }
+        return resultFactory.vectorWrap(result);
+    }
+
+    @Override
+    public void propagateInitialState(@NotNull final QueryTable resultTable, int startingDestinationsCount) {
+        changedDestinations = RowSetFactory.builderRandom();
+        resultTable.getRowSet().forAllRowKeys(this::updateDestination);
+    }
+
+    @Override
+    public void resetForStep(@NotNull final TableUpdate upstream, final int startingDestinationsCount) {
+        changedDestinations = RowSetFactory.builderRandom();
+    }
+
+    @Override
+    public void propagateUpdates(@NotNull final TableUpdate downstream, @NotNull final RowSet newDestinations) {
+        try (final RowSet changed = changedDestinations.build()) {
+            changed.forAllRowKeys(this::updateDestination);
+        }
+    }
+
+    @Override
+    public void ensureCapacity(long tableSize) {
+        resultColumn.ensureCapacity(tableSize);
+        sketches.ensureCapacity(tableSize);
+        if (inputSketches != null) {
+            inputSketches.ensureCapacity(tableSize);
+        }
+    }
+
+    @Override
+    public Map<String, ? extends ColumnSource<?>> getResultColumns() {
+        final Map<String, ColumnSource<?>> columns = new LinkedHashMap<>();
+        columns.put(name, resultColumn);
+        if (exposeInternal) {
+            columns.put(name + ROLLUP_TOP_K_SKETCH_COLUMN_ID + ROLLUP_COLUMN_SUFFIX, sketches);
+        }
+        return columns;
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        resultColumn.startTrackingPrevValues();
+        if (exposeInternal) {
+            sketches.startTrackingPrevValues();
+        }
+    }
+}
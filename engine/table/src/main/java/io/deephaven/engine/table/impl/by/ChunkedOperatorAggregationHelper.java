@@ -31,8 +31,10 @@ import io.deephaven.engine.table.impl.sources.ArrayBackedColumnSource;
 import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
 import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
 import io.deephaven.engine.table.impl.util.ChunkUtils;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
 import io.deephaven.engine.table.impl.util.UpdateSizeCalculator;
 import io.deephaven.engine.table.iterators.ChunkedColumnIterator;
+import io.deephaven.engine.util.TableTools;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.SafeCloseableArray;
 import io.deephaven.util.SafeCloseableList;
@@ -48,6 +50,7 @@ import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
+import static io.deephaven.engine.table.Table.AGGREGATION_ROW_LOOKUP_ATTRIBUTE;
 import static io.deephaven.engine.table.impl.by.AggregationRowLookup.DEFAULT_UNKNOWN_ROW;
 import static io.deephaven.engine.table.impl.by.AggregationRowLookup.EMPTY_KEY;
 
@@ -61,6 +64,34 @@ public class ChunkedOperatorAggregationHelper {
     static final boolean HASHED_RUN_FIND =
             Configuration.getInstance().getBooleanWithDefault("ChunkedOperatorAggregationHelper.hashedRunFind", true);
 
+    /**
+     * You can choose to enable or disable parallel aggregation of static tables, which aggregates slices of the input
+     * concurrently and then merges the partial results.
+     */
+    static boolean ENABLE_PARALLEL_STATIC_AGGREGATION = Configuration.getInstance().getBooleanWithDefault(
+            "ChunkedOperatorAggregationHelper.enableParallelStaticAggregation", true);
+
+    /**
+     * Minimum number of input rows per slice of a parallel static aggregation, defaults to 4 million.
+     */
+    public static long MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS = Configuration.getInstance().getLongWithDefault(
+            "ChunkedOperatorAggregationHelper.minimumParallelAggregationSliceRows", 1L << 22);
+
+    /**
+     * Maximum fraction of sampled input rows that may hold distinct keys for a static aggregation to be computed in
+     * parallel, defaults to 0.1. When most rows hold distinct keys, the partial result of each slice is nearly as large
+     * as the slice, and merging the partial results costs as much as aggregating the input serially.
+     */
+    public static double MAXIMUM_PARALLEL_AGGREGATION_DISTINCT_KEY_FRACTION =
+            Configuration.getInstance().getDoubleWithDefault(
+                    "ChunkedOperatorAggregationHelper.maximumParallelAggregationDistinctKeyFraction", 0.1);
+
+    /**
+     * Number of input rows sampled to estimate the fraction of distinct keys, defaults to 65,536.
+     */
+    private static final int PARALLEL_AGGREGATION_KEY_SAMPLE_SIZE = Configuration.getInstance().getIntegerWithDefault(
+            "ChunkedOperatorAggregationHelper.parallelAggregationKeySampleSize", 1 << 16);
+
     public static QueryTable aggregation(
             @NotNull final AggregationContextFactory aggregationContextFactory,
             @NotNull final QueryTable input,
@@ -145,6 +176,14 @@ public class ChunkedOperatorAggregationHelper {
             @Nullable final Table initialKeys,
             @NotNull final String[] keyNames,
             final boolean usePrev) {
+        if (snapshotControl == null && dataIndex == null && initialKeys == null) {
+            final QueryTable parallelResult =
+                    maybeParallelStaticAggregation(control, aggregationContextFactory, input, keyNames);
+            if (parallelResult != null) {
+                return parallelResult;
+            }
+        }
+
         if (keyNames.length == 0) {
             // This should be checked before this method is called, but let's verify here in case an additional
             // entry point is added incautiously.
@@ -276,6 +315,7 @@ public class ChunkedOperatorAggregationHelper {
                                 keyColumnsCopied,
                                 result.getModifiedColumnSetForUpdates(), resultModifiedColumnSetFactories);
                     }
+                    getEntry().reportStateBytes(ac.stateSizeInBytes());
 
                     if (downstream.empty()) {
                         downstream.release();
@@ -306,6 +346,107 @@ public class ChunkedOperatorAggregationHelper {
         return finalResult;
     }
 
+    /**
+     * Aggregate a static input table by splitting it into slices, aggregating each slice concurrently, and then
+     * aggregating the merged partial results. Each group's first appearance in the merged partial results is in the
+     * partial result for the first slice in which it appears, so the result rows are in the same order as for a serial
+     * aggregation.
+     *
+     * @return The result, or {@code null} if the aggregation should not be computed in parallel
+     */
+    @Nullable
+    private static QueryTable maybeParallelStaticAggregation(
+            @NotNull final AggregationControl control,
+            @NotNull final AggregationContextFactory aggregationContextFactory,
+            @NotNull final QueryTable input,
+            @NotNull final String[] keyNames) {
+        if (!ENABLE_PARALLEL_STATIC_AGGREGATION
+                || input.isRefreshing()
+                || !(aggregationContextFactory instanceof AggregationProcessor)
+                || !ExecutionContext.getContext().getOperationInitializer().canParallelize()) {
+            return null;
+        }
+        final long inputSize = input.size();
+        final int numSlices = (int) Math.min(
+                ExecutionContext.getContext().getOperationInitializer().parallelismFactor(),
+                inputSize / Math.max(MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS, 1));
+        if (numSlices < 2) {
+            return null;
+        }
+        final AggregationProcessor processor = (AggregationProcessor) aggregationContextFactory;
+        if (!processor.supportsPartialAggregation() || !hasFewDistinctKeys(input, keyNames)) {
+            return null;
+        }
+
+        final List<ColumnName> groupByColumns = ColumnName.from(keyNames);
+        final AggregationContextFactory partialFactory = processor.forPartialAggregation();
+        final Table[] partialResults = new Table[numSlices];
+        OperationInitializerJobScheduler.iterateParallelAndWait(
+                "aggregating slices of " + input.getDescription(), numSlices, sliceIndex -> {
+                    final long firstPosition = inputSize * sliceIndex / numSlices;
+                    final long lastPosition = inputSize * (sliceIndex + 1) / numSlices - 1;
+                    final QueryTable slice = input.getSubTable(
+                            input.getRowSet().subSetByPositionRange(firstPosition, lastPosition + 1).toTracking());
+                    partialResults[sliceIndex] =
+                            aggregation(control, partialFactory, slice, false, null, groupByColumns);
+                });
+
+        final QueryTable merged = aggregation(control, processor.forPartialAggregationMerge(),
+                (QueryTable) TableTools.merge(partialResults).coalesce(), false, null, groupByColumns);
+
+        // Drop the internal columns used to merge the partial results
+        final Map<String, ColumnSource<?>> resultColumnSourceMap = new LinkedHashMap<>();
+        for (final String keyName : keyNames) {
+            resultColumnSourceMap.put(keyName, merged.getColumnSource(keyName));
+        }
+        processor.getOutputColumns().forEach(
+                cn -> resultColumnSourceMap.put(cn.name(), merged.getColumnSource(cn.name())));
+        final QueryTable result = new QueryTable(merged.getRowSet(), resultColumnSourceMap);
+        result.setAttribute(AGGREGATION_ROW_LOOKUP_ATTRIBUTE, merged.getAttribute(AGGREGATION_ROW_LOOKUP_ATTRIBUTE));
+        if (result.getRowSet().isFlat()) {
+            result.setFlat();
+        }
+        return result;
+    }
+
+    /**
+     * Estimate whether the keys of a static input repeat enough for its slices to aggregate to partial results that are
+     * much smaller than the slices, from the keys of rows sampled evenly across the input.
+     *
+     * @return Whether the fraction of sampled rows with distinct keys is at most
+     *         {@link #MAXIMUM_PARALLEL_AGGREGATION_DISTINCT_KEY_FRACTION}
+     */
+    private static boolean hasFewDistinctKeys(@NotNull final QueryTable input, @NotNull final String[] keyNames) {
+        if (keyNames.length == 0) {
+            return true;
+        }
+        final ColumnSource<?>[] keySources = Arrays.stream(keyNames)
+                .map(input::getColumnSource)
+                .toArray(ColumnSource[]::new);
+        final RowSet rowSet = input.getRowSet();
+        final long inputSize = rowSet.size();
+        final int sampleSize = (int) Math.min(inputSize, PARALLEL_AGGREGATION_KEY_SAMPLE_SIZE);
+        final long maximumDistinctKeys = (long) (sampleSize * MAXIMUM_PARALLEL_AGGREGATION_DISTINCT_KEY_FRACTION);
+        final Set<Object> distinctKeys = new HashSet<>();
+        for (int ii = 0; ii < sampleSize; ++ii) {
+            final long rowKey = rowSet.get(inputSize * ii / sampleSize);
+            final Object key;
+            if (keySources.length == 1) {
+                key = keySources[0].get(rowKey);
+            } else {
+                final Object[] keyValues = new Object[keySources.length];
+                for (int ki = 0; ki < keySources.length; ++ki) {
+                    keyValues[ki] = keySources[ki].get(rowKey);
+                }
+                key = Arrays.asList(keyValues);
+            }
+            if (distinctKeys.add(key) && distinctKeys.size() > maximumDistinctKeys) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static OperatorAggregationStateManager makeStateManager(
             @NotNull final AggregationControl control, @NotNull final QueryTable input,
             @NotNull final ColumnSource<?>[] keySources, @NotNull final ColumnSource<?>[] reinterpretedKeySources,
@@ -2181,6 +2322,7 @@ public class ChunkedOperatorAggregationHelper {
                             ac.propagateChangesToOperators(downstream, newStates);
                         }
                         statesCreated = newStatesCreated;
+                        getEntry().reportStateBytes(ac.stateSizeInBytes());
 
                         extractDownstreamModifiedColumnSet(downstream, result.getModifiedColumnSetForUpdates(),
                                 modifiedOperators, upstreamModifiedColumnSet, resultModifiedColumnSetFactories);
@@ -0,0 +1,410 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.UUID;
+
+/**
+ * <p>
+ * A HyperLogLog sketch for estimating the number of distinct 64-bit hashes added to it, as used by
+ * {@link AggSpecApproximateCountDistinct}.
+ * <p>
+ * Small sketches keep their non-zero registers in a sparse open-addressed table, and switch to a dense array of
+ * {@code 2^precision} one-byte registers once that would be smaller. Estimates use Ertl's improved estimator (see
+ * "New cardinality estimation algorithms for HyperLogLog sketches", 2017), which is accurate across the full range of
+ * cardinalities without empirical bias correction tables.
+ * <p>
+ * Sketches are not thread-safe.
+ */
+public final class HyperLogLogSketch {
+
+    /**
+     * Number of bits used for the register value in a sparse entry.
+     */
+    private static final int SPARSE_VALUE_BITS = 6;
+    private static final int SPARSE_VALUE_MASK = (1 << SPARSE_VALUE_BITS) - 1;
+    private static final int INITIAL_SPARSE_CAPACITY = 16;
+
+    private final int precision;
+    private final int numRegisters;
+
+    /**
+     * Open-addressed table of {@code (registerIndex + 1) << SPARSE_VALUE_BITS | registerValue}, with 0 for empty slots.
+     * Null once the sketch is dense.
+     */
+    private int[] sparseEntries;
+    private int sparseSize;
+
+    /**
+     * Dense register values. Null while the sketch is sparse.
+     */
+    private byte[] registers;
+
+    private long cachedEstimate;
+    private boolean estimateValid;
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param precision The base-2 logarithm of the number of registers
+     */
+    public HyperLogLogSketch(final int precision) {
+        if (precision < AggSpecApproximateCountDistinct.MIN_PRECISION
+                || precision > AggSpecApproximateCountDistinct.MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid HyperLogLog precision " + precision);
+        }
+        this.precision = precision;
+        numRegisters = 1 << precision;
+        sparseEntries = new int[INITIAL_SPARSE_CAPACITY];
+        estimateValid = true;
+    }
+
+    /**
+     * @return The base-2 logarithm of the number of registers
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Add a well-mixed 64-bit hash to this sketch.
+     *
+     * @param hash The hash
+     * @return Whether the sketch changed
+     */
+    public boolean add(final long hash) {
+        return update(registerIndex(precision, hash), registerValue(precision, hash));
+    }
+
+    /**
+     * @param precision The base-2 logarithm of the number of registers
+     * @param hash A well-mixed 64-bit hash
+     * @return The index of the register that {@code hash} updates
+     */
+    public static int registerIndex(final int precision, final long hash) {
+        return (int) (hash >>> (Long.SIZE - precision));
+    }
+
+    /**
+     * @param precision The base-2 logarithm of the number of registers
+     * @param hash A well-mixed 64-bit hash
+     * @return The value, in [1, {@link #maxRegisterValue(int) maxRegisterValue(precision)}], that {@code hash} offers
+     *         to its register
+     */
+    public static int registerValue(final int precision, final long hash) {
+        // Set a sentinel bit so that the run of leading zeros is bounded by the number of non-index bits
+        final long remainder = (hash << precision) | (1L << (precision - 1));
+        return Long.numberOfLeadingZeros(remainder) + 1;
+    }
+
+    /**
+     * @param precision The base-2 logarithm of the number of registers
+     * @return The largest value a register can hold
+     */
+    public static int maxRegisterValue(final int precision) {
+        return Long.SIZE - precision + 1;
+    }
+
+    /**
+     * Merge {@code other} into this sketch, such that this sketch estimates the number of distinct hashes added to
+     * either sketch.
+     *
+     * @param other The sketch to merge, which must have the same precision
+     * @return Whether this sketch changed
+     */
+    public boolean merge(@NotNull final HyperLogLogSketch other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot merge HyperLogLog sketches with different precisions %d and %d",
+                    precision, other.precision));
+        }
+        if (other == this) {
+            return false;
+        }
+        boolean changed = false;
+        if (other.registers == null) {
+            for (final int entry : other.sparseEntries) {
+                if (entry != 0) {
+                    changed |= update((entry >>> SPARSE_VALUE_BITS) - 1, entry & SPARSE_VALUE_MASK);
+                }
+            }
+            return changed;
+        }
+        if (registers == null) {
+            convertToDense();
+        }
+        final byte[] otherRegisters = other.registers;
+        for (int ri = 0; ri < numRegisters; ++ri) {
+            if (otherRegisters[ri] > registers[ri]) {
+                registers[ri] = otherRegisters[ri];
+                changed = true;
+            }
+        }
+        if (changed) {
+            estimateValid = false;
+        }
+        return changed;
+    }
+
+    /**
+     * @return The estimated number of distinct hashes added to this sketch
+     */
+    public long estimate() {
+        if (!estimateValid) {
+            cachedEstimate = computeEstimate();
+            estimateValid = true;
+        }
+        return cachedEstimate;
+    }
+
+    /**
+     * @return The approximate number of bytes of register storage used by this sketch
+     */
+    public long sizeInBytes() {
+        return registers == null ? (long) sparseEntries.length * Integer.BYTES : registers.length;
+    }
+
+    private boolean update(final int registerIndex, final int value) {
+        if (registers != null) {
+            if (value <= registers[registerIndex]) {
+                return false;
+            }
+            registers[registerIndex] = (byte) value;
+            estimateValid = false;
+            return true;
+        }
+
+        final int mask = sparseEntries.length - 1;
+        final int key = registerIndex + 1;
+        for (int slot = mix32(key) & mask;; slot = (slot + 1) & mask) {
+            final int entry = sparseEntries[slot];
+            if (entry == 0) {
+                sparseEntries[slot] = (key << SPARSE_VALUE_BITS) | value;
+                estimateValid = false;
+                if (++sparseSize * 2 > sparseEntries.length) {
+                    growSparse();
+                }
+                return true;
+            }
+            if ((entry >>> SPARSE_VALUE_BITS) == key) {
+                if (value <= (entry & SPARSE_VALUE_MASK)) {
+                    return false;
+                }
+                sparseEntries[slot] = (key << SPARSE_VALUE_BITS) | value;
+                estimateValid = false;
+                return true;
+            }
+        }
+    }
+
+    private void growSparse() {
+        final int newCapacity = sparseEntries.length * 2;
+        if ((long) newCapacity * Integer.BYTES >= numRegisters) {
+            convertToDense();
+            return;
+        }
+        final int[] oldEntries = sparseEntries;
+        sparseEntries = new int[newCapacity];
+        final int mask = newCapacity - 1;
+        for (final int entry : oldEntries) {
+            if (entry == 0) {
+                continue;
+            }
+            int slot = mix32(entry >>> SPARSE_VALUE_BITS) & mask;
+            while (sparseEntries[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            sparseEntries[slot] = entry;
+        }
+    }
+
+    private void convertToDense() {
+        registers = new byte[numRegisters];
+        for (final int entry : sparseEntries) {
+            if (entry != 0) {
+                registers[(entry >>> SPARSE_VALUE_BITS) - 1] = (byte) (entry & SPARSE_VALUE_MASK);
+            }
+        }
+        sparseEntries = null;
+        sparseSize = 0;
+    }
+
+    private long computeEstimate() {
+        final int[] histogram = new int[maxRegisterValue(precision) + 1];
+        if (registers == null) {
+            histogram[0] = numRegisters - sparseSize;
+            for (final int entry : sparseEntries) {
+                if (entry != 0) {
+                    ++histogram[entry & SPARSE_VALUE_MASK];
+                }
+            }
+        } else {
+            for (final byte value : registers) {
+                ++histogram[value];
+            }
+        }
+        return estimate(precision, histogram);
+    }
+
+    /**
+     * Estimate the number of distinct hashes from a histogram of register values, for callers that maintain registers
+     * outside of a sketch.
+     *
+     * @param precision The base-2 logarithm of the number of registers
+     * @param histogram The number of registers holding each value, of length
+     *        {@link #maxRegisterValue(int) maxRegisterValue(precision)} {@code + 1}
+     * @return The estimated number of distinct hashes
+     */
+    public static long estimate(final int precision, @NotNull final int[] histogram) {
+        final int numRegisters = 1 << precision;
+        final int maxValue = maxRegisterValue(precision);
+        if (histogram[0] == numRegisters) {
+            return 0;
+        }
+
+        final double m = numRegisters;
+        double z = m * tau(1.0 - histogram[maxValue] / m);
+        for (int vi = maxValue - 1; vi >= 1; --vi) {
+            z = 0.5 * (z + histogram[vi]);
+        }
+        z += m * sigma(histogram[0] / m);
+        return Math.round(m * m / (2.0 * Math.log(2.0) * z));
+    }
+
+    private static double sigma(double x) {
+        if (x == 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1.0;
+        double z = x;
+        double zPrev;
+        do {
+            x *= x;
+            zPrev = z;
+            z += x * y;
+            y += y;
+        } while (z != zPrev);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0.0 || x == 1.0) {
+            return 0.0;
+        }
+        double y = 1.0;
+        double z = 1.0 - x;
+        double zPrev;
+        do {
+            x = Math.sqrt(x);
+            zPrev = z;
+            y *= 0.5;
+            z -= (1.0 - x) * (1.0 - x) * y;
+        } while (z != zPrev);
+        return z / 3.0;
+    }
+
+    private static int mix32(int value) {
+        value *= 0x9E3779B9;
+        return value ^ (value >>> 16);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Hashing
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Mix the bits of {@code value} to produce a hash suitable for {@link #add(long)}.
+     *
+     * @param value The value
+     * @return The hash
+     */
+    public static long hash(long value) {
+        // MurmurHash3 64-bit finalizer
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Produce a hash of {@code value} suitable for {@link #add(long)}. Positive and negative zero hash identically.
+     *
+     * @param value The value
+     * @return The hash
+     */
+    public static long hash(final double value) {
+        return hash(Double.doubleToLongBits(value == 0.0 ? 0.0 : value));
+    }
+
+    /**
+     * Produce a hash of {@code value} suitable for {@link #add(long)}. {@link CharSequence CharSequences}, boxed
+     * primitives, {@link BigInteger BigIntegers}, {@link BigDecimal BigDecimals} and {@link UUID UUIDs} are hashed over
+     * all 64 bits, consistently with the primitive {@code hash} methods. Other objects are hashed from their
+     * {@link Object#hashCode() hash code}, so they contribute at most 32 bits of entropy: values with equal hash codes
+     * are counted once, and with more than roughly {@code 10^8} distinct values the collisions of even well distributed
+     * hash codes bias the estimate low by more than the sketch's standard error.
+     *
+     * @param value The value
+     * @return The hash
+     */
+    public static long hash(@NotNull final Object value) {
+        if (value instanceof CharSequence) {
+            final CharSequence chars = (CharSequence) value;
+            final int length = chars.length();
+            long result = length;
+            for (int ci = 0; ci < length; ++ci) {
+                result = result * 0x100000001B3L + chars.charAt(ci);
+            }
+            return hash(result);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return hash(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return hash(((Number) value).doubleValue());
+        }
+        if (value instanceof Character) {
+            return hash((long) (Character) value);
+        }
+        if (value instanceof Boolean) {
+            return hash((Boolean) value ? 1L : 0L);
+        }
+        if (value instanceof BigInteger) {
+            return hash((BigInteger) value);
+        }
+        if (value instanceof BigDecimal) {
+            // BigDecimals that differ only in scale are distinct, as for equals
+            final BigDecimal decimal = (BigDecimal) value;
+            return hash(hash(decimal.unscaledValue()) + decimal.scale());
+        }
+        if (value instanceof UUID) {
+            final UUID uuid = (UUID) value;
+            return hash(hash(uuid.getMostSignificantBits()) + uuid.getLeastSignificantBits());
+        }
+        return hash((long) value.hashCode());
+    }
+
+    private static long hash(@NotNull final BigInteger value) {
+        final byte[] bytes = value.toByteArray();
+        long result = bytes.length;
+        for (final byte b : bytes) {
+            result = result * 0x100000001B3L + b;
+        }
+        return hash(result);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLogSketch{precision=" + precision
+                + ", " + (registers == null ? "sparse" : "dense")
+                + ", estimate=" + estimate() + '}';
+    }
+}
@@ -320,6 +320,16 @@ public interface IterativeChunkedAggregationOperator {
     default void propagateUpdates(@NotNull final TableUpdate downstream,
             @NotNull final RowSet newDestinations) {}
 
+    /**
+     * Get the approximate number of bytes of per-destination state this operator retains between updates, beyond its
+     * result columns, for the update performance log.
+     *
+     * @return The approximate number of bytes of state retained by this operator
+     */
+    default long stateSizeInBytes() {
+        return 0;
+    }
+
     /**
      * Called on error to propagate listener failure to this operator.
      * 
@@ -26,6 +26,18 @@ public final class RollupConstants {
      */
     public static final String ROLLUP_DISTINCT_SSM_COLUMN_ID = "_SSM_";
 
+    /**
+     * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for
+     * {@link HyperLogLogSketch} columns used in "approximate count distinct" rollup aggregations.
+     */
+    static final String ROLLUP_HLL_SKETCH_COLUMN_ID = "_HLL_";
+
+    /**
+     * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for
+     * {@link SpaceSavingSketch} columns used in "approximate top-K" rollup aggregations.
+     */
+    static final String ROLLUP_TOP_K_SKETCH_COLUMN_ID = "_TOPK_";
+
     /**
      * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for running
      * sum columns used in rollup aggregations.
@@ -0,0 +1,294 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.agg.spec.AggSpecApproximateTopK;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * A Space-Saving sketch (see Metwally, Agrawal, and El Abbadi, "Efficient Computation of Frequent and Top-k Elements in
+ * Data Streams", 2005) for approximating the most frequent items added to it, as used by
+ * {@link AggSpecApproximateTopK}.
+ * <p>
+ * The sketch monitors at most {@link #capacity()} items. When a new item arrives and the sketch is full, the item with
+ * the smallest count is evicted and the new item inherits its count, which is recorded as the new item's maximum
+ * over-estimation. Every item whose true count exceeds {@code totalWeight / capacity} is guaranteed to be monitored,
+ * and monitored counts are never under-estimates.
+ * <p>
+ * Sketches with the same capacity may be {@link #merge(SpaceSavingSketch) merged} by summing their counters, charging
+ * items missing from a full sketch that sketch's minimum count, and keeping the most frequent {@code capacity} items
+ * (see Cafaro et al., "A parallel space saving algorithm for frequent items and the Hurwitz zeta distribution", 2016).
+ * Merging preserves the same error guarantee with respect to the combined input.
+ * <p>
+ * Sketches are not thread-safe.
+ */
+public final class SpaceSavingSketch {
+
+    /**
+     * Orders counters from most to least frequent, preferring counters with smaller over-estimation among ties.
+     */
+    private static final Comparator<Counter> DESCENDING_COUNT =
+            Comparator.comparingDouble((Counter counter) -> -counter.count)
+                    .thenComparingDouble(counter -> counter.error);
+
+    private static final class Counter {
+        private Object item;
+        private double count;
+        private double error;
+        private int heapIndex;
+
+        private Counter(@NotNull final Object item, final double count, final double error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Object, Counter> counters;
+
+    /**
+     * Binary min-heap of the monitored counters, ordered by count.
+     */
+    private Counter[] heap;
+    private int size;
+
+    /**
+     * Cached descending-count ordering of the monitored counters, or null if invalidated by a change.
+     */
+    private Counter[] sorted;
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param capacity The maximum number of items to monitor
+     */
+    public SpaceSavingSketch(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid Space-Saving capacity " + capacity);
+        }
+        this.capacity = capacity;
+        counters = new HashMap<>();
+        heap = new Counter[Math.min(capacity, 16)];
+    }
+
+    /**
+     * @return The maximum number of items monitored by this sketch
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of items currently monitored by this sketch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add {@code weight} occurrences of {@code item} to this sketch. Non-positive and NaN weights are ignored.
+     *
+     * @param item The item, which must have consistent {@link Object#equals(Object) equals} and
+     *        {@link Object#hashCode() hashCode} implementations
+     * @param weight The weight to add
+     * @return Whether the sketch changed
+     */
+    public boolean add(@NotNull final Object item, final double weight) {
+        if (!(weight > 0)) {
+            return false;
+        }
+        sorted = null;
+        final Counter existing = counters.get(item);
+        if (existing != null) {
+            existing.count += weight;
+            siftDown(existing.heapIndex);
+            return true;
+        }
+        if (size < capacity) {
+            final Counter counter = new Counter(item, weight, 0);
+            counters.put(item, counter);
+            pushHeap(counter);
+            return true;
+        }
+        // Replace the least frequent item, which bounds the new item's prior count
+        final Counter minimum = heap[0];
+        counters.remove(minimum.item);
+        minimum.item = item;
+        minimum.error = minimum.count;
+        minimum.count += weight;
+        counters.put(item, minimum);
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Merge {@code other} into this sketch, such that this sketch approximates the most frequent items added to either
+     * sketch.
+     *
+     * @param other The sketch to merge, which must have the same capacity
+     * @return Whether this sketch changed
+     */
+    public boolean merge(@NotNull final SpaceSavingSketch other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot merge Space-Saving sketches with different capacities %d and %d",
+                    capacity, other.capacity));
+        }
+        if (other.size == 0) {
+            return false;
+        }
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a Space-Saving sketch into itself");
+        }
+        sorted = null;
+
+        // Items that a full sketch does not monitor may have occurred up to its minimum count times
+        final double thisMinimum = size == capacity ? heap[0].count : 0;
+        final double otherMinimum = other.size == other.capacity ? other.heap[0].count : 0;
+
+        final Counter[] merged = new Counter[size + other.size];
+        int numMerged = 0;
+        for (int hi = 0; hi < size; ++hi) {
+            final Counter counter = heap[hi];
+            final Counter otherCounter = other.counters.get(counter.item);
+            if (otherCounter == null) {
+                counter.count += otherMinimum;
+                counter.error += otherMinimum;
+            } else {
+                counter.count += otherCounter.count;
+                counter.error += otherCounter.error;
+            }
+            merged[numMerged++] = counter;
+        }
+        for (int hi = 0; hi < other.size; ++hi) {
+            final Counter otherCounter = other.heap[hi];
+            if (!counters.containsKey(otherCounter.item)) {
+                merged[numMerged++] = new Counter(otherCounter.item,
+                        otherCounter.count + thisMinimum, otherCounter.error + thisMinimum);
+            }
+        }
+
+        // Keep the most frequent capacity items
+        Arrays.sort(merged, 0, numMerged, DESCENDING_COUNT);
+        final int newSize = Math.min(numMerged, capacity);
+        counters.clear();
+        if (heap.length < newSize) {
+            heap = new Counter[newSize];
+        } else if (newSize < size) {
+            Arrays.fill(heap, newSize, size, null);
+        }
+        size = 0;
+        // Descending order is a valid heap once reversed
+        for (int mi = newSize - 1; mi >= 0; --mi) {
+            final Counter counter = merged[mi];
+            counter.heapIndex = size;
+            heap[size++] = counter;
+            counters.put(counter.item, counter);
+        }
+        return true;
+    }
+
+    /**
+     * Remove all items from this sketch.
+     */
+    public void clear() {
+        counters.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        sorted = null;
+    }
+
+    /**
+     * @param k The maximum number of items to return
+     * @return The (up to) {@code k} most frequent monitored items, in descending order of estimated count
+     */
+    public Object[] topItems(final int k) {
+        final Counter[] ordered = sortedCounters();
+        final Object[] result = new Object[Math.min(k, size)];
+        for (int ri = 0; ri < result.length; ++ri) {
+            result[ri] = ordered[ri].item;
+        }
+        return result;
+    }
+
+    /**
+     * @param k The maximum number of counts to return
+     * @return The estimated counts of the (up to) {@code k} most frequent monitored items, in the same order as
+     *         {@link #topItems(int)}
+     */
+    public double[] topCounts(final int k) {
+        final Counter[] ordered = sortedCounters();
+        final double[] result = new double[Math.min(k, size)];
+        for (int ri = 0; ri < result.length; ++ri) {
+            result[ri] = ordered[ri].count;
+        }
+        return result;
+    }
+
+    private Counter[] sortedCounters() {
+        if (sorted == null) {
+            sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted, DESCENDING_COUNT);
+        }
+        return sorted;
+    }
+
+    private void pushHeap(@NotNull final Counter counter) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, (int) Math.min(capacity, (long) size * 2));
+        }
+        counter.heapIndex = size;
+        heap[size++] = counter;
+        siftUp(size - 1);
+    }
+
+    private void siftUp(int index) {
+        final Counter counter = heap[index];
+        while (index > 0) {
+            final int parentIndex = (index - 1) >>> 1;
+            final Counter parent = heap[parentIndex];
+            if (parent.count <= counter.count) {
+                break;
+            }
+            parent.heapIndex = index;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        counter.heapIndex = index;
+        heap[index] = counter;
+    }
+
+    private void siftDown(int index) {
+        final Counter counter = heap[index];
+        final int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            Counter child = heap[childIndex];
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].count < child.count) {
+                child = heap[childIndex = rightIndex];
+            }
+            if (counter.count <= child.count) {
+                break;
+            }
+            child.heapIndex = index;
+            heap[index] = child;
+            index = childIndex;
+        }
+        counter.heapIndex = index;
+        heap[index] = counter;
+    }
+
+    @Override
+    public String toString() {
+        return "SpaceSavingSketch{capacity=" + capacity + ", size=" + size + '}';
+    }
+}
@@ -36,6 +36,10 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
     private final Supplier<SegmentedSortedMultiSet.RemoveContext> removeContextFactory;
     private final ChunkType chunkType;
     private final SetResult setResult;
+    /**
+     * The sum of {@link SegmentedSortedMultiSet#sizeInBytes()} for all of our ssms.
+     */
+    private long stateSizeInBytes;
 
     public SsmChunkedMinMaxOperator(
             // region extra constructor params
@@ -123,7 +127,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
                     context.valueResettable.resetFromChunk(context.valueCopy, startPosition, runLength);
             final WritableIntChunk<ChunkLengths> countSlice =
                     context.countResettable.resetFromChunk(context.counts, startPosition, runLength);
-            ssm.insert(valueSlice, countSlice);
+            insert(ssm, valueSlice, countSlice);
 
             stateModified.set(ii, setResult.setResult(ssm, destination));
         }
@@ -158,7 +162,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
                     context.valueResettable.resetFromChunk(context.valueCopy, startPosition, runLength);
             final WritableIntChunk<ChunkLengths> countSlice =
                     context.countResettable.resetFromChunk(context.counts, startPosition, runLength);
-            ssm.remove(removeContext, valueSlice, countSlice);
+            remove(ssm, removeContext, valueSlice, countSlice);
             if (ssm.size() == 0) {
                 clearSsm(destination);
             }
@@ -197,7 +201,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
                     context.valueResettable.resetFromChunk(context.valueCopy, startPosition, runLength);
             final WritableIntChunk<ChunkLengths> countSlice =
                     context.countResettable.resetFromChunk(context.counts, startPosition, runLength);
-            ssm.remove(removeContext, valueSlice, countSlice);
+            remove(ssm, removeContext, valueSlice, countSlice);
             if (ssm.size() == 0) {
                 context.ssmsToMaybeClear.set(ii, true);
             }
@@ -230,7 +234,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
                     context.valueResettable.resetFromChunk(context.valueCopy, startPosition, runLength);
             final WritableIntChunk<ChunkLengths> countSlice =
                     context.countResettable.resetFromChunk(context.counts, startPosition, runLength);
-            ssm.insert(valueSlice, countSlice);
+            insert(ssm, valueSlice, countSlice);
             stateModified.set(ii, setResult.setResult(ssm, destination));
         }
     }
@@ -245,7 +249,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
         compactAndCountKernel.compactAndCount(context.valueCopy, context.counts);
         final SegmentedSortedMultiSet ssm = ssmForSlot(destination);
         if (context.valueCopy.size() > 0) {
-            ssm.insert(context.valueCopy, context.counts);
+            insert(ssm, context.valueCopy, context.counts);
         }
         return setResult.setResult(ssm, destination);
     }
@@ -262,7 +266,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
             return false;
         }
         final SegmentedSortedMultiSet ssm = ssmForSlot(destination);
-        ssm.remove(context.removeContext, context.valueCopy, context.counts);
+        remove(ssm, context.removeContext, context.valueCopy, context.counts);
         if (ssm.size() == 0) {
             clearSsm(destination);
         }
@@ -280,7 +284,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
         SegmentedSortedMultiSet ssm = null;
         if (context.valueCopy.size() > 0) {
             ssm = ssmForSlot(destination);
-            ssm.remove(context.removeContext, context.valueCopy, context.counts);
+            remove(ssm, context.removeContext, context.valueCopy, context.counts);
         }
 
         context.valueCopy.setSize(postValues.size());
@@ -290,7 +294,7 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
             if (ssm == null) {
                 ssm = ssmForSlot(destination);
             }
-            ssm.insert(context.valueCopy, context.counts);
+            insert(ssm, context.valueCopy, context.counts);
             return setResult.setResult(ssm, destination);
         } else if (ssm != null && ssm.size() == 0) {
             clearSsm(destination);
@@ -302,6 +306,20 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
         }
     }
 
+    private void insert(SegmentedSortedMultiSet ssm, WritableChunk<? extends Values> valuesToInsert,
+            WritableIntChunk<ChunkLengths> counts) {
+        final long sizeInBytesBefore = ssm.sizeInBytes();
+        ssm.insert(valuesToInsert, counts);
+        stateSizeInBytes += ssm.sizeInBytes() - sizeInBytesBefore;
+    }
+
+    private void remove(SegmentedSortedMultiSet ssm, SegmentedSortedMultiSet.RemoveContext removeContext,
+            WritableChunk<? extends Values> valuesToRemove, WritableIntChunk<ChunkLengths> counts) {
+        final long sizeInBytesBefore = ssm.sizeInBytes();
+        ssm.remove(removeContext, valuesToRemove, counts);
+        stateSizeInBytes += ssm.sizeInBytes() - sizeInBytesBefore;
+    }
+
     private SegmentedSortedMultiSet ssmForSlot(long destination) {
         SegmentedSortedMultiSet ssa = ssms.getUnsafe(destination);
         if (ssa == null) {
@@ -325,6 +343,11 @@ public class SsmChunkedMinMaxOperator implements IterativeChunkedAggregationOper
         return Collections.<String, ColumnSource<?>>singletonMap(name, resultColumn);
     }
 
+    @Override
+    public long stateSizeInBytes() {
+        return stateSizeInBytes;
+    }
+
     @Override
     public void startTrackingPrevValues() {
         resultColumn.startTrackingPrevValues();
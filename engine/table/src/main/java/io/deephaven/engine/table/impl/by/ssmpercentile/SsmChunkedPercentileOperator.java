@@ -42,6 +42,10 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
     private final Supplier<SegmentedSortedMultiSet.RemoveContext> removeContextFactory;
     private final ChunkType chunkType;
     private final PercentileTypeHelper percentileTypeHelper;
+    /**
+     * The sum of {@link SegmentedSortedMultiSet#sizeInBytes()} for all of our ssms.
+     */
+    private long stateSizeInBytes;
 
     public SsmChunkedPercentileOperator(Class<?> type, double percentile, boolean averageEvenlyDivided, String name) {
         this.name = name;
@@ -186,6 +190,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
             }
             final int startPosition = startPositions.get(ii);
             final long destination = destinations.get(startPosition);
+            final long sizeInBytesBefore = slotSizeInBytes(destination);
 
             final SegmentedSortedMultiSet ssmLo = ssmLoForSlot(destination);
             final SegmentedSortedMultiSet ssmHi = ssmHiForSlot(destination);
@@ -193,6 +198,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
             pivotedInsertion(context, ssmLo, ssmHi, startPosition, runLength, context.valueCopy, context.counts);
 
             stateModified.set(ii, percentileTypeHelper.setResult(ssmLo, ssmHi, destination));
+            stateSizeInBytes += slotSizeInBytes(destination) - sizeInBytesBefore;
         }
     }
 
@@ -220,6 +226,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
             }
             final int startPosition = startPositions.get(ii);
             final long destination = destinations.get(startPosition);
+            final long sizeInBytesBefore = slotSizeInBytes(destination);
 
             final SegmentedSortedMultiSet ssmLo = ssmLoForSlot(destination);
             final SegmentedSortedMultiSet ssmHi = ssmHiForSlot(destination);
@@ -234,6 +241,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
                 clearSsm(destination, 1);
             }
             stateModified.set(ii, modified);
+            stateSizeInBytes += slotSizeInBytes(destination) - sizeInBytesBefore;
         }
     }
 
@@ -324,11 +332,13 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         context.ssmsToMaybeClear.fillWithValue(0, destinations.size(), false);
         for (int ii = 0; ii < startPositions.size(); ++ii) {
             final int runLength = context.lengthCopy.get(ii);
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            // the second pass adds back each destination's size after both the removal and insertion
+            stateSizeInBytes -= slotSizeInBytes(destination);
             if (runLength == 0) {
                 continue;
             }
-            final int startPosition = startPositions.get(ii);
-            final long destination = destinations.get(startPosition);
 
             final SegmentedSortedMultiSet ssmLo = ssmLoForSlot(destination);
             final SegmentedSortedMultiSet ssmHi = ssmHiForSlot(destination);
@@ -362,6 +372,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
                     stateModified.set(ii, percentileTypeHelper.setResult(ssmLoForSlot(destination),
                             ssmHiForSlot(destination), destination));
                 }
+                stateSizeInBytes += slotSizeInBytes(destination);
                 continue;
             }
 
@@ -371,6 +382,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
             pivotedInsertion(context, ssmLo, ssmHi, startPosition, runLength, context.valueCopy, context.counts);
 
             stateModified.set(ii, percentileTypeHelper.setResult(ssmLo, ssmHi, destination));
+            stateSizeInBytes += slotSizeInBytes(destination);
         }
     }
 
@@ -383,12 +395,15 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         // noinspection unchecked
         context.valueCopy.copyFromChunk((Chunk) values, 0, 0, values.size());
         compactAndCountKernel.compactAndCount(context.valueCopy, context.counts);
+        final long sizeInBytesBefore = slotSizeInBytes(destination);
         final SegmentedSortedMultiSet ssmLo = ssmLoForSlot(destination);
         final SegmentedSortedMultiSet ssmHi = ssmHiForSlot(destination);
         if (context.valueCopy.size() > 0) {
             pivotedInsertion(context, ssmLo, ssmHi, 0, context.valueCopy.size(), context.valueCopy, context.counts);
         }
-        return percentileTypeHelper.setResult(ssmLo, ssmHi, destination);
+        final boolean modified = percentileTypeHelper.setResult(ssmLo, ssmHi, destination);
+        stateSizeInBytes += slotSizeInBytes(destination) - sizeInBytesBefore;
+        return modified;
     }
 
     @Override
@@ -403,6 +418,7 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         if (context.valueCopy.size() == 0) {
             return false;
         }
+        final long sizeInBytesBefore = slotSizeInBytes(destination);
         final SegmentedSortedMultiSet ssmLo = ssmLoForSlot(destination);
         final SegmentedSortedMultiSet ssmHi = ssmHiForSlot(destination);
 
@@ -415,14 +431,21 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         if (ssmHi.size() == 0) {
             clearSsm(destination, 1);
         }
+        stateSizeInBytes += slotSizeInBytes(destination) - sizeInBytesBefore;
         return modified;
     }
 
     @Override
     public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> preValues,
             Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
-        final SsmMinMaxContext context = (SsmMinMaxContext) singletonContext;
+        final long sizeInBytesBefore = slotSizeInBytes(destination);
+        final boolean modified = modifySlot((SsmMinMaxContext) singletonContext, preValues, postValues, destination);
+        stateSizeInBytes += slotSizeInBytes(destination) - sizeInBytesBefore;
+        return modified;
+    }
 
+    private boolean modifySlot(SsmMinMaxContext context, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, long destination) {
         context.valueCopy.setSize(preValues.size());
         // noinspection unchecked
         context.valueCopy.copyFromChunk((Chunk) preValues, 0, 0, preValues.size());
@@ -459,6 +482,15 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         }
     }
 
+    /**
+     * @return the sum of {@link SegmentedSortedMultiSet#sizeInBytes()} for the ssms of {@code destination}
+     */
+    private long slotSizeInBytes(long destination) {
+        final SegmentedSortedMultiSet ssmLo = ssms.getUnsafe(destination * 2);
+        final SegmentedSortedMultiSet ssmHi = ssms.getUnsafe(destination * 2 + 1);
+        return (ssmLo == null ? 0 : ssmLo.sizeInBytes()) + (ssmHi == null ? 0 : ssmHi.sizeInBytes());
+    }
+
     private SegmentedSortedMultiSet ssmLoForSlot(long destination) {
         return ssmForSlot(destination, 0);
     }
@@ -492,6 +524,11 @@ public class SsmChunkedPercentileOperator implements IterativeChunkedAggregation
         return Collections.<String, ColumnSource<?>>singletonMap(name, externalResult);
     }
 
+    @Override
+    public long stateSizeInBytes() {
+        return stateSizeInBytes;
+    }
+
     @Override
     public void startTrackingPrevValues() {
         internalResult.startTrackingPrevValues();
@@ -8,6 +8,7 @@ import io.deephaven.engine.exceptions.CancellationException;
 import io.deephaven.engine.rowset.*;
 import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
 import io.deephaven.chunk.*;
 import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
 import io.deephaven.chunk.attributes.Values;
@@ -146,6 +147,15 @@ public interface ChunkFilter {
      */
     static WritableRowSet applyChunkFilter(RowSet selection, ColumnSource<?> columnSource, boolean usePrev,
             ChunkFilter chunkFilter) {
+        if (columnSource instanceof SymbolTableSource) {
+            // Symbol table sources are immutable, so there is no need to distinguish previous values
+            final WritableRowSet result =
+                    ((SymbolTableSource<?>) columnSource).filterBySymbols(selection, chunkFilter);
+            if (result != null) {
+                return result;
+            }
+        }
+
         final RowSetBuilderSequential builder = RowSetFactory.builderSequential();
 
         final int contextSize = (int) Math.min(FILTER_CHUNK_SIZE, selection.size());
@@ -132,11 +132,21 @@ public abstract class StaticNaturalJoinStateManagerTypedBase extends StaticHashe
 
     @Override
     public void buildFromRightSide(Table rightTable, ColumnSource<?>[] rightSources) {
-        if (rightTable.isEmpty()) {
+        buildFromRightSide(rightTable.getRowSet(), rightSources);
+    }
+
+    /**
+     * Build the hash table from a subset of the right table's rows.
+     *
+     * @param rightRowSet The right rows to build from
+     * @param rightSources The right key sources
+     */
+    public void buildFromRightSide(RowSet rightRowSet, ColumnSource<?>[] rightSources) {
+        if (rightRowSet.isEmpty()) {
             return;
         }
-        try (final BuildContext bc = makeBuildContext(rightSources, rightTable.size())) {
-            buildTable(bc, rightTable.getRowSet(), rightSources, this::buildFromRightSide);
+        try (final BuildContext bc = makeBuildContext(rightSources, rightRowSet.size())) {
+            buildTable(bc, rightRowSet, rightSources, this::buildFromRightSide);
         }
     }
 
@@ -6,6 +6,7 @@ package io.deephaven.engine.table.impl.perf;
 import io.deephaven.base.log.LogOutput;
 import io.deephaven.base.log.LogOutputAppendable;
 import io.deephaven.base.verify.Assert;
+import io.deephaven.util.profiling.RemoteReadCounters;
 import io.deephaven.util.profiling.ThreadProfiler;
 import org.jetbrains.annotations.NotNull;
 
@@ -24,6 +25,9 @@ public class BasePerformanceEntry implements LogOutputAppendable {
     private long allocatedBytes;
     private long poolAllocatedBytes;
 
+    private long remoteReadRequests;
+    private long remoteReadBytes;
+
     private long startTimeNanos;
 
     private long startCpuNanos;
@@ -32,10 +36,17 @@ public class BasePerformanceEntry implements LogOutputAppendable {
     private long startAllocatedBytes;
     private long startPoolAllocatedBytes;
 
+    private long startRemoteReadRequests;
+    private long startRemoteReadBytes;
+
     public synchronized void onBaseEntryStart() {
         startAllocatedBytes = ThreadProfiler.DEFAULT.getCurrentThreadAllocatedBytes();
         startPoolAllocatedBytes = QueryPerformanceRecorderState.getPoolAllocatedBytesForCurrentThread();
 
+        final RemoteReadCounters remoteReadCounters = RemoteReadCounters.forCurrentThread();
+        startRemoteReadRequests = remoteReadCounters.getRequests();
+        startRemoteReadBytes = remoteReadCounters.getBytes();
+
         startUserCpuNanos = ThreadProfiler.DEFAULT.getCurrentThreadUserTime();
         startCpuNanos = ThreadProfiler.DEFAULT.getCurrentThreadCpuTime();
         startTimeNanos = System.nanoTime();
@@ -54,9 +65,16 @@ public class BasePerformanceEntry implements LogOutputAppendable {
         allocatedBytes = plus(allocatedBytes,
                 minus(ThreadProfiler.DEFAULT.getCurrentThreadAllocatedBytes(), startAllocatedBytes));
 
+        final RemoteReadCounters remoteReadCounters = RemoteReadCounters.forCurrentThread();
+        remoteReadRequests += remoteReadCounters.getRequests() - startRemoteReadRequests;
+        remoteReadBytes += remoteReadCounters.getBytes() - startRemoteReadBytes;
+
         startAllocatedBytes = 0;
         startPoolAllocatedBytes = 0;
 
+        startRemoteReadRequests = 0;
+        startRemoteReadBytes = 0;
+
         startUserCpuNanos = 0;
         startCpuNanos = 0;
         startTimeNanos = 0;
@@ -72,6 +90,9 @@ public class BasePerformanceEntry implements LogOutputAppendable {
 
         allocatedBytes = 0;
         poolAllocatedBytes = 0;
+
+        remoteReadRequests = 0;
+        remoteReadBytes = 0;
     }
 
     /**
@@ -124,6 +145,29 @@ public class BasePerformanceEntry implements LogOutputAppendable {
         return poolAllocatedBytes;
     }
 
+    /**
+     * Get the number of requests sent to remote storage, such as GET requests sent to an object store, attributed to
+     * the instrumented operation. This getter should be called by exclusive owners of the entry, and never concurrently
+     * with mutators.
+     *
+     * @return total remote read requests
+     * @see RemoteReadCounters
+     */
+    public long getRemoteReadRequests() {
+        return remoteReadRequests;
+    }
+
+    /**
+     * Get the bytes requested from remote storage attributed to the instrumented operation. This getter should be
+     * called by exclusive owners of the entry, and never concurrently with mutators.
+     *
+     * @return total remote read bytes
+     * @see RemoteReadCounters
+     */
+    public long getRemoteReadBytes() {
+        return remoteReadBytes;
+    }
+
     @Override
     public LogOutput append(@NotNull final LogOutput logOutput) {
         final LogOutput currentValues = logOutput.append("BasePerformanceEntry{")
@@ -131,7 +175,9 @@ public class BasePerformanceEntry implements LogOutputAppendable {
                 .append(", intervalCpuNanos=").append(cpuNanos)
                 .append(", intervalUserCpuNanos=").append(userCpuNanos)
                 .append(", intervalAllocatedBytes=").append(allocatedBytes)
-                .append(", intervalPoolAllocatedBytes=").append(poolAllocatedBytes);
+                .append(", intervalPoolAllocatedBytes=").append(poolAllocatedBytes)
+                .append(", intervalRemoteReadRequests=").append(remoteReadRequests)
+                .append(", intervalRemoteReadBytes=").append(remoteReadBytes);
         return appendStart(currentValues)
                 .append('}');
     }
@@ -142,7 +188,9 @@ public class BasePerformanceEntry implements LogOutputAppendable {
                 .append(", startUserCpuNanos=").append(startUserCpuNanos)
                 .append(", startTimeNanos=").append(startTimeNanos)
                 .append(", startAllocatedBytes=").append(startAllocatedBytes)
-                .append(", startPoolAllocatedBytes=").append(startPoolAllocatedBytes);
+                .append(", startPoolAllocatedBytes=").append(startPoolAllocatedBytes)
+                .append(", startRemoteReadRequests=").append(startRemoteReadRequests)
+                .append(", startRemoteReadBytes=").append(startRemoteReadBytes);
     }
 
     /**
@@ -157,5 +205,8 @@ public class BasePerformanceEntry implements LogOutputAppendable {
 
         this.allocatedBytes = plus(this.allocatedBytes, entry.allocatedBytes);
         this.poolAllocatedBytes = plus(this.poolAllocatedBytes, entry.poolAllocatedBytes);
+
+        this.remoteReadRequests += entry.remoteReadRequests;
+        this.remoteReadBytes += entry.remoteReadBytes;
     }
 }
@@ -40,6 +40,12 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
     private long collections;
     private long collectionTimeMs;
 
+    private long stateBytes;
+
+    private long workSteals;
+    private long workClaims;
+    private long idleWaits;
+
     private final RuntimeMemory.Sample startSample;
     private final RuntimeMemory.Sample endSample;
 
@@ -58,6 +64,10 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
         minFreeMemory = Long.MAX_VALUE;
         collections = 0;
         collectionTimeMs = 0;
+        stateBytes = 0;
+        workSteals = 0;
+        workClaims = 0;
+        idleWaits = 0;
     }
 
     public final void onUpdateStart() {
@@ -107,6 +117,33 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
         minFreeMemory = Long.MAX_VALUE;
         collections = 0;
         collectionTimeMs = 0;
+        stateBytes = 0;
+        workSteals = 0;
+        workClaims = 0;
+        idleWaits = 0;
+    }
+
+    /**
+     * Report the approximate number of bytes of state the operation holds after an update; the largest size reported
+     * in an interval is logged.
+     *
+     * @param stateBytes The approximate number of bytes of state retained by the operation
+     */
+    public void reportStateBytes(final long stateBytes) {
+        this.stateBytes = Math.max(this.stateBytes, stateBytes);
+    }
+
+    /**
+     * Report notification queue contention observed by a work stealing notification processor since its last report.
+     *
+     * @param workSteals The number of notifications taken from another thread's queue
+     * @param workClaims The number of satisfied notifications claimed by the thread that satisfied them
+     * @param idleWaits The number of times a thread waited for a notification to become available
+     */
+    public void reportWorkStealing(final long workSteals, final long workClaims, final long idleWaits) {
+        this.workSteals += workSteals;
+        this.workClaims += workClaims;
+        this.idleWaits += idleWaits;
     }
 
     @Override
@@ -133,10 +170,16 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
                 .append(", rowsShifted=").append(rowsShifted)
                 .append(", allocatedBytes=").append(getAllocatedBytes())
                 .append(", poolAllocatedBytes=").append(getPoolAllocatedBytes())
+                .append(", remoteReadRequests=").append(getRemoteReadRequests())
+                .append(", remoteReadBytes=").append(getRemoteReadBytes())
                 .append(", maxTotalMemory=").append(maxTotalMemory)
                 .append(", minFreeMemory=").append(minFreeMemory)
                 .append(", collections=").append(collections)
-                .append(", collectionTimeNanos=").append(DateTimeUtils.millisToNanos(collectionTimeMs));
+                .append(", collectionTimeNanos=").append(DateTimeUtils.millisToNanos(collectionTimeMs))
+                .append(", stateBytes=").append(stateBytes)
+                .append(", workSteals=").append(workSteals)
+                .append(", workClaims=").append(workClaims)
+                .append(", idleWaits=").append(idleWaits);
         return appendStart(beginning)
                 .append('}');
     }
@@ -207,6 +250,22 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
         return DateTimeUtils.millisToNanos(collectionTimeMs);
     }
 
+    public long getStateBytes() {
+        return stateBytes;
+    }
+
+    public long getWorkSteals() {
+        return workSteals;
+    }
+
+    public long getWorkClaims() {
+        return workClaims;
+    }
+
+    public long getIdleWaits() {
+        return idleWaits;
+    }
+
     public long getInvocationCount() {
         return invocationCount;
     }
@@ -214,10 +273,14 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
     /**
      * Suppress de minimus update entry intervals using the properties defined in the QueryPerformanceNugget class.
      *
+     * Entries that report work stealing are always logged, as their usage is negligible but their counters are only
+     * meaningful per update graph.
+     *
      * @return if this nugget is significant enough to be logged, otherwise it is aggregated into the small update entry
      */
     boolean shouldLogEntryInterval() {
-        return invocationCount > 0 && UpdatePerformanceTracker.LOG_THRESHOLD.shouldLog(getUsageNanos());
+        return invocationCount > 0 && (UpdatePerformanceTracker.LOG_THRESHOLD.shouldLog(getUsageNanos())
+                || workSteals + workClaims + idleWaits > 0);
     }
 
     public void accumulate(PerformanceEntry entry) {
@@ -237,6 +300,13 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
         rowsModified += entry.getRowsModified();
         rowsShifted += entry.getRowsShifted();
 
+        // resident state, not work done, so the peak is kept rather than the sum
+        stateBytes = Math.max(stateBytes, entry.getStateBytes());
+
+        workSteals += entry.getWorkSteals();
+        workClaims += entry.getWorkClaims();
+        idleWaits += entry.getIdleWaits();
+
         super.accumulate(entry);
     }
 }
@@ -39,6 +39,12 @@ class UpdatePerformanceStreamPublisher implements StreamPublisher {
             ColumnDefinition.ofLong("CollectionTimeNanos"),
             ColumnDefinition.ofLong("AllocatedBytes"),
             ColumnDefinition.ofLong("PoolAllocatedBytes"),
+            ColumnDefinition.ofLong("StateBytes"),
+            ColumnDefinition.ofLong("WorkSteals"),
+            ColumnDefinition.ofLong("WorkClaims"),
+            ColumnDefinition.ofLong("IdleWaits"),
+            ColumnDefinition.ofLong("RemoteReadRequests"),
+            ColumnDefinition.ofLong("RemoteReadBytes"),
             ColumnDefinition.ofString("AuthContext"),
             ColumnDefinition.ofString("UpdateGraph"));
 
@@ -106,10 +112,22 @@ class UpdatePerformanceStreamPublisher implements StreamPublisher {
         chunks[19].asWritableLongChunk().add(performanceEntry.getAllocatedBytes());
         // ColumnDefinition.ofLong("PoolAllocatedBytes"),
         chunks[20].asWritableLongChunk().add(performanceEntry.getPoolAllocatedBytes());
+        // ColumnDefinition.ofLong("StateBytes"),
+        chunks[21].asWritableLongChunk().add(performanceEntry.getStateBytes());
+        // ColumnDefinition.ofLong("WorkSteals"),
+        chunks[22].asWritableLongChunk().add(performanceEntry.getWorkSteals());
+        // ColumnDefinition.ofLong("WorkClaims"),
+        chunks[23].asWritableLongChunk().add(performanceEntry.getWorkClaims());
+        // ColumnDefinition.ofLong("IdleWaits"),
+        chunks[24].asWritableLongChunk().add(performanceEntry.getIdleWaits());
+        // ColumnDefinition.ofLong("RemoteReadRequests"),
+        chunks[25].asWritableLongChunk().add(performanceEntry.getRemoteReadRequests());
+        // ColumnDefinition.ofLong("RemoteReadBytes"),
+        chunks[26].asWritableLongChunk().add(performanceEntry.getRemoteReadBytes());
         // ColumnDefinition.ofString("AuthContext"),
-        chunks[21].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getAuthContext()));
+        chunks[27].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getAuthContext()));
         // ColumnDefinition.ofString("UpdateGraph"));
-        chunks[22].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getUpdateGraphName()));
+        chunks[28].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getUpdateGraphName()));
 
         if (chunks[0].size() == CHUNK_SIZE) {
             flushInternal();
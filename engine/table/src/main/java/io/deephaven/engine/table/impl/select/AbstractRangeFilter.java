@@ -7,6 +7,8 @@ import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
 import io.deephaven.engine.table.impl.SortingOrder;
 import io.deephaven.engine.table.impl.SortedColumnsAttribute;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
+import io.deephaven.engine.table.impl.sources.regioned.RegionedColumnSource;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.rowset.RowSet;
@@ -92,6 +94,20 @@ public abstract class AbstractRangeFilter extends WhereFilterImpl {
             // do binary search for value
             return binarySearch(selection, columnSource, usePrev, orderForColumn.get().isDescending());
         }
+        if (columnSource instanceof RegionedColumnSource) {
+            // skip regions whose statistics rule out any matches before reading their data
+            try (final RowSet candidates =
+                    ((RegionedColumnSource<?>) columnSource).filterByStatistics(selection, this::mayMatch)) {
+                return applyChunkFilter(candidates, columnSource, usePrev);
+            }
+        }
+        return applyChunkFilter(selection, columnSource, usePrev);
+    }
+
+    private WritableRowSet applyChunkFilter(
+            @NotNull final RowSet selection,
+            @NotNull final ColumnSource<?> columnSource,
+            final boolean usePrev) {
         if (longFilter != null && columnSource.allowsReinterpret(long.class)) {
             return ChunkFilter.applyChunkFilter(selection, columnSource.reinterpret(long.class), usePrev, longFilter);
         }
@@ -101,6 +117,16 @@ public abstract class AbstractRangeFilter extends WhereFilterImpl {
     abstract WritableRowSet binarySearch(
             @NotNull RowSet selection, @NotNull ColumnSource<?> columnSource, boolean usePrev, boolean reverse);
 
+    /**
+     * Determine whether a region described by {@code statistics} may contain values in this filter's range.
+     *
+     * @param statistics The statistics for the region
+     * @return {@code false} if no value in the region can match this filter, else {@code true}
+     */
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return true;
+    }
+
     @Override
     public boolean isSimpleFilter() {
         return true;
@@ -14,6 +14,7 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.chunkfilter.ByteRangeComparator;
 import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.gui.table.filters.Condition;
 import io.deephaven.util.QueryConstants;
 import io.deephaven.util.compare.ByteComparisons;
@@ -105,6 +106,11 @@ public class ByteRangeFilter extends AbstractRangeFilter {
                 (upperInclusive ? "]" : ")") + ")";
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return statistics.mayContainBetween(TypeUtils.box(lower), lowerInclusive, TypeUtils.box(upper), upperInclusive);
+    }
+
     @NotNull
     @Override
     WritableRowSet binarySearch(
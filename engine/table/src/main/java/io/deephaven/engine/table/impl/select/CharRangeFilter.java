@@ -10,6 +10,7 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.chunkfilter.CharRangeComparator;
 import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.gui.table.filters.Condition;
 import io.deephaven.util.QueryConstants;
 import io.deephaven.util.compare.CharComparisons;
@@ -101,6 +102,11 @@ public class CharRangeFilter extends AbstractRangeFilter {
                 (upperInclusive ? "]" : ")") + ")";
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return statistics.mayContainBetween(TypeUtils.box(lower), lowerInclusive, TypeUtils.box(upper), upperInclusive);
+    }
+
     @NotNull
     @Override
     WritableRowSet binarySearch(
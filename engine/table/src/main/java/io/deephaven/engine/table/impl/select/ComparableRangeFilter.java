@@ -7,6 +7,7 @@ import io.deephaven.base.verify.Assert;
 import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.util.compare.ObjectComparisons;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.chunk.*;
@@ -222,6 +223,11 @@ public class ComparableRangeFilter extends AbstractRangeFilter {
         }
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return statistics.mayContainBetween(lower, lowerInclusive, upper, upperInclusive);
+    }
+
     @NotNull
     @Override
     WritableRowSet binarySearch(
@@ -12,10 +12,12 @@ import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.util.compare.DoubleComparisons;
 import io.deephaven.engine.table.impl.chunkfilter.DoubleRangeComparator;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.gui.table.filters.Condition;
 import io.deephaven.util.QueryConstants;
+import io.deephaven.util.type.TypeUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class DoubleRangeFilter extends AbstractRangeFilter {
@@ -107,6 +109,11 @@ public class DoubleRangeFilter extends AbstractRangeFilter {
                 (upperInclusive ? "]" : ")") + ")";
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return statistics.mayContainBetween(TypeUtils.box(lower), lowerInclusive, TypeUtils.box(upper), upperInclusive);
+    }
+
     @NotNull
     @Override
     WritableRowSet binarySearch(
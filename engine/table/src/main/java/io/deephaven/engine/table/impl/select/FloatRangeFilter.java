@@ -8,10 +8,12 @@ import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.util.compare.FloatComparisons;
 import io.deephaven.engine.table.impl.chunkfilter.FloatRangeComparator;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.gui.table.filters.Condition;
 import io.deephaven.util.QueryConstants;
+import io.deephaven.util.type.TypeUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class FloatRangeFilter extends AbstractRangeFilter {
@@ -103,6 +105,11 @@ public class FloatRangeFilter extends AbstractRangeFilter {
                 (upperInclusive ? "]" : ")") + ")";
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return statistics.mayContainBetween(TypeUtils.box(lower), lowerInclusive, TypeUtils.box(upper), upperInclusive);
+    }
+
     @NotNull
     @Override
     WritableRowSet binarySearch(
@@ -19,6 +19,8 @@ import io.deephaven.engine.table.impl.lang.QueryLanguageFunctionUtils;
 import io.deephaven.engine.table.impl.preview.DisplayWrapper;
 import io.deephaven.engine.table.impl.DependencyStreamProvider;
 import io.deephaven.engine.table.impl.indexer.DataIndexer;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
+import io.deephaven.engine.table.impl.sources.regioned.RegionedColumnSource;
 import io.deephaven.engine.updategraph.NotificationQueue;
 import io.deephaven.time.DateTimeUtils;
 import io.deephaven.util.QueryConstants;
@@ -287,9 +289,25 @@ public class MatchFilter extends WhereFilterImpl implements DependencyStreamProv
         }
 
         final ColumnSource<?> columnSource = table.getColumnSource(columnName);
+        if (!invertMatch && !caseInsensitive && dataIndex == null && columnSource instanceof RegionedColumnSource) {
+            // skip regions whose statistics rule out all of our values before reading their data
+            try (final RowSet candidates =
+                    ((RegionedColumnSource<?>) columnSource).filterByStatistics(selection, this::mayMatch)) {
+                return columnSource.match(false, usePrev, false, null, candidates, values);
+            }
+        }
         return columnSource.match(invertMatch, usePrev, caseInsensitive, dataIndex, selection, values);
     }
 
+    private boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        for (final Object value : values) {
+            if (statistics.mayContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @NotNull
     @Override
     public WritableRowSet filterInverse(
@@ -7,6 +7,7 @@ import io.deephaven.base.verify.Assert;
 import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.util.compare.ObjectComparisons;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.chunk.*;
@@ -82,6 +83,13 @@ public class SingleSidedComparableRangeFilter extends AbstractRangeFilter {
                 + (lowerInclusive ? "=" : "") + pivot + ")";
     }
 
+    @Override
+    boolean mayMatch(@NotNull final ColumnRegionStatistics statistics) {
+        return isGreaterThan
+                ? statistics.mayContainAbove(pivot, lowerInclusive)
+                : statistics.mayContainBelow(pivot, upperInclusive);
+    }
+
     private static class GeqComparableChunkFilter implements ChunkFilter {
         private final Comparable<?> pivot;
 
@@ -29,6 +29,7 @@ import io.deephaven.engine.table.impl.sources.PossiblyImmutableColumnSource;
 import io.deephaven.engine.table.impl.sources.RedirectedColumnSource;
 import io.deephaven.engine.table.impl.sources.SingleValueColumnSource;
 import io.deephaven.engine.table.impl.sources.WritableRedirectedColumnSource;
+import io.deephaven.engine.table.impl.sources.offheap.OffHeapArraySources;
 import io.deephaven.engine.table.impl.util.InverseWrappedRowSetRowRedirection;
 import io.deephaven.engine.table.impl.util.JobScheduler;
 import io.deephaven.engine.table.impl.util.RowRedirection;
@@ -231,7 +232,7 @@ public class SelectAndViewAnalyzer implements LogOutputAppendable {
                     // We need to call newDestInstance because only newDestInstance has the knowledge to endow our
                     // created array with the proper componentType (in the case of Vectors).
                     final WritableColumnSource<?> scs = parentIsFlat || context.flatResult
-                            ? sc.newFlatDestInstance(targetDestinationCapacity)
+                            ? newFlatDestInstance(sc, targetDestinationCapacity)
                             : sc.newDestInstance(targetDestinationCapacity);
                     maybeSetStaticColumnSourceImmutable(scs);
                     maybeCreateAlias.accept(scs);
@@ -276,6 +277,16 @@ public class SelectAndViewAnalyzer implements LogOutputAppendable {
         return context;
     }
 
+    /**
+     * Make a flat destination for a static select, preferring an {@link OffHeapArraySources off-heap source} for large
+     * results when enabled.
+     */
+    private static WritableColumnSource<?> newFlatDestInstance(final SelectColumn sc, final long capacity) {
+        final WritableColumnSource<?> offHeapSource =
+                OffHeapArraySources.maybeMakeFlatSource(capacity, sc.getReturnedType());
+        return offHeapSource != null ? offHeapSource : sc.newFlatDestInstance(capacity);
+    }
+
     private static void maybeSetStaticColumnSourceImmutable(final ColumnSource<?> columnSource) {
         if (columnSource instanceof PossiblyImmutableColumnSource) {
             ((PossiblyImmutableColumnSource) columnSource).setImmutable();
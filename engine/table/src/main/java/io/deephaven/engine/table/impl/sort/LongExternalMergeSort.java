@@ -0,0 +1,591 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort;
+
+import io.deephaven.UncheckedDeephavenException;
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.util.FileBackedRowRedirection;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.compare.CharComparisons;
+import io.deephaven.util.compare.DoubleComparisons;
+import io.deephaven.util.compare.FloatComparisons;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An external merge sort of row keys by a primitive value, for sorts whose row keys and values do not fit in memory.
+ * <p>
+ * The caller sorts runs of rows that fit within its memory budget (e.g. with a {@link LongSortKernel} that preserves
+ * values), and {@link #addRun(LongChunk, Chunk) adds} each sorted run, which is spilled to a file in blocks of row keys
+ * and values. {@link #merge()} then merges the runs, at most {@code maxFanIn} at a time, reading one block of each run
+ * at a time, until a single sorted sequence of row keys remains; that is written to a file and returned as a
+ * {@link FileBackedRowRedirection}. Values compare exactly as they do in the {@link LongSortKernel timsort} and
+ * {@link LongMegaMergeKernel mega-merge} kernels, and equal values keep the order in which they were added, so the
+ * result is identical to a stable in-memory sort.
+ * <p>
+ * Spill files are created in the supplied directory and deleted when no longer needed.
+ */
+public final class LongExternalMergeSort implements SafeCloseable {
+
+    /**
+     * The number of rows in each spilled block, which is the unit of I/O while merging.
+     */
+    private static final int BLOCK_SIZE = 1 << 14;
+
+    private final ChunkType chunkType;
+    private final boolean descending;
+    private final File directory;
+    private final int maxFanIn;
+    private final int valueWidth;
+    private final ValueComparator comparator;
+
+    private final ByteBuffer keyBlock;
+    private final ByteBuffer valueBlock;
+
+    /**
+     * The open spill files; every run is in one of them.
+     */
+    private final List<SpillFile> spillFiles = new ArrayList<>();
+    /**
+     * The spill file for added runs.
+     */
+    private SpillFile runFile;
+    private List<Run> runs = new ArrayList<>();
+    private long size;
+
+    /**
+     * Create an empty external sort.
+     *
+     * @param chunkType The type of the values to sort by, which must be a primitive type other than boolean
+     * @param order The order to sort in
+     * @param directory The directory for spill files
+     * @param maxFanIn The maximum number of runs to merge at once
+     */
+    public LongExternalMergeSort(
+            @NotNull final ChunkType chunkType,
+            @NotNull final SortingOrder order,
+            @NotNull final File directory,
+            final int maxFanIn) {
+        Assert.geq(maxFanIn, "maxFanIn", 2);
+        this.chunkType = chunkType;
+        this.descending = order.isDescending();
+        this.directory = directory;
+        this.maxFanIn = maxFanIn;
+        valueWidth = valueWidth(chunkType);
+        comparator = makeComparator(chunkType);
+        keyBlock = ByteBuffer.allocate(BLOCK_SIZE * Long.BYTES).order(ByteOrder.nativeOrder());
+        valueBlock = ByteBuffer.allocate(BLOCK_SIZE * valueWidth).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @param chunkType A chunk type
+     * @return Whether values of {@code chunkType} can be sorted externally
+     */
+    public static boolean supports(@NotNull final ChunkType chunkType) {
+        switch (chunkType) {
+            case Char:
+            case Byte:
+            case Short:
+            case Int:
+            case Long:
+            case Float:
+            case Double:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return The total number of rows added
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Spill a sorted run. Runs must be added in the order in which ties should be broken.
+     *
+     * @param sortedRowKeys The row keys of the run, in sorted order
+     * @param sortedValues The values of the run, parallel to {@code sortedRowKeys}
+     */
+    public void addRun(
+            @NotNull final LongChunk<? extends RowKeys> sortedRowKeys,
+            @NotNull final Chunk<? extends Values> sortedValues) {
+        final int runSize = sortedRowKeys.size();
+        Assert.eq(sortedValues.size(), "sortedValues.size()", runSize, "sortedRowKeys.size()");
+        if (runSize == 0) {
+            return;
+        }
+        if (runFile == null) {
+            spillFiles.add(runFile = new SpillFile());
+        }
+        final long runStart = runFile.position;
+        for (int blockStart = 0; blockStart < runSize; blockStart += BLOCK_SIZE) {
+            final int blockLength = Math.min(BLOCK_SIZE, runSize - blockStart);
+            keyBlock.clear();
+            valueBlock.clear();
+            for (int ii = blockStart; ii < blockStart + blockLength; ++ii) {
+                keyBlock.putLong(sortedRowKeys.get(ii));
+            }
+            putValues(sortedValues, blockStart, blockLength);
+            runFile.writeBlock();
+        }
+        runs.add(new Run(runFile, runStart, runSize));
+        size += runSize;
+    }
+
+    /**
+     * Merge all added runs.
+     *
+     * @return A row redirection from each position in the sorted order to its row key
+     */
+    public FileBackedRowRedirection merge() {
+        // Merge passes until the remaining runs can be merged at once
+        while (runs.size() > maxFanIn) {
+            final SpillFile passFile = new SpillFile();
+            spillFiles.add(passFile);
+            final List<Run> passRuns = new ArrayList<>();
+            for (int ri = 0; ri < runs.size(); ri += maxFanIn) {
+                final List<Run> group = runs.subList(ri, Math.min(runs.size(), ri + maxFanIn));
+                if (group.size() == 1) {
+                    // Copying a lone run would not change it
+                    passRuns.add(group.get(0));
+                    continue;
+                }
+                final long runStart = passFile.position;
+                final long runSize = mergeRuns(group, (cursor) -> {
+                    keyBlock.putLong(cursor.rowKey());
+                    cursor.copyValue(valueBlock);
+                    if (!keyBlock.hasRemaining()) {
+                        passFile.writeBlock();
+                    }
+                });
+                if (keyBlock.position() > 0) {
+                    passFile.writeBlock();
+                }
+                passRuns.add(new Run(passFile, runStart, runSize));
+            }
+            runs = passRuns;
+            // Files are no longer needed once all of their runs have been merged
+            for (final Iterator<SpillFile> it = spillFiles.iterator(); it.hasNext();) {
+                final SpillFile spillFile = it.next();
+                if (runs.stream().noneMatch(run -> run.file == spillFile)) {
+                    spillFile.close();
+                    it.remove();
+                }
+            }
+        }
+
+        final File outputFile;
+        try {
+            outputFile = File.createTempFile("externalSort", ".redirection", directory);
+        } catch (IOException e) {
+            throw new UncheckedDeephavenException("Failed to create external sort output file in " + directory, e);
+        }
+        // mapAndDelete deletes the output file once it is called; until then, any failure must delete it here
+        boolean mapping = false;
+        try {
+            final long outputSize;
+            try (final FileChannel output = FileChannel.open(outputFile.toPath(), StandardOpenOption.WRITE)) {
+                keyBlock.clear();
+                outputSize = mergeRuns(runs, (cursor) -> {
+                    keyBlock.putLong(cursor.rowKey());
+                    if (!keyBlock.hasRemaining()) {
+                        writeFully(output, keyBlock);
+                    }
+                });
+                if (keyBlock.position() > 0) {
+                    writeFully(output, keyBlock);
+                }
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException("Failed to write external sort output file " + outputFile, e);
+            }
+            Assert.eq(outputSize, "outputSize", size, "size");
+            close();
+            mapping = true;
+            return FileBackedRowRedirection.mapAndDelete(outputFile, outputSize);
+        } finally {
+            if (!mapping) {
+                // noinspection ResultOfMethodCallIgnored
+                outputFile.delete();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        SafeCloseable.closeAll(spillFiles.iterator());
+        spillFiles.clear();
+        runFile = null;
+        runs = new ArrayList<>();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Merging
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private interface MergeSink {
+        void accept(@NotNull RunCursor cursor) throws IOException;
+    }
+
+    /**
+     * Merge {@code toMerge} into {@code sink}, in sorted order, with ties going to the earlier run.
+     *
+     * @return The number of rows merged
+     */
+    private long mergeRuns(@NotNull final List<Run> toMerge, @NotNull final MergeSink sink) {
+        final RunCursor[] cursors = new RunCursor[toMerge.size()];
+        final int[] heap = new int[cursors.length];
+        int heapSize = 0;
+        for (int ci = 0; ci < cursors.length; ++ci) {
+            cursors[ci] = new RunCursor(toMerge.get(ci));
+            if (cursors[ci].advance()) {
+                heap[heapSize++] = ci;
+            }
+        }
+        for (int hi = heapSize / 2 - 1; hi >= 0; --hi) {
+            siftDown(cursors, heap, heapSize, hi);
+        }
+
+        long merged = 0;
+        keyBlock.clear();
+        valueBlock.clear();
+        try {
+            while (heapSize > 0) {
+                final RunCursor cursor = cursors[heap[0]];
+                sink.accept(cursor);
+                ++merged;
+                if (!cursor.advance()) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(cursors, heap, heapSize, 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedDeephavenException("Failed to merge external sort runs", e);
+        }
+        return merged;
+    }
+
+    private void siftDown(final RunCursor[] cursors, final int[] heap, final int heapSize, int index) {
+        final int cursorIndex = heap[index];
+        final int half = heapSize >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < heapSize && precedes(cursors, heap[rightIndex], heap[childIndex])) {
+                childIndex = rightIndex;
+            }
+            if (!precedes(cursors, heap[childIndex], cursorIndex)) {
+                break;
+            }
+            heap[index] = heap[childIndex];
+            index = childIndex;
+        }
+        heap[index] = cursorIndex;
+    }
+
+    private boolean precedes(final RunCursor[] cursors, final int lhsIndex, final int rhsIndex) {
+        final RunCursor lhs = cursors[lhsIndex];
+        final RunCursor rhs = cursors[rhsIndex];
+        final int comparison = comparator.compare(lhs.block, lhs.valueOffset(), rhs.block, rhs.valueOffset());
+        if (comparison != 0) {
+            return descending ? comparison > 0 : comparison < 0;
+        }
+        // Cursors are in run order, so this keeps the merge stable
+        return lhsIndex < rhsIndex;
+    }
+
+    /**
+     * Reads a run one block at a time.
+     */
+    private final class RunCursor {
+        private final Run run;
+        private final ByteBuffer block;
+        private long nextBlockStart;
+        private int blockLength;
+        private int position;
+
+        private RunCursor(@NotNull final Run run) {
+            this.run = run;
+            block = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, run.size) * (Long.BYTES + valueWidth))
+                    .order(ByteOrder.nativeOrder());
+            position = -1;
+        }
+
+        /**
+         * Advance to the next row of the run.
+         *
+         * @return Whether there was a next row
+         */
+        private boolean advance() {
+            if (++position < blockLength) {
+                return true;
+            }
+            if (nextBlockStart >= run.size) {
+                return false;
+            }
+            // Blocks before the last are full, so the block's location follows from its first row
+            blockLength = (int) Math.min(BLOCK_SIZE, run.size - nextBlockStart);
+            block.clear().limit(blockLength * (Long.BYTES + valueWidth));
+            run.file.readFully(block, run.start + nextBlockStart * (Long.BYTES + valueWidth));
+            nextBlockStart += blockLength;
+            position = 0;
+            return true;
+        }
+
+        private long rowKey() {
+            return block.getLong(position * Long.BYTES);
+        }
+
+        private int valueOffset() {
+            return blockLength * Long.BYTES + position * valueWidth;
+        }
+
+        private void copyValue(@NotNull final ByteBuffer destination) {
+            final int offset = valueOffset();
+            switch (valueWidth) {
+                case Byte.BYTES:
+                    destination.put(block.get(offset));
+                    break;
+                case Short.BYTES:
+                    destination.putShort(block.getShort(offset));
+                    break;
+                case Integer.BYTES:
+                    destination.putInt(block.getInt(offset));
+                    break;
+                case Long.BYTES:
+                    destination.putLong(block.getLong(offset));
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected value width " + valueWidth);
+            }
+        }
+    }
+
+    private static final class Run {
+        private final SpillFile file;
+        private final long start;
+        private final long size;
+
+        private Run(@NotNull final SpillFile file, final long start, final long size) {
+            this.file = file;
+            this.start = start;
+            this.size = size;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Spill files
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A temporary file of runs, each stored as consecutive blocks of row keys followed by their values.
+     */
+    private final class SpillFile implements SafeCloseable {
+        private final File file;
+        private final FileChannel channel;
+        private long position;
+
+        private SpillFile() {
+            try {
+                file = File.createTempFile("externalSort", ".spill", directory);
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException("Failed to create external sort spill file in " + directory, e);
+            }
+        }
+
+        /**
+         * Write the staged key and value blocks, and clear them.
+         */
+        private void writeBlock() {
+            keyBlock.flip();
+            valueBlock.flip();
+            try {
+                position += writeFully(channel, keyBlock, position);
+                position += writeFully(channel, valueBlock, position);
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException("Failed to write external sort spill file " + file, e);
+            }
+            keyBlock.clear();
+            valueBlock.clear();
+        }
+
+        private void readFully(@NotNull final ByteBuffer destination, long filePosition) {
+            try {
+                while (destination.hasRemaining()) {
+                    final int read = channel.read(destination, filePosition);
+                    if (read < 0) {
+                        throw new IllegalStateException("Unexpected end of external sort spill file " + file);
+                    }
+                    filePosition += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException("Failed to read external sort spill file " + file, e);
+            }
+            destination.flip();
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException("Failed to close external sort spill file " + file, e);
+            }
+        }
+    }
+
+    private static int writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer source,
+            long filePosition) throws IOException {
+        final int length = source.remaining();
+        while (source.hasRemaining()) {
+            filePosition += channel.write(source, filePosition);
+        }
+        return length;
+    }
+
+    private static void writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer source)
+            throws IOException {
+        source.flip();
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+        source.clear();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Values
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private interface ValueComparator {
+        int compare(@NotNull ByteBuffer lhs, int lhsOffset, @NotNull ByteBuffer rhs, int rhsOffset);
+    }
+
+    private static int valueWidth(@NotNull final ChunkType chunkType) {
+        switch (chunkType) {
+            case Byte:
+                return Byte.BYTES;
+            case Char:
+                return Character.BYTES;
+            case Short:
+                return Short.BYTES;
+            case Int:
+                return Integer.BYTES;
+            case Float:
+                return Float.BYTES;
+            case Long:
+                return Long.BYTES;
+            case Double:
+                return Double.BYTES;
+            default:
+                throw new IllegalArgumentException("Cannot sort " + chunkType + " values externally");
+        }
+    }
+
+    /**
+     * Make a comparator consistent with the ascending {@link LongSortKernel} for {@code chunkType}.
+     */
+    private static ValueComparator makeComparator(@NotNull final ChunkType chunkType) {
+        switch (chunkType) {
+            case Byte:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> Byte.compare(lhs.get(lhsOffset), rhs.get(rhsOffset));
+            case Char:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> CharComparisons.compare(
+                        lhs.getChar(lhsOffset), rhs.getChar(rhsOffset));
+            case Short:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> Short.compare(
+                        lhs.getShort(lhsOffset), rhs.getShort(rhsOffset));
+            case Int:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> Integer.compare(
+                        lhs.getInt(lhsOffset), rhs.getInt(rhsOffset));
+            case Float:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> FloatComparisons.compare(
+                        lhs.getFloat(lhsOffset), rhs.getFloat(rhsOffset));
+            case Long:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> Long.compare(
+                        lhs.getLong(lhsOffset), rhs.getLong(rhsOffset));
+            case Double:
+                return (lhs, lhsOffset, rhs, rhsOffset) -> DoubleComparisons.compare(
+                        lhs.getDouble(lhsOffset), rhs.getDouble(rhsOffset));
+            default:
+                throw new IllegalArgumentException("Cannot sort " + chunkType + " values externally");
+        }
+    }
+
+    /**
+     * Stage {@code length} values from {@code values}, starting at {@code start}, in the value block.
+     */
+    private void putValues(@NotNull final Chunk<? extends Values> values, final int start, final int length) {
+        final int end = start + length;
+        switch (chunkType) {
+            case Byte: {
+                final ByteChunk<? extends Values> typedValues = values.asByteChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.put(typedValues.get(ii));
+                }
+                break;
+            }
+            case Char: {
+                final CharChunk<? extends Values> typedValues = values.asCharChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putChar(typedValues.get(ii));
+                }
+                break;
+            }
+            case Short: {
+                final ShortChunk<? extends Values> typedValues = values.asShortChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putShort(typedValues.get(ii));
+                }
+                break;
+            }
+            case Int: {
+                final IntChunk<? extends Values> typedValues = values.asIntChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putInt(typedValues.get(ii));
+                }
+                break;
+            }
+            case Float: {
+                final FloatChunk<? extends Values> typedValues = values.asFloatChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putFloat(typedValues.get(ii));
+                }
+                break;
+            }
+            case Long: {
+                final LongChunk<? extends Values> typedValues = values.asLongChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putLong(typedValues.get(ii));
+                }
+                break;
+            }
+            case Double: {
+                final DoubleChunk<? extends Values> typedValues = values.asDoubleChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    valueBlock.putDouble(typedValues.get(ii));
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+    }
+}
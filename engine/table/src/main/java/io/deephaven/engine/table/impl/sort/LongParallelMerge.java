@@ -0,0 +1,223 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort;
+
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
+import io.deephaven.util.compare.CharComparisons;
+import io.deephaven.util.compare.DoubleComparisons;
+import io.deephaven.util.compare.FloatComparisons;
+import io.deephaven.util.compare.ObjectComparisons;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Merges adjacent sorted runs of row keys into a single sorted array using all available threads.
+ * <p>
+ * Runs are merged pairwise in rounds. Each round's output is split into segments of roughly equal size, and the
+ * boundaries of each segment within its pair of input runs are found by binary search (the "merge path"), so that every
+ * segment can be merged independently. This keeps all threads busy through the final round, which merges only two
+ * runs. Values compare exactly as they do in the {@link LongSortKernel timsort} kernels, and ties go to the earlier
+ * run, so merging stably sorted runs produces the same result as a stable sort of the whole array.
+ * <p>
+ * Values are never moved; each run's values must be at the same positions as its row keys, and the merge tracks the
+ * position of each row key's value instead.
+ */
+public final class LongParallelMerge {
+
+    /**
+     * The minimum number of rows merged by a single job.
+     */
+    private static final int MINIMUM_SEGMENT_SIZE = 1 << 16;
+    /**
+     * The number of segments per thread in each round, to even out differences in merge speed.
+     */
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    private LongParallelMerge() {} // static use only
+
+    private interface PositionComparator {
+        int compare(int lhsPosition, int rhsPosition);
+    }
+
+    /**
+     * Merge sorted runs of row keys.
+     *
+     * @param description The description of the merge, for logging and error messages
+     * @param order The order the runs are sorted in
+     * @param rowKeys The row keys of every run, which is overwritten by the merge
+     * @param values The values for {@code rowKeys}, at the same positions
+     * @param runStarts The starting position of each run in {@code rowKeys}, followed by the total size
+     * @param parallelism The number of threads available for merging
+     * @return The merged row keys, which may be {@code rowKeys}
+     */
+    public static long[] merge(
+            @NotNull final String description,
+            @NotNull final SortingOrder order,
+            @NotNull final long[] rowKeys,
+            @NotNull final Chunk<? extends Values> values,
+            @NotNull final int[] runStarts,
+            final int parallelism) {
+        final int size = runStarts[runStarts.length - 1];
+        Assert.eq(size, "size", rowKeys.length, "rowKeys.length");
+        Assert.eq(size, "size", values.size(), "values.size()");
+
+        final PositionComparator ascending = makeComparator(values);
+        final PositionComparator comparator = order.isAscending() ? ascending
+                : (lhsPosition, rhsPosition) -> ascending.compare(rhsPosition, lhsPosition);
+        final int segmentSize = (int) Math.max(MINIMUM_SEGMENT_SIZE,
+                ((long) size + parallelism * SEGMENTS_PER_THREAD - 1) / (parallelism * SEGMENTS_PER_THREAD));
+
+        long[] keysIn = rowKeys;
+        long[] keysOut = new long[size];
+        int[] positionsIn = new int[size];
+        int[] positionsOut = new int[size];
+        for (int ii = 0; ii < size; ++ii) {
+            positionsIn[ii] = ii;
+        }
+
+        int[] starts = runStarts;
+        while (starts.length > 2) {
+            final int numRuns = starts.length - 1;
+            final int numPairs = (numRuns + 1) / 2;
+
+            // Split each pair's output into segments; a lone last run is "merged" with an empty run
+            final int[] pairSegments = new int[numPairs + 1];
+            for (int pi = 0; pi < numPairs; ++pi) {
+                final int pairSize = starts[Math.min(2 * pi + 2, numRuns)] - starts[2 * pi];
+                pairSegments[pi + 1] = pairSegments[pi] + (pairSize + segmentSize - 1) / segmentSize;
+            }
+            final int numSegments = pairSegments[numPairs];
+            final int[] segmentPairs = new int[numSegments];
+            for (int pi = 0; pi < numPairs; ++pi) {
+                for (int si = pairSegments[pi]; si < pairSegments[pi + 1]; ++si) {
+                    segmentPairs[si] = pi;
+                }
+            }
+
+            final int[] roundStarts = starts;
+            final long[] roundKeysIn = keysIn;
+            final long[] roundKeysOut = keysOut;
+            final int[] roundPositionsIn = positionsIn;
+            final int[] roundPositionsOut = positionsOut;
+            OperationInitializerJobScheduler.iterateParallelAndWait(description, numSegments, segment -> {
+                final int pair = segmentPairs[segment];
+                final int aStart = roundStarts[2 * pair];
+                final int aEnd = roundStarts[Math.min(2 * pair + 1, numRuns)];
+                final int bEnd = roundStarts[Math.min(2 * pair + 2, numRuns)];
+                final int outputOffset = (segment - pairSegments[pair]) * segmentSize;
+                final int outputLength = Math.min(segmentSize, bEnd - aStart - outputOffset);
+                mergeSegment(comparator, roundKeysIn, roundPositionsIn, roundKeysOut, roundPositionsOut,
+                        aStart, aEnd, bEnd, outputOffset, outputLength);
+            });
+
+            final int[] nextStarts = new int[numPairs + 1];
+            for (int pi = 0; pi < numPairs; ++pi) {
+                nextStarts[pi] = starts[2 * pi];
+            }
+            nextStarts[numPairs] = size;
+            starts = nextStarts;
+
+            final long[] tmpKeys = keysIn;
+            keysIn = keysOut;
+            keysOut = tmpKeys;
+            final int[] tmpPositions = positionsIn;
+            positionsIn = positionsOut;
+            positionsOut = tmpPositions;
+        }
+        return keysIn;
+    }
+
+    /**
+     * Merge {@code outputLength} rows of the runs {@code [aStart, aEnd)} and {@code [aEnd, bEnd)}, starting from
+     * {@code outputOffset} rows into their merged output.
+     */
+    private static void mergeSegment(
+            @NotNull final PositionComparator comparator,
+            @NotNull final long[] keysIn,
+            @NotNull final int[] positionsIn,
+            @NotNull final long[] keysOut,
+            @NotNull final int[] positionsOut,
+            final int aStart,
+            final int aEnd,
+            final int bEnd,
+            final int outputOffset,
+            final int outputLength) {
+        final int aLength = aEnd - aStart;
+        final int bLength = bEnd - aEnd;
+
+        // Find the number of rows from run A in the first outputOffset rows of the merged output; that is the smallest
+        // count for which the next row of A comes after the last row taken from B
+        int lo = Math.max(0, outputOffset - bLength);
+        int hi = Math.min(outputOffset, aLength);
+        while (lo < hi) {
+            final int aTaken = (lo + hi) >>> 1;
+            final int bTaken = outputOffset - aTaken;
+            if (comparator.compare(positionsIn[aStart + aTaken], positionsIn[aEnd + bTaken - 1]) > 0) {
+                hi = aTaken;
+            } else {
+                lo = aTaken + 1;
+            }
+        }
+
+        int aNext = aStart + lo;
+        int bNext = aEnd + outputOffset - lo;
+        final int outputEnd = aStart + outputOffset + outputLength;
+        for (int outputNext = aStart + outputOffset; outputNext < outputEnd; ++outputNext) {
+            final int next;
+            if (bNext == bEnd
+                    || (aNext < aEnd && comparator.compare(positionsIn[aNext], positionsIn[bNext]) <= 0)) {
+                next = aNext++;
+            } else {
+                next = bNext++;
+            }
+            keysOut[outputNext] = keysIn[next];
+            positionsOut[outputNext] = positionsIn[next];
+        }
+    }
+
+    /**
+     * Make an ascending comparator of positions in {@code values}, consistent with the timsort kernels.
+     */
+    private static PositionComparator makeComparator(@NotNull final Chunk<? extends Values> values) {
+        switch (values.getChunkType()) {
+            case Char: {
+                final CharChunk<? extends Values> typedValues = values.asCharChunk();
+                return (lhs, rhs) -> CharComparisons.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Byte: {
+                final ByteChunk<? extends Values> typedValues = values.asByteChunk();
+                return (lhs, rhs) -> Byte.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Short: {
+                final ShortChunk<? extends Values> typedValues = values.asShortChunk();
+                return (lhs, rhs) -> Short.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Int: {
+                final IntChunk<? extends Values> typedValues = values.asIntChunk();
+                return (lhs, rhs) -> Integer.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Long: {
+                final LongChunk<? extends Values> typedValues = values.asLongChunk();
+                return (lhs, rhs) -> Long.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Float: {
+                final FloatChunk<? extends Values> typedValues = values.asFloatChunk();
+                return (lhs, rhs) -> FloatComparisons.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Double: {
+                final DoubleChunk<? extends Values> typedValues = values.asDoubleChunk();
+                return (lhs, rhs) -> DoubleComparisons.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            case Object: {
+                final ObjectChunk<?, ? extends Values> typedValues = values.asObjectChunk();
+                return (lhs, rhs) -> ObjectComparisons.compare(typedValues.get(lhs), typedValues.get(rhs));
+            }
+            default:
+                throw new IllegalArgumentException("Cannot merge " + values.getChunkType() + " values");
+        }
+    }
+}
@@ -0,0 +1,359 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort.radix;
+
+import gnu.trove.list.array.TIntArrayList;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Any;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.sort.LongSortKernel;
+import io.deephaven.util.QueryConstants;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An LSD radix sort of 32-bit values ({@code int} or {@code float}), permuting a parallel chunk of {@code long} row
+ * keys.
+ * <p>
+ * Each value is transformed to an unsigned 32-bit sort key whose order matches the timsort kernels: {@code int} values
+ * by flipping the sign bit (so {@link QueryConstants#NULL_INT} sorts first), and {@code float} values by the IEEE-754
+ * transform, with {@link QueryConstants#NULL_FLOAT} first, {@code NaN} last, and {@code -0.0} equal to {@code 0.0}.
+ * Descending sorts complement the keys. The keys are then sorted one byte at a time, least significant first, skipping
+ * bytes that are the same for every value; each pass is stable, so equal values keep their input order.
+ * <p>
+ * The row keys are permuted directly alongside the sort keys, so a kernel needs 16 bytes per value, allocated on the
+ * first input that is actually radix sorted. Radix sorting is slower than timsort for short or nearly sorted input, so
+ * those are delegated to the equivalent timsort kernel, which is likewise only allocated when needed.
+ */
+public class IntLongRadixSortKernel {
+
+    private IntLongRadixSortKernel() {} // static use only
+
+    /**
+     * @param chunkType The type of values to sort, which must be {@link ChunkType#Int} or {@link ChunkType#Float}
+     * @param size The maximum number of values to sort
+     * @param order The order to sort in
+     * @param preserveValues Whether the sorted values must be written back, or only the row keys permuted
+     * @return A radix sort kernel
+     */
+    public static <SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any> LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> createContext(
+            ChunkType chunkType,
+            int size,
+            SortingOrder order,
+            boolean preserveValues) {
+        switch (chunkType) {
+            case Int:
+                return new IntKernel<>(size, order, preserveValues);
+            case Float:
+                return new FloatKernel<>(size, order, preserveValues);
+            default:
+                throw new IllegalArgumentException("Cannot radix sort " + chunkType + " values as 32-bit keys");
+        }
+    }
+
+    private abstract static class BaseKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            implements LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private final ChunkType chunkType;
+        private final int size;
+        private final SortingOrder order;
+        final boolean preserveValues;
+        /**
+         * Exclusive-or'd with every sort key, complementing the keys of descending sorts.
+         */
+        final int keyFlip;
+
+        private int[] sortKeys;
+        private int[] sortKeysScratch;
+        private WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysScratch;
+        private final int[] counts = new int[Integer.BYTES * RadixSortUtil.RADIX];
+
+        private LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> timsortKernel;
+
+        private BaseKernel(ChunkType chunkType, int size, SortingOrder order, boolean preserveValues) {
+            this.chunkType = chunkType;
+            this.size = size;
+            this.order = order;
+            this.preserveValues = preserveValues;
+            keyFlip = order == SortingOrder.Descending ? -1 : 0;
+        }
+
+        /**
+         * @return The number of the {@code length} values starting at {@code offset} whose sort key is out of order
+         *         with respect to their predecessor's
+         */
+        abstract int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length);
+
+        /**
+         * Fill {@code sortKeys} with the sort keys of {@code length} values starting at {@code offset}.
+         */
+        abstract void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length,
+                int[] sortKeys);
+
+        /**
+         * Write the values of the {@code sortedKeys} to {@code length} values starting at {@code offset}.
+         */
+        abstract void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length,
+                int[] sortedKeys);
+
+        @Override
+        public void sort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort) {
+            doSort(valuesToPermute, valuesToSort, 0, valuesToSort.size());
+        }
+
+        @Override
+        public void sort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                IntChunk<? extends ChunkPositions> offsetsIn,
+                IntChunk<? extends ChunkLengths> lengthsIn) {
+            for (int ii = 0; ii < offsetsIn.size(); ++ii) {
+                doSort(valuesToPermute, valuesToSort, offsetsIn.get(ii), lengthsIn.get(ii));
+            }
+        }
+
+        private void doSort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                int offset,
+                int length) {
+            if (length < RadixSortUtil.MINIMUM_RADIX_SORT_SIZE
+                    || RadixSortUtil.isNearlySorted(countDescents(valuesToSort, offset, length), length)) {
+                timsort(valuesToPermute, valuesToSort, offset, length);
+                return;
+            }
+
+            if (sortKeys == null) {
+                sortKeys = new int[size];
+                sortKeysScratch = new int[size];
+                rowKeysScratch = WritableLongChunk.makeWritableChunk(size);
+            }
+            fillSortKeys(valuesToSort, offset, length, sortKeys);
+
+            Arrays.fill(counts, 0);
+            for (int ii = 0; ii < length; ++ii) {
+                final int sortKey = sortKeys[ii];
+                for (int pass = 0; pass < Integer.BYTES; ++pass) {
+                    ++counts[pass * RadixSortUtil.RADIX + ((sortKey >>> (pass * Byte.SIZE)) & RadixSortUtil.MASK)];
+                }
+            }
+
+            // The row keys are permuted alongside their sort keys, alternating between the input and the scratch chunk
+            final WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeys = valuesToPermute.slice(offset, length);
+            int[] keysIn = sortKeys;
+            int[] keysOut = sortKeysScratch;
+            WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysIn = rowKeys;
+            WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysOut = rowKeysScratch;
+            for (int pass = 0; pass < Integer.BYTES; ++pass) {
+                final int countsOffset = pass * RadixSortUtil.RADIX;
+                if (!RadixSortUtil.countsToOffsets(counts, countsOffset, length)) {
+                    // Every value has the same byte, so this pass would not change the order
+                    continue;
+                }
+                final int shift = pass * Byte.SIZE;
+                for (int ii = 0; ii < length; ++ii) {
+                    final int sortKey = keysIn[ii];
+                    final int destination = counts[countsOffset + ((sortKey >>> shift) & RadixSortUtil.MASK)]++;
+                    keysOut[destination] = sortKey;
+                    rowKeysOut.set(destination, rowKeysIn.get(ii));
+                }
+                final int[] tmpKeys = keysIn;
+                keysIn = keysOut;
+                keysOut = tmpKeys;
+                final WritableLongChunk<PERMUTE_VALUES_ATTR> tmpRowKeys = rowKeysIn;
+                rowKeysIn = rowKeysOut;
+                rowKeysOut = tmpRowKeys;
+            }
+
+            if (rowKeysIn != rowKeys) {
+                rowKeys.copyFromChunk(rowKeysIn, 0, 0, length);
+            }
+            if (preserveValues) {
+                writeValues(valuesToSort, offset, length, keysIn);
+            }
+        }
+
+        private void timsort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                int offset,
+                int length) {
+            if (timsortKernel == null) {
+                timsortKernel = LongSortKernel.makeContext(chunkType, order, size, preserveValues);
+            }
+            if (offset == 0 && length == valuesToSort.size()) {
+                timsortKernel.sort(valuesToPermute, valuesToSort);
+                return;
+            }
+            try (final WritableIntChunk<ChunkPositions> offsets = WritableIntChunk.makeWritableChunk(1);
+                    final WritableIntChunk<ChunkLengths> lengths = WritableIntChunk.makeWritableChunk(1)) {
+                offsets.set(0, offset);
+                lengths.set(0, length);
+                timsortKernel.sort(valuesToPermute, valuesToSort, offsets, lengths);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (timsortKernel != null) {
+                timsortKernel.close();
+                timsortKernel = null;
+            }
+            if (rowKeysScratch != null) {
+                rowKeysScratch.close();
+                rowKeysScratch = null;
+            }
+            sortKeys = null;
+            sortKeysScratch = null;
+        }
+    }
+
+    private static class IntKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            extends BaseKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private IntKernel(int size, SortingOrder order, boolean preserveValues) {
+            super(ChunkType.Int, size, order, preserveValues);
+        }
+
+        @Override
+        int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length) {
+            final IntChunk<SORT_VALUES_ATTR> values = valuesToSort.asIntChunk();
+            int descents = 0;
+            int previous = sortKey(values.get(offset));
+            for (int ii = 1; ii < length; ++ii) {
+                final int current = sortKey(values.get(offset + ii));
+                if (Integer.compareUnsigned(previous, current) > 0) {
+                    ++descents;
+                }
+                previous = current;
+            }
+            return descents;
+        }
+
+        @Override
+        void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, int[] sortKeys) {
+            final IntChunk<SORT_VALUES_ATTR> values = valuesToSort.asIntChunk();
+            for (int ii = 0; ii < length; ++ii) {
+                sortKeys[ii] = sortKey(values.get(offset + ii));
+            }
+        }
+
+        @Override
+        void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, int[] sortedKeys) {
+            final WritableIntChunk<SORT_VALUES_ATTR> values = valuesToSort.asWritableIntChunk();
+            for (int ii = 0; ii < length; ++ii) {
+                values.set(offset + ii, sortedKeys[ii] ^ keyFlip ^ Integer.MIN_VALUE);
+            }
+        }
+
+        private int sortKey(final int value) {
+            return value ^ Integer.MIN_VALUE ^ keyFlip;
+        }
+    }
+
+    private static class FloatKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            extends BaseKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private static final int NULL_KEY = 0;
+        private static final int NAN_KEY = -1;
+        private static final int ZERO_KEY = Integer.MIN_VALUE;
+
+        /**
+         * Sort keys are the same for {@code -0.0} and {@code 0.0}, and for every {@code NaN}; as the sort is stable,
+         * we record which zeroes were negative and the raw bits of each {@code NaN} in input order, and consume them in
+         * the same order when writing back the values.
+         */
+        private final BitSet negativeZeroes;
+        private final TIntArrayList nanBits;
+
+        private FloatKernel(int size, SortingOrder order, boolean preserveValues) {
+            super(ChunkType.Float, size, order, preserveValues);
+            negativeZeroes = preserveValues ? new BitSet() : null;
+            nanBits = preserveValues ? new TIntArrayList() : null;
+        }
+
+        @Override
+        int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length) {
+            final FloatChunk<SORT_VALUES_ATTR> values = valuesToSort.asFloatChunk();
+            int descents = 0;
+            int previous = sortKey(values.get(offset));
+            for (int ii = 1; ii < length; ++ii) {
+                final int current = sortKey(values.get(offset + ii));
+                if (Integer.compareUnsigned(previous, current) > 0) {
+                    ++descents;
+                }
+                previous = current;
+            }
+            return descents;
+        }
+
+        @Override
+        void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, int[] sortKeys) {
+            final FloatChunk<SORT_VALUES_ATTR> values = valuesToSort.asFloatChunk();
+            if (!preserveValues) {
+                for (int ii = 0; ii < length; ++ii) {
+                    sortKeys[ii] = sortKey(values.get(offset + ii));
+                }
+                return;
+            }
+            negativeZeroes.clear();
+            nanBits.resetQuick();
+            int zeroes = 0;
+            for (int ii = 0; ii < length; ++ii) {
+                final float value = values.get(offset + ii);
+                sortKeys[ii] = sortKey(value);
+                if (value == 0) {
+                    if (Float.floatToRawIntBits(value) < 0) {
+                        negativeZeroes.set(zeroes);
+                    }
+                    ++zeroes;
+                } else if (Float.isNaN(value)) {
+                    nanBits.add(Float.floatToRawIntBits(value));
+                }
+            }
+        }
+
+        @Override
+        void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, int[] sortedKeys) {
+            final WritableFloatChunk<SORT_VALUES_ATTR> values = valuesToSort.asWritableFloatChunk();
+            int zeroes = 0;
+            int nans = 0;
+            for (int ii = 0; ii < length; ++ii) {
+                final int sortKey = sortedKeys[ii] ^ keyFlip;
+                final float value;
+                if (sortKey == NULL_KEY) {
+                    value = QueryConstants.NULL_FLOAT;
+                } else if (sortKey == NAN_KEY) {
+                    value = Float.intBitsToFloat(nanBits.getQuick(nans++));
+                } else if (sortKey == ZERO_KEY) {
+                    value = negativeZeroes.get(zeroes++) ? -0.0f : 0.0f;
+                } else {
+                    value = Float.intBitsToFloat(sortKey < 0 ? sortKey ^ Integer.MIN_VALUE : ~sortKey);
+                }
+                values.set(offset + ii, value);
+            }
+        }
+
+        private int sortKey(final float value) {
+            return ascendingSortKey(value) ^ keyFlip;
+        }
+
+        private static int ascendingSortKey(final float value) {
+            if (value == QueryConstants.NULL_FLOAT) {
+                return NULL_KEY;
+            }
+            if (Float.isNaN(value)) {
+                return NAN_KEY;
+            }
+            // Adding zero turns -0.0 into 0.0
+            final int bits = Float.floatToRawIntBits(value + 0.0f);
+            return bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE;
+        }
+    }
+}
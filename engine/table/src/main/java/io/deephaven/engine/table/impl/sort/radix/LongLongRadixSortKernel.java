@@ -0,0 +1,363 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort.radix;
+
+import gnu.trove.list.array.TLongArrayList;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Any;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.sort.LongSortKernel;
+import io.deephaven.util.QueryConstants;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An LSD radix sort of 64-bit values ({@code long} or {@code double}), permuting a parallel chunk of {@code long} row
+ * keys.
+ * <p>
+ * Each value is transformed to an unsigned 64-bit sort key whose order matches the timsort kernels: {@code long}
+ * values by flipping the sign bit (so {@link QueryConstants#NULL_LONG} sorts first), and {@code double} values by the
+ * IEEE-754 transform, with {@link QueryConstants#NULL_DOUBLE} first, {@code NaN} last, and {@code -0.0} equal to
+ * {@code 0.0}.
+ * Descending sorts complement the keys. The keys are then sorted one byte at a time, least significant first, skipping
+ * bytes that are the same for every value (such as the high bytes of timestamps within a few years of each other); each
+ * pass is stable, so equal values keep their input order.
+ * <p>
+ * The row keys are permuted directly alongside the sort keys, so a kernel needs 24 bytes per value, allocated on the
+ * first input that is actually radix sorted. Radix sorting is slower than timsort for short or nearly sorted input, so
+ * those are delegated to the equivalent timsort kernel, which is likewise only allocated when needed.
+ */
+public class LongLongRadixSortKernel {
+
+    private LongLongRadixSortKernel() {} // static use only
+
+    /**
+     * @param chunkType The type of values to sort, which must be {@link ChunkType#Long} or {@link ChunkType#Double}
+     * @param size The maximum number of values to sort
+     * @param order The order to sort in
+     * @param preserveValues Whether the sorted values must be written back, or only the row keys permuted
+     * @return A radix sort kernel
+     */
+    public static <SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any> LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> createContext(
+            ChunkType chunkType,
+            int size,
+            SortingOrder order,
+            boolean preserveValues) {
+        switch (chunkType) {
+            case Long:
+                return new LongKernel<>(size, order, preserveValues);
+            case Double:
+                return new DoubleKernel<>(size, order, preserveValues);
+            default:
+                throw new IllegalArgumentException("Cannot radix sort " + chunkType + " values as 64-bit keys");
+        }
+    }
+
+    private abstract static class BaseKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            implements LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private final ChunkType chunkType;
+        private final int size;
+        private final SortingOrder order;
+        final boolean preserveValues;
+        /**
+         * Exclusive-or'd with every sort key, complementing the keys of descending sorts.
+         */
+        final long keyFlip;
+
+        private long[] sortKeys;
+        private long[] sortKeysScratch;
+        private WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysScratch;
+        private final int[] counts = new int[Long.BYTES * RadixSortUtil.RADIX];
+
+        private LongSortKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> timsortKernel;
+
+        private BaseKernel(ChunkType chunkType, int size, SortingOrder order, boolean preserveValues) {
+            this.chunkType = chunkType;
+            this.size = size;
+            this.order = order;
+            this.preserveValues = preserveValues;
+            keyFlip = order == SortingOrder.Descending ? -1L : 0L;
+        }
+
+        /**
+         * @return The number of the {@code length} values starting at {@code offset} whose sort key is out of order
+         *         with respect to their predecessor's
+         */
+        abstract int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length);
+
+        /**
+         * Fill {@code sortKeys} with the sort keys of {@code length} values starting at {@code offset}.
+         */
+        abstract void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length,
+                long[] sortKeys);
+
+        /**
+         * Write the values of the {@code sortedKeys} to {@code length} values starting at {@code offset}.
+         */
+        abstract void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length,
+                long[] sortedKeys);
+
+        @Override
+        public void sort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort) {
+            doSort(valuesToPermute, valuesToSort, 0, valuesToSort.size());
+        }
+
+        @Override
+        public void sort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                IntChunk<? extends ChunkPositions> offsetsIn,
+                IntChunk<? extends ChunkLengths> lengthsIn) {
+            for (int ii = 0; ii < offsetsIn.size(); ++ii) {
+                doSort(valuesToPermute, valuesToSort, offsetsIn.get(ii), lengthsIn.get(ii));
+            }
+        }
+
+        private void doSort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                int offset,
+                int length) {
+            if (length < RadixSortUtil.MINIMUM_RADIX_SORT_SIZE
+                    || RadixSortUtil.isNearlySorted(countDescents(valuesToSort, offset, length), length)) {
+                timsort(valuesToPermute, valuesToSort, offset, length);
+                return;
+            }
+
+            if (sortKeys == null) {
+                sortKeys = new long[size];
+                sortKeysScratch = new long[size];
+                rowKeysScratch = WritableLongChunk.makeWritableChunk(size);
+            }
+            fillSortKeys(valuesToSort, offset, length, sortKeys);
+
+            Arrays.fill(counts, 0);
+            for (int ii = 0; ii < length; ++ii) {
+                final long sortKey = sortKeys[ii];
+                for (int pass = 0; pass < Long.BYTES; ++pass) {
+                    ++counts[pass * RadixSortUtil.RADIX
+                            + (int) ((sortKey >>> (pass * Byte.SIZE)) & RadixSortUtil.MASK)];
+                }
+            }
+
+            // The row keys are permuted alongside their sort keys, alternating between the input and the scratch chunk
+            final WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeys = valuesToPermute.slice(offset, length);
+            long[] keysIn = sortKeys;
+            long[] keysOut = sortKeysScratch;
+            WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysIn = rowKeys;
+            WritableLongChunk<PERMUTE_VALUES_ATTR> rowKeysOut = rowKeysScratch;
+            for (int pass = 0; pass < Long.BYTES; ++pass) {
+                final int countsOffset = pass * RadixSortUtil.RADIX;
+                if (!RadixSortUtil.countsToOffsets(counts, countsOffset, length)) {
+                    // Every value has the same byte, so this pass would not change the order
+                    continue;
+                }
+                final int shift = pass * Byte.SIZE;
+                for (int ii = 0; ii < length; ++ii) {
+                    final long sortKey = keysIn[ii];
+                    final int destination =
+                            counts[countsOffset + (int) ((sortKey >>> shift) & RadixSortUtil.MASK)]++;
+                    keysOut[destination] = sortKey;
+                    rowKeysOut.set(destination, rowKeysIn.get(ii));
+                }
+                final long[] tmpKeys = keysIn;
+                keysIn = keysOut;
+                keysOut = tmpKeys;
+                final WritableLongChunk<PERMUTE_VALUES_ATTR> tmpRowKeys = rowKeysIn;
+                rowKeysIn = rowKeysOut;
+                rowKeysOut = tmpRowKeys;
+            }
+
+            if (rowKeysIn != rowKeys) {
+                rowKeys.copyFromChunk(rowKeysIn, 0, 0, length);
+            }
+            if (preserveValues) {
+                writeValues(valuesToSort, offset, length, keysIn);
+            }
+        }
+
+        private void timsort(
+                WritableLongChunk<PERMUTE_VALUES_ATTR> valuesToPermute,
+                WritableChunk<SORT_VALUES_ATTR> valuesToSort,
+                int offset,
+                int length) {
+            if (timsortKernel == null) {
+                timsortKernel = LongSortKernel.makeContext(chunkType, order, size, preserveValues);
+            }
+            if (offset == 0 && length == valuesToSort.size()) {
+                timsortKernel.sort(valuesToPermute, valuesToSort);
+                return;
+            }
+            try (final WritableIntChunk<ChunkPositions> offsets = WritableIntChunk.makeWritableChunk(1);
+                    final WritableIntChunk<ChunkLengths> lengths = WritableIntChunk.makeWritableChunk(1)) {
+                offsets.set(0, offset);
+                lengths.set(0, length);
+                timsortKernel.sort(valuesToPermute, valuesToSort, offsets, lengths);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (timsortKernel != null) {
+                timsortKernel.close();
+                timsortKernel = null;
+            }
+            if (rowKeysScratch != null) {
+                rowKeysScratch.close();
+                rowKeysScratch = null;
+            }
+            sortKeys = null;
+            sortKeysScratch = null;
+        }
+    }
+
+    private static class LongKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            extends BaseKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private LongKernel(int size, SortingOrder order, boolean preserveValues) {
+            super(ChunkType.Long, size, order, preserveValues);
+        }
+
+        @Override
+        int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length) {
+            final LongChunk<SORT_VALUES_ATTR> values = valuesToSort.asLongChunk();
+            int descents = 0;
+            long previous = sortKey(values.get(offset));
+            for (int ii = 1; ii < length; ++ii) {
+                final long current = sortKey(values.get(offset + ii));
+                if (Long.compareUnsigned(previous, current) > 0) {
+                    ++descents;
+                }
+                previous = current;
+            }
+            return descents;
+        }
+
+        @Override
+        void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, long[] sortKeys) {
+            final LongChunk<SORT_VALUES_ATTR> values = valuesToSort.asLongChunk();
+            for (int ii = 0; ii < length; ++ii) {
+                sortKeys[ii] = sortKey(values.get(offset + ii));
+            }
+        }
+
+        @Override
+        void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, long[] sortedKeys) {
+            final WritableLongChunk<SORT_VALUES_ATTR> values = valuesToSort.asWritableLongChunk();
+            for (int ii = 0; ii < length; ++ii) {
+                values.set(offset + ii, sortedKeys[ii] ^ keyFlip ^ Long.MIN_VALUE);
+            }
+        }
+
+        private long sortKey(final long value) {
+            return value ^ Long.MIN_VALUE ^ keyFlip;
+        }
+    }
+
+    private static class DoubleKernel<SORT_VALUES_ATTR extends Any, PERMUTE_VALUES_ATTR extends Any>
+            extends BaseKernel<SORT_VALUES_ATTR, PERMUTE_VALUES_ATTR> {
+
+        private static final long NULL_KEY = 0;
+        private static final long NAN_KEY = -1;
+        private static final long ZERO_KEY = Long.MIN_VALUE;
+
+        /**
+         * Sort keys are the same for {@code -0.0} and {@code 0.0}, and for every {@code NaN}; as the sort is stable,
+         * we record which zeroes were negative and the raw bits of each {@code NaN} in input order, and consume them in
+         * the same order when writing back the values.
+         */
+        private final BitSet negativeZeroes;
+        private final TLongArrayList nanBits;
+
+        private DoubleKernel(int size, SortingOrder order, boolean preserveValues) {
+            super(ChunkType.Double, size, order, preserveValues);
+            negativeZeroes = preserveValues ? new BitSet() : null;
+            nanBits = preserveValues ? new TLongArrayList() : null;
+        }
+
+        @Override
+        int countDescents(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length) {
+            final DoubleChunk<SORT_VALUES_ATTR> values = valuesToSort.asDoubleChunk();
+            int descents = 0;
+            long previous = sortKey(values.get(offset));
+            for (int ii = 1; ii < length; ++ii) {
+                final long current = sortKey(values.get(offset + ii));
+                if (Long.compareUnsigned(previous, current) > 0) {
+                    ++descents;
+                }
+                previous = current;
+            }
+            return descents;
+        }
+
+        @Override
+        void fillSortKeys(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, long[] sortKeys) {
+            final DoubleChunk<SORT_VALUES_ATTR> values = valuesToSort.asDoubleChunk();
+            if (!preserveValues) {
+                for (int ii = 0; ii < length; ++ii) {
+                    sortKeys[ii] = sortKey(values.get(offset + ii));
+                }
+                return;
+            }
+            negativeZeroes.clear();
+            nanBits.resetQuick();
+            int zeroes = 0;
+            for (int ii = 0; ii < length; ++ii) {
+                final double value = values.get(offset + ii);
+                sortKeys[ii] = sortKey(value);
+                if (value == 0) {
+                    if (Double.doubleToRawLongBits(value) < 0) {
+                        negativeZeroes.set(zeroes);
+                    }
+                    ++zeroes;
+                } else if (Double.isNaN(value)) {
+                    nanBits.add(Double.doubleToRawLongBits(value));
+                }
+            }
+        }
+
+        @Override
+        void writeValues(WritableChunk<SORT_VALUES_ATTR> valuesToSort, int offset, int length, long[] sortedKeys) {
+            final WritableDoubleChunk<SORT_VALUES_ATTR> values = valuesToSort.asWritableDoubleChunk();
+            int zeroes = 0;
+            int nans = 0;
+            for (int ii = 0; ii < length; ++ii) {
+                final long sortKey = sortedKeys[ii] ^ keyFlip;
+                final double value;
+                if (sortKey == NULL_KEY) {
+                    value = QueryConstants.NULL_DOUBLE;
+                } else if (sortKey == NAN_KEY) {
+                    value = Double.longBitsToDouble(nanBits.getQuick(nans++));
+                } else if (sortKey == ZERO_KEY) {
+                    value = negativeZeroes.get(zeroes++) ? -0.0 : 0.0;
+                } else {
+                    value = Double.longBitsToDouble(sortKey < 0 ? sortKey ^ Long.MIN_VALUE : ~sortKey);
+                }
+                values.set(offset + ii, value);
+            }
+        }
+
+        private long sortKey(final double value) {
+            return ascendingSortKey(value) ^ keyFlip;
+        }
+
+        private static long ascendingSortKey(final double value) {
+            if (value == QueryConstants.NULL_DOUBLE) {
+                return NULL_KEY;
+            }
+            if (Double.isNaN(value)) {
+                return NAN_KEY;
+            }
+            // Adding zero turns -0.0 into 0.0
+            final long bits = Double.doubleToRawLongBits(value + 0.0);
+            return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort.radix;
+
+/**
+ * Shared constants and helpers for the LSD radix sort kernels.
+ */
+final class RadixSortUtil {
+
+    /**
+     * The number of buckets per pass; each pass sorts by one byte of the sort keys.
+     */
+    static final int RADIX = 1 << Byte.SIZE;
+    static final int MASK = RADIX - 1;
+
+    /**
+     * Inputs shorter than this are sorted with timsort, as the per-pass overhead of radix sorting dominates.
+     */
+    static final int MINIMUM_RADIX_SORT_SIZE = 1 << 10;
+
+    /**
+     * Inputs with fewer than one descent (a value that sorts before its predecessor) per this many values are sorted
+     * with timsort, which sorts nearly sorted input in close to linear time.
+     */
+    private static final int NEARLY_SORTED_VALUES_PER_DESCENT = 32;
+
+    private RadixSortUtil() {} // static use only
+
+    /**
+     * @param descents The number of values that sort before their predecessor
+     * @param length The number of values
+     * @return Whether the values are nearly sorted
+     */
+    static boolean isNearlySorted(final int descents, final int length) {
+        return (long) descents * NEARLY_SORTED_VALUES_PER_DESCENT < length;
+    }
+
+    /**
+     * Replace the {@link #RADIX} bucket counts starting at {@code countsOffset} with each bucket's starting offset.
+     *
+     * @param counts The bucket counts for every pass
+     * @param countsOffset The offset of this pass's counts
+     * @param length The total number of values
+     * @return Whether the pass must be performed, i.e. whether the values are in more than one bucket
+     */
+    static boolean countsToOffsets(final int[] counts, final int countsOffset, final int length) {
+        int bucketStart = 0;
+        for (int bucket = countsOffset; bucket < countsOffset + RADIX; ++bucket) {
+            final int count = counts[bucket];
+            if (count == length) {
+                return false;
+            }
+            counts[bucket] = bucketStart;
+            bucketStart += count;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,409 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import gnu.trove.list.array.TIntArrayList;
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.WritableSourceWithPrepareForParallelPopulation;
+import io.deephaven.engine.table.impl.AbstractColumnSource;
+import io.deephaven.engine.table.impl.sources.InMemoryColumnSource;
+import io.deephaven.engine.updategraph.UpdateCommitter;
+import io.deephaven.util.datastructures.LongSizedDataStructure;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Common implementation for dense, writable column sources whose data is stored outside the Java heap in blocks
+ * provided by an {@link OffHeapBlockAllocator}. This mirrors the structure of
+ * {@link io.deephaven.engine.table.impl.sources.ArrayBackedColumnSource}: the keyspace from 0 to capacity is divided
+ * into fixed-size blocks, allocated as needed, and previous values are tracked per block using an in-use bitset and a
+ * previous-value block that is discarded at the end of the update cycle.
+ * <p>
+ * Previous-value blocks are always allocated directly (never memory-mapped), since they only live for a single cycle,
+ * and are recycled within the source.
+ * <p>
+ * The backing store is not a Java array, so these sources do not implement
+ * {@link io.deephaven.engine.table.impl.sources.ChunkedBackingStoreExposedWritableSource}; callers must fill them with
+ * {@link #fillFromChunk(FillFromContext, Chunk, RowSequence)}.
+ */
+public abstract class OffHeapArraySourceHelper<T, UBuffer extends Buffer> extends AbstractColumnSource<T>
+        implements WritableColumnSource<T>, InMemoryColumnSource, WritableSourceWithPrepareForParallelPopulation {
+
+    /**
+     * The maximum number of previous-value blocks retained for re-use after a cycle completes.
+     */
+    private static final int MAX_RECYCLED_PREV_BLOCKS = 16;
+
+    // See ArrayBackedColumnSource for a description of the in-use bitset layout.
+    static final int LOG_INUSE_BITSET_SIZE = 6;
+    static final int IN_USE_MASK = (1 << LOG_INUSE_BITSET_SIZE) - 1;
+
+    protected final OffHeapBlockAllocator allocator;
+    private final int elementSizeInBytes;
+    private final Function<ByteBuffer, UBuffer> blockViewFactory;
+
+    /**
+     * The base 2 logarithm of the number of elements per block.
+     */
+    protected final int logBlockSize;
+    /**
+     * The number of elements per block.
+     */
+    protected final int blockSize;
+    /**
+     * Mask for the index of an element within its block.
+     */
+    protected final long indexMask;
+
+    /**
+     * The highest slot that can be used without a call to {@link #ensureCapacity(long)}.
+     */
+    protected long maxIndex = -1;
+
+    /**
+     * The presence of a prevFlusher means that this source wants to track previous values.
+     */
+    protected transient UpdateCommitter<OffHeapArraySourceHelper<T, UBuffer>> prevFlusher = null;
+    protected transient TIntArrayList prevAllocated = null;
+    protected transient long[][] prevInUse;
+
+    private final ArrayDeque<UBuffer> recycledPrevBlocks = new ArrayDeque<>();
+    private final ArrayDeque<long[]> recycledInUse = new ArrayDeque<>();
+
+    /**
+     * If ensure previous has been called, we need not check previous values when filling.
+     */
+    protected transient long ensurePreviousClockCycle = -1;
+
+    protected OffHeapArraySourceHelper(
+            @NotNull final Class<T> type,
+            final int elementSizeInBytes,
+            @NotNull final Function<ByteBuffer, UBuffer> blockViewFactory,
+            @NotNull final OffHeapBlockAllocator allocator) {
+        super(type);
+        this.elementSizeInBytes = elementSizeInBytes;
+        this.blockViewFactory = blockViewFactory;
+        this.allocator = allocator;
+        logBlockSize = allocator.logBlockSize();
+        blockSize = 1 << logBlockSize;
+        indexMask = blockSize - 1;
+    }
+
+    /**
+     * @return The current data blocks; unallocated blocks are {@code null}
+     */
+    protected abstract UBuffer[] getBlocks();
+
+    /**
+     * @return The previous-value blocks, or {@code null} if previous values are not being tracked
+     */
+    protected abstract UBuffer[] getPrevBlocks();
+
+    /**
+     * Replace the block arrays after they have been grown.
+     */
+    protected abstract void resetBlocks(UBuffer[] newBlocks, UBuffer[] newPrev);
+
+    /**
+     * Fill {@code block} with this source's null value.
+     */
+    protected abstract void fillWithNull(@NotNull UBuffer block);
+
+    /**
+     * Copy the values from the current block to the previous block, for all rows in {@code rowsInBlock}.
+     */
+    protected abstract void copyToPrev(int blockNo, @NotNull RowSequence rowsInBlock, @NotNull long[] inUse);
+
+    /**
+     * Get the capacity of this column source. This number is one higher than the highest key that may be accessed (read
+     * or written).
+     *
+     * @return The capacity of this column source
+     */
+    public final long getCapacity() {
+        return maxIndex + 1;
+    }
+
+    @Override
+    public final void ensureCapacity(final long capacity, final boolean nullFilled) {
+        final long requestedMaxIndex = ((capacity + blockSize - 1) & ~indexMask) - 1;
+        if (requestedMaxIndex <= maxIndex) {
+            return;
+        }
+        final int requestedNumBlocks = LongSizedDataStructure.intSize(
+                "OffHeapArraySource block allocation", (requestedMaxIndex + 1) >> logBlockSize);
+
+        UBuffer[] blocks = getBlocks();
+        UBuffer[] prevBlocks = getPrevBlocks();
+        if (blocks.length < requestedNumBlocks) {
+            int roundedNumBlocks = Math.max(blocks.length, 1);
+            do {
+                roundedNumBlocks *= 2;
+            } while (roundedNumBlocks < requestedNumBlocks);
+            blocks = Arrays.copyOf(blocks, roundedNumBlocks);
+            if (prevFlusher != null) {
+                prevBlocks = Arrays.copyOf(prevBlocks, roundedNumBlocks);
+                prevInUse = Arrays.copyOf(prevInUse, roundedNumBlocks);
+            }
+            resetBlocks(blocks, prevBlocks);
+        }
+
+        final int allocatedNumBlocks = (int) ((maxIndex + 1) >> logBlockSize);
+        for (int bi = allocatedNumBlocks; bi < requestedNumBlocks; ++bi) {
+            final UBuffer block = blockViewFactory.apply(allocator.allocate(blockSize * elementSizeInBytes));
+            if (nullFilled) {
+                fillWithNull(block);
+            }
+            blocks[bi] = block;
+        }
+        maxIndex = requestedMaxIndex;
+    }
+
+    @Override
+    public final void startTrackingPrevValues() {
+        if (prevFlusher != null) {
+            throw new IllegalStateException("Can't call startTrackingPrevValues() twice: " +
+                    getClass().getCanonicalName());
+        }
+        prevFlusher = new UpdateCommitter<>(this, updateGraph, OffHeapArraySourceHelper::commitBlocks);
+        final UBuffer[] blocks = getBlocks();
+        prevInUse = new long[blocks.length][];
+        // Copy to get a correctly-typed array, then clear it
+        final UBuffer[] prevBlocks = Arrays.copyOf(blocks, blocks.length);
+        Arrays.fill(prevBlocks, null);
+        resetBlocks(blocks, prevBlocks);
+    }
+
+    /**
+     * Ensure that previous storage exists for {@code blockNo}, allocating it if need be.
+     *
+     * @return The in-use bitset for {@code blockNo}
+     */
+    final long[] ensurePrevBlock(final int blockNo) {
+        final UBuffer[] prevBlocks = getPrevBlocks();
+        if (prevBlocks[blockNo] != null) {
+            return prevInUse[blockNo];
+        }
+        final UBuffer recycledBlock = recycledPrevBlocks.poll();
+        prevBlocks[blockNo] = recycledBlock != null
+                ? recycledBlock
+                : blockViewFactory.apply(OffHeapBlockAllocator.DIRECT.allocate(blockSize * elementSizeInBytes));
+        final long[] recycledBitset = recycledInUse.poll();
+        final long[] inUse = prevInUse[blockNo] = recycledBitset != null
+                ? recycledBitset
+                : new long[blockSize >> LOG_INUSE_BITSET_SIZE];
+        if (prevAllocated == null) {
+            prevAllocated = new TIntArrayList();
+        }
+        prevAllocated.add(blockNo);
+        return inUse;
+    }
+
+    /**
+     * This method supports the 'set' method for its inheritors, doing the 'inUse' housekeeping that is common to all
+     * inheritors.
+     *
+     * @return true if the inheritor should copy a value from current to prev before setting current; false if it should
+     *         just set a current value without touching prev.
+     */
+    final boolean shouldRecordPrevious(final long key) {
+        if (prevFlusher == null) {
+            return false;
+        }
+        prevFlusher.maybeActivate();
+
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+        final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+
+        final long[] inUse = ensurePrevBlock(blockNo);
+        if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+            inUse[indexWithinInUse] |= maskWithinInUse;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the previous value for {@code rowKey} must be read from the previous-value block
+     */
+    final boolean shouldUsePrevious(final long rowKey) {
+        if (prevFlusher == null) {
+            return false;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        final long[] inUse = prevInUse[blockNo];
+        return inUse != null
+                && (inUse[indexWithinBlock >> LOG_INUSE_BITSET_SIZE] & (1L << (indexWithinBlock & IN_USE_MASK))) != 0;
+    }
+
+    private void commitBlocks() {
+        if (prevAllocated == null) {
+            return;
+        }
+        final UBuffer[] prevBlocks = getPrevBlocks();
+        Assert.eq(prevBlocks.length, "prevBlocks.length", prevInUse.length, "prevInUse.length");
+
+        prevAllocated.forEach(blockNo -> {
+            final UBuffer pb = prevBlocks[blockNo];
+            assert pb != null;
+            if (recycledPrevBlocks.size() < MAX_RECYCLED_PREV_BLOCKS) {
+                recycledPrevBlocks.add(pb);
+            }
+            prevBlocks[blockNo] = null;
+
+            final long[] pu = prevInUse[blockNo];
+            assert pu != null;
+            if (recycledInUse.size() < MAX_RECYCLED_PREV_BLOCKS) {
+                Arrays.fill(pu, 0);
+                recycledInUse.add(pu);
+            }
+            prevInUse[blockNo] = null;
+            return true;
+        });
+        prevAllocated.clear();
+    }
+
+    /**
+     * This version of {@code prepareForParallelPopulation} will internally call {@link #ensureCapacity(long, boolean)}
+     * to make sure there is room for the incoming values.
+     *
+     * @param changedRows row set in the dense table
+     */
+    @Override
+    public final void prepareForParallelPopulation(@NotNull final RowSequence changedRows) {
+        final long currentStep = updateGraph.clock().currentStep();
+        if (ensurePreviousClockCycle == currentStep) {
+            throw new IllegalStateException("May not call ensurePrevious twice on one clock cycle!");
+        }
+        ensurePreviousClockCycle = currentStep;
+
+        if (changedRows.isEmpty()) {
+            return;
+        }
+
+        // ensure that this source will have sufficient capacity to store these rows, does not need to be
+        // null-filled as the values will be immediately written
+        ensureCapacity(changedRows.lastRowKey() + 1, false);
+
+        if (prevFlusher != null) {
+            prevFlusher.maybeActivate();
+        } else {
+            // we are not tracking this source yet so we have nothing to do for the previous values
+            return;
+        }
+
+        try (final RowSequence.Iterator it = changedRows.getRowSequenceIterator()) {
+            do {
+                final long firstKey = it.peekNextKey();
+                final int blockNo = (int) (firstKey >> logBlockSize);
+                final long[] inUse = ensurePrevBlock(blockNo);
+                copyToPrev(blockNo, it.getNextRowSequenceThrough(firstKey | indexMask), inUse);
+            } while (it.hasMore());
+        }
+    }
+
+    @Override
+    public final void fillChunk(
+            @NotNull final FillContext context,
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence) {
+        if (rowSequence.getAverageRunLengthEstimate() < USE_RANGES_AVERAGE_RUN_LENGTH) {
+            fillChunkByKeys(destination, rowSequence, false);
+            return;
+        }
+        final UBuffer[] blocks = getBlocks();
+        final MutableInt destOffset = new MutableInt(0);
+        rowSequence.forAllRowKeyRanges((final long firstKey, final long lastKey) -> {
+            long key = firstKey;
+            while (key <= lastKey) {
+                if (key > maxIndex) {
+                    final int nullLength = (int) (lastKey - key + 1);
+                    destination.fillWithNullValue(destOffset.get(), nullLength);
+                    destOffset.add(nullLength);
+                    return;
+                }
+                final int blockNo = (int) (key >> logBlockSize);
+                final int offsetInBlock = (int) (key & indexMask);
+                final int length = (int) Math.min(lastKey - key + 1, blockSize - offsetInBlock);
+                // Copy through a duplicate, as the chunk copy mutates the buffer's position and we may have
+                // concurrent readers
+                destination.copyFromBuffer(blocks[blockNo].duplicate(), offsetInBlock, destOffset.get(), length);
+                destOffset.add(length);
+                key += length;
+            }
+        });
+        destination.setSize(destOffset.get());
+    }
+
+    @Override
+    public final void fillPrevChunk(
+            @NotNull final FillContext context,
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence) {
+        if (prevFlusher == null || prevAllocated == null || prevAllocated.isEmpty()) {
+            // No values have changed this cycle
+            fillChunk(context, destination, rowSequence);
+            return;
+        }
+        fillChunkByKeys(destination, rowSequence, true);
+    }
+
+    @Override
+    public final void fillFromChunk(
+            @NotNull final FillFromContext context,
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final boolean mustRecordPrevious =
+                prevFlusher != null && ensurePreviousClockCycle != updateGraph.clock().currentStep();
+        if (mustRecordPrevious || rowSequence.getAverageRunLengthEstimate() < USE_RANGES_AVERAGE_RUN_LENGTH) {
+            fillFromChunkByKeys(src, rowSequence);
+            return;
+        }
+        final UBuffer[] blocks = getBlocks();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeyRanges((final long firstKey, final long lastKey) -> {
+            long key = firstKey;
+            while (key <= lastKey) {
+                final int blockNo = (int) (key >> logBlockSize);
+                final int offsetInBlock = (int) (key & indexMask);
+                final int length = (int) Math.min(lastKey - key + 1, blockSize - offsetInBlock);
+                // Copy through a duplicate, as parallel population may write disjoint rows of the same block
+                src.copyToBuffer(srcOffset.get(), blocks[blockNo].duplicate(), offsetInBlock, length);
+                srcOffset.add(length);
+                key += length;
+            }
+        });
+    }
+
+    /**
+     * Fill {@code destination} one key at a time.
+     *
+     * @param usePrev Whether to read previous values
+     */
+    protected abstract void fillChunkByKeys(
+            @NotNull WritableChunk<? super Values> destination,
+            @NotNull RowSequence rowSequence,
+            boolean usePrev);
+
+    /**
+     * Fill this source from {@code src} one key at a time, recording previous values as necessary.
+     */
+    protected abstract void fillFromChunkByKeys(
+            @NotNull Chunk<? extends Values> src,
+            @NotNull RowSequence rowSequence);
+}
@@ -0,0 +1,112 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.impl.sources.WritableByteAsBooleanColumnSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Factory for {@link OffHeapArraySourceHelper off-heap array sources}, used in place of on-heap flat sources for large
+ * static results.
+ * <p>
+ * Controlled by the following configuration properties:
+ * <ul>
+ * <li>{@value MODE_PROPERTY}: one of {@code none} (the default), {@code direct}, or {@code mapped}</li>
+ * <li>{@value MAPPED_DIRECTORY_PROPERTY}: the directory for block files in {@code mapped} mode; defaults to
+ * {@code java.io.tmpdir}</li>
+ * <li>{@value MINIMUM_SIZE_PROPERTY}: the minimum number of rows for which an off-heap source will be used</li>
+ * </ul>
+ */
+public final class OffHeapArraySources {
+
+    public static final String MODE_PROPERTY = "OffHeapArraySource.mode";
+    public static final String MAPPED_DIRECTORY_PROPERTY = "OffHeapArraySource.mappedDirectory";
+    public static final String MINIMUM_SIZE_PROPERTY = "OffHeapArraySource.minimumSize";
+
+    private static final OffHeapBlockAllocator DEFAULT_ALLOCATOR = makeDefaultAllocator();
+    private static final long MINIMUM_SIZE =
+            Configuration.getInstance().getLongWithDefault(MINIMUM_SIZE_PROPERTY, 1L << 20);
+
+    private OffHeapArraySources() {}
+
+    private static OffHeapBlockAllocator makeDefaultAllocator() {
+        final Configuration configuration = Configuration.getInstance();
+        final String mode = configuration.getStringWithDefault(MODE_PROPERTY, "none");
+        switch (mode) {
+            case "none":
+                return null;
+            case "direct":
+                return OffHeapBlockAllocator.DIRECT;
+            case "mapped":
+                final Path directory = Paths.get(configuration.getStringWithDefault(
+                        MAPPED_DIRECTORY_PROPERTY, System.getProperty("java.io.tmpdir")));
+                return OffHeapBlockAllocator.memoryMapped(directory);
+            default:
+                throw new IllegalArgumentException("Invalid " + MODE_PROPERTY + ": " + mode);
+        }
+    }
+
+    /**
+     * Make an off-heap source for {@code dataType} with at least {@code capacity} rows, if off-heap sources are
+     * enabled, {@code capacity} is at least the configured minimum size, and {@code dataType} is supported.
+     *
+     * @param capacity The required capacity
+     * @param dataType The data type of the source
+     * @return A new, null-filled off-heap source, or {@code null} if an on-heap source should be used instead
+     */
+    @Nullable
+    public static <T> WritableColumnSource<T> maybeMakeFlatSource(
+            final long capacity,
+            @NotNull final Class<T> dataType) {
+        if (DEFAULT_ALLOCATOR == null || capacity < MINIMUM_SIZE) {
+            return null;
+        }
+        final WritableColumnSource<T> result = makeSource(dataType, DEFAULT_ALLOCATOR);
+        if (result != null) {
+            result.ensureCapacity(capacity);
+        }
+        return result;
+    }
+
+    /**
+     * Make an empty off-heap source for {@code dataType} using {@code allocator}.
+     *
+     * @param dataType The data type of the source
+     * @param allocator The allocator for the source's blocks
+     * @return A new off-heap source, or {@code null} if {@code dataType} is not supported
+     */
+    @Nullable
+    public static <T> WritableColumnSource<T> makeSource(
+            @NotNull final Class<T> dataType,
+            @NotNull final OffHeapBlockAllocator allocator) {
+        final WritableColumnSource<?> result;
+        if (dataType == byte.class || dataType == Byte.class) {
+            result = new OffHeapByteArraySource(allocator);
+        } else if (dataType == char.class || dataType == Character.class) {
+            result = new OffHeapCharArraySource(allocator);
+        } else if (dataType == double.class || dataType == Double.class) {
+            result = new OffHeapDoubleArraySource(allocator);
+        } else if (dataType == float.class || dataType == Float.class) {
+            result = new OffHeapFloatArraySource(allocator);
+        } else if (dataType == int.class || dataType == Integer.class) {
+            result = new OffHeapIntArraySource(allocator);
+        } else if (dataType == long.class || dataType == Long.class) {
+            result = new OffHeapLongArraySource(allocator);
+        } else if (dataType == short.class || dataType == Short.class) {
+            result = new OffHeapShortArraySource(allocator);
+        } else if (dataType == boolean.class || dataType == Boolean.class) {
+            result = new WritableByteAsBooleanColumnSource(new OffHeapByteArraySource(allocator));
+        } else {
+            return null;
+        }
+        // noinspection unchecked
+        return (WritableColumnSource<T>) result;
+    }
+}
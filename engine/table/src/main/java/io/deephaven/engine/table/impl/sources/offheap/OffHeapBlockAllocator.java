@@ -0,0 +1,119 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.UncheckedDeephavenException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Allocator for the blocks that back {@link OffHeapArraySourceHelper off-heap array sources}. Blocks are always
+ * {@link ByteOrder#nativeOrder() native order} and zero-filled on allocation.
+ */
+public interface OffHeapBlockAllocator {
+
+    /**
+     * Allocates blocks with {@link ByteBuffer#allocateDirect(int)}. Memory is released when the owning column source
+     * (and hence the buffer) is garbage collected.
+     */
+    OffHeapBlockAllocator DIRECT = new Direct();
+
+    /**
+     * Make an allocator that backs each block with its own memory-mapped file in {@code directory}. Files are unlinked
+     * as soon as they are mapped, so the space they consume is returned to the file system when the mapping is garbage
+     * collected, and nothing is left behind if the process exits.
+     *
+     * @param directory The directory to create block files in, ideally on local fast storage
+     * @return The allocator
+     */
+    static OffHeapBlockAllocator memoryMapped(@NotNull final Path directory) {
+        return new MemoryMapped(directory);
+    }
+
+    /**
+     * @return The base 2 logarithm of the number of elements in each block allocated for a source
+     */
+    int logBlockSize();
+
+    /**
+     * Allocate a new, zero-filled block.
+     *
+     * @param sizeInBytes The size of the block in bytes
+     * @return The new block
+     */
+    ByteBuffer allocate(int sizeInBytes);
+
+    final class Direct implements OffHeapBlockAllocator {
+
+        /**
+         * 64K elements per block; large enough that the per-block {@link ByteBuffer} overhead on the heap is
+         * negligible.
+         */
+        private static final int LOG_BLOCK_SIZE = 16;
+
+        private Direct() {}
+
+        @Override
+        public int logBlockSize() {
+            return LOG_BLOCK_SIZE;
+        }
+
+        @Override
+        public ByteBuffer allocate(final int sizeInBytes) {
+            return ByteBuffer.allocateDirect(sizeInBytes).order(ByteOrder.nativeOrder());
+        }
+
+        @Override
+        public String toString() {
+            return "OffHeapBlockAllocator.Direct";
+        }
+    }
+
+    final class MemoryMapped implements OffHeapBlockAllocator {
+
+        /**
+         * 1M elements per block; each block is a separate mapping, and we must stay well below the operating system's
+         * limit on the number of mappings per process for very large sources.
+         */
+        private static final int LOG_BLOCK_SIZE = 20;
+
+        private final Path directory;
+
+        private MemoryMapped(@NotNull final Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public int logBlockSize() {
+            return LOG_BLOCK_SIZE;
+        }
+
+        @Override
+        public ByteBuffer allocate(final int sizeInBytes) {
+            try {
+                final Path blockFile = Files.createTempFile(directory, "offHeapBlock", ".bin");
+                try (final FileChannel channel = FileChannel.open(blockFile,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                    // The mapping remains valid after the channel is closed and the file is deleted
+                    return channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeInBytes).order(ByteOrder.nativeOrder());
+                }
+            } catch (IOException e) {
+                throw new UncheckedDeephavenException(
+                        "Unable to allocate memory-mapped block of " + sizeInBytes + " bytes in " + directory, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "OffHeapBlockAllocator.MemoryMapped{directory=" + directory + '}';
+        }
+    }
+}
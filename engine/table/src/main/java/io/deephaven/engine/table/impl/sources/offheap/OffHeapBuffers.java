@@ -0,0 +1,50 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Typed views of raw off-heap blocks, named so that the replicated off-heap sources can refer to them uniformly.
+ */
+final class OffHeapBuffers {
+
+    private OffHeapBuffers() {}
+
+    static ByteBuffer asByteBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock;
+    }
+
+    static CharBuffer asCharBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asCharBuffer();
+    }
+
+    static ShortBuffer asShortBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asShortBuffer();
+    }
+
+    static IntBuffer asIntBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asIntBuffer();
+    }
+
+    static LongBuffer asLongBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asLongBuffer();
+    }
+
+    static FloatBuffer asFloatBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asFloatBuffer();
+    }
+
+    static DoubleBuffer asDoubleBuffer(@NotNull final ByteBuffer rawBlock) {
+        return rawBlock.asDoubleBuffer();
+    }
+}
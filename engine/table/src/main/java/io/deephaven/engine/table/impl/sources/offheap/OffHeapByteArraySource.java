@@ -0,0 +1,150 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit OffHeapCharArraySource and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.ByteChunk;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableByteChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.impl.MutableColumnSourceGetDefaults;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+import static io.deephaven.util.QueryConstants.NULL_BYTE;
+import static io.deephaven.util.type.TypeUtils.box;
+import static io.deephaven.util.type.TypeUtils.unbox;
+
+/**
+ * Dense, writable column source for byte values stored outside the Java heap.
+ */
+public class OffHeapByteArraySource extends OffHeapArraySourceHelper<Byte, ByteBuffer>
+        implements MutableColumnSourceGetDefaults.ForByte {
+
+    private ByteBuffer[] blocks = new ByteBuffer[0];
+    private transient ByteBuffer[] prevBlocks;
+
+    public OffHeapByteArraySource(@NotNull final OffHeapBlockAllocator allocator) {
+        super(byte.class, Byte.BYTES, OffHeapBuffers::asByteBuffer, allocator);
+    }
+
+    @Override
+    protected ByteBuffer[] getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected ByteBuffer[] getPrevBlocks() {
+        return prevBlocks;
+    }
+
+    @Override
+    protected void resetBlocks(final ByteBuffer[] newBlocks, final ByteBuffer[] newPrev) {
+        blocks = newBlocks;
+        prevBlocks = newPrev;
+    }
+
+    @Override
+    protected void fillWithNull(@NotNull final ByteBuffer block) {
+        final int capacity = block.capacity();
+        for (int ii = 0; ii < capacity; ++ii) {
+            block.put(ii, NULL_BYTE);
+        }
+    }
+
+    @Override
+    protected void copyToPrev(
+            final int blockNo,
+            @NotNull final RowSequence rowsInBlock,
+            @NotNull final long[] inUse) {
+        final ByteBuffer block = blocks[blockNo];
+        final ByteBuffer prevBlock = prevBlocks[blockNo];
+        rowsInBlock.forAllRowKeys(key -> {
+            final int indexWithinBlock = (int) (key & indexMask);
+            final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+            final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+            if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+                prevBlock.put(indexWithinBlock, block.get(indexWithinBlock));
+                inUse[indexWithinInUse] |= maskWithinInUse;
+            }
+        });
+    }
+
+    @Override
+    public final void set(final long key, final Byte value) {
+        set(key, unbox(value));
+    }
+
+    @Override
+    public final void set(final long key, final byte value) {
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        if (shouldRecordPrevious(key)) {
+            prevBlocks[blockNo].put(indexWithinBlock, blocks[blockNo].get(indexWithinBlock));
+        }
+        blocks[blockNo].put(indexWithinBlock, value);
+    }
+
+    @Override
+    public void setNull(final long key) {
+        set(key, NULL_BYTE);
+    }
+
+    @Override
+    public final byte getByte(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_BYTE;
+        }
+        return blocks[(int) (rowKey >> logBlockSize)].get((int) (rowKey & indexMask));
+    }
+
+    @Override
+    public Byte getPrev(final long rowKey) {
+        return box(getPrevByte(rowKey));
+    }
+
+    @Override
+    public final byte getPrevByte(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_BYTE;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        if (shouldUsePrevious(rowKey)) {
+            return prevBlocks[blockNo].get(indexWithinBlock);
+        }
+        return blocks[blockNo].get(indexWithinBlock);
+    }
+
+    @Override
+    protected void fillChunkByKeys(
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence,
+            final boolean usePrev) {
+        final WritableByteChunk<? super Values> chunk = destination.asWritableByteChunk();
+        final MutableInt destOffset = new MutableInt(0);
+        if (usePrev) {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getPrevByte(key)));
+        } else {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getByte(key)));
+        }
+        chunk.setSize(destOffset.get());
+    }
+
+    @Override
+    protected void fillFromChunkByKeys(
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final ByteChunk<? extends Values> chunk = src.asByteChunk();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeys(key -> set(key, chunk.get(srcOffset.getAndIncrement())));
+    }
+}
@@ -0,0 +1,146 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.CharChunk;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableCharChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.impl.MutableColumnSourceGetDefaults;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.CharBuffer;
+
+import static io.deephaven.util.QueryConstants.NULL_CHAR;
+import static io.deephaven.util.type.TypeUtils.box;
+import static io.deephaven.util.type.TypeUtils.unbox;
+
+/**
+ * Dense, writable column source for char values stored outside the Java heap.
+ */
+public class OffHeapCharArraySource extends OffHeapArraySourceHelper<Character, CharBuffer>
+        implements MutableColumnSourceGetDefaults.ForChar {
+
+    private CharBuffer[] blocks = new CharBuffer[0];
+    private transient CharBuffer[] prevBlocks;
+
+    public OffHeapCharArraySource(@NotNull final OffHeapBlockAllocator allocator) {
+        super(char.class, Character.BYTES, OffHeapBuffers::asCharBuffer, allocator);
+    }
+
+    @Override
+    protected CharBuffer[] getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected CharBuffer[] getPrevBlocks() {
+        return prevBlocks;
+    }
+
+    @Override
+    protected void resetBlocks(final CharBuffer[] newBlocks, final CharBuffer[] newPrev) {
+        blocks = newBlocks;
+        prevBlocks = newPrev;
+    }
+
+    @Override
+    protected void fillWithNull(@NotNull final CharBuffer block) {
+        final int capacity = block.capacity();
+        for (int ii = 0; ii < capacity; ++ii) {
+            block.put(ii, NULL_CHAR);
+        }
+    }
+
+    @Override
+    protected void copyToPrev(
+            final int blockNo,
+            @NotNull final RowSequence rowsInBlock,
+            @NotNull final long[] inUse) {
+        final CharBuffer block = blocks[blockNo];
+        final CharBuffer prevBlock = prevBlocks[blockNo];
+        rowsInBlock.forAllRowKeys(key -> {
+            final int indexWithinBlock = (int) (key & indexMask);
+            final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+            final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+            if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+                prevBlock.put(indexWithinBlock, block.get(indexWithinBlock));
+                inUse[indexWithinInUse] |= maskWithinInUse;
+            }
+        });
+    }
+
+    @Override
+    public final void set(final long key, final Character value) {
+        set(key, unbox(value));
+    }
+
+    @Override
+    public final void set(final long key, final char value) {
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        if (shouldRecordPrevious(key)) {
+            prevBlocks[blockNo].put(indexWithinBlock, blocks[blockNo].get(indexWithinBlock));
+        }
+        blocks[blockNo].put(indexWithinBlock, value);
+    }
+
+    @Override
+    public void setNull(final long key) {
+        set(key, NULL_CHAR);
+    }
+
+    @Override
+    public final char getChar(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_CHAR;
+        }
+        return blocks[(int) (rowKey >> logBlockSize)].get((int) (rowKey & indexMask));
+    }
+
+    @Override
+    public Character getPrev(final long rowKey) {
+        return box(getPrevChar(rowKey));
+    }
+
+    @Override
+    public final char getPrevChar(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_CHAR;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        if (shouldUsePrevious(rowKey)) {
+            return prevBlocks[blockNo].get(indexWithinBlock);
+        }
+        return blocks[blockNo].get(indexWithinBlock);
+    }
+
+    @Override
+    protected void fillChunkByKeys(
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence,
+            final boolean usePrev) {
+        final WritableCharChunk<? super Values> chunk = destination.asWritableCharChunk();
+        final MutableInt destOffset = new MutableInt(0);
+        if (usePrev) {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getPrevChar(key)));
+        } else {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getChar(key)));
+        }
+        chunk.setSize(destOffset.get());
+    }
+
+    @Override
+    protected void fillFromChunkByKeys(
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final CharChunk<? extends Values> chunk = src.asCharChunk();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeys(key -> set(key, chunk.get(srcOffset.getAndIncrement())));
+    }
+}
@@ -0,0 +1,150 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit OffHeapCharArraySource and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.DoubleChunk;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableDoubleChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.impl.MutableColumnSourceGetDefaults;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.DoubleBuffer;
+
+import static io.deephaven.util.QueryConstants.NULL_DOUBLE;
+import static io.deephaven.util.type.TypeUtils.box;
+import static io.deephaven.util.type.TypeUtils.unbox;
+
+/**
+ * Dense, writable column source for double values stored outside the Java heap.
+ */
+public class OffHeapDoubleArraySource extends OffHeapArraySourceHelper<Double, DoubleBuffer>
+        implements MutableColumnSourceGetDefaults.ForDouble {
+
+    private DoubleBuffer[] blocks = new DoubleBuffer[0];
+    private transient DoubleBuffer[] prevBlocks;
+
+    public OffHeapDoubleArraySource(@NotNull final OffHeapBlockAllocator allocator) {
+        super(double.class, Double.BYTES, OffHeapBuffers::asDoubleBuffer, allocator);
+    }
+
+    @Override
+    protected DoubleBuffer[] getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected DoubleBuffer[] getPrevBlocks() {
+        return prevBlocks;
+    }
+
+    @Override
+    protected void resetBlocks(final DoubleBuffer[] newBlocks, final DoubleBuffer[] newPrev) {
+        blocks = newBlocks;
+        prevBlocks = newPrev;
+    }
+
+    @Override
+    protected void fillWithNull(@NotNull final DoubleBuffer block) {
+        final int capacity = block.capacity();
+        for (int ii = 0; ii < capacity; ++ii) {
+            block.put(ii, NULL_DOUBLE);
+        }
+    }
+
+    @Override
+    protected void copyToPrev(
+            final int blockNo,
+            @NotNull final RowSequence rowsInBlock,
+            @NotNull final long[] inUse) {
+        final DoubleBuffer block = blocks[blockNo];
+        final DoubleBuffer prevBlock = prevBlocks[blockNo];
+        rowsInBlock.forAllRowKeys(key -> {
+            final int indexWithinBlock = (int) (key & indexMask);
+            final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+            final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+            if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+                prevBlock.put(indexWithinBlock, block.get(indexWithinBlock));
+                inUse[indexWithinInUse] |= maskWithinInUse;
+            }
+        });
+    }
+
+    @Override
+    public final void set(final long key, final Double value) {
+        set(key, unbox(value));
+    }
+
+    @Override
+    public final void set(final long key, final double value) {
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        if (shouldRecordPrevious(key)) {
+            prevBlocks[blockNo].put(indexWithinBlock, blocks[blockNo].get(indexWithinBlock));
+        }
+        blocks[blockNo].put(indexWithinBlock, value);
+    }
+
+    @Override
+    public void setNull(final long key) {
+        set(key, NULL_DOUBLE);
+    }
+
+    @Override
+    public final double getDouble(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_DOUBLE;
+        }
+        return blocks[(int) (rowKey >> logBlockSize)].get((int) (rowKey & indexMask));
+    }
+
+    @Override
+    public Double getPrev(final long rowKey) {
+        return box(getPrevDouble(rowKey));
+    }
+
+    @Override
+    public final double getPrevDouble(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_DOUBLE;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        if (shouldUsePrevious(rowKey)) {
+            return prevBlocks[blockNo].get(indexWithinBlock);
+        }
+        return blocks[blockNo].get(indexWithinBlock);
+    }
+
+    @Override
+    protected void fillChunkByKeys(
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence,
+            final boolean usePrev) {
+        final WritableDoubleChunk<? super Values> chunk = destination.asWritableDoubleChunk();
+        final MutableInt destOffset = new MutableInt(0);
+        if (usePrev) {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getPrevDouble(key)));
+        } else {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getDouble(key)));
+        }
+        chunk.setSize(destOffset.get());
+    }
+
+    @Override
+    protected void fillFromChunkByKeys(
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final DoubleChunk<? extends Values> chunk = src.asDoubleChunk();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeys(key -> set(key, chunk.get(srcOffset.getAndIncrement())));
+    }
+}
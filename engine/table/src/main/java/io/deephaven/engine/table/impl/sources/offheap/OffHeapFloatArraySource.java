@@ -0,0 +1,150 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit OffHeapCharArraySource and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.FloatChunk;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableFloatChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.impl.MutableColumnSourceGetDefaults;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.FloatBuffer;
+
+import static io.deephaven.util.QueryConstants.NULL_FLOAT;
+import static io.deephaven.util.type.TypeUtils.box;
+import static io.deephaven.util.type.TypeUtils.unbox;
+
+/**
+ * Dense, writable column source for float values stored outside the Java heap.
+ */
+public class OffHeapFloatArraySource extends OffHeapArraySourceHelper<Float, FloatBuffer>
+        implements MutableColumnSourceGetDefaults.ForFloat {
+
+    private FloatBuffer[] blocks = new FloatBuffer[0];
+    private transient FloatBuffer[] prevBlocks;
+
+    public OffHeapFloatArraySource(@NotNull final OffHeapBlockAllocator allocator) {
+        super(float.class, Float.BYTES, OffHeapBuffers::asFloatBuffer, allocator);
+    }
+
+    @Override
+    protected FloatBuffer[] getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected FloatBuffer[] getPrevBlocks() {
+        return prevBlocks;
+    }
+
+    @Override
+    protected void resetBlocks(final FloatBuffer[] newBlocks, final FloatBuffer[] newPrev) {
+        blocks = newBlocks;
+        prevBlocks = newPrev;
+    }
+
+    @Override
+    protected void fillWithNull(@NotNull final FloatBuffer block) {
+        final int capacity = block.capacity();
+        for (int ii = 0; ii < capacity; ++ii) {
+            block.put(ii, NULL_FLOAT);
+        }
+    }
+
+    @Override
+    protected void copyToPrev(
+            final int blockNo,
+            @NotNull final RowSequence rowsInBlock,
+            @NotNull final long[] inUse) {
+        final FloatBuffer block = blocks[blockNo];
+        final FloatBuffer prevBlock = prevBlocks[blockNo];
+        rowsInBlock.forAllRowKeys(key -> {
+            final int indexWithinBlock = (int) (key & indexMask);
+            final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+            final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+            if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+                prevBlock.put(indexWithinBlock, block.get(indexWithinBlock));
+                inUse[indexWithinInUse] |= maskWithinInUse;
+            }
+        });
+    }
+
+    @Override
+    public final void set(final long key, final Float value) {
+        set(key, unbox(value));
+    }
+
+    @Override
+    public final void set(final long key, final float value) {
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        if (shouldRecordPrevious(key)) {
+            prevBlocks[blockNo].put(indexWithinBlock, blocks[blockNo].get(indexWithinBlock));
+        }
+        blocks[blockNo].put(indexWithinBlock, value);
+    }
+
+    @Override
+    public void setNull(final long key) {
+        set(key, NULL_FLOAT);
+    }
+
+    @Override
+    public final float getFloat(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_FLOAT;
+        }
+        return blocks[(int) (rowKey >> logBlockSize)].get((int) (rowKey & indexMask));
+    }
+
+    @Override
+    public Float getPrev(final long rowKey) {
+        return box(getPrevFloat(rowKey));
+    }
+
+    @Override
+    public final float getPrevFloat(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_FLOAT;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        if (shouldUsePrevious(rowKey)) {
+            return prevBlocks[blockNo].get(indexWithinBlock);
+        }
+        return blocks[blockNo].get(indexWithinBlock);
+    }
+
+    @Override
+    protected void fillChunkByKeys(
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence,
+            final boolean usePrev) {
+        final WritableFloatChunk<? super Values> chunk = destination.asWritableFloatChunk();
+        final MutableInt destOffset = new MutableInt(0);
+        if (usePrev) {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getPrevFloat(key)));
+        } else {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getFloat(key)));
+        }
+        chunk.setSize(destOffset.get());
+    }
+
+    @Override
+    protected void fillFromChunkByKeys(
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final FloatChunk<? extends Values> chunk = src.asFloatChunk();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeys(key -> set(key, chunk.get(srcOffset.getAndIncrement())));
+    }
+}
@@ -0,0 +1,150 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+// ****** AUTO-GENERATED CLASS - DO NOT EDIT MANUALLY
+// ****** Edit OffHeapCharArraySource and run "./gradlew replicateSourcesAndChunks" to regenerate
+//
+// @formatter:off
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.IntChunk;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.table.impl.MutableColumnSourceGetDefaults;
+import io.deephaven.util.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.IntBuffer;
+
+import static io.deephaven.util.QueryConstants.NULL_INT;
+import static io.deephaven.util.type.TypeUtils.box;
+import static io.deephaven.util.type.TypeUtils.unbox;
+
+/**
+ * Dense, writable column source for int values stored outside the Java heap.
+ */
+public class OffHeapIntArraySource extends OffHeapArraySourceHelper<Integer, IntBuffer>
+        implements MutableColumnSourceGetDefaults.ForInt {
+
+    private IntBuffer[] blocks = new IntBuffer[0];
+    private transient IntBuffer[] prevBlocks;
+
+    public OffHeapIntArraySource(@NotNull final OffHeapBlockAllocator allocator) {
+        super(int.class, Integer.BYTES, OffHeapBuffers::asIntBuffer, allocator);
+    }
+
+    @Override
+    protected IntBuffer[] getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected IntBuffer[] getPrevBlocks() {
+        return prevBlocks;
+    }
+
+    @Override
+    protected void resetBlocks(final IntBuffer[] newBlocks, final IntBuffer[] newPrev) {
+        blocks = newBlocks;
+        prevBlocks = newPrev;
+    }
+
+    @Override
+    protected void fillWithNull(@NotNull final IntBuffer block) {
+        final int capacity = block.capacity();
+        for (int ii = 0; ii < capacity; ++ii) {
+            block.put(ii, NULL_INT);
+        }
+    }
+
+    @Override
+    protected void copyToPrev(
+            final int blockNo,
+            @NotNull final RowSequence rowsInBlock,
+            @NotNull final long[] inUse) {
+        final IntBuffer block = blocks[blockNo];
+        final IntBuffer prevBlock = prevBlocks[blockNo];
+        rowsInBlock.forAllRowKeys(key -> {
+            final int indexWithinBlock = (int) (key & indexMask);
+            final int indexWithinInUse = indexWithinBlock >> LOG_INUSE_BITSET_SIZE;
+            final long maskWithinInUse = 1L << (indexWithinBlock & IN_USE_MASK);
+            if ((inUse[indexWithinInUse] & maskWithinInUse) == 0) {
+                prevBlock.put(indexWithinBlock, block.get(indexWithinBlock));
+                inUse[indexWithinInUse] |= maskWithinInUse;
+            }
+        });
+    }
+
+    @Override
+    public final void set(final long key, final Integer value) {
+        set(key, unbox(value));
+    }
+
+    @Override
+    public final void set(final long key, final int value) {
+        final int blockNo = (int) (key >> logBlockSize);
+        final int indexWithinBlock = (int) (key & indexMask);
+        if (shouldRecordPrevious(key)) {
+            prevBlocks[blockNo].put(indexWithinBlock, blocks[blockNo].get(indexWithinBlock));
+        }
+        blocks[blockNo].put(indexWithinBlock, value);
+    }
+
+    @Override
+    public void setNull(final long key) {
+        set(key, NULL_INT);
+    }
+
+    @Override
+    public final int getInt(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_INT;
+        }
+        return blocks[(int) (rowKey >> logBlockSize)].get((int) (rowKey & indexMask));
+    }
+
+    @Override
+    public Integer getPrev(final long rowKey) {
+        return box(getPrevInt(rowKey));
+    }
+
+    @Override
+    public final int getPrevInt(final long rowKey) {
+        if (rowKey < 0 || rowKey > maxIndex) {
+            return NULL_INT;
+        }
+        final int blockNo = (int) (rowKey >> logBlockSize);
+        final int indexWithinBlock = (int) (rowKey & indexMask);
+        if (shouldUsePrevious(rowKey)) {
+            return prevBlocks[blockNo].get(indexWithinBlock);
+        }
+        return blocks[blockNo].get(indexWithinBlock);
+    }
+
+    @Override
+    protected void fillChunkByKeys(
+            @NotNull final WritableChunk<? super Values> destination,
+            @NotNull final RowSequence rowSequence,
+            final boolean usePrev) {
+        final WritableIntChunk<? super Values> chunk = destination.asWritableIntChunk();
+        final MutableInt destOffset = new MutableInt(0);
+        if (usePrev) {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getPrevInt(key)));
+        } else {
+            rowSequence.forAllRowKeys(key -> chunk.set(destOffset.getAndIncrement(), getInt(key)));
+        }
+        chunk.setSize(destOffset.get());
+    }
+
+    @Override
+    protected void fillFromChunkByKeys(
+            @NotNull final Chunk<? extends Values> src,
+            @NotNull final RowSequence rowSequence) {
+        final IntChunk<? extends Values> chunk = src.asIntChunk();
+        final MutableInt srcOffset = new MutableInt(0);
+        rowSequence.forAllRowKeys(key -> set(key, chunk.get(srcOffset.getAndIncrement())));
+    }
+}
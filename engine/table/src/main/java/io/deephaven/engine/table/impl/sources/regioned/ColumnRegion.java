@@ -7,8 +7,12 @@ import io.deephaven.engine.table.Releasable;
 import io.deephaven.chunk.attributes.Any;
 import io.deephaven.chunk.WritableChunk;
 import io.deephaven.engine.page.Page;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
 import io.deephaven.util.annotations.FinalDefault;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
 
 public interface ColumnRegion<ATTR extends Any> extends Page<ATTR>, Releasable {
 
@@ -23,6 +27,36 @@ public interface ColumnRegion<ATTR extends Any> extends Page<ATTR>, Releasable {
      */
     void invalidate();
 
+    /**
+     * Get statistics describing the values in this region, if they can be obtained without reading the region's data.
+     *
+     * @return The statistics for this region, or {@code null} if none are available
+     */
+    @Nullable
+    default ColumnRegionStatistics getStatistics() {
+        return null;
+    }
+
+    /**
+     * Append the row keys of this region that are proven by {@link #getStatistics() statistics} not to contain any
+     * values accepted by {@code mayMatch} to {@code excludedRows}. Regions composed of sub-regions should check each
+     * sub-region independently.
+     *
+     * @param firstRowKey The first row key in this region
+     * @param mayMatch Predicate that returns {@code false} only if no value described by the supplied statistics can
+     *        match
+     * @param excludedRows Builder to append excluded row key ranges to, in order
+     */
+    default void excludeUnmatchedRows(
+            final long firstRowKey,
+            @NotNull final Predicate<ColumnRegionStatistics> mayMatch,
+            @NotNull final RowSetBuilderSequential excludedRows) {
+        final ColumnRegionStatistics statistics = getStatistics();
+        if (statistics != null && !mayMatch.test(statistics)) {
+            excludedRows.appendRange(firstRowKey, firstRowKey + mask());
+        }
+    }
+
     abstract class Null<ATTR extends Any>
             extends GenericColumnRegionBase<ATTR>
             implements ColumnRegion<ATTR>, WithDefaultsForRepeatingValues<ATTR> {
@@ -39,5 +73,10 @@ public interface ColumnRegion<ATTR extends Any> extends Page<ATTR>, Releasable {
             destination.fillWithNullValue(offset, length);
             destination.setSize(offset + length);
         }
+
+        @Override
+        public ColumnRegionStatistics getStatistics() {
+            return ColumnRegionStatistics.ALL_NULL;
+        }
     }
 }
@@ -0,0 +1,253 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.regioned;
+
+import io.deephaven.util.QueryConstants;
+import io.deephaven.util.datastructures.SoftCachingSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Statistics describing the values in a {@link ColumnRegion}, available without reading the region's data. These are
+ * used to skip regions that cannot contain rows matching a filter.
+ * <p>
+ * Non-null bounds are boxed values of the column's data type. Statistics may also include a membership test, such as a
+ * dictionary or a Bloom filter, that is consulted only for equality queries within the bounds. All queries are
+ * conservative: they return {@code true} unless the statistics prove that no value in the region can satisfy the query.
+ * Following engine conventions, the null value is ordered before all other values, and for primitive types the boxed
+ * {@link QueryConstants QueryConstants} null values are treated as null.
+ */
+public final class ColumnRegionStatistics {
+
+    /**
+     * Statistics for a region whose values are all null.
+     */
+    public static final ColumnRegionStatistics ALL_NULL = new ColumnRegionStatistics(true, null, null, true, null);
+
+    private static final int INCOMPARABLE = Integer.MIN_VALUE;
+
+    private final boolean allNull;
+    private final Object min;
+    private final Object max;
+    private final boolean mayContainNull;
+    private final Supplier<Predicate<Object>> membershipTest;
+
+    /**
+     * Make statistics for a region with non-null values.
+     *
+     * @param min A lower bound on the non-null values in the region
+     * @param max An upper bound on the non-null values in the region
+     * @param mayContainNull Whether the region may contain null values
+     * @param membershipTestSupplier Optional supplier for a test that returns {@code false} only for values (of any
+     *        type) that are definitely not in the region; it will only be invoked if bounds alone cannot exclude the
+     *        region, must be safely repeatable, and must not supply {@code null}
+     * @return The statistics
+     */
+    public static ColumnRegionStatistics of(
+            @NotNull final Object min,
+            @NotNull final Object max,
+            final boolean mayContainNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        return new ColumnRegionStatistics(false, min, max, mayContainNull, membershipTestSupplier);
+    }
+
+    /**
+     * Make statistics for a region with non-null values whose bounds are unknown.
+     *
+     * @param mayContainNull Whether the region may contain null values
+     * @param membershipTestSupplier Supplier for a membership test, as for
+     *        {@link #of(Object, Object, boolean, Supplier)}
+     * @return The statistics
+     */
+    public static ColumnRegionStatistics ofMembershipTest(
+            final boolean mayContainNull,
+            @NotNull final Supplier<Predicate<Object>> membershipTestSupplier) {
+        return new ColumnRegionStatistics(false, null, null, mayContainNull, membershipTestSupplier);
+    }
+
+    private ColumnRegionStatistics(
+            final boolean allNull,
+            @Nullable final Object min,
+            @Nullable final Object max,
+            final boolean mayContainNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        this.allNull = allNull;
+        this.min = min;
+        this.max = max;
+        this.mayContainNull = mayContainNull;
+        this.membershipTest = membershipTestSupplier == null ? null : new SoftCachingSupplier<>(membershipTestSupplier);
+    }
+
+    /**
+     * @return A lower bound on the non-null values in the region, or {@code null} if unknown or all values are null
+     */
+    @Nullable
+    public Object getMin() {
+        return min;
+    }
+
+    /**
+     * @return An upper bound on the non-null values in the region, or {@code null} if unknown or all values are null
+     */
+    @Nullable
+    public Object getMax() {
+        return max;
+    }
+
+    /**
+     * @return Whether the region may contain null values
+     */
+    public boolean mayContainNull() {
+        return mayContainNull;
+    }
+
+    /**
+     * @param value The value to test
+     * @return Whether the region may contain {@code value}
+     */
+    public boolean mayContain(@Nullable final Object value) {
+        if (isNull(value)) {
+            return mayContainNull;
+        }
+        if (!mayContainNonNull(value, true, value, true, true)) {
+            return false;
+        }
+        return membershipTest == null || membershipTest.get().test(value);
+    }
+
+    /**
+     * @param lower The lower bound, or {@code null} to include the null value
+     * @param lowerInclusive Whether the lower bound is inclusive
+     * @param upper The upper bound; {@code null} denotes the null value
+     * @param upperInclusive Whether the upper bound is inclusive
+     * @return Whether the region may contain a value between {@code lower} and {@code upper}
+     */
+    public boolean mayContainBetween(
+            @Nullable final Object lower,
+            final boolean lowerInclusive,
+            @Nullable final Object upper,
+            final boolean upperInclusive) {
+        final boolean lowerIsNull = isNull(lower);
+        final boolean upperIsNull = isNull(upper);
+        if (mayContainNull && lowerIsNull && lowerInclusive && (!upperIsNull || upperInclusive)) {
+            return true;
+        }
+        return !upperIsNull && mayContainNonNull(lowerIsNull ? null : lower, lowerInclusive, upper, upperInclusive,
+                true);
+    }
+
+    /**
+     * @param lower The lower bound, or {@code null} to include the null value
+     * @param inclusive Whether the lower bound is inclusive
+     * @return Whether the region may contain a value greater than {@code lower}
+     */
+    public boolean mayContainAbove(@Nullable final Object lower, final boolean inclusive) {
+        final boolean lowerIsNull = isNull(lower);
+        if (mayContainNull && lowerIsNull && inclusive) {
+            return true;
+        }
+        return mayContainNonNull(lowerIsNull ? null : lower, inclusive, null, true, false);
+    }
+
+    /**
+     * @param upper The upper bound; {@code null} denotes the null value
+     * @param inclusive Whether the upper bound is inclusive
+     * @return Whether the region may contain a value less than {@code upper}
+     */
+    public boolean mayContainBelow(@Nullable final Object upper, final boolean inclusive) {
+        return mayContainBetween(null, true, upper, inclusive);
+    }
+
+    private boolean mayContainNonNull(
+            @Nullable final Object lower,
+            final boolean lowerInclusive,
+            @Nullable final Object upper,
+            final boolean upperInclusive,
+            final boolean hasUpper) {
+        if (allNull) {
+            return false;
+        }
+        if (min == null) {
+            // Bounds are unknown
+            return true;
+        }
+        if (lower != null) {
+            final int maxVsLower = compare(max, lower);
+            if (maxVsLower != INCOMPARABLE && (maxVsLower < 0 || (maxVsLower == 0 && !lowerInclusive))) {
+                return false;
+            }
+        }
+        if (hasUpper && upper != null) {
+            final int minVsUpper = compare(min, upper);
+            if (minVsUpper != INCOMPARABLE && (minVsUpper > 0 || (minVsUpper == 0 && !upperInclusive))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compare two non-null values in a way that is consistent with the engine's ordering, or return
+     * {@link #INCOMPARABLE} if that cannot be guaranteed.
+     */
+    private static int compare(@NotNull final Object lhs, @NotNull final Object rhs) {
+        if (lhs.getClass() != rhs.getClass()) {
+            return INCOMPARABLE;
+        }
+        if (lhs instanceof Double) {
+            final double lhsDouble = (Double) lhs;
+            final double rhsDouble = (Double) rhs;
+            if (Double.isNaN(lhsDouble) || Double.isNaN(rhsDouble)) {
+                return INCOMPARABLE;
+            }
+            // Use numeric comparison so that -0.0 and 0.0 are equal
+            return lhsDouble < rhsDouble ? -1 : (lhsDouble > rhsDouble ? 1 : 0);
+        }
+        if (lhs instanceof Float) {
+            final float lhsFloat = (Float) lhs;
+            final float rhsFloat = (Float) rhs;
+            if (Float.isNaN(lhsFloat) || Float.isNaN(rhsFloat)) {
+                return INCOMPARABLE;
+            }
+            return lhsFloat < rhsFloat ? -1 : (lhsFloat > rhsFloat ? 1 : 0);
+        }
+        if (lhs instanceof String) {
+            if (!hasCodePointOrdering((String) lhs) || !hasCodePointOrdering((String) rhs)) {
+                return INCOMPARABLE;
+            }
+        }
+        if (lhs instanceof Comparable) {
+            // noinspection unchecked,rawtypes
+            return Integer.signum(((Comparable) lhs).compareTo(rhs));
+        }
+        return INCOMPARABLE;
+    }
+
+    /**
+     * Statistics for strings may be ordered by code point (e.g. by UTF-8 bytes), which agrees with
+     * {@link String#compareTo(String)} only for strings without surrogates or characters above them.
+     */
+    private static boolean hasCodePointOrdering(@NotNull final String value) {
+        for (int ci = 0; ci < value.length(); ++ci) {
+            if (value.charAt(ci) >= Character.MIN_SURROGATE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNull(@Nullable final Object value) {
+        return value == null
+                || QueryConstants.NULL_BYTE_BOXED.equals(value)
+                || QueryConstants.NULL_CHAR_BOXED.equals(value)
+                || QueryConstants.NULL_SHORT_BOXED.equals(value)
+                || QueryConstants.NULL_INT_BOXED.equals(value)
+                || QueryConstants.NULL_LONG_BOXED.equals(value)
+                || QueryConstants.NULL_FLOAT_BOXED.equals(value)
+                || QueryConstants.NULL_DOUBLE_BOXED.equals(value);
+    }
+}
@@ -8,9 +8,11 @@ import io.deephaven.chunk.attributes.Any;
 import io.deephaven.engine.table.SharedContext;
 import io.deephaven.chunk.*;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.OverridingMethodsMustInvokeSuper;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -99,4 +101,17 @@ public abstract class DeferredColumnRegionBase<ATTR extends Any, REGION_TYPE ext
     public Chunk<? extends ATTR> getChunk(@NotNull GetContext context, long firstKey, long lastKey) {
         return getResultRegion().getChunk(context, firstKey, lastKey);
     }
+
+    @Override
+    public ColumnRegionStatistics getStatistics() {
+        return getResultRegion().getStatistics();
+    }
+
+    @Override
+    public void excludeUnmatchedRows(
+            final long firstRowKey,
+            @NotNull final Predicate<ColumnRegionStatistics> mayMatch,
+            @NotNull final RowSetBuilderSequential excludedRows) {
+        getResultRegion().excludeUnmatchedRows(firstRowKey, mayMatch, excludedRows);
+    }
 }
@@ -9,9 +9,12 @@ import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.impl.locations.ColumnLocation;
 import io.deephaven.engine.table.impl.ImmutableColumnSource;
 import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.util.annotations.VisibleForTesting;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Predicate;
+
 /**
  * <p>
  * Regioned column source interface.
@@ -118,4 +121,16 @@ public interface RegionedColumnSource<DATA_TYPE>
      * @param regionIndex the region to invalidate
      */
     void invalidateRegion(int regionIndex);
+
+    /**
+     * Remove from {@code selection} all row keys in regions whose {@link ColumnRegion#getStatistics() statistics}
+     * prove that none of their values can match. This allows filters to skip reading regions that cannot contribute to
+     * their result.
+     *
+     * @param selection The row keys to consider
+     * @param mayMatch Predicate that returns {@code false} only if no value described by the supplied statistics can
+     *        match
+     * @return A new row set containing the row keys in {@code selection} that were not excluded, which the caller owns
+     */
+    WritableRowSet filterByStatistics(@NotNull RowSet selection, @NotNull Predicate<ColumnRegionStatistics> mayMatch);
 }
@@ -8,10 +8,16 @@ import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.table.impl.AbstractColumnSource;
 import io.deephaven.chunk.WritableChunk;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.util.annotations.TestUseOnly;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * Partial implementation of {@link RegionedColumnSource} for array-backed and delegating implementations to extend.
  */
@@ -65,6 +71,28 @@ abstract class RegionedColumnSourceBase<DATA_TYPE, ATTR extends Values, REGION_T
         fillChunk(context, destination, rowSequence);
     }
 
+    @Override
+    public WritableRowSet filterByStatistics(
+            @NotNull final RowSet selection,
+            @NotNull final Predicate<ColumnRegionStatistics> mayMatch) {
+        final RowSetBuilderSequential excludedRows = RowSetFactory.builderSequential();
+        try (final RowSequence.Iterator rowSequenceIterator = selection.getRowSequenceIterator()) {
+            while (rowSequenceIterator.hasMore()) {
+                final int regionIndex = getRegionIndex(rowSequenceIterator.peekNextKey());
+                getRegion(regionIndex).excludeUnmatchedRows(
+                        RegionedColumnSource.getFirstRowKey(regionIndex), mayMatch, excludedRows);
+                final long regionLastKey = RegionedColumnSource.getLastRowKey(regionIndex);
+                if (regionLastKey == Long.MAX_VALUE) {
+                    break;
+                }
+                rowSequenceIterator.advance(regionLastKey + 1);
+            }
+        }
+        try (final RowSet excluded = excludedRows.build()) {
+            return excluded.isEmpty() ? selection.copy() : selection.minus(excluded);
+        }
+    }
+
     /**
      * <p>
      * Add a pre-constructed region without going through the abstract factory method.
@@ -9,6 +9,8 @@ import io.deephaven.chunk.WritableChunk;
 import io.deephaven.chunk.WritableObjectChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.ColumnSourceGetDefaults;
 import io.deephaven.engine.table.impl.sources.ConvertibleTimeSource;
@@ -20,6 +22,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.function.Predicate;
 
 /**
  * Regioned column source implementation for columns of {@link Instant}s.
@@ -59,6 +62,14 @@ final class RegionedColumnSourceInstant
                 : DateTimeUtils.epochNanosToInstant(getNativeSource().lookupRegion(rowKey).getLong(rowKey));
     }
 
+    @Override
+    public WritableRowSet filterByStatistics(
+            @NotNull final RowSet selection,
+            @NotNull final Predicate<ColumnRegionStatistics> mayMatch) {
+        // Instant range filters compare epoch nanoseconds, as described by the native regions' statistics
+        return getNativeSource().filterByStatistics(selection, mayMatch);
+    }
+
     @Override
     public boolean supportsTimeConversion() {
         return true;
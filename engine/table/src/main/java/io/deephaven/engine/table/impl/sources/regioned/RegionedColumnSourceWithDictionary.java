@@ -3,11 +3,19 @@
 //
 package io.deephaven.engine.table.impl.sources.regioned;
 
+import gnu.trove.set.hash.TLongHashSet;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.WritableObjectChunk;
 import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.exceptions.CancellationException;
 import io.deephaven.engine.rowset.*;
+import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
 import io.deephaven.engine.table.*;
 import io.deephaven.engine.table.impl.*;
 import io.deephaven.engine.table.impl.chunkattributes.DictionaryKeys;
+import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
 import io.deephaven.engine.table.impl.locations.ColumnLocation;
 import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
 import io.deephaven.engine.table.impl.sources.RowKeyColumnSource;
@@ -22,6 +30,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import static io.deephaven.util.QueryConstants.NULL_LONG;
+
 /**
  * {@link RegionedColumnSourceObject} with support for dictionary access via {@link SymbolTableSource} methods. Note
  * that it may not be the case that all values are stored as dictionary offsets. See {@link #hasSymbolTable(RowSet)}.
@@ -215,21 +225,8 @@ class RegionedColumnSourceWithDictionary<DATA_TYPE>
         final RegionedColumnSourceBase<DATA_TYPE, Values, ColumnRegionObject<DATA_TYPE, Values>> dictionaryColumn =
                 new AsDictionary();
 
-        final TrackingRowSet symbolTableRowSet;
-        if (sourceIndex.isEmpty()) {
-            symbolTableRowSet = RowSetFactory.empty().toTracking();
-        } else {
-            final RowSetBuilderSequential symbolTableIndexBuilder = RowSetFactory.builderSequential();
-            try (final RowSet.SearchIterator keysToVisit = sourceIndex.searchIterator()) {
-                keysToVisit.nextLong(); // Safe, since sourceIndex must be non-empty
-                do {
-                    dictionaryColumn.lookupRegion(keysToVisit.currentValue()).gatherDictionaryValuesRowSet(keysToVisit,
-                            RowSequenceFactory.EMPTY_ITERATOR, symbolTableIndexBuilder);
-                } while (keysToVisit.hasNext());
-            }
-            // noinspection resource
-            symbolTableRowSet = symbolTableIndexBuilder.build().toTracking();
-        }
+        // noinspection resource
+        final TrackingRowSet symbolTableRowSet = gatherSymbolRowSet(dictionaryColumn, sourceIndex).toTracking();
 
         final Map<String, ColumnSource<?>> symbolTableColumnSources = new LinkedHashMap<>();
         symbolTableColumnSources.put(SymbolTableSource.ID_COLUMN_NAME, RowKeyColumnSource.INSTANCE);
@@ -238,6 +235,142 @@ class RegionedColumnSourceWithDictionary<DATA_TYPE>
         return new QueryTable(symbolTableRowSet, symbolTableColumnSources);
     }
 
+    /**
+     * Gather the row keys in {@code dictionaryColumn} of the symbols for all regions that {@code sourceRowSet} visits.
+     */
+    private static WritableRowSet gatherSymbolRowSet(
+            @NotNull final RegionedColumnSourceBase<?, Values, ? extends ColumnRegionObject<?, Values>> dictionaryColumn,
+            @NotNull final RowSet sourceRowSet) {
+        if (sourceRowSet.isEmpty()) {
+            return RowSetFactory.empty();
+        }
+        final RowSetBuilderSequential symbolTableIndexBuilder = RowSetFactory.builderSequential();
+        try (final RowSet.SearchIterator keysToVisit = sourceRowSet.searchIterator()) {
+            keysToVisit.nextLong(); // Safe, since sourceRowSet must be non-empty
+            do {
+                dictionaryColumn.lookupRegion(keysToVisit.currentValue()).gatherDictionaryValuesRowSet(keysToVisit,
+                        RowSequenceFactory.EMPTY_ITERATOR, symbolTableIndexBuilder);
+            } while (keysToVisit.hasNext());
+        }
+        return symbolTableIndexBuilder.build();
+    }
+
+    @Override
+    @Nullable
+    public WritableRowSet filterBySymbols(@NotNull final RowSet sourceRowSet, @NotNull final ChunkFilter chunkFilter) {
+        if (sourceRowSet.isEmpty()) {
+            return RowSetFactory.empty();
+        }
+        if (!hasSymbolTable(sourceRowSet)) {
+            return null;
+        }
+        final AsDictionary dictionaryColumn = new AsDictionary();
+        try (final WritableRowSet symbolRowSet = gatherSymbolRowSet(dictionaryColumn, sourceRowSet)) {
+            // Use the same threshold as aggregations, since the dictionaries may be much larger than the rows we visit
+            if (symbolRowSet.size() >= sourceRowSet.size() / 2) {
+                return null;
+            }
+            final boolean nullMatches;
+            final long numMatchingSymbols;
+            try (final WritableRowSet matchingSymbols = filterSymbols(dictionaryColumn, symbolRowSet, chunkFilter)) {
+                nullMatches = nullMatches(chunkFilter);
+                numMatchingSymbols = matchingSymbols.size();
+                if (numMatchingSymbols == 0 && !nullMatches) {
+                    return RowSetFactory.empty();
+                }
+                if (numMatchingSymbols == symbolRowSet.size() && nullMatches) {
+                    return sourceRowSet.copy();
+                }
+                // Test membership against whichever of the matching and non-matching symbols is smaller
+                final boolean testMatching = numMatchingSymbols <= symbolRowSet.size() - numMatchingSymbols;
+                final TLongHashSet symbolIds;
+                if (testMatching) {
+                    symbolIds = new TLongHashSet(matchingSymbols.intSize("filterBySymbols"));
+                    matchingSymbols.forAllRowKeys(symbolIds::add);
+                } else {
+                    try (final RowSet nonMatchingSymbols = symbolRowSet.minus(matchingSymbols)) {
+                        symbolIds = new TLongHashSet(nonMatchingSymbols.intSize("filterBySymbols"));
+                        nonMatchingSymbols.forAllRowKeys(symbolIds::add);
+                    }
+                }
+                return filterByIds(sourceRowSet, symbolIds, testMatching, nullMatches);
+            }
+        }
+    }
+
+    /**
+     * Apply {@code chunkFilter} to each symbol in {@code symbolRowSet}.
+     *
+     * @return The row keys, which are also the identifiers, of the matching symbols
+     */
+    private static WritableRowSet filterSymbols(
+            @NotNull final RegionedColumnSourceBase<?, Values, ?> dictionaryColumn,
+            @NotNull final RowSet symbolRowSet,
+            @NotNull final ChunkFilter chunkFilter) {
+        final RowSetBuilderSequential matchingSymbolsBuilder = RowSetFactory.builderSequential();
+        final int chunkSize = (int) Math.min(ChunkFilter.FILTER_CHUNK_SIZE, symbolRowSet.size());
+        try (final ChunkSource.GetContext getContext = dictionaryColumn.makeGetContext(chunkSize);
+                final WritableLongChunk<OrderedRowKeys> matchingIds = WritableLongChunk.makeWritableChunk(chunkSize);
+                final RowSequence.Iterator symbolsIterator = symbolRowSet.getRowSequenceIterator()) {
+            while (symbolsIterator.hasMore()) {
+                final RowSequence symbols = symbolsIterator.getNextRowSequenceWithLength(chunkSize);
+                final Chunk<? extends Values> symbolValues = dictionaryColumn.getChunk(getContext, symbols);
+                chunkFilter.filter(symbolValues, symbols.asRowKeyChunk(), matchingIds);
+                matchingSymbolsBuilder.appendOrderedRowKeysChunk(matchingIds);
+            }
+        }
+        return matchingSymbolsBuilder.build();
+    }
+
+    /**
+     * @return Whether {@code chunkFilter} accepts a {@code null} value, which is not represented in the symbol table
+     */
+    private static boolean nullMatches(@NotNull final ChunkFilter chunkFilter) {
+        try (final WritableObjectChunk<Object, Values> nullValue = WritableObjectChunk.makeWritableChunk(1);
+                final WritableLongChunk<OrderedRowKeys> nullKey = WritableLongChunk.makeWritableChunk(1);
+                final WritableLongChunk<OrderedRowKeys> matchingKeys = WritableLongChunk.makeWritableChunk(1)) {
+            nullValue.set(0, null);
+            nullKey.set(0, 0);
+            chunkFilter.filter(nullValue, nullKey, matchingKeys);
+            return matchingKeys.size() == 1;
+        }
+    }
+
+    /**
+     * Select the rows of {@code sourceRowSet} whose symbol identifiers are (or, if {@code testMatching} is false, are
+     * not) in {@code symbolIds}. This reads only the identifiers, never the symbols themselves.
+     */
+    private WritableRowSet filterByIds(
+            @NotNull final RowSet sourceRowSet,
+            @NotNull final TLongHashSet symbolIds,
+            final boolean testMatching,
+            final boolean nullMatches) {
+        final ColumnSource<Long> idSource = reinterpret(long.class);
+        final RowSetBuilderSequential resultBuilder = RowSetFactory.builderSequential();
+        final int chunkSize = (int) Math.min(ChunkFilter.FILTER_CHUNK_SIZE, sourceRowSet.size());
+        try (final ChunkSource.GetContext getContext = idSource.makeGetContext(chunkSize);
+                final WritableLongChunk<OrderedRowKeys> matchingKeys = WritableLongChunk.makeWritableChunk(chunkSize);
+                final RowSequence.Iterator rowsIterator = sourceRowSet.getRowSequenceIterator()) {
+            while (rowsIterator.hasMore()) {
+                if (Thread.interrupted()) {
+                    throw new CancellationException("interrupted while filtering data");
+                }
+                final RowSequence rows = rowsIterator.getNextRowSequenceWithLength(chunkSize);
+                final LongChunk<? extends Values> ids = idSource.getChunk(getContext, rows).asLongChunk();
+                final LongChunk<OrderedRowKeys> keys = rows.asRowKeyChunk();
+                matchingKeys.setSize(0);
+                for (int ii = 0; ii < ids.size(); ++ii) {
+                    final long id = ids.get(ii);
+                    if (id == NULL_LONG ? nullMatches : symbolIds.contains(id) == testMatching) {
+                        matchingKeys.add(keys.get(ii));
+                    }
+                }
+                resultBuilder.appendOrderedRowKeysChunk(matchingKeys);
+            }
+        }
+        return resultBuilder.build();
+    }
+
     @Override
     public final Table getSymbolTable(@NotNull final QueryTable sourceTable, final boolean useLookupCaching) {
         // NB: We assume that hasSymbolTable has been tested by the caller, and that for refreshing tables it will
@@ -9,10 +9,13 @@ import io.deephaven.chunk.attributes.Any;
 import io.deephaven.engine.page.Page;
 import io.deephaven.engine.page.PageStore;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
 import io.deephaven.util.annotations.FinalDefault;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 public interface RegionedPageStore<ATTR extends Any, INNER_ATTR extends ATTR, REGION_TYPE extends Page<INNER_ATTR>>
         extends PageStore<ATTR, INNER_ATTR, REGION_TYPE> {
 
@@ -163,5 +166,26 @@ public interface RegionedPageStore<ATTR extends Any, INNER_ATTR extends ATTR, RE
         public final REGION_TYPE getRegion(final int regionIndex) {
             return regions[regionIndex];
         }
+
+        /**
+         * Check each region independently, as in {@link ColumnRegion#excludeUnmatchedRows}.
+         *
+         * @param firstRowKey The first row key in this page store
+         * @param mayMatch Predicate that returns {@code false} only if no value described by the supplied statistics
+         *        can match
+         * @param excludedRows Builder to append excluded row key ranges to, in order
+         */
+        public void excludeUnmatchedRows(
+                final long firstRowKey,
+                @NotNull final Predicate<ColumnRegionStatistics> mayMatch,
+                @NotNull final RowSetBuilderSequential excludedRows) {
+            for (int ri = 0; ri < regions.length; ++ri) {
+                final REGION_TYPE region = regions[ri];
+                if (region instanceof ColumnRegion) {
+                    ((ColumnRegion<?>) region).excludeUnmatchedRows(
+                            firstRowKey + ((long) ri << regionMaskNumBits()), mayMatch, excludedRows);
+                }
+            }
+        }
     }
 }
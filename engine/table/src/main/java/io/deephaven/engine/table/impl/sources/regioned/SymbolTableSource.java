@@ -7,7 +7,10 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * <p>
@@ -64,6 +67,20 @@ public interface SymbolTableSource<SYMBOL_TYPE> extends ColumnSource<SYMBOL_TYPE
      */
     Table getSymbolTable(@NotNull QueryTable sourceTable, boolean useLookupCaching);
 
+    /**
+     * Filter {@code sourceRowSet} by applying {@code chunkFilter} once to each distinct symbol, rather than once to
+     * each row, and then selecting the rows whose identifiers map to matching symbols. The filter must depend only on
+     * the values it is supplied, not their row keys.
+     *
+     * @param sourceRowSet The {@link RowSet} to filter
+     * @param chunkFilter The filter to apply to the symbols
+     * @return The rows of {@code sourceRowSet} whose values are accepted by {@code chunkFilter}, or {@code null} if
+     *         this SymbolTableSource cannot provide a symbol table for {@code sourceRowSet}, or if the symbol table is
+     *         too large relative to {@code sourceRowSet} for filtering by symbol to be worthwhile
+     */
+    @Nullable
+    WritableRowSet filterBySymbols(@NotNull RowSet sourceRowSet, @NotNull ChunkFilter chunkFilter);
+
     /**
      * Check if the specified {@link ColumnSource} supports a symbol table for the entirety of the supplied
      * {@link RowSet}.
@@ -30,6 +30,10 @@ import java.util.Objects;
 import static io.deephaven.util.QueryConstants.NULL_FLOAT;
 
 public final class FloatSegmentedSortedMultiset implements SegmentedSortedMultiSet<Float>, FloatVector {
+    // region ValueBytes
+    private static final int VALUE_BYTES = Float.BYTES;
+    // endregion ValueBytes
+
     private final int leafSize;
     private int leafCount;
     private int size;
@@ -871,6 +875,7 @@ public final class FloatSegmentedSortedMultiset implements SegmentedSortedMultiS
                 clear();
             } else {
                 size = sz.get();
+                maybeShrinkDirectory();
             }
         } else {
             removeContext.ensureLeafCount((leafCount + 1) / 2);
@@ -1068,9 +1073,24 @@ public final class FloatSegmentedSortedMultiset implements SegmentedSortedMultiS
         Arrays.fill(leafCounts, leafCount - removed, leafCount, null);
         Arrays.fill(leafSizes, leafCount - removed, leafCount, 0); // not necessary, but nice for debugging
         leafCount -= removed;
+        maybeShrinkLeafArrays();
         maybePromoteLastLeaf();
     }
 
+    /**
+     * Shrink the leaf and directory arrays once removals have left them mostly empty; they grow by doubling, so we
+     * leave room for the leaf count to double again before we would have to reallocate.
+     */
+    private void maybeShrinkLeafArrays() {
+        if (leafCount > 1 && leafSizes.length > leafCount * 4) {
+            final int newSize = leafCount * 2;
+            leafSizes = Arrays.copyOf(leafSizes, newSize);
+            leafValues = Arrays.copyOf(leafValues, newSize);
+            leafCounts = Arrays.copyOf(leafCounts, newSize);
+            directoryValues = Arrays.copyOf(directoryValues, newSize - 1);
+        }
+    }
+
     private void maybePromoteLastLeaf() {
         if (leafCount == 1) {
             directoryValues = leafValues[0];
@@ -1078,10 +1098,17 @@ public final class FloatSegmentedSortedMultiset implements SegmentedSortedMultiS
             leafValues = null;
             leafCounts = null;
             leafSizes = null;
-            if (directoryValues.length > size * 2) {
-                directoryValues = Arrays.copyOf(directoryValues, size);
-                directoryCount = Arrays.copyOf(directoryCount, size);
-            }
+            maybeShrinkDirectory();
+        }
+    }
+
+    /**
+     * When we have a single leaf that is less than half full, trim its arrays to the values we actually hold.
+     */
+    private void maybeShrinkDirectory() {
+        if (directoryValues.length > size * 2) {
+            directoryValues = Arrays.copyOf(directoryValues, size);
+            directoryCount = Arrays.copyOf(directoryCount, size);
         }
     }
 
@@ -1356,6 +1383,20 @@ public final class FloatSegmentedSortedMultiset implements SegmentedSortedMultiS
         return leafSize;
     }
 
+    @Override
+    public long sizeInBytes() {
+        if (leafCount == 0) {
+            return 0;
+        }
+        if (leafCount == 1) {
+            return (long) directoryValues.length * VALUE_BYTES + (long) directoryCount.length * Long.BYTES;
+        }
+        // every leaf is allocated at the full leaf size, and the leaf arrays hold a size and two references per leaf
+        return (long) leafCount * leafSize * (VALUE_BYTES + Long.BYTES)
+                + (long) leafSizes.length * (Integer.BYTES + 2 * Long.BYTES)
+                + (long) directoryValues.length * VALUE_BYTES;
+    }
+
     @Override
     public Float getMin() {
         return getMinFloat();
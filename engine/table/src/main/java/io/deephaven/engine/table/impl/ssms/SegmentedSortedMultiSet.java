@@ -129,6 +129,12 @@ public interface SegmentedSortedMultiSet<T> extends LongSizedDataStructure {
      */
     long totalSize();
 
+    /**
+     * @return the approximate number of bytes held by the value and count arrays of this set, not including any objects
+     *         the values refer to
+     */
+    long sizeInBytes();
+
     /**
      * Remove count elements from the front of this SSM and add them to the back of the destination SSM.
      * <p>
@@ -30,10 +30,13 @@ import io.deephaven.engine.table.impl.sources.*;
 import io.deephaven.engine.table.impl.sources.sparse.SparseConstants;
 import io.deephaven.engine.table.impl.util.*;
 import io.deephaven.engine.updategraph.*;
+import io.deephaven.engine.updategraph.impl.BaseUpdateGraph;
 import io.deephaven.engine.updategraph.impl.PeriodicUpdateGraph;
 import io.deephaven.engine.util.systemicmarking.SystemicObjectTracker;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.SafeCloseableArray;
+import io.deephaven.util.annotations.TestUseOnly;
+import io.deephaven.util.annotations.VisibleForTesting;
 import io.deephaven.util.datastructures.linked.IntrusiveDoublyLinkedNode;
 import io.deephaven.util.datastructures.linked.IntrusiveDoublyLinkedQueue;
 import org.apache.commons.lang3.ArrayUtils;
@@ -45,6 +48,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -61,6 +65,10 @@ public abstract class UpdateBy {
     /** When caching a column source, what size chunks should be used to move data to the cache? (64K default) */
     private static final int PARALLEL_CACHE_CHUNK_SIZE =
             Configuration.getInstance().getIntegerWithDefault("UpdateBy.parallelCacheChunkSize", 1 << 16);
+    /** When processing buckets in parallel, how many affected rows should each job try to process? (64K default) */
+    @VisibleForTesting
+    static int parallelBucketBatchRows =
+            Configuration.getInstance().getIntegerWithDefault("UpdateBy.parallelBucketBatchRows", 1 << 16);
 
     /** When extracting keys from the redirection, what size chunks to use? (2K default) */
     private static final int REDIRECTION_CHUNK_SIZE = 1 << 11;
@@ -89,6 +97,12 @@ public abstract class UpdateBy {
     /** For easy iteration, create a list of the source indices that need to be cached */
     protected final int[] cacheableSourceIndices;
 
+    /**
+     * Update performance entries for each operator, or set of operators that are processed together, keyed by
+     * description. Created on first use.
+     */
+    private final Map<String, PerformanceEntry> operatorPerformanceEntries = new ConcurrentHashMap<>();
+
     /** Store every bucket in this list for processing */
     protected final IntrusiveDoublyLinkedQueue<UpdateByBucketHelper> buckets;
 
@@ -232,12 +246,15 @@ public abstract class UpdateBy {
      * <ul>
      * <li>Pre-create window information for windowed operators (push/pop counts)</li>
      * <li>Cache the input sources that are needed for each window operator (in parallel by chunk of rows)</li>
-     * <li>When caching is complete, process the window operator (in parallel by bucket)</li>
+     * <li>When caching is complete, process the window operator (in parallel by batches of buckets with similar row
+     * counts, and by operator when a few large buckets would otherwise leave threads idle)</li>
+     * <li>When no input sources need caching, process all of the window's operators in parallel</li>
      * <li>When all buckets processed, release the input source caches that will not be re-used later by later
      * operators</li>
      * </ul>
      * </li>
      * <li>When all windows processed, create the downstream update and notify</li>
+     * <li>Record the performance of each operator in the update performance log</li>
      * <li>Release resources</li>
      * </ol>
      */
@@ -256,6 +273,8 @@ public abstract class UpdateBy {
         final AtomicIntegerArray inputSourceReferenceCounts;
         final JobScheduler jobScheduler;
         final ExecutionContext executionContext;
+        /** For update cycles, the performance of each operator (or set of operators processed together) */
+        final Map<PerformanceEntry, BasePerformanceEntry> operatorPerformance;
 
         /***
          * These rows will be changed because of shifts or removes and will need to be included in
@@ -309,6 +328,8 @@ public abstract class UpdateBy {
                 }
                 executionContext = ExecutionContext.newBuilder()
                         .markSystemic().build();
+                // The initial step's performance is accumulated into the enclosing nugget
+                operatorPerformance = null;
             } else {
                 // Determine which windows need to be computed.
                 for (int winIdx = 0; winIdx < windows.length; winIdx++) {
@@ -339,6 +360,7 @@ public abstract class UpdateBy {
                 executionContext = ExecutionContext.newBuilder()
                         .setUpdateGraph(result().getUpdateGraph())
                         .markSystemic().build();
+                operatorPerformance = new LinkedHashMap<>();
             }
         }
 
@@ -581,8 +603,10 @@ public abstract class UpdateBy {
 
                         int maxAffectedChunkSize = 0;
                         int maxInfluencerChunkSize = 0;
+                        final long[] affectedRowCounts = new long[dirtyBuckets.length];
 
-                        for (UpdateByBucketHelper bucket : dirtyBuckets) {
+                        for (int bucketIdx = 0; bucketIdx < dirtyBuckets.length; bucketIdx++) {
+                            final UpdateByBucketHelper bucket = dirtyBuckets[bucketIdx];
                             if (bucket.windowContexts[winIdx].isDirty) {
                                 // Assign the (maybe cached) input sources.
                                 windows[winIdx].assignInputSources(bucket.windowContexts[winIdx],
@@ -599,11 +623,16 @@ public abstract class UpdateBy {
                                         bucket.windowContexts[winIdx] instanceof UpdateByWindowRollingBase.UpdateByWindowRollingBucketContext
                                                 ? ((UpdateByWindowRollingBase.UpdateByWindowRollingBucketContext) bucket.windowContexts[winIdx]).maxGetContextSize
                                                 : bucket.windowContexts[winIdx].workingChunkSize);
+
+                                // Count the rows to process, for balancing the parallel work.
+                                affectedRowCounts[bucketIdx] =
+                                        windows[winIdx].getAffectedRows(bucket.windowContexts[winIdx]).size();
                             }
                         }
 
                         // Process all the operators in this window
-                        processWindowOperators(winIdx, maxAffectedChunkSize, maxInfluencerChunkSize, () -> {
+                        processWindowOperators(winIdx, maxAffectedChunkSize, maxInfluencerChunkSize,
+                                affectedRowCounts, () -> {
                             // This window has been fully processed, release the resources we allocated
                             for (UpdateByBucketHelper bucket : dirtyBuckets) {
                                 if (bucket.windowContexts[winIdx].isDirty) {
@@ -616,18 +645,21 @@ public abstract class UpdateBy {
         }
 
         /**
-         * Process the operators for a given window in a serial manner. For efficiency, this function organizes the
-         * operators into sets of operators that share input sources and that can be computed together efficiently. It
-         * also arranges these sets of operators in an order that (hopefully) minimizes the memory footprint of the
-         * cached operator input columns.
+         * Process the operators for a given window. For efficiency, this function organizes the operators into sets of
+         * operators that share input sources and that can be computed together efficiently. It also arranges these
+         * sets of operators in an order that (hopefully) minimizes the memory footprint of the cached operator input
+         * columns.
          * <p>
-         * Before each operator set is processed, the sources for the input columns are cached. After the set is
-         * processed, the cached sources are released if they will not be used by following operators.
+         * When input sources must be cached, the operator sets are processed serially. Before each operator set is
+         * processed, the sources for the input columns are cached. After the set is processed, the cached sources are
+         * released if they will not be used by following operators. Otherwise, all operator sets are processed in
+         * parallel.
          */
         private void processWindowOperators(
                 final int winIdx,
                 final int maxAffectedChunkSize,
                 final int maxInfluencerChunkSize,
+                final long[] affectedRowCounts,
                 final Runnable onProcessWindowOperatorsComplete,
                 final Consumer<Exception> onProcessWindowOperatorsError) {
             final UpdateByWindow win = windows[winIdx];
@@ -658,6 +690,17 @@ public abstract class UpdateBy {
             }
             operatorSets.add(opList.toArray());
 
+            // Batch the buckets by size so that each parallel job does a similar amount of work.
+            final int[][] bucketBatches = makeBucketBatches(winIdx, affectedRowCounts);
+
+            if (!inputCacheNeeded) {
+                // Nothing to cache, so there is no memory to save by processing the operator sets serially.
+                processWindowOperatorSets(winIdx, operatorSets, bucketBatches, affectedRowCounts,
+                        maxAffectedChunkSize, maxInfluencerChunkSize,
+                        onProcessWindowOperatorsComplete, onProcessWindowOperatorsError);
+                return;
+            }
+
             // Process each set of similar operators in this window serially.
             jobScheduler.iterateSerial(executionContext,
                     chainAppendables(this, stringAndIndexToAppendable("-processWindowOperators", winIdx)),
@@ -672,8 +715,8 @@ public abstract class UpdateBy {
                         // Cache the input sources for these operators.
                         cacheOperatorInputSources(winIdx, srcIndices, () -> {
                             // Process the subset of operators for this window.
-                            processWindowOperatorSet(winIdx, opIndices, srcIndices, maxAffectedChunkSize,
-                                    maxInfluencerChunkSize,
+                            processWindowOperatorSets(winIdx, Collections.singletonList(opIndices), bucketBatches,
+                                    affectedRowCounts, maxAffectedChunkSize, maxInfluencerChunkSize,
                                     () -> {
                                         // Release the cached sources that are no longer needed.
                                         releaseInputSources(srcIndices);
@@ -782,22 +825,103 @@ public abstract class UpdateBy {
         }
 
         /**
-         * Process a subset of operators from {@code windows[winIdx]} in parallel by bucket. Calls
-         * {@code onProcessWindowOperatorSetComplete} when the work is complete
+         * Organize the buckets that are dirty for {@code windows[winIdx]} into batches of at least
+         * {@link #parallelBucketBatchRows} affected rows (except the last), so that each parallel job does a
+         * similar amount of work. Buckets are ordered from most to fewest affected rows, so the largest buckets are
+         * processed first and the batches of small buckets fill in around them.
+         *
+         * @return The batches of indices into {@link #dirtyBuckets}
          */
-        private void processWindowOperatorSet(final int winIdx,
-                final int[] opIndices,
-                final int[] srcIndices,
+        private int[][] makeBucketBatches(final int winIdx, final long[] affectedRowCounts) {
+            final TIntArrayList windowDirtyBuckets = new TIntArrayList(dirtyBuckets.length);
+            for (int bucketIdx = 0; bucketIdx < dirtyBuckets.length; bucketIdx++) {
+                if (dirtyBuckets[bucketIdx].windowContexts[winIdx].isDirty) {
+                    windowDirtyBuckets.add(bucketIdx);
+                }
+            }
+            final Integer[] sortedBuckets = ArrayUtils.toObject(windowDirtyBuckets.toArray());
+            Arrays.sort(sortedBuckets, Comparator.comparingLong((Integer b) -> affectedRowCounts[b]).reversed());
+
+            final List<int[]> batches = new ArrayList<>();
+            final TIntArrayList batch = new TIntArrayList();
+            long batchRows = 0;
+            for (final int bucketIdx : sortedBuckets) {
+                batch.add(bucketIdx);
+                batchRows += affectedRowCounts[bucketIdx];
+                if (batchRows >= parallelBucketBatchRows) {
+                    batches.add(batch.toArray());
+                    batch.resetQuick();
+                    batchRows = 0;
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch.toArray());
+            }
+            return batches.toArray(int[][]::new);
+        }
+
+        /**
+         * Process sets of operators from {@code windows[winIdx]} in parallel, with one job for each batch of buckets
+         * and set of operators. If the largest job would be more than its share of the work for the available threads
+         * (e.g. because of a few very large buckets), each operator is processed by its own jobs instead. Calls
+         * {@code onProcessWindowOperatorSetsComplete} when the work is complete.
+         */
+        private void processWindowOperatorSets(final int winIdx,
+                final List<int[]> operatorSets,
+                final int[][] bucketBatches,
+                final long[] affectedRowCounts,
                 final int maxAffectedChunkSize,
                 final int maxInfluencerChunkSize,
-                final Runnable onProcessWindowOperatorSetComplete,
-                final Consumer<Exception> onProcessWindowOperatorSetError) {
-            final class OperatorThreadContext implements JobScheduler.JobThreadContext {
+                final Runnable onProcessWindowOperatorSetsComplete,
+                final Consumer<Exception> onProcessWindowOperatorSetsError) {
+            long totalRows = 0;
+            long largestBatchRows = 0;
+            for (final int[] batch : bucketBatches) {
+                long batchRows = 0;
+                for (final int bucketIdx : batch) {
+                    batchRows += affectedRowCounts[bucketIdx];
+                }
+                totalRows += batchRows;
+                largestBatchRows = Math.max(largestBatchRows, batchRows);
+            }
+            int totalOperators = 0;
+            int largestSetSize = 0;
+            for (final int[] opIndices : operatorSets) {
+                totalOperators += opIndices.length;
+                largestSetSize = Math.max(largestSetSize, opIndices.length);
+            }
+
+            final List<int[]> jobOperatorSets;
+            if (largestBatchRows * largestSetSize * jobScheduler.threadCount() > totalRows * totalOperators) {
+                jobOperatorSets = new ArrayList<>(totalOperators);
+                for (final int[] opIndices : operatorSets) {
+                    for (final int opIdx : opIndices) {
+                        jobOperatorSets.add(new int[] {opIdx});
+                    }
+                }
+            } else {
+                jobOperatorSets = operatorSets;
+            }
+            final int numSets = jobOperatorSets.size();
+
+            // Track the performance of each set for the update performance log
+            final BasePerformanceEntry[] setPerformance;
+            if (operatorPerformance != null) {
+                setPerformance = new BasePerformanceEntry[numSets];
+                for (int ii = 0; ii < numSets; ii++) {
+                    setPerformance[ii] = new BasePerformanceEntry();
+                }
+            } else {
+                setPerformance = null;
+            }
+
+            final class OperatorSetContext implements SafeCloseable {
                 final Chunk<? extends Values>[] chunkArr;
                 final ChunkSource.GetContext[] chunkContexts;
                 final UpdateByOperator.Context[] winOpContexts;
+                final BasePerformanceEntry performance;
 
-                OperatorThreadContext() {
+                OperatorSetContext(final int[] opIndices, final int[] srcIndices) {
                     winOpContexts = new UpdateByOperator.Context[opIndices.length];
 
                     for (int ii = 0; ii < opIndices.length; ii++) {
@@ -810,11 +934,13 @@ public abstract class UpdateBy {
                     chunkArr = new Chunk[srcIndices.length];
                     chunkContexts = new ChunkSource.GetContext[srcIndices.length];
 
-                    // All operators in this bin have identical input source sets
+                    // All operators in this set have identical input source sets
                     for (int ii = 0; ii < srcIndices.length; ii++) {
                         int srcIdx = srcIndices[ii];
                         chunkContexts[ii] = maybeCachedInputSources[srcIdx].makeGetContext(maxInfluencerChunkSize);
                     }
+
+                    performance = setPerformance == null ? null : new BasePerformanceEntry();
                 }
 
                 @Override
@@ -824,25 +950,96 @@ public abstract class UpdateBy {
                 }
             }
 
+            final class OperatorThreadContext implements JobScheduler.JobThreadContext {
+                /** The contexts for each operator set, created when this thread first processes the set */
+                final OperatorSetContext[] setContexts = new OperatorSetContext[numSets];
+
+                @Override
+                public void close() {
+                    if (setPerformance != null) {
+                        for (int ii = 0; ii < numSets; ii++) {
+                            if (setContexts[ii] != null) {
+                                setPerformance[ii].accumulate(setContexts[ii].performance);
+                            }
+                        }
+                    }
+                    SafeCloseableArray.close(setContexts);
+                }
+            }
+
+            // Jobs are ordered by batch, so the batches holding the largest buckets are started first.
             jobScheduler.iterateParallel(executionContext,
                     chainAppendables(this, stringAndIndexToAppendable("-processWindowBucketOperators", winIdx)),
                     OperatorThreadContext::new,
-                    0, dirtyBuckets.length,
-                    (context, bucketIdx, nec) -> {
-                        UpdateByBucketHelper bucket = dirtyBuckets[bucketIdx];
-                        if (bucket.windowContexts[winIdx].isDirty) {
-                            windows[winIdx].processWindowBucketOperatorSet(
-                                    bucket.windowContexts[winIdx],
-                                    opIndices,
-                                    srcIndices,
-                                    context.winOpContexts,
-                                    context.chunkArr,
-                                    context.chunkContexts,
-                                    initialStep);
+                    0, bucketBatches.length * numSets,
+                    (context, jobIdx, nec) -> {
+                        final int setIdx = jobIdx % numSets;
+                        final int[] opIndices = jobOperatorSets.get(setIdx);
+                        // All operators in this set have identical input source sets
+                        final int[] srcIndices = windows[winIdx].operatorInputSourceSlots[opIndices[0]];
+
+                        OperatorSetContext setContext = context.setContexts[setIdx];
+                        if (setContext == null) {
+                            setContext = context.setContexts[setIdx] = new OperatorSetContext(opIndices, srcIndices);
                         }
-                    }, onProcessWindowOperatorSetComplete, onProcessWindowOperatorSetError);
+
+                        if (setContext.performance != null) {
+                            setContext.performance.onBaseEntryStart();
+                        }
+                        try {
+                            for (final int bucketIdx : bucketBatches[jobIdx / numSets]) {
+                                windows[winIdx].processWindowBucketOperatorSet(
+                                        dirtyBuckets[bucketIdx].windowContexts[winIdx],
+                                        opIndices,
+                                        srcIndices,
+                                        setContext.winOpContexts,
+                                        setContext.chunkArr,
+                                        setContext.chunkContexts,
+                                        initialStep);
+                            }
+                        } finally {
+                            if (setContext.performance != null) {
+                                setContext.performance.onBaseEntryEnd();
+                            }
+                        }
+                    }, () -> {
+                        if (setPerformance != null) {
+                            for (int ii = 0; ii < numSets; ii++) {
+                                addOperatorPerformance(winIdx, jobOperatorSets.get(ii), setPerformance[ii]);
+                            }
+                        }
+                        onProcessWindowOperatorSetsComplete.run();
+                    }, onProcessWindowOperatorSetsError);
         }
 
+        /**
+         * Add the performance of a set of operators from {@code windows[winIdx]} to {@link #operatorPerformance}, to
+         * be recorded in the update performance log when this update completes.
+         */
+        private void addOperatorPerformance(
+                final int winIdx,
+                final int[] opIndices,
+                final BasePerformanceEntry performance) {
+            final StringBuilder description = new StringBuilder().append(UpdateBy.this).append("-Operators[");
+            for (int ii = 0; ii < opIndices.length; ii++) {
+                final UpdateByOperator op = windows[winIdx].operators[opIndices[ii]];
+                if (ii > 0) {
+                    description.append(", ");
+                }
+                description.append(op.getClass().getSimpleName())
+                        .append('(').append(String.join(",", op.getOutputColumnNames())).append(')');
+            }
+            description.append(']');
+
+            final PerformanceEntry entry = operatorPerformanceEntries.computeIfAbsent(description.toString(),
+                    desc -> BaseUpdateGraph.createUpdatePerformanceEntry(source.getUpdateGraph(), desc));
+            if (entry != null) {
+                operatorPerformance.merge(entry, performance, (existing, added) -> {
+                    existing.accumulate(added);
+                    return existing;
+                });
+            }
+        }
 
         /** Release the input sources that will not be needed for the rest of this update */
         private void releaseInputSources(int[] sources) {
@@ -918,6 +1115,18 @@ public abstract class UpdateBy {
                     });
                 }
             }
+            if (operatorPerformance != null && !operatorPerformance.isEmpty()) {
+                source.getUpdateGraph().addNotification(new TerminalNotification() {
+                    @Override
+                    public void run() {
+                        operatorPerformance.forEach((entry, performance) -> {
+                            entry.onUpdateStart();
+                            entry.accumulate(performance);
+                            entry.onUpdateEnd();
+                        });
+                    }
+                });
+            }
 
             // continue
             onCleanupComplete.run();
@@ -1109,6 +1318,15 @@ public abstract class UpdateBy {
             // Processing continues asynchronously
             return false;
         }
+
+        /**
+         * @return The update performance entries created so far for each operator, or set of operators that are
+         *         processed together, keyed by description
+         */
+        @TestUseOnly
+        Map<String, PerformanceEntry> getOperatorPerformanceEntries() {
+            return Collections.unmodifiableMap(operatorPerformanceEntries);
+        }
     }
 
     UpdateByListener newUpdateByListener() {
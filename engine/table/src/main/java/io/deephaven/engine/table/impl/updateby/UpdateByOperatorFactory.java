@@ -13,6 +13,7 @@ import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
+import io.deephaven.engine.table.impl.by.ApproximateCountDistinctOperator;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
 import io.deephaven.engine.table.impl.updateby.delta.*;
 import io.deephaven.engine.table.impl.updateby.em.*;
@@ -20,6 +21,7 @@ import io.deephaven.engine.table.impl.updateby.emstd.*;
 import io.deephaven.engine.table.impl.updateby.fill.*;
 import io.deephaven.engine.table.impl.updateby.minmax.*;
 import io.deephaven.engine.table.impl.updateby.prod.*;
+import io.deephaven.engine.table.impl.updateby.rollingapproxcountdistinct.RollingApproximateCountDistinctOperator;
 import io.deephaven.engine.table.impl.updateby.rollingavg.*;
 import io.deephaven.engine.table.impl.updateby.rollingcount.*;
 import io.deephaven.engine.table.impl.updateby.rollingformula.*;
@@ -33,12 +35,15 @@ import io.deephaven.engine.table.impl.updateby.sum.*;
 import io.deephaven.hash.KeyedObjectHashMap;
 import io.deephaven.hash.KeyedObjectKey;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.time.Instant;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -531,6 +536,18 @@ public class UpdateByOperatorFactory {
             return null;
         }
 
+        @Override
+        public Void visit(@NotNull final RollingApproximateCountDistinctSpec spec) {
+            final boolean isTimeBased = spec.revWindowScale().isTimeBased();
+            final String timestampCol = spec.revWindowScale().timestampCol();
+
+            Arrays.stream(pairs)
+                    .filter(p -> !isTimeBased || !p.rightColumn().equals(timestampCol))
+                    .map(fc -> makeRollingApproximateCountDistinctOperator(fc, spec))
+                    .forEach(ops::add);
+            return null;
+        }
+
         @Override
         public Void visit(@NotNull final RollingFormulaSpec spec) {
             final boolean isTimeBased = spec.revWindowScale().isTimeBased();
@@ -541,7 +558,12 @@ public class UpdateByOperatorFactory {
 
             Arrays.stream(pairs)
                     .filter(p -> !isTimeBased || !p.rightColumn().equals(timestampCol))
-                    .map(fc -> makeRollingFormulaOperator(fc, tableDef, formulaColumnMap, spec))
+                    .map(fc -> {
+                        final UpdateByOperator reductionOp = maybeMakeRollingReductionOperator(fc, tableDef, spec);
+                        return reductionOp != null
+                                ? reductionOp
+                                : makeRollingFormulaOperator(fc, tableDef, formulaColumnMap, spec);
+                    })
                     .forEach(ops::add);
             return null;
         }
@@ -1173,6 +1195,25 @@ public class UpdateByOperatorFactory {
             throw new IllegalArgumentException("Can not perform RollingProduct on type " + csType);
         }
 
+        private UpdateByOperator makeRollingApproximateCountDistinctOperator(@NotNull final MatchPair pair,
+                @NotNull final RollingApproximateCountDistinctSpec rs) {
+            final String[] affectingColumns;
+            if (rs.revWindowScale().timestampCol() == null) {
+                affectingColumns = new String[] {pair.rightColumn};
+            } else {
+                affectingColumns = new String[] {rs.revWindowScale().timestampCol(), pair.rightColumn};
+            }
+
+            final long prevWindowScaleUnits = rs.revWindowScale().getTimeScaleUnits();
+            final long fwdWindowScaleUnits = rs.fwdWindowScale().getTimeScaleUnits();
+
+            // Inputs are reinterpreted to primitives, so every column type is handled by the same operator
+            return new RollingApproximateCountDistinctOperator(pair, affectingColumns,
+                    rs.revWindowScale().timestampCol(),
+                    prevWindowScaleUnits, fwdWindowScaleUnits,
+                    rs.precision().orElse(ApproximateCountDistinctOperator.PRECISION_DEFAULT));
+        }
+
         private UpdateByOperator makeRollingCountOperator(@NotNull final MatchPair pair,
                 @NotNull final TableDefinition tableDef,
                 @NotNull final RollingCountSpec rs) {
@@ -1354,6 +1395,58 @@ public class UpdateByOperatorFactory {
             throw new IllegalArgumentException("Can not perform RollingWAvg on type " + csType);
         }
 
+        /**
+         * A rolling formula that applies one of the common reductions directly to the window (e.g. {@code avg(x)})
+         * computes the same result as the equivalent rolling operator, which updates its result as values enter and
+         * leave the window instead of evaluating the formula over every window. Only reductions whose null and
+         * {@code NaN} handling match for the column type are replaced; {@code min} and {@code max} of floating point
+         * values are not, since the formula functions skip {@code NaN} values. The rolling operators accumulate in a
+         * different order than the formula functions, so results computed in floating point may differ in their
+         * low-order bits.
+         *
+         * @return the equivalent rolling operator, or null if the formula must be evaluated
+         */
+        @Nullable
+        private UpdateByOperator maybeMakeRollingReductionOperator(@NotNull final MatchPair pair,
+                @NotNull final TableDefinition tableDef,
+                @NotNull final RollingFormulaSpec rs) {
+            final Matcher matcher = Pattern
+                    .compile("\\s*(\\w+)\\s*\\(\\s*" + Pattern.quote(rs.paramToken()) + "\\s*\\)\\s*")
+                    .matcher(rs.formula());
+            if (!matcher.matches()) {
+                return null;
+            }
+
+            final Class<?> csType = tableDef.getColumn(pair.rightColumn).getDataType();
+            final boolean isIntegral =
+                    csType == byte.class || csType == short.class || csType == int.class || csType == long.class;
+            final boolean isFloatingPoint = csType == float.class || csType == double.class;
+            if (!isIntegral && !isFloatingPoint) {
+                return null;
+            }
+
+            final WindowScale rev = rs.revWindowScale();
+            final WindowScale fwd = rs.fwdWindowScale();
+            switch (matcher.group(1)) {
+                case "sum":
+                    return makeRollingSumOperator(pair, tableDef, RollingSumSpec.of(rev, fwd));
+                case "avg":
+                    return makeRollingAvgOperator(pair, tableDef, RollingAvgSpec.of(rev, fwd));
+                case "std":
+                    return makeRollingStdOperator(pair, tableDef, RollingStdSpec.of(rev, fwd));
+                case "count":
+                    return makeRollingCountOperator(pair, tableDef, RollingCountSpec.of(rev, fwd));
+                case "min":
+                case "max":
+                    return isIntegral
+                            ? makeRollingMinMaxOperator(pair, tableDef,
+                                    RollingMinMaxSpec.of(matcher.group(1).equals("max"), rev, fwd))
+                            : null;
+                default:
+                    return null;
+            }
+        }
+
         private UpdateByOperator makeRollingFormulaOperator(@NotNull final MatchPair pair,
                 @NotNull final TableDefinition tableDef,
                 @NotNull final Map<Class<?>, FormulaColumn> formulaColumnMap,
@@ -0,0 +1,325 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.updateby.rollingapproxcountdistinct;
+
+import io.deephaven.base.ringbuffer.IntRingBuffer;
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.table.impl.MatchPair;
+import io.deephaven.engine.table.impl.by.HyperLogLogSketch;
+import io.deephaven.engine.table.impl.updateby.UpdateByOperator;
+import io.deephaven.engine.table.impl.updateby.internal.BaseLongUpdateByOperator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static io.deephaven.util.QueryConstants.*;
+
+/**
+ * Estimates the number of distinct non-null values in each window with a sliding HyperLogLog sketch.
+ * <p>
+ * A plain {@link HyperLogLogSketch} cannot forget values as they leave the window, so for each register the context
+ * keeps the values offered by the current window that could still become the register's maximum: those not followed
+ * by a value at least as large. These form a queue whose values strictly decrease and whose front is the register's
+ * current value, so both pushes and pops are amortized constant time. A register never holds more than
+ * {@link HyperLogLogSketch#maxRegisterValue(int)} such values, which bounds the memory used regardless of the window
+ * size.
+ */
+public class RollingApproximateCountDistinctOperator extends BaseLongUpdateByOperator {
+    private static final int BUFFER_INITIAL_CAPACITY = 128;
+    private static final int QUEUE_INITIAL_CAPACITY = 4;
+    private final int precision;
+
+    protected class Context extends BaseLongUpdateByOperator.Context {
+        protected Chunk<? extends Values> influencerValuesChunk;
+
+        /**
+         * The register index of each value in the window, in push order, or -1 for null values.
+         */
+        protected IntRingBuffer registerIndices;
+        /**
+         * The sequence number of the next value to be pushed and of the next value to be popped.
+         */
+        protected long pushSequence;
+        protected long popSequence;
+
+        /**
+         * Per-register ring queues of {@code sequence << Byte.SIZE | value}, allocated when the register is first
+         * offered a value.
+         */
+        private final long[][] queues;
+        private final int[] queueHeads;
+        private final byte[] queueSizes;
+
+        /**
+         * The number of registers whose current value is each possible register value.
+         */
+        private final int[] histogram;
+        private boolean estimateValid;
+
+        @SuppressWarnings("unused")
+        protected Context(final int affectedChunkSize, final int influencerChunkSize) {
+            super(affectedChunkSize);
+            registerIndices = new IntRingBuffer(BUFFER_INITIAL_CAPACITY, true);
+            final int numRegisters = 1 << precision;
+            queues = new long[numRegisters][];
+            queueHeads = new int[numRegisters];
+            queueSizes = new byte[numRegisters];
+            histogram = new int[HyperLogLogSketch.maxRegisterValue(precision) + 1];
+            histogram[0] = numRegisters;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            registerIndices = null;
+        }
+
+        @Override
+        public void setValueChunks(@NotNull final Chunk<? extends Values>[] valueChunks) {
+            influencerValuesChunk = valueChunks[0];
+        }
+
+        @Override
+        public void push(int pos, int count) {
+            registerIndices.ensureRemaining(count);
+
+            switch (influencerValuesChunk.getChunkType()) {
+                case Char: {
+                    final CharChunk<? extends Values> values = influencerValuesChunk.asCharChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final char val = values.get(pos + ii);
+                        if (val == NULL_CHAR) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash((long) val));
+                        }
+                    }
+                    break;
+                }
+                case Byte: {
+                    // Booleans are reinterpreted as bytes, with NULL_BOOLEAN_AS_BYTE == NULL_BYTE
+                    final ByteChunk<? extends Values> values = influencerValuesChunk.asByteChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final byte val = values.get(pos + ii);
+                        if (val == NULL_BYTE) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash((long) val));
+                        }
+                    }
+                    break;
+                }
+                case Short: {
+                    final ShortChunk<? extends Values> values = influencerValuesChunk.asShortChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final short val = values.get(pos + ii);
+                        if (val == NULL_SHORT) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash((long) val));
+                        }
+                    }
+                    break;
+                }
+                case Int: {
+                    final IntChunk<? extends Values> values = influencerValuesChunk.asIntChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final int val = values.get(pos + ii);
+                        if (val == NULL_INT) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash((long) val));
+                        }
+                    }
+                    break;
+                }
+                case Long: {
+                    final LongChunk<? extends Values> values = influencerValuesChunk.asLongChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final long val = values.get(pos + ii);
+                        if (val == NULL_LONG) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash(val));
+                        }
+                    }
+                    break;
+                }
+                case Float: {
+                    final FloatChunk<? extends Values> values = influencerValuesChunk.asFloatChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final float val = values.get(pos + ii);
+                        if (val == NULL_FLOAT) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash((double) val));
+                        }
+                    }
+                    break;
+                }
+                case Double: {
+                    final DoubleChunk<? extends Values> values = influencerValuesChunk.asDoubleChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final double val = values.get(pos + ii);
+                        if (val == NULL_DOUBLE) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash(val));
+                        }
+                    }
+                    break;
+                }
+                case Object: {
+                    final ObjectChunk<?, ? extends Values> values = influencerValuesChunk.asObjectChunk();
+                    for (int ii = 0; ii < count; ii++) {
+                        final Object val = values.get(pos + ii);
+                        if (val == null) {
+                            pushNull();
+                        } else {
+                            pushHash(HyperLogLogSketch.hash(val));
+                        }
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(
+                            "Unexpected chunk type " + influencerValuesChunk.getChunkType());
+            }
+        }
+
+        private void pushNull() {
+            registerIndices.addUnsafe(-1);
+            nullCount++;
+            pushSequence++;
+        }
+
+        private void pushHash(final long hash) {
+            final int registerIndex = HyperLogLogSketch.registerIndex(precision, hash);
+            final int value = HyperLogLogSketch.registerValue(precision, hash);
+            registerIndices.addUnsafe(registerIndex);
+
+            long[] queue = queues[registerIndex];
+            if (queue == null) {
+                queue = queues[registerIndex] = new long[QUEUE_INITIAL_CAPACITY];
+            }
+            final int oldValue = frontValue(registerIndex);
+            int head = queueHeads[registerIndex];
+            int size = queueSizes[registerIndex];
+            // Values at the back that are no larger than this one can no longer become the register's value
+            while (size > 0 && (int) (queue[(head + size - 1) & (queue.length - 1)] & 0xFF) <= value) {
+                size--;
+            }
+            if (size == queue.length) {
+                queue = growQueue(registerIndex, size);
+                head = 0;
+            }
+            queue[(head + size) & (queue.length - 1)] = (pushSequence << Byte.SIZE) | value;
+            queueSizes[registerIndex] = (byte) (size + 1);
+            pushSequence++;
+
+            updateHistogram(oldValue, frontValue(registerIndex));
+        }
+
+        private long[] growQueue(final int registerIndex, final int size) {
+            final long[] oldQueue = queues[registerIndex];
+            final long[] newQueue = new long[oldQueue.length * 2];
+            final int head = queueHeads[registerIndex];
+            for (int ii = 0; ii < size; ii++) {
+                newQueue[ii] = oldQueue[(head + ii) & (oldQueue.length - 1)];
+            }
+            queueHeads[registerIndex] = 0;
+            return queues[registerIndex] = newQueue;
+        }
+
+        private int frontValue(final int registerIndex) {
+            if (queueSizes[registerIndex] == 0) {
+                return 0;
+            }
+            return (int) (queues[registerIndex][queueHeads[registerIndex]] & 0xFF);
+        }
+
+        private void updateHistogram(final int oldValue, final int newValue) {
+            if (oldValue != newValue) {
+                histogram[oldValue]--;
+                histogram[newValue]++;
+                estimateValid = false;
+            }
+        }
+
+        @Override
+        public void pop(int count) {
+            Assert.geq(registerIndices.size(), "registerIndices.size()", count);
+
+            for (int ii = 0; ii < count; ii++) {
+                final int registerIndex = registerIndices.removeUnsafe();
+                final long sequence = popSequence++;
+
+                if (registerIndex < 0) {
+                    nullCount--;
+                    continue;
+                }
+                // The popped value is the oldest in the window, so if it is still queued it is at the front
+                final long[] queue = queues[registerIndex];
+                final int head = queueHeads[registerIndex];
+                if (queueSizes[registerIndex] > 0 && (queue[head] >>> Byte.SIZE) == sequence) {
+                    final int oldValue = (int) (queue[head] & 0xFF);
+                    queueHeads[registerIndex] = (head + 1) & (queue.length - 1);
+                    queueSizes[registerIndex]--;
+                    updateHistogram(oldValue, frontValue(registerIndex));
+                }
+            }
+        }
+
+        @Override
+        public void writeToOutputChunk(int outIdx) {
+            if (!estimateValid) {
+                curVal = HyperLogLogSketch.estimate(precision, histogram);
+                estimateValid = true;
+            }
+            outputValues.set(outIdx, curVal);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            registerIndices.clear();
+            pushSequence = 0;
+            popSequence = 0;
+            Arrays.fill(queueSizes, (byte) 0);
+            Arrays.fill(histogram, 0);
+            histogram[0] = queues.length;
+            estimateValid = false;
+        }
+    }
+
+    @NotNull
+    @Override
+    public UpdateByOperator.Context makeUpdateContext(final int affectedChunkSize, final int influencerChunkSize) {
+        return new Context(affectedChunkSize, influencerChunkSize);
+    }
+
+    public RollingApproximateCountDistinctOperator(
+            @NotNull final MatchPair pair,
+            @NotNull final String[] affectingColumns,
+            @Nullable final String timestampColumnName,
+            final long reverseWindowScaleUnits,
+            final long forwardWindowScaleUnits,
+            final int precision) {
+        super(pair, affectingColumns, timestampColumnName, reverseWindowScaleUnits, forwardWindowScaleUnits, true);
+        this.precision = precision;
+    }
+
+    @Override
+    public UpdateByOperator copy() {
+        return new RollingApproximateCountDistinctOperator(pair,
+                affectingColumns,
+                timestampColumnName,
+                reverseWindowScaleUnits,
+                forwardWindowScaleUnits,
+                precision);
+    }
+}
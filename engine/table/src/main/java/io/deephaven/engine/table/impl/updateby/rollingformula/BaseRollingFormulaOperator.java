@@ -7,13 +7,16 @@ import io.deephaven.base.verify.Assert;
 import io.deephaven.chunk.*;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSequenceFactory;
 import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.table.*;
 import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
 import io.deephaven.engine.table.impl.select.FormulaUtil;
 import io.deephaven.engine.table.impl.sources.ArrayBackedColumnSource;
+import io.deephaven.engine.table.impl.sources.InMemoryColumnSource;
 import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
 import io.deephaven.engine.table.impl.sources.SparseArrayColumnSource;
 import io.deephaven.engine.table.impl.sources.WritableRedirectedColumnSource;
@@ -27,7 +30,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Map;
-import java.util.function.IntConsumer;
 
 abstract class BaseRollingFormulaOperator extends UpdateByOperator {
     protected final String PARAM_COLUMN_NAME = "__PARAM_COLUMN__";
@@ -49,12 +51,61 @@ abstract class BaseRollingFormulaOperator extends UpdateByOperator {
         protected final ChunkSink.FillFromContext outputFillContext;
         final WritableChunk<? extends Values> outputValues;
 
+        private ColumnSource<?> formulaOutputSource;
+        private ChunkSource.FillContext formulaFillContext;
+
         @SuppressWarnings("unused")
         protected Context(final int affectedChunkSize, final int influencerChunkSize) {
             outputFillContext = primitiveOutputSource.makeFillFromContext(affectedChunkSize);
             outputValues = outputChunkType.makeWritableChunk(affectedChunkSize);
         }
 
+        /**
+         * Bind a copy of the operator formula to {@code windowVectors}, one reusable window view per row of an
+         * affected chunk, so that {@link #evaluateFormula(int)} evaluates the windows of a whole chunk in one call.
+         *
+         * @param windowVectors The window views, indexed by position in the affected chunk
+         */
+        protected void initFormula(@NotNull final Vector<?>[] windowVectors) {
+            // Make a copy of the operator formula column.
+            final FormulaColumn formulaCopy = (FormulaColumn) formulaColumn.copy();
+
+            // Present the window views as a column, with one row per position in the affected chunk.
+            final ColumnSource<?> formulaInputSource = InMemoryColumnSource.getImmutableMemoryColumnSource(
+                    windowVectors, inputVectorType, tableDef.getColumn(pair.rightColumn).getDataType());
+            formulaCopy.initInputs(RowSetFactory.flat(windowVectors.length).toTracking(),
+                    Collections.singletonMap(PARAM_COLUMN_NAME, formulaInputSource));
+
+            formulaOutputSource = ReinterpretUtils.maybeConvertToPrimitive(formulaCopy.getDataView());
+            formulaFillContext = formulaOutputSource.makeFillContext(windowVectors.length);
+        }
+
+        /**
+         * Evaluate the formula over the first {@code len} window views into {@link #outputValues}. Must be called
+         * while the values of every window are still in the ring buffer.
+         *
+         * @param len The number of rows of the affected chunk to evaluate
+         */
+        protected void evaluateFormula(final int len) {
+            if (len == 0) {
+                return;
+            }
+            try (final RowSequence windows = RowSequenceFactory.forRange(0, len - 1)) {
+                formulaOutputSource.fillChunk(formulaFillContext, outputValues, windows);
+            }
+            if (outputValues.getChunkType() == ChunkType.Object) {
+                final WritableObjectChunk<Object, ? extends Values> results = outputValues.asWritableObjectChunk();
+                for (int ii = 0; ii < len; ii++) {
+                    if (results.get(ii) instanceof RingBufferVectorWrapper) {
+                        // Handle the rare (and probably not useful) case where the formula is an identity. We need to
+                        // copy the data in the RingBuffer and store that as a DirectVector. If not, we will point to
+                        // the live data in the ring.
+                        results.set(ii, ((Vector<?>) results.get(ii)).getDirect());
+                    }
+                }
+            }
+        }
+
         @Override
         public void accumulateCumulative(
                 @NotNull final RowSequence inputKeys,
@@ -84,6 +135,9 @@ abstract class BaseRollingFormulaOperator extends UpdateByOperator {
         public void close() {
             outputValues.close();
             outputFillContext.close();
+            if (formulaFillContext != null) {
+                formulaFillContext.close();
+            }
         }
     }
 
@@ -163,69 +217,6 @@ abstract class BaseRollingFormulaOperator extends UpdateByOperator {
         outputChunkType = primitiveOutputSource.getChunkType();
     }
 
-    protected static IntConsumer getChunkSetter(
-            final WritableChunk<? extends Values> valueChunk,
-            final ColumnSource<?> formulaOutputSource) {
-        final ChunkType chunkType = valueChunk.getChunkType();
-        if (chunkType == ChunkType.Boolean) {
-            throw new IllegalStateException(
-                    "Output chunk type should not be Boolean but should have been reinterpreted to byte");
-        }
-        if (chunkType == ChunkType.Byte) {
-            return i -> {
-                final WritableByteChunk<? extends Values> writableChunk = valueChunk.asWritableByteChunk();
-                writableChunk.set(i, formulaOutputSource.getByte(0));
-            };
-        }
-        if (chunkType == ChunkType.Char) {
-            return i -> {
-                final WritableCharChunk<? extends Values> writableChunk = valueChunk.asWritableCharChunk();
-                writableChunk.set(i, formulaOutputSource.getChar(0));
-            };
-        }
-        if (chunkType == ChunkType.Double) {
-            return i -> {
-                final WritableDoubleChunk<? extends Values> writableChunk = valueChunk.asWritableDoubleChunk();
-                writableChunk.set(i, formulaOutputSource.getDouble(0));
-            };
-        }
-        if (chunkType == ChunkType.Float) {
-            return i -> {
-                final WritableFloatChunk<? extends Values> writableChunk = valueChunk.asWritableFloatChunk();
-                writableChunk.set(i, formulaOutputSource.getFloat(0));
-            };
-        }
-        if (chunkType == ChunkType.Int) {
-            return i -> {
-                final WritableIntChunk<? extends Values> writableChunk = valueChunk.asWritableIntChunk();
-                writableChunk.set(i, formulaOutputSource.getInt(0));
-            };
-        }
-        if (chunkType == ChunkType.Long) {
-            return i -> {
-                final WritableLongChunk<? extends Values> writableChunk = valueChunk.asWritableLongChunk();
-                writableChunk.set(i, formulaOutputSource.getLong(0));
-            };
-        }
-        if (chunkType == ChunkType.Short) {
-            return i -> {
-                final WritableShortChunk<? extends Values> writableChunk = valueChunk.asWritableShortChunk();
-                writableChunk.set(i, formulaOutputSource.getShort(0));
-            };
-        }
-        return i -> {
-            final WritableObjectChunk<Object, ? extends Values> writableChunk = valueChunk.asWritableObjectChunk();
-            Object result = formulaOutputSource.get(0);
-            if (result instanceof RingBufferVectorWrapper) {
-                // Handle the rare (and probably not useful) case where the formula is an identity. We need to
-                // copy the data in the RingBuffer and store that as a DirectVector. If not, we will point to the
-                // live data in the ring.
-                result = ((Vector<?>) result).getDirect();
-            }
-            writableChunk.set(i, result);
-        };
-    }
-
     @Override
     public void startTrackingPrev() {
         outputSource.startTrackingPrevValues();
@@ -11,24 +11,18 @@ import io.deephaven.chunk.IntChunk;
 import io.deephaven.chunk.LongChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSequence;
-import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
-import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
-import io.deephaven.engine.table.impl.sources.SingleValueColumnSource;
 import io.deephaven.engine.table.impl.updateby.UpdateByOperator;
 import io.deephaven.engine.table.impl.updateby.rollingformula.ringbuffervectorwrapper.ObjectRingBufferVectorWrapper;
 import io.deephaven.util.BooleanUtils;
-import io.deephaven.vector.ObjectVector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.Map;
-import java.util.function.IntConsumer;
 
 import static io.deephaven.util.QueryConstants.NULL_INT;
 
@@ -41,8 +35,7 @@ public class BooleanRollingFormulaOperator extends BaseRollingFormulaOperator {
     private static final int BUFFER_INITIAL_CAPACITY = 128;
 
     protected class Context extends BaseRollingFormulaOperator.Context {
-        private final ColumnSource<?> formulaOutputSource;
-        private final IntConsumer outputSetter;
+        private final ObjectRingBufferVectorWrapper<?>[] windowVectors;
 
         private ByteChunk<? extends Values> influencerValuesChunk;
         /**
@@ -57,19 +50,12 @@ public class BooleanRollingFormulaOperator extends BaseRollingFormulaOperator {
 
             windowValues = new ObjectRingBuffer<>(BUFFER_INITIAL_CAPACITY, true);
 
-            // Make a copy of the operator formula column.
-            final FormulaColumn formulaCopy = (FormulaColumn) formulaColumn.copy();
-
-            // Create a single value column source of the appropriate type for the formula column input.
-            final SingleValueColumnSource<ObjectVector<?>> formulaInputSource =
-                    (SingleValueColumnSource<ObjectVector<?>>) SingleValueColumnSource
-                            .getSingleValueColumnSource(inputVectorType);
-            formulaInputSource.set(new ObjectRingBufferVectorWrapper(windowValues, inputVectorType));
-            formulaCopy.initInputs(RowSetFactory.flat(1).toTracking(),
-                    Collections.singletonMap(PARAM_COLUMN_NAME, formulaInputSource));
-
-            formulaOutputSource = formulaCopy.getDataView();
-            outputSetter = getChunkSetter(outputValues, formulaOutputSource);
+            // One reusable view per affected row, positioned over that row's window of the ring buffer.
+            windowVectors = new ObjectRingBufferVectorWrapper<?>[affectedChunkSize];
+            for (int ii = 0; ii < affectedChunkSize; ii++) {
+                windowVectors[ii] = new ObjectRingBufferVectorWrapper(windowValues, inputVectorType);
+            }
+            initFormula(windowVectors);
         }
 
         @Override
@@ -98,19 +84,23 @@ public class BooleanRollingFormulaOperator extends BaseRollingFormulaOperator {
 
             int pushIndex = 0;
 
+            // Values leaving the window stay in the ring buffer until the formula has been evaluated for the whole
+            // chunk, so that every row's window is a contiguous range of the buffer at the same time.
+            int popTotal = 0;
+
             // chunk processing
             for (int ii = 0; ii < len; ii++) {
                 final int pushCount = pushChunk.get(ii);
                 final int popCount = popChunk.get(ii);
 
                 if (pushCount == NULL_INT) {
-                    outputValues.fillWithNullValue(ii, 1);
+                    windowVectors[ii].setWindow(0, 0);
                     continue;
                 }
 
-                // pop for this row
+                // pop for this row, once the chunk has been evaluated
                 if (popCount > 0) {
-                    pop(popCount);
+                    popTotal += popCount;
                 }
 
                 // push for this row
@@ -119,8 +109,21 @@ public class BooleanRollingFormulaOperator extends BaseRollingFormulaOperator {
                     pushIndex += pushCount;
                 }
 
-                // If not empty (even if completely full of null), run the formula over the window values.
-                outputSetter.accept(ii);
+                // If not empty (even if completely full of null), the formula is run over the window values.
+                windowVectors[ii].setWindow(popTotal, windowValues.size() - popTotal);
+            }
+
+            // run the formula over every window of the chunk at once
+            evaluateFormula(len);
+            for (int ii = 0; ii < len; ii++) {
+                if (pushChunk.get(ii) == NULL_INT) {
+                    outputValues.fillWithNullValue(ii, 1);
+                }
+            }
+
+            // drop the values that have left the window
+            if (popTotal > 0) {
+                pop(popTotal);
             }
 
             // chunk output to column
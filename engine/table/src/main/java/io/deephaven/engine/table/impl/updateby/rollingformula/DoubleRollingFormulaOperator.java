@@ -15,24 +15,17 @@ import io.deephaven.chunk.IntChunk;
 import io.deephaven.chunk.LongChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSequence;
-import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
-import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
-import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
-import io.deephaven.engine.table.impl.sources.SingleValueColumnSource;
 import io.deephaven.engine.table.impl.updateby.UpdateByOperator;
 import io.deephaven.engine.table.impl.updateby.rollingformula.ringbuffervectorwrapper.DoubleRingBufferVectorWrapper;
-import io.deephaven.vector.DoubleVector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.Map;
-import java.util.function.IntConsumer;
 
 import static io.deephaven.util.QueryConstants.NULL_INT;
 
@@ -48,31 +41,22 @@ public class DoubleRollingFormulaOperator extends BaseRollingFormulaOperator {
     // endregion extra-fields
 
     protected class Context extends BaseRollingFormulaOperator.Context {
-        private final ColumnSource<?> formulaOutputSource;
-        private final IntConsumer outputSetter;
+        private final DoubleRingBufferVectorWrapper[] windowVectors;
 
         private DoubleChunk<? extends Values> influencerValuesChunk;
         private DoubleRingBuffer doubleWindowValues;
 
-        @SuppressWarnings("unchecked")
         protected Context(final int affectedChunkSize, final int influencerChunkSize) {
             super(affectedChunkSize, influencerChunkSize);
 
             doubleWindowValues = new DoubleRingBuffer(BUFFER_INITIAL_CAPACITY, true);
 
-            // Make a copy of the operator formula column.
-            final FormulaColumn formulaCopy = (FormulaColumn) formulaColumn.copy();
-
-            // Create a single value column source of the appropriate type for the formula column input.
-            final SingleValueColumnSource<DoubleVector> formulaInputSource =
-                    (SingleValueColumnSource<DoubleVector>) SingleValueColumnSource
-                            .getSingleValueColumnSource(inputVectorType);
-            formulaInputSource.set(new DoubleRingBufferVectorWrapper(doubleWindowValues));
-            formulaCopy.initInputs(RowSetFactory.flat(1).toTracking(),
-                    Collections.singletonMap(PARAM_COLUMN_NAME, formulaInputSource));
-
-            formulaOutputSource = ReinterpretUtils.maybeConvertToPrimitive(formulaCopy.getDataView());
-            outputSetter = getChunkSetter(outputValues, formulaOutputSource);
+            // One reusable view per affected row, positioned over that row's window of the ring buffer.
+            windowVectors = new DoubleRingBufferVectorWrapper[affectedChunkSize];
+            for (int ii = 0; ii < affectedChunkSize; ii++) {
+                windowVectors[ii] = new DoubleRingBufferVectorWrapper(doubleWindowValues);
+            }
+            initFormula(windowVectors);
         }
 
         @Override
@@ -101,19 +85,23 @@ public class DoubleRollingFormulaOperator extends BaseRollingFormulaOperator {
 
             int pushIndex = 0;
 
+            // Values leaving the window stay in the ring buffer until the formula has been evaluated for the whole
+            // chunk, so that every row's window is a contiguous range of the buffer at the same time.
+            int popTotal = 0;
+
             // chunk processing
             for (int ii = 0; ii < len; ii++) {
                 final int pushCount = pushChunk.get(ii);
                 final int popCount = popChunk.get(ii);
 
                 if (pushCount == NULL_INT) {
-                    outputValues.fillWithNullValue(ii, 1);
+                    windowVectors[ii].setWindow(0, 0);
                     continue;
                 }
 
-                // pop for this row
+                // pop for this row, once the chunk has been evaluated
                 if (popCount > 0) {
-                    pop(popCount);
+                    popTotal += popCount;
                 }
 
                 // push for this row
@@ -122,8 +110,21 @@ public class DoubleRollingFormulaOperator extends BaseRollingFormulaOperator {
                     pushIndex += pushCount;
                 }
 
-                // If not empty (even if completely full of null), run the formula over the window values.
-                outputSetter.accept(ii);
+                // If not empty (even if completely full of null), the formula is run over the window values.
+                windowVectors[ii].setWindow(popTotal, doubleWindowValues.size() - popTotal);
+            }
+
+            // run the formula over every window of the chunk at once
+            evaluateFormula(len);
+            for (int ii = 0; ii < len; ii++) {
+                if (pushChunk.get(ii) == NULL_INT) {
+                    outputValues.fillWithNullValue(ii, 1);
+                }
+            }
+
+            // drop the values that have left the window
+            if (popTotal > 0) {
+                pop(popTotal);
             }
 
             // chunk output to column
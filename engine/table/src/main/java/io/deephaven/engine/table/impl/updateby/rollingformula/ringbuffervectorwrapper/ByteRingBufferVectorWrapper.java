@@ -13,21 +13,44 @@ import io.deephaven.vector.ByteVector;
 import io.deephaven.vector.ByteVectorDirect;
 import io.deephaven.vector.ByteVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_BYTE;
+
+/**
+ * A {@link ByteVector} view of a contiguous window of a {@link ByteRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class ByteRingBufferVectorWrapper implements ByteVector, RingBufferVectorWrapper {
     private final ByteRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public ByteRingBufferVectorWrapper(final ByteRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public byte get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_BYTE;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class ByteRingBufferVectorWrapper implements ByteVector, RingBufferVector
 
     @Override
     public byte[] toArray() {
-        return ringBuffer.getAll();
+        final byte[] result = new byte[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public byte[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public ByteVector getDirect() {
-        return new ByteVectorDirect(ringBuffer.getAll());
+        return new ByteVectorDirect(toArray());
     }
 }
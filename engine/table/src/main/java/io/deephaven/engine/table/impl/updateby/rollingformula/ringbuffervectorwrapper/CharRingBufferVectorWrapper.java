@@ -9,21 +9,44 @@ import io.deephaven.vector.CharVector;
 import io.deephaven.vector.CharVectorDirect;
 import io.deephaven.vector.CharVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_CHAR;
+
+/**
+ * A {@link CharVector} view of a contiguous window of a {@link CharRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class CharRingBufferVectorWrapper implements CharVector, RingBufferVectorWrapper {
     private final CharRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public CharRingBufferVectorWrapper(final CharRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public char get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_CHAR;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -37,16 +60,20 @@ public class CharRingBufferVectorWrapper implements CharVector, RingBufferVector
 
     @Override
     public char[] toArray() {
-        return ringBuffer.getAll();
+        final char[] result = new char[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public char[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public CharVector getDirect() {
-        return new CharVectorDirect(ringBuffer.getAll());
+        return new CharVectorDirect(toArray());
     }
 }
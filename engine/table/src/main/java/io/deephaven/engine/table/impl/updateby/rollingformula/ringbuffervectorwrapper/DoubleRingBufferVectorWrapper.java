@@ -13,21 +13,44 @@ import io.deephaven.vector.DoubleVector;
 import io.deephaven.vector.DoubleVectorDirect;
 import io.deephaven.vector.DoubleVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_DOUBLE;
+
+/**
+ * A {@link DoubleVector} view of a contiguous window of a {@link DoubleRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class DoubleRingBufferVectorWrapper implements DoubleVector, RingBufferVectorWrapper {
     private final DoubleRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public DoubleRingBufferVectorWrapper(final DoubleRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public double get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_DOUBLE;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class DoubleRingBufferVectorWrapper implements DoubleVector, RingBufferVe
 
     @Override
     public double[] toArray() {
-        return ringBuffer.getAll();
+        final double[] result = new double[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public double[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public DoubleVector getDirect() {
-        return new DoubleVectorDirect(ringBuffer.getAll());
+        return new DoubleVectorDirect(toArray());
     }
 }
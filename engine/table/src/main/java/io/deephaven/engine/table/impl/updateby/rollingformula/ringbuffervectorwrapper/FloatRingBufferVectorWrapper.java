@@ -13,21 +13,44 @@ import io.deephaven.vector.FloatVector;
 import io.deephaven.vector.FloatVectorDirect;
 import io.deephaven.vector.FloatVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_FLOAT;
+
+/**
+ * A {@link FloatVector} view of a contiguous window of a {@link FloatRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class FloatRingBufferVectorWrapper implements FloatVector, RingBufferVectorWrapper {
     private final FloatRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public FloatRingBufferVectorWrapper(final FloatRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public float get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_FLOAT;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class FloatRingBufferVectorWrapper implements FloatVector, RingBufferVect
 
     @Override
     public float[] toArray() {
-        return ringBuffer.getAll();
+        final float[] result = new float[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public float[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public FloatVector getDirect() {
-        return new FloatVectorDirect(ringBuffer.getAll());
+        return new FloatVectorDirect(toArray());
     }
 }
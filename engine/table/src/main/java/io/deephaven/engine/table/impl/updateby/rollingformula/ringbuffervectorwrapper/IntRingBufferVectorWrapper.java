@@ -13,21 +13,44 @@ import io.deephaven.vector.IntVector;
 import io.deephaven.vector.IntVectorDirect;
 import io.deephaven.vector.IntVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_INT;
+
+/**
+ * A {@link IntVector} view of a contiguous window of a {@link IntRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class IntRingBufferVectorWrapper implements IntVector, RingBufferVectorWrapper {
     private final IntRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public IntRingBufferVectorWrapper(final IntRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public int get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_INT;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class IntRingBufferVectorWrapper implements IntVector, RingBufferVectorWr
 
     @Override
     public int[] toArray() {
-        return ringBuffer.getAll();
+        final int[] result = new int[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public int[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public IntVector getDirect() {
-        return new IntVectorDirect(ringBuffer.getAll());
+        return new IntVectorDirect(toArray());
     }
 }
@@ -13,21 +13,44 @@ import io.deephaven.vector.LongVector;
 import io.deephaven.vector.LongVectorDirect;
 import io.deephaven.vector.LongVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_LONG;
+
+/**
+ * A {@link LongVector} view of a contiguous window of a {@link LongRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class LongRingBufferVectorWrapper implements LongVector, RingBufferVectorWrapper {
     private final LongRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public LongRingBufferVectorWrapper(final LongRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public long get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_LONG;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class LongRingBufferVectorWrapper implements LongVector, RingBufferVector
 
     @Override
     public long[] toArray() {
-        return ringBuffer.getAll();
+        final long[] result = new long[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public long[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public LongVector getDirect() {
-        return new LongVectorDirect(ringBuffer.getAll());
+        return new LongVectorDirect(toArray());
     }
 }
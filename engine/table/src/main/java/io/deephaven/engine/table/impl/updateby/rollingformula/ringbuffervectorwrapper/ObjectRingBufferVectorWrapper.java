@@ -9,23 +9,44 @@ import io.deephaven.vector.ObjectVector;
 import io.deephaven.vector.ObjectVectorDirect;
 import io.deephaven.vector.ObjectVectorSlice;
 
+/**
+ * An {@link ObjectVector} view of a contiguous window of an {@link ObjectRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class ObjectRingBufferVectorWrapper<T> implements ObjectVector<T>, RingBufferVectorWrapper {
     private final ObjectRingBuffer<T> ringBuffer;
     private final Class<T> componentType;
+    private int offset;
+    private int size;
 
     public ObjectRingBufferVectorWrapper(final ObjectRingBuffer<T> ringBuffer, final Class<T> componentType) {
         this.ringBuffer = ringBuffer;
         this.componentType = componentType;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public T get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -40,17 +61,22 @@ public class ObjectRingBufferVectorWrapper<T> implements ObjectVector<T>, RingBu
 
     @Override
     public T[] toArray() {
-        return ringBuffer.getAll();
+        // noinspection unchecked
+        final T[] result = (T[]) new Object[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public T[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public ObjectVector<T> getDirect() {
-        return new ObjectVectorDirect<>(ringBuffer.getAll());
+        return new ObjectVectorDirect<>(toArray());
     }
 
     @Override
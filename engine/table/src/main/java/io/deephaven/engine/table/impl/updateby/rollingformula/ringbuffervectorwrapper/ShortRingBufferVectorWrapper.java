@@ -13,21 +13,44 @@ import io.deephaven.vector.ShortVector;
 import io.deephaven.vector.ShortVectorDirect;
 import io.deephaven.vector.ShortVectorSlice;
 
+import static io.deephaven.util.QueryConstants.NULL_SHORT;
+
+/**
+ * A {@link ShortVector} view of a contiguous window of a {@link ShortRingBuffer}, positioned with
+ * {@link #setWindow(int, int)}. The view reads the live ring buffer, so its contents are only valid until the
+ * window's values are removed from the buffer.
+ */
 public class ShortRingBufferVectorWrapper implements ShortVector, RingBufferVectorWrapper {
     private final ShortRingBuffer ringBuffer;
+    private int offset;
+    private int size;
 
     public ShortRingBufferVectorWrapper(final ShortRingBuffer ringBuffer) {
         this.ringBuffer = ringBuffer;
     }
 
+    /**
+     * Position this view over {@code size} values of the ring buffer, starting {@code offset} values from its front.
+     *
+     * @param offset The offset from the front of the ring buffer of the first value in the window
+     * @param size The number of values in the window
+     */
+    public void setWindow(final int offset, final int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
     @Override
     public long size() {
-        return ringBuffer.size();
+        return size;
     }
 
     @Override
     public short get(long index) {
-        return ringBuffer.front((int) index);
+        if (index < 0 || index >= size) {
+            return NULL_SHORT;
+        }
+        return ringBuffer.front(offset + (int) index);
     }
 
     @Override
@@ -41,16 +64,20 @@ public class ShortRingBufferVectorWrapper implements ShortVector, RingBufferVect
 
     @Override
     public short[] toArray() {
-        return ringBuffer.getAll();
+        final short[] result = new short[size];
+        for (int ii = 0; ii < size; ii++) {
+            result[ii] = ringBuffer.front(offset + ii);
+        }
+        return result;
     }
 
     @Override
     public short[] copyToArray() {
-        return ringBuffer.getAll();
+        return toArray();
     }
 
     @Override
     public ShortVector getDirect() {
-        return new ShortVectorDirect(ringBuffer.getAll());
+        return new ShortVectorDirect(toArray());
     }
 }
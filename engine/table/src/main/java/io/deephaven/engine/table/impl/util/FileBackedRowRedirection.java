@@ -0,0 +1,142 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.util;
+
+import io.deephaven.UncheckedDeephavenException;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The FileBackedRowRedirection is intended for flat output RowSets whose redirections are too large to hold on the
+ * heap, such as the result of an external sort.
+ * <p>
+ * Redirections are stored as consecutive native-order longs in a file, which is memory-mapped so that the operating
+ * system pages it in and out as needed. The file is deleted as soon as it has been mapped, so its storage is reclaimed
+ * when this row redirection is garbage collected (or, on platforms that cannot delete mapped files, at exit).
+ * <p>
+ * This WritableRowRedirection does not support mutation.
+ */
+public class FileBackedRowRedirection implements WritableRowRedirection {
+
+    /**
+     * Each mapped segment holds {@code 2^SEGMENT_SHIFT} redirections, to stay within the mapping size limit.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * The total size of the row redirection.
+     */
+    private final long size;
+    /**
+     * The mapped redirections; all segments but the last are full.
+     */
+    private final LongBuffer[] segments;
+
+    private FileBackedRowRedirection(final long size, @NotNull final LongBuffer[] segments) {
+        this.size = size;
+        this.segments = segments;
+    }
+
+    /**
+     * Map a file of {@code size} native-order longs as a row redirection from {@code [0, size)}, and delete the file.
+     *
+     * @param file The file to map
+     * @param size The number of redirections in the file
+     * @return The row redirection
+     */
+    public static FileBackedRowRedirection mapAndDelete(@NotNull final File file, final long size) {
+        final int numSegments = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        final LongBuffer[] segments = new LongBuffer[numSegments];
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < size * Long.BYTES) {
+                throw new IllegalStateException(String.format("File %s has %d bytes, expected at least %d",
+                        file, channel.size(), size * Long.BYTES));
+            }
+            for (int si = 0; si < numSegments; ++si) {
+                final long firstRedirection = (long) si << SEGMENT_SHIFT;
+                final long segmentSize = Math.min(size - firstRedirection, 1L << SEGMENT_SHIFT);
+                segments[si] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        firstRedirection * Long.BYTES, segmentSize * Long.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asLongBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedDeephavenException("Failed to map row redirection file " + file, e);
+        } finally {
+            // mapped segments remain valid once the file is deleted
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+        return new FileBackedRowRedirection(size, segments);
+    }
+
+    /**
+     * @return The number of redirections, for outer row keys {@code [0, size)}
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long get(final long outerRowKey) {
+        if (outerRowKey < 0 || outerRowKey >= size) {
+            return RowSequence.NULL_ROW_KEY;
+        }
+        return segments[(int) (outerRowKey >>> SEGMENT_SHIFT)].get((int) (outerRowKey & SEGMENT_MASK));
+    }
+
+    @Override
+    public long getPrev(final long outerRowKey) {
+        return get(outerRowKey);
+    }
+
+    @Override
+    public void fillChunk(
+            @NotNull final FillContext fillContext,
+            @NotNull final WritableChunk<? super RowKeys> innerRowKeys,
+            @NotNull final RowSequence outerRowKeys) {
+        final WritableLongChunk<? super RowKeys> innerRowKeysTyped = innerRowKeys.asWritableLongChunk();
+        innerRowKeysTyped.setSize(0);
+        outerRowKeys.forAllRowKeyRanges((final long start, final long end) -> {
+            for (long outerRowKey = start; outerRowKey <= end; ++outerRowKey) {
+                innerRowKeysTyped.add(get(outerRowKey));
+            }
+        });
+    }
+
+    @Override
+    public void fillPrevChunk(
+            @NotNull final FillContext fillContext,
+            @NotNull final WritableChunk<? super RowKeys> innerRowKeys,
+            @NotNull final RowSequence outerRowKeys) {
+        fillChunk(fillContext, innerRowKeys, outerRowKeys);
+    }
+
+    @Override
+    public long remove(long outerRowKey) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long put(long outerRowKey, long innerRowKey) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        // nothing to do, we are explicitly immutable
+    }
+}
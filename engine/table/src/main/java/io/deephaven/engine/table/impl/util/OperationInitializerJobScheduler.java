@@ -3,16 +3,22 @@
 //
 package io.deephaven.engine.table.impl.util;
 
+import io.deephaven.UncheckedDeephavenException;
 import io.deephaven.base.log.LogOutputAppendable;
 import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.exceptions.CancellationException;
 import io.deephaven.engine.table.impl.perf.BasePerformanceEntry;
+import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
 import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.io.log.impl.LogOutputStringImpl;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.process.ProcessEnvironment;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class OperationInitializerJobScheduler implements JobScheduler {
 
@@ -60,4 +66,48 @@ public class OperationInitializerJobScheduler implements JobScheduler {
     public int threadCount() {
         return operationInitializer.parallelismFactor();
     }
+
+    /**
+     * Invoke {@code action} for each index in {@code [0, count)} in parallel using the current
+     * {@link ExecutionContext}'s {@link OperationInitializer}, and block until all invocations have completed. Work done
+     * on other threads is accumulated into the enclosing performance nugget.
+     *
+     * @param description The description of the work, for logging and error messages
+     * @param count The number of invocations
+     * @param action The action to invoke with each index
+     * @throws CancellationException If the calling thread is interrupted while waiting
+     */
+    public static void iterateParallelAndWait(
+            @NotNull final String description,
+            final int count,
+            @NotNull final IntConsumer action) {
+        final JobScheduler jobScheduler = new OperationInitializerJobScheduler();
+        final CompletableFuture<Void> waitForResult = new CompletableFuture<>();
+        try {
+            jobScheduler.iterateParallel(ExecutionContext.getContext(),
+                    logOutput -> logOutput.append(description),
+                    JobScheduler.DEFAULT_CONTEXT_FACTORY, 0, count,
+                    (context, index, nestedErrorConsumer) -> action.accept(index),
+                    () -> waitForResult.complete(null),
+                    waitForResult::completeExceptionally);
+        } catch (Exception e) {
+            waitForResult.completeExceptionally(e);
+        }
+        try {
+            waitForResult.get();
+        } catch (InterruptedException e) {
+            throw new CancellationException("interrupted while " + description, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedDeephavenException("Failed " + description, cause);
+        } finally {
+            final BasePerformanceEntry baseEntry = jobScheduler.getAccumulatedPerformance();
+            if (baseEntry != null) {
+                QueryPerformanceRecorder.getInstance().getEnclosingNugget().accumulate(baseEntry);
+            }
+        }
+    }
 }
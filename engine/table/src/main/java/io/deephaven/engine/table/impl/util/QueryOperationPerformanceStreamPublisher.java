@@ -42,6 +42,8 @@ class QueryOperationPerformanceStreamPublisher implements StreamPublisher {
             ColumnDefinition.ofLong("CollectionTimeNanos"),
             ColumnDefinition.ofLong("AllocatedBytes"),
             ColumnDefinition.ofLong("PoolAllocatedBytes"),
+            ColumnDefinition.ofLong("RemoteReadRequests"),
+            ColumnDefinition.ofLong("RemoteReadBytes"),
             ColumnDefinition.ofLong("InputSizeLong"),
             ColumnDefinition.ofBoolean("WasInterrupted"),
             ColumnDefinition.ofString("AuthContext"));
@@ -134,14 +136,20 @@ class QueryOperationPerformanceStreamPublisher implements StreamPublisher {
         // ColumnDefinition.ofLong("PoolAllocatedBytes"),
         chunks[21].asWritableLongChunk().add(nugget.getPoolAllocatedBytes());
 
+        // ColumnDefinition.ofLong("RemoteReadRequests"),
+        chunks[22].asWritableLongChunk().add(nugget.getRemoteReadRequests());
+
+        // ColumnDefinition.ofLong("RemoteReadBytes"),
+        chunks[23].asWritableLongChunk().add(nugget.getRemoteReadBytes());
+
         // ColumnDefinition.ofLong("InputSizeLong"),
-        chunks[22].asWritableLongChunk().add(nugget.getInputSize());
+        chunks[24].asWritableLongChunk().add(nugget.getInputSize());
 
         // ColumnDefinition.ofBoolean("WasInterrupted")
-        chunks[23].asWritableByteChunk().add(BooleanUtils.booleanAsByte(nugget.wasInterrupted()));
+        chunks[25].asWritableByteChunk().add(BooleanUtils.booleanAsByte(nugget.wasInterrupted()));
 
         // ColumnDefinition.ofString("AuthContext")
-        chunks[24].<String>asWritableObjectChunk().add(Objects.toString(nugget.getAuthContext()));
+        chunks[26].<String>asWritableObjectChunk().add(Objects.toString(nugget.getAuthContext()));
 
         if (chunks[0].size() == CHUNK_SIZE) {
             flushInternal();
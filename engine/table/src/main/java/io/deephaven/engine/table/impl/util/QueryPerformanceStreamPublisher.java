@@ -38,6 +38,8 @@ class QueryPerformanceStreamPublisher implements StreamPublisher {
             ColumnDefinition.ofLong("CollectionTimeNanos"),
             ColumnDefinition.ofLong("AllocatedBytes"),
             ColumnDefinition.ofLong("PoolAllocatedBytes"),
+            ColumnDefinition.ofLong("RemoteReadRequests"),
+            ColumnDefinition.ofLong("RemoteReadBytes"),
             ColumnDefinition.ofBoolean("WasInterrupted"),
             ColumnDefinition.ofString("Exception"),
             ColumnDefinition.ofString("AuthContext"));
@@ -117,14 +119,20 @@ class QueryPerformanceStreamPublisher implements StreamPublisher {
         // ColumnDefinition.ofLong("PoolAllocatedBytes")
         chunks[16].asWritableLongChunk().add(nugget.getPoolAllocatedBytes());
 
+        // ColumnDefinition.ofLong("RemoteReadRequests")
+        chunks[17].asWritableLongChunk().add(nugget.getRemoteReadRequests());
+
+        // ColumnDefinition.ofLong("RemoteReadBytes")
+        chunks[18].asWritableLongChunk().add(nugget.getRemoteReadBytes());
+
         // ColumnDefinition.ofBoolean("WasInterrupted")
-        chunks[17].asWritableByteChunk().add(BooleanUtils.booleanAsByte(nugget.wasInterrupted()));
+        chunks[19].asWritableByteChunk().add(BooleanUtils.booleanAsByte(nugget.wasInterrupted()));
 
         // ColumnDefinition.ofString("Exception")
-        chunks[18].<String>asWritableObjectChunk().add(exception == null ? null : exception.getMessage());
+        chunks[20].<String>asWritableObjectChunk().add(exception == null ? null : exception.getMessage());
 
         // ColumnDefinition.ofString("AuthContext")
-        chunks[19].<String>asWritableObjectChunk().add(Objects.toString(nugget.getAuthContext()));
+        chunks[21].<String>asWritableObjectChunk().add(Objects.toString(nugget.getAuthContext()));
 
         if (chunks[0].size() == CHUNK_SIZE) {
             flushInternal();
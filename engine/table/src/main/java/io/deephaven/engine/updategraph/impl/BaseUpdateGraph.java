@@ -35,6 +35,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -596,6 +597,49 @@ public abstract class BaseUpdateGraph implements UpdateGraph, LogOutputAppendabl
         }
     }
 
+    /**
+     * Remove pending normal notifications that have become satisfied and pass them to {@code claimedConsumer}. This
+     * allows a notification processor thread that just completed a notification to claim the children it satisfied,
+     * rather than waiting for the refresh thread to find them. Nothing is claimed until update sources have been
+     * satisfied for the current step, as normal notification processing must not begin before that point.
+     * <p>
+     * Only the first {@code maxToScan} pending notifications are examined, so that the lock on
+     * {@link #pendingNormalNotifications} is held briefly; the refresh thread remains responsible for finding any
+     * satisfied notification that is not claimed. The consumer is invoked while holding that lock; it must account for
+     * the claimed notification as outstanding before returning, so that the refresh thread cannot observe a state in
+     * which the notification is neither pending nor outstanding.
+     *
+     * @param claimedConsumer The consumer for claimed notifications
+     * @param maxToScan The maximum number of pending notifications to examine
+     * @return The number of notifications claimed
+     */
+    int claimSatisfiedNotifications(@NotNull final Consumer<Notification> claimedConsumer, final int maxToScan) {
+        final long localSourcesLastSatisfiedStep = sourcesLastSatisfiedStep;
+        if (localSourcesLastSatisfiedStep != logicalClock.currentStep()) {
+            return 0;
+        }
+        int claimed = 0;
+        synchronized (pendingNormalNotifications) {
+            if (pendingNormalNotifications.isEmpty()
+                    || logicalClock.currentState() != LogicalClock.State.Updating) {
+                return 0;
+            }
+            int scanned = 0;
+            for (final Iterator<Notification> it = pendingNormalNotifications.iterator();
+                    it.hasNext() && scanned < maxToScan; ++scanned) {
+                final Notification notification = it.next();
+                if (notification.canExecute(localSourcesLastSatisfiedStep)) {
+                    it.remove();
+                    logDependencies().append(Thread.currentThread().getName())
+                            .append(": Claiming satisfied notification ").append(notification).endl();
+                    claimedConsumer.accept(notification);
+                    ++claimed;
+                }
+            }
+        }
+        return claimed;
+    }
+
     /**
      * Flush all {@link Notification#isTerminal() terminal} {@link Notification notifications} from the queue.
      *
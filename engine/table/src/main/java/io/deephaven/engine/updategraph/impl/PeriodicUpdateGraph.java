@@ -12,6 +12,8 @@ import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.liveness.LivenessScope;
 import io.deephaven.engine.liveness.LivenessScopeStack;
+import io.deephaven.engine.table.impl.perf.PerformanceEntry;
+import io.deephaven.engine.table.impl.perf.UpdatePerformanceTracker;
 import io.deephaven.engine.updategraph.*;
 import io.deephaven.engine.util.systemicmarking.SystemicObjectTracker;
 import io.deephaven.internal.log.LoggerFactory;
@@ -26,13 +28,16 @@ import io.deephaven.util.thread.ThreadInitializationFactory;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -117,6 +122,21 @@ public class PeriodicUpdateGraph extends BaseUpdateGraph {
     private final boolean interCycleYield =
             Configuration.getInstance().getBooleanWithDefault("PeriodicUpdateGraph.interCycleYield", false);
 
+    public static final String WORK_STEALING_NOTIFICATION_PROCESSOR_PROP =
+            "PeriodicUpdateGraph.workStealingNotificationProcessor";
+    /**
+     * If true, and there is more than one update thread, satisfied notifications are dispatched using a
+     * {@link WorkStealingNotificationProcessor} instead of a {@link ConcurrentNotificationProcessor}.
+     */
+    private final boolean workStealingNotificationProcessor =
+            Configuration.getInstance().getBooleanWithDefault(WORK_STEALING_NOTIFICATION_PROCESSOR_PROP, false);
+    /**
+     * The maximum number of pending notifications a {@link WorkStealingNotificationProcessor} worker examines when
+     * claiming the notifications satisfied by one that it completed.
+     */
+    private final int workStealingClaimScanLimit = Configuration.getInstance()
+            .getIntegerWithDefault("PeriodicUpdateGraph.workStealingClaimScanLimit", 64);
+
     public PeriodicUpdateGraph(
             final String name,
             final boolean allowUnitTestMode,
@@ -149,6 +169,9 @@ public class PeriodicUpdateGraph extends BaseUpdateGraph {
         if (updateThreads > 1) {
             final ThreadFactory threadFactory = new NotificationProcessorThreadFactory(
                     new ThreadGroup("PeriodicUpdateGraph-updateExecutors"), "updateExecutor");
+            if (workStealingNotificationProcessor) {
+                return new WorkStealingNotificationProcessor(threadFactory, updateThreads);
+            }
             return new ConcurrentNotificationProcessor(threadFactory, updateThreads);
         } else {
             return new QueueNotificationProcessor();
@@ -214,6 +237,8 @@ public class PeriodicUpdateGraph extends BaseUpdateGraph {
             return updateThreads;
         } else if (notificationProcessor instanceof ConcurrentNotificationProcessor) {
             return ((ConcurrentNotificationProcessor) notificationProcessor).threadCount();
+        } else if (notificationProcessor instanceof WorkStealingNotificationProcessor) {
+            return ((WorkStealingNotificationProcessor) notificationProcessor).threadCount();
         } else {
             return 1;
         }
@@ -504,6 +529,23 @@ public class PeriodicUpdateGraph extends BaseUpdateGraph {
         resetLock();
     }
 
+    /**
+     * Replace the notification processor with a {@link WorkStealingNotificationProcessor}, so that unit tests may
+     * exercise work stealing regardless of configuration. The next {@link #resetForUnitTests(boolean) reset} restores
+     * the configured notification processor.
+     *
+     * @param nThreads The number of work stealing threads
+     */
+    @TestUseOnly
+    public void useWorkStealingNotificationProcessorForUnitTests(final int nThreads) {
+        Assert.assertion(unitTestMode, "unitTestMode");
+        Assert.gt(nThreads, "nThreads", 1);
+        notificationProcessor.shutdown();
+        notificationProcessor = new WorkStealingNotificationProcessor(new NotificationProcessorThreadFactory(
+                new ThreadGroup("PeriodicUpdateGraph-workStealingUpdateExecutors"), "workStealingUpdateExecutor"),
+                nThreads);
+    }
+
     /**
      * Begin the next {@link LogicalClockImpl#startUpdateCycle() update cycle} while in {@link #enableUnitTestMode()
      * unit-test} mode. Note that this happens on a simulated UpdateGraph run thread, rather than this thread. This
@@ -934,6 +976,292 @@ public class PeriodicUpdateGraph extends BaseUpdateGraph {
         }
     }
 
+    /**
+     * A {@link NotificationProcessor} that gives each update thread its own deque of satisfied notifications, rather
+     * than having all threads contend on a single shared queue.
+     * <p>
+     * Notifications submitted by the refresh thread are distributed round-robin across the workers. Each worker pops
+     * from the tail of its own deque, and when that is empty steals from the head of the other workers' deques. After
+     * running a notification that enqueued children, a worker
+     * {@link BaseUpdateGraph#claimSatisfiedNotifications(Consumer, int) claims} pending notifications that have become
+     * satisfied onto its own deque, so that children are usually run by the thread that satisfied them without a round
+     * trip through the refresh thread. Only the head of the pending queue is examined; anything else is left to the
+     * refresh thread.
+     * <p>
+     * Steals, claims, and idle waits are counted across all workers, and reported to an
+     * {@link UpdatePerformanceTracker} entry each time the refresh thread waits for all work to complete, so that queue
+     * contention is visible in the update performance log.
+     */
+    private class WorkStealingNotificationProcessor implements NotificationProcessor {
+
+        private final Worker[] workers;
+
+        private final AtomicInteger outstandingNotifications = new AtomicInteger(0);
+        private final Semaphore pendingNormalNotificationsCheckNeeded = new Semaphore(0, false);
+
+        /**
+         * The number of notifications currently enqueued on any worker's deque.
+         */
+        private final AtomicInteger queuedNotifications = new AtomicInteger(0);
+        /**
+         * The number of workers that are (or are about to be) waiting on {@link #idleLock}.
+         */
+        private final AtomicInteger idleWorkers = new AtomicInteger(0);
+        private final Object idleLock = new Object();
+
+        private final AtomicInteger nextSubmissionWorker = new AtomicInteger(0);
+        private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+
+        private volatile boolean running = true;
+        private volatile boolean isHealthy = true;
+
+        private final LongAdder steals = new LongAdder();
+        private final LongAdder claims = new LongAdder();
+        private final LongAdder idleWaits = new LongAdder();
+        /**
+         * The entry that queue contention is reported to; only accessed by the refresh thread.
+         */
+        private PerformanceEntry workStealingEntry;
+
+        private class Worker {
+
+            private final int index;
+            private final Deque<Notification> satisfiedNotifications = new ConcurrentLinkedDeque<>();
+            private final Thread thread;
+            /**
+             * The number of notifications this worker has added to the pending queue; only accessed by its own thread.
+             */
+            private long notificationsAdded;
+
+            private Worker(@NotNull final ThreadFactory threadFactory, final int index) {
+                this.index = index;
+                thread = threadFactory.newThread(this::processSatisfiedNotifications);
+            }
+
+            private void processSatisfiedNotifications() {
+                log.info().append(Thread.currentThread().getName())
+                        .append(": starting to process satisfied notifications with work stealing");
+                currentWorker.set(this);
+                Notification satisfiedNotification = null;
+                try {
+                    while (running) {
+                        if ((satisfiedNotification = satisfiedNotifications.pollLast()) == null
+                                && (satisfiedNotification = steal()) == null) {
+                            awaitNotifications();
+                            continue;
+                        }
+                        queuedNotifications.decrementAndGet();
+
+                        final long notificationsAddedBefore = notificationsAdded;
+                        runNotification(satisfiedNotification);
+                        satisfiedNotification = null;
+                        if (notificationsAdded != notificationsAddedBefore) {
+                            final int claimed =
+                                    claimSatisfiedNotifications(this::enqueueClaimed, workStealingClaimScanLimit);
+                            if (claimed > 0) {
+                                claims.add(claimed);
+                                // we keep the first claimed notification for ourselves; the rest may be stolen
+                                wakeIdleWorkers(claimed - 1);
+                            }
+                        }
+                        outstandingNotifications.decrementAndGet();
+                        pendingNormalNotificationsCheckNeeded.release();
+                    }
+                } finally {
+                    if (satisfiedNotification != null) {
+                        // if we were thrown out of the loop; decrement / release after setting the unhealthy flag
+                        isHealthy = false;
+                        outstandingNotifications.decrementAndGet();
+                        pendingNormalNotificationsCheckNeeded.release();
+                    }
+                    currentWorker.remove();
+                    log.info().append(Thread.currentThread().getName()).append(": terminating");
+                }
+            }
+
+            private Notification steal() {
+                if (queuedNotifications.get() == 0) {
+                    return null;
+                }
+                for (int wi = 1; wi < workers.length; ++wi) {
+                    final Notification stolen = workers[(index + wi) % workers.length]
+                            .satisfiedNotifications.pollFirst();
+                    if (stolen != null) {
+                        steals.increment();
+                        return stolen;
+                    }
+                }
+                return null;
+            }
+
+            private void enqueueClaimed(@NotNull final Notification notification) {
+                // Must be counted as outstanding before the claim releases the pending notifications lock
+                outstandingNotifications.incrementAndGet();
+                queuedNotifications.incrementAndGet();
+                satisfiedNotifications.offerLast(notification);
+            }
+        }
+
+        public WorkStealingNotificationProcessor(@NotNull final ThreadFactory threadFactory,
+                final int updateThreadCount) {
+            workers = new Worker[updateThreadCount];
+            for (int wi = 0; wi < updateThreadCount; ++wi) {
+                workers[wi] = new Worker(threadFactory, wi);
+            }
+            for (final Worker worker : workers) {
+                worker.thread.start();
+            }
+        }
+
+        private void awaitNotifications() {
+            synchronized (idleLock) {
+                idleWorkers.incrementAndGet();
+                try {
+                    while (running && queuedNotifications.get() == 0) {
+                        idleWaits.increment();
+                        try {
+                            idleLock.wait();
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                } finally {
+                    idleWorkers.decrementAndGet();
+                }
+            }
+        }
+
+        private void wakeIdleWorker() {
+            wakeIdleWorkers(1);
+        }
+
+        private void wakeIdleWorkers(final int count) {
+            // Paired with the increment of idleWorkers before the check of queuedNotifications in awaitNotifications
+            if (count <= 0) {
+                return;
+            }
+            final int idle = idleWorkers.get();
+            if (idle == 0) {
+                return;
+            }
+            synchronized (idleLock) {
+                if (count >= idle) {
+                    idleLock.notifyAll();
+                } else {
+                    for (int wi = 0; wi < count; ++wi) {
+                        idleLock.notify();
+                    }
+                }
+            }
+        }
+
+        private void enqueue(@NotNull final Notification notification) {
+            final Worker worker = currentWorker.get();
+            final Worker target = worker != null
+                    ? worker
+                    : workers[Math.floorMod(nextSubmissionWorker.getAndIncrement(), workers.length)];
+            queuedNotifications.incrementAndGet();
+            target.satisfiedNotifications.offerLast(notification);
+        }
+
+        @Override
+        public void submit(@NotNull final Notification notification) {
+            outstandingNotifications.incrementAndGet();
+            enqueue(notification);
+            wakeIdleWorker();
+        }
+
+        @Override
+        public void submitAll(@NotNull IntrusiveDoublyLinkedQueue<Notification> notifications) {
+            outstandingNotifications.addAndGet(notifications.size());
+            Notification notification;
+            while ((notification = notifications.poll()) != null) {
+                enqueue(notification);
+            }
+            if (idleWorkers.get() > 0) {
+                synchronized (idleLock) {
+                    idleLock.notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public int outstandingNotificationsCount() {
+            return outstandingNotifications.get();
+        }
+
+        @Override
+        public void doWork() {
+            try {
+                pendingNormalNotificationsCheckNeeded.acquire();
+                // if a processing thread exits unexpectedly, propagate an error to the outer refresh thread
+                Assert.eqTrue(isHealthy, "isHealthy");
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        @Override
+        public void doAllWork() {
+            while (outstandingNotificationsCount() > 0) {
+                doWork();
+            }
+            // See ConcurrentNotificationProcessor.doAllWork; isHealthy is set prior to decrementing
+            // outstandingNotificationsCount, so we're guaranteed to read the correct value here.
+            Assert.eqTrue(isHealthy, "isHealthy");
+            reportWorkStealing();
+        }
+
+        private void reportWorkStealing() {
+            final long stealCount = steals.sumThenReset();
+            final long claimCount = claims.sumThenReset();
+            final long idleWaitCount = idleWaits.sumThenReset();
+            if (stealCount + claimCount + idleWaitCount == 0) {
+                return;
+            }
+            if (workStealingEntry == null) {
+                workStealingEntry = updatePerformanceTracker.getEntry(
+                        "PeriodicUpdateGraph Notification Work Stealing: " + getName());
+            }
+            workStealingEntry.onUpdateStart();
+            workStealingEntry.reportWorkStealing(stealCount, claimCount, idleWaitCount);
+            workStealingEntry.onUpdateEnd();
+        }
+
+        @Override
+        public void shutdown() {
+            running = false;
+            for (final Worker worker : workers) {
+                worker.satisfiedNotifications.clear();
+            }
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+            for (final Worker worker : workers) {
+                try {
+                    worker.thread.join();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+
+        @Override
+        public void onNotificationAdded() {
+            final Worker worker = currentWorker.get();
+            if (worker != null) {
+                ++worker.notificationsAdded;
+            }
+            pendingNormalNotificationsCheckNeeded.release();
+        }
+
+        @Override
+        public void beforeNotificationsDrained() {
+            pendingNormalNotificationsCheckNeeded.drainPermits();
+        }
+
+        int threadCount() {
+            return workers.length;
+        }
+    }
+
     @TestUseOnly
     private class ControlledNotificationProcessor implements NotificationProcessor {
 
@@ -8,6 +8,7 @@ import io.deephaven.api.Selectable;
 import io.deephaven.api.agg.Aggregation;
 import io.deephaven.api.agg.Count;
 import io.deephaven.api.agg.spec.AggSpec;
+import io.deephaven.api.agg.spec.AggSpecApproximateTopK;
 import io.deephaven.base.FileUtils;
 import io.deephaven.chunk.util.pools.ChunkPoolReleaseTracking;
 import io.deephaven.engine.context.ExecutionContext;
@@ -31,6 +32,7 @@ import io.deephaven.engine.table.impl.util.ColumnHolder;
 import io.deephaven.engine.testutil.*;
 import io.deephaven.engine.testutil.generator.*;
 import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.engine.testutil.sources.TestColumnSource;
 import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
 import io.deephaven.engine.util.TableDiff;
@@ -45,6 +47,7 @@ import io.deephaven.util.QueryConstants;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.mutable.MutableInt;
 import io.deephaven.vector.IntVector;
+import io.deephaven.vector.LongVector;
 import io.deephaven.vector.ObjectVector;
 import junit.framework.ComparisonFailure;
 import junit.framework.TestCase;
@@ -61,8 +64,11 @@ import java.math.BigInteger;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -196,6 +202,54 @@ public class QueryTableAggregationTest {
         individualStaticByTest(input6, control, "A", "B", "C");
     }
 
+    @Test
+    public void testParallelStaticAggregation() {
+        final long oldMinimum = ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS;
+        try {
+            ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS = 1000;
+            final Table input = emptyTable(100_000).update(
+                    "K=ii % 1000 == 0 ? null : Integer.toString((int) (ii * 7919 % 317))",
+                    "L=ii % 13",
+                    "I=ii % 11 == 0 ? NULL_INT : (int) (ii % 1009)",
+                    "D=ii % 17 == 0 ? NULL_DOUBLE : ii * 0.5",
+                    "W=(int) (ii % 5)",
+                    "U=ii * 31 % 100_003");
+            final List<Aggregation> supported = List.of(
+                    AggCount("N"),
+                    AggSum("SI=I", "SD=D"),
+                    AggAbsSum("ASD=D"),
+                    AggAvg("AI=I", "AD=D"),
+                    AggMin("MinI=I", "MinD=D"),
+                    AggMax("MaxI=I", "MaxK=K"),
+                    AggFirst("FI=I", "FD=D"),
+                    AggLast("LI=I", "LK=K"),
+                    AggVar("VI=I"),
+                    AggStd("StdD=D"),
+                    AggWAvg("W", "WAI=I"),
+                    AggWSum("W", "WSI=I"));
+            // Aggregations that can't be merged from partial results are computed serially
+            final List<Aggregation> unsupported = List.of(AggGroup("GI=I"), AggSum("SI=I"));
+            for (final List<Aggregation> aggs : List.of(supported, unsupported)) {
+                // Keys that are mostly distinct are aggregated serially
+                for (final String[] keys : new String[][] {{}, {"K"}, {"L", "K"}, {"U"}, {"L", "U"}}) {
+                    final Table expected;
+                    try (final SafeCloseable ignored = ExecutionContext.getContext()
+                            .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+                        expected = input.aggBy(aggs, keys);
+                    }
+                    // Use a copy of the input so that the serial result is not memoized
+                    final Table actual = input.select().aggBy(aggs, keys);
+                    // Floating point results may differ in the last bits, as partial results are summed in a
+                    // different order
+                    assertTableEquals(expected, actual, TableDiff.DiffItems.DoublesExact,
+                            TableDiff.DiffItems.DoubleFraction);
+                }
+            }
+        } finally {
+            ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS = oldMinimum;
+        }
+    }
+
     @Test
     public void testStaticGroupedByWithChunks() {
         final Table input1 = emptyTable(10000).update("A=Integer.toString(i % 5)", "B=i / 5");
@@ -2957,6 +3011,208 @@ public class QueryTableAggregationTest {
         }
     }
 
+    @Test
+    public void testApproximateCountDistinct() {
+        final Table input = emptyTable(200_000).update(
+                "Sym=(int) (ii % 4)",
+                "L=ii % 40_000",
+                "S=`s` + (ii % 3000)",
+                "D=ii % 7 == 0 ? NULL_DOUBLE : (ii % 9000) * 0.5");
+        final Table approximate = input.aggBy(List.of(
+                AggApproxCountDistinct("AL=L", "AS=S", "AD=D"),
+                AggApproxCountDistinct(14, "PL=L")), "Sym");
+        final Table exact = input.aggBy(AggCountDistinct("EL=L", "ES=S", "ED=D"), "Sym");
+        assertEquals(4, approximate.size());
+        for (final String[] names : new String[][] {{"AL", "EL"}, {"AS", "ES"}, {"AD", "ED"}, {"PL", "EL"}}) {
+            final long[] approximateCounts = ColumnVectors.ofLong(approximate, names[0]).toArray();
+            final long[] exactCounts = ColumnVectors.ofLong(exact, names[1]).toArray();
+            for (int ii = 0; ii < exactCounts.length; ++ii) {
+                final double error = Math.abs(approximateCounts[ii] - exactCounts[ii]) / (double) exactCounts[ii];
+                assertTrue(names[0] + " error " + error, error < 0.05);
+            }
+        }
+
+        // Sketches merged from slices are identical to sketches built serially
+        final Aggregation agg = AggApproxCountDistinct("AL=L", "AS=S", "AD=D");
+        final Table serial;
+        try (final SafeCloseable ignored = ExecutionContext.getContext()
+                .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+            serial = input.aggBy(agg, "Sym");
+        }
+        assertTableEquals(serial, aggByInParallelSlices(input, agg, 1000));
+    }
+
+    @Test
+    public void testApproximateCountDistinctIncremental() {
+        final Aggregation agg = AggApproxCountDistinct("AL=L");
+        testAddOnlyAndBlinkAggregation(random -> random.nextInt(5000), table -> table.aggBy(agg, "Sym"),
+                // Sketches are insensitive to the order in which values are added
+                (all, result) -> assertTableEquals(all.aggBy(agg, "Sym"), result));
+    }
+
+    /**
+     * Aggregate a static copy of {@code input} by {@code Sym}, with the parallel static aggregation slicing it into
+     * slices of at least {@code minimumSliceRows} rows.
+     */
+    private static Table aggByInParallelSlices(final Table input, final Aggregation agg, final long minimumSliceRows) {
+        final long oldMinimum = ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS;
+        try {
+            ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS = minimumSliceRows;
+            return input.select().aggBy(agg, "Sym");
+        } finally {
+            ChunkedOperatorAggregationHelper.MINIMUM_PARALLEL_AGGREGATION_SLICE_ROWS = oldMinimum;
+        }
+    }
+
+    /**
+     * Append random {@code Sym} and {@code L} rows to an add-only table and to a blink table over a series of update
+     * cycles, and after each cycle validate the result of {@code aggregate} for both tables against all rows appended
+     * so far.
+     *
+     * @param valueGenerator Generates each {@code L} value
+     * @param aggregate The aggregation under test
+     * @param validate Accepts all rows appended so far and the result for one of the tables
+     */
+    private static void testAddOnlyAndBlinkAggregation(
+            final ToLongFunction<Random> valueGenerator,
+            final Function<Table, Table> aggregate,
+            final BiConsumer<Table, Table> validate) {
+        final QueryTable addOnly = testRefreshingTable(i().toTracking(), intCol("Sym"), longCol("L"));
+        addOnly.setAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE, true);
+        final QueryTable blink = testRefreshingTable(i().toTracking(), intCol("Sym"), longCol("L"));
+        blink.setAttribute(Table.BLINK_TABLE_ATTRIBUTE, true);
+
+        final Table addOnlyResult = aggregate.apply(addOnly);
+        final Table blinkResult = aggregate.apply(blink);
+
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        final Random random = new Random(0);
+        final int stepSize = 1000;
+        final List<Table> history = new ArrayList<>();
+        for (int step = 0; step < 20; ++step) {
+            final int[] syms = new int[stepSize];
+            final long[] values = new long[stepSize];
+            for (int ii = 0; ii < stepSize; ++ii) {
+                syms[ii] = random.nextInt(3);
+                values[ii] = valueGenerator.applyAsLong(random);
+            }
+            history.add(newTable(intCol("Sym", syms), longCol("L", values)));
+            final RowSet added = RowSetFactory.fromRange((long) step * stepSize, (long) (step + 1) * stepSize - 1);
+            updateGraph.runWithinUnitTestCycle(() -> {
+                addToTable(addOnly, added, intCol("Sym", syms), longCol("L", values));
+                addOnly.notifyListeners(added, i(), i());
+
+                final RowSet removed = blink.getRowSet().copy();
+                removeRows(blink, removed);
+                addToTable(blink, added, intCol("Sym", syms), longCol("L", values));
+                blink.notifyListeners(added, removed, i());
+            });
+
+            final Table all = merge(history);
+            validate.accept(all, addOnlyResult);
+            validate.accept(all, blinkResult);
+        }
+    }
+
+    @Test
+    public void testApproximateTopKExact() {
+        // Value v occurs 2v + 1 times per block of 10,000 rows, and each Sym covers whole blocks, so there are no ties
+        final Table input = emptyTable(100_000).update(
+                "Sym=(int) ((ii / 10_000) % 4)",
+                "V=(int) Math.sqrt(ii % 10_000)",
+                "W=(long) V + 1");
+        // With capacity for every distinct value, nothing is evicted and the results are exact
+        final Supplier<AggSpecApproximateTopK.Builder> spec =
+                () -> AggSpecApproximateTopK.builder().k(5).capacity(100);
+        final ColumnName weight = ColumnName.of("W");
+        final Table approximate = input.aggBy(List.of(
+                Aggregation.of(spec.get().build(), "V"),
+                Aggregation.of(spec.get().counts(true).build(), "N=V"),
+                Aggregation.of(spec.get().weight(weight).build(), "WV=V"),
+                Aggregation.of(spec.get().weight(weight).counts(true).build(), "WW=V")), "Sym");
+
+        final Table expectedWeighted = input.view("Sym", "V", "W").sumBy("Sym", "V")
+                .sortDescending("W").headBy(5, "Sym")
+                .view("Sym", "WV=V", "WW=(double) W").groupBy("Sym");
+        final Table expected = input.countBy("N", "Sym", "V")
+                .sortDescending("N").headBy(5, "Sym").groupBy("Sym")
+                .naturalJoin(expectedWeighted, "Sym");
+        assertTableEquals(expected.sort("Sym"), approximate.sort("Sym"));
+    }
+
+    @Test
+    public void testApproximateTopK() {
+        // Half the rows are unique; the other half hold v in [0, 7], with 6, 5, 4, 3, 2 the most frequent
+        final int numRows = 200_000;
+        final Table input = emptyTable(numRows).update(
+                "Sym=(int) ((ii / 100) % 4)",
+                "V=ii % 100 < 50 ? (long) Math.sqrt(ii % 100) : 1000 + ii");
+        final Aggregation agg = Aggregation.of(AggApproxTopK(5, "V"), AggApproxTopKCounts(5, "N=V"));
+        final Table approximate = input.aggBy(agg, "Sym");
+        assertEquals(4, approximate.size());
+
+        // Consecutive frequencies differ by more than the maximum over-estimate, so the order is exact
+        final long groupRows = numRows / 4;
+        // The default capacity for k = 5 is 64
+        final long maximumError = groupRows / 64;
+        final ObjectVector<LongVector> items = ColumnVectors.ofObject(approximate, "V", LongVector.class);
+        final ObjectVector<LongVector> counts = ColumnVectors.ofObject(approximate, "N", LongVector.class);
+        for (int gi = 0; gi < 4; ++gi) {
+            assertArrayEquals(new long[] {6, 5, 4, 3, 2}, items.get(gi).toArray());
+            final long[] groupCounts = counts.get(gi).toArray();
+            for (int ii = 0; ii < groupCounts.length; ++ii) {
+                final long exactCount = (2L * (6 - ii) + 1) * groupRows / 100;
+                assertTrue(groupCounts[ii] >= exactCount && groupCounts[ii] <= exactCount + maximumError);
+            }
+        }
+
+        // Sketches merged from slices preserve the same guarantee
+        final Table parallel = aggByInParallelSlices(input, agg, 1000);
+        assertTableEquals(approximate.view("Sym", "V"), parallel.view("Sym", "V"));
+    }
+
+    @Test
+    public void testApproximateTopKMergeSmallGroups() {
+        // Every group holds fewer distinct values than the sketch capacity, so merged sketches are never full; value v
+        // occurs 2v + 1 times per block of 16 rows, so the overall counts have no ties
+        final Table input = emptyTable(10_000).update(
+                "Sym=(int) (ii % 7)",
+                "Sub=(int) (ii % 5)",
+                "V=(int) Math.sqrt(ii % 16)");
+        final Aggregation agg = Aggregation.of(AggApproxTopK(3, "V"), AggApproxTopKCounts(3, "N=V"));
+
+        // Higher rollup levels merge the sketches of the levels below
+        final Table root = input.rollup(List.of(agg), "Sym", "Sub").getRoot();
+        assertTableEquals(input.aggBy(agg).view("V", "N"), root.view("V", "N"));
+
+        // Slices of the parallel static aggregation merge their sketches into each group's empty sketch
+        final Table serial = input.aggBy(agg, "Sym");
+        final Table parallel = aggByInParallelSlices(input, agg, 100);
+        // counts are exact, but groups may order tied values differently
+        assertTableEquals(serial.view("Sym", "N").sort("Sym"), parallel.view("Sym", "N").sort("Sym"));
+    }
+
+    @Test
+    public void testApproximateTopKIncremental() {
+        // With capacity for every distinct value the counts are exact, but ties may be ordered differently
+        final Supplier<AggSpecApproximateTopK.Builder> spec =
+                () -> AggSpecApproximateTopK.builder().k(10).capacity(50);
+        final List<Aggregation> aggs = List.of(
+                Aggregation.of(spec.get().build(), "L"),
+                Aggregation.of(spec.get().counts(true).build(), "N=L"));
+        testAddOnlyAndBlinkAggregation(random -> (long) Math.sqrt(random.nextInt(2500)),
+                table -> table.aggBy(aggs, "Sym"),
+                (all, result) -> {
+                    final Table exactCounts = all.countBy("E", "Sym", "L");
+                    final Table expected = exactCounts
+                            .sortDescending("E").headBy(10, "Sym").view("Sym", "N=E").groupBy("Sym");
+                    assertTableEquals(expected.sort("Sym"), result.view("Sym", "N").sort("Sym"));
+                    // Ungrouped items line up with their counts
+                    assertEquals(0, result.snapshot().ungroup()
+                            .naturalJoin(exactCounts, "Sym, L", "E").where("N != E").size());
+                });
+    }
+
     @Test
     public void testMedianTypes() {
         final Boolean[] booleans = new Boolean[] {null, false, true};
@@ -12,6 +12,7 @@ import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.TrackingWritableRowSet;
 import io.deephaven.engine.table.ColumnDefinition;
+import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.indexer.DataIndexer;
@@ -24,8 +25,11 @@ import io.deephaven.engine.context.QueryScope;
 import io.deephaven.parquet.table.ParquetTools;
 import io.deephaven.engine.util.TableTools;
 import io.deephaven.engine.table.impl.select.IncrementalReleaseFilter;
+import io.deephaven.engine.table.impl.sources.RedirectedColumnSource;
 import io.deephaven.engine.table.impl.util.*;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.test.types.OutOfBandTest;
+import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.mutable.MutableInt;
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
@@ -894,4 +898,97 @@ public class QueryTableSortTest extends QueryTableTestBase {
         final Table sd = t.sortDescending("Key");
         assertNotSame(t.getRowSet(), sd.getRowSet());
     }
+
+    public void testExternalSort() throws IOException {
+        final Table source = emptyTable(50_000).update(
+                "Sentinel=ii",
+                "B=(byte)((ii * 17) % 200 - 100)",
+                "C=(ii % 71 == 0) ? NULL_CHAR : (char)('A' + (ii * 13) % 26)",
+                "S=(short)((ii * 7) % 3001 - 1500)",
+                "I=(ii % 97 == 0) ? NULL_INT : (int)((ii * 7919) % 1000)",
+                "L=(ii % 101 == 0) ? NULL_LONG : (ii * 104729) % 10007 - 5000",
+                "F=(ii % 89 == 0) ? Float.NaN : (ii % 83 == 0 ? NULL_FLOAT : (float)((ii * 3) % 101) / 3)",
+                "D=(ii % 89 == 0) ? Double.NaN : (ii % 83 == 0 ? NULL_DOUBLE : (double)((ii * 31) % 500) / 7)",
+                "T=(ii % 61 == 0) ? null : DateTimeUtils.epochNanosToInstant((ii * 65537) % 4096)");
+        final String[] sortColumns = {"B", "C", "S", "I", "L", "F", "D", "T"};
+
+        final Map<String, Table> expectedAscending = new LinkedHashMap<>();
+        final Map<String, Table> expectedDescending = new LinkedHashMap<>();
+        for (final String sortColumn : sortColumns) {
+            expectedAscending.put(sortColumn, source.sort(sortColumn).select());
+            expectedDescending.put(sortColumn, source.sortDescending(sortColumn).select());
+        }
+
+        final long externalSortSize = SortHelpers.externalSortSize;
+        final int externalSortRunSize = SortHelpers.externalSortRunSize;
+        final int externalSortMaxFanIn = SortHelpers.externalSortMaxFanIn;
+        final String externalSortDirectory = SortHelpers.externalSortDirectory;
+        final File spillDirectory = Files.createTempDirectory("QueryTableSortTest").toFile();
+        try {
+            // 50 runs merged 4 at a time, so that we exercise intermediate merge passes and carried over runs
+            SortHelpers.externalSortSize = 1;
+            SortHelpers.externalSortRunSize = 1000;
+            SortHelpers.externalSortMaxFanIn = 4;
+            SortHelpers.externalSortDirectory = spillDirectory.getAbsolutePath();
+
+            for (final String sortColumn : sortColumns) {
+                final Table ascending = source.sort(sortColumn);
+                assertTrue(((RedirectedColumnSource<?>) ascending.getColumnSource("Sentinel"))
+                        .getRowRedirection() instanceof FileBackedRowRedirection);
+                assertTableEquals(expectedAscending.get(sortColumn), ascending);
+                assertTableEquals(expectedDescending.get(sortColumn), source.sortDescending(sortColumn));
+            }
+
+            // Refreshing tables keep their sort state on the heap, so they always sort in memory
+            final QueryTable refreshing = (QueryTable) source.select();
+            refreshing.setRefreshing(true);
+            for (final String sortColumn : sortColumns) {
+                final Table ascending = refreshing.sort(sortColumn);
+                final ColumnSource<?> sentinel = ascending.getColumnSource("Sentinel");
+                assertFalse(sentinel instanceof RedirectedColumnSource && ((RedirectedColumnSource<?>) sentinel)
+                        .getRowRedirection() instanceof FileBackedRowRedirection);
+                assertTableEquals(expectedAscending.get(sortColumn), ascending);
+            }
+
+            // Spill files are deleted as they are merged, and the output file once it is mapped
+            assertEquals(0, Objects.requireNonNull(spillDirectory.list()).length);
+        } finally {
+            SortHelpers.externalSortSize = externalSortSize;
+            SortHelpers.externalSortRunSize = externalSortRunSize;
+            SortHelpers.externalSortMaxFanIn = externalSortMaxFanIn;
+            SortHelpers.externalSortDirectory = externalSortDirectory;
+            FileUtils.deleteRecursively(spillDirectory);
+        }
+    }
+
+    public void testParallelSort() {
+        final Table source = emptyTable(100_000).update(
+                "Sentinel=ii",
+                "B=(byte)((ii * 17) % 200 - 100)",
+                "C=(ii % 71 == 0) ? NULL_CHAR : (char)('A' + (ii * 13) % 26)",
+                "I=(ii % 97 == 0) ? NULL_INT : (int)((ii * 7919) % 1000)",
+                "L=(ii % 101 == 0) ? NULL_LONG : (ii * 104729) % 10007 - 5000",
+                "D=(ii % 89 == 0) ? Double.NaN : (ii % 83 == 0 ? NULL_DOUBLE : (double)((ii * 31) % 500) / 7)",
+                "Str=(ii % 53 == 0) ? null : Long.toString((ii * 7) % 907)",
+                "Bool=(ii % 3 == 0) ? null : ii % 3 == 1");
+        final String[] sortColumns = {"B", "C", "I", "L", "D", "Str", "Bool"};
+
+        final int parallelSortSize = SortHelpers.parallelSortSize;
+        try {
+            SortHelpers.parallelSortSize = 1000;
+            for (final String sortColumn : sortColumns) {
+                final Table expectedAscending;
+                final Table expectedDescending;
+                try (final SafeCloseable ignored = ExecutionContext.getContext()
+                        .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+                    expectedAscending = source.sort(sortColumn).select();
+                    expectedDescending = source.sortDescending(sortColumn).select();
+                }
+                assertTableEquals(expectedAscending, source.sort(sortColumn));
+                assertTableEquals(expectedDescending, source.sortDescending(sortColumn));
+            }
+        } finally {
+            SortHelpers.parallelSortSize = parallelSortSize;
+        }
+    }
 }
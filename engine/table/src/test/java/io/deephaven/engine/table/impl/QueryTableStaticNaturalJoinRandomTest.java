@@ -267,4 +267,100 @@ public class QueryTableStaticNaturalJoinRandomTest extends QueryTableTestBase {
             }
         }
     }
+
+    public void testNaturalJoinRandomStaticPartitioned() {
+        final JoinControl partitionedControl = new JoinControl() {
+            @Override
+            int staticNaturalJoinPartitions(final long leftSize, final long rightSize) {
+                return 8;
+            }
+        };
+        for (int leftSize = 10; leftSize <= 100_000; leftSize *= 100) {
+            for (int rightSize = 10; rightSize <= 100_000; rightSize *= 100) {
+                for (int seed = 0; seed < 2; ++seed) {
+                    for (Class<?> dataType : Arrays.asList(String.class, int.class, ArrayTuple.class)) {
+                        for (boolean flattenLeft : Arrays.asList(Boolean.TRUE, Boolean.FALSE)) {
+                            System.out.println("Seed = " + seed + ", leftSize=" + leftSize + ", rightSize=" + rightSize
+                                    + ", type=" + dataType + ", flattenLeft=" + flattenLeft);
+                            testNaturalJoinRandomStatic(seed, leftSize, rightSize, dataType, false, flattenLeft,
+                                    partitionedControl);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void testStaticNaturalJoinPartitionsAllUsed() {
+        final QueryTable singleKey = (QueryTable) TableTools.emptyTable(100_000).update("K=ii", "S=`s` + ii");
+        final List<ColumnSource<?>[]> keySourceSets = Arrays.asList(
+                new ColumnSource<?>[] {singleKey.getColumnSource("K")},
+                new ColumnSource<?>[] {singleKey.getColumnSource("S")},
+                new ColumnSource<?>[] {singleKey.getColumnSource("K"), singleKey.getColumnSource("S")});
+        for (final ColumnSource<?>[] keySources : keySourceSets) {
+            for (int numPartitions = 2; numPartitions <= 64; numPartitions *= 2) {
+                final RowSet[][] sliceRows = PartitionedStaticNaturalJoin.partition("test",
+                        singleKey.getRowSet(), keySources, numPartitions);
+                final long[] partitionSizes = new long[numPartitions];
+                for (final RowSet[] partitionRows : sliceRows) {
+                    assertEquals(numPartitions, partitionRows.length);
+                    for (int partition = 0; partition < numPartitions; ++partition) {
+                        if (partitionRows[partition] != null) {
+                            partitionSizes[partition] += partitionRows[partition].size();
+                            partitionRows[partition].close();
+                        }
+                    }
+                }
+                final long expectedSize = singleKey.size() / numPartitions;
+                for (int partition = 0; partition < numPartitions; ++partition) {
+                    assertTrue("keys=" + keySources.length + ", numPartitions=" + numPartitions + ", partition="
+                            + partition + ", size=" + partitionSizes[partition],
+                            partitionSizes[partition] > expectedSize / 2);
+                }
+                assertEquals(singleKey.size(), Arrays.stream(partitionSizes).sum());
+            }
+        }
+    }
+
+    public void testNaturalJoinStaticPartitionedErrors() {
+        final JoinControl partitionedControl = new JoinControl() {
+            @Override
+            int staticNaturalJoinPartitions(final long leftSize, final long rightSize) {
+                return 16;
+            }
+        };
+        final QueryTable left = (QueryTable) TableTools.emptyTable(10_000).update("K=ii % 1000");
+        final QueryTable right = (QueryTable) TableTools.emptyTable(1_000).update("K=ii", "V=ii * 2");
+
+        // Duplicate right keys are only an error if a left row matches them
+        final QueryTable rightWithDuplicate = (QueryTable) TableTools.merge(right,
+                TableTools.emptyTable(1).update("K=42L", "V=-1L"), TableTools.emptyTable(1).update("K=5000L", "V=-1L"),
+                TableTools.emptyTable(1).update("K=5000L", "V=-2L"));
+        try {
+            NaturalJoinHelper.naturalJoin(left, rightWithDuplicate, MatchPairFactory.getExpressions("K"),
+                    MatchPairFactory.getExpressions("V"), false, partitionedControl);
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Natural Join found duplicate right key for 42", e.getMessage());
+        }
+        final Table rightWithUnmatchedDuplicate = TableTools.merge(right,
+                TableTools.emptyTable(2).update("K=5000L", "V=-1L"));
+        assertTableEquals(left.naturalJoin(rightWithUnmatchedDuplicate.where("K < 5000"), "K", "V"),
+                NaturalJoinHelper.naturalJoin(left, (QueryTable) rightWithUnmatchedDuplicate,
+                        MatchPairFactory.getExpressions("K"), MatchPairFactory.getExpressions("V"), false,
+                        partitionedControl));
+
+        // Exact match requires every left row to match
+        try {
+            NaturalJoinHelper.naturalJoin(left, (QueryTable) right.where("K != 17"),
+                    MatchPairFactory.getExpressions("K"), MatchPairFactory.getExpressions("V"), true,
+                    partitionedControl);
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertEquals("Tables don't have one-to-one mapping - no mappings for key 17.", e.getMessage());
+        }
+        assertTableEquals(left.naturalJoin(right, "K", "V"),
+                NaturalJoinHelper.naturalJoin(left, right, MatchPairFactory.getExpressions("K"),
+                        MatchPairFactory.getExpressions("V"), true, partitionedControl));
+    }
 }
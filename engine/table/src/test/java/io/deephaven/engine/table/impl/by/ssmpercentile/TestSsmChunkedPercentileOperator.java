@@ -0,0 +1,74 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.by.ssmpercentile;
+
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.table.impl.by.IterativeChunkedAggregationOperator;
+import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
+import io.deephaven.test.types.ParallelTest;
+import org.junit.experimental.categories.Category;
+
+@Category(ParallelTest.class)
+public class TestSsmChunkedPercentileOperator extends RefreshingTableTestCase {
+    private static final int CHUNK_SIZE = 1000;
+    // enough distinct values for each half of the median to span several leaves
+    private static final int NUM_VALUES = 20 * CHUNK_SIZE;
+
+    public void testStateSizeAfterAddAndRemove() {
+        final SsmChunkedPercentileOperator operator = new SsmChunkedPercentileOperator(long.class, 0.5, true, "M");
+        operator.ensureCapacity(1);
+        try (final IterativeChunkedAggregationOperator.SingletonContext context =
+                operator.makeSingletonContext(CHUNK_SIZE);
+                final WritableLongChunk<Values> values = WritableLongChunk.makeWritableChunk(CHUNK_SIZE)) {
+            for (int first = 0; first < NUM_VALUES; first += CHUNK_SIZE) {
+                fill(values, first, 0);
+                operator.addChunk(context, CHUNK_SIZE, values, null, 0);
+            }
+            assertTrue(operator.stateSizeInBytes() > 0);
+
+            // removing the lowest values first makes the median rebalance its two halves on every chunk
+            for (int first = 0; first < NUM_VALUES; first += CHUNK_SIZE) {
+                fill(values, first, 0);
+                operator.removeChunk(context, CHUNK_SIZE, values, null, 0);
+            }
+            assertEquals(0, operator.stateSizeInBytes());
+        }
+    }
+
+    public void testStateSizeAfterModifyAndRemove() {
+        final SsmChunkedPercentileOperator operator = new SsmChunkedPercentileOperator(long.class, 0.25, false, "P");
+        operator.ensureCapacity(1);
+        try (final IterativeChunkedAggregationOperator.SingletonContext context =
+                operator.makeSingletonContext(CHUNK_SIZE);
+                final WritableLongChunk<Values> preValues = WritableLongChunk.makeWritableChunk(CHUNK_SIZE);
+                final WritableLongChunk<Values> postValues = WritableLongChunk.makeWritableChunk(CHUNK_SIZE)) {
+            for (int first = 0; first < NUM_VALUES; first += CHUNK_SIZE) {
+                fill(preValues, first, 0);
+                operator.addChunk(context, CHUNK_SIZE, preValues, null, 0);
+            }
+
+            // moving the lowest values above all others shifts values from the low half to the high half
+            for (int first = 0; first < NUM_VALUES; first += CHUNK_SIZE) {
+                fill(preValues, first, 0);
+                fill(postValues, first, NUM_VALUES);
+                operator.modifyChunk(context, CHUNK_SIZE, preValues, postValues, null, 0);
+            }
+            assertTrue(operator.stateSizeInBytes() > 0);
+
+            for (int first = 0; first < NUM_VALUES; first += CHUNK_SIZE) {
+                fill(postValues, first, NUM_VALUES);
+                operator.removeChunk(context, CHUNK_SIZE, postValues, null, 0);
+            }
+            assertEquals(0, operator.stateSizeInBytes());
+        }
+    }
+
+    private static void fill(final WritableLongChunk<Values> values, final int first, final long offset) {
+        for (int ii = 0; ii < CHUNK_SIZE; ++ii) {
+            values.set(ii, first + ii + offset);
+        }
+        values.setSize(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,201 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sort.radix;
+
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.sort.LongSortKernel;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.util.QueryConstants;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the radix sort kernels produce exactly the same row key order and values as the timsort kernels.
+ */
+public class TestRadixSortKernel {
+
+    private static final int SIZE = 50_000;
+    private static final int SEEDS = 5;
+
+    @Rule
+    public final EngineCleanup framework = new EngineCleanup();
+
+    @Test
+    public void testInt() {
+        checkAll(ChunkType.Int);
+    }
+
+    @Test
+    public void testLong() {
+        checkAll(ChunkType.Long);
+    }
+
+    @Test
+    public void testFloat() {
+        checkAll(ChunkType.Float);
+    }
+
+    @Test
+    public void testDouble() {
+        checkAll(ChunkType.Double);
+    }
+
+    private static void checkAll(final ChunkType chunkType) {
+        for (int seed = 0; seed < SEEDS; ++seed) {
+            for (final SortingOrder order : SortingOrder.values()) {
+                for (final int cardinality : new int[] {10, 1000, Integer.MAX_VALUE}) {
+                    final String description = chunkType + " " + order + " seed=" + seed + " cardinality="
+                            + cardinality;
+                    try (final WritableChunk<Values> values = makeValues(chunkType, new Random(seed), cardinality)) {
+                        checkSort(description, chunkType, order, values);
+                    }
+                }
+            }
+            // Nearly sorted values are delegated to timsort, but must still sort the same way
+            try (final WritableChunk<Values> nearlySorted = makeValues(chunkType, new Random(seed), Integer.MAX_VALUE);
+                    final LongSortKernel<Values, RowKeys> kernel =
+                            LongSortKernel.makeContext(chunkType, SortingOrder.Ascending, SIZE, true);
+                    final WritableLongChunk<RowKeys> rowKeys = makeRowKeys()) {
+                kernel.sort(rowKeys, nearlySorted);
+                checkSort(chunkType + " nearly sorted seed=" + seed, chunkType, SortingOrder.Ascending, nearlySorted);
+            }
+        }
+    }
+
+    private static void checkSort(
+            final String description,
+            final ChunkType chunkType,
+            final SortingOrder order,
+            final WritableChunk<Values> values) {
+        try (final WritableChunk<Values> expectedValues = chunkType.makeWritableChunk(SIZE);
+                final WritableLongChunk<RowKeys> expectedRowKeys = makeRowKeys();
+                final WritableChunk<Values> actualValues = chunkType.makeWritableChunk(SIZE);
+                final WritableLongChunk<RowKeys> actualRowKeys = makeRowKeys();
+                final LongSortKernel<Values, RowKeys> timsortKernel =
+                        LongSortKernel.makeContext(chunkType, order, SIZE, true);
+                final LongSortKernel<Values, RowKeys> radixKernel = makeRadixKernel(chunkType, order)) {
+            expectedValues.copyFromChunk(values, 0, 0, SIZE);
+            actualValues.copyFromChunk(values, 0, 0, SIZE);
+            timsortKernel.sort(expectedRowKeys, expectedValues);
+            radixKernel.sort(actualRowKeys, actualValues);
+            assertSame(description, expectedRowKeys, expectedValues, actualRowKeys, actualValues);
+
+            // Sort independent runs, some too short to radix sort, as a secondary column sort would
+            try (final WritableIntChunk<ChunkPositions> offsets = WritableIntChunk.makeWritableChunk(3);
+                    final WritableIntChunk<ChunkLengths> lengths = WritableIntChunk.makeWritableChunk(3)) {
+                offsets.set(0, 0);
+                lengths.set(0, 100);
+                offsets.set(1, 100);
+                lengths.set(1, SIZE / 2);
+                offsets.set(2, SIZE / 2 + 200);
+                lengths.set(2, SIZE / 2 - 200);
+                expectedValues.copyFromChunk(values, 0, 0, SIZE);
+                actualValues.copyFromChunk(values, 0, 0, SIZE);
+                fillRowKeys(expectedRowKeys);
+                fillRowKeys(actualRowKeys);
+                timsortKernel.sort(expectedRowKeys, expectedValues, offsets, lengths);
+                radixKernel.sort(actualRowKeys, actualValues, offsets, lengths);
+                assertSame(description + " runs", expectedRowKeys, expectedValues, actualRowKeys, actualValues);
+            }
+        }
+    }
+
+    private static LongSortKernel<Values, RowKeys> makeRadixKernel(
+            final ChunkType chunkType,
+            final SortingOrder order) {
+        switch (chunkType) {
+            case Int:
+            case Float:
+                return IntLongRadixSortKernel.createContext(chunkType, SIZE, order, true);
+            default:
+                return LongLongRadixSortKernel.createContext(chunkType, SIZE, order, true);
+        }
+    }
+
+    private static WritableLongChunk<RowKeys> makeRowKeys() {
+        final WritableLongChunk<RowKeys> rowKeys = WritableLongChunk.makeWritableChunk(SIZE);
+        fillRowKeys(rowKeys);
+        return rowKeys;
+    }
+
+    private static void fillRowKeys(final WritableLongChunk<RowKeys> rowKeys) {
+        for (int ii = 0; ii < SIZE; ++ii) {
+            rowKeys.set(ii, ii * 3L);
+        }
+    }
+
+    /**
+     * Make values with nulls, duplicates, and for floating point types, infinities, NaNs and both zeroes.
+     */
+    private static WritableChunk<Values> makeValues(final ChunkType chunkType, final Random random,
+            final int cardinality) {
+        final WritableChunk<Values> values = chunkType.makeWritableChunk(SIZE);
+        for (int ii = 0; ii < SIZE; ++ii) {
+            final int special = random.nextInt(100);
+            final long value = cardinality == Integer.MAX_VALUE ? random.nextLong() : random.nextInt(cardinality);
+            switch (chunkType) {
+                case Int:
+                    values.asWritableIntChunk().set(ii, special == 0 ? QueryConstants.NULL_INT : (int) value);
+                    break;
+                case Long:
+                    values.asWritableLongChunk().set(ii, special == 0 ? QueryConstants.NULL_LONG : value);
+                    break;
+                case Float:
+                    values.asWritableFloatChunk().set(ii, special < 8 ? SPECIAL_FLOATS[special]
+                            : cardinality == Integer.MAX_VALUE ? (float) random.nextGaussian() * 1e6f : value);
+                    break;
+                case Double:
+                    values.asWritableDoubleChunk().set(ii, special < 8 ? SPECIAL_DOUBLES[special]
+                            : cardinality == Integer.MAX_VALUE ? random.nextGaussian() * 1e12 : value);
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+        return values;
+    }
+
+    private static final float[] SPECIAL_FLOATS = {
+            QueryConstants.NULL_FLOAT, Float.NaN, Float.intBitsToFloat(0x7fc00001), Float.NEGATIVE_INFINITY,
+            Float.POSITIVE_INFINITY, 0.0f, -0.0f, Float.MIN_VALUE};
+    private static final double[] SPECIAL_DOUBLES = {
+            QueryConstants.NULL_DOUBLE, Double.NaN, Double.longBitsToDouble(0x7ff8000000000001L),
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0.0, -0.0, Double.MIN_VALUE};
+
+    private static void assertSame(
+            final String description,
+            final LongChunk<RowKeys> expectedRowKeys,
+            final Chunk<Values> expectedValues,
+            final LongChunk<RowKeys> actualRowKeys,
+            final Chunk<Values> actualValues) {
+        for (int ii = 0; ii < SIZE; ++ii) {
+            assertEquals(description + " row key at " + ii, expectedRowKeys.get(ii), actualRowKeys.get(ii));
+            assertEquals(description + " value at " + ii, rawBits(expectedValues, ii), rawBits(actualValues, ii));
+        }
+    }
+
+    private static long rawBits(final Chunk<Values> values, final int position) {
+        switch (values.getChunkType()) {
+            case Int:
+                return values.asIntChunk().get(position);
+            case Long:
+                return values.asLongChunk().get(position);
+            case Float:
+                return Float.floatToRawIntBits(values.asFloatChunk().get(position));
+            case Double:
+                return Double.doubleToRawLongBits(values.asDoubleChunk().get(position));
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+}
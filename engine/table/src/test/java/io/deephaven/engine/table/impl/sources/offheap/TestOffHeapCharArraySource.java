@@ -0,0 +1,103 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.offheap;
+
+import io.deephaven.chunk.WritableCharChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.table.ChunkSink;
+import io.deephaven.engine.table.ChunkSource;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.deephaven.util.QueryConstants.NULL_CHAR;
+import static junit.framework.TestCase.assertEquals;
+
+public class TestOffHeapCharArraySource {
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    private static char valueFor(final long key) {
+        return (char) ('a' + key % 26);
+    }
+
+    @Test
+    public void testDirect() {
+        testSource(new OffHeapCharArraySource(OffHeapBlockAllocator.DIRECT));
+    }
+
+    @Test
+    public void testMemoryMapped() throws IOException {
+        final Path directory = Files.createTempDirectory("TestOffHeapCharArraySource");
+        try {
+            testSource(new OffHeapCharArraySource(OffHeapBlockAllocator.memoryMapped(directory)));
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private void testSource(final OffHeapCharArraySource source) {
+        final int blockSize = 1 << source.logBlockSize;
+        final long size = blockSize * 2L + 17;
+        source.ensureCapacity(size);
+        assertEquals(NULL_CHAR, source.getChar(0));
+        assertEquals(NULL_CHAR, source.getChar(size + blockSize));
+
+        // Fill across block boundaries by ranges
+        try (final RowSet rows = RowSetFactory.flat(size);
+                final WritableCharChunk<Values> chunk = WritableCharChunk.makeWritableChunk((int) size);
+                final ChunkSink.FillFromContext fillFromContext = source.makeFillFromContext((int) size)) {
+            for (int ii = 0; ii < size; ++ii) {
+                chunk.set(ii, valueFor(ii));
+            }
+            source.fillFromChunk(fillFromContext, chunk, rows);
+        }
+        for (long key = 0; key < size; ++key) {
+            assertEquals(valueFor(key), source.getChar(key));
+        }
+
+        // Read back a sparse selection, including keys past the end of the source
+        try (final RowSet rows = RowSetFactory.fromKeys(0, 5, blockSize - 1, blockSize, size - 1, size + 3);
+                final WritableCharChunk<Values> chunk = WritableCharChunk.makeWritableChunk(rows.intSize());
+                final ChunkSource.FillContext fillContext = source.makeFillContext(rows.intSize())) {
+            source.fillChunk(fillContext, chunk, rows);
+            assertEquals(rows.intSize(), chunk.size());
+            final int lastPosition = rows.intSize() - 1;
+            for (int ii = 0; ii < lastPosition; ++ii) {
+                assertEquals(valueFor(rows.get(ii)), chunk.get(ii));
+            }
+            assertEquals(NULL_CHAR, chunk.get(lastPosition));
+        }
+
+        // Previous values are retained for the duration of a cycle
+        source.startTrackingPrevValues();
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(() -> {
+            source.set(blockSize, 'Z');
+            assertEquals('Z', source.getChar(blockSize));
+            assertEquals(valueFor(blockSize), source.getPrevChar(blockSize));
+            assertEquals(valueFor(blockSize + 1), source.getPrevChar(blockSize + 1));
+
+            try (final RowSet rows = RowSetFactory.fromRange(blockSize - 2, blockSize + 2);
+                    final WritableCharChunk<Values> chunk = WritableCharChunk.makeWritableChunk(rows.intSize());
+                    final ChunkSource.FillContext fillContext = source.makeFillContext(rows.intSize())) {
+                source.fillPrevChunk(fillContext, chunk, rows);
+                for (int ii = 0; ii < rows.intSize(); ++ii) {
+                    assertEquals(valueFor(rows.get(ii)), chunk.get(ii));
+                }
+                source.fillChunk(fillContext, chunk, rows);
+                assertEquals('Z', chunk.get(2));
+            }
+        });
+        assertEquals('Z', source.getPrevChar(blockSize));
+    }
+}
@@ -0,0 +1,90 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.sources.regioned;
+
+import io.deephaven.util.QueryConstants;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestColumnRegionStatistics {
+
+    @Test
+    public void testAllNull() {
+        final ColumnRegionStatistics stats = ColumnRegionStatistics.ALL_NULL;
+        assertTrue(stats.mayContain(null));
+        assertTrue(stats.mayContain(QueryConstants.NULL_INT_BOXED));
+        assertFalse(stats.mayContain(5));
+        assertTrue(stats.mayContainBetween(null, true, 5, true));
+        assertFalse(stats.mayContainBetween(null, false, 5, true));
+        assertFalse(stats.mayContainBetween(1, true, 5, true));
+        assertFalse(stats.mayContainAbove(1, true));
+        assertTrue(stats.mayContainBelow(1, true));
+    }
+
+    @Test
+    public void testIntBounds() {
+        final ColumnRegionStatistics stats = ColumnRegionStatistics.of(10, 20, false, null);
+        assertFalse(stats.mayContain(null));
+        assertFalse(stats.mayContain(QueryConstants.NULL_INT_BOXED));
+        assertFalse(stats.mayContain(9));
+        assertTrue(stats.mayContain(10));
+        assertTrue(stats.mayContain(20));
+        assertFalse(stats.mayContain(21));
+
+        assertTrue(stats.mayContainBetween(0, true, 10, true));
+        assertFalse(stats.mayContainBetween(0, true, 10, false));
+        assertTrue(stats.mayContainBetween(20, true, 30, true));
+        assertFalse(stats.mayContainBetween(20, false, 30, true));
+        assertTrue(stats.mayContainBetween(QueryConstants.NULL_INT_BOXED, true, 15, true));
+        assertFalse(stats.mayContainBetween(QueryConstants.NULL_INT_BOXED, true, QueryConstants.NULL_INT_BOXED, true));
+
+        assertTrue(stats.mayContainAbove(19, false));
+        assertFalse(stats.mayContainAbove(20, false));
+        assertTrue(stats.mayContainBelow(11, false));
+        assertFalse(stats.mayContainBelow(10, false));
+
+        // Values of a different type are never used to exclude
+        assertTrue(stats.mayContain(100L));
+    }
+
+    @Test
+    public void testFloatingPoint() {
+        final ColumnRegionStatistics stats = ColumnRegionStatistics.of(-0.0, Double.NaN, false, null);
+        assertTrue(stats.mayContain(0.0));
+        assertFalse(stats.mayContain(-1.0));
+        assertTrue(stats.mayContain(Double.NaN));
+        assertTrue(stats.mayContainAbove(1e300, true));
+        assertFalse(stats.mayContainBelow(0.0, false));
+        assertFalse(stats.mayContainBetween(-2.0, true, -1.0, true));
+    }
+
+    @Test
+    public void testStrings() {
+        final Set<String> values = Set.of("apple", "avocado", "banana");
+        final ColumnRegionStatistics stats = ColumnRegionStatistics.of("apple", "banana", true, () -> values::contains);
+        assertTrue(stats.mayContain(null));
+        assertTrue(stats.mayContain("avocado"));
+        assertFalse(stats.mayContain("apricot"));
+        assertFalse(stats.mayContain("cherry"));
+        assertTrue(stats.mayContainBetween("b", true, "c", true));
+        assertFalse(stats.mayContainBetween("c", true, "d", true));
+        // Supplementary characters may be ordered differently by the statistics writer
+        assertTrue(stats.mayContainBetween("😀", true, "😁", true));
+    }
+
+    @Test
+    public void testUnknownBounds() {
+        final ColumnRegionStatistics stats = ColumnRegionStatistics.ofMembershipTest(false, () -> "a"::equals);
+        assertFalse(stats.mayContain(null));
+        assertTrue(stats.mayContain("a"));
+        assertFalse(stats.mayContain("b"));
+        assertTrue(stats.mayContainBetween("x", true, "y", true));
+        assertTrue(stats.mayContainAbove("z", false));
+        assertFalse(stats.mayContainBetween(null, true, null, true));
+    }
+}
@@ -123,6 +123,48 @@ public class TestCharSegmentedSortedMultiset extends RefreshingTableTestCase {
         assertArrayEquals(Arrays.copyOfRange(data, 2, 20), ssm.subVector(2, 19).toArray()/*EXTRA*/);
     }
 
+    public void testCompaction() {
+        final int nodeSize = 8;
+        final CharSegmentedSortedMultiset ssm = new CharSegmentedSortedMultiset(nodeSize);
+
+        final char[] data = new char[100];
+        try (final WritableCharChunk<Values> valuesChunk = WritableCharChunk.makeWritableChunk(100);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(100)) {
+            for (int ii = 0; ii < 100; ii++) {
+                data[ii] = (char) ii;
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii]);
+            }
+            ssm.insert(valuesChunk, countsChunk);
+        }
+        final long fullSizeInBytes = ssm.sizeInBytes();
+        assertTrue(fullSizeInBytes > 0);
+
+        // removing all but three values should release the leaves and trim the remaining arrays
+        try (final WritableCharChunk<Values> valuesChunk = WritableCharChunk.makeWritableChunk(97);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(97)) {
+            for (int ii = 0; ii < 97; ii++) {
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii + 3]);
+            }
+            ssm.remove(SegmentedSortedMultiSet.makeRemoveContext(nodeSize), valuesChunk, countsChunk);
+        }
+        assertArrayEquals(Arrays.copyOfRange(data, 0, 3), ssm.toArray()/*EXTRA*/);
+        assertTrue(ssm.sizeInBytes() > 0);
+        assertTrue(ssm.sizeInBytes() < fullSizeInBytes / 10);
+
+        try (final WritableCharChunk<Values> valuesChunk = WritableCharChunk.makeWritableChunk(3);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(3)) {
+            for (int ii = 0; ii < 3; ii++) {
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii]);
+            }
+            ssm.remove(SegmentedSortedMultiSet.makeRemoveContext(nodeSize), valuesChunk, countsChunk);
+        }
+        assertEquals(0, ssm.size());
+        assertEquals(0, ssm.sizeInBytes());
+    }
+
     // region SortFixupSanityCheck
     public void testSanity() {
         QueryTable john = TstUtils.testRefreshingTable(TableTools.charCol("John", NULL_CHAR, NULL_CHAR, (char)0x0, (char)0x1, Character.MAX_VALUE, Character.MAX_VALUE));
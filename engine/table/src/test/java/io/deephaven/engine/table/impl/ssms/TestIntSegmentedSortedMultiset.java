@@ -126,6 +126,48 @@ public class TestIntSegmentedSortedMultiset extends RefreshingTableTestCase {
         assertArrayEquals(Arrays.copyOfRange(data, 2, 20), ssm.subVector(2, 19).toArray()/*EXTRA*/);
     }
 
+    public void testCompaction() {
+        final int nodeSize = 8;
+        final IntSegmentedSortedMultiset ssm = new IntSegmentedSortedMultiset(nodeSize);
+
+        final int[] data = new int[100];
+        try (final WritableIntChunk<Values> valuesChunk = WritableIntChunk.makeWritableChunk(100);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(100)) {
+            for (int ii = 0; ii < 100; ii++) {
+                data[ii] = (int) ii;
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii]);
+            }
+            ssm.insert(valuesChunk, countsChunk);
+        }
+        final long fullSizeInBytes = ssm.sizeInBytes();
+        assertTrue(fullSizeInBytes > 0);
+
+        // removing all but three values should release the leaves and trim the remaining arrays
+        try (final WritableIntChunk<Values> valuesChunk = WritableIntChunk.makeWritableChunk(97);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(97)) {
+            for (int ii = 0; ii < 97; ii++) {
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii + 3]);
+            }
+            ssm.remove(SegmentedSortedMultiSet.makeRemoveContext(nodeSize), valuesChunk, countsChunk);
+        }
+        assertArrayEquals(Arrays.copyOfRange(data, 0, 3), ssm.toArray()/*EXTRA*/);
+        assertTrue(ssm.sizeInBytes() > 0);
+        assertTrue(ssm.sizeInBytes() < fullSizeInBytes / 10);
+
+        try (final WritableIntChunk<Values> valuesChunk = WritableIntChunk.makeWritableChunk(3);
+             final WritableIntChunk<ChunkLengths> countsChunk = WritableIntChunk.makeWritableChunk(3)) {
+            for (int ii = 0; ii < 3; ii++) {
+                countsChunk.set(ii, 1);
+                valuesChunk.set(ii, data[ii]);
+            }
+            ssm.remove(SegmentedSortedMultiSet.makeRemoveContext(nodeSize), valuesChunk, countsChunk);
+        }
+        assertEquals(0, ssm.size());
+        assertEquals(0, ssm.sizeInBytes());
+    }
+
     // region SortFixupSanityCheck
     public void testSanity() {
         QueryTable john = TstUtils.testRefreshingTable(TableTools.intCol("John", NULL_INT, NULL_INT, (int)0x0, (int)0x1, Integer.MAX_VALUE, Integer.MAX_VALUE));
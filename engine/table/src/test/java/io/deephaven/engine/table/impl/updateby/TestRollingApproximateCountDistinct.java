@@ -0,0 +1,351 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.table.impl.updateby;
+
+import io.deephaven.api.updateby.UpdateByOperation;
+import io.deephaven.api.updateby.spec.RollingApproximateCountDistinctSpec;
+import io.deephaven.api.updateby.spec.WindowScale;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.by.HyperLogLogSketch;
+import io.deephaven.engine.table.vectors.ColumnVectors;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.EvalNugget;
+import io.deephaven.engine.testutil.GenerateTableUpdates;
+import io.deephaven.engine.testutil.TstUtils;
+import io.deephaven.engine.testutil.generator.CharGenerator;
+import io.deephaven.engine.testutil.generator.SortedInstantGenerator;
+import io.deephaven.engine.testutil.generator.TestDataGenerator;
+import io.deephaven.engine.util.TableTools;
+import io.deephaven.test.types.OutOfBandTest;
+import io.deephaven.time.DateTimeUtils;
+import io.deephaven.util.annotations.TestUseOnly;
+import io.deephaven.util.annotations.VisibleForTesting;
+import io.deephaven.vector.*;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static io.deephaven.util.QueryConstants.*;
+import static org.junit.Assert.assertTrue;
+
+@Category(OutOfBandTest.class)
+public class TestRollingApproximateCountDistinct extends BaseUpdateByTest {
+    final String[] columns = new String[] {
+            "boolCol",
+            "charCol",
+            "byteCol",
+            "shortCol",
+            "intCol",
+            "longCol",
+            "floatCol",
+            "doubleCol",
+            "bigIntCol",
+            "bigDecimalCol",
+    };
+
+    final int STATIC_TABLE_SIZE = 10_000;
+    final int DYNAMIC_TABLE_SIZE = 1_000;
+    final int DYNAMIC_UPDATE_SIZE = 100;
+    final int DYNAMIC_UPDATE_STEPS = 20;
+
+    final int PRECISION = 10;
+
+    private String[] getFormulas(String[] columns, int precision) {
+        return Arrays.stream(columns)
+                .map(c -> String.format("%s=approxCountDistinct(%s, %d)", c, c, precision))
+                .toArray(String[]::new);
+    }
+
+    // region Helper functions
+
+    /**
+     * Estimates from a fresh sketch of each window's values. The sliding sketch keeps the same register values as a
+     * fresh sketch of the window, so the estimates must match exactly.
+     */
+    @SuppressWarnings("unused") // Functions used via QueryLibrary
+    @VisibleForTesting
+    @TestUseOnly
+    public static class Helpers {
+
+        public static long approxCountDistinct(CharVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_CHAR) {
+                    sketch.add(HyperLogLogSketch.hash((long) values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(ByteVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_BYTE) {
+                    sketch.add(HyperLogLogSketch.hash((long) values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(ShortVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_SHORT) {
+                    sketch.add(HyperLogLogSketch.hash((long) values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(IntVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_INT) {
+                    sketch.add(HyperLogLogSketch.hash((long) values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(LongVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_LONG) {
+                    sketch.add(HyperLogLogSketch.hash(values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(FloatVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_FLOAT) {
+                    sketch.add(HyperLogLogSketch.hash((double) values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(DoubleVector values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != NULL_DOUBLE) {
+                    sketch.add(HyperLogLogSketch.hash(values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+
+        public static long approxCountDistinct(ObjectVector<?> values, int precision) {
+            if (values == null) {
+                return NULL_LONG;
+            }
+            final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+            for (long ii = 0; ii < values.size(); ii++) {
+                if (values.get(ii) != null) {
+                    sketch.add(HyperLogLogSketch.hash(values.get(ii)));
+                }
+            }
+            return sketch.estimate();
+        }
+    }
+
+    private UpdateByOperation rollingApproxCountDistinct(long prevTicks, long postTicks, String... pairs) {
+        return RollingApproximateCountDistinctSpec.of(WindowScale.ofTicks(prevTicks), WindowScale.ofTicks(postTicks),
+                PRECISION).clause(pairs);
+    }
+
+    private UpdateByOperation rollingApproxCountDistinct(String timestampCol, Duration prevTime, Duration postTime,
+            String... pairs) {
+        return RollingApproximateCountDistinctSpec.of(WindowScale.ofTime(timestampCol, prevTime),
+                WindowScale.ofTime(timestampCol, postTime), PRECISION).clause(pairs);
+    }
+
+    // endregion
+
+    // region Static Zero Key Tests
+
+    @Test
+    public void testStaticZeroKeyRev() {
+        doTestStaticZeroKey(100, 0);
+    }
+
+    @Test
+    public void testStaticZeroKeyFwdRevWindow() {
+        doTestStaticZeroKey(50, 50);
+    }
+
+    @Test
+    public void testStaticZeroKeyFwdExclusive() {
+        doTestStaticZeroKey(-50, 100);
+    }
+
+    @Test
+    public void testStaticZeroKeyLargeWindow() {
+        // Windows much larger than the number of registers exercise the dense end of the estimator
+        doTestStaticZeroKey(5000, 0);
+    }
+
+    @Test
+    public void testStaticZeroKeyTimedFwdRev() {
+        doTestStaticZeroKeyTimed(Duration.ofMinutes(10), Duration.ofMinutes(10));
+    }
+
+    private void doTestStaticZeroKey(final int prevTicks, final int postTicks) {
+        ExecutionContext.getContext().getQueryLibrary().importStatic(Helpers.class);
+
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, true, false, false, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)}).t;
+
+        final Table actual = t.updateBy(rollingApproxCountDistinct(prevTicks, postTicks, columns));
+        final Table expected = t.updateBy(UpdateByOperation.RollingGroup(prevTicks, postTicks, columns))
+                .update(getFormulas(columns, PRECISION));
+        TstUtils.assertTableEquals(expected, actual);
+    }
+
+    private void doTestStaticZeroKeyTimed(final Duration prevTime, final Duration postTime) {
+        ExecutionContext.getContext().getQueryLibrary().importStatic(Helpers.class);
+
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, false, false, false, 0xFFFABBBC,
+                new String[] {"ts", "charCol"}, new TestDataGenerator[] {new SortedInstantGenerator(
+                        DateTimeUtils.parseInstant("2022-03-09T09:00:00.000 NY"),
+                        DateTimeUtils.parseInstant("2022-03-09T16:30:00.000 NY")),
+                        new CharGenerator('A', 'z', 0.1)}).t;
+
+        final Table actual = t.updateBy(rollingApproxCountDistinct("ts", prevTime, postTime, columns));
+        final Table expected = t.updateBy(UpdateByOperation.RollingGroup("ts", prevTime, postTime, columns))
+                .update(getFormulas(columns, PRECISION));
+        TstUtils.assertTableEquals(expected, actual);
+    }
+
+    @Test
+    public void testStaticZeroKeyAccuracy() {
+        final int numDistinct = 37;
+        final Table t = TableTools.emptyTable(STATIC_TABLE_SIZE).update("x = ii % " + numDistinct);
+
+        final Table actual = t.updateBy(UpdateByOperation.RollingApproxCountDistinct(100, "x"));
+        final long[] estimates = ColumnVectors.ofLong(actual, "x").toArray();
+        for (int ii = 0; ii < estimates.length; ii++) {
+            // Small cardinalities are estimated almost exactly
+            final long exact = Math.min(ii + 1, numDistinct);
+            assertTrue("row " + ii + " estimate " + estimates[ii] + " for " + exact,
+                    Math.abs(estimates[ii] - exact) <= 1);
+        }
+    }
+
+    // endregion
+
+    // region Static Bucketed Tests
+
+    @Test
+    public void testStaticBucketedFwdRevWindow() {
+        ExecutionContext.getContext().getQueryLibrary().importStatic(Helpers.class);
+
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, true, false, false, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)}).t;
+
+        final Table actual = t.updateBy(rollingApproxCountDistinct(50, 50, columns), "Sym");
+        final Table expected = t.updateBy(UpdateByOperation.RollingGroup(50, 50, columns), "Sym")
+                .update(getFormulas(columns, PRECISION));
+        TstUtils.assertTableEquals(expected, actual);
+    }
+
+    // endregion
+
+    // region General Ticking Tests
+
+    @Test
+    public void testZeroKeyGeneralTickingRev() {
+        doTestTicking(false, 100, 0);
+    }
+
+    @Test
+    public void testZeroKeyGeneralTickingFwdRev() {
+        doTestTicking(false, 50, 50);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingRevExclusive() {
+        doTestTicking(true, 100, -50);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingFwdRev() {
+        doTestTicking(true, 50, 50);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingTimedFwdRev() {
+        final CreateResult result = createTestTable(DYNAMIC_TABLE_SIZE, true, false, true, 0x31313131,
+                new String[] {"ts", "charCol"}, new TestDataGenerator[] {new SortedInstantGenerator(
+                        DateTimeUtils.parseInstant("2022-03-09T09:00:00.000 NY"),
+                        DateTimeUtils.parseInstant("2022-03-09T16:30:00.000 NY")),
+                        new CharGenerator('A', 'z', 0.1)});
+        final QueryTable t = result.t;
+
+        final Duration prevTime = Duration.ofMinutes(10);
+        final Duration postTime = Duration.ofMinutes(10);
+        final EvalNugget[] nuggets = new EvalNugget[] {
+                EvalNugget.from(() -> t.updateBy(rollingApproxCountDistinct("ts", prevTime, postTime, columns), "Sym"))
+        };
+
+        final Random billy = new Random(0xB177B177);
+        for (int ii = 0; ii < DYNAMIC_UPDATE_STEPS; ii++) {
+            ExecutionContext.getContext().getUpdateGraph().<ControlledUpdateGraph>cast().runWithinUnitTestCycle(
+                    () -> GenerateTableUpdates.generateTableUpdates(DYNAMIC_UPDATE_SIZE, billy, t, result.infos));
+            TstUtils.validate("Table - step " + ii, nuggets);
+        }
+    }
+
+    private void doTestTicking(final boolean bucketed, final long prevTicks, final long fwdTicks) {
+        final CreateResult result = createTestTable(DYNAMIC_TABLE_SIZE, bucketed, false, true, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)});
+        final QueryTable t = result.t;
+
+        final EvalNugget[] nuggets = new EvalNugget[] {
+                EvalNugget.from(() -> bucketed
+                        ? t.updateBy(rollingApproxCountDistinct(prevTicks, fwdTicks, columns), "Sym")
+                        : t.updateBy(rollingApproxCountDistinct(prevTicks, fwdTicks, columns)))
+        };
+
+        final Random billy = new Random(0xB177B177);
+        for (int ii = 0; ii < DYNAMIC_UPDATE_STEPS; ii++) {
+            ExecutionContext.getContext().getUpdateGraph().<ControlledUpdateGraph>cast().runWithinUnitTestCycle(
+                    () -> GenerateTableUpdates.generateTableUpdates(DYNAMIC_UPDATE_SIZE, billy, t, result.infos));
+            TstUtils.validate("Table - step " + ii, nuggets);
+        }
+    }
+
+    // endregion
+}
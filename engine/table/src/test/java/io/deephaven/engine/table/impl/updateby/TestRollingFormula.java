@@ -9,6 +9,7 @@ import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.table.PartitionedTable;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.vectors.ColumnVectors;
 import io.deephaven.engine.testutil.ControlledUpdateGraph;
 import io.deephaven.engine.testutil.EvalNugget;
 import io.deephaven.engine.testutil.GenerateTableUpdates;
@@ -33,6 +34,7 @@ import java.util.Random;
 import static io.deephaven.engine.testutil.GenerateTableUpdates.generateAppends;
 import static io.deephaven.engine.testutil.testcase.RefreshingTableTestCase.simulateShiftAwareStep;
 import static io.deephaven.function.Basic.isNull;
+import static org.junit.Assert.assertEquals;
 
 @Category(OutOfBandTest.class)
 public class TestRollingFormula extends BaseUpdateByTest {
@@ -199,6 +201,37 @@ public class TestRollingFormula extends BaseUpdateByTest {
         doTestStaticZeroKeyTimed(prevTime, postTime);
     }
 
+    @Test
+    public void testStaticFloatingPointReductions() {
+        // RollingFormula reductions are computed by the rolling operators, which accumulate in a different order than
+        // the formula functions; the results may differ only in their low-order bits.
+        final double maxRelativeError = 1e-10;
+        final String[] floatingPointColumns = new String[] {"floatCol", "doubleCol"};
+
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, false, false, false, 0x31313131).t;
+
+        for (final String function : new String[] {"sum", "avg", "std"}) {
+            final Table actual = t.updateBy(
+                    UpdateByOperation.RollingFormula(100, 0, function + "(x)", "x", floatingPointColumns));
+            final Table expected = t.updateBy(UpdateByOperation.RollingGroup(100, 0, floatingPointColumns))
+                    .update(Arrays.stream(floatingPointColumns).map(c -> c + "=" + function + "(" + c + ")")
+                            .toArray(String[]::new));
+
+            for (final String column : floatingPointColumns) {
+                final double[] actualValues = ColumnVectors.ofDouble(actual, column).toArray();
+                final double[] expectedValues = ColumnVectors.ofDouble(expected, column).toArray();
+                assertEquals(expectedValues.length, actualValues.length);
+                for (int ii = 0; ii < expectedValues.length; ii++) {
+                    final double delta = isNull(expectedValues[ii]) || Double.isNaN(expectedValues[ii])
+                            ? 0
+                            : maxRelativeError * Math.abs(expectedValues[ii]);
+                    assertEquals(function + "(" + column + ") at row " + ii,
+                            expectedValues[ii], actualValues[ii], delta);
+                }
+            }
+        }
+    }
+
     private void doTestStaticZeroKey(final int prevTicks, final int postTicks) {
         final QueryTable t = createTestTable(STATIC_TABLE_SIZE, false, false, false, 0x31313131,
                 new String[] {"charCol"},
@@ -275,6 +308,22 @@ public class TestRollingFormula extends BaseUpdateByTest {
 
         TstUtils.assertTableEquals(expected, actual, TableDiff.DiffItems.DoublesExact);
 
+        ////////////////////////////////////////////////////////////////////////////////////////////////////
+        // Reductions computed by rolling operators vs. RollingGroup + reduction
+        ////////////////////////////////////////////////////////////////////////////////////////////////////
+
+        for (final String function : new String[] {"sum", "avg", "std", "count", "min", "max"}) {
+            actual = t.updateBy(
+                    UpdateByOperation.RollingFormula(prevTicks, postTicks, function + "( x )", "x", primitiveColumns));
+
+            updateStrings = Arrays.stream(primitiveColumns).map(c -> c + "=" + function + "(" + c + ")")
+                    .toArray(String[]::new);
+            expected = t.updateBy(UpdateByOperation.RollingGroup(prevTicks, postTicks, primitiveColumns))
+                    .update(updateStrings);
+
+            TstUtils.assertTableEquals(function, expected, actual, TableDiff.DiffItems.DoublesExact);
+        }
+
         ////////////////////////////////////////////////////////////////////////////////////////////////////
         // Identity vs. RollingGroup
         ////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -393,6 +442,22 @@ public class TestRollingFormula extends BaseUpdateByTest {
 
         TstUtils.assertTableEquals(expected, actual, TableDiff.DiffItems.DoublesExact);
 
+        ////////////////////////////////////////////////////////////////////////////////////////////////////
+        // Reductions computed by rolling operators vs. RollingGroup + reduction
+        ////////////////////////////////////////////////////////////////////////////////////////////////////
+
+        for (final String function : new String[] {"sum", "avg", "std", "count", "min", "max"}) {
+            actual = t.updateBy(UpdateByOperation.RollingFormula("ts", prevTime, postTime, function + "( x )", "x",
+                    primitiveColumns));
+
+            updateStrings = Arrays.stream(primitiveColumns).map(c -> c + "=" + function + "(" + c + ")")
+                    .toArray(String[]::new);
+            expected = t.updateBy(UpdateByOperation.RollingGroup("ts", prevTime, postTime, primitiveColumns))
+                    .update(updateStrings);
+
+            TstUtils.assertTableEquals(function, expected, actual, TableDiff.DiffItems.DoublesExact);
+        }
+
         ////////////////////////////////////////////////////////////////////////////////////////////////////
         // Identity vs. RollingGroup
         ////////////////////////////////////////////////////////////////////////////////////////////////////
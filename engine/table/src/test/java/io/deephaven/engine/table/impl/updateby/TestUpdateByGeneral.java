@@ -8,16 +8,24 @@ import io.deephaven.api.updateby.BadDataBehavior;
 import io.deephaven.api.updateby.OperationControl;
 import io.deephaven.api.updateby.UpdateByOperation;
 import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.TableUpdateListener;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.UpdateErrorReporter;
+import io.deephaven.engine.table.impl.perf.PerformanceEntry;
 import io.deephaven.engine.table.impl.util.AsyncClientErrorNotifier;
+import io.deephaven.engine.testutil.ColumnInfo;
 import io.deephaven.engine.testutil.ControlledUpdateGraph;
 import io.deephaven.engine.testutil.EvalNugget;
+import io.deephaven.engine.testutil.GenerateTableUpdates;
 import io.deephaven.engine.table.impl.TableDefaults;
 import io.deephaven.api.updateby.UpdateByControl;
 import io.deephaven.engine.testutil.TstUtils;
 import io.deephaven.engine.testutil.generator.CharGenerator;
+import io.deephaven.engine.testutil.generator.DoubleGenerator;
+import io.deephaven.engine.testutil.generator.IntGenerator;
+import io.deephaven.engine.testutil.generator.SetGenerator;
 import io.deephaven.engine.testutil.generator.TestDataGenerator;
 import io.deephaven.engine.testutil.generator.SortedInstantGenerator;
 import io.deephaven.engine.updategraph.TerminalNotification;
@@ -26,6 +34,7 @@ import io.deephaven.engine.util.TableTools;
 import io.deephaven.test.types.OutOfBandTest;
 import io.deephaven.time.DateTimeUtils;
 import io.deephaven.util.ExceptionDetails;
+import io.deephaven.util.SafeCloseable;
 import junit.framework.TestCase;
 import org.jetbrains.annotations.NotNull;
 import org.junit.After;
@@ -312,6 +321,103 @@ public class TestUpdateByGeneral extends BaseUpdateByTest implements UpdateError
         TstUtils.assertTableEquals("msg", table, memoryTable, TableDiff.DiffItems.DoublesExact);
     }
 
+    @Test
+    public void testParallelBucketBatches() {
+        // One bucket much larger than the rest, so that small buckets are batched together and the large bucket's
+        // operators are split across jobs
+        final Table formulaSource = TableTools.emptyTable(300_000).update(
+                "Sym=ii < 200000 ? `Large` : `S` + (ii % 5000)",
+                "ts=epochNanosToInstant(1600000000000000000L + ii * 1000000000L)",
+                "X=(ii % 97 == 0) ? NULL_DOUBLE : (double)((ii * 31) % 1000) / 7",
+                "Y=(int)((ii * 7919) % 1000)");
+        final Collection<? extends UpdateByOperation> clauses = List.of(
+                UpdateByOperation.RollingAvg(50, "AvgX=X", "AvgY=Y"),
+                UpdateByOperation.RollingSum("ts", Duration.ofMinutes(5), "SumX=X"),
+                UpdateByOperation.Ema(10, "EmaX=X"),
+                UpdateByOperation.CumSum("CumY=Y"));
+
+        // Formula columns are cached before processing; in-memory columns are processed directly
+        for (final Table source : List.of(formulaSource, formulaSource.select())) {
+            final Table expected;
+            try (final SafeCloseable ignored = ExecutionContext.getContext()
+                    .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+                expected = source.updateBy(clauses, "Sym").select();
+            }
+            TstUtils.assertTableEquals(expected, source.updateBy(clauses, "Sym"), TableDiff.DiffItems.DoublesExact);
+        }
+    }
+
+    @Test
+    public void testParallelBucketBatchesIncremental() {
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        // Update cycles only process buckets in parallel when the update graph has more than one thread
+        updateGraph.useWorkStealingNotificationProcessorForUnitTests(4);
+        final int oldBatchRows = UpdateBy.parallelBucketBatchRows;
+        try {
+            UpdateBy.parallelBucketBatchRows = 100;
+
+            // Half of the rows are in one large bucket, so that the large bucket's operators are split across jobs,
+            // and the rest are in small buckets that are batched together
+            final String[] symbols = new String[400];
+            for (int ii = 0; ii < symbols.length; ++ii) {
+                symbols[ii] = ii < 200 ? "Large" : "S" + ii;
+            }
+            final Random random = new Random(0);
+            final ColumnInfo<?, ?>[] columnInfo;
+            final QueryTable table = getTable(10_000, random, columnInfo = initColumnInfos(
+                    new String[] {"Sym", "X", "Y"},
+                    new SetGenerator<>(symbols),
+                    new DoubleGenerator(0, 1000, 0.1),
+                    new IntGenerator(0, 1000, 0.1)));
+
+            // Share the table's row set and sources, capturing the listener that processes its updates
+            final List<UpdateBy.UpdateByListener> updateByListeners = new ArrayList<>();
+            final QueryTable source = new QueryTable(table.getRowSet(), table.getColumnSourceMap()) {
+                @Override
+                public void addUpdateListener(@NotNull final TableUpdateListener listener) {
+                    if (listener instanceof UpdateBy.UpdateByListener) {
+                        updateByListeners.add((UpdateBy.UpdateByListener) listener);
+                    }
+                    super.addUpdateListener(listener);
+                }
+            };
+            source.setRefreshing(true);
+
+            final Collection<? extends UpdateByOperation> clauses = List.of(
+                    UpdateByOperation.RollingAvg(50, "AvgX=X", "AvgY=Y"),
+                    UpdateByOperation.RollingSum(20, "SumX=X"),
+                    UpdateByOperation.Ema(10, "EmaX=X"),
+                    UpdateByOperation.CumSum("CumY=Y"));
+            final Table actual = source.updateBy(clauses, "Sym");
+            TestCase.assertEquals(1, updateByListeners.size());
+
+            for (int step = 0; step < 10; ++step) {
+                updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateShiftAwareTableUpdates(
+                        GenerateTableUpdates.DEFAULT_PROFILE, 1000, random, source, columnInfo));
+
+                final Table expected;
+                try (final SafeCloseable ignored = ExecutionContext.getContext()
+                        .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+                    expected = source.snapshot().updateBy(clauses, "Sym");
+                }
+                TstUtils.assertTableEquals("step " + step, expected, actual, TableDiff.DiffItems.DoublesExact,
+                        TableDiff.DiffItems.DoubleFraction);
+            }
+
+            // Each operator's work during the update cycles is recorded, alone or with the other operators of its set
+            final Map<String, PerformanceEntry> entries = updateByListeners.get(0).getOperatorPerformanceEntries();
+            for (final String outputColumn : new String[] {"AvgX", "AvgY", "SumX", "EmaX", "CumY"}) {
+                TestCase.assertTrue(outputColumn, entries.keySet().stream().anyMatch(
+                        description -> description.contains(outputColumn)));
+            }
+            for (final PerformanceEntry entry : entries.values()) {
+                TestCase.assertTrue(entry.getDescription(), entry.getInvocationCount() > 0);
+            }
+        } finally {
+            UpdateBy.parallelBucketBatchRows = oldBatchRows;
+        }
+    }
+
     @Override
     public void reportUpdateError(Throwable t) {
         ExecutionContext.getContext().getUpdateGraph().addNotification(new TerminalNotification() {
@@ -0,0 +1,116 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.engine.updategraph.impl;
+
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.liveness.LivenessScopeStack;
+import io.deephaven.engine.table.PartitionedTable;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.ColumnInfo;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.EvalNugget;
+import io.deephaven.engine.testutil.EvalNuggetInterface;
+import io.deephaven.engine.testutil.generator.DoubleGenerator;
+import io.deephaven.engine.testutil.generator.IntGenerator;
+import io.deephaven.engine.testutil.generator.SetGenerator;
+import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
+import io.deephaven.engine.util.TableTools;
+import io.deephaven.test.types.OutOfBandTest;
+import io.deephaven.util.SafeCloseable;
+import org.junit.experimental.categories.Category;
+
+import java.util.Random;
+
+import static io.deephaven.engine.testutil.TstUtils.getTable;
+import static io.deephaven.engine.testutil.TstUtils.initColumnInfos;
+
+/**
+ * Runs incremental queries whose notifications depend on one another through the work stealing notification processor
+ * of {@link PeriodicUpdateGraph}, so that a notification run before its dependencies are satisfied, or lost between the
+ * pending queue and the workers, produces incorrect results.
+ */
+@Category(OutOfBandTest.class)
+public class TestWorkStealingNotificationProcessor extends RefreshingTableTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.useWorkStealingNotificationProcessorForUnitTests(4);
+    }
+
+    public void testDiamondDependencies() {
+        for (int seed = 0; seed < 5; ++seed) {
+            try (final SafeCloseable ignored = LivenessScopeStack.open()) {
+                testDiamondDependencies(seed);
+            }
+        }
+    }
+
+    private void testDiamondDependencies(final int seed) {
+        final int size = 100;
+        final Random random = new Random(seed);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable table = getTable(size, random, columnInfo = initColumnInfos(
+                new String[] {"Sym", "intCol", "doubleCol"},
+                new SetGenerator<>("a", "b", "c", "d", "e"),
+                new IntGenerator(10, 100),
+                new DoubleGenerator(0, 100)));
+
+        final EvalNuggetInterface[] en = new EvalNuggetInterface[] {
+                // both sides of the join depend on the source
+                EvalNugget.from(() -> table.update("X=intCol * 2")
+                        .naturalJoin(table.sumBy("Sym").view("Sym", "Total=doubleCol"), "Sym")),
+                // the merge depends on every branch
+                EvalNugget.Sorted.from(() -> TableTools.merge(
+                        table.where("intCol % 3 == 0").update("Branch=0"),
+                        table.where("intCol % 3 == 1").update("Branch=1"),
+                        table.where("intCol % 3 == 2").update("Branch=2")), "intCol", "doubleCol", "Sym"),
+                // a chain, each link of which must run after the previous one
+                EvalNugget.from(() -> table.update("A=intCol + 1").update("B=A + 1").update("C=B + 1")
+                        .update("D=C + 1").update("E=D + 1").where("E % 2 == 0").update("F=E + A")),
+                // a diamond at each level of the chain
+                EvalNugget.from(() -> {
+                    Table result = table.view("Sym", "V=intCol");
+                    for (int level = 0; level < 4; ++level) {
+                        result = result.naturalJoin(result.countBy("N", "Sym"), "Sym", "N" + level + "=N");
+                    }
+                    return result;
+                }),
+        };
+
+        for (int step = 0; step < 50; ++step) {
+            simulateShiftAwareStep(size, random, table, columnInfo, en);
+        }
+    }
+
+    public void testPartitionedTransformThenMerge() {
+        final int size = 200;
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable table = getTable(size, random, columnInfo = initColumnInfos(
+                new String[] {"Key", "intCol", "doubleCol"},
+                new IntGenerator(0, 20),
+                new IntGenerator(10, 100),
+                new DoubleGenerator(0, 100)));
+
+        // each constituent's notifications are independent of the others', and are satisfied together
+        final PartitionedTable partitionedTable = table.partitionBy("Key");
+        final ExecutionContext executionContext = ExecutionContext.makeExecutionContext(true);
+        final EvalNuggetInterface[] en = new EvalNuggetInterface[] {
+                EvalNugget.Sorted.from(() -> partitionedTable
+                        .transform(executionContext, t -> t.update("K2=Key * 2").update("K3=Key + K2"), true)
+                        .merge(), "Key", "intCol", "doubleCol"),
+                EvalNugget.Sorted.from(() -> partitionedTable
+                        .partitionedTransform(partitionedTable, executionContext,
+                                (l, r) -> l.naturalJoin(r.sumBy("Key").view("Key", "Total=doubleCol"), "Key"), true)
+                        .merge(), "Key", "intCol", "doubleCol"),
+        };
+
+        for (int step = 0; step < 50; ++step) {
+            simulateShiftAwareStep(size, random, table, columnInfo, en);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.barrage;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.ObjectChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.configuration.Configuration;
+import io.deephaven.util.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The dictionaries that have been sent to a single subscriber for its dictionary-encoded string columns. The dictionary
+ * of each column is identified by the column's position in the schema. Dictionaries are extended with delta batches
+ * as new values are sent; a dictionary that would grow beyond {@code BarrageDictionaries.maxDictionarySize} entries is
+ * instead replaced by one that holds only the values of the message being sent.
+ * <p>
+ * Only columns whose values repeat enough for a dictionary to be smaller than the values it replaces are encoded; see
+ * {@link #isWorthEncoding(List)}. The choice is fixed by the schema sent to the subscriber.
+ */
+public class BarrageDictionaries {
+    @VisibleForTesting
+    public static int maxDictionarySize = Configuration.getInstance()
+            .getIntegerForClassWithDefault(BarrageDictionaries.class, "maxDictionarySize", 1 << 16);
+
+    // the number of non-null values of a column that are sampled to decide whether to encode it
+    private static final int CARDINALITY_SAMPLE_SIZE = Configuration.getInstance()
+            .getIntegerForClassWithDefault(BarrageDictionaries.class, "cardinalitySampleSize", 4096);
+
+    /**
+     * The values that must be sent to the subscriber, in index order, before a message may refer to them.
+     */
+    public static class Update {
+        public final boolean isDelta;
+        public final List<String> values;
+
+        private Update(final boolean isDelta, final List<String> values) {
+            this.isDelta = isDelta;
+            this.values = values;
+        }
+    }
+
+    private final BitSet encodedColumns;
+    private final TObjectIntHashMap<String>[] dictionaries;
+
+    /**
+     * @param numColumns the number of columns in the schema
+     * @param encodedColumns the String columns that the schema declares to be dictionary encoded
+     */
+    @SuppressWarnings("unchecked")
+    public BarrageDictionaries(final int numColumns, final BitSet encodedColumns) {
+        this.encodedColumns = (BitSet) encodedColumns.clone();
+        dictionaries = new TObjectIntHashMap[numColumns];
+    }
+
+    /**
+     * Decide whether a String column is worth dictionary encoding, from a sample of its values. Encoding sends each
+     * distinct value once and a four byte index per row, in place of each row's UTF-8 payload; a column is encoded when
+     * its sampled distinct values are smaller than the sampled values they replace. A column without sampled values is
+     * encoded, as nothing suggests its values are unique.
+     *
+     * @param data the chunks of String values to sample
+     * @return whether the column should be dictionary encoded
+     */
+    public static boolean isWorthEncoding(final List<Chunk<Values>> data) {
+        final Set<String> distinctValues = new HashSet<>();
+        long distinctBytes = 0;
+        long sampledBytes = 0;
+        int numSampled = 0;
+        for (final Chunk<Values> chunk : data) {
+            final ObjectChunk<String, Values> strings = chunk.asObjectChunk();
+            for (int ii = 0; ii < strings.size() && numSampled < CARDINALITY_SAMPLE_SIZE; ++ii) {
+                final String value = strings.get(ii);
+                if (value == null) {
+                    continue;
+                }
+                ++numSampled;
+                sampledBytes += value.length();
+                if (distinctValues.add(value)) {
+                    distinctBytes += value.length();
+                }
+            }
+        }
+        // both encodings send a four byte offset or index per row; the dictionary adds an offset per distinct value
+        return distinctBytes + Integer.BYTES * (long) distinctValues.size() < sampledBytes || numSampled == 0;
+    }
+
+    /**
+     * @return the String columns that the schema declares to be dictionary encoded
+     */
+    public BitSet encodedColumns() {
+        return (BitSet) encodedColumns.clone();
+    }
+
+    /**
+     * @param columnIndex the column being sent
+     * @return whether the column is dictionary encoded
+     */
+    public boolean isEncoded(final int columnIndex) {
+        return encodedColumns.get(columnIndex);
+    }
+
+    /**
+     * Ensure the dictionary for a column holds every value that a message will send.
+     *
+     * @param columnIndex the column being sent
+     * @param messageValues the distinct non-null values the message will send for the column
+     * @return the dictionary batch to send before the message, or null if the dictionary already holds every value
+     */
+    public Update update(final int columnIndex, final Collection<String> messageValues) {
+        TObjectIntHashMap<String> dictionary = dictionaries[columnIndex];
+        if (dictionary == null) {
+            dictionary = dictionaries[columnIndex] = new TObjectIntHashMap<>(
+                    Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, -1);
+        }
+
+        final List<String> newValues = new ArrayList<>();
+        for (final String value : messageValues) {
+            if (!dictionary.containsKey(value)) {
+                newValues.add(value);
+            }
+        }
+        if (newValues.isEmpty()) {
+            return null;
+        }
+
+        final boolean isDelta;
+        final List<String> values;
+        if (dictionary.size() + newValues.size() > maxDictionarySize) {
+            dictionary.clear();
+            isDelta = false;
+            values = new ArrayList<>(messageValues);
+        } else {
+            isDelta = !dictionary.isEmpty();
+            values = newValues;
+        }
+        for (final String value : values) {
+            dictionary.put(value, dictionary.size());
+        }
+        return new Update(isDelta, values);
+    }
+
+    /**
+     * @param columnIndex the column being sent
+     * @param value a value that has been added to the column's dictionary
+     * @return the index of the value within the column's dictionary
+     */
+    public int indexOf(final int columnIndex, final String value) {
+        final int index = dictionaries[columnIndex].get(value);
+        if (index < 0) {
+            throw new IllegalStateException("Value has not been added to the dictionary of column " + columnIndex);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,120 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.barrage;
+
+import io.deephaven.extensions.barrage.util.StreamReaderOptions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The gRPC call headers that negotiate the serialization options the barrage flatbuffer schema does not define. A
+ * client sends them on the {@code DoExchange} call that carries its subscription or snapshot request; servers that do
+ * not know a header ignore it, and an absent header means the option's default.
+ */
+public final class BarrageOptionHeaders {
+    /**
+     * The header that requests a {@link BodyCompressionCodec}, by its case-insensitive name; for example
+     * {@code lz4_frame} or {@code zstd}. Servers decline codecs they do not recognize by sending raw bodies.
+     */
+    public static final String BODY_COMPRESSION = "x-deephaven-barrage-body-compression";
+
+    /**
+     * The header that requests dictionary encoding of String columns, with the value {@code true}. Applies to
+     * subscriptions only.
+     */
+    public static final String DICTIONARY_ENCODE_STRINGS = "x-deephaven-barrage-dictionary-encode-strings";
+
+    private BarrageOptionHeaders() {}
+
+    /**
+     * Get the headers that request the provided options; options that have their default value are omitted.
+     *
+     * @param options the options to request
+     * @return a map from header name to header value
+     */
+    public static Map<String, String> of(@NotNull final StreamReaderOptions options) {
+        final Map<String, String> headers = new LinkedHashMap<>();
+        if (options.bodyCompression() != BodyCompressionCodec.NONE) {
+            headers.put(BODY_COMPRESSION, options.bodyCompression().name().toLowerCase(Locale.ROOT));
+        }
+        if (options.dictionaryEncodeStrings()) {
+            headers.put(DICTIONARY_ENCODE_STRINGS, Boolean.TRUE.toString());
+        }
+        return headers;
+    }
+
+    /**
+     * Apply the options negotiated by a call's headers to the options of a subscription request sent on that call.
+     *
+     * @param options the options read from the subscription request
+     * @param headers a lookup from header name to header value, returning null for absent headers
+     * @return the options to serialize the subscription with
+     */
+    public static BarrageSubscriptionOptions apply(
+            @NotNull final BarrageSubscriptionOptions options,
+            @NotNull final Function<String, String> headers) {
+        return BarrageSubscriptionOptions.builder()
+                .useDeephavenNulls(options.useDeephavenNulls())
+                .columnConversionMode(options.columnConversionMode())
+                .minUpdateIntervalMs(options.minUpdateIntervalMs())
+                .batchSize(options.batchSize())
+                .maxMessageSize(options.maxMessageSize())
+                .columnsAsList(options.columnsAsList())
+                .bodyCompression(bodyCompression(headers))
+                .dictionaryEncodeStrings(dictionaryEncodeStrings(headers))
+                .build();
+    }
+
+    /**
+     * Apply the options negotiated by a call's headers to the options of a snapshot request sent on that call.
+     *
+     * @param options the options read from the snapshot request
+     * @param headers a lookup from header name to header value, returning null for absent headers
+     * @return the options to serialize the snapshot with
+     */
+    public static BarrageSnapshotOptions apply(
+            @NotNull final BarrageSnapshotOptions options,
+            @NotNull final Function<String, String> headers) {
+        return BarrageSnapshotOptions.builder()
+                .useDeephavenNulls(options.useDeephavenNulls())
+                .columnConversionMode(options.columnConversionMode())
+                .batchSize(options.batchSize())
+                .maxMessageSize(options.maxMessageSize())
+                .bodyCompression(bodyCompression(headers))
+                .build();
+    }
+
+    /**
+     * Read the body compression requested by a call's headers.
+     *
+     * @param headers a lookup from header name to header value, returning null for absent headers
+     * @return the requested body compression codec
+     */
+    static BodyCompressionCodec bodyCompression(@NotNull final Function<String, String> headers) {
+        final String value = headers.apply(BODY_COMPRESSION);
+        if (value == null) {
+            return BodyCompressionCodec.NONE;
+        }
+        try {
+            return BodyCompressionCodec.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException unknownCodec) {
+            return BodyCompressionCodec.NONE;
+        }
+    }
+
+    /**
+     * Read whether a call's headers request dictionary encoding of String columns.
+     *
+     * @param headers a lookup from header name to header value, returning null for absent headers
+     * @return whether String columns should be dictionary encoded
+     */
+    static boolean dictionaryEncodeStrings(@NotNull final Function<String, String> headers) {
+        final String value = headers.apply(DICTIONARY_ENCODE_STRINGS);
+        return value != null && Boolean.parseBoolean(value.trim());
+    }
+}
@@ -69,6 +69,20 @@ public abstract class BarrageSnapshotOptions implements StreamReaderOptions {
         return ColumnConversionMode.Stringify;
     }
 
+    /**
+     * Requesting clients can ask for the buffers of each record batch body to be compressed with an Arrow IPC codec.
+     * The server may decline, and buffers that are small or that do not compress well are always sent raw; readers
+     * decode whatever the record batch header declares. The codec is requested with the
+     * {@link BarrageOptionHeaders#BODY_COMPRESSION} call header, as the flatbuffer options do not define it.
+     *
+     * @return the body compression codec to request
+     */
+    @Override
+    @Default
+    public BodyCompressionCodec bodyCompression() {
+        return BodyCompressionCodec.NONE;
+    }
+
     public int appendTo(FlatBufferBuilder builder) {
         return io.deephaven.barrage.flatbuf.BarrageSnapshotOptions.createBarrageSnapshotOptions(
                 builder, ColumnConversionMode.conversionModeEnumToFb(columnConversionMode()), useDeephavenNulls(),
@@ -86,6 +100,8 @@ public abstract class BarrageSnapshotOptions implements StreamReaderOptions {
 
         Builder maxMessageSize(int messageSize);
 
+        Builder bodyCompression(BodyCompressionCodec bodyCompression);
+
         BarrageSnapshotOptions build();
     }
 }
@@ -55,6 +55,20 @@ public interface BarrageStreamGenerator extends SafeCloseable {
      */
     BarrageMessage getMessage();
 
+    /**
+     * @return the number of column payloads that {@link #computeColumnPayload(int)} accepts
+     */
+    int numColumnPayloads();
+
+    /**
+     * Compute one column payload of the message ahead of the views that share it. Payloads are otherwise computed by
+     * the first view that needs them; computing them concurrently keeps wide messages from being serialized one column
+     * at a time. This may be called concurrently for different payloads.
+     *
+     * @param payloadIndex the payload to compute, in {@code [0, numColumnPayloads())}
+     */
+    void computeColumnPayload(int payloadIndex) throws IOException;
+
     /**
      * Obtain a Full-Subscription View of this StreamGenerator that can be sent to a single subscriber.
      *
@@ -78,6 +92,23 @@ public interface BarrageStreamGenerator extends SafeCloseable {
     MessageView getSubView(BarrageSubscriptionOptions options, boolean isInitialSnapshot, @Nullable RowSet viewport,
             boolean reverseViewport, @Nullable RowSet keyspaceViewport, BitSet subscribedColumns);
 
+    /**
+     * Obtain a View of this StreamGenerator that can be sent to a single subscriber whose String columns are
+     * dictionary encoded.
+     *
+     * @param options serialization options for this specific view
+     * @param isInitialSnapshot indicates whether or not this is the first snapshot for the listener
+     * @param viewport is the position-space viewport
+     * @param reverseViewport is the viewport reversed (relative to end of table instead of beginning)
+     * @param keyspaceViewport is the key-space viewport
+     * @param subscribedColumns are the columns subscribed for this view
+     * @param dictionaries the dictionaries already sent to the subscriber, or null to send String columns unencoded
+     * @return a MessageView filtered by the subscription properties that can be sent to that subscriber
+     */
+    MessageView getSubView(BarrageSubscriptionOptions options, boolean isInitialSnapshot, @Nullable RowSet viewport,
+            boolean reverseViewport, @Nullable RowSet keyspaceViewport, BitSet subscribedColumns,
+            @Nullable BarrageDictionaries dictionaries);
+
     /**
      * Obtain a Full-Snapshot View of this StreamGenerator that can be sent to a single requestor.
      *
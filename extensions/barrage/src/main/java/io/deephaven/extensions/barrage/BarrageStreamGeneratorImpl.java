@@ -14,9 +14,13 @@ import io.deephaven.barrage.flatbuf.BarrageMessageType;
 import io.deephaven.barrage.flatbuf.BarrageMessageWrapper;
 import io.deephaven.barrage.flatbuf.BarrageModColumnMetadata;
 import io.deephaven.barrage.flatbuf.BarrageUpdateMetadata;
+import io.deephaven.chunk.Chunk;
 import io.deephaven.chunk.ChunkType;
+import io.deephaven.chunk.ObjectChunk;
 import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.WritableIntChunk;
 import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.WritableObjectChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.chunk.sized.SizedChunk;
 import io.deephaven.chunk.sized.SizedLongChunk;
@@ -27,6 +31,7 @@ import io.deephaven.engine.table.impl.util.BarrageMessage;
 import io.deephaven.extensions.barrage.chunk.ChunkInputStreamGenerator;
 import io.deephaven.extensions.barrage.chunk.DefaultChunkInputStreamGeneratorFactory;
 import io.deephaven.extensions.barrage.chunk.SingleElementListHeaderInputStreamGenerator;
+import io.deephaven.extensions.barrage.util.BarrageBodyCompression;
 import io.deephaven.extensions.barrage.util.ExposedByteArrayOutputStream;
 import io.deephaven.extensions.barrage.util.BarrageUtil;
 import io.deephaven.extensions.barrage.util.DefensiveDrainable;
@@ -34,12 +39,17 @@ import io.deephaven.extensions.barrage.util.StreamReaderOptions;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.proto.flight.util.MessageHelper;
+import io.deephaven.util.QueryConstants;
 import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.annotations.VisibleForTesting;
 import io.deephaven.util.datastructures.LongSizedDataStructure;
 import io.deephaven.util.datastructures.SizeException;
 import io.deephaven.util.mutable.MutableInt;
 import io.deephaven.util.mutable.MutableLong;
+import org.apache.arrow.flatbuf.BodyCompression;
+import org.apache.arrow.flatbuf.BodyCompressionMethod;
 import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.DictionaryBatch;
 import org.apache.arrow.flatbuf.FieldNode;
 import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.flight.impl.Flight;
@@ -49,6 +59,8 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 
@@ -72,6 +84,23 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             .getIntegerForClassWithDefault(BarrageStreamGeneratorImpl.class, "maxOutboundMessageSize",
                     100 * 1024 * 1024);
 
+    // allows the server to decline record batch body compression requested by clients
+    private static final boolean BODY_COMPRESSION_ENABLED = Configuration.getInstance()
+            .getBooleanForClassWithDefault(BarrageStreamGeneratorImpl.class, "bodyCompressionEnabled", true);
+
+    // buffers smaller than this are sent raw, as the codec framing would outweigh any savings
+    @VisibleForTesting
+    public static int minCompressedBufferSize = Configuration.getInstance()
+            .getIntegerForClassWithDefault(BarrageStreamGeneratorImpl.class, "minCompressedBufferSize", 1024);
+
+    // should two or more views that serialize identically share one serialization of their messages?
+    @VisibleForTesting
+    public static boolean shareViewMessages = Configuration.getInstance()
+            .getBooleanForClassWithDefault(BarrageStreamGeneratorImpl.class, "shareViewMessages", true);
+
+    // the dictionary id of a record batch that is not a dictionary batch
+    private static final long NO_DICTIONARY = -1;
+
     public interface RecordBatchMessageView extends MessageView {
         boolean isViewport();
 
@@ -80,6 +109,14 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         RowSet addRowOffsets();
 
         RowSet modRowOffsets(int col);
+
+        /**
+         * @return the dictionaries of the subscriber's dictionary encoded String columns, or null if this view does not
+         *         dictionary encode
+         */
+        default BarrageDictionaries dictionaries() {
+            return null;
+        }
     }
 
     public static class Factory implements BarrageStreamGenerator.Factory {
@@ -152,6 +189,14 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
     private final ChunkListInputStreamGenerator[] addColumnData;
     private final ModColumnGenerator[] modColumnData;
 
+    // the number of views created for each set of views that serialize identically; a view only shares serialized
+    // messages with others if there are at least two, since sharing copies the messages onto the heap
+    private final Map<SharedViewKey, Integer> sharedViewCounts = new ConcurrentHashMap<>();
+    // the serialized messages of views, shared by all subscribers whose views serialize identically
+    private final Map<SharedViewKey, SharedViewMessages> sharedViewMessages = new ConcurrentHashMap<>();
+    // every key created by a view, so that their viewport copies are released when this generator is closed
+    private final Queue<SharedViewKey> sharedViewKeys = new ConcurrentLinkedQueue<>();
+
     /**
      * Create a barrage stream generator that can slice and dice the barrage message for delivery to clients.
      *
@@ -199,8 +244,29 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         return message;
     }
 
+    @Override
+    public int numColumnPayloads() {
+        return addColumnData.length + modColumnData.length;
+    }
+
+    @Override
+    public void computeColumnPayload(final int payloadIndex) throws IOException {
+        final ChunkListInputStreamGenerator data = payloadIndex < addColumnData.length
+                ? addColumnData[payloadIndex]
+                : modColumnData[payloadIndex - addColumnData.length].data;
+        for (final ChunkInputStreamGenerator generator : data.generators()) {
+            generator.computePayload();
+        }
+    }
+
     @Override
     public void close() {
+        sharedViewCounts.clear();
+        sharedViewMessages.clear();
+        SharedViewKey sharedViewKey;
+        while ((sharedViewKey = sharedViewKeys.poll()) != null) {
+            sharedViewKey.close();
+        }
         rowsAdded.close();
         rowsIncluded.close();
         rowsRemoved.close();
@@ -231,8 +297,33 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             final boolean reverseViewport,
             @Nullable final RowSet keyspaceViewport,
             @Nullable final BitSet subscribedColumns) {
+        return getSubView(options, isInitialSnapshot, viewport, reverseViewport, keyspaceViewport,
+                subscribedColumns, null);
+    }
+
+    /**
+     * Obtain a View of this StreamGenerator that can be sent to a single subscriber whose String columns are
+     * dictionary encoded.
+     *
+     * @param options serialization options for this specific view
+     * @param isInitialSnapshot indicates whether or not this is the first snapshot for the listener
+     * @param viewport is the position-space viewport
+     * @param reverseViewport is the viewport reversed (relative to end of table instead of beginning)
+     * @param keyspaceViewport is the key-space viewport
+     * @param subscribedColumns are the columns subscribed for this view
+     * @param dictionaries the dictionaries already sent to the subscriber, or null to send String columns unencoded
+     * @return a MessageView filtered by the subscription properties that can be sent to that subscriber
+     */
+    @Override
+    public MessageView getSubView(final BarrageSubscriptionOptions options,
+            final boolean isInitialSnapshot,
+            @Nullable final RowSet viewport,
+            final boolean reverseViewport,
+            @Nullable final RowSet keyspaceViewport,
+            @Nullable final BitSet subscribedColumns,
+            @Nullable final BarrageDictionaries dictionaries) {
         return new SubView(options, isInitialSnapshot, viewport, reverseViewport, keyspaceViewport,
-                subscribedColumns);
+                subscribedColumns, dictionaries);
     }
 
     /**
@@ -259,14 +350,29 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         private final RowSet addRowOffsets;
         private final RowSet addRowKeys;
         private final RowSet[] modRowOffsets;
+        private final BarrageDictionaries dictionaries;
+        private final SharedViewKey sharedViewKey;
 
         public SubView(final BarrageSubscriptionOptions options,
                 final boolean isInitialSnapshot,
                 @Nullable final RowSet viewport,
                 final boolean reverseViewport,
                 @Nullable final RowSet keyspaceViewport,
-                @Nullable final BitSet subscribedColumns) {
+                @Nullable final BitSet subscribedColumns,
+                @Nullable final BarrageDictionaries dictionaries) {
             this.options = options;
+            this.dictionaries = options.columnsAsList() ? null : dictionaries;
+
+            // views without per-subscriber state serialize identically when their requests resolve to the same rows;
+            // the position-space viewport is only written to the metadata of snapshots
+            if (shareViewMessages && this.dictionaries == null) {
+                this.sharedViewKey = new SharedViewKey(options, isInitialSnapshot, isSnapshot ? viewport : null,
+                        reverseViewport, keyspaceViewport, subscribedColumns);
+                sharedViewKeys.add(sharedViewKey);
+                sharedViewCounts.merge(sharedViewKey, 1, Integer::sum);
+            } else {
+                this.sharedViewKey = null;
+            }
             this.isInitialSnapshot = isInitialSnapshot;
             this.viewport = viewport;
             this.reverseViewport = reverseViewport;
@@ -312,6 +418,26 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
 
         @Override
         public void forEachStream(Consumer<DefensiveDrainable> visitor) throws IOException {
+            if (sharedViewKey == null || sharedViewCounts.get(sharedViewKey) < 2) {
+                // stream directly from the column generators, without copying the messages
+                writeStreams(visitor);
+                return;
+            }
+
+            final long startTm = System.nanoTime();
+            final SharedViewMessages shared =
+                    sharedViewMessages.computeIfAbsent(sharedViewKey, key -> new SharedViewMessages());
+            if (shared.ensureSerialized(this)) {
+                // this view did the serialization, and has recorded its own metrics
+                shared.forEachStream(visitor);
+                return;
+            }
+            closeHelpers();
+            final long bytesWritten = shared.forEachStream(visitor);
+            writeConsumer.onWrite(bytesWritten, System.nanoTime() - startTm);
+        }
+
+        private void writeStreams(final Consumer<DefensiveDrainable> visitor) throws IOException {
             final long startTm = System.nanoTime();
             ByteBuffer metadata = getSubscriptionMetadata();
             MutableLong bytesWritten = new MutableLong(0L);
@@ -321,6 +447,11 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
 
             final MutableInt actualBatchSize = new MutableInt();
 
+            // the subscriber must receive any new dictionary values before the record batches that refer to them
+            if (dictionaries != null) {
+                processDictionaries(visitor, this, bytesWritten);
+            }
+
             if (numAddRows == 0 && numModRows == 0) {
                 // we still need to send a message containing metadata when there are no rows
                 final DefensiveDrainable is = getInputStream(this, 0, 0, actualBatchSize, metadata,
@@ -339,6 +470,11 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             processBatches(visitor, this, numModRows, maxBatchSize, numAddRows > 0 ? null : metadata,
                     BarrageStreamGeneratorImpl.this::appendModColumns, bytesWritten);
 
+            closeHelpers();
+            writeConsumer.onWrite(bytesWritten.get(), System.nanoTime() - startTm);
+        }
+
+        private void closeHelpers() {
             // clean up the helper indexes
             addRowOffsets.close();
             addRowKeys.close();
@@ -347,7 +483,6 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
                     modViewport.close();
                 }
             }
-            writeConsumer.onWrite(bytesWritten.get(), System.nanoTime() - startTm);
         }
 
         private int batchSize() {
@@ -381,6 +516,11 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             return modRowOffsets[col];
         }
 
+        @Override
+        public BarrageDictionaries dictionaries() {
+            return dictionaries;
+        }
+
         private ByteBuffer getSubscriptionMetadata() throws IOException {
             final FlatBufferBuilder metadata = new FlatBufferBuilder();
 
@@ -490,6 +630,117 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         return getSnapshotView(options, null, false, null, null);
     }
 
+    /**
+     * Identifies the subscription views that serialize to identical messages. The viewports are copied, as the
+     * subscriptions may replace theirs while the key is in use.
+     */
+    private static final class SharedViewKey implements SafeCloseable {
+        private final BarrageSubscriptionOptions options;
+        private final boolean isInitialSnapshot;
+        private final RowSet viewport;
+        private final boolean reverseViewport;
+        private final RowSet keyspaceViewport;
+        private final BitSet subscribedColumns;
+        private final int hashCode;
+
+        private SharedViewKey(final BarrageSubscriptionOptions options,
+                final boolean isInitialSnapshot,
+                @Nullable final RowSet viewport,
+                final boolean reverseViewport,
+                @Nullable final RowSet keyspaceViewport,
+                @Nullable final BitSet subscribedColumns) {
+            this.options = options;
+            this.isInitialSnapshot = isInitialSnapshot;
+            this.viewport = viewport == null ? null : viewport.copy();
+            this.reverseViewport = reverseViewport;
+            this.keyspaceViewport = keyspaceViewport == null ? null : keyspaceViewport.copy();
+            this.subscribedColumns = subscribedColumns == null ? null : (BitSet) subscribedColumns.clone();
+            hashCode = Objects.hash(options, isInitialSnapshot, reverseViewport, subscribedColumns,
+                    rowSetHashCode(this.viewport), rowSetHashCode(this.keyspaceViewport));
+        }
+
+        private static int rowSetHashCode(@Nullable final RowSet rowSet) {
+            // row sets compare by content but hash by identity, so hash a cheap summary of the content
+            if (rowSet == null || rowSet.isEmpty()) {
+                return rowSet == null ? 0 : 1;
+            }
+            return Objects.hash(rowSet.size(), rowSet.firstRowKey(), rowSet.lastRowKey());
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SharedViewKey)) {
+                return false;
+            }
+            final SharedViewKey that = (SharedViewKey) other;
+            return hashCode == that.hashCode
+                    && isInitialSnapshot == that.isInitialSnapshot
+                    && reverseViewport == that.reverseViewport
+                    && options.equals(that.options)
+                    && Objects.equals(subscribedColumns, that.subscribedColumns)
+                    && Objects.equals(viewport, that.viewport)
+                    && Objects.equals(keyspaceViewport, that.keyspaceViewport);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public void close() {
+            if (viewport != null) {
+                viewport.close();
+            }
+            if (keyspaceViewport != null) {
+                keyspaceViewport.close();
+            }
+        }
+    }
+
+    /**
+     * The messages of a subscription view, serialized once by the first view to need them.
+     */
+    private static final class SharedViewMessages {
+        private volatile List<byte[]> messages;
+
+        /**
+         * @return true if {@code view} serialized the messages, false if they had already been serialized
+         */
+        private synchronized boolean ensureSerialized(final SubView view) throws IOException {
+            if (messages != null) {
+                return false;
+            }
+            final List<byte[]> serialized = new ArrayList<>();
+            view.writeStreams(is -> {
+                try (final ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream()) {
+                    is.drainTo(baos);
+                    is.close();
+                    serialized.add(baos.toByteArray());
+                } catch (final IOException e) {
+                    throw new UncheckedDeephavenException("Unexpected IOException", e);
+                }
+            });
+            messages = serialized;
+            return true;
+        }
+
+        /**
+         * @return the number of bytes visited
+         */
+        private long forEachStream(final Consumer<DefensiveDrainable> visitor) {
+            long bytesWritten = 0;
+            for (final byte[] message : messages) {
+                bytesWritten += message.length;
+                visitor.accept(new DrainableByteArrayInputStream(message, 0, message.length));
+            }
+            return bytesWritten;
+        }
+    }
+
     private final class SnapshotView implements RecordBatchMessageView {
         private final BarrageSnapshotOptions options;
         private final RowSet viewport;
@@ -667,6 +918,29 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             final int targetBatchSize,
             final MutableInt actualBatchSize, final ByteBuffer metadata, final ColumnVisitor columnVisitor)
             throws IOException {
+        return getInputStream(view, offset, targetBatchSize, actualBatchSize, metadata, columnVisitor,
+                NO_DICTIONARY, false);
+    }
+
+    /**
+     * Returns an InputStream of a single FlightData message, which is a DictionaryBatch wrapping the RecordBatch when
+     * {@code dictionaryId} is not {@link #NO_DICTIONARY}.
+     *
+     * @param view the view of the overall chunk to generate a RecordBatch for
+     * @param offset the start of the batch in position space w.r.t. the view (inclusive)
+     * @param targetBatchSize the target (and maximum) batch size to use for this message
+     * @param actualBatchSize the number of rows actually sent in this batch (will be <= targetBatchSize)
+     * @param metadata the optional flight data metadata to attach to the message
+     * @param columnVisitor the helper method responsible for appending the payload columns to the RecordBatch
+     * @param dictionaryId the id of the dictionary the RecordBatch holds values for, or {@link #NO_DICTIONARY}
+     * @param isDelta whether the dictionary values extend, rather than replace, the dictionary
+     * @return an InputStream ready to be drained by GRPC
+     */
+    private DefensiveDrainable getInputStream(final RecordBatchMessageView view, final long offset,
+            final int targetBatchSize,
+            final MutableInt actualBatchSize, final ByteBuffer metadata, final ColumnVisitor columnVisitor,
+            final long dictionaryId, final boolean isDelta)
+            throws IOException {
         final ArrayDeque<DefensiveDrainable> streams = new ArrayDeque<>();
         final MutableInt size = new MutableInt();
 
@@ -694,6 +968,8 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         };
 
         final FlatBufferBuilder header = new FlatBufferBuilder();
+        final BodyCompressionCodec bodyCompression =
+                BODY_COMPRESSION_ENABLED ? view.options().bodyCompression() : BodyCompressionCodec.NONE;
 
         final int numRows;
         final int nodesOffset;
@@ -722,6 +998,24 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             numRows = columnVisitor.visit(view, offset, targetBatchSize, addStream, fieldNodeListener, bufferListener);
             actualBatchSize.set(numRows);
 
+            if (bodyCompression != BodyCompressionCodec.NONE) {
+                // replace the body with one whose buffers have been individually compressed
+                final ExposedByteArrayOutputStream body = new ExposedByteArrayOutputStream();
+                try (final ConsecutiveDrainableStreams bodyStreams =
+                        new ConsecutiveDrainableStreams(streams.toArray(new DefensiveDrainable[0]))) {
+                    bodyStreams.drainTo(body);
+                }
+                streams.clear();
+
+                final ExposedByteArrayOutputStream compressedBody = new ExposedByteArrayOutputStream();
+                BarrageBodyCompression.compressBody(bodyCompression, body.peekBuffer(), bufferInfos.get(),
+                        minCompressedBufferSize, compressedBody);
+                streams.add(new DrainableByteArrayInputStream(
+                        compressedBody.peekBuffer(), 0, compressedBody.size()));
+                size.set(compressedBody.size());
+                totalBufferLength.set(compressedBody.size());
+            }
+
             final WritableChunk<Values> noChunk = nodeOffsets.get();
             RecordBatch.startNodesVector(header, noChunk.size());
             for (int i = noChunk.size() - 1; i >= 0; --i) {
@@ -734,15 +1028,23 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
             final WritableLongChunk<Values> biChunk = bufferInfos.get();
             RecordBatch.startBuffersVector(header, biChunk.size());
             for (int i = biChunk.size() - 1; i >= 0; --i) {
-                totalBufferLength.subtract(biChunk.get(i));
+                // compressed buffers record their exact length, but each still starts on an 8-byte boundary
+                totalBufferLength.subtract((biChunk.get(i) + 7) & ~7L);
                 Buffer.createBuffer(header, totalBufferLength.get(), biChunk.get(i));
             }
             buffersOffset = header.endVector();
         }
 
+        final int compressionOffset = bodyCompression == BodyCompressionCodec.NONE ? 0
+                : BodyCompression.createBodyCompression(header, bodyCompression.compressionTypeEnumToFb(),
+                        BodyCompressionMethod.BUFFER);
+
         RecordBatch.startRecordBatch(header);
         RecordBatch.addNodes(header, nodesOffset);
         RecordBatch.addBuffers(header, buffersOffset);
+        if (compressionOffset != 0) {
+            RecordBatch.addCompression(header, compressionOffset);
+        }
         if (view.options().columnsAsList()) {
             RecordBatch.addLength(header, 1);
         } else {
@@ -750,8 +1052,15 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         }
         final int headerOffset = RecordBatch.endRecordBatch(header);
 
-        header.finish(MessageHelper.wrapInMessage(header, headerOffset,
-                org.apache.arrow.flatbuf.MessageHeader.RecordBatch, size.get()));
+        if (dictionaryId == NO_DICTIONARY) {
+            header.finish(MessageHelper.wrapInMessage(header, headerOffset,
+                    org.apache.arrow.flatbuf.MessageHeader.RecordBatch, size.get()));
+        } else {
+            final int dictionaryOffset =
+                    DictionaryBatch.createDictionaryBatch(header, dictionaryId, headerOffset, isDelta);
+            header.finish(MessageHelper.wrapInMessage(header, dictionaryOffset,
+                    org.apache.arrow.flatbuf.MessageHeader.DictionaryBatch, size.get()));
+        }
 
         // now create the proto header
         try (final ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream()) {
@@ -848,6 +1157,128 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
         }
     }
 
+    /**
+     * Send a dictionary batch for each dictionary encoded column that the view will send values for that the
+     * subscriber has not yet received.
+     */
+    private void processDictionaries(final Consumer<DefensiveDrainable> visitor, final RecordBatchMessageView view,
+            final MutableLong bytesWritten) throws IOException {
+        for (int ci = 0; ci < addColumnData.length; ++ci) {
+            if (!isDictionaryEncoded(view, ci)) {
+                continue;
+            }
+
+            final Set<String> values = new LinkedHashSet<>();
+            collectDictionaryValues(message.addColumnData[ci].data, view.addRowOffsets(), values);
+            if (ci < message.modColumnData.length) {
+                collectDictionaryValues(message.modColumnData[ci].data, view.modRowOffsets(ci), values);
+            }
+
+            final BarrageDictionaries.Update update = view.dictionaries().update(ci, values);
+            if (update == null) {
+                continue;
+            }
+
+            final DefensiveDrainable is = getInputStream(view, 0, update.values.size(), new MutableInt(), null,
+                    (v, startRange, targetBatchSize, addStream, fieldNodeListener, bufferListener) -> {
+                        final WritableObjectChunk<String, Values> chunk =
+                                WritableObjectChunk.makeWritableChunk(update.values.size());
+                        for (int ii = 0; ii < update.values.size(); ++ii) {
+                            chunk.set(ii, update.values.get(ii));
+                        }
+                        appendChunk(v, ChunkType.Object, String.class, chunk,
+                                addStream, fieldNodeListener, bufferListener);
+                        return chunk.size();
+                    }, ci, update.isDelta);
+            bytesWritten.add(is.available());
+            visitor.accept(is);
+        }
+    }
+
+    private boolean isDictionaryEncoded(final RecordBatchMessageView view, final int columnIndex) {
+        return view.dictionaries() != null && view.dictionaries().isEncoded(columnIndex)
+                && message.addColumnData[columnIndex].type == String.class;
+    }
+
+    /**
+     * Add the distinct non-null values found at {@code offsets} to {@code values}.
+     *
+     * @param data the chunks of String values
+     * @param offsets the positions within {@code data} to collect, or null to collect all positions
+     * @param values the set to add the values to
+     */
+    private static void collectDictionaryValues(final List<Chunk<Values>> data, @Nullable final RowSet offsets,
+            final Set<String> values) {
+        if (offsets == null) {
+            for (final Chunk<Values> chunk : data) {
+                final ObjectChunk<String, Values> strings = chunk.asObjectChunk();
+                for (int ii = 0; ii < strings.size(); ++ii) {
+                    final String value = strings.get(ii);
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+            }
+            return;
+        }
+        if (data.isEmpty()) {
+            return;
+        }
+
+        int chunkIdx = 0;
+        long chunkStart = 0;
+        try (final RowSet.Iterator it = offsets.iterator()) {
+            while (it.hasNext()) {
+                final long pos = it.nextLong();
+                while (pos >= chunkStart + data.get(chunkIdx).size()) {
+                    chunkStart += data.get(chunkIdx++).size();
+                }
+                final ObjectChunk<String, Values> strings = data.get(chunkIdx).asObjectChunk();
+                final String value = strings.get((int) (pos - chunkStart));
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Append a column of the dictionary indices of the String values found at {@code offsets} of {@code chunk}.
+     */
+    private void appendDictionaryIndices(final RecordBatchMessageView view, final int columnIndex,
+            final Chunk<Values> chunk, final RowSet offsets,
+            final Consumer<DefensiveDrainable> addStream,
+            final ChunkInputStreamGenerator.FieldNodeListener fieldNodeListener,
+            final ChunkInputStreamGenerator.BufferListener bufferListener) throws IOException {
+        final ObjectChunk<String, Values> strings = chunk.asObjectChunk();
+        final WritableIntChunk<Values> indices =
+                WritableIntChunk.makeWritableChunk(offsets.intSize("BarrageStreamGenerator"));
+        indices.setSize(0);
+        offsets.forAllRowKeys(pos -> {
+            final String value = strings.get((int) pos);
+            indices.add(value == null ? QueryConstants.NULL_INT : view.dictionaries().indexOf(columnIndex, value));
+        });
+        appendChunk(view, ChunkType.Int, int.class, indices, addStream, fieldNodeListener, bufferListener);
+    }
+
+    /**
+     * Append all of {@code chunk} as a column; the chunk is returned to its pool once the column has been drained.
+     */
+    private static void appendChunk(final RecordBatchMessageView view, final ChunkType chunkType,
+            final Class<?> type, final WritableChunk<Values> chunk,
+            final Consumer<DefensiveDrainable> addStream,
+            final ChunkInputStreamGenerator.FieldNodeListener fieldNodeListener,
+            final ChunkInputStreamGenerator.BufferListener bufferListener) throws IOException {
+        try (final ChunkInputStreamGenerator generator = DefaultChunkInputStreamGeneratorFactory.INSTANCE
+                .makeInputStreamGenerator(chunkType, type, null, chunk, 0)) {
+            final ChunkInputStreamGenerator.DrainableColumn drainableColumn =
+                    generator.getInputStream(view.options(), null);
+            drainableColumn.visitFieldNodes(fieldNodeListener);
+            drainableColumn.visitBuffers(bufferListener);
+            addStream.accept(drainableColumn);
+        }
+    }
+
     private static int findGeneratorForOffset(final List<ChunkInputStreamGenerator> generators, final long offset) {
         // fast path for smaller updates
         if (generators.size() <= 1) {
@@ -906,7 +1337,8 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
                 final WritableRowSet myAddedOffsets = view.addRowOffsets().intersect(allowedRange);
                 final RowSet adjustedOffsets = shift == 0 ? null : myAddedOffsets.shift(shift)) {
             // every column must write to the stream
-            for (final ChunkListInputStreamGenerator data : addColumnData) {
+            for (int ci = 0; ci < addColumnData.length; ++ci) {
+                final ChunkListInputStreamGenerator data = addColumnData[ci];
                 final int numElements = data.generators().isEmpty()
                         ? 0
                         : myAddedOffsets.intSize("BarrageStreamGenerator");
@@ -930,6 +1362,10 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
                         // Add the drainable last as it is allowed to immediately close a row set the visitors need
                         addStream.accept(drainableColumn);
                     }
+                } else if (isDictionaryEncoded(view, ci)) {
+                    appendDictionaryIndices(view, ci, message.addColumnData[ci].data.get(chunkIdx),
+                            shift == 0 ? myAddedOffsets : adjustedOffsets,
+                            addStream, fieldNodeListener, bufferListener);
                 } else {
                     final ChunkInputStreamGenerator generator = data.generators().get(chunkIdx);
                     final ChunkInputStreamGenerator.DrainableColumn drainableColumn =
@@ -1037,12 +1473,19 @@ public class BarrageStreamGeneratorImpl implements BarrageStreamGenerator {
                     final long shift = -generator.getRowOffset();
                     // normalize to the chunk offsets
                     try (final WritableRowSet adjustedOffsets = shift == 0 ? null : myModOffsets.shift(shift)) {
-                        final ChunkInputStreamGenerator.DrainableColumn drainableColumn =
-                                generator.getInputStream(view.options(), shift == 0 ? myModOffsets : adjustedOffsets);
-                        drainableColumn.visitFieldNodes(fieldNodeListener);
-                        drainableColumn.visitBuffers(bufferListener);
-                        // Add the drainable last as it is allowed to immediately close a row set the visitors need
-                        addStream.accept(drainableColumn);
+                        final RowSet chunkOffsets = shift == 0 ? myModOffsets : adjustedOffsets;
+                        if (isDictionaryEncoded(view, ii)) {
+                            appendDictionaryIndices(view, ii, message.modColumnData[ii].data.get(columnChunkIdx[ii]),
+                                    chunkOffsets, addStream, fieldNodeListener, bufferListener);
+                        } else {
+                            final ChunkInputStreamGenerator.DrainableColumn drainableColumn =
+                                    generator.getInputStream(view.options(), chunkOffsets);
+                            drainableColumn.visitFieldNodes(fieldNodeListener);
+                            drainableColumn.visitBuffers(bufferListener);
+                            // Add the drainable last as it is allowed to immediately close a row set the visitors
+                            // need
+                            addStream.accept(drainableColumn);
+                        }
                     }
                 }
             } finally {
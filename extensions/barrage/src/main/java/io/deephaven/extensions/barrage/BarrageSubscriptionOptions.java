@@ -105,6 +105,35 @@ public abstract class BarrageSubscriptionOptions implements StreamReaderOptions
         return ColumnConversionMode.Stringify;
     }
 
+    /**
+     * Requesting clients can ask for the buffers of each record batch body to be compressed with an Arrow IPC codec.
+     * The server may decline, and buffers that are small or that do not compress well are always sent raw; readers
+     * decode whatever the record batch header declares. The codec is requested with the
+     * {@link BarrageOptionHeaders#BODY_COMPRESSION} call header, as the flatbuffer options do not define it.
+     *
+     * @return the body compression codec to request
+     */
+    @Override
+    @Default
+    public BodyCompressionCodec bodyCompression() {
+        return BodyCompressionCodec.NONE;
+    }
+
+    /**
+     * Requesting clients can ask for String columns to be dictionary encoded, so that each distinct value is sent once
+     * per subscription rather than once per row. This is not the default, and is ignored when
+     * {@link #columnsAsList()} is requested. Columns whose values rarely repeat are sent unencoded regardless. The
+     * option is requested with the {@link BarrageOptionHeaders#DICTIONARY_ENCODE_STRINGS} call header, as the
+     * flatbuffer options do not define it.
+     *
+     * @return whether to dictionary encode String columns
+     */
+    @Override
+    @Default
+    public boolean dictionaryEncodeStrings() {
+        return false;
+    }
+
     public int appendTo(FlatBufferBuilder builder) {
         return io.deephaven.barrage.flatbuf.BarrageSubscriptionOptions.createBarrageSubscriptionOptions(
                 builder, ColumnConversionMode.conversionModeEnumToFb(columnConversionMode()), useDeephavenNulls(),
@@ -128,6 +157,10 @@ public abstract class BarrageSubscriptionOptions implements StreamReaderOptions
 
         Builder maxMessageSize(int messageSize);
 
+        Builder bodyCompression(BodyCompressionCodec bodyCompression);
+
+        Builder dictionaryEncodeStrings(boolean dictionaryEncodeStrings);
+
         BarrageSubscriptionOptions build();
     }
 }
@@ -12,5 +12,14 @@ public interface BarrageSubscriptionPerformanceLogger {
         return "BarrageSubscriptionPerformanceLog";
     }
 
+    /**
+     * Log a histogram of durations recorded in nanoseconds, or of sizes recorded in bits; its percentiles are logged in
+     * millis or megabits, respectively.
+     */
     void log(String tableId, String tableKey, String statType, Instant now, Histogram hist);
+
+    /**
+     * Log a histogram of counts; its percentiles are logged as recorded.
+     */
+    void logCounts(String tableId, String tableKey, String statType, Instant now, Histogram hist);
 }
@@ -35,18 +35,27 @@ class BarrageSubscriptionPerformanceLoggerImpl implements BarrageSubscriptionPer
 
     @Override
     public void log(String tableId, String tableKey, String statType, Instant now, Histogram hist) {
+        log(tableId, tableKey, statType, now, hist, 1e6);
+    }
+
+    @Override
+    public void logCounts(String tableId, String tableKey, String statType, Instant now, Histogram hist) {
+        log(tableId, tableKey, statType, now, hist, 1);
+    }
+
+    private void log(String tableId, String tableKey, String statType, Instant now, Histogram hist, double divisor) {
         publisher.add(
                 tableId,
                 tableKey,
                 statType,
                 DateTimeUtils.epochNanos(now),
                 hist.getTotalCount(),
-                hist.getValueAtPercentile(50) / 1e6,
-                hist.getValueAtPercentile(75) / 1e6,
-                hist.getValueAtPercentile(90) / 1e6,
-                hist.getValueAtPercentile(95) / 1e6,
-                hist.getValueAtPercentile(99) / 1e6,
-                hist.getMaxValue() / 1e6);
+                hist.getValueAtPercentile(50) / divisor,
+                hist.getValueAtPercentile(75) / divisor,
+                hist.getValueAtPercentile(90) / divisor,
+                hist.getValueAtPercentile(95) / divisor,
+                hist.getValueAtPercentile(99) / divisor,
+                hist.getMaxValue() / divisor);
     }
 
     public Table blinkTable() {
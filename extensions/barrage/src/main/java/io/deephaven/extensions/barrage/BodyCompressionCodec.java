@@ -0,0 +1,46 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.barrage;
+
+import org.apache.arrow.flatbuf.CompressionType;
+
+/**
+ * The Arrow IPC codecs that may be used to compress the buffers of a record batch body.
+ */
+public enum BodyCompressionCodec {
+    // @formatter:off
+    NONE,
+    LZ4_FRAME,
+    ZSTD;
+    // @formatter:on
+
+    /**
+     * @param type the flatbuffer {@link CompressionType} of a record batch
+     * @return the codec for the provided compression type
+     */
+    public static BodyCompressionCodec compressionTypeFbToEnum(final byte type) {
+        switch (type) {
+            case CompressionType.LZ4_FRAME:
+                return LZ4_FRAME;
+            case CompressionType.ZSTD:
+                return ZSTD;
+            default:
+                throw new UnsupportedOperationException("Unexpected body compression type " + type + " (byte)");
+        }
+    }
+
+    /**
+     * @return the flatbuffer {@link CompressionType} for this codec
+     */
+    public byte compressionTypeEnumToFb() {
+        switch (this) {
+            case LZ4_FRAME:
+                return CompressionType.LZ4_FRAME;
+            case ZSTD:
+                return CompressionType.ZSTD;
+            default:
+                throw new UnsupportedOperationException("Body compression codec " + this + " has no compression type");
+        }
+    }
+}
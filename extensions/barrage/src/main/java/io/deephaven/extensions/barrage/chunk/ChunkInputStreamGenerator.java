@@ -65,6 +65,13 @@ public interface ChunkInputStreamGenerator extends SafeCloseable {
      */
     DrainableColumn getInputStream(final StreamReaderOptions options, @Nullable final RowSet subset) throws IOException;
 
+    /**
+     * Compute any payload that is shared by all of this generator's input streams. Generators otherwise compute it
+     * lazily when the first input stream is requested; calling this ahead of time lets the payloads of several
+     * generators be computed concurrently.
+     */
+    default void computePayload() throws IOException {}
+
     final class FieldNodeInfo {
         public final int numElements;
         public final int nullCount;
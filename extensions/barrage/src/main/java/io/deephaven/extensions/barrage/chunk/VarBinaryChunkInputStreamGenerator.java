@@ -195,7 +195,8 @@ public class VarBinaryChunkInputStreamGenerator<T> extends BaseChunkInputStreamG
         this.appendItem = appendItem;
     }
 
-    private synchronized void computePayload() throws IOException {
+    @Override
+    public synchronized void computePayload() throws IOException {
         if (byteStorage != null) {
             return;
         }
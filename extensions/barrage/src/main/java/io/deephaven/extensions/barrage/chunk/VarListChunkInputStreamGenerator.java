@@ -39,7 +39,8 @@ public class VarListChunkInputStreamGenerator<T> extends BaseChunkInputStreamGen
         this.type = type;
     }
 
-    private synchronized void computePayload() {
+    @Override
+    public synchronized void computePayload() {
         if (innerGenerator != null) {
             return;
         }
@@ -44,7 +44,8 @@ public class VectorChunkInputStreamGenerator extends BaseChunkInputStreamGenerat
         this.componentType = VectorExpansionKernel.getComponentType(type, componentType);
     }
 
-    private synchronized void computePayload() {
+    @Override
+    public synchronized void computePayload() {
         if (innerGenerator != null) {
             return;
         }
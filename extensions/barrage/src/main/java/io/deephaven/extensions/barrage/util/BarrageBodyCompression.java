@@ -0,0 +1,225 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.barrage.util;
+
+import com.google.common.io.ByteStreams;
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.extensions.barrage.BodyCompressionCodec;
+import io.deephaven.util.datastructures.LongSizedDataStructure;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static io.deephaven.extensions.barrage.chunk.BaseChunkInputStreamGenerator.PADDING_BUFFER;
+
+/**
+ * Compresses and decompresses record batch bodies per buffer, as described by the Arrow IPC {@code BodyCompression}
+ * {@code BUFFER} method. Each buffer, including an empty one, is written as its uncompressed length, a little-endian
+ * int64, followed by the compressed bytes; an uncompressed length of {@value #NOT_COMPRESSED} marks a buffer that is
+ * sent raw, and an empty buffer is just the length prefix 0.
+ */
+public class BarrageBodyCompression {
+    /**
+     * The uncompressed length prefix of a buffer that was not compressed.
+     */
+    public static final long NOT_COMPRESSED = -1;
+
+    private static final int LENGTH_PREFIX_BYTES = Long.BYTES;
+
+    /**
+     * Compress the buffers of a record batch body. Buffers smaller than {@code minCompressedSize}, or that do not
+     * shrink when compressed, are written raw. Each written buffer is padded to an 8-byte boundary.
+     *
+     * @param codec the codec to compress with
+     * @param body the uncompressed body
+     * @param bufferLengths the lengths of the buffers, which must tile {@code body} from its start; on return these are
+     *        the exact lengths of the written buffers, not including their padding
+     * @param minCompressedSize the minimum uncompressed buffer length to attempt to compress
+     * @param out the stream to write the compressed body to
+     */
+    public static void compressBody(
+            final BodyCompressionCodec codec,
+            final byte[] body,
+            final WritableLongChunk<Values> bufferLengths,
+            final int minCompressedSize,
+            final ExposedByteArrayOutputStream out) throws IOException {
+        final Compressor compressor = new Compressor(codec);
+        int bodyOffset = 0;
+        for (int ii = 0; ii < bufferLengths.size(); ++ii) {
+            final int length = LongSizedDataStructure.intSize("BufferInfo", bufferLengths.get(ii));
+            if (length == 0) {
+                // readers expect every buffer of a compressed body to carry a length prefix
+                writeLengthPrefix(out, 0);
+                bufferLengths.set(ii, LENGTH_PREFIX_BYTES);
+                continue;
+            }
+
+            final int compressedLength = length >= minCompressedSize
+                    ? compressor.compress(body, bodyOffset, length)
+                    : Integer.MAX_VALUE;
+            final int writtenLength;
+            if (compressedLength < length) {
+                writeLengthPrefix(out, length);
+                out.write(compressor.compressed(), 0, compressedLength);
+                writtenLength = LENGTH_PREFIX_BYTES + compressedLength;
+            } else {
+                writeLengthPrefix(out, NOT_COMPRESSED);
+                out.write(body, bodyOffset, length);
+                writtenLength = LENGTH_PREFIX_BYTES + length;
+            }
+            bufferLengths.set(ii, writtenLength);
+            bodyOffset += length;
+
+            if (writtenLength % 8 != 0) {
+                out.write(PADDING_BUFFER, 0, 8 - (writtenLength % 8));
+            }
+        }
+    }
+
+    /**
+     * Decompress the buffers of a record batch body.
+     *
+     * @param codec the codec the body was compressed with
+     * @param body the compressed body
+     * @param bufferOffsets the offsets of the compressed buffers within {@code body}
+     * @param bufferLengths the exact lengths of the compressed buffers; on return these are the uncompressed lengths.
+     *        Empty buffers may be written with or without their length prefix.
+     * @return the uncompressed buffers, laid out consecutively in order
+     */
+    public static byte[] decompressBody(
+            final BodyCompressionCodec codec,
+            final byte[] body,
+            final long[] bufferOffsets,
+            final long[] bufferLengths) throws IOException {
+        final int[] uncompressedLengths = new int[bufferLengths.length];
+        long totalLength = 0;
+        for (int ii = 0; ii < bufferLengths.length; ++ii) {
+            if (bufferLengths[ii] == 0) {
+                continue;
+            }
+            final int offset = LongSizedDataStructure.intSize("BufferInfo", bufferOffsets[ii]);
+            final long prefix = readLengthPrefix(body, offset);
+            uncompressedLengths[ii] = LongSizedDataStructure.intSize("BufferInfo",
+                    prefix == NOT_COMPRESSED ? bufferLengths[ii] - LENGTH_PREFIX_BYTES : prefix);
+            totalLength += uncompressedLengths[ii];
+        }
+
+        final byte[] result = new byte[LongSizedDataStructure.intSize("BarrageBodyCompression", totalLength)];
+        int resultOffset = 0;
+        for (int ii = 0; ii < bufferLengths.length; ++ii) {
+            if (bufferLengths[ii] == 0) {
+                continue;
+            }
+            if (uncompressedLengths[ii] == 0) {
+                bufferLengths[ii] = 0;
+                continue;
+            }
+            final int offset = (int) bufferOffsets[ii] + LENGTH_PREFIX_BYTES;
+            final int length = (int) bufferLengths[ii] - LENGTH_PREFIX_BYTES;
+            if (readLengthPrefix(body, offset - LENGTH_PREFIX_BYTES) == NOT_COMPRESSED) {
+                System.arraycopy(body, offset, result, resultOffset, length);
+            } else {
+                decompress(codec, body, offset, length, result, resultOffset, uncompressedLengths[ii]);
+            }
+            bufferLengths[ii] = uncompressedLengths[ii];
+            resultOffset += uncompressedLengths[ii];
+        }
+        return result;
+    }
+
+    /**
+     * Compresses the buffers of one body, re-using its codec state and output array across buffers.
+     */
+    private static final class Compressor {
+        private final BodyCompressionCodec codec;
+        private final ZstdCompressor zstd;
+        private final ExposedByteArrayOutputStream lz4Output;
+        private byte[] zstdOutput;
+
+        private Compressor(final BodyCompressionCodec codec) {
+            this.codec = codec;
+            switch (codec) {
+                case LZ4_FRAME:
+                    zstd = null;
+                    lz4Output = new ExposedByteArrayOutputStream();
+                    break;
+                case ZSTD:
+                    zstd = new ZstdCompressor();
+                    lz4Output = null;
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unexpected body compression codec " + codec);
+            }
+        }
+
+        /**
+         * @return the length of the compressed buffer, which is held by {@link #compressed()} until the next call
+         */
+        private int compress(final byte[] src, final int srcOffset, final int length) throws IOException {
+            if (codec == BodyCompressionCodec.LZ4_FRAME) {
+                lz4Output.reset();
+                try (final LZ4FrameOutputStream lz4 = new LZ4FrameOutputStream(lz4Output)) {
+                    lz4.write(src, srcOffset, length);
+                }
+                return lz4Output.size();
+            }
+            final int maxCompressedLength = zstd.maxCompressedLength(length);
+            if (zstdOutput == null || zstdOutput.length < maxCompressedLength) {
+                zstdOutput = new byte[maxCompressedLength];
+            }
+            return zstd.compress(src, srcOffset, length, zstdOutput, 0, zstdOutput.length);
+        }
+
+        private byte[] compressed() {
+            return codec == BodyCompressionCodec.LZ4_FRAME ? lz4Output.peekBuffer() : zstdOutput;
+        }
+    }
+
+    private static void decompress(
+            final BodyCompressionCodec codec,
+            final byte[] src,
+            final int srcOffset,
+            final int length,
+            final byte[] dest,
+            final int destOffset,
+            final int uncompressedLength) throws IOException {
+        switch (codec) {
+            case LZ4_FRAME:
+                try (final InputStream lz4 = new LZ4FrameInputStream(new ByteArrayInputStream(src, srcOffset, length))) {
+                    ByteStreams.readFully(lz4, dest, destOffset, uncompressedLength);
+                }
+                return;
+            case ZSTD:
+                final int decompressedLength = new ZstdDecompressor().decompress(
+                        src, srcOffset, length, dest, destOffset, uncompressedLength);
+                if (decompressedLength != uncompressedLength) {
+                    throw new IllegalStateException("Decompressed " + decompressedLength
+                            + " bytes, but the buffer declared an uncompressed length of " + uncompressedLength);
+                }
+                return;
+            default:
+                throw new UnsupportedOperationException("Unexpected body compression codec " + codec);
+        }
+    }
+
+    private static void writeLengthPrefix(final ExposedByteArrayOutputStream out, final long length) {
+        for (int ii = 0; ii < LENGTH_PREFIX_BYTES; ++ii) {
+            out.write((int) (length >>> (8 * ii)));
+        }
+    }
+
+    private static long readLengthPrefix(final byte[] body, final int offset) {
+        long length = 0;
+        for (int ii = LENGTH_PREFIX_BYTES - 1; ii >= 0; --ii) {
+            length = (length << 8) | (body[offset + ii] & 0xFF);
+        }
+        return length;
+    }
+}
@@ -11,34 +11,49 @@ import io.deephaven.barrage.flatbuf.BarrageMessageWrapper;
 import io.deephaven.barrage.flatbuf.BarrageModColumnMetadata;
 import io.deephaven.barrage.flatbuf.BarrageUpdateMetadata;
 import io.deephaven.base.ArrayUtil;
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.ObjectChunk;
 import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.WritableObjectChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.rowset.impl.ExternalizableRowSetUtils;
 import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.RowSetShiftData;
 import io.deephaven.engine.table.impl.util.*;
+import io.deephaven.extensions.barrage.BodyCompressionCodec;
 import io.deephaven.extensions.barrage.chunk.ChunkInputStreamGenerator;
 import io.deephaven.extensions.barrage.chunk.ChunkReader;
 import io.deephaven.extensions.barrage.chunk.DefaultChunkReadingFactory;
+import io.deephaven.extensions.barrage.chunk.IntChunkReader;
+import io.deephaven.util.QueryConstants;
 import io.deephaven.util.datastructures.LongSizedDataStructure;
 import io.deephaven.chunk.ChunkType;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
+import org.apache.arrow.flatbuf.BodyCompression;
+import org.apache.arrow.flatbuf.BodyCompressionMethod;
+import org.apache.arrow.flatbuf.DictionaryBatch;
+import org.apache.arrow.flatbuf.DictionaryEncoding;
 import org.apache.arrow.flatbuf.Field;
+import org.apache.arrow.flatbuf.Int;
 import org.apache.arrow.flatbuf.Message;
 import org.apache.arrow.flatbuf.MessageHeader;
 import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.flatbuf.Schema;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.PrimitiveIterator;
 import java.util.function.LongConsumer;
 
@@ -62,6 +77,23 @@ public class BarrageStreamReader implements StreamReader {
 
     private final ChunkReader.Factory chunkReaderFactory = DefaultChunkReadingFactory.INSTANCE;
     private final List<ChunkReader> readers = new ArrayList<>();
+    private final Map<Long, Dictionary> dictionaries = new HashMap<>();
+
+    /**
+     * The values of a dictionary encoded column, as received so far.
+     */
+    private static final class Dictionary {
+        private final ChunkReader valueReader;
+        private final List<String> values = new ArrayList<>();
+
+        private Dictionary(final ChunkReader valueReader) {
+            this.valueReader = valueReader;
+        }
+
+        private String get(final int index) {
+            return index == QueryConstants.NULL_INT ? null : values.get(index);
+        }
+    }
 
     public BarrageStreamReader(final LongConsumer deserializeTmConsumer) {
         this.deserializeTmConsumer = deserializeTmConsumer;
@@ -185,6 +217,14 @@ public class BarrageStreamReader implements StreamReader {
                     throw new IllegalStateException("Missing metadata header; cannot decode body");
                 }
 
+                if (header.headerType() == MessageHeader.DictionaryBatch) {
+                    // dictionary batches do not belong to a barrage message; they update state used by later ones
+                    bodyParsed = true;
+                    final int size = decoder.readRawVarint32();
+                    readDictionaryBatch((DictionaryBatch) header.header(new DictionaryBatch()), decoder, size);
+                    continue;
+                }
+
                 if (header.headerType() != org.apache.arrow.flatbuf.MessageHeader.RecordBatch) {
                     throw new IllegalStateException("Only know how to decode Schema/BarrageRecordBatch messages");
                 }
@@ -200,25 +240,15 @@ public class BarrageStreamReader implements StreamReader {
                 final RecordBatch batch = (RecordBatch) header.header(new RecordBatch());
                 msg.length = batch.length();
 
+                final long[] bufferInfo = new long[batch.buffersLength()];
+                final InputStream bodyStream = openBody(batch, decoder, size, bufferInfo);
+
                 // noinspection UnstableApiUsage
-                try (final LittleEndianDataInputStream ois =
-                        new LittleEndianDataInputStream(new BarrageProtoUtil.ObjectInputStreamAdapter(decoder, size))) {
+                try (final LittleEndianDataInputStream ois = new LittleEndianDataInputStream(bodyStream)) {
                     final Iterator<ChunkInputStreamGenerator.FieldNodeInfo> fieldNodeIter =
                             new FlatBufferIteratorAdapter<>(batch.nodesLength(),
                                     i -> new ChunkInputStreamGenerator.FieldNodeInfo(batch.nodes(i)));
 
-                    final long[] bufferInfo = new long[batch.buffersLength()];
-                    for (int bi = 0; bi < batch.buffersLength(); ++bi) {
-                        int offset = LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi).offset());
-                        int length = LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi).length());
-                        if (bi < batch.buffersLength() - 1) {
-                            final int nextOffset =
-                                    LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi + 1).offset());
-                            // our parsers handle overhanging buffers
-                            length += Math.max(0, nextOffset - offset - length);
-                        }
-                        bufferInfo[bi] = length;
-                    }
                     final PrimitiveIterator.OfLong bufferInfoIter = Arrays.stream(bufferInfo).iterator();
 
                     // add and mod rows are never combined in a batch. all added rows must be received before the first
@@ -298,6 +328,11 @@ public class BarrageStreamReader implements StreamReader {
                 header.header(schema);
                 for (int i = 0; i < schema.fieldsLength(); i++) {
                     Field field = schema.fields(i);
+                    final DictionaryEncoding encoding = field.dictionary();
+                    if (encoding != null) {
+                        readers.add(makeDictionaryReader(options, columnTypes[i], field, encoding));
+                        continue;
+                    }
                     ChunkReader chunkReader = chunkReaderFactory.getReader(options,
                             typeInfo(columnChunkTypes[i], columnTypes[i], componentTypes[i], field));
                     readers.add(chunkReader);
@@ -305,6 +340,11 @@ public class BarrageStreamReader implements StreamReader {
                 return null;
             }
 
+            if (header != null && header.headerType() == MessageHeader.DictionaryBatch) {
+                // dictionary batches are consumed; our clients see the decoded values in the following messages
+                return null;
+            }
+
             if (!bodyParsed) {
                 throw new IllegalStateException("Missing body tag");
             }
@@ -324,6 +364,119 @@ public class BarrageStreamReader implements StreamReader {
         }
     }
 
+    /**
+     * Open the body of a record batch, decompressing it if the batch declares a body compression.
+     *
+     * @param batch the record batch describing the body
+     * @param decoder the stream positioned at the start of the body
+     * @param size the length of the body
+     * @param bufferInfo populated with the lengths of the buffers of the returned stream
+     * @return a stream of the body's buffers
+     */
+    private static InputStream openBody(final RecordBatch batch, final CodedInputStream decoder, final int size,
+            final long[] bufferInfo) throws IOException {
+        final BodyCompression compression = batch.compression();
+        if (compression == null) {
+            for (int bi = 0; bi < batch.buffersLength(); ++bi) {
+                int offset = LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi).offset());
+                int length = LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi).length());
+                if (bi < batch.buffersLength() - 1) {
+                    final int nextOffset =
+                            LongSizedDataStructure.intSize("BufferInfo", batch.buffers(bi + 1).offset());
+                    // our parsers handle overhanging buffers
+                    length += Math.max(0, nextOffset - offset - length);
+                }
+                bufferInfo[bi] = length;
+            }
+            return new BarrageProtoUtil.ObjectInputStreamAdapter(decoder, size);
+        }
+
+        if (compression.method() != BodyCompressionMethod.BUFFER) {
+            throw new IllegalStateException("Unexpected body compression method " + compression.method());
+        }
+        // the compressed buffers are decoded up front; bufferInfo then describes the uncompressed body
+        final long[] bufferOffsets = new long[batch.buffersLength()];
+        for (int bi = 0; bi < batch.buffersLength(); ++bi) {
+            bufferOffsets[bi] = batch.buffers(bi).offset();
+            bufferInfo[bi] = batch.buffers(bi).length();
+        }
+        return new ByteArrayInputStream(BarrageBodyCompression.decompressBody(
+                BodyCompressionCodec.compressionTypeFbToEnum(compression.codec()),
+                decoder.readRawBytes(size), bufferOffsets, bufferInfo));
+    }
+
+    /**
+     * Replace or extend a dictionary with the values of a dictionary batch.
+     */
+    private void readDictionaryBatch(final DictionaryBatch dictionaryBatch, final CodedInputStream decoder,
+            final int size) throws IOException {
+        final Dictionary dictionary = dictionaries.get(dictionaryBatch.id());
+        if (dictionary == null) {
+            throw new IllegalStateException(
+                    "Received a dictionary batch for unknown dictionary " + dictionaryBatch.id());
+        }
+
+        final RecordBatch batch = dictionaryBatch.data();
+        final long[] bufferInfo = new long[batch.buffersLength()];
+        // noinspection UnstableApiUsage
+        try (final LittleEndianDataInputStream ois =
+                new LittleEndianDataInputStream(openBody(batch, decoder, size, bufferInfo))) {
+            final Iterator<ChunkInputStreamGenerator.FieldNodeInfo> fieldNodeIter =
+                    new FlatBufferIteratorAdapter<>(batch.nodesLength(),
+                            i -> new ChunkInputStreamGenerator.FieldNodeInfo(batch.nodes(i)));
+            final PrimitiveIterator.OfLong bufferInfoIter = Arrays.stream(bufferInfo).iterator();
+
+            try (final WritableChunk<Values> values = dictionary.valueReader.readChunk(
+                    fieldNodeIter, bufferInfoIter, ois, null, 0, (int) batch.length())) {
+                if (!dictionaryBatch.isDelta()) {
+                    dictionary.values.clear();
+                }
+                final ObjectChunk<String, Values> strings = values.asObjectChunk();
+                for (int ii = 0; ii < strings.size(); ++ii) {
+                    dictionary.values.add(strings.get(ii));
+                }
+            }
+        }
+    }
+
+    private ChunkReader makeDictionaryReader(final StreamReaderOptions options, final Class<?> columnType,
+            final Field field, final DictionaryEncoding encoding) {
+        if (columnType != String.class) {
+            throw new UnsupportedOperationException(
+                    "Dictionary encoding is only supported for String columns, not " + columnType);
+        }
+        final Int indexType = encoding.indexType();
+        if (indexType != null && (indexType.bitWidth() != Integer.SIZE || !indexType.isSigned())) {
+            throw new UnsupportedOperationException("Unsupported dictionary index type: bitWidth="
+                    + indexType.bitWidth() + ", isSigned=" + indexType.isSigned());
+        }
+
+        final Dictionary dictionary = new Dictionary(chunkReaderFactory.getReader(options,
+                typeInfo(ChunkType.Object, String.class, null, field)));
+        dictionaries.put(encoding.id(), dictionary);
+        final IntChunkReader indexReader = new IntChunkReader(options);
+        return (fieldNodeIter, bufferInfoIter, is, outChunk, outOffset, totalRows) -> {
+            // decode the indices directly, rather than boxing each one through IntChunkReader.transform
+            try (final WritableIntChunk<Values> indices =
+                    indexReader.readChunk(fieldNodeIter, bufferInfoIter, is, null, 0, 0)) {
+                final WritableObjectChunk<String, Values> chunk;
+                if (outChunk != null) {
+                    chunk = outChunk.asWritableObjectChunk();
+                } else {
+                    // if we're not given an output chunk then we better be writing at the front of the new one
+                    Assert.eqZero(outOffset, "outOffset");
+                    final int numRows = Math.max(totalRows, indices.size());
+                    chunk = WritableObjectChunk.makeWritableChunk(numRows);
+                    chunk.setSize(numRows);
+                }
+                for (int ii = 0; ii < indices.size(); ++ii) {
+                    chunk.set(outOffset + ii, dictionary.get(indices.get(ii)));
+                }
+                return chunk;
+            }
+        };
+    }
+
     private static RowSet extractIndex(final ByteBuffer bb) throws IOException {
         if (bb == null) {
             return RowSetFactory.empty();
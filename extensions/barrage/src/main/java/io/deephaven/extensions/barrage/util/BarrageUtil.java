@@ -50,6 +50,7 @@ import org.apache.arrow.util.Collections2;
 import org.apache.arrow.vector.types.TimeUnit;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -100,6 +101,11 @@ public class BarrageUtil {
     public static final ArrowType.Timestamp NANO_SINCE_EPOCH_TYPE =
             new ArrowType.Timestamp(TimeUnit.NANOSECOND, "UTC");
 
+    /**
+     * The type of the indices of dictionary encoded columns.
+     */
+    public static final ArrowType.Int DICTIONARY_INDEX_TYPE = new ArrowType.Int(32, true);
+
     /** The name of the attribute that indicates that a table is flat. */
     public static final String TABLE_ATTRIBUTE_IS_FLAT = "IsFlat";
 
@@ -220,6 +226,22 @@ public class BarrageUtil {
             @NotNull final TableDefinition tableDefinition,
             @NotNull final Map<String, Object> attributes,
             final boolean isFlat) {
+        return makeTableSchemaPayload(builder, options, tableDefinition, attributes, isFlat, null);
+    }
+
+    /**
+     * Write a table's schema, declaring the provided String columns as dictionary encoded.
+     *
+     * @param dictionaryEncodedColumns the positions of the String columns that are sent as indices into a dictionary
+     *        identified by the column's position, or null if no columns are dictionary encoded
+     */
+    public static int makeTableSchemaPayload(
+            @NotNull final FlatBufferBuilder builder,
+            @NotNull final StreamReaderOptions options,
+            @NotNull final TableDefinition tableDefinition,
+            @NotNull final Map<String, Object> attributes,
+            final boolean isFlat,
+            @Nullable final BitSet dictionaryEncodedColumns) {
         final Map<String, String> schemaMetadata = attributesToMetadata(attributes, isFlat);
 
         final Map<String, String> descriptions = GridAttributes.getColumnDescriptions(attributes);
@@ -230,6 +252,16 @@ public class BarrageUtil {
                 attributes, options.columnsAsList())
                 .collect(Collectors.toList());
 
+        if (dictionaryEncodedColumns != null && !options.columnsAsList()) {
+            for (int ci = dictionaryEncodedColumns.nextSetBit(0); ci >= 0 && ci < fields.size();
+                    ci = dictionaryEncodedColumns.nextSetBit(ci + 1)) {
+                final Field field = fields.get(ci);
+                final FieldType fieldType = new FieldType(field.isNullable(), field.getType(),
+                        new DictionaryEncoding(ci, false, DICTIONARY_INDEX_TYPE), field.getMetadata());
+                fields.set(ci, new Field(field.getName(), fieldType, field.getChildren()));
+            }
+        }
+
         return new Schema(fields, schemaMetadata).getSchema(builder);
     }
 
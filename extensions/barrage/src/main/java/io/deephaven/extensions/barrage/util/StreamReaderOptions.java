@@ -3,6 +3,7 @@
 //
 package io.deephaven.extensions.barrage.util;
 
+import io.deephaven.extensions.barrage.BodyCompressionCodec;
 import io.deephaven.extensions.barrage.ColumnConversionMode;
 import io.deephaven.util.QueryConstants;
 
@@ -36,4 +37,25 @@ public interface StreamReaderOptions {
     default boolean columnsAsList() {
         return false;
     }
+
+    /**
+     * The codec used to compress the buffers of record batch bodies. Readers do not need this; compressed bodies are
+     * described by the record batch header.
+     *
+     * @return the codec to compress record batch bodies with, or {@link BodyCompressionCodec#NONE}
+     */
+    default BodyCompressionCodec bodyCompression() {
+        return BodyCompressionCodec.NONE;
+    }
+
+    /**
+     * Whether String columns are sent as Arrow dictionary encoded indices, with their values sent in dictionary batches
+     * ahead of the record batches that refer to them. Readers do not need this; encoded columns are described by the
+     * schema.
+     *
+     * @return true if String columns should be dictionary encoded
+     */
+    default boolean dictionaryEncodeStrings() {
+        return false;
+    }
 }
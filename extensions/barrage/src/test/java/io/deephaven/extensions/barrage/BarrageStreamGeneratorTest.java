@@ -3,11 +3,24 @@
 //
 package io.deephaven.extensions.barrage;
 
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.deephaven.barrage.flatbuf.BarrageSubscriptionRequest;
 import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.WritableObjectChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.extensions.barrage.util.BarrageBodyCompression;
+import io.deephaven.extensions.barrage.util.ExposedByteArrayOutputStream;
 import io.deephaven.io.util.NullOutputStream;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 public class BarrageStreamGeneratorTest {
 
@@ -37,4 +50,113 @@ public class BarrageStreamGeneratorTest {
         Assert.eq(bytesRead, "bytesRead", length * 2, "length * 2");
         Assert.eq(inputStream.available(), "inputStream.available()", 0);
     }
+
+    @Test
+    public void testLz4BodyCompressionRoundTrip() throws IOException {
+        testBodyCompressionRoundTrip(BodyCompressionCodec.LZ4_FRAME);
+    }
+
+    @Test
+    public void testZstdBodyCompressionRoundTrip() throws IOException {
+        testBodyCompressionRoundTrip(BodyCompressionCodec.ZSTD);
+    }
+
+    private static void testBodyCompressionRoundTrip(final BodyCompressionCodec codec) throws IOException {
+        // a small buffer, a compressible buffer, an empty buffer, and an incompressible buffer
+        final long[] lengths = new long[] {16, 4096, 0, 2048};
+        final byte[] body = new byte[(int) Arrays.stream(lengths).sum()];
+        final Random random = new Random(0);
+        for (int ii = 0; ii < 16; ++ii) {
+            body[ii] = (byte) ii;
+        }
+        for (int ii = 16; ii < 16 + 4096; ++ii) {
+            body[ii] = (byte) (ii % 7);
+        }
+        final byte[] noise = new byte[2048];
+        random.nextBytes(noise);
+        System.arraycopy(noise, 0, body, 16 + 4096, noise.length);
+
+        final ExposedByteArrayOutputStream compressed = new ExposedByteArrayOutputStream();
+        final long[] offsets = new long[lengths.length];
+        final long[] compressedLengths = new long[lengths.length];
+        try (final WritableLongChunk<Values> bufferLengths = WritableLongChunk.makeWritableChunk(lengths.length)) {
+            bufferLengths.copyFromArray(lengths, 0, 0, lengths.length);
+            BarrageBodyCompression.compressBody(codec, body, bufferLengths, 1024, compressed);
+
+            long offset = 0;
+            for (int ii = 0; ii < lengths.length; ++ii) {
+                offsets[ii] = offset;
+                compressedLengths[ii] = bufferLengths.get(ii);
+                offset += (compressedLengths[ii] + 7) & ~7L;
+            }
+            Assert.eq(offset, "offset", compressed.size(), "compressed.size()");
+        }
+
+        // small and incompressible buffers are sent raw behind the length prefix, and empty buffers are only the prefix
+        Assert.eq(compressedLengths[0], "compressedLengths[0]", Long.BYTES + 16);
+        Assert.lt(compressedLengths[1], "compressedLengths[1]", 4096);
+        Assert.eq(compressedLengths[2], "compressedLengths[2]", Long.BYTES);
+        for (int ii = 0; ii < Long.BYTES; ++ii) {
+            Assert.eq(compressed.peekBuffer()[(int) offsets[2] + ii], "emptyBufferPrefix", 0);
+        }
+        Assert.eq(compressedLengths[3], "compressedLengths[3]", Long.BYTES + 2048);
+
+        final byte[] decompressed = BarrageBodyCompression.decompressBody(
+                codec, Arrays.copyOf(compressed.peekBuffer(), compressed.size()), offsets, compressedLengths);
+        Assert.assertion(Arrays.equals(body, decompressed), "Arrays.equals(body, decompressed)");
+        Assert.assertion(Arrays.equals(lengths, compressedLengths), "Arrays.equals(lengths, compressedLengths)");
+    }
+
+    @Test
+    public void testBodyCompressionHeaderRoundTrip() {
+        for (final BodyCompressionCodec codec : BodyCompressionCodec.values()) {
+            final BarrageSubscriptionOptions options = BarrageSubscriptionOptions.builder()
+                    .batchSize(1024)
+                    .bodyCompression(codec)
+                    .dictionaryEncodeStrings(codec != BodyCompressionCodec.NONE)
+                    .build();
+
+            final FlatBufferBuilder metadata = new FlatBufferBuilder();
+            final int optOffset = options.appendTo(metadata);
+            BarrageSubscriptionRequest.startBarrageSubscriptionRequest(metadata);
+            BarrageSubscriptionRequest.addSubscriptionOptions(metadata, optOffset);
+            metadata.finish(BarrageSubscriptionRequest.endBarrageSubscriptionRequest(metadata));
+
+            final Map<String, String> headers = BarrageOptionHeaders.of(options);
+            final BarrageSubscriptionOptions parsed = BarrageOptionHeaders.apply(BarrageSubscriptionOptions.of(
+                    BarrageSubscriptionRequest.getRootAsBarrageSubscriptionRequest(metadata.dataBuffer())),
+                    headers::get);
+            Assert.equals(parsed, "parsed", options, "options");
+        }
+
+        // servers decline codecs that they do not recognize
+        final FlatBufferBuilder metadata = new FlatBufferBuilder();
+        BarrageSubscriptionRequest.startBarrageSubscriptionRequest(metadata);
+        metadata.finish(BarrageSubscriptionRequest.endBarrageSubscriptionRequest(metadata));
+        final BarrageSubscriptionOptions parsed = BarrageOptionHeaders.apply(BarrageSubscriptionOptions.of(
+                BarrageSubscriptionRequest.getRootAsBarrageSubscriptionRequest(metadata.dataBuffer())),
+                Map.of(BarrageOptionHeaders.BODY_COMPRESSION, "brotli")::get);
+        Assert.equals(parsed.bodyCompression(), "parsed.bodyCompression()", BodyCompressionCodec.NONE, "NONE");
+    }
+
+    @Test
+    public void testDictionaryEncodingSkipsUniqueValues() {
+        final List<String> repeated = new ArrayList<>();
+        final List<String> unique = new ArrayList<>();
+        for (int ii = 0; ii < 1000; ++ii) {
+            repeated.add(ii % 3 == 0 ? null : "value-" + (ii % 10));
+            unique.add("value-" + ii);
+        }
+        Assert.assertion(BarrageDictionaries.isWorthEncoding(chunks(repeated)), "repeated values are encoded");
+        Assert.assertion(!BarrageDictionaries.isWorthEncoding(chunks(unique)), "unique values are not encoded");
+        Assert.assertion(BarrageDictionaries.isWorthEncoding(List.of()), "columns without values are encoded");
+    }
+
+    private static List<Chunk<Values>> chunks(final List<String> values) {
+        final WritableObjectChunk<String, Values> chunk = WritableObjectChunk.makeWritableChunk(values.size());
+        for (int ii = 0; ii < values.size(); ++ii) {
+            chunk.set(ii, values.get(ii));
+        }
+        return List.of(chunk);
+    }
 }
@@ -6,6 +6,8 @@ package io.deephaven.parquet.base;
 import io.deephaven.util.channel.SeekableChannelContext;
 import io.deephaven.util.channel.SeekableChannelsProvider;
 import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.format.Statistics;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.schema.PrimitiveType;
 import org.jetbrains.annotations.Nullable;
@@ -120,6 +122,32 @@ public interface ColumnChunkReader {
 
     PrimitiveType getType();
 
+    /**
+     * @return The statistics recorded for this column chunk in the file metadata, or null if none were written
+     */
+    @Nullable
+    Statistics getStatistics();
+
+    /**
+     * @return Whether the file metadata records a Bloom filter for this column chunk
+     */
+    boolean hasBloomFilter();
+
+    /**
+     * Read the split-block Bloom filter written for this column chunk, if any.
+     *
+     * @param channelContext The channel context to use for reading the Bloom filter
+     * @return The Bloom filter, or null if none was written or it uses an unsupported algorithm
+     */
+    @Nullable
+    BloomFilter getBloomFilter(SeekableChannelContext channelContext);
+
+    /**
+     * Hint to the {@link #getChannelsProvider() channels provider} that the pages of this column chunk are about to be
+     * read, so that it may fetch them ahead of time. This method does not block.
+     */
+    void prefetch();
+
     /**
      * @return The "version" string from deephaven specific parquet metadata, or null if it's not present.
      */
@@ -15,6 +15,8 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Dictionary;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.format.*;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.schema.MessageType;
@@ -188,6 +190,68 @@ final class ColumnChunkReaderImpl implements ColumnChunkReader {
         return path.getPrimitiveType();
     }
 
+    @Override
+    public Statistics getStatistics() {
+        final ColumnMetaData columnMeta = columnChunk.getMeta_data();
+        return columnMeta.isSetStatistics() ? columnMeta.getStatistics() : null;
+    }
+
+    @Override
+    public boolean hasBloomFilter() {
+        return columnChunk.getMeta_data().isSetBloom_filter_offset();
+    }
+
+    @Override
+    public BloomFilter getBloomFilter(final SeekableChannelContext channelContext) {
+        if (!hasBloomFilter()) {
+            return null;
+        }
+        final ColumnMetaData columnMeta = columnChunk.getMeta_data();
+        // Use the context object provided by the caller, or create (and close) a new one
+        try (
+                final ContextHolder holder = SeekableChannelContext.ensureContext(channelsProvider, channelContext);
+                final SeekableByteChannel ch = channelsProvider.getReadChannel(holder.get(), getURI())
+                        .position(columnMeta.getBloom_filter_offset())) {
+            final BloomFilterHeader header;
+            // We expect bloom filter headers to be smaller than 128 bytes
+            try (final InputStream in =
+                    SeekableChannelsProvider.channelPositionInputStream(channelsProvider, ch, 128)) {
+                header = Util.readBloomFilterHeader(in);
+            }
+            final int numBytes = header.getNumBytes();
+            if (!header.getAlgorithm().isSetBLOCK()
+                    || !header.getHash().isSetXXHASH()
+                    || !header.getCompression().isSetUNCOMPRESSED()
+                    || numBytes <= 0 || numBytes > BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
+                return null;
+            }
+            final byte[] bitset;
+            try (final InputStream in = channelsProvider.getInputStream(ch, numBytes)) {
+                bitset = in.readNBytes(numBytes);
+            }
+            if (bitset.length != numBytes) {
+                throw new UncheckedDeephavenException("Truncated bloom filter for column: " + columnName
+                        + ", uri: " + getURI());
+            }
+            return new BlockSplitBloomFilter(bitset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void prefetch() {
+        final ColumnMetaData columnMeta = columnChunk.getMeta_data();
+        // As in getDictionary, the dictionary page (if any) precedes the data pages
+        final long startOffset = columnMeta.isSetDictionary_page_offset()
+                && columnMeta.getDictionary_page_offset() > 0
+                && columnMeta.getDictionary_page_offset() < columnMeta.getData_page_offset()
+                        ? columnMeta.getDictionary_page_offset()
+                        : columnMeta.getData_page_offset();
+        channelsProvider.prefetch(getURI(), new long[] {startOffset},
+                new long[] {columnMeta.getTotal_compressed_size()});
+    }
+
     @Override
     public String getVersion() {
         return version;
@@ -13,6 +13,8 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
 import org.apache.parquet.format.*;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
@@ -20,14 +22,17 @@ import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.internal.column.columnindex.OffsetIndexBuilder;
 import org.apache.parquet.io.ParquetEncodingException;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.LogicalTypeAnnotation;
 import org.apache.parquet.schema.PrimitiveType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
@@ -40,6 +45,7 @@ import static org.apache.parquet.format.Util.writePageHeader;
 final class ColumnWriterImpl implements ColumnWriter {
 
     private static final int MIN_SLAB_SIZE = 64;
+    private static final double BLOOM_FILTER_FPP = 0.01;
 
     private final CountingOutputStream countingOutput;
     private final ColumnDescriptor column;
@@ -64,6 +70,8 @@ final class ColumnWriterImpl implements ColumnWriter {
     private long totalValueCount;
     private DictionaryPageHeader dictionaryPage;
     private final OffsetIndexBuilder offsetIndexBuilder;
+    private final boolean writeBloomFilter;
+    private BloomFilter bloomFilter;
 
     private final EncodingStats.Builder encodingStatsBuilder = new EncodingStats.Builder();
 
@@ -73,7 +81,8 @@ final class ColumnWriterImpl implements ColumnWriter {
             final ColumnDescriptor column,
             final CompressorAdapter compressorAdapter,
             final int targetPageSize,
-            final ByteBufferAllocator allocator) {
+            final ByteBufferAllocator allocator,
+            final boolean writeBloomFilter) {
         this.countingOutput = countingOutput;
         this.column = column;
         this.compressorAdapter = compressorAdapter;
@@ -88,6 +97,9 @@ final class ColumnWriterImpl implements ColumnWriter {
         this.owner = owner;
         offsetIndexBuilder = OffsetIndexBuilder.getBuilder();
         statistics = Statistics.createStats(column.getPrimitiveType());
+        this.writeBloomFilter = writeBloomFilter
+                && column.getMaxRepetitionLevel() == 0
+                && column.getPrimitiveType().getPrimitiveTypeName() != PrimitiveType.PrimitiveTypeName.BOOLEAN;
     }
 
     @Override
@@ -103,7 +115,9 @@ final class ColumnWriterImpl implements ColumnWriter {
                 dlEncoder.writeInt(1); // TODO implement a bulk RLE writer
             }
         }
-        writePage(bulkWriter.getByteBufferView(), valuesCount, valuesCount);
+        final ByteBuffer encodedData = bulkWriter.getByteBufferView();
+        addToBloomFilter(encodedData);
+        writePage(encodedData, valuesCount, valuesCount);
         bulkWriter.reset();
     }
 
@@ -134,7 +148,13 @@ final class ColumnWriterImpl implements ColumnWriter {
         // noinspection unchecked
         dictionaryWriter.writeBulk(dictionaryValues, valuesCount, NullStatistics.INSTANCE);
         dictionaryOffset = countingOutput.getCount();
-        writeDictionaryPage(dictionaryWriter.getByteBufferView(), valuesCount);
+        final ByteBuffer dictionaryBuffer = dictionaryWriter.getByteBufferView();
+        if (writeBloomFilter) {
+            // Every value in the column chunk is in the dictionary
+            bloomFilter = newBloomFilter(valuesCount);
+            addToBloomFilter(dictionaryBuffer);
+        }
+        writeDictionaryPage(dictionaryBuffer, valuesCount);
         pageCount++;
         hasDictionary = true;
         dictionaryPage = new DictionaryPageHeader(valuesCount, org.apache.parquet.format.Encoding.PLAIN);
@@ -211,7 +231,9 @@ final class ColumnWriterImpl implements ColumnWriter {
         initWriter();
         // noinspection unchecked
         bulkWriter.writeBulkFilterNulls(pageData, dlEncoder, valuesCount, statistics);
-        writePage(bulkWriter.getByteBufferView(), valuesCount, valuesCount);
+        final ByteBuffer encodedData = bulkWriter.getByteBufferView();
+        addToBloomFilter(encodedData);
+        writePage(encodedData, valuesCount, valuesCount);
         bulkWriter.reset();
     }
 
@@ -234,6 +256,63 @@ final class ColumnWriterImpl implements ColumnWriter {
         bulkWriter.reset();
     }
 
+    private static BloomFilter newBloomFilter(final long distinctValueCount) {
+        final int numBytes = BlockSplitBloomFilter.optimalNumOfBits(distinctValueCount, BLOOM_FILTER_FPP) / 8;
+        return new BlockSplitBloomFilter(Math.min(numBytes, BlockSplitBloomFilter.DEFAULT_MAXIMUM_BYTES));
+    }
+
+    /**
+     * Add plain-encoded values to the bloom filter, if one is being written and the values are not dictionary
+     * indices. Bloom filter hashes are computed over the plain encoding of each value, excluding the length prefix for
+     * binary values.
+     *
+     * @param plainValues The plain-encoded values; not modified
+     */
+    private void addToBloomFilter(@NotNull final ByteBuffer plainValues) {
+        if (!writeBloomFilter || hasDictionary) {
+            return;
+        }
+        if (bloomFilter == null) {
+            // Without a dictionary, the number of rows in the row group bounds the number of distinct values
+            bloomFilter = newBloomFilter(owner.getBlock().getRowCount());
+        }
+        final ByteBuffer values = plainValues.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        switch (column.getPrimitiveType().getPrimitiveTypeName()) {
+            case INT32:
+                while (values.hasRemaining()) {
+                    bloomFilter.insertHash(bloomFilter.hash(values.getInt()));
+                }
+                break;
+            case INT64:
+                while (values.hasRemaining()) {
+                    bloomFilter.insertHash(bloomFilter.hash(values.getLong()));
+                }
+                break;
+            case FLOAT:
+                while (values.hasRemaining()) {
+                    bloomFilter.insertHash(bloomFilter.hash(values.getFloat()));
+                }
+                break;
+            case DOUBLE:
+                while (values.hasRemaining()) {
+                    bloomFilter.insertHash(bloomFilter.hash(values.getDouble()));
+                }
+                break;
+            case BINARY:
+                while (values.hasRemaining()) {
+                    final int length = values.getInt();
+                    final ByteBuffer value = values.slice();
+                    value.limit(length);
+                    bloomFilter.insertHash(bloomFilter.hash(Binary.fromConstantByteBuffer(value)));
+                    values.position(values.position() + length);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Bloom filters not supported for type " + column.getPrimitiveType().getPrimitiveTypeName());
+        }
+    }
+
     private void writeDataPageV2Header(
             final int uncompressedSize,
             final int compressedSize,
@@ -418,29 +497,49 @@ final class ColumnWriterImpl implements ColumnWriter {
 
     @Override
     public void close() {
-        owner.releaseWriter(this,
-                ColumnChunkMetaData.get(ColumnPath.get(column.getPath()),
-                        column.getPrimitiveType(),
-                        compressorAdapter.getCodecName(),
-                        encodingStatsBuilder.build(),
-                        encodings,
-                        statistics,
-                        firstDataPageOffset,
-                        dictionaryOffset,
-                        totalValueCount,
-                        compressedLength,
-                        uncompressedLength));
+        owner.releaseWriter(this);
 
         // We do not call bout.close() because it closes the underlying writeChannel, and this class does not own the
         // writeChannel. Also, we are assuming that all the buffered data has already been flushed to the writeChannel.
     }
 
+    /**
+     * @param offsetShift The position in the file of the start of this writer's output stream, which is added to all
+     *        offsets recorded while writing; zero if writing directly to the file
+     * @return The metadata for this column chunk
+     */
+    ColumnChunkMetaData getColumnChunkMetaData(final long offsetShift) {
+        return ColumnChunkMetaData.get(ColumnPath.get(column.getPath()),
+                column.getPrimitiveType(),
+                compressorAdapter.getCodecName(),
+                encodingStatsBuilder.build(),
+                encodings,
+                statistics,
+                firstDataPageOffset + offsetShift,
+                dictionaryOffset == -1 ? -1 : dictionaryOffset + offsetShift,
+                totalValueCount,
+                compressedLength,
+                uncompressedLength);
+    }
+
     public ColumnDescriptor getColumn() {
         return column;
     }
 
-    OffsetIndex getOffsetIndex() {
-        return offsetIndexBuilder.build(firstDataPageOffset);
+    /**
+     * @param offsetShift As for {@link #getColumnChunkMetaData(long)}
+     * @return The offset index for this column chunk
+     */
+    OffsetIndex getOffsetIndex(final long offsetShift) {
+        return offsetIndexBuilder.build(firstDataPageOffset + offsetShift);
+    }
+
+    /**
+     * @return The bloom filter for this column chunk, or {@code null} if none was requested or no values were written
+     */
+    @Nullable
+    BloomFilter getBloomFilter() {
+        return bloomFilter;
     }
 
     @Override
@@ -9,6 +9,7 @@ import io.deephaven.parquet.compress.CompressorAdapter;
 import io.deephaven.parquet.compress.DeephavenCompressorAdapterFactory;
 import org.apache.parquet.Version;
 import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 
 import org.apache.parquet.format.Util;
 import org.apache.parquet.hadoop.metadata.*;
@@ -37,9 +38,11 @@ public final class ParquetFileWriter implements AutoCloseable {
     private final int targetPageSize;
     private final ByteBufferAllocator allocator;
     private final CompressorAdapter compressorAdapter;
+    private final String codecName;
     private final Map<String, String> extraMetaData;
     private final List<BlockMetaData> blocks = new ArrayList<>();
     private final List<List<OffsetIndex>> offsetIndexes = new ArrayList<>();
+    private final List<List<BloomFilter>> bloomFilters = new ArrayList<>();
     private final URI dest;
     private final ParquetMetadataFileWriter metadataFileWriter;
 
@@ -59,21 +62,24 @@ public final class ParquetFileWriter implements AutoCloseable {
         countingOutput.write(MAGIC);
         this.type = type;
         this.compressorAdapter = DeephavenCompressorAdapterFactory.getInstance().getByName(codecName);
+        this.codecName = codecName;
         this.dest = dest;
         this.metadataFileWriter = metadataFileWriter;
     }
 
     public RowGroupWriter addRowGroup(final long size) {
         final RowGroupWriterImpl rowGroupWriter =
-                new RowGroupWriterImpl(countingOutput, type, targetPageSize, allocator, compressorAdapter);
+                new RowGroupWriterImpl(countingOutput, type, targetPageSize, allocator, compressorAdapter, codecName);
         rowGroupWriter.getBlock().setRowCount(size);
         blocks.add(rowGroupWriter.getBlock());
         offsetIndexes.add(rowGroupWriter.offsetIndexes());
+        bloomFilters.add(rowGroupWriter.bloomFilters());
         return rowGroupWriter;
     }
 
     @Override
     public void close() throws IOException {
+        serializeBloomFilters();
         serializeOffsetIndexes();
         final ParquetMetadata footer =
                 new ParquetMetadata(new FileMetaData(type, extraMetaData, Version.FULL_VERSION), blocks);
@@ -103,6 +109,23 @@ public final class ParquetFileWriter implements AutoCloseable {
         };
     }
 
+    private void serializeBloomFilters() throws IOException {
+        for (int bIndex = 0, bSize = blocks.size(); bIndex < bSize; ++bIndex) {
+            final List<ColumnChunkMetaData> columns = blocks.get(bIndex).getColumns();
+            final List<BloomFilter> blockBloomFilters = bloomFilters.get(bIndex);
+            for (int cIndex = 0, cSize = columns.size(); cIndex < cSize; ++cIndex) {
+                final BloomFilter bloomFilter = blockBloomFilters.get(cIndex);
+                if (bloomFilter == null) {
+                    continue;
+                }
+                final ColumnChunkMetaData column = columns.get(cIndex);
+                column.setBloomFilterOffset(countingOutput.getCount());
+                Util.writeBloomFilterHeader(ParquetMetadataConverter.toBloomFilterHeader(bloomFilter), countingOutput);
+                bloomFilter.writeTo(countingOutput);
+            }
+        }
+    }
+
     private void serializeOffsetIndexes() throws IOException {
         for (int bIndex = 0, bSize = blocks.size(); bIndex < bSize; ++bIndex) {
             final List<ColumnChunkMetaData> columns = blocks.get(bIndex).getColumns();
@@ -6,7 +6,32 @@ package io.deephaven.parquet.base;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 
 public interface RowGroupWriter {
-    ColumnWriter addColumn(String columnName);
+    default ColumnWriter addColumn(String columnName) {
+        return addColumn(columnName, false);
+    }
+
+    /**
+     * Add a column to this row group.
+     *
+     * @param columnName The name of the column in the parquet schema
+     * @param writeBloomFilter Whether to write a split-block Bloom filter for the column chunk; ignored for boolean and
+     *        repeated columns
+     * @return The writer for the column chunk
+     */
+    ColumnWriter addColumn(String columnName, boolean writeBloomFilter);
+
+    /**
+     * Add a column to this row group whose chunk is encoded and compressed into a private buffer rather than directly
+     * into the file, so that any number of buffered column writers may be used concurrently, each from a single
+     * thread. Column chunks are copied to the file in the order their writers were added, as soon as a writer and all
+     * writers added before it have been closed. Buffered columns must not be interleaved with
+     * {@link #addColumn(String, boolean) unbuffered} columns.
+     *
+     * @param columnName The name of the column in the parquet schema
+     * @param writeBloomFilter As for {@link #addColumn(String, boolean)}
+     * @return The writer for the column chunk
+     */
+    ColumnWriter addBufferedColumn(String columnName, boolean writeBloomFilter);
 
     BlockMetaData getBlock();
 }
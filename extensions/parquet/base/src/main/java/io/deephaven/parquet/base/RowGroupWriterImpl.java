@@ -5,7 +5,10 @@ package io.deephaven.parquet.base;
 
 import com.google.common.io.CountingOutputStream;
 import io.deephaven.parquet.compress.CompressorAdapter;
+import io.deephaven.parquet.compress.DeephavenCompressorAdapterFactory;
 import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.CapacityByteArrayOutputStream;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
@@ -13,11 +16,24 @@ import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 
 final class RowGroupWriterImpl implements RowGroupWriter {
+    /**
+     * Initial slab size for the buffer of a buffered column writer.
+     */
+    private static final int BUFFERED_COLUMN_INITIAL_SLAB_SIZE = 64 << 10;
+    /**
+     * Capacity hint for the buffer of a buffered column writer; slabs grow exponentially up to a fraction of this.
+     */
+    private static final int BUFFERED_COLUMN_MAX_CAPACITY_HINT = 64 << 20;
+
     private final CountingOutputStream countingOutput;
     private final MessageType type;
     private final int targetPageSize;
@@ -25,14 +41,34 @@ final class RowGroupWriterImpl implements RowGroupWriter {
     private ColumnWriterImpl activeWriter;
     private final BlockMetaData blockMetaData;
     private final List<OffsetIndex> currentOffsetIndexes = new ArrayList<>();
+    private final List<BloomFilter> currentBloomFilters = new ArrayList<>();
     private final CompressorAdapter compressorAdapter;
+    private final String codecName;
+
+    /**
+     * Buffered column writers that have not yet been copied to the file, in the order they were added.
+     */
+    private final Deque<BufferedColumn> pendingBufferedColumns = new ArrayDeque<>();
+
+    private static final class BufferedColumn {
+        private final CapacityByteArrayOutputStream buffer;
+        private final CompressorAdapter compressorAdapter;
+        private ColumnWriterImpl writer;
+        private boolean closed;
+
+        private BufferedColumn(CapacityByteArrayOutputStream buffer, CompressorAdapter compressorAdapter) {
+            this.buffer = buffer;
+            this.compressorAdapter = compressorAdapter;
+        }
+    }
 
     RowGroupWriterImpl(CountingOutputStream countingOutput,
             MessageType type,
             int targetPageSize,
             ByteBufferAllocator allocator,
-            CompressorAdapter compressorAdapter) {
-        this(countingOutput, type, targetPageSize, allocator, new BlockMetaData(), compressorAdapter);
+            CompressorAdapter compressorAdapter,
+            String codecName) {
+        this(countingOutput, type, targetPageSize, allocator, new BlockMetaData(), compressorAdapter, codecName);
     }
 
 
@@ -41,13 +77,15 @@ final class RowGroupWriterImpl implements RowGroupWriter {
             int targetPageSize,
             ByteBufferAllocator allocator,
             BlockMetaData blockMetaData,
-            CompressorAdapter compressorAdapter) {
+            CompressorAdapter compressorAdapter,
+            String codecName) {
         this.countingOutput = countingOutput;
         this.type = type;
         this.targetPageSize = targetPageSize;
         this.allocator = allocator;
         this.blockMetaData = blockMetaData;
         this.compressorAdapter = compressorAdapter;
+        this.codecName = codecName;
     }
 
     String[] getPrimitivePath(String columnName) {
@@ -66,37 +104,96 @@ final class RowGroupWriterImpl implements RowGroupWriter {
     }
 
     @Override
-    public ColumnWriter addColumn(String columnName) {
+    public synchronized ColumnWriter addColumn(String columnName, boolean writeBloomFilter) {
         if (activeWriter != null) {
             throw new IllegalStateException(
                     "There is already an active column writer for " + activeWriter.getColumn().getPath()[0]
                             + " need to close that before opening a writer for " + columnName);
         }
+        if (!pendingBufferedColumns.isEmpty()) {
+            throw new IllegalStateException("There are buffered column writers pending, need to close those before "
+                    + "opening a writer for " + columnName);
+        }
         activeWriter = new ColumnWriterImpl(this,
                 countingOutput,
                 type.getColumnDescription(getPrimitivePath(columnName)),
                 compressorAdapter,
                 targetPageSize,
-                allocator);
+                allocator,
+                writeBloomFilter);
         return activeWriter;
     }
 
+    @Override
+    public synchronized ColumnWriter addBufferedColumn(String columnName, boolean writeBloomFilter) {
+        if (activeWriter != null) {
+            throw new IllegalStateException(
+                    "There is already an active column writer for " + activeWriter.getColumn().getPath()[0]
+                            + " need to close that before opening a buffered writer for " + columnName);
+        }
+        // Compressor adapters are stateful, so each concurrently used writer needs its own
+        final BufferedColumn bufferedColumn = new BufferedColumn(
+                new CapacityByteArrayOutputStream(
+                        BUFFERED_COLUMN_INITIAL_SLAB_SIZE, BUFFERED_COLUMN_MAX_CAPACITY_HINT, allocator),
+                DeephavenCompressorAdapterFactory.getInstance().getByName(codecName));
+        bufferedColumn.writer = new ColumnWriterImpl(this,
+                new CountingOutputStream(bufferedColumn.buffer),
+                type.getColumnDescription(getPrimitivePath(columnName)),
+                bufferedColumn.compressorAdapter,
+                targetPageSize,
+                allocator,
+                writeBloomFilter);
+        pendingBufferedColumns.addLast(bufferedColumn);
+        return bufferedColumn.writer;
+    }
+
     @Override
     public BlockMetaData getBlock() {
         return blockMetaData;
     }
 
-    void releaseWriter(ColumnWriterImpl columnWriter, ColumnChunkMetaData columnChunkMetaData) {
-        if (activeWriter != columnWriter) {
-            throw new RuntimeException(columnWriter.getColumn().getPath()[0] + " is not the active column");
+    synchronized void releaseWriter(ColumnWriterImpl columnWriter) {
+        if (activeWriter == columnWriter) {
+            addColumnChunk(columnWriter, 0);
+            activeWriter = null;
+            return;
         }
-        currentOffsetIndexes.add(columnWriter.getOffsetIndex());
+        final BufferedColumn released = pendingBufferedColumns.stream()
+                .filter(bufferedColumn -> bufferedColumn.writer == columnWriter)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        columnWriter.getColumn().getPath()[0] + " is not an active column"));
+        released.closed = true;
+        // Copy out every leading buffered column that is complete, so chunks appear in the order they were added
+        while (!pendingBufferedColumns.isEmpty() && pendingBufferedColumns.peekFirst().closed) {
+            final BufferedColumn bufferedColumn = pendingBufferedColumns.removeFirst();
+            try {
+                final long offsetShift = countingOutput.getCount();
+                bufferedColumn.buffer.writeTo(countingOutput);
+                addColumnChunk(bufferedColumn.writer, offsetShift);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write buffered column chunk for "
+                        + bufferedColumn.writer.getColumn().getPath()[0], e);
+            } finally {
+                bufferedColumn.buffer.close();
+                bufferedColumn.compressorAdapter.close();
+            }
+        }
+    }
+
+    private void addColumnChunk(ColumnWriterImpl columnWriter, long offsetShift) {
+        final ColumnChunkMetaData columnChunkMetaData = columnWriter.getColumnChunkMetaData(offsetShift);
+        currentOffsetIndexes.add(columnWriter.getOffsetIndex(offsetShift));
+        currentBloomFilters.add(columnWriter.getBloomFilter());
         blockMetaData.addColumn(columnChunkMetaData);
         blockMetaData.setTotalByteSize(columnChunkMetaData.getTotalSize() + blockMetaData.getTotalByteSize());
-        activeWriter = null;
     }
 
     List<OffsetIndex> offsetIndexes() {
         return currentOffsetIndexes;
     }
+
+    List<BloomFilter> bloomFilters() {
+        return currentBloomFilters;
+    }
 }
@@ -180,6 +180,13 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
      */
     public abstract boolean useDictionary(String columnName);
 
+    /**
+     * @return Whether the writer should write a split-block Bloom filter for each column chunk of this column, allowing
+     *         readers to skip row groups that cannot contain a given value; ignored for boolean and array columns,
+     *         defaults to false
+     */
+    public abstract boolean useBloomFilter(String columnName);
+
     public abstract Object getSpecialInstructions();
 
     public abstract String getCompressionCodecName();
@@ -294,6 +301,11 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
             return false;
         }
 
+        @Override
+        public boolean useBloomFilter(final String columnName) {
+            return false;
+        }
+
         @Override
         @Nullable
         public Object getSpecialInstructions() {
@@ -390,6 +402,7 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
         private String codecName;
         private String codecArgs;
         private boolean useDictionary;
+        private boolean useBloomFilter;
 
         public ColumnInstructions(final String columnName) {
             this.columnName = columnName;
@@ -433,6 +446,14 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
         public void useDictionary(final boolean useDictionary) {
             this.useDictionary = useDictionary;
         }
+
+        public boolean useBloomFilter() {
+            return useBloomFilter;
+        }
+
+        public void useBloomFilter(final boolean useBloomFilter) {
+            this.useBloomFilter = useBloomFilter;
+        }
     }
 
     private static final class ReadOnly extends ParquetInstructions {
@@ -546,6 +567,11 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
             return getOrDefault(columnName, false, ColumnInstructions::useDictionary);
         }
 
+        @Override
+        public boolean useBloomFilter(final String columnName) {
+            return getOrDefault(columnName, false, ColumnInstructions::useBloomFilter);
+        }
+
         @Override
         public String getCompressionCodecName() {
             return compressionCodecName;
@@ -822,6 +848,19 @@ public abstract class ParquetInstructions implements ColumnToCodecMappings {
             return this;
         }
 
+        /**
+         * Set whether the writer should write a split-block Bloom filter for each column chunk of this column; ignored
+         * for boolean and array columns. Readers use these filters to skip row groups when matching specific values.
+         *
+         * @param columnName The column name
+         * @param useBloomFilter Whether to write Bloom filters
+         */
+        public Builder useBloomFilter(final String columnName, final boolean useBloomFilter) {
+            final ColumnInstructions ci = getColumnInstructions(columnName);
+            ci.useBloomFilter(useBloomFilter);
+            return this;
+        }
+
         private ColumnInstructions getColumnInstructions(final String columnName) {
             final ColumnInstructions ci;
             if (columnNameToInstructions == null) {
@@ -23,6 +23,7 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,8 +35,10 @@ import static io.deephaven.parquet.base.ParquetUtils.getPerFileMetadataKey;
 
 /**
  * Used to generate a combined {@value ParquetUtils#METADATA_FILE_NAME} and
- * {@value ParquetUtils#COMMON_METADATA_FILE_NAME} file for provided Parquet files. This class is stateful and therefore
- * should not be used by multiple threads concurrently.
+ * {@value ParquetUtils#COMMON_METADATA_FILE_NAME} file for provided Parquet files. This class is stateful; metadata for
+ * different files may be {@link #addParquetFileMetadata added} concurrently, but the metadata files should only be
+ * written once all files have been added. Files are merged in the order of the destinations provided at construction,
+ * regardless of the order in which they were added.
  */
 final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
 
@@ -54,6 +57,10 @@ final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
 
     private final URI metadataRootDir;
     private final List<ParquetFileMetadata> parquetFileMetadataList;
+    /**
+     * The position of each destination in the array provided at construction, used to order the merged metadata
+     */
+    private final Map<URI, Integer> destinationIndexes;
     private final MessageType partitioningColumnsSchema;
 
     // The following fields are used to accumulate metadata for all parquet files
@@ -89,6 +96,10 @@ final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
             }
         }
         this.parquetFileMetadataList = new ArrayList<>(destinations.length);
+        this.destinationIndexes = new HashMap<>(destinations.length);
+        for (int di = 0; di < destinations.length; ++di) {
+            destinationIndexes.putIfAbsent(destinations[di], di);
+        }
         this.partitioningColumnsSchema = partitioningColumnsSchema;
 
         this.mergedSchema = null;
@@ -105,7 +116,7 @@ final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
      * @param parquetFileURI The parquet file destination URI
      * @param metadata The parquet metadata
      */
-    public void addParquetFileMetadata(final URI parquetFileURI, final ParquetMetadata metadata) {
+    public synchronized void addParquetFileMetadata(final URI parquetFileURI, final ParquetMetadata metadata) {
         parquetFileMetadataList.add(new ParquetFileMetadata(parquetFileURI, metadata));
     }
 
@@ -116,7 +127,7 @@ final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
      * @param metadataOutputStream The output stream for the {@value ParquetUtils#METADATA_FILE_NAME} file
      * @param commonMetadataOutputStream The output stream for the {@value ParquetUtils#COMMON_METADATA_FILE_NAME} file
      */
-    public void writeMetadataFiles(
+    public synchronized void writeMetadataFiles(
             final CompletableOutputStream metadataOutputStream,
             final CompletableOutputStream commonMetadataOutputStream) throws IOException {
         if (parquetFileMetadataList.isEmpty()) {
@@ -147,6 +158,8 @@ final class ParquetMetadataFileWriterImpl implements ParquetMetadataFileWriter {
      */
     private void mergeMetadata() throws IOException {
         final Collection<String> mergedCreatedBy = new HashSet<>();
+        parquetFileMetadataList.sort(Comparator.comparingInt(
+                parquetFileMetadata -> destinationIndexes.getOrDefault(parquetFileMetadata.uri, Integer.MAX_VALUE)));
         for (final ParquetFileMetadata parquetFileMetadata : parquetFileMetadataList) {
             final FileMetaData fileMetaData = parquetFileMetadata.metadata.getFileMetaData();
             mergedSchema = mergeSchemaInto(fileMetaData.getSchema(), mergedSchema);
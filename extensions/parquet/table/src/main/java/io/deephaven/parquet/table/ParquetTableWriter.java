@@ -4,6 +4,8 @@
 package io.deephaven.parquet.table;
 
 import io.deephaven.api.SortColumn;
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.liveness.LivenessScopeStack;
 import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.rowset.TrackingRowSet;
@@ -14,6 +16,8 @@ import io.deephaven.engine.table.impl.select.FormulaColumn;
 import io.deephaven.engine.table.impl.select.NullSelectColumn;
 import io.deephaven.engine.table.impl.select.SelectColumn;
 import io.deephaven.engine.table.impl.select.SourceColumn;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.parquet.base.ColumnWriter;
 import io.deephaven.parquet.base.NullParquetMetadataFileWriter;
 import io.deephaven.parquet.base.ParquetMetadataFileWriter;
@@ -27,6 +31,7 @@ import io.deephaven.parquet.table.transfer.TransferObject;
 import io.deephaven.stringset.StringSet;
 import io.deephaven.util.QueryConstants;
 import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.annotations.VisibleForTesting;
 import io.deephaven.util.channel.CompletableOutputStream;
 import io.deephaven.vector.Vector;
 import org.apache.commons.lang3.tuple.Pair;
@@ -40,8 +45,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.IntBuffer;
+import java.time.Instant;
 import java.util.*;
 
 import static io.deephaven.parquet.base.ParquetUtils.METADATA_KEY;
@@ -56,6 +63,19 @@ public class ParquetTableWriter {
 
     public static final String INDEX_ROW_SET_COLUMN_NAME = "dh_row_set";
 
+    /**
+     * The maximum estimated size of the column chunks of a row group that are buffered in memory at once when columns
+     * are written concurrently.
+     */
+    @VisibleForTesting
+    static long maxBufferedColumnBytes = Configuration.getInstance()
+            .getLongWithDefault("ParquetTableWriter.maxBufferedColumnBytes", 1L << 28); // 256MB
+
+    /**
+     * The estimated encoded size per row of a column of strings, arrays, vectors or other objects.
+     */
+    private static final int ESTIMATED_OBJECT_BYTES_PER_ROW = 32;
+
 
     /**
      * Helper struct used to pass information about where to write the index files
@@ -237,17 +257,121 @@ public class ParquetTableWriter {
         final long nRows = table.size();
         if (nRows > 0) {
             final RowGroupWriter rowGroupWriter = parquetFileWriter.addRowGroup(nRows);
+            final OperationInitializer operationInitializer = ExecutionContext.getContext().getOperationInitializer();
+            if (columnSourceMap.size() > 1 && operationInitializer.canParallelize()) {
+                writeColumnsInParallel(table, writeInstructions, rowGroupWriter, computedCache,
+                        operationInitializer.parallelismFactor());
+                return;
+            }
             for (final Map.Entry<String, ? extends ColumnSource<?>> nameToSource : columnSourceMap.entrySet()) {
                 final String columnName = nameToSource.getKey();
                 final ColumnSource<?> columnSource = nameToSource.getValue();
+                writeColumn(tableRowSet, writeInstructions, rowGroupWriter, computedCache, columnName, columnSource);
+            }
+        }
+    }
+
+    /**
+     * Write the columns of a table to a row group, encoding and compressing batches of column chunks concurrently into
+     * heap buffers that the row group writer copies to the file in column order. Each batch holds at most
+     * {@code maxColumnsPerBatch} columns whose estimated size is at most {@link #maxBufferedColumnBytes}; a column that
+     * does not fit in a batch with any other column is written directly to the file instead.
+     */
+    private static void writeColumnsInParallel(
+            @NotNull final Table table,
+            @NotNull final ParquetInstructions writeInstructions,
+            @NotNull final RowGroupWriter rowGroupWriter,
+            @NotNull final Map<String, Map<ParquetCacheTags, Object>> computedCache,
+            final int maxColumnsPerBatch) throws IOException {
+        final TrackingRowSet tableRowSet = table.getRowSet();
+        final Map<String, ? extends ColumnSource<?>> columnSourceMap = table.getColumnSourceMap();
+        final String[] columnNames = columnSourceMap.keySet().toArray(String[]::new);
+        int batchStart = 0;
+        while (batchStart < columnNames.length) {
+            int batchEnd = batchStart + 1;
+            long batchBytes = estimateBufferedBytes(table.size(), columnSourceMap.get(columnNames[batchStart]));
+            while (batchEnd < columnNames.length && batchEnd - batchStart < maxColumnsPerBatch) {
+                final long columnBytes =
+                        estimateBufferedBytes(table.size(), columnSourceMap.get(columnNames[batchEnd]));
+                if (batchBytes + columnBytes > maxBufferedColumnBytes) {
+                    break;
+                }
+                batchBytes += columnBytes;
+                ++batchEnd;
+            }
+            if (batchEnd - batchStart == 1) {
+                final String columnName = columnNames[batchStart];
+                writeColumn(tableRowSet, writeInstructions, rowGroupWriter, computedCache, columnName,
+                        columnSourceMap.get(columnName));
+            } else {
+                final int offset = batchStart;
+                final ColumnWriter[] columnWriters = new ColumnWriter[batchEnd - batchStart];
                 try {
-                    writeColumnSource(tableRowSet, writeInstructions, rowGroupWriter, computedCache, columnName,
-                            columnSource);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException("Failed to write column " + columnName, e);
+                    for (int ci = 0; ci < columnWriters.length; ++ci) {
+                        final String columnName = columnNames[offset + ci];
+                        columnWriters[ci] = rowGroupWriter.addBufferedColumn(
+                                writeInstructions.getParquetColumnNameFromColumnNameOrDefault(columnName),
+                                writeInstructions.useBloomFilter(columnName));
+                    }
+                    OperationInitializerJobScheduler.iterateParallelAndWait("ParquetTableWriter-writeColumns",
+                            columnWriters.length, ci -> {
+                                final String columnName = columnNames[offset + ci];
+                                try (final ColumnWriter columnWriter = columnWriters[ci]) {
+                                    columnWriters[ci] = null;
+                                    writeColumnSource(tableRowSet, writeInstructions, columnWriter, computedCache,
+                                            columnName, columnSourceMap.get(columnName));
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                } finally {
+                    // Release the buffers of any writers that were not used, e.g. due to an earlier failure
+                    for (final ColumnWriter columnWriter : columnWriters) {
+                        if (columnWriter != null) {
+                            columnWriter.close();
+                        }
+                    }
                 }
             }
+            batchStart = batchEnd;
+        }
+    }
+
+    private static void writeColumn(
+            @NotNull final RowSet tableRowSet,
+            @NotNull final ParquetInstructions writeInstructions,
+            @NotNull final RowGroupWriter rowGroupWriter,
+            @NotNull final Map<String, Map<ParquetCacheTags, Object>> computedCache,
+            @NotNull final String columnName,
+            @NotNull final ColumnSource<?> columnSource) throws IOException {
+        try (final ColumnWriter columnWriter = rowGroupWriter.addColumn(
+                writeInstructions.getParquetColumnNameFromColumnNameOrDefault(columnName),
+                writeInstructions.useBloomFilter(columnName))) {
+            writeColumnSource(tableRowSet, writeInstructions, columnWriter, computedCache, columnName, columnSource);
+        }
+    }
+
+    /**
+     * Estimate the size of the buffer needed to hold the encoded column chunk for {@code columnSource}, from the
+     * uncompressed size of its values.
+     */
+    private static long estimateBufferedBytes(final long nRows, @NotNull final ColumnSource<?> columnSource) {
+        final Class<?> type = columnSource.getType();
+        final int bytesPerRow;
+        if (type == boolean.class || type == Boolean.class || type == byte.class) {
+            bytesPerRow = Byte.BYTES;
+        } else if (type == char.class || type == short.class) {
+            bytesPerRow = Short.BYTES;
+        } else if (type == int.class || type == float.class) {
+            bytesPerRow = Integer.BYTES;
+        } else if (type == long.class || type == double.class || type == Instant.class) {
+            bytesPerRow = Long.BYTES;
+        } else {
+            bytesPerRow = ESTIMATED_OBJECT_BYTES_PER_ROW;
         }
+        return nRows * bytesPerRow;
     }
 
     /**
@@ -386,20 +510,17 @@ public class ParquetTableWriter {
     private static <DATA_TYPE> void writeColumnSource(
             @NotNull final RowSet tableRowSet,
             @NotNull final ParquetInstructions writeInstructions,
-            @NotNull final RowGroupWriter rowGroupWriter,
+            @NotNull final ColumnWriter columnWriter,
             @NotNull final Map<String, Map<ParquetCacheTags, Object>> computedCache,
             @NotNull final String columnName,
-            @NotNull final ColumnSource<DATA_TYPE> columnSource) throws IllegalAccessException, IOException {
-        try (final ColumnWriter columnWriter = rowGroupWriter.addColumn(
-                writeInstructions.getParquetColumnNameFromColumnNameOrDefault(columnName))) {
-            boolean usedDictionary = false;
-            if (String.class.equals(columnSource.getType()) || String.class.equals(columnSource.getComponentType())) {
-                usedDictionary =
-                        tryEncodeDictionary(tableRowSet, writeInstructions, columnWriter, columnName, columnSource);
-            }
-            if (!usedDictionary) {
-                encodePlain(tableRowSet, writeInstructions, columnWriter, computedCache, columnName, columnSource);
-            }
+            @NotNull final ColumnSource<DATA_TYPE> columnSource) throws IOException {
+        boolean usedDictionary = false;
+        if (String.class.equals(columnSource.getType()) || String.class.equals(columnSource.getComponentType())) {
+            usedDictionary =
+                    tryEncodeDictionary(tableRowSet, writeInstructions, columnWriter, columnName, columnSource);
+        }
+        if (!usedDictionary) {
+            encodePlain(tableRowSet, writeInstructions, columnWriter, computedCache, columnName, columnSource);
         }
     }
 
@@ -37,6 +37,7 @@ import io.deephaven.engine.table.impl.locations.impl.PollingTableLocationProvide
 import io.deephaven.engine.table.impl.locations.impl.StandaloneTableKey;
 import io.deephaven.engine.table.impl.locations.impl.TableLocationKeyFinder;
 import io.deephaven.engine.table.impl.sources.regioned.RegionedTableComponentFactoryImpl;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.parquet.base.ParquetUtils;
@@ -54,9 +55,12 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -535,7 +539,8 @@ public class ParquetTools {
     private static Map<String, Map<ParquetCacheTags, Object>> buildComputedCache(
             @NotNull final Supplier<Table> mergedTableSupplier,
             @NotNull final TableDefinition definition) {
-        final Map<String, Map<ParquetCacheTags, Object>> computedCache = new HashMap<>();
+        // Concurrent since the tables using the cache may be written concurrently
+        final Map<String, Map<ParquetCacheTags, Object>> computedCache = new ConcurrentHashMap<>();
         Table mergedTable = null;
         final List<ColumnDefinition<?>> leafColumnDefinitions = definition.getColumns();
         for (final ColumnDefinition<?> columnDefinition : leafColumnDefinitions) {
@@ -587,21 +592,29 @@ public class ParquetTools {
             metadataFileWriter = NullParquetMetadataFileWriter.INSTANCE;
         }
 
-        // List of output streams created, to rollback in case of exceptions
-        final List<CompletableOutputStream> outputStreams = new ArrayList<>(destinations.length);
+        // List of output streams created, to rollback in case of exceptions; synchronized since tables may be written
+        // concurrently
+        final List<CompletableOutputStream> outputStreams =
+                Collections.synchronizedList(new ArrayList<>(destinations.length));
         try (final SafeCloseable ignored = () -> SafeCloseable.closeAll(outputStreams.stream())) {
             try {
+                final IntConsumer writeTable;
                 if (indexColumns.isEmpty()) {
                     // Write the tables without any index info
-                    for (int tableIdx = 0; tableIdx < sources.length; tableIdx++) {
+                    writeTable = tableIdx -> {
                         final Table source = sources[tableIdx];
-                        final CompletableOutputStream outputStream = channelsProvider.getOutputStream(
-                                destinations[tableIdx], PARQUET_OUTPUT_BUFFER_SIZE);
-                        outputStreams.add(outputStream);
-                        ParquetTableWriter.write(source, definition, writeInstructions, destinations[tableIdx],
-                                outputStream, Collections.emptyMap(), (List<ParquetTableWriter.IndexWritingInfo>) null,
-                                metadataFileWriter, computedCache);
-                    }
+                        try {
+                            final CompletableOutputStream outputStream = channelsProvider.getOutputStream(
+                                    destinations[tableIdx], PARQUET_OUTPUT_BUFFER_SIZE);
+                            outputStreams.add(outputStream);
+                            ParquetTableWriter.write(source, definition, writeInstructions, destinations[tableIdx],
+                                    outputStream, Collections.emptyMap(),
+                                    (List<ParquetTableWriter.IndexWritingInfo>) null, metadataFileWriter,
+                                    computedCache);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    };
                 } else {
                     // Shared parquet column names across all tables
                     final String[][] parquetColumnNameArr = indexColumns.stream()
@@ -610,20 +623,38 @@ public class ParquetTools {
                                     .toArray(String[]::new))
                             .toArray(String[][]::new);
 
-                    for (int tableIdx = 0; tableIdx < sources.length; tableIdx++) {
+                    writeTable = tableIdx -> {
                         final URI tableDestination = destinations[tableIdx];
-                        final List<ParquetTableWriter.IndexWritingInfo> indexInfoList =
-                                indexInfoBuilderHelper(indexColumns, parquetColumnNameArr, tableDestination,
-                                        channelsProvider);
-                        final CompletableOutputStream outputStream = channelsProvider.getOutputStream(
-                                destinations[tableIdx], PARQUET_OUTPUT_BUFFER_SIZE);
-                        outputStreams.add(outputStream);
-                        for (final ParquetTableWriter.IndexWritingInfo info : indexInfoList) {
-                            outputStreams.add(info.destOutputStream);
+                        try {
+                            final List<ParquetTableWriter.IndexWritingInfo> indexInfoList =
+                                    indexInfoBuilderHelper(indexColumns, parquetColumnNameArr, tableDestination,
+                                            channelsProvider);
+                            final CompletableOutputStream outputStream = channelsProvider.getOutputStream(
+                                    destinations[tableIdx], PARQUET_OUTPUT_BUFFER_SIZE);
+                            outputStreams.add(outputStream);
+                            for (final ParquetTableWriter.IndexWritingInfo info : indexInfoList) {
+                                outputStreams.add(info.destOutputStream);
+                            }
+                            final Table sourceTable = sources[tableIdx];
+                            ParquetTableWriter.write(sourceTable, definition, writeInstructions,
+                                    destinations[tableIdx], outputStream, Collections.emptyMap(), indexInfoList,
+                                    metadataFileWriter, computedCache);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
                         }
-                        final Table sourceTable = sources[tableIdx];
-                        ParquetTableWriter.write(sourceTable, definition, writeInstructions, destinations[tableIdx],
-                                outputStream, Collections.emptyMap(), indexInfoList, metadataFileWriter, computedCache);
+                    };
+                }
+                // Refreshing tables must be written from the thread that is allowed to initiate serial table
+                // operations, so only static tables are written concurrently. Column chunks are not also written
+                // concurrently, since nested work on the pool runs serially.
+                if (sources.length > 1
+                        && Arrays.stream(sources).noneMatch(Table::isRefreshing)
+                        && ExecutionContext.getContext().getOperationInitializer().canParallelize()) {
+                    OperationInitializerJobScheduler.iterateParallelAndWait("ParquetTools-writeTables", sources.length,
+                            writeTable);
+                } else {
+                    for (int tableIdx = 0; tableIdx < sources.length; tableIdx++) {
+                        writeTable.accept(tableIdx);
                     }
                 }
 
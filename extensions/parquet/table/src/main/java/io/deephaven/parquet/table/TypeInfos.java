@@ -29,6 +29,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static io.deephaven.engine.util.BigDecimalUtils.PrecisionAndScale;
@@ -126,7 +127,7 @@ public class TypeInfos {
             @NotNull final RowSet rowSet,
             @NotNull Supplier<ColumnSource<BigDecimal>> columnSourceSupplier) {
         return (PrecisionAndScale) computedCache
-                .computeIfAbsent(columnName, unusedColumnName -> new HashMap<>())
+                .computeIfAbsent(columnName, unusedColumnName -> new ConcurrentHashMap<>())
                 .computeIfAbsent(ParquetCacheTags.DECIMAL_ARGS,
                         uct -> parquetCompatible(computePrecisionAndScale(rowSet, columnSourceSupplier.get())));
     }
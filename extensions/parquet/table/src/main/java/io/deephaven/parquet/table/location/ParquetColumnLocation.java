@@ -8,7 +8,6 @@ import io.deephaven.base.verify.Require;
 import io.deephaven.chunk.Chunk;
 import io.deephaven.chunk.attributes.Any;
 import io.deephaven.chunk.attributes.Values;
-import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.impl.CodecLookup;
 import io.deephaven.engine.table.impl.chunkattributes.DictionaryKeys;
@@ -53,11 +52,6 @@ final class ParquetColumnLocation<ATTR extends Values> extends AbstractColumnLoc
 
     private static final String IMPLEMENTATION_NAME = ParquetColumnLocation.class.getSimpleName();
 
-    private static final int INITIAL_PAGE_CACHE_SIZE = Configuration.getInstance()
-            .getIntegerForClassWithDefault(ParquetColumnLocation.class, "initialPageCacheSize", 128);
-    private static final int MAX_PAGE_CACHE_SIZE = Configuration.getInstance()
-            .getIntegerForClassWithDefault(ParquetColumnLocation.class, "maxPageCacheSize", 8192);
-
     private final String parquetColumnName;
     /**
      * Factory object needed for deferred initialization of the remaining fields. Reference serves as a barrier to
@@ -65,9 +59,6 @@ final class ParquetColumnLocation<ATTR extends Values> extends AbstractColumnLoc
      */
     private volatile ColumnChunkReader[] columnChunkReaders;
 
-    // We should consider moving this to column level if needed. Column-location level likely allows more parallelism.
-    private volatile PageCache<ATTR> pageCache;
-
     private ColumnChunkPageStore<ATTR>[] pageStores;
     private Supplier<Chunk<ATTR>>[] dictionaryChunkSuppliers;
     private ColumnChunkPageStore<DictionaryKeys>[] dictionaryKeysPageStores;
@@ -89,20 +80,6 @@ final class ParquetColumnLocation<ATTR extends Values> extends AbstractColumnLoc
         this.columnChunkReaders = columnChunkReaders;
     }
 
-    private PageCache<ATTR> ensurePageCache() {
-        PageCache<ATTR> localPageCache;
-        if ((localPageCache = pageCache) != null) {
-            return localPageCache;
-        }
-
-        synchronized (this) {
-            if ((localPageCache = pageCache) != null) {
-                return localPageCache;
-            }
-            return pageCache = new PageCache<>(INITIAL_PAGE_CACHE_SIZE, MAX_PAGE_CACHE_SIZE);
-        }
-    }
-
     // -----------------------------------------------------------------------------------------------------------------
     // AbstractColumnLocation implementation
     // -----------------------------------------------------------------------------------------------------------------
@@ -308,7 +285,7 @@ final class ParquetColumnLocation<ATTR extends Values> extends AbstractColumnLoc
                 try {
                     final ColumnChunkPageStore.CreatorResult<ATTR> creatorResult =
                             ColumnChunkPageStore.create(
-                                    ensurePageCache(),
+                                    PageCache.getSharedInstance(),
                                     columnChunkReader,
                                     tl().getRegionParameters().regionMask,
                                     makeToPage(tl().getColumnTypes().get(parquetColumnName),
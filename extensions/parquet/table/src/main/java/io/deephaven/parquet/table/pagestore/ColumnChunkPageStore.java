@@ -14,6 +14,7 @@ import io.deephaven.parquet.table.pagestore.topage.ToPage;
 import io.deephaven.engine.table.Releasable;
 import io.deephaven.chunk.attributes.Any;
 import io.deephaven.engine.table.impl.chunkattributes.DictionaryKeys;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.chunk.Chunk;
 import io.deephaven.chunk.ChunkType;
 import io.deephaven.engine.page.ChunkPage;
@@ -23,6 +24,7 @@ import io.deephaven.parquet.base.ColumnChunkReader;
 import io.deephaven.parquet.base.ColumnPageReader;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.channel.SeekableChannelContext.ContextHolder;
+import io.deephaven.util.datastructures.CachingSupplier;
 import io.deephaven.vector.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,6 +44,8 @@ public abstract class ColumnChunkPageStore<ATTR extends Any>
     final ToPage<ATTR, ?> toPage;
 
     private final long numRows;
+    private final CachingSupplier<ColumnRegionStatistics> statistics;
+    private volatile boolean prefetched;
 
     public static class CreatorResult<ATTR extends Any> {
 
@@ -133,6 +137,8 @@ public abstract class ColumnChunkPageStore<ATTR extends Any>
         this.toPage = toPage;
 
         this.numRows = Require.inRange(columnChunkReader.numRows(), "numRows", mask, "mask");
+        this.statistics = new CachingSupplier<>(() -> ColumnChunkStatistics.convert(columnChunkReader,
+                toPage.getNativeType(), toPage.getDictionaryKeysToPage() == null ? null : toPage::getDictionaryChunk));
     }
 
     ChunkPage<ATTR> toPage(final long offset, @NotNull final ColumnPageReader columnPageReader,
@@ -171,6 +177,28 @@ public abstract class ColumnChunkPageStore<ATTR extends Any>
         return columnChunkReader.usesDictionaryOnEveryPage();
     }
 
+    /**
+     * @return Statistics for the values in this ColumnChunk, from the file metadata, or null if none are available
+     */
+    @Nullable
+    public ColumnRegionStatistics getStatistics() {
+        return statistics.get();
+    }
+
+    /**
+     * Ask the channels provider to fetch the rest of this ColumnChunk on the first page access. This is deferred until
+     * data is actually read so that column chunks excluded by {@link #getStatistics() statistics} are never fetched.
+     * This is only a hint, which providers ignore unless they are configured to prefetch (see
+     * {@code S3Instructions.maxConcurrentPrefetchRequests()}).
+     */
+    final void prefetchOnFirstAccess() {
+        if (prefetched) {
+            return;
+        }
+        prefetched = true;
+        columnChunkReader.prefetch();
+    }
+
     @Override
     public void close() {}
 
@@ -0,0 +1,445 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.parquet.table.pagestore;
+
+import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.ObjectChunk;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
+import io.deephaven.parquet.base.ColumnChunkReader;
+import io.deephaven.parquet.base.ParquetTimeUtils;
+import io.deephaven.time.DateTimeUtils;
+import io.deephaven.util.QueryConstants;
+import io.deephaven.util.channel.SeekableChannelContext;
+import io.deephaven.util.type.TypeUtils;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Conversion from the statistics that Parquet writers record in column chunk metadata to
+ * {@link ColumnRegionStatistics} in the engine's representation. Only the unambiguous {@code min_value} and
+ * {@code max_value} fields are used; the deprecated {@code min} and {@code max} fields have writer-dependent sort
+ * orders. Conversion is supported for signed integral, floating point, and string columns whose engine type matches or
+ * widens the Parquet type, and for date and timestamp columns, whose bounds are converted the same way as their values
+ * (to epoch nanoseconds for timestamps adjusted to UTC); for anything else no statistics are produced.
+ * <p>
+ * Equality tests additionally consult the column chunk's dictionary, if every page is dictionary-encoded, or else its
+ * split-block Bloom filter, if one was written and the engine type matches the Parquet type exactly. Either is read
+ * lazily, only when the bounds cannot exclude a value.
+ */
+final class ColumnChunkStatistics {
+
+    private ColumnChunkStatistics() {}
+
+    /**
+     * @param columnChunkReader The reader for the column chunk
+     * @param nativeType The engine type that the column chunk's values are converted to
+     * @param dictionaryChunkSupplier Optional supplier for the chunk of all values in the column chunk's dictionary, to
+     *        be used only if every page is dictionary-encoded
+     * @return The statistics for the column chunk, or {@code null} if none are available
+     */
+    @Nullable
+    static ColumnRegionStatistics convert(
+            @NotNull final ColumnChunkReader columnChunkReader,
+            @NotNull final Class<?> nativeType,
+            @Nullable final Supplier<? extends Chunk<?>> dictionaryChunkSupplier) {
+        if (columnChunkReader.getMaxRl() > 0) {
+            // Statistics describe array elements, rather than rows
+            return null;
+        }
+        final Supplier<Predicate<Object>> membershipTestSupplier =
+                membershipTestSupplier(columnChunkReader, nativeType, dictionaryChunkSupplier);
+        final Statistics statistics = columnChunkReader.getStatistics();
+        final boolean mayContainParquetNull =
+                statistics == null || !statistics.isSetNull_count() || statistics.getNull_count() > 0;
+        if (statistics != null && statistics.isSetMin_value() && statistics.isSetMax_value()) {
+            final ColumnRegionStatistics bounded =
+                    convertBounds(statistics, columnChunkReader.getType(), nativeType, mayContainParquetNull,
+                            membershipTestSupplier);
+            if (bounded != null) {
+                return bounded;
+            }
+        } else if (statistics != null && statistics.isSetNull_count()
+                && statistics.getNull_count() == columnChunkReader.numRows()) {
+            return ColumnRegionStatistics.ALL_NULL;
+        }
+        if (membershipTestSupplier == null) {
+            return null;
+        }
+        // Without bounds, non-null values of primitive types may still read as the engine's null value
+        return ColumnRegionStatistics.ofMembershipTest(mayContainParquetNull || nativeType != String.class,
+                membershipTestSupplier);
+    }
+
+    @Nullable
+    private static ColumnRegionStatistics convertBounds(
+            @NotNull final Statistics statistics,
+            @NotNull final PrimitiveType type,
+            @NotNull final Class<?> nativeType,
+            final boolean mayContainParquetNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        final ByteBuffer minBytes = ByteBuffer.wrap(statistics.getMin_value()).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer maxBytes = ByteBuffer.wrap(statistics.getMax_value()).order(ByteOrder.LITTLE_ENDIAN);
+        final LogicalTypeAnnotation logicalType = type.getLogicalTypeAnnotation();
+        switch (type.getPrimitiveTypeName()) {
+            case INT32:
+                if (minBytes.remaining() != Integer.BYTES || maxBytes.remaining() != Integer.BYTES) {
+                    return null;
+                }
+                if (logicalType instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation) {
+                    return convertDate(minBytes.getInt(), maxBytes.getInt(), nativeType, mayContainParquetNull,
+                            membershipTestSupplier);
+                }
+                if (!isSignedInteger(logicalType)) {
+                    return null;
+                }
+                return convertIntegral(minBytes.getInt(), maxBytes.getInt(), Integer.MIN_VALUE, nativeType,
+                        mayContainParquetNull, membershipTestSupplier);
+            case INT64:
+                if (minBytes.remaining() != Long.BYTES || maxBytes.remaining() != Long.BYTES) {
+                    return null;
+                }
+                if (logicalType instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) {
+                    return convertTimestamp(minBytes.getLong(), maxBytes.getLong(),
+                            (LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) logicalType, nativeType,
+                            mayContainParquetNull, membershipTestSupplier);
+                }
+                if (!isSignedInteger(logicalType)) {
+                    return null;
+                }
+                return convertIntegral(minBytes.getLong(), maxBytes.getLong(), Long.MIN_VALUE, nativeType,
+                        mayContainParquetNull, membershipTestSupplier);
+            case FLOAT:
+                if (logicalType != null || minBytes.remaining() != Float.BYTES
+                        || maxBytes.remaining() != Float.BYTES) {
+                    return null;
+                }
+                final float minFloat = minBytes.getFloat();
+                if (nativeType == float.class) {
+                    return convertFloatingPoint(minFloat, minFloat <= QueryConstants.NULL_FLOAT, Float.NaN,
+                            mayContainParquetNull, membershipTestSupplier);
+                }
+                if (nativeType == double.class) {
+                    return convertFloatingPoint((double) minFloat, minFloat <= QueryConstants.NULL_FLOAT, Double.NaN,
+                            mayContainParquetNull, membershipTestSupplier);
+                }
+                return null;
+            case DOUBLE:
+                if (logicalType != null || nativeType != double.class || minBytes.remaining() != Double.BYTES
+                        || maxBytes.remaining() != Double.BYTES) {
+                    return null;
+                }
+                final double minDouble = minBytes.getDouble();
+                return convertFloatingPoint(minDouble, minDouble <= QueryConstants.NULL_DOUBLE, Double.NaN,
+                        mayContainParquetNull, membershipTestSupplier);
+            case BINARY:
+                if (!(logicalType instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation)
+                        || nativeType != String.class) {
+                    return null;
+                }
+                return convertString(minBytes, maxBytes, mayContainParquetNull, membershipTestSupplier);
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isSignedInteger(@Nullable final LogicalTypeAnnotation logicalType) {
+        return logicalType == null
+                || (logicalType instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation
+                        && ((LogicalTypeAnnotation.IntLogicalTypeAnnotation) logicalType).isSigned());
+    }
+
+    @Nullable
+    private static ColumnRegionStatistics convertIntegral(
+            final long min,
+            final long max,
+            final long parquetTypeMinValue,
+            @NotNull final Class<?> nativeType,
+            final boolean mayContainParquetNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        final long nativeNull;
+        final long nativeMaxValue;
+        if (nativeType == byte.class) {
+            nativeNull = QueryConstants.NULL_BYTE;
+            nativeMaxValue = Byte.MAX_VALUE;
+        } else if (nativeType == short.class) {
+            nativeNull = QueryConstants.NULL_SHORT;
+            nativeMaxValue = Short.MAX_VALUE;
+        } else if (nativeType == int.class) {
+            nativeNull = QueryConstants.NULL_INT;
+            nativeMaxValue = Integer.MAX_VALUE;
+        } else if (nativeType == long.class) {
+            nativeNull = QueryConstants.NULL_LONG;
+            nativeMaxValue = Long.MAX_VALUE;
+        } else {
+            return null;
+        }
+        // Deephaven null values are the minimum values of each type
+        if (min > max || min < nativeNull || max > nativeMaxValue) {
+            return null;
+        }
+        // Values that read as null in either the file's type or the engine's type may appear as nulls
+        final boolean mayContainNull = mayContainParquetNull || min == nativeNull || min == parquetTypeMinValue;
+        final Object boxedMin;
+        final Object boxedMax;
+        if (nativeType == byte.class) {
+            boxedMin = (byte) min;
+            boxedMax = (byte) max;
+        } else if (nativeType == short.class) {
+            boxedMin = (short) min;
+            boxedMax = (short) max;
+        } else if (nativeType == int.class) {
+            boxedMin = (int) min;
+            boxedMax = (int) max;
+        } else {
+            boxedMin = min;
+            boxedMax = max;
+        }
+        return ColumnRegionStatistics.of(boxedMin, boxedMax, mayContainNull, membershipTestSupplier);
+    }
+
+    /**
+     * Dates are read as {@link LocalDate LocalDates}, from days since the epoch.
+     */
+    @Nullable
+    private static ColumnRegionStatistics convertDate(
+            final int min,
+            final int max,
+            @NotNull final Class<?> nativeType,
+            final boolean mayContainParquetNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        if (nativeType != LocalDate.class || min > max || max == QueryConstants.NULL_INT) {
+            return null;
+        }
+        // A minimum that reads as null bounds the non-null values from just above it
+        final boolean minReadsAsNull = min == QueryConstants.NULL_INT;
+        return ColumnRegionStatistics.of(LocalDate.ofEpochDay(minReadsAsNull ? min + 1 : min),
+                LocalDate.ofEpochDay(max), mayContainParquetNull || minReadsAsNull, membershipTestSupplier);
+    }
+
+    /**
+     * Timestamps adjusted to UTC are read as epoch nanoseconds (the native representation of
+     * {@link java.time.Instant Instant} columns), and others as {@link LocalDateTime LocalDateTimes} in UTC.
+     */
+    @Nullable
+    private static ColumnRegionStatistics convertTimestamp(
+            final long min,
+            final long max,
+            @NotNull final LogicalTypeAnnotation.TimestampLogicalTypeAnnotation timestampType,
+            @NotNull final Class<?> nativeType,
+            final boolean mayContainParquetNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        if (min > max || max == QueryConstants.NULL_LONG) {
+            return null;
+        }
+        try {
+            if (timestampType.isAdjustedToUTC()) {
+                if (nativeType != long.class) {
+                    return null;
+                }
+                switch (timestampType.getUnit()) {
+                    case MILLIS:
+                        return convertIntegral(DateTimeUtils.millisToNanos(min), DateTimeUtils.millisToNanos(max),
+                                Long.MIN_VALUE, nativeType, mayContainParquetNull, membershipTestSupplier);
+                    case MICROS:
+                        return convertIntegral(DateTimeUtils.microsToNanos(min), DateTimeUtils.microsToNanos(max),
+                                Long.MIN_VALUE, nativeType, mayContainParquetNull, membershipTestSupplier);
+                    case NANOS:
+                        return convertIntegral(min, max, Long.MIN_VALUE, nativeType, mayContainParquetNull,
+                                membershipTestSupplier);
+                    default:
+                        return null;
+                }
+            }
+            if (nativeType != LocalDateTime.class) {
+                return null;
+            }
+            // A minimum that reads as null bounds the non-null values from just above it
+            final boolean minReadsAsNull = min == QueryConstants.NULL_LONG;
+            final LocalDateTime boxedMin = toLocalDateTime(minReadsAsNull ? min + 1 : min, timestampType.getUnit());
+            final LocalDateTime boxedMax = toLocalDateTime(max, timestampType.getUnit());
+            if (boxedMin == null || boxedMax == null) {
+                return null;
+            }
+            return ColumnRegionStatistics.of(boxedMin, boxedMax, mayContainParquetNull || minReadsAsNull,
+                    membershipTestSupplier);
+        } catch (DateTimeUtils.DateTimeOverflowException | DateTimeException e) {
+            // The bounds cannot be represented in the engine's type, so neither can the values
+            return null;
+        }
+    }
+
+    @Nullable
+    private static LocalDateTime toLocalDateTime(final long value, @NotNull final LogicalTypeAnnotation.TimeUnit unit) {
+        switch (unit) {
+            case MILLIS:
+                return ParquetTimeUtils.epochMillisToLocalDateTimeUTC(value);
+            case MICROS:
+                return ParquetTimeUtils.epochMicrosToLocalDateTimeUTC(value);
+            case NANOS:
+                return ParquetTimeUtils.epochNanosToLocalDateTimeUTC(value);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parquet writers exclude NaN from floating point statistics, but the engine orders NaN after all other values, so
+     * the upper bound is always reported as NaN, which is never used to exclude a region.
+     */
+    @Nullable
+    private static ColumnRegionStatistics convertFloatingPoint(
+            @NotNull final Object min,
+            final boolean minMayReadAsNull,
+            @NotNull final Object nanMax,
+            final boolean mayContainParquetNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        if (min instanceof Float ? ((Float) min).isNaN() : ((Double) min).isNaN()) {
+            return null;
+        }
+        return ColumnRegionStatistics.of(min, nanMax, mayContainParquetNull || minMayReadAsNull,
+                membershipTestSupplier);
+    }
+
+    @Nullable
+    private static ColumnRegionStatistics convertString(
+            @NotNull final ByteBuffer minBytes,
+            @NotNull final ByteBuffer maxBytes,
+            final boolean mayContainNull,
+            @Nullable final Supplier<Predicate<Object>> membershipTestSupplier) {
+        final String min;
+        final String max;
+        try {
+            min = StandardCharsets.UTF_8.newDecoder().decode(minBytes).toString();
+            max = StandardCharsets.UTF_8.newDecoder().decode(maxBytes).toString();
+        } catch (CharacterCodingException e) {
+            // Statistics may be truncated mid-sequence; ignore them
+            return null;
+        }
+        return ColumnRegionStatistics.of(min, max, mayContainNull, membershipTestSupplier);
+    }
+
+    @Nullable
+    private static Supplier<Predicate<Object>> membershipTestSupplier(
+            @NotNull final ColumnChunkReader columnChunkReader,
+            @NotNull final Class<?> nativeType,
+            @Nullable final Supplier<? extends Chunk<?>> dictionaryChunkSupplier) {
+        final PrimitiveType type = columnChunkReader.getType();
+        final LogicalTypeAnnotation logicalType = type.getLogicalTypeAnnotation();
+        final boolean isString = type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.BINARY
+                && logicalType instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation
+                && nativeType == String.class;
+        if (isString && dictionaryChunkSupplier != null && columnChunkReader.usesDictionaryOnEveryPage()) {
+            return () -> dictionaryTest(dictionaryChunkSupplier.get());
+        }
+        if (!columnChunkReader.hasBloomFilter()) {
+            return null;
+        }
+        switch (type.getPrimitiveTypeName()) {
+            case INT32:
+                if (!isSignedInteger(logicalType)
+                        || (nativeType != byte.class && nativeType != short.class && nativeType != int.class)) {
+                    return null;
+                }
+                break;
+            case INT64:
+                if (!isSignedInteger(logicalType) || nativeType != long.class) {
+                    return null;
+                }
+                break;
+            case FLOAT:
+                if (logicalType != null || nativeType != float.class) {
+                    return null;
+                }
+                break;
+            case DOUBLE:
+                if (logicalType != null || nativeType != double.class) {
+                    return null;
+                }
+                break;
+            case BINARY:
+                if (!isString) {
+                    return null;
+                }
+                break;
+            default:
+                return null;
+        }
+        // Values of any other type are not converted, and so are never excluded
+        final Class<?> boxedType = TypeUtils.getBoxedType(nativeType);
+        return () -> {
+            final BloomFilter bloomFilter = columnChunkReader.getBloomFilter(SeekableChannelContext.NULL);
+            if (bloomFilter == null) {
+                return value -> true;
+            }
+            return value -> value == null || value.getClass() != boxedType || mayContain(bloomFilter, value);
+        };
+    }
+
+    private static Predicate<Object> dictionaryTest(@Nullable final Chunk<?> dictionaryChunk) {
+        if (dictionaryChunk == null) {
+            return value -> true;
+        }
+        final ObjectChunk<?, ?> dictionaryValues = dictionaryChunk.asObjectChunk();
+        final Set<Object> distinctValues = new HashSet<>(dictionaryValues.size());
+        for (int ii = 0; ii < dictionaryValues.size(); ++ii) {
+            distinctValues.add(dictionaryValues.get(ii));
+        }
+        return value -> !(value instanceof String) || distinctValues.contains(value);
+    }
+
+    /**
+     * Bloom filters hash the plain encoding of each value, so values of the engine type are hashed as the Parquet
+     * physical type. Floating point values that compare equal to the value under the engine's ordering but encode
+     * differently (i.e. NaN and signed zero) are handled conservatively.
+     */
+    private static boolean mayContain(@NotNull final BloomFilter bloomFilter, @NotNull final Object value) {
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+            return bloomFilter.findHash(bloomFilter.hash(((Number) value).intValue()));
+        }
+        if (value instanceof Long) {
+            return bloomFilter.findHash(bloomFilter.hash((long) (Long) value));
+        }
+        if (value instanceof Float) {
+            final float floatValue = (Float) value;
+            if (Float.isNaN(floatValue)) {
+                return true;
+            }
+            if (floatValue == 0) {
+                return bloomFilter.findHash(bloomFilter.hash(0.0f)) || bloomFilter.findHash(bloomFilter.hash(-0.0f));
+            }
+            return bloomFilter.findHash(bloomFilter.hash(floatValue));
+        }
+        if (value instanceof Double) {
+            final double doubleValue = (Double) value;
+            if (Double.isNaN(doubleValue)) {
+                return true;
+            }
+            if (doubleValue == 0) {
+                return bloomFilter.findHash(bloomFilter.hash(0.0)) || bloomFilter.findHash(bloomFilter.hash(-0.0));
+            }
+            return bloomFilter.findHash(bloomFilter.hash(doubleValue));
+        }
+        if (value instanceof String) {
+            return bloomFilter.findHash(bloomFilter.hash(Binary.fromString((String) value)));
+        }
+        return true;
+    }
+}
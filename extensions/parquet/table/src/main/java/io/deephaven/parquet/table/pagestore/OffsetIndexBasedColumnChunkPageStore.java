@@ -166,6 +166,7 @@ final class OffsetIndexBasedColumnChunkPageStore<ATTR extends Any> extends Colum
         try (final FillContext allocatedFillContext = fillContext != null ? null : makeFillContext(1, null)) {
             final FillContext fillContextToUse = fillContext != null ? fillContext : allocatedFillContext;
             ensureInitialized(fillContextToUse);
+            prefetchOnFirstAccess();
             return getPageContainingImpl(fillContextToUse, rowKey);
         } catch (final RuntimeException e) {
             throw new UncheckedDeephavenException("Failed to read parquet page data for row: " + rowKey + ", column: " +
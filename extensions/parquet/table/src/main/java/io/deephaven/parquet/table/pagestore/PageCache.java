@@ -3,19 +3,41 @@
 //
 package io.deephaven.parquet.table.pagestore;
 
+import io.deephaven.base.verify.Require;
+import io.deephaven.chunk.ObjectChunk;
 import io.deephaven.chunk.attributes.Any;
+import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.page.ChunkPage;
-import io.deephaven.util.datastructures.intrusive.IntrusiveSoftLRU;
+import io.deephaven.engine.table.Table;
+import org.jetbrains.annotations.NotNull;
 
-import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.deephaven.engine.util.TableTools.intCol;
+import static io.deephaven.engine.util.TableTools.longCol;
+import static io.deephaven.engine.util.TableTools.newTable;
 
 /**
- * A cache for {@link IntrusivePage IntrusivePages}. This data structure stores pages as {@link SoftReference soft
- * references} and maintains them as an LRU cache. External references to cached pages should be held via
- * {@link WeakReference weak references} so that as memory pressure builds the pages can be evicted from the cache.
+ * A cache for {@link IntrusivePage IntrusivePages}, bounded by the estimated size of the cached pages in bytes. Pages
+ * are held strongly and, once the total size exceeds the configured maximum, evicted in approximately
+ * least-recently-used order using the CLOCK (second chance) algorithm. External references to cached pages should be
+ * held via {@link WeakReference weak references} so that evicted pages can be reclaimed.
+ * <p>
+ * Touching a page that is already cached only sets its referenced bit, without locking, so that concurrent readers of
+ * cached pages do not contend; only adding a page, and the evictions that follow, synchronize on the cache.
+ * <p>
+ * A single {@link #getSharedInstance() shared instance}, sized by {@value MAX_SIZE_BYTES_PROPERTY}, is used for all
+ * Parquet column chunk page stores in the process. The default is one eighth of the maximum heap size: the cache holds
+ * pages strongly, so its footprint is taken directly from the heap available to queries, while an evicted page is
+ * recovered by decoding it again from the file, or from the cached bytes of a remote file.
  */
-public class PageCache<ATTR extends Any> extends IntrusiveSoftLRU<PageCache.IntrusivePage<ATTR>> {
+public class PageCache<ATTR extends Any> {
+
+    public static final String MAX_SIZE_BYTES_PROPERTY = "PageCache.maxSizeBytes";
+
+    private static final PageCache<?> SHARED_INSTANCE = new PageCache<>(Configuration.getInstance()
+            .getLongWithDefault(MAX_SIZE_BYTES_PROPERTY, Runtime.getRuntime().maxMemory() / 8));
 
     /**
      * Sentinel reference for a null page
@@ -30,20 +52,144 @@ public class PageCache<ATTR extends Any> extends IntrusiveSoftLRU<PageCache.Intr
         return (WeakReference<IntrusivePage<ATTR>>) NULL_PAGE;
     }
 
+    /**
+     * @return The process-wide page cache
+     */
+    public static <ATTR extends Any> PageCache<ATTR> getSharedInstance() {
+        return SHARED_INSTANCE.castAttr();
+    }
+
     /**
      * Intrusive data structure for page caching.
      */
-    public static class IntrusivePage<ATTR extends Any> extends IntrusiveSoftLRU.Node.Impl<IntrusivePage<ATTR>> {
+    public static class IntrusivePage<ATTR extends Any> {
 
         private final ChunkPage<ATTR> page;
+        private final long sizeInBytes;
+
+        /**
+         * The neighbors of this page in the cache's circular list, or {@code null} if it is not cached; guarded by the
+         * cache
+         */
+        private IntrusivePage<?> prev;
+        private IntrusivePage<?> next;
+
+        /**
+         * Whether this page is in the cache; only written while holding the cache's lock
+         */
+        private volatile boolean cached;
+        /**
+         * Whether this page has been touched since it was cached, or since the clock hand last passed it
+         */
+        private volatile boolean referenced;
 
         public IntrusivePage(ChunkPage<ATTR> page) {
             this.page = page;
+            this.sizeInBytes = estimateSizeInBytes(page);
         }
 
         public ChunkPage<ATTR> getPage() {
             return page;
         }
+
+        /**
+         * @return The estimated size of this page, in bytes
+         */
+        public long getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+
+    /**
+     * Overhead charged for each page and its bookkeeping, independent of its contents.
+     */
+    private static final long PAGE_OVERHEAD_BYTES = 128;
+    private static final long REFERENCE_BYTES = 8;
+    private static final long OBJECT_HEADER_BYTES = 16;
+
+    /**
+     * Estimate the heap footprint of {@code page}. Primitive pages are sized exactly; object pages are estimated by
+     * inspecting their elements, which is cheap relative to the cost of decoding the page.
+     */
+    static long estimateSizeInBytes(@NotNull final ChunkPage<?> page) {
+        final int size = page.size();
+        switch (page.getChunkType()) {
+            case Boolean:
+            case Byte:
+                return PAGE_OVERHEAD_BYTES + size;
+            case Char:
+            case Short:
+                return PAGE_OVERHEAD_BYTES + (long) size * Short.BYTES;
+            case Int:
+            case Float:
+                return PAGE_OVERHEAD_BYTES + (long) size * Integer.BYTES;
+            case Long:
+            case Double:
+                return PAGE_OVERHEAD_BYTES + (long) size * Long.BYTES;
+            case Object:
+                final ObjectChunk<?, ?> objectChunk = page.asObjectChunk();
+                long result = PAGE_OVERHEAD_BYTES + (long) size * REFERENCE_BYTES;
+                for (int ii = 0; ii < size; ++ii) {
+                    result += estimateSizeInBytes(objectChunk.get(ii));
+                }
+                return result;
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + page.getChunkType());
+        }
+    }
+
+    private static long estimateSizeInBytes(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            // String object and its backing array, assuming compact (Latin-1) strings
+            return 2 * OBJECT_HEADER_BYTES + 8 + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_HEADER_BYTES + ((byte[]) value).length;
+        }
+        if (value instanceof int[]) {
+            return OBJECT_HEADER_BYTES + (long) ((int[]) value).length * Integer.BYTES;
+        }
+        if (value instanceof long[]) {
+            return OBJECT_HEADER_BYTES + (long) ((long[]) value).length * Long.BYTES;
+        }
+        if (value instanceof double[]) {
+            return OBJECT_HEADER_BYTES + (long) ((double[]) value).length * Double.BYTES;
+        }
+        if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            long result = OBJECT_HEADER_BYTES + array.length * REFERENCE_BYTES;
+            for (final Object element : array) {
+                result += estimateSizeInBytes(element);
+            }
+            return result;
+        }
+        return 2 * OBJECT_HEADER_BYTES;
+    }
+
+    private final long maxSizeBytes;
+
+    /**
+     * The most recently added page; its {@code prev} is the clock hand, the next candidate for eviction.
+     */
+    private IntrusivePage<?> head;
+    private long sizeBytes;
+    private int numPages;
+
+    private final LongAdder hits = new LongAdder();
+    private long misses;
+    private long evictions;
+    private long evictedBytes;
+
+    /**
+     * Create a new page cache.
+     *
+     * @param maxSizeBytes The maximum total estimated size of the cached pages, in bytes
+     */
+    public PageCache(final long maxSizeBytes) {
+        this.maxSizeBytes = Require.geqZero(maxSizeBytes, "maxSizeBytes");
     }
 
     public <ATTR2 extends Any> PageCache<ATTR2> castAttr() {
@@ -51,7 +197,156 @@ public class PageCache<ATTR extends Any> extends IntrusiveSoftLRU<PageCache.Intr
         return (PageCache<ATTR2>) this;
     }
 
-    public PageCache(final int initialCapacity, final int maxCapacity) {
-        super(IntrusiveSoftLRU.Node.Adapter.getInstance(), initialCapacity, maxCapacity);
+    /**
+     * @return The maximum total estimated size of the cached pages, in bytes
+     */
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    /**
+     * @return The current total estimated size of the cached pages, in bytes
+     */
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * @return The number of pages currently cached
+     */
+    public synchronized int getNumPages() {
+        return numPages;
+    }
+
+    /**
+     * @return The number of touches of pages that were already cached
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of touches of pages that were not cached
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of pages evicted to stay within the size limit
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Touch a page. If it is already cached, its referenced bit is set and a hit is recorded. Otherwise, a miss is
+     * recorded and it is added to the cache, evicting pages until the cache is within its size limit. A page larger
+     * than the entire cache is not retained.
+     * <p>
+     * A hit may race with the eviction of the touched page; the caller holds the page regardless, and the next touch
+     * after its eviction adds it again.
+     *
+     * @param pageToTouch The page to touch
+     */
+    public void touch(@NotNull final IntrusivePage<ATTR> pageToTouch) {
+        if (pageToTouch.cached) {
+            hits.increment();
+            if (!pageToTouch.referenced) {
+                pageToTouch.referenced = true;
+            }
+            return;
+        }
+        synchronized (this) {
+            if (pageToTouch.cached) {
+                // another thread added this page since we checked
+                hits.increment();
+                pageToTouch.referenced = true;
+                return;
+            }
+            ++misses;
+            linkAtHead(pageToTouch);
+            pageToTouch.cached = true;
+            sizeBytes += pageToTouch.sizeInBytes;
+            ++numPages;
+            evictUntilWithinLimit();
+        }
+    }
+
+    private void evictUntilWithinLimit() {
+        // bound the second chances we give, since concurrent hits may set referenced bits as fast as we clear them
+        int secondChances = 0;
+        while (sizeBytes > maxSizeBytes) {
+            final IntrusivePage<?> candidate = head.prev;
+            if (candidate.referenced && secondChances++ < numPages) {
+                candidate.referenced = false;
+                // advance the clock hand; the candidate is now the most recent page in the circular list
+                head = candidate;
+                continue;
+            }
+            unlink(candidate);
+            candidate.cached = false;
+            candidate.referenced = false;
+            sizeBytes -= candidate.sizeInBytes;
+            --numPages;
+            ++evictions;
+            evictedBytes += candidate.sizeInBytes;
+        }
+    }
+
+    private void linkAtHead(@NotNull final IntrusivePage<?> page) {
+        if (head == null) {
+            page.prev = page.next = page;
+        } else {
+            page.next = head;
+            page.prev = head.prev;
+            head.prev.next = page;
+            head.prev = page;
+        }
+        head = page;
+    }
+
+    private void unlink(@NotNull final IntrusivePage<?> page) {
+        if (page.next == page) {
+            head = null;
+        } else {
+            page.prev.next = page.next;
+            page.next.prev = page.prev;
+            if (head == page) {
+                head = page.next;
+            }
+        }
+        page.prev = page.next = null;
+    }
+
+    /**
+     * Get a single-row table snapshotting the current size and cumulative hit, miss, and eviction counts for this
+     * cache.
+     *
+     * @return A new static table of statistics
+     */
+    public Table getStatistics() {
+        final long localSizeBytes;
+        final int localNumPages;
+        final long localHits;
+        final long localMisses;
+        final long localEvictions;
+        final long localEvictedBytes;
+        synchronized (this) {
+            localSizeBytes = sizeBytes;
+            localNumPages = numPages;
+            localHits = hits.sum();
+            localMisses = misses;
+            localEvictions = evictions;
+            localEvictedBytes = evictedBytes;
+        }
+        return newTable(
+                longCol("MaxSizeBytes", maxSizeBytes),
+                longCol("SizeBytes", localSizeBytes),
+                intCol("NumPages", localNumPages),
+                longCol("Hits", localHits),
+                longCol("Misses", localMisses),
+                longCol("Evictions", localEvictions),
+                longCol("EvictedBytes", localEvictedBytes));
     }
 }
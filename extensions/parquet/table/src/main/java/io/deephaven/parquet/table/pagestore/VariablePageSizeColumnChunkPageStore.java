@@ -147,6 +147,7 @@ final class VariablePageSizeColumnChunkPageStore<ATTR extends Any> extends Colum
     @NotNull
     public ChunkPage<ATTR> getPageContaining(@Nullable final FillContext fillContext, final long rowKey) {
         try {
+            prefetchOnFirstAccess();
             return getPageContainingImpl(fillContext, rowKey);
         } catch (final RuntimeException e) {
             throw new UncheckedDeephavenException("Failed to read parquet page data for row: " + rowKey + ", column: " +
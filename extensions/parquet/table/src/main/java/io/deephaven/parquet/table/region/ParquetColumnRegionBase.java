@@ -4,6 +4,7 @@
 package io.deephaven.parquet.table.region;
 
 import io.deephaven.base.verify.Require;
+import io.deephaven.engine.table.impl.sources.regioned.ColumnRegionStatistics;
 import io.deephaven.engine.table.impl.sources.regioned.GenericColumnRegionBase;
 import io.deephaven.parquet.table.pagestore.ColumnChunkPageStore;
 import io.deephaven.chunk.attributes.Any;
@@ -72,6 +73,11 @@ public abstract class ParquetColumnRegionBase<ATTR extends Any>
         return columnChunkPageStore.getPageContaining(null, elementIndex);
     }
 
+    @Override
+    public ColumnRegionStatistics getStatistics() {
+        return columnChunkPageStore.getStatistics();
+    }
+
     @Override
     @OverridingMethodsMustInvokeSuper
     public void releaseCachedResources() {
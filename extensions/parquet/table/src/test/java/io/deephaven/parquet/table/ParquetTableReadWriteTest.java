@@ -34,6 +34,7 @@ import io.deephaven.engine.table.impl.util.ColumnHolder;
 import io.deephaven.engine.table.iterators.*;
 import io.deephaven.engine.testutil.ControlledUpdateGraph;
 import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.engine.util.BigDecimalUtils;
 import io.deephaven.engine.util.TableTools;
 import io.deephaven.engine.util.file.TrackedFileHandleFactory;
@@ -50,6 +51,7 @@ import io.deephaven.stringset.StringSet;
 import io.deephaven.test.types.OutOfBandTest;
 import io.deephaven.time.DateTimeUtils;
 import io.deephaven.util.QueryConstants;
+import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.codec.SimpleByteArrayCodec;
 import io.deephaven.util.compare.DoubleComparisons;
 import io.deephaven.util.compare.FloatComparisons;
@@ -1231,6 +1233,82 @@ public final class ParquetTableReadWriteTest {
         verifyIndexingInfoExists(fromDiskWithoutMetadata, "I");
     }
 
+    @Test
+    public void parallelWriteMatchesSerialWrite() throws IOException {
+        final Table source = TableTools.emptyTable(100_000).updateView(
+                "PC = (int)(ii % 4)",
+                "I = ii",
+                "D = ii / 3.0",
+                "S = `s` + (ii % 100)",
+                "B = java.math.BigDecimal.valueOf(ii, 2)");
+        final PartitionedTable partitioned = source.partitionBy("PC");
+        final ParquetInstructions writeInstructions = ParquetInstructions.builder()
+                .setGenerateMetadataFiles(true)
+                .setBaseNameForPartitionedParquetData("data")
+                .useBloomFilter("I", true)
+                .build();
+
+        // The test execution context can parallelize, so this writes the partitions concurrently; the columns of each
+        // partition are written serially, since nested work on the pool runs serially
+        final File parallelDir = new File(rootFile, "parallelWrite");
+        writeKeyValuePartitionedTable(partitioned, parallelDir.getAbsolutePath(), writeInstructions);
+
+        final File serialDir = new File(rootFile, "serialWrite");
+        try (final SafeCloseable ignored = ExecutionContext.getContext()
+                .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+            writeKeyValuePartitionedTable(partitioned, serialDir.getAbsolutePath(), writeInstructions);
+        }
+
+        assertArrayEquals(Files.readAllBytes(new File(serialDir, "_metadata").toPath()),
+                Files.readAllBytes(new File(parallelDir, "_metadata").toPath()));
+        for (int pc = 0; pc < 4; ++pc) {
+            final String dataFile = "PC=" + pc + File.separator + "data.parquet";
+            assertArrayEquals(Files.readAllBytes(new File(serialDir, dataFile).toPath()),
+                    Files.readAllBytes(new File(parallelDir, dataFile).toPath()));
+        }
+        final Table fromDisk = readTable(parallelDir.getPath(),
+                EMPTY.withLayout(ParquetInstructions.ParquetFileLayout.KV_PARTITIONED));
+        assertTableEquals(source.sort("PC", "I"), fromDisk.sort("PC", "I"));
+    }
+
+    @Test
+    public void parallelColumnWriteMatchesSerialWrite() throws IOException {
+        final Table source = TableTools.emptyTable(100_000).updateView(
+                "I = ii",
+                "D = ii / 3.0",
+                "C = (char)('a' + ii % 26)",
+                "S = `s` + (ii % 100)",
+                "B = java.math.BigDecimal.valueOf(ii, 2)");
+        final ParquetInstructions writeInstructions = ParquetInstructions.builder()
+                .useBloomFilter("I", true)
+                .build();
+
+        final File serialFile = new File(rootFile, "serialColumnWrite.parquet");
+        try (final SafeCloseable ignored = ExecutionContext.getContext()
+                .withOperationInitializer(OperationInitializer.NON_PARALLELIZABLE).open()) {
+            writeTable(source, serialFile.getPath(), writeInstructions);
+        }
+        final byte[] serialBytes = Files.readAllBytes(serialFile.toPath());
+
+        // The test execution context can parallelize, so this writes the columns of the file concurrently
+        final File parallelFile = new File(rootFile, "parallelColumnWrite.parquet");
+        writeTable(source, parallelFile.getPath(), writeInstructions);
+        assertArrayEquals(serialBytes, Files.readAllBytes(parallelFile.toPath()));
+
+        // Bound the buffered bytes so that the columns are written in several batches, and the larger columns are
+        // written directly to the file
+        final long oldMaxBufferedColumnBytes = ParquetTableWriter.maxBufferedColumnBytes;
+        try {
+            ParquetTableWriter.maxBufferedColumnBytes = 1_000_000;
+            final File batchedFile = new File(rootFile, "batchedColumnWrite.parquet");
+            writeTable(source, batchedFile.getPath(), writeInstructions);
+            assertArrayEquals(serialBytes, Files.readAllBytes(batchedFile.toPath()));
+        } finally {
+            ParquetTableWriter.maxBufferedColumnBytes = oldMaxBufferedColumnBytes;
+        }
+        assertTableEquals(source, readTable(parallelFile.getPath()));
+    }
+
     @Test
     public void writeKeyValuePartitionedDataWithNoNonPartitioningColumnsTest() {
         final TableDefinition definition = TableDefinition.of(
@@ -3116,6 +3194,41 @@ public final class ParquetTableReadWriteTest {
         assertTrue(thirdColumnMetadata.contains("someIntColumn") && !thirdColumnMetadata.contains("RLE_DICTIONARY"));
     }
 
+    @Test
+    public void bloomFilterTest() {
+        final Table table = TableTools.emptyTable(1000).update(
+                "someIntColumn = i * 2",
+                "someLongColumn = ii % 100 == 0 ? NULL_LONG : ii * 3",
+                "someDoubleColumn = i / 4.0",
+                "someStringColumn = `Row ` + i",
+                "noFilterColumn = i");
+        final ParquetInstructions writeInstructions = new ParquetInstructions.Builder()
+                .useBloomFilter("someIntColumn", true)
+                .useBloomFilter("someLongColumn", true)
+                .useBloomFilter("someDoubleColumn", true)
+                .useBloomFilter("someStringColumn", true)
+                .build();
+        final File dest = new File(rootFile + File.separator + "bloomFilter.parquet");
+        writeTable(table, dest.getPath(), writeInstructions);
+        final Table fromDisk = checkSingleTable(table, dest);
+
+        final ParquetMetadata metadata =
+                new ParquetTableLocationKey(dest.toURI(), 0, null, ParquetInstructions.EMPTY).getMetadata();
+        final List<ColumnChunkMetaData> columns = metadata.getBlocks().get(0).getColumns();
+        for (int ci = 0; ci < 4; ++ci) {
+            assertTrue(columns.get(ci).getBloomFilterOffset() >= 0);
+        }
+        assertEquals(-1, columns.get(4).getBloomFilterOffset());
+
+        for (final String filter : new String[] {
+                "someIntColumn = 10", "someIntColumn = 11", "someIntColumn in 4, 5, 6",
+                "someLongColumn = 9", "someLongColumn = 10", "isNull(someLongColumn)",
+                "someDoubleColumn = 0.0", "someDoubleColumn = 1.5", "someDoubleColumn = 1.3",
+                "someStringColumn = `Row 7`", "someStringColumn = `Row 7.5`", "someStringColumn in `Row 1`, `Nope`"}) {
+            assertTableEquals(table.where(filter), fromDisk.where(filter));
+        }
+    }
+
     @Test
     public void mixedDictionaryEncodingTest() {
         // Test the behavior of writing parquet files with some pages dictionary encoded and some not
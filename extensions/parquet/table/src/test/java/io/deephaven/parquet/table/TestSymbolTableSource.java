@@ -3,8 +3,13 @@
 //
 package io.deephaven.parquet.table;
 
+import io.deephaven.api.ColumnName;
+import io.deephaven.api.filter.Filter;
+import io.deephaven.api.filter.FilterPattern;
 import io.deephaven.base.FileUtils;
+import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.chunkfilter.ChunkFilter;
 import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
 import io.deephaven.engine.testutil.junit4.EngineCleanup;
 import io.deephaven.engine.util.TableTools;
@@ -14,6 +19,7 @@ import org.junit.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.regex.Pattern;
 
 import static io.deephaven.engine.testutil.TstUtils.assertTableEquals;
 
@@ -61,4 +67,40 @@ public class TestSymbolTableSource {
 
         assertTableEquals(expected, syms);
     }
+
+    /**
+     * Verify that string filters on a dictionary-encoded column, which are evaluated once per symbol, agree with the
+     * same filters evaluated on every row of an in-memory copy.
+     */
+    @Test
+    public void testFilterBySymbols() {
+        final Table t = TableTools.emptyTable(10_000).update(
+                "Sym = k % 7 == 0 ? null : `Sym` + (k % 25)", "Sentinel = k");
+        final File toWrite = new File(dataDirectory, "table.parquet");
+        ParquetTools.writeTable(t, toWrite.getPath());
+        final Table readBack = ParquetTools.readTable(toWrite.getPath());
+
+        final SymbolTableSource<String> source =
+                (SymbolTableSource<String>) readBack.getColumnSource("Sym", String.class);
+        try (final RowSet matched = source.filterBySymbols(readBack.getRowSet(), ChunkFilter.TRUE_FILTER_INSTANCE)) {
+            Assert.assertNotNull(matched);
+            Assert.assertEquals(readBack.size(), matched.size());
+        }
+
+        final Filter[] filters = {
+                Filter.and(Filter.from("Sym == `Sym3`")),
+                Filter.and(Filter.from("Sym in `Sym3`, `Sym12`")),
+                Filter.and(Filter.from("Sym not in `Sym3`, `Sym12`")),
+                Filter.and(Filter.from("Sym icase in `sym4`")),
+                Filter.isNull(ColumnName.of("Sym")),
+                FilterPattern.of(ColumnName.of("Sym"), Pattern.compile("1"), FilterPattern.Mode.FIND, false),
+                FilterPattern.of(ColumnName.of("Sym"), Pattern.compile("^Sym2"), FilterPattern.Mode.FIND, true),
+                FilterPattern.of(ColumnName.of("Sym"), Pattern.compile("Sym[0-4]"), FilterPattern.Mode.MATCHES,
+                        false),
+        };
+        for (final Filter filter : filters) {
+            assertTableEquals(t.where(filter), readBack.where(filter));
+            assertTableEquals(t.where(Filter.not(filter)), readBack.where(Filter.not(filter)));
+        }
+    }
 }
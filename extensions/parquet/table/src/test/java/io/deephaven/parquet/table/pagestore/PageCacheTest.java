@@ -0,0 +1,103 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.parquet.table.pagestore;
+
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.page.IntChunkPage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PageCacheTest {
+
+    private static PageCache.IntrusivePage<Values> makePage(final int size) {
+        return new PageCache.IntrusivePage<>(IntChunkPage.pageWrap(0, new int[size], -1L));
+    }
+
+    @Test
+    public void testLruEvictionBySize() {
+        final PageCache.IntrusivePage<Values> p1 = makePage(100);
+        final PageCache.IntrusivePage<Values> p2 = makePage(100);
+        final PageCache.IntrusivePage<Values> p3 = makePage(100);
+        final PageCache.IntrusivePage<Values> p4 = makePage(100);
+        final long pageBytes = p1.getSizeInBytes();
+        assertEquals(PageCache.estimateSizeInBytes(p1.getPage()), pageBytes);
+
+        final PageCache<Values> cache = new PageCache<>(3 * pageBytes);
+        cache.touch(p1);
+        cache.touch(p2);
+        cache.touch(p3);
+        assertEquals(3, cache.getNumPages());
+        assertEquals(3 * pageBytes, cache.getSizeBytes());
+        assertEquals(0, cache.getEvictions());
+
+        // p1 is referenced, so it is given a second chance and p2 is evicted to make room for p4
+        cache.touch(p1);
+        cache.touch(p4);
+        assertEquals(3, cache.getNumPages());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+
+        // p3 and p1 are referenced, so p4 is evicted to make room for p2
+        cache.touch(p3);
+        cache.touch(p1);
+        assertEquals(3, cache.getHits());
+        cache.touch(p2);
+        assertEquals(5, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(3 * pageBytes, cache.getSizeBytes());
+    }
+
+    @Test
+    public void testOversizedPageNotRetained() {
+        final PageCache.IntrusivePage<Values> small = makePage(10);
+        final PageCache.IntrusivePage<Values> large = makePage(1000);
+        final PageCache<Values> cache = new PageCache<>(large.getSizeInBytes() - 1);
+        cache.touch(small);
+        cache.touch(large);
+        assertEquals(0, cache.getNumPages());
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testConcurrentTouches() throws InterruptedException {
+        final int numPages = 1000;
+        final List<PageCache.IntrusivePage<Values>> pages = new ArrayList<>(numPages);
+        for (int ii = 0; ii < numPages; ++ii) {
+            pages.add(makePage(10 + ii % 100));
+        }
+        final PageCache<Values> cache = new PageCache<>(100 * pages.get(50).getSizeInBytes());
+
+        final int numThreads = 4;
+        final int touchesPerThread = 100_000;
+        final Thread[] threads = new Thread[numThreads];
+        for (int ti = 0; ti < numThreads; ++ti) {
+            final Random random = new Random(ti);
+            threads[ti] = new Thread(() -> {
+                for (int ii = 0; ii < touchesPerThread; ++ii) {
+                    // skew towards a hot set of pages, so that there are both hits and evictions
+                    final int pageIndex = random.nextBoolean() ? random.nextInt(50) : random.nextInt(numPages);
+                    cache.touch(pages.get(pageIndex));
+                }
+            });
+            threads[ti].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) numThreads * touchesPerThread, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+        assertTrue(cache.getEvictions() > 0);
+        assertTrue(cache.getSizeBytes() <= cache.getMaxSizeBytes());
+        assertEquals(cache.getMisses() - cache.getEvictions(), cache.getNumPages());
+    }
+}
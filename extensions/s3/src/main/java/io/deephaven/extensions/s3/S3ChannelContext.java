@@ -8,6 +8,7 @@ import io.deephaven.io.logger.Logger;
 import io.deephaven.util.channel.SeekableChannelContext;
 import io.deephaven.util.channel.BaseSeekableChannelContext;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Uri;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
@@ -28,7 +29,7 @@ final class S3ChannelContext extends BaseSeekableChannelContext implements Seeka
     static final long UNINITIALIZED_SIZE = -1;
     private static final long UNINITIALIZED_NUM_FRAGMENTS = -1;
 
-    private final S3SeekableChannelProvider provider;
+    final S3SeekableChannelProvider provider;
     final S3AsyncClient client;
     final S3Instructions instructions;
 
@@ -44,6 +45,17 @@ final class S3ChannelContext extends BaseSeekableChannelContext implements Seeka
      */
     final S3RequestCache sharedCache;
 
+    /**
+     * Counters for the requests sent by the provider, shared across all contexts created by the same provider.
+     */
+    final S3ReadStats readStats;
+
+    /**
+     * The persistent cache below {@link #sharedCache}, or {@code null} if fragments are only cached in memory.
+     */
+    @Nullable
+    final S3DiskCache diskCache;
+
     /**
      * The size of the object in bytes, stored in context to avoid fetching multiple times
      */
@@ -58,11 +70,15 @@ final class S3ChannelContext extends BaseSeekableChannelContext implements Seeka
             @NotNull final S3SeekableChannelProvider provider,
             @NotNull final S3AsyncClient client,
             @NotNull final S3Instructions instructions,
-            @NotNull final S3RequestCache sharedCache) {
+            @NotNull final S3RequestCache sharedCache,
+            @NotNull final S3ReadStats readStats,
+            @Nullable final S3DiskCache diskCache) {
         this.provider = Objects.requireNonNull(provider);
         this.client = Objects.requireNonNull(client);
         this.instructions = Objects.requireNonNull(instructions);
         this.sharedCache = sharedCache;
+        this.readStats = Objects.requireNonNull(readStats);
+        this.diskCache = diskCache;
         if (sharedCache.getFragmentSize() != instructions.fragmentSize()) {
             throw new IllegalArgumentException("Fragment size mismatch between shared cache and instructions, "
                     + sharedCache.getFragmentSize() + " != " + instructions.fragmentSize());
@@ -96,6 +112,14 @@ final class S3ChannelContext extends BaseSeekableChannelContext implements Seeka
         return size;
     }
 
+    /**
+     * @return The ETag of the current object, or {@code null} if it is not known
+     */
+    @Nullable
+    String eTag() {
+        return provider.getCachedETag(uri.uri());
+    }
+
     int fill(final long position, final ByteBuffer dest) throws IOException {
         final int destRemaining = dest.remaining();
         if (destRemaining == 0) {
@@ -0,0 +1,245 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import io.deephaven.internal.log.LoggerFactory;
+import io.deephaven.io.logger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Uri;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * A single GET request for a run of consecutive fragments of an S3 object, each of which has been
+ * {@link S3Request.Acquired#claim() claimed} from the {@link S3RequestCache}. As the response streams in, each
+ * fragment's buffer is filled and its future completed in turn, so readers waiting on early fragments do not wait for
+ * the entire request.
+ */
+final class S3CoalescedRequest
+        implements AsyncResponseTransformer<GetObjectResponse, Boolean>, BiConsumer<Boolean, Throwable> {
+
+    private static final Logger log = LoggerFactory.getLogger(S3CoalescedRequest.class);
+
+    private final S3Uri s3Uri;
+    @Nullable
+    private final String eTag;
+    private final long from;
+    private final long to;
+    private final Instant createdAt;
+
+    /**
+     * Hard references to the claimed fragments, which keep their buffers alive until this request completes.
+     */
+    private volatile List<S3Request.Acquired> fragments;
+    private final List<CompletableFuture<Boolean>> fragmentFutures;
+    private volatile CompletableFuture<Boolean> producerFuture;
+
+    /**
+     * Send a coalesced request for the given fragments.
+     *
+     * @param client The client to send the request with
+     * @param s3Uri The URI of the object
+     * @param fragments The claimed fragments, which must be consecutive
+     * @param fragmentFutures The futures returned when claiming {@code fragments}, to be completed by this request
+     * @return A future that completes when the request completes, successfully or not
+     */
+    static CompletableFuture<Boolean> send(
+            @NotNull final S3AsyncClient client,
+            @NotNull final S3Uri s3Uri,
+            @NotNull final List<S3Request.Acquired> fragments,
+            @NotNull final List<CompletableFuture<Boolean>> fragmentFutures) {
+        final S3CoalescedRequest request = new S3CoalescedRequest(s3Uri, fragments, fragmentFutures);
+        if (log.isDebugEnabled()) {
+            log.debug().append("Sending: ").append(request.requestStr()).endl();
+        }
+        final CompletableFuture<Boolean> ret;
+        try {
+            ret = client.getObject(request.getObjectRequest(), request);
+        } catch (final RuntimeException e) {
+            request.accept(null, e);
+            throw e;
+        }
+        ret.whenComplete(request);
+        return ret;
+    }
+
+    private S3CoalescedRequest(
+            @NotNull final S3Uri s3Uri,
+            @NotNull final List<S3Request.Acquired> fragments,
+            @NotNull final List<CompletableFuture<Boolean>> fragmentFutures) {
+        this.s3Uri = s3Uri;
+        this.eTag = fragments.get(0).eTag();
+        this.from = fragments.get(0).from();
+        this.to = fragments.get(fragments.size() - 1).to();
+        this.fragments = fragments;
+        this.fragmentFutures = fragmentFutures;
+        createdAt = Instant.now();
+    }
+
+    long requestLength() {
+        return to - from + 1;
+    }
+
+    /**
+     * Called when the request completes. Fails any fragments that were not filled, and releases the hard references to
+     * the fragment buffers so they are retained only as long as the {@link S3RequestCache} allows.
+     */
+    @Override
+    public void accept(final Boolean isComplete, final Throwable throwable) {
+        final List<S3Request.Acquired> localFragments = fragments;
+        final boolean modified = throwable != null && S3Request.isPreconditionFailed(throwable);
+        for (int fi = 0; fi < fragmentFutures.size(); ++fi) {
+            final CompletableFuture<Boolean> fragmentFuture = fragmentFutures.get(fi);
+            if (!fragmentFuture.isDone()) {
+                if (modified && localFragments != null) {
+                    localFragments.get(fi).request().invalidateModifiedObject();
+                }
+                fragmentFuture.completeExceptionally(throwable != null ? throwable
+                        : new IllegalStateException(String.format("Failed to complete request %s", requestStr())));
+            }
+        }
+        fragments = null;
+        if (log.isDebugEnabled()) {
+            log.debug().append(throwable == null ? "Send complete: " : "Send error: ").append(requestStr())
+                    .append(' ').append(Duration.between(createdAt, Instant.now()).toString()).endl();
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------------
+
+    @Override
+    public CompletableFuture<Boolean> prepare() {
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        producerFuture = future;
+        return future;
+    }
+
+    @Override
+    public void onResponse(final GetObjectResponse response) {
+
+    }
+
+    @Override
+    public void onStream(final SdkPublisher<ByteBuffer> publisher) {
+        publisher.subscribe(new Sub());
+    }
+
+    @Override
+    public void exceptionOccurred(final Throwable error) {
+        producerFuture.completeExceptionally(error);
+    }
+
+    // --------------------------------------------------------------------------------------------------
+
+    private GetObjectRequest getObjectRequest() {
+        return GetObjectRequest.builder()
+                .bucket(s3Uri.bucket().orElseThrow())
+                .key(s3Uri.key().orElseThrow())
+                .range("bytes=" + from + "-" + to)
+                .ifMatch(eTag)
+                .build();
+    }
+
+    private String requestStr() {
+        return String.format("coalesced %d fragments [%d, %d]/%d %s/%s", fragmentFutures.size(), from, to,
+                requestLength(), s3Uri.bucket().orElseThrow(), s3Uri.key().orElseThrow());
+    }
+
+    // --------------------------------------------------------------------------------------------------
+
+    private final class Sub implements Subscriber<ByteBuffer> {
+
+        private final CompletableFuture<Boolean> localProducer;
+        private final List<S3Request.Acquired> localFragments;
+        private Subscription subscription;
+
+        /**
+         * The index of the fragment currently being filled.
+         */
+        private int fragmentIndex;
+
+        /**
+         * Number of bytes stored in the current fragment's buffer.
+         */
+        private int fragmentOffset;
+
+        Sub() {
+            localProducer = producerFuture;
+            localFragments = fragments;
+            if (localFragments == null) {
+                // Already completed
+                localProducer.complete(false);
+            }
+        }
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            if (localFragments == null || subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final ByteBuffer dataBuffer) {
+            while (dataBuffer.hasRemaining()) {
+                if (fragmentIndex == localFragments.size()) {
+                    localProducer.completeExceptionally(new IllegalStateException(String.format(
+                            "Received more than %d bytes, %s", requestLength(), requestStr())));
+                    subscription.cancel();
+                    return;
+                }
+                final S3Request.Acquired fragment = localFragments.get(fragmentIndex);
+                final int fragmentLength = (int) (fragment.to() - fragment.from() + 1);
+                final int numBytes = Math.min(dataBuffer.remaining(), fragmentLength - fragmentOffset);
+                final ByteBuffer slice = dataBuffer.duplicate();
+                slice.limit(slice.position() + numBytes);
+                fragment.write(fragmentOffset, slice);
+                dataBuffer.position(dataBuffer.position() + numBytes);
+                fragmentOffset += numBytes;
+                if (fragmentOffset == fragmentLength) {
+                    fragment.writeToDiskCache();
+                    fragmentFutures.get(fragmentIndex).complete(true);
+                    ++fragmentIndex;
+                    fragmentOffset = 0;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            localProducer.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (localFragments == null) {
+                return;
+            }
+            if (fragmentIndex != localFragments.size()) {
+                localProducer.completeExceptionally(new IllegalStateException(String.format(
+                        "Expected %d fragments, received %d, %s", localFragments.size(), fragmentIndex,
+                        requestStr())));
+                return;
+            }
+            localProducer.complete(true);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import io.deephaven.UncheckedDeephavenException;
+import io.deephaven.internal.log.LoggerFactory;
+import io.deephaven.io.logger.Logger;
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.services.s3.S3Uri;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of S3 object fragments in a local directory, sitting below the in-memory {@link S3RequestCache}.
+ * Each fragment is stored in its own file, named by a hash of the object's URI and ETag along with the fragment size
+ * and index, so that a modified object never matches stale fragments.
+ * <p>
+ * The directory may be shared by any number of providers and processes on the same host. Fragments are written to a
+ * temporary file and atomically renamed into place, so readers only ever see complete fragments. Reads update the
+ * file's modification time, at most once per {@link #ACCESS_TIME_RESOLUTION}, which is used to evict the least recently
+ * used fragments once the total size of the directory exceeds the configured budget. Each process tracks an estimate of
+ * the directory size that is corrected whenever it scans the directory for eviction, so the budget is enforced
+ * approximately when multiple processes share a directory.
+ * <p>
+ * Writes happen asynchronously on a single background thread per directory, and are dropped if too many are pending.
+ * The thread is shut down once every provider using the directory has {@link #release() released} it. Failures to read
+ * or write the cache are logged and otherwise ignored; the fragment is fetched from S3 instead.
+ */
+final class S3DiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(S3DiskCache.class);
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Temporary files older than this are assumed to have been abandoned by a process that exited mid-write.
+     */
+    private static final Duration STALE_TEMP_FILE_AGE = Duration.ofHours(1);
+
+    /**
+     * Reads only update a fragment's modification time if it is older than this, to avoid a metadata write per read.
+     */
+    private static final Duration ACCESS_TIME_RESOLUTION = Duration.ofMinutes(1);
+
+    /**
+     * When evicting, remove fragments until the directory is at most this fraction of the budget, to avoid scanning
+     * the directory on every write once it is full.
+     */
+    private static final double EVICTION_TARGET_FRACTION = 0.9;
+
+    private static final int MAX_PENDING_WRITES = 256;
+
+    /**
+     * The caches in use, guarded by synchronizing on the map itself.
+     */
+    private static final Map<Path, S3DiskCache> INSTANCES = new HashMap<>();
+
+    /**
+     * Acquire the cache for the given directory, creating it if necessary. All providers in this process that use the
+     * same directory share a single instance, so they must agree on its budget. Each call must be matched by a call to
+     * {@link #release()}.
+     *
+     * @param directory The directory to store fragments in; created if it does not exist
+     * @param maxBytes The maximum number of bytes to store in the directory
+     * @return The cache
+     * @throws IllegalArgumentException If the directory is already in use with a different budget
+     */
+    static S3DiskCache forDirectory(@NotNull final Path directory, final long maxBytes) {
+        final Path normalized = directory.toAbsolutePath().normalize();
+        synchronized (INSTANCES) {
+            final S3DiskCache existing = INSTANCES.get(normalized);
+            if (existing == null) {
+                final S3DiskCache created = new S3DiskCache(normalized, maxBytes);
+                INSTANCES.put(normalized, created);
+                return created;
+            }
+            if (existing.maxBytes != maxBytes) {
+                throw new IllegalArgumentException("S3 disk cache directory " + normalized
+                        + " is already in use with diskCacheSize=" + existing.maxBytes + ", cannot use it with "
+                        + "diskCacheSize=" + maxBytes);
+            }
+            ++existing.referenceCount;
+            return existing;
+        }
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * The number of providers using this cache, guarded by {@link #INSTANCES}.
+     */
+    private int referenceCount = 1;
+
+    /**
+     * An estimate of the number of bytes stored in the directory, corrected by each scan.
+     */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final ThreadPoolExecutor writer;
+
+    private S3DiskCache(@NotNull final Path directory, final long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_WRITES),
+                new ThreadFactoryBuilder().threadNamePrefix("s3-disk-cache").daemonThreads(true).build(),
+                new ThreadPoolExecutor.DiscardPolicy());
+        // Learn how much is already stored, e.g. by an earlier run or another process, and evict if over budget
+        writer.execute(this::scanAndEvict);
+    }
+
+    /**
+     * Release a reference acquired by {@link #forDirectory(Path, long)}. Once the last reference is released, the
+     * writer thread shuts down after completing the writes already queued.
+     */
+    void release() {
+        synchronized (INSTANCES) {
+            if (--referenceCount > 0) {
+                return;
+            }
+            INSTANCES.remove(directory, this);
+        }
+        writer.shutdown();
+    }
+
+    /**
+     * Read a fragment into {@code dest}, if it is stored in this cache. The position and limit of {@code dest} are not
+     * modified; the fragment's length must equal {@code dest.remaining()}.
+     *
+     * @return Whether the fragment was read; if {@code false}, the contents of {@code dest} are undefined
+     */
+    boolean read(
+            @NotNull final S3Uri uri,
+            @NotNull final String eTag,
+            final int fragmentSize,
+            final long fragmentIndex,
+            @NotNull final ByteBuffer dest) {
+        final Path path = path(uri, eTag, fragmentSize, fragmentIndex);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != dest.remaining()) {
+                return false;
+            }
+            final ByteBuffer target = dest.duplicate();
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    return false;
+                }
+            }
+        } catch (final NoSuchFileException e) {
+            return false;
+        } catch (final IOException e) {
+            log.warn().append("Failed to read cached fragment ").append(path.toString()).append(": ").append(e)
+                    .endl();
+            return false;
+        }
+        try {
+            final Instant now = Instant.now();
+            if (Files.getLastModifiedTime(path).toInstant().isBefore(now.minus(ACCESS_TIME_RESOLUTION))) {
+                Files.setLastModifiedTime(path, FileTime.from(now));
+            }
+        } catch (final IOException e) {
+            // The fragment may have been evicted concurrently, which is fine since we have already read it
+        }
+        return true;
+    }
+
+    /**
+     * Asynchronously store a fragment in this cache. {@code src} must not be modified after this call.
+     */
+    void write(
+            @NotNull final S3Uri uri,
+            @NotNull final String eTag,
+            final int fragmentSize,
+            final long fragmentIndex,
+            @NotNull final ByteBuffer src) {
+        final Path path = path(uri, eTag, fragmentSize, fragmentIndex);
+        final ByteBuffer data = src.asReadOnlyBuffer();
+        writer.execute(() -> writeImpl(path, data));
+    }
+
+    /**
+     * Wait for all writes queued before this call to complete.
+     */
+    void awaitPendingWrites() throws InterruptedException {
+        if (writer.isShutdown()) {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            return;
+        }
+        try {
+            writer.submit(() -> {
+            }).get();
+        } catch (final ExecutionException e) {
+            throw new UncheckedDeephavenException(e);
+        }
+    }
+
+    private void writeImpl(@NotNull final Path path, @NotNull final ByteBuffer data) {
+        if (Files.exists(path)) {
+            return;
+        }
+        final int numBytes = data.remaining();
+        Path tempPath = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), TEMP_FILE_SUFFIX);
+            try (final FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+            tempPath = null;
+        } catch (final FileAlreadyExistsException e) {
+            // Another process stored the same fragment first
+            return;
+        } catch (final IOException e) {
+            log.warn().append("Failed to cache fragment ").append(path.toString()).append(": ").append(e).endl();
+            return;
+        } finally {
+            if (tempPath != null) {
+                deleteQuietly(tempPath);
+            }
+        }
+        if (usedBytes.addAndGet(numBytes) > maxBytes) {
+            scanAndEvict();
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final long size;
+        private final long lastAccessMillis;
+
+        private Entry(@NotNull final Path path, final long size, final long lastAccessMillis) {
+            this.path = path;
+            this.size = size;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    /**
+     * Measure the directory, removing abandoned temporary files, and evict the least recently used fragments if it is
+     * over budget. Only called from the writer thread.
+     */
+    private void scanAndEvict() {
+        final List<Entry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        final long staleTempFileMillis = System.currentTimeMillis() - STALE_TEMP_FILE_AGE.toMillis();
+        try {
+            Files.createDirectories(directory);
+            try (final Stream<Path> paths = Files.walk(directory)) {
+                for (final Iterator<Path> it = paths.iterator(); it.hasNext();) {
+                    final Path path = it.next();
+                    final BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (final IOException e) {
+                        // Evicted concurrently by another process
+                        continue;
+                    }
+                    if (!attributes.isRegularFile()) {
+                        continue;
+                    }
+                    final long lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+                    if (path.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+                        if (lastModifiedMillis < staleTempFileMillis) {
+                            deleteQuietly(path);
+                        }
+                        continue;
+                    }
+                    entries.add(new Entry(path, attributes.size(), lastModifiedMillis));
+                    totalBytes += attributes.size();
+                }
+            }
+        } catch (final IOException | UncheckedIOException e) {
+            log.warn().append("Failed to scan S3 disk cache directory ").append(directory.toString()).append(": ")
+                    .append(e).endl();
+            return;
+        }
+        if (totalBytes > maxBytes) {
+            final long targetBytes = (long) (maxBytes * EVICTION_TARGET_FRACTION);
+            final long bytesBefore = totalBytes;
+            entries.sort(Comparator.comparingLong(entry -> entry.lastAccessMillis));
+            for (final Entry entry : entries) {
+                if (totalBytes <= targetBytes) {
+                    break;
+                }
+                if (deleteQuietly(entry.path)) {
+                    totalBytes -= entry.size;
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug().append("Evicted ").append(bytesBefore - totalBytes).append(" bytes from S3 disk cache ")
+                        .append(directory.toString()).endl();
+            }
+        }
+        usedBytes.set(totalBytes);
+    }
+
+    private static boolean deleteQuietly(@NotNull final Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private Path path(
+            @NotNull final S3Uri uri,
+            @NotNull final String eTag,
+            final int fragmentSize,
+            final long fragmentIndex) {
+        final String objectHash = sha256Hex(uri.uri().toString() + '\n' + eTag);
+        // Spread files across subdirectories to keep directory listings small
+        return directory.resolve(objectHash.substring(0, 2))
+                .resolve(objectHash + '-' + fragmentSize + '-' + fragmentIndex);
+    }
+
+    private static String sha256Hex(@NotNull final String value) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        final byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder result = new StringBuilder(2 * hash.length);
+        for (final byte b : hash) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+}
@@ -13,6 +13,7 @@ import org.immutables.value.Value.Lazy;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 
@@ -28,9 +29,12 @@ public abstract class S3Instructions implements LogOutputAppendable {
     private static final int DEFAULT_READ_AHEAD_COUNT = 32;
     private static final int DEFAULT_FRAGMENT_SIZE = 1 << 16; // 64 KiB
     private static final int MIN_FRAGMENT_SIZE = 8 << 10; // 8 KiB
+    private static final int DEFAULT_MAX_PREFETCH_REQUEST_SIZE = 8 << 20; // 8 MiB
+    private static final int DEFAULT_MAX_CONCURRENT_PREFETCH_REQUESTS = 0;
     private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
     private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(2);
     private static final int DEFAULT_NUM_CONCURRENT_WRITE_PARTS = 64;
+    private static final long DEFAULT_DISK_CACHE_SIZE = 10L << 30; // 10 GiB
 
     /**
      * We set default part size to 10 MiB. The maximum number of parts allowed is 10,000. This means maximum size of a
@@ -83,6 +87,29 @@ public abstract class S3Instructions implements LogOutputAppendable {
         return DEFAULT_FRAGMENT_SIZE;
     }
 
+    /**
+     * The maximum byte size of a single request used to prefetch byte ranges that a reader has announced it will read,
+     * defaults to {@value DEFAULT_MAX_PREFETCH_REQUEST_SIZE}. Adjacent fragments within the announced ranges are
+     * coalesced into requests of up to this size. Values smaller than {@link #fragmentSize()} are treated as
+     * {@link #fragmentSize()}.
+     */
+    @Default
+    public int maxPrefetchRequestSize() {
+        return DEFAULT_MAX_PREFETCH_REQUEST_SIZE;
+    }
+
+    /**
+     * The maximum number of prefetch requests to have in flight at once, defaults to
+     * {@value DEFAULT_MAX_CONCURRENT_PREFETCH_REQUESTS}, which disables prefetching. Prefetching fetches whole ranges,
+     * such as parquet column chunks, as soon as any part of them is read, which speeds up scans but wastes bandwidth on
+     * point reads. Further prefetch requests are queued until earlier ones complete, and are dropped if too many are
+     * already queued.
+     */
+    @Default
+    public int maxConcurrentPrefetchRequests() {
+        return DEFAULT_MAX_CONCURRENT_PREFETCH_REQUESTS;
+    }
+
     /**
      * The amount of time to wait when initially establishing a connection before giving up and timing out, defaults to
      * 2 seconds.
@@ -132,6 +159,23 @@ public abstract class S3Instructions implements LogOutputAppendable {
         return DEFAULT_NUM_CONCURRENT_WRITE_PARTS;
     }
 
+    /**
+     * The local directory in which to cache fragments read from S3, so that they survive process restarts and can be
+     * shared between processes on the same host. Cached fragments are keyed by the object's URI and ETag, so modified
+     * objects are never read from stale fragments. If not provided, fragments are only cached in memory.
+     */
+    public abstract Optional<Path> diskCacheDirectory();
+
+    /**
+     * The maximum number of bytes to store in the {@link #diskCacheDirectory() disk cache directory}, defaults to
+     * {@value #DEFAULT_DISK_CACHE_SIZE}. The least recently used fragments are evicted once this is exceeded. All
+     * providers in the same process that use the same directory at the same time must configure the same size.
+     */
+    @Default
+    public long diskCacheSize() {
+        return DEFAULT_DISK_CACHE_SIZE;
+    }
+
     @Override
     public LogOutput append(final LogOutput logOutput) {
         return logOutput.append(toString());
@@ -154,6 +198,10 @@ public abstract class S3Instructions implements LogOutputAppendable {
 
         Builder fragmentSize(int fragmentSize);
 
+        Builder maxPrefetchRequestSize(int maxPrefetchRequestSize);
+
+        Builder maxConcurrentPrefetchRequests(int maxConcurrentPrefetchRequests);
+
         Builder connectionTimeout(Duration connectionTimeout);
 
         Builder readTimeout(Duration connectionTimeout);
@@ -166,10 +214,18 @@ public abstract class S3Instructions implements LogOutputAppendable {
 
         Builder numConcurrentWriteParts(int numConcurrentWriteParts);
 
+        Builder diskCacheDirectory(Path diskCacheDirectory);
+
+        Builder diskCacheSize(long diskCacheSize);
+
         default Builder endpointOverride(String endpointOverride) {
             return endpointOverride(URI.create(endpointOverride));
         }
 
+        default Builder diskCacheDirectory(String diskCacheDirectory) {
+            return diskCacheDirectory(Path.of(diskCacheDirectory));
+        }
+
         S3Instructions build();
     }
 
@@ -203,6 +259,22 @@ public abstract class S3Instructions implements LogOutputAppendable {
         }
     }
 
+    @Check
+    final void boundsCheckMinPrefetchRequestSize() {
+        if (maxPrefetchRequestSize() < MIN_FRAGMENT_SIZE) {
+            throw new IllegalArgumentException("maxPrefetchRequestSize(=" + maxPrefetchRequestSize() + ") must be >= "
+                    + MIN_FRAGMENT_SIZE + " bytes");
+        }
+    }
+
+    @Check
+    final void boundsCheckMaxConcurrentPrefetchRequests() {
+        if (maxConcurrentPrefetchRequests() < 0) {
+            throw new IllegalArgumentException(
+                    "maxConcurrentPrefetchRequests(=" + maxConcurrentPrefetchRequests() + ") must be >= 0");
+        }
+    }
+
     @Check
     final void awsSdkV2Credentials() {
         if (!(credentials() instanceof AwsSdkV2Credentials)) {
@@ -236,6 +308,14 @@ public abstract class S3Instructions implements LogOutputAppendable {
         }
     }
 
+    @Check
+    final void boundsCheckDiskCacheSize() {
+        if (diskCacheSize() < fragmentSize()) {
+            throw new IllegalArgumentException(
+                    "diskCacheSize(=" + diskCacheSize() + ") must be >= fragmentSize(=" + fragmentSize() + ")");
+        }
+    }
+
     final AwsCredentialsProvider awsV2CredentialsProvider() {
         return ((AwsSdkV2Credentials) credentials()).awsV2CredentialsProvider();
     }
@@ -0,0 +1,249 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import io.deephaven.internal.log.LoggerFactory;
+import io.deephaven.io.logger.Logger;
+import io.deephaven.util.profiling.RemoteReadCounters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prefetches byte ranges of S3 objects that readers have announced they will read. Each set of ranges is planned as a
+ * list of fragment runs, coalescing adjacent and overlapping ranges and splitting runs larger than
+ * {@link S3Instructions#maxPrefetchRequestSize()}. Runs are sent as single {@link S3CoalescedRequest coalesced
+ * requests} that fill the fragments in the {@link S3RequestCache}, with at most
+ * {@link S3Instructions#maxConcurrentPrefetchRequests()} requests in flight at once. Fragments are only claimed when a
+ * run is sent, so a reader that needs a fragment before its run is sent fetches it on demand instead of waiting. For
+ * the same reason, runs are dropped rather than queued once {@value #MAX_PENDING_RUNS_PER_REQUEST} runs per concurrent
+ * request are pending.
+ */
+final class S3Prefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(S3Prefetcher.class);
+
+    private static final int MAX_PENDING_RUNS_PER_REQUEST = 4;
+
+    /**
+     * A run of consecutive fragments to fetch with a single request.
+     */
+    private static final class Run {
+        private final S3Uri uri;
+        private final long size;
+        private final long firstFragmentIndex;
+        private final long lastFragmentIndex;
+        /**
+         * The counters of the thread that requested the prefetch, since the run may be sent from another thread
+         */
+        private final RemoteReadCounters remoteReadCounters;
+
+        private Run(final S3Uri uri, final long size, final long firstFragmentIndex, final long lastFragmentIndex,
+                final RemoteReadCounters remoteReadCounters) {
+            this.uri = uri;
+            this.size = size;
+            this.firstFragmentIndex = firstFragmentIndex;
+            this.lastFragmentIndex = lastFragmentIndex;
+            this.remoteReadCounters = remoteReadCounters;
+        }
+    }
+
+    private final S3SeekableChannelProvider provider;
+    private final S3AsyncClient client;
+    private final S3Instructions instructions;
+    private final S3ReadStats readStats;
+
+    private final Queue<Run> pendingRuns;
+    private final AtomicInteger numInFlight = new AtomicInteger();
+
+    S3Prefetcher(
+            @NotNull final S3SeekableChannelProvider provider,
+            @NotNull final S3AsyncClient client,
+            @NotNull final S3Instructions instructions,
+            @NotNull final S3ReadStats readStats) {
+        this.provider = provider;
+        this.client = client;
+        this.instructions = instructions;
+        this.readStats = readStats;
+        this.pendingRuns =
+                new LinkedBlockingQueue<>(MAX_PENDING_RUNS_PER_REQUEST * instructions.maxConcurrentPrefetchRequests());
+    }
+
+    /**
+     * Plan and queue requests for the given byte ranges of an object.
+     *
+     * @param uri The URI of the object
+     * @param size The size of the object, in bytes
+     * @param offsets The starting offsets of the ranges
+     * @param lengths The lengths of the ranges, parallel to {@code offsets}
+     */
+    void prefetch(@NotNull final S3Uri uri, final long size, @NotNull final long[] offsets,
+            @NotNull final long[] lengths) {
+        final int fragmentSize = instructions.fragmentSize();
+        final int maxFragmentsPerRun = Math.max(1, instructions.maxPrefetchRequestSize() / fragmentSize);
+        final long[] plan = plan(offsets, lengths, size, fragmentSize, maxFragmentsPerRun);
+        if (log.isDebugEnabled()) {
+            long plannedBytes = 0;
+            for (int ri = 0; ri < plan.length; ri += 2) {
+                plannedBytes += Math.min((plan[ri + 1] + 1) * fragmentSize, size) - plan[ri] * fragmentSize;
+            }
+            log.debug().append("Prefetch plan: ").append(offsets.length).append(" ranges coalesced into ")
+                    .append(plan.length / 2).append(" requests for ").append(plannedBytes).append(" bytes of ")
+                    .append(uri.toString()).append(", totals: ").append(readStats).endl();
+        }
+        final RemoteReadCounters remoteReadCounters = RemoteReadCounters.forCurrentThread();
+        for (int ri = 0; ri < plan.length; ri += 2) {
+            if (!pendingRuns.offer(new Run(uri, size, plan[ri], plan[ri + 1], remoteReadCounters))) {
+                log.debug().append("Prefetch queue full, dropping ").append((plan.length - ri) / 2)
+                        .append(" requests for ").append(uri.toString()).endl();
+                break;
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Plan the fragment runs needed to fetch the given byte ranges.
+     *
+     * @param offsets The starting offsets of the ranges
+     * @param lengths The lengths of the ranges, parallel to {@code offsets}
+     * @param size The size of the object, in bytes; ranges are clipped to the object
+     * @param fragmentSize The size of each fragment, in bytes
+     * @param maxFragmentsPerRun The maximum number of fragments in a single run
+     * @return The runs, as pairs of first and last (inclusive) fragment indices, in increasing order
+     */
+    static long[] plan(
+            @NotNull final long[] offsets,
+            @NotNull final long[] lengths,
+            final long size,
+            final int fragmentSize,
+            final int maxFragmentsPerRun) {
+        if (offsets.length != lengths.length) {
+            throw new IllegalArgumentException(
+                    "offsets.length(=" + offsets.length + ") != lengths.length(=" + lengths.length + ")");
+        }
+        final List<long[]> fragmentRanges = new ArrayList<>(offsets.length);
+        for (int ri = 0; ri < offsets.length; ++ri) {
+            final long offset = offsets[ri];
+            final long end = Math.min(offset + lengths[ri], size);
+            if (offset < 0 || end <= offset) {
+                continue;
+            }
+            fragmentRanges.add(new long[] {offset / fragmentSize, (end - 1) / fragmentSize});
+        }
+        fragmentRanges.sort(Comparator.comparingLong(range -> range[0]));
+        long[] plan = new long[2 * fragmentRanges.size()];
+        int planSize = 0;
+        for (int ri = 0; ri < fragmentRanges.size();) {
+            final long first = fragmentRanges.get(ri)[0];
+            long last = fragmentRanges.get(ri)[1];
+            // Coalesce ranges that overlap or are separated only by a fragment boundary
+            for (++ri; ri < fragmentRanges.size() && fragmentRanges.get(ri)[0] <= last + 1; ++ri) {
+                last = Math.max(last, fragmentRanges.get(ri)[1]);
+            }
+            // Split into runs of bounded size
+            for (long runFirst = first; runFirst <= last; runFirst += maxFragmentsPerRun) {
+                if (planSize == plan.length) {
+                    plan = Arrays.copyOf(plan, 2 * plan.length);
+                }
+                plan[planSize++] = runFirst;
+                plan[planSize++] = Math.min(runFirst + maxFragmentsPerRun - 1, last);
+            }
+        }
+        return plan.length == planSize ? plan : Arrays.copyOf(plan, planSize);
+    }
+
+    /**
+     * Send pending runs while fewer than the maximum number of requests are in flight. Called whenever runs are added
+     * and whenever a request completes, so no run is left pending while there is capacity to send it.
+     */
+    private void dispatch() {
+        final int maxInFlight = instructions.maxConcurrentPrefetchRequests();
+        while (!pendingRuns.isEmpty()) {
+            final int currentInFlight = numInFlight.get();
+            if (currentInFlight >= maxInFlight) {
+                return;
+            }
+            if (!numInFlight.compareAndSet(currentInFlight, currentInFlight + 1)) {
+                continue;
+            }
+            final Run run = pendingRuns.poll();
+            final CompletableFuture<?> sent = run == null ? null : send(run);
+            if (sent == null) {
+                numInFlight.decrementAndGet();
+                continue;
+            }
+            sent.whenComplete((result, error) -> {
+                numInFlight.decrementAndGet();
+                dispatch();
+            });
+        }
+    }
+
+    /**
+     * Claim the fragments of a run that have not already been requested, and send a coalesced request for each
+     * consecutive sequence of them.
+     *
+     * @return A future that completes when all requests complete, or {@code null} if no requests were sent
+     */
+    @Nullable
+    private CompletableFuture<?> send(@NotNull final Run run) {
+        final List<CompletableFuture<Boolean>> sent = new ArrayList<>();
+        List<S3Request.Acquired> fragments = new ArrayList<>();
+        List<CompletableFuture<Boolean>> fragmentFutures = new ArrayList<>();
+        try (final S3ChannelContext context = (S3ChannelContext) provider.makeContext()) {
+            context.setURI(run.uri);
+            context.verifyOrSetSize(run.size);
+            for (long fi = run.firstFragmentIndex; fi <= run.lastFragmentIndex; ++fi) {
+                final S3Request.Acquired fragment = context.sharedCache.getOrCreateRequest(run.uri, fi, context);
+                final CompletableFuture<Boolean> fragmentFuture = fragment.claim();
+                if (fragmentFuture != null) {
+                    fragments.add(fragment);
+                    fragmentFutures.add(fragmentFuture);
+                    continue;
+                }
+                // Already requested; send what we have so far
+                if (!fragments.isEmpty()) {
+                    sendCoalesced(run, fragments, fragmentFutures, sent);
+                    fragments = new ArrayList<>();
+                    fragmentFutures = new ArrayList<>();
+                }
+            }
+            if (!fragments.isEmpty()) {
+                sendCoalesced(run, fragments, fragmentFutures, sent);
+            }
+        } catch (final RuntimeException e) {
+            // Prefetching is best-effort, but readers may be waiting on fragments we have claimed
+            for (final CompletableFuture<Boolean> fragmentFuture : fragmentFutures) {
+                fragmentFuture.completeExceptionally(e);
+            }
+            log.warn().append("Failed to prefetch ").append(run.uri.toString()).append(": ").append(e).endl();
+        }
+        if (sent.isEmpty()) {
+            return null;
+        }
+        return sent.size() == 1 ? sent.get(0) : CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new));
+    }
+
+    private void sendCoalesced(
+            @NotNull final Run run,
+            @NotNull final List<S3Request.Acquired> fragments,
+            @NotNull final List<CompletableFuture<Boolean>> fragmentFutures,
+            @NotNull final List<CompletableFuture<Boolean>> sent) {
+        final long numBytes = fragments.get(fragments.size() - 1).to() - fragments.get(0).from() + 1;
+        sent.add(S3CoalescedRequest.send(client, run.uri, fragments, fragmentFutures));
+        readStats.recordPrefetchRequest(numBytes);
+        run.remoteReadCounters.record(numBytes);
+    }
+}
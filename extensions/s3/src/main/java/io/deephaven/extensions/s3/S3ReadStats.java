@@ -0,0 +1,78 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import io.deephaven.base.log.LogOutput;
+import io.deephaven.base.log.LogOutputAppendable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the GET requests sent by a {@link S3SeekableChannelProvider}, split between requests sent on demand
+ * for a single fragment and coalesced requests sent to prefetch announced byte ranges, along with the fragments read
+ * from the {@link S3DiskCache} instead. This class can be used concurrently.
+ * <p>
+ * These totals span the lifetime of the provider. Requests are also recorded against the
+ * {@link io.deephaven.util.profiling.RemoteReadCounters RemoteReadCounters} of the thread that caused them, which
+ * attributes them to queries and operations in the performance logs.
+ */
+final class S3ReadStats implements LogOutputAppendable {
+
+    private final LongAdder demandRequests = new LongAdder();
+    private final LongAdder demandBytes = new LongAdder();
+    private final LongAdder prefetchRequests = new LongAdder();
+    private final LongAdder prefetchBytes = new LongAdder();
+    private final LongAdder diskCacheHits = new LongAdder();
+    private final LongAdder diskCacheBytes = new LongAdder();
+
+    void recordDemandRequest(final long numBytes) {
+        demandRequests.increment();
+        demandBytes.add(numBytes);
+    }
+
+    void recordPrefetchRequest(final long numBytes) {
+        prefetchRequests.increment();
+        prefetchBytes.add(numBytes);
+    }
+
+    void recordDiskCacheHit(final long numBytes) {
+        diskCacheHits.increment();
+        diskCacheBytes.add(numBytes);
+    }
+
+    long demandRequests() {
+        return demandRequests.sum();
+    }
+
+    long demandBytes() {
+        return demandBytes.sum();
+    }
+
+    long prefetchRequests() {
+        return prefetchRequests.sum();
+    }
+
+    long prefetchBytes() {
+        return prefetchBytes.sum();
+    }
+
+    long diskCacheHits() {
+        return diskCacheHits.sum();
+    }
+
+    long diskCacheBytes() {
+        return diskCacheBytes.sum();
+    }
+
+    @Override
+    public LogOutput append(final LogOutput logOutput) {
+        return logOutput
+                .append("demandRequests=").append(demandRequests())
+                .append(", demandBytes=").append(demandBytes())
+                .append(", prefetchRequests=").append(prefetchRequests())
+                .append(", prefetchBytes=").append(prefetchBytes())
+                .append(", diskCacheHits=").append(diskCacheHits())
+                .append(", diskCacheBytes=").append(diskCacheBytes());
+    }
+}
@@ -7,6 +7,7 @@ import io.deephaven.base.reference.CleanupReference;
 import io.deephaven.base.verify.Require;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
+import io.deephaven.util.profiling.RemoteReadCounters;
 import io.deephaven.util.reference.CleanupReferenceProcessor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +19,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Uri;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
 import java.lang.ref.SoftReference;
@@ -77,6 +79,8 @@ final class S3Request extends SoftReference<ByteBuffer>
 
     private static final Logger log = LoggerFactory.getLogger(S3Request.class);
 
+    private static final int HTTP_PRECONDITION_FAILED = 412;
+
     private final S3Uri s3Uri;
     private final ID id;
     private final S3Instructions instructions;
@@ -89,7 +93,17 @@ final class S3Request extends SoftReference<ByteBuffer>
     private volatile CompletableFuture<Boolean> producerFuture;
     private int fillCount;
     private long fillBytes;
+    private final S3SeekableChannelProvider provider;
     private final S3RequestCache sharedCache;
+    private final S3ReadStats readStats;
+    @Nullable
+    private final S3DiskCache diskCache;
+    /**
+     * The ETag of the object version this fragment belongs to, sent as {@code If-Match} so that the fragment is never
+     * filled from a different version; {@code null} if unknown or not needed.
+     */
+    @Nullable
+    private final String eTag;
 
     /**
      * Create a new request for the given fragment index using the provided context object.
@@ -118,7 +132,12 @@ final class S3Request extends SoftReference<ByteBuffer>
         this.client = context.client;
         this.from = from;
         this.to = to;
+        provider = context.provider;
         sharedCache = context.sharedCache;
+        readStats = context.readStats;
+        // Fragments can only be cached on disk if we know which version of the object they belong to
+        eTag = context.diskCache == null ? null : context.eTag();
+        diskCache = eTag == null ? null : context.diskCache;
         createdAt = Instant.now();
         id = new ID(s3Uri, fragmentIndex);
         if (log.isDebugEnabled()) {
@@ -154,7 +173,10 @@ final class S3Request extends SoftReference<ByteBuffer>
      * {@link Acquired#send()} method.
      */
     private void sendImpl() {
-        if (consumerFuture == null) {
+        if (consumerFuture != null) {
+            return;
+        }
+        if (diskCache == null) {
             synchronized (this) {
                 if (consumerFuture == null) {
                     if (log.isDebugEnabled()) {
@@ -163,8 +185,121 @@ final class S3Request extends SoftReference<ByteBuffer>
                     final CompletableFuture<Boolean> ret = client.getObject(getObjectRequest(), this);
                     ret.whenComplete(this);
                     consumerFuture = ret;
+                    readStats.recordDemandRequest(requestLength());
+                    RemoteReadCounters.forCurrentThread().record(requestLength());
                 }
             }
+            return;
+        }
+        // Take ownership of the request before reading the disk cache, so that the disk is read outside the monitor
+        final CompletableFuture<Boolean> ret;
+        synchronized (this) {
+            if (consumerFuture != null) {
+                return;
+            }
+            ret = new CompletableFuture<>();
+            ret.whenComplete(this);
+            consumerFuture = ret;
+        }
+        if (readFromDiskCache(ret)) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug().append("Sending: ").append(requestStr()).endl();
+        }
+        final CompletableFuture<Boolean> sent;
+        try {
+            sent = client.getObject(getObjectRequest(), this);
+        } catch (final RuntimeException e) {
+            ret.completeExceptionally(e);
+            throw e;
+        }
+        // Cancelling the request (see cleanup) cancels the GET
+        ret.whenComplete((isComplete, error) -> sent.cancel(true));
+        sent.whenComplete((isComplete, error) -> {
+            if (error != null) {
+                if (isPreconditionFailed(error)) {
+                    invalidateModifiedObject();
+                }
+                ret.completeExceptionally(error);
+            } else {
+                ret.complete(isComplete);
+            }
+        });
+        readStats.recordDemandRequest(requestLength());
+        RemoteReadCounters.forCurrentThread().record(requestLength());
+    }
+
+    /**
+     * Claim this request to be filled by a coalesced request, unless it has already been sent or claimed. Note that the
+     * request must be acquired before calling this method. Therefore, this method should only be called from inside
+     * the {@link Acquired#claim()} method.
+     */
+    @Nullable
+    private CompletableFuture<Boolean> claimImpl() {
+        if (consumerFuture != null) {
+            return null;
+        }
+        final CompletableFuture<Boolean> ret;
+        synchronized (this) {
+            if (consumerFuture != null) {
+                return null;
+            }
+            ret = new CompletableFuture<>();
+            ret.whenComplete(this);
+            consumerFuture = ret;
+        }
+        if (readFromDiskCache(ret)) {
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug().append("Claiming for prefetch: ").append(requestStr()).endl();
+        }
+        return ret;
+    }
+
+    /**
+     * Try to fill the buffer from the disk cache, completing {@code future} if successful. Must be called with the
+     * request acquired, after installing {@code future} as {@link #consumerFuture}, so that no other thread writes to
+     * the buffer concurrently.
+     *
+     * @return Whether the buffer was filled
+     */
+    private boolean readFromDiskCache(@NotNull final CompletableFuture<Boolean> future) {
+        if (diskCache == null) {
+            return false;
+        }
+        final ByteBuffer buffer = get();
+        if (buffer == null
+                || !diskCache.read(s3Uri, eTag, instructions.fragmentSize(), fragmentIndex, buffer)) {
+            return false;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug().append("Read from disk cache: ").append(requestStr()).endl();
+        }
+        readStats.recordDiskCacheHit(requestLength());
+        future.complete(Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Called when a request to fill this fragment failed because the object was modified since we learned its ETag.
+     * Forget this fragment and the object's cached size and ETag, so that the next read fetches the new version. Called
+     * before failing the request, so that readers that observe the failure also observe the invalidation.
+     */
+    void invalidateModifiedObject() {
+        log.info().append("Object modified, invalidating cached metadata: ").append(requestStr()).endl();
+        sharedCache.remove(this);
+        provider.invalidateCachedObjectInfo(s3Uri.uri());
+    }
+
+    /**
+     * Store the filled buffer in the disk cache, if configured. Called before completing the request, so that the
+     * write is queued before any reader can observe the fragment.
+     */
+    private void writeToDiskCache(@NotNull final ByteBuffer buffer) {
+        if (diskCache != null) {
+            diskCache.write(s3Uri, eTag, instructions.fragmentSize(), fragmentIndex, buffer);
         }
     }
 
@@ -197,6 +332,56 @@ final class S3Request extends SoftReference<ByteBuffer>
             return S3Request.this;
         }
 
+        /**
+         * Claim this request to be filled by a coalesced request via {@link #write}, instead of sending a request for
+         * this fragment alone.
+         *
+         * @return The future the claimer must complete with {@code true} once the buffer has been filled, or
+         *         exceptionally if it cannot be filled; {@code null} if the request has already been sent or claimed
+         */
+        @Nullable
+        CompletableFuture<Boolean> claim() {
+            return claimImpl();
+        }
+
+        /**
+         * The ETag that requests filling this request's buffer must send as {@code If-Match}, or {@code null} if none.
+         */
+        @Nullable
+        String eTag() {
+            return eTag;
+        }
+
+        /**
+         * The first byte of the object covered by this request.
+         */
+        long from() {
+            return from;
+        }
+
+        /**
+         * The last byte of the object covered by this request, inclusive.
+         */
+        long to() {
+            return to;
+        }
+
+        /**
+         * Write the bytes remaining in {@code src} to this request's buffer, starting at the given local offset. Only
+         * valid for requests that were {@link #claim() claimed}, before the claimer completes the future.
+         */
+        void write(final int localOffset, @NotNull final ByteBuffer src) {
+            acquiredBuffer.duplicate().position(localOffset).put(src);
+        }
+
+        /**
+         * Store this request's buffer in the disk cache, if configured. Only valid for requests that were
+         * {@link #claim() claimed}, after the buffer has been filled and before the claimer completes the future.
+         */
+        void writeToDiskCache() {
+            S3Request.this.writeToDiskCache(acquiredBuffer);
+        }
+
         /**
          * Fill the provided buffer with data from this request, starting at the given local position. Returns the
          * number of bytes filled.
@@ -312,9 +497,23 @@ final class S3Request extends SoftReference<ByteBuffer>
                 .bucket(s3Uri.bucket().orElseThrow())
                 .key(s3Uri.key().orElseThrow())
                 .range("bytes=" + from + "-" + to)
+                .ifMatch(eTag)
                 .build();
     }
 
+    /**
+     * @return Whether {@code throwable}, or any of its causes, is a response to an {@code If-Match} condition that did
+     *         not hold, i.e. the object has been modified
+     */
+    static boolean isPreconditionFailed(@NotNull final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof S3Exception && ((S3Exception) cause).statusCode() == HTTP_PRECONDITION_FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     String requestStr() {
         return String.format("ix=%d [%d, %d]/%d %s/%s", fragmentIndex, from, to, requestLength(),
                 s3Uri.bucket().orElseThrow(), s3Uri.key().orElseThrow());
@@ -384,7 +583,8 @@ final class S3Request extends SoftReference<ByteBuffer>
 
         @Override
         public void onComplete() {
-            if (S3Request.this.get() == null) {
+            final ByteBuffer resultBuffer = S3Request.this.get();
+            if (resultBuffer == null) {
                 localProducer.complete(false);
                 return;
             }
@@ -394,6 +594,7 @@ final class S3Request extends SoftReference<ByteBuffer>
                         requestStr())));
                 return;
             }
+            writeToDiskCache(resultBuffer);
             localProducer.complete(true);
         }
     }
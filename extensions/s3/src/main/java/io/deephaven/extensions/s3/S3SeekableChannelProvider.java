@@ -15,6 +15,7 @@ import io.deephaven.util.channel.CompletableOutputStream;
 import io.deephaven.util.channel.SeekableChannelContext;
 import io.deephaven.util.channel.SeekableChannelsProvider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Uri;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
@@ -66,6 +67,20 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
      */
     private final S3RequestCache sharedCache;
 
+    private final S3ReadStats readStats;
+
+    /**
+     * Plans and sends coalesced requests for the byte ranges passed to {@link #prefetch(URI, long[], long[])}, or
+     * {@code null} if prefetching is disabled.
+     */
+    @Nullable
+    private final S3Prefetcher prefetcher;
+
+    /**
+     * The persistent cache below {@link #sharedCache}, or {@code null} if not configured.
+     */
+    private final S3DiskCache diskCache;
+
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<S3SeekableChannelProvider, SoftReference> FILE_SIZE_CACHE_REF_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(S3SeekableChannelProvider.class, SoftReference.class,
@@ -74,9 +89,17 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
     private volatile SoftReference<Map<URI, FileSizeInfo>> fileSizeCacheRef;
 
     S3SeekableChannelProvider(@NotNull final S3Instructions s3Instructions) {
+        // Acquire the disk cache first, since it may reject the instructions
+        this.diskCache = s3Instructions.diskCacheDirectory()
+                .map(directory -> S3DiskCache.forDirectory(directory, s3Instructions.diskCacheSize()))
+                .orElse(null);
         this.s3AsyncClient = S3AsyncClientFactory.getAsyncClient(s3Instructions);
         this.s3Instructions = s3Instructions;
         this.sharedCache = new S3RequestCache(s3Instructions.fragmentSize());
+        this.readStats = new S3ReadStats();
+        this.prefetcher = s3Instructions.maxConcurrentPrefetchRequests() > 0
+                ? new S3Prefetcher(this, s3AsyncClient, s3Instructions, readStats)
+                : null;
         this.fileSizeCacheRef = new SoftReference<>(new KeyedObjectHashMap<>(FileSizeInfo.URI_MATCH_KEY));
     }
 
@@ -116,12 +139,26 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
 
     @Override
     public SeekableChannelContext makeContext() {
-        return new S3ChannelContext(this, s3AsyncClient, s3Instructions, sharedCache);
+        return new S3ChannelContext(this, s3AsyncClient, s3Instructions, sharedCache, readStats, diskCache);
     }
 
     @Override
     public SeekableChannelContext makeSingleUseContext() {
-        return new S3ChannelContext(this, s3AsyncClient, s3Instructions.singleUse(), sharedCache);
+        return new S3ChannelContext(this, s3AsyncClient, s3Instructions.singleUse(), sharedCache, readStats,
+                diskCache);
+    }
+
+    @Override
+    public void prefetch(@NotNull final URI uri, @NotNull final long[] offsets, @NotNull final long[] lengths) {
+        if (prefetcher == null) {
+            return;
+        }
+        final long size = getCachedSize(uri);
+        if (size == UNKNOWN_SIZE) {
+            // Don't block on a HEAD request; the ranges will be fetched on demand instead
+            return;
+        }
+        prefetcher.prefetch(s3AsyncClient.utilities().parseUri(uri), size, offsets, lengths);
     }
 
     @Override
@@ -229,7 +266,7 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
                                         + s3Object.key() + " and bucket " + bucketName + " inside directory "
                                         + directory, e);
                             }
-                            updateFileSizeCache(uri, s3Object.size());
+                            updateFileSizeCache(uri, s3Object.size(), s3Object.eTag());
                             return uri;
                         }).iterator();
                 // The following token is null when the last batch is fetched.
@@ -282,7 +319,7 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
             throw handleS3Exception(e, String.format("fetching HEAD for file %s", s3Uri), s3Instructions);
         }
         final long fileSize = headObjectResponse.contentLength();
-        updateFileSizeCache(s3Uri.uri(), fileSize);
+        updateFileSizeCache(s3Uri.uri(), fileSize, headObjectResponse.eTag());
         return fileSize;
     }
 
@@ -301,20 +338,49 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
     }
 
     /**
-     * Cache the file size for the given URI.
+     * Get the cached ETag for the given URI, or {@code null} if it is not cached.
+     */
+    @Nullable
+    String getCachedETag(final URI uri) {
+        final Map<URI, FileSizeInfo> fileSizeCache = fileSizeCacheRef.get();
+        if (fileSizeCache != null) {
+            final FileSizeInfo sizeInfo = fileSizeCache.get(uri);
+            if (sizeInfo != null) {
+                return sizeInfo.eTag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forget the cached file size and ETag for the given URI, e.g. because the object has been modified since they were
+     * fetched.
+     */
+    void invalidateCachedObjectInfo(@NotNull final URI uri) {
+        final Map<URI, FileSizeInfo> fileSizeCache = fileSizeCacheRef.get();
+        if (fileSizeCache != null) {
+            fileSizeCache.remove(uri);
+        }
+    }
+
+    /**
+     * Cache the file size and ETag for the given URI.
      */
-    private void updateFileSizeCache(@NotNull final URI uri, final long size) {
+    private void updateFileSizeCache(@NotNull final URI uri, final long size, @Nullable final String eTag) {
         if (size < 0) {
             throw new IllegalArgumentException("Invalid file size: " + size + " for URI " + uri);
         }
         final Map<URI, FileSizeInfo> fileSizeCache = getFileSizeCache();
         fileSizeCache.compute(uri, (key, existingInfo) -> {
             if (existingInfo == null) {
-                return new FileSizeInfo(uri, size);
+                return new FileSizeInfo(uri, size, eTag);
             } else if (existingInfo.size != size) {
                 throw new IllegalStateException("Existing size " + existingInfo.size + " does not match "
                         + " the new size " + size + " for key " + key);
+            } else if (existingInfo.eTag == null && eTag != null) {
+                return new FileSizeInfo(uri, size, eTag);
             }
+            // Keep the first ETag we saw, which matches the fragments already cached in memory
             return existingInfo;
         });
     }
@@ -322,10 +388,13 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
     private static final class FileSizeInfo {
         private final URI uri;
         private final long size;
+        @Nullable
+        private final String eTag;
 
-        FileSizeInfo(@NotNull final URI uri, final long size) {
+        FileSizeInfo(@NotNull final URI uri, final long size, @Nullable final String eTag) {
             this.uri = Require.neqNull(uri, "uri");
             this.size = size;
+            this.eTag = eTag;
         }
 
         private static final KeyedObjectKey<URI, FileSizeInfo> URI_MATCH_KEY = new KeyedObjectKey.Basic<>() {
@@ -336,9 +405,22 @@ final class S3SeekableChannelProvider implements SeekableChannelsProvider {
         };
     }
 
+    /**
+     * @return The counters for requests sent by this provider
+     */
+    S3ReadStats readStats() {
+        return readStats;
+    }
+
     @Override
     public void close() {
+        if (log.isDebugEnabled()) {
+            log.debug().append("Closing S3 channel provider: ").append(readStats).endl();
+        }
         s3AsyncClient.close();
         sharedCache.clear();
+        if (diskCache != null) {
+            diskCache.release();
+        }
     }
 }
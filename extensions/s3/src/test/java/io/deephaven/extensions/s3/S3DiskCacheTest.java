@@ -0,0 +1,155 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.S3Uri;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class S3DiskCacheTest {
+
+    private static final int FRAGMENT_SIZE = 1024;
+
+    private static final S3Uri URI_1 = s3Uri("s3://bucket/one.parquet");
+    private static final S3Uri URI_2 = s3Uri("s3://bucket/two.parquet");
+
+    private static S3Uri s3Uri(final String uri) {
+        final URI parsed = URI.create(uri);
+        return S3Uri.builder().uri(parsed).bucket(parsed.getHost()).key(parsed.getPath().substring(1)).build();
+    }
+
+    private static ByteBuffer fragment(final int seed) {
+        final ByteBuffer buffer = ByteBuffer.allocate(FRAGMENT_SIZE);
+        for (int i = 0; i < FRAGMENT_SIZE; ++i) {
+            buffer.put(i, (byte) (seed + i));
+        }
+        return buffer;
+    }
+
+    @Test
+    void readWrite(@TempDir final Path directory) throws InterruptedException {
+        final S3DiskCache cache = S3DiskCache.forDirectory(directory, 1 << 20);
+        try {
+            readWrite(cache);
+        } finally {
+            cache.release();
+        }
+    }
+
+    private static void readWrite(final S3DiskCache cache) throws InterruptedException {
+        final ByteBuffer dest = ByteBuffer.allocate(FRAGMENT_SIZE);
+        assertThat(cache.read(URI_1, "etag-1", FRAGMENT_SIZE, 0, dest)).isFalse();
+
+        cache.write(URI_1, "etag-1", FRAGMENT_SIZE, 0, fragment(1));
+        cache.awaitPendingWrites();
+        assertThat(cache.read(URI_1, "etag-1", FRAGMENT_SIZE, 0, dest)).isTrue();
+        assertThat(dest.position()).isZero();
+        assertThat(dest).isEqualTo(fragment(1));
+
+        // A different object version, object, fragment size, or fragment index must not match
+        assertThat(cache.read(URI_1, "etag-2", FRAGMENT_SIZE, 0, dest)).isFalse();
+        assertThat(cache.read(URI_2, "etag-1", FRAGMENT_SIZE, 0, dest)).isFalse();
+        assertThat(cache.read(URI_1, "etag-1", 2 * FRAGMENT_SIZE, 0, ByteBuffer.allocate(2 * FRAGMENT_SIZE)))
+                .isFalse();
+        assertThat(cache.read(URI_1, "etag-1", FRAGMENT_SIZE, 1, dest)).isFalse();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed(@TempDir final Path directory) throws InterruptedException, IOException {
+        final S3DiskCache cache = S3DiskCache.forDirectory(directory, 4 * FRAGMENT_SIZE);
+        try {
+            evictLeastRecentlyUsed(cache, directory);
+        } finally {
+            cache.release();
+        }
+    }
+
+    private static void evictLeastRecentlyUsed(final S3DiskCache cache, final Path directory)
+            throws InterruptedException, IOException {
+        final ByteBuffer dest = ByteBuffer.allocate(FRAGMENT_SIZE);
+        for (int fi = 0; fi < 4; ++fi) {
+            cache.write(URI_1, "etag", FRAGMENT_SIZE, fi, fragment(fi));
+        }
+        cache.awaitPendingWrites();
+        // Age the fragments so that fragment 0 is the least recently used, and fragment 3 was used a moment ago
+        final Instant now = Instant.now();
+        for (final Path path : fragmentFiles(directory)) {
+            final String name = path.getFileName().toString();
+            final int fi = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
+            final Instant lastAccess = fi == 3 ? now.minusSeconds(10) : now.minus(Duration.ofMinutes(10 - fi));
+            Files.setLastModifiedTime(path, FileTime.from(lastAccess));
+        }
+        final Path fragment3 = fragmentFiles(directory).stream()
+                .filter(path -> path.getFileName().toString().endsWith("-3"))
+                .findFirst()
+                .orElseThrow();
+        final FileTime fragment3LastAccess = Files.getLastModifiedTime(fragment3);
+        // Reading fragment 0 makes it the most recently used, but reading fragment 3 again so soon does not touch it
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 0, dest)).isTrue();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 3, dest)).isTrue();
+        assertThat(Files.getLastModifiedTime(fragment3)).isEqualTo(fragment3LastAccess);
+
+        // Exceeding the budget evicts down to 90% of it, i.e. the two least recently used fragments
+        cache.write(URI_1, "etag", FRAGMENT_SIZE, 4, fragment(4));
+        cache.awaitPendingWrites();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 0, dest)).isTrue();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 1, dest)).isFalse();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 2, dest)).isFalse();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 3, dest)).isTrue();
+        assertThat(cache.read(URI_1, "etag", FRAGMENT_SIZE, 4, dest)).isTrue();
+        assertThat(fragmentFiles(directory)).hasSize(3);
+    }
+
+    @Test
+    void sharedDirectory(@TempDir final Path directory) throws InterruptedException {
+        final S3DiskCache cache = S3DiskCache.forDirectory(directory, 1 << 20);
+        final S3DiskCache shared;
+        try {
+            shared = S3DiskCache.forDirectory(directory, 1 << 20);
+            assertThat(shared).isSameAs(cache);
+            try {
+                S3DiskCache.forDirectory(directory, 1 << 21);
+                fail("Expected a different budget for the same directory to be rejected");
+            } catch (IllegalArgumentException e) {
+                assertThat(e).hasMessageContaining("diskCacheSize");
+            }
+        } finally {
+            cache.release();
+        }
+        // Still referenced by the second acquisition
+        shared.write(URI_1, "etag", FRAGMENT_SIZE, 0, fragment(0));
+        shared.awaitPendingWrites();
+        shared.release();
+
+        // Once released by every user, the directory can be used with a new budget
+        final S3DiskCache reopened = S3DiskCache.forDirectory(directory, 1 << 21);
+        try {
+            assertThat(reopened).isNotSameAs(cache);
+            assertThat(reopened.read(URI_1, "etag", FRAGMENT_SIZE, 0, ByteBuffer.allocate(FRAGMENT_SIZE))).isTrue();
+        } finally {
+            reopened.release();
+        }
+    }
+
+    private static List<Path> fragmentFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -25,6 +25,10 @@ public class S3InstructionsTest {
         assertThat(instructions.writePartSize()).isEqualTo(10485760);
         assertThat(instructions.numConcurrentWriteParts()).isEqualTo(64);
         assertThat(instructions.endpointOverride()).isEmpty();
+        assertThat(instructions.maxPrefetchRequestSize()).isEqualTo(8388608);
+        assertThat(instructions.maxConcurrentPrefetchRequests()).isZero();
+        assertThat(instructions.diskCacheDirectory()).isEmpty();
+        assertThat(instructions.diskCacheSize()).isEqualTo(10737418240L);
     }
 
     @Test
@@ -173,4 +177,41 @@ public class S3InstructionsTest {
             assertThat(e).hasMessageContaining("numConcurrentWriteParts");
         }
     }
+
+    @Test
+    void tooSmallMaxPrefetchRequestSize() {
+        try {
+            S3Instructions.builder()
+                    .regionName("some-region")
+                    .maxPrefetchRequestSize(1024)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageContaining("maxPrefetchRequestSize");
+        }
+    }
+
+    @Test
+    void tooSmallMaxConcurrentPrefetchRequests() {
+        try {
+            S3Instructions.builder()
+                    .regionName("some-region")
+                    .maxConcurrentPrefetchRequests(-1)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageContaining("maxConcurrentPrefetchRequests");
+        }
+    }
+
+    @Test
+    void tooSmallDiskCacheSize() {
+        try {
+            S3Instructions.builder()
+                    .regionName("some-region")
+                    .diskCacheDirectory("/tmp/s3-cache")
+                    .diskCacheSize(1024)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageContaining("diskCacheSize");
+        }
+    }
 }
@@ -0,0 +1,50 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.extensions.s3;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class S3PrefetcherTest {
+
+    private static final int FRAGMENT_SIZE = 100;
+
+    @Test
+    void empty() {
+        assertThat(S3Prefetcher.plan(new long[0], new long[0], 1000, FRAGMENT_SIZE, 10)).isEmpty();
+    }
+
+    @Test
+    void coalesceAdjacentAndOverlapping() {
+        // Fragments [2, 3], [4, 4] and [3, 5] form a single run; [8, 8] is separate
+        final long[] plan = S3Prefetcher.plan(
+                new long[] {850, 250, 400, 350},
+                new long[] {10, 100, 50, 200},
+                1000, FRAGMENT_SIZE, 10);
+        assertThat(plan).containsExactly(2, 5, 8, 8);
+    }
+
+    @Test
+    void splitLargeRuns() {
+        final long[] plan = S3Prefetcher.plan(new long[] {0}, new long[] {2500}, 10_000, FRAGMENT_SIZE, 10);
+        assertThat(plan).containsExactly(0, 9, 10, 19, 20, 24);
+    }
+
+    @Test
+    void clipToSize() {
+        final long[] plan = S3Prefetcher.plan(
+                new long[] {950, 1200, -5},
+                new long[] {500, 10, 10},
+                1000, FRAGMENT_SIZE, 10);
+        assertThat(plan).containsExactly(9, 9);
+    }
+
+    @Test
+    void mismatchedLengths() {
+        assertThatThrownBy(() -> S3Prefetcher.plan(new long[] {0}, new long[0], 1000, FRAGMENT_SIZE, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
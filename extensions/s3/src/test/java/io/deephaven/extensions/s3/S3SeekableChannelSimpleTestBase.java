@@ -8,10 +8,12 @@ import io.deephaven.util.channel.CachedChannelProvider;
 import io.deephaven.util.channel.CompletableOutputStream;
 import io.deephaven.util.channel.SeekableChannelContext;
 import io.deephaven.util.channel.SeekableChannelsProvider;
+import io.deephaven.util.profiling.RemoteReadCounters;
 import junit.framework.TestCase;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,6 +27,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 abstract class S3SeekableChannelSimpleTestBase extends S3SeekableChannelTestSetup {
 
@@ -146,4 +149,160 @@ abstract class S3SeekableChannelSimpleTestBase extends S3SeekableChannelTestSetu
             }
         }
     }
+
+    @Test
+    void prefetchThenRead() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        final int numBytes = 4 * 1024 * 1024;
+        final byte[] content = new byte[numBytes];
+        for (int i = 0; i < numBytes; ++i) {
+            content[i] = (byte) (i % 251);
+        }
+        putObject("prefetch.bin", AsyncRequestBody.fromBytes(content));
+        final URI uri = uri("prefetch.bin");
+        final S3Instructions instructions = s3Instructions(S3Instructions.builder())
+                .maxConcurrentPrefetchRequests(4)
+                .build();
+        try (
+                final SeekableChannelsProvider providerImpl =
+                        new S3SeekableChannelProviderPlugin().createProvider(uri, instructions);
+                final SeekableChannelsProvider provider = CachedChannelProvider.create(providerImpl, 32);
+                final SeekableChannelContext context = provider.makeContext();
+                final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+            // Prefetching is skipped until the size of the object is known
+            assertThat(readChannel.size()).isEqualTo(numBytes);
+            // Two adjacent ranges and an overlapping one should be coalesced into a single request
+            final RemoteReadCounters remoteReadCounters = RemoteReadCounters.forCurrentThread();
+            final long requestsBefore = remoteReadCounters.getRequests();
+            final long bytesBefore = remoteReadCounters.getBytes();
+            provider.prefetch(uri, new long[] {1_000_000, 100_000, 500_000}, new long[] {200_000, 400_000, 600_000});
+            final S3ReadStats readStats = ((S3SeekableChannelProvider) providerImpl).readStats();
+            assertThat(readStats.prefetchRequests()).isEqualTo(1);
+            // The request is attributed to the thread that announced the ranges
+            assertThat(remoteReadCounters.getRequests() - requestsBefore).isEqualTo(1);
+            assertThat(remoteReadCounters.getBytes() - bytesBefore).isEqualTo(readStats.prefetchBytes());
+
+            final ByteBuffer buffer = ByteBuffer.allocate(1_100_000);
+            readChannel.position(100_000);
+            fillBuffer(readChannel, buffer);
+            buffer.flip();
+            assertThat(buffer).isEqualTo(ByteBuffer.wrap(content, 100_000, 1_100_000));
+        }
+    }
+
+    @Test
+    void prefetchDisabledByDefault() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        putObject("noPrefetch.bin", AsyncRequestBody.fromBytes(new byte[1024 * 1024]));
+        final URI uri = uri("noPrefetch.bin");
+        try (
+                final SeekableChannelsProvider providerImpl = providerImpl(uri);
+                final SeekableChannelsProvider provider = CachedChannelProvider.create(providerImpl, 32);
+                final SeekableChannelContext context = provider.makeContext();
+                final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+            assertThat(readChannel.size()).isEqualTo(1024 * 1024);
+            provider.prefetch(uri, new long[] {0}, new long[] {1024 * 1024});
+            final S3ReadStats readStats = ((S3SeekableChannelProvider) providerImpl).readStats();
+            assertThat(readStats.prefetchRequests()).isZero();
+        }
+    }
+
+    @Test
+    void readThroughDiskCache(@TempDir final Path cacheDirectory)
+            throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        final int numBytes = 1024 * 1024;
+        final byte[] content = new byte[numBytes];
+        for (int i = 0; i < numBytes; ++i) {
+            content[i] = (byte) (i % 251);
+        }
+        putObject("diskCache.bin", AsyncRequestBody.fromBytes(content));
+        final URI uri = uri("diskCache.bin");
+        final S3Instructions instructions = s3Instructions(S3Instructions.builder())
+                .diskCacheDirectory(cacheDirectory)
+                .build();
+        // The first provider populates the disk cache, and the second (as if after a restart) reads from it
+        final RemoteReadCounters remoteReadCounters = RemoteReadCounters.forCurrentThread();
+        for (int pass = 0; pass < 2; ++pass) {
+            final long requestsBefore = remoteReadCounters.getRequests();
+            try (
+                    final SeekableChannelsProvider providerImpl =
+                            new S3SeekableChannelProviderPlugin().createProvider(uri, instructions);
+                    final SeekableChannelsProvider provider = CachedChannelProvider.create(providerImpl, 32);
+                    final SeekableChannelContext context = provider.makeContext();
+                    final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(numBytes);
+                fillBuffer(readChannel, buffer);
+                buffer.flip();
+                assertThat(buffer).isEqualTo(ByteBuffer.wrap(content));
+                final S3ReadStats readStats = ((S3SeekableChannelProvider) providerImpl).readStats();
+                if (pass == 0) {
+                    assertThat(readStats.demandRequests()).isPositive();
+                    assertThat(remoteReadCounters.getRequests() - requestsBefore)
+                            .isEqualTo(readStats.demandRequests());
+                    final S3DiskCache diskCache =
+                            S3DiskCache.forDirectory(cacheDirectory, instructions.diskCacheSize());
+                    try {
+                        diskCache.awaitPendingWrites();
+                    } finally {
+                        diskCache.release();
+                    }
+                } else {
+                    assertThat(readStats.demandRequests()).isZero();
+                    assertThat(readStats.diskCacheBytes()).isEqualTo(numBytes);
+                    assertThat(remoteReadCounters.getRequests()).isEqualTo(requestsBefore);
+                }
+            }
+        }
+    }
+
+    @Test
+    void modifiedObjectInvalidatesDiskCachedMetadata(@TempDir final Path cacheDirectory)
+            throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        final int fragmentSize = 8 * 1024;
+        final int numBytes = 4 * fragmentSize;
+        final byte[] original = new byte[numBytes];
+        final byte[] modified = new byte[numBytes];
+        for (int i = 0; i < numBytes; ++i) {
+            original[i] = (byte) (i % 251);
+            modified[i] = (byte) (i % 127);
+        }
+        putObject("modified.bin", AsyncRequestBody.fromBytes(original));
+        final URI uri = uri("modified.bin");
+        final S3Instructions instructions = s3Instructions(S3Instructions.builder())
+                .diskCacheDirectory(cacheDirectory)
+                .fragmentSize(fragmentSize)
+                .readAheadCount(0)
+                .build();
+        try (
+                final SeekableChannelsProvider providerImpl =
+                        new S3SeekableChannelProviderPlugin().createProvider(uri, instructions);
+                final SeekableChannelsProvider provider = CachedChannelProvider.create(providerImpl, 32)) {
+            // Learn the ETag of the original object, and read its first fragment
+            try (
+                    final SeekableChannelContext context = provider.makeContext();
+                    final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(fragmentSize);
+                fillBuffer(readChannel, buffer);
+                assertThat(buffer).isEqualTo(ByteBuffer.wrap(original, 0, fragmentSize));
+            }
+
+            // Reading a fragment of the modified object under the original ETag must fail rather than mix versions
+            putObject("modified.bin", AsyncRequestBody.fromBytes(modified));
+            try (
+                    final SeekableChannelContext context = provider.makeContext();
+                    final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+                readChannel.position(2 * fragmentSize);
+                final ByteBuffer buffer = ByteBuffer.allocate(fragmentSize);
+                assertThatThrownBy(() -> fillBuffer(readChannel, buffer)).isInstanceOf(IOException.class);
+            }
+
+            // The failure invalidated the cached ETag, so the next read fetches the modified object
+            try (
+                    final SeekableChannelContext context = provider.makeContext();
+                    final SeekableByteChannel readChannel = provider.getReadChannel(context, uri)) {
+                readChannel.position(2 * fragmentSize);
+                final ByteBuffer buffer = ByteBuffer.allocate(fragmentSize);
+                fillBuffer(readChannel, buffer);
+                assertThat(buffer).isEqualTo(ByteBuffer.wrap(modified, 2 * fragmentSize, fragmentSize));
+            }
+        }
+    }
 }
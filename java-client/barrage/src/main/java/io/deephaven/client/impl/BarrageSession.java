@@ -3,12 +3,21 @@
 //
 package io.deephaven.client.impl;
 
+import io.deephaven.extensions.barrage.BarrageOptionHeaders;
 import io.deephaven.extensions.barrage.BarrageSnapshotOptions;
 import io.deephaven.extensions.barrage.BarrageSubscriptionOptions;
+import io.deephaven.extensions.barrage.util.StreamReaderOptions;
 import io.deephaven.proto.DeephavenChannel;
 import io.deephaven.qst.table.TableSpec;
 import io.deephaven.util.annotations.InternalUseOnly;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
 import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.MetadataUtils;
 import org.apache.arrow.flight.FlightClient;
 import org.apache.arrow.flight.FlightGrpcUtilsExtension;
 import org.apache.arrow.memory.BufferAllocator;
@@ -83,4 +92,22 @@ public class BarrageSession extends FlightSession implements BarrageSubscription
     public DeephavenChannel channel() {
         return session.channel();
     }
+
+    /**
+     * Create a call on the authenticated channel that sends the {@link BarrageOptionHeaders} requesting
+     * {@code options}, which the barrage flatbuffer requests cannot carry.
+     *
+     * @param method the method to call
+     * @param options the options of the subscription or snapshot made by the call
+     * @return the new call
+     */
+    <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+            final MethodDescriptor<ReqT, RespT> method, final StreamReaderOptions options) {
+        final Metadata headers = new Metadata();
+        BarrageOptionHeaders.of(options).forEach(
+                (name, value) -> headers.put(Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER), value));
+        final Channel channel = ClientInterceptors.intercept(
+                channel().channel(), MetadataUtils.newAttachHeadersInterceptor(headers));
+        return channel.newCall(method, CallOptions.DEFAULT);
+    }
 }
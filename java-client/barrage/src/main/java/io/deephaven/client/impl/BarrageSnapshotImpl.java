@@ -22,7 +22,6 @@ import io.deephaven.extensions.barrage.table.BarrageTable;
 import io.deephaven.extensions.barrage.util.*;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
-import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.Context;
 import io.grpc.MethodDescriptor;
@@ -102,7 +101,7 @@ public class BarrageSnapshotImpl extends ReferenceCountedLivenessNode implements
         final ClientCall<FlightData, BarrageMessage> call;
         final Context previous = Context.ROOT.attach();
         try {
-            call = session.channel().channel().newCall(snapshotDescriptor, CallOptions.DEFAULT);
+            call = session.newCall(snapshotDescriptor, options);
         } finally {
             Context.ROOT.detach(previous);
         }
@@ -29,7 +29,6 @@ import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.util.annotations.FinalDefault;
 import io.deephaven.util.annotations.VisibleForTesting;
-import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.Context;
 import io.grpc.MethodDescriptor;
@@ -113,7 +112,7 @@ public class BarrageSubscriptionImpl extends ReferenceCountedLivenessNode implem
         final ClientCall<FlightData, BarrageMessage> call;
         final Context previous = Context.ROOT.attach();
         try {
-            call = session.channel().channel().newCall(subscribeDescriptor, CallOptions.DEFAULT);
+            call = session.newCall(subscribeDescriptor, options);
         } finally {
             Context.ROOT.detach(previous);
         }
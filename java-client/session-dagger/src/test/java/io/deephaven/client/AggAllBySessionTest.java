@@ -7,7 +7,9 @@ import io.deephaven.api.ColumnName;
 import io.deephaven.api.SortColumn;
 import io.deephaven.api.agg.spec.AggSpec;
 import io.deephaven.api.agg.spec.AggSpecAbsSum;
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecApproximatePercentile;
+import io.deephaven.api.agg.spec.AggSpecApproximateTopK;
 import io.deephaven.api.agg.spec.AggSpecAvg;
 import io.deephaven.api.agg.spec.AggSpecCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecDistinct;
@@ -120,12 +122,22 @@ public class AggAllBySessionTest extends TableSpecTestBase {
             out.add(AggSpecAbsSum.of());
         }
 
+        @Override
+        public void visit(AggSpecApproximateCountDistinct approxCountDistinct) {
+            // Not supported over gRPC
+        }
+
         @Override
         public void visit(AggSpecApproximatePercentile approxPct) {
             out.add(AggSpecApproximatePercentile.of(0.25));
             out.add(AggSpecApproximatePercentile.of(0.25, 50));
         }
 
+        @Override
+        public void visit(AggSpecApproximateTopK approxTopK) {
+            // Not supported over gRPC
+        }
+
         @Override
         public void visit(AggSpecAvg avg) {
             out.add(AggSpecAvg.of());
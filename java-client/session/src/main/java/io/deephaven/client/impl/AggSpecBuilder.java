@@ -60,6 +60,11 @@ class AggSpecBuilder implements io.deephaven.api.agg.spec.AggSpec.Visitor {
         out = spec(Builder::setAbsSum, AggSpecAbsSum.newBuilder());
     }
 
+    @Override
+    public void visit(io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approxCountDistinct) {
+        throw new UnsupportedOperationException("AggSpecApproximateCountDistinct is not supported over gRPC");
+    }
+
     @Override
     public void visit(io.deephaven.api.agg.spec.AggSpecApproximatePercentile approxPct) {
         final AggSpecApproximatePercentile.Builder builder = AggSpecApproximatePercentile.newBuilder()
@@ -68,6 +73,11 @@ class AggSpecBuilder implements io.deephaven.api.agg.spec.AggSpec.Visitor {
         out = spec(Builder::setApproximatePercentile, builder);
     }
 
+    @Override
+    public void visit(io.deephaven.api.agg.spec.AggSpecApproximateTopK approxTopK) {
+        throw new UnsupportedOperationException("AggSpecApproximateTopK is not supported over gRPC");
+    }
+
     @Override
     public void visit(io.deephaven.api.agg.spec.AggSpecAvg avg) {
         out = spec(Builder::setAvg, AggSpecAvg.newBuilder());
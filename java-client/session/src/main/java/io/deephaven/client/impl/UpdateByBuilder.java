@@ -317,6 +317,11 @@ class UpdateByBuilder {
                     .setRollingFormula(builder.build())
                     .build();
         }
+
+        @Override
+        public UpdateByColumn.UpdateBySpec visit(RollingApproximateCountDistinctSpec rs) {
+            throw new UnsupportedOperationException("RollingApproximateCountDistinctSpec is not supported over gRPC");
+        }
     }
 
     static UpdateByColumn.UpdateBySpec adapt(UpdateBySpec spec) {
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class UpdateBySpecBuilderTest {
 
@@ -321,6 +322,11 @@ public class UpdateBySpecBuilderTest {
                                     .build())
                     .build();
         }
+
+        @Override
+        public UpdateByColumn.UpdateBySpec visit(RollingApproximateCountDistinctSpec spec) {
+            throw new UnsupportedOperationException();
+        }
     }
 
     @Test
@@ -658,6 +664,12 @@ public class UpdateBySpecBuilderTest {
                         .build());
     }
 
+    @Test
+    void rollingApproximateCountDistinct() {
+        assertThatThrownBy(() -> UpdateByBuilder.adapt(RollingApproximateCountDistinctSpec.ofTicks(42L)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
     private static void check(UpdateBySpec spec) {
         check(spec, spec.walk(ExpectedSpecVisitor.INSTANCE));
     }
@@ -12,6 +12,8 @@ from deephaven.jcompat import to_sequence
 
 _JAggregation = jpy.get_type("io.deephaven.api.agg.Aggregation")
 _JAggSpec = jpy.get_type("io.deephaven.api.agg.spec.AggSpec")
+_JAggSpecApproximateTopK = jpy.get_type("io.deephaven.api.agg.spec.AggSpecApproximateTopK")
+_JColumnName = jpy.get_type("io.deephaven.api.ColumnName")
 _JPair = jpy.get_type("io.deephaven.api.Pair")
 _JUnionObject = jpy.get_type("io.deephaven.api.object.UnionObject")
 
@@ -144,6 +146,54 @@ def count_distinct(cols: Union[str, List[str]] = None, count_nulls: bool = False
     return Aggregation(j_agg_spec=_JAggSpec.countDistinct(count_nulls), cols=cols)
 
 
+def approx_count_distinct(cols: Union[str, List[str]] = None, precision: int = None) -> Aggregation:
+    """Creates an Approximate Count Distinct aggregation which estimates the count of distinct non-null values within
+    an aggregation group for each of the given columns, using a HyperLogLog sketch of bounded size. It may only be used
+    on static, add-only, or blink tables.
+
+    Args:
+        cols (Union[str, List[str]]): the column(s) to aggregate on, can be renaming expressions, i.e. "new_col = col";
+            default is None, only valid when used in Table agg_all_by operation
+        precision (int): the base-2 logarithm of the number of sketch registers per group, in the range [4, 18]; higher
+            values are more accurate but use more memory, default is None, meaning the server chooses the precision
+
+    Returns:
+        an aggregation
+    """
+    if precision is None:
+        return Aggregation(j_agg_spec=_JAggSpec.approximateCountDistinct(), cols=cols)
+    return Aggregation(j_agg_spec=_JAggSpec.approximateCountDistinct(precision), cols=cols)
+
+
+def approx_top_k(k: int, cols: Union[str, List[str]] = None, wcol: str = None, capacity: int = None,
+                 counts: bool = False) -> Aggregation:
+    """Creates an Approximate Top-K aggregation which outputs, for each of the given columns, an array of the
+    approximate k most frequent non-null values within an aggregation group, in descending order of frequency, using a
+    Space-Saving sketch of bounded size. The result may be ungrouped. It may only be used on static, add-only, or blink
+    tables.
+
+    Args:
+        k (int): the maximum number of values to output for each group
+        cols (Union[str, List[str]]): the column(s) to aggregate on, can be renaming expressions, i.e. "new_col = col";
+            default is None, only valid when used in Table agg_all_by operation
+        wcol (str): the name of the weight column, when specified the frequency of a value is the sum of its weights
+            rather than its number of occurrences, default is None
+        capacity (int): the maximum number of distinct values tracked per group, must be at least k; higher values are
+            more accurate but use more memory, default is None, meaning the server chooses the capacity
+        counts (bool): whether to output the estimated frequencies of the top values, in the same order, rather than
+            the values themselves, default is False
+
+    Returns:
+        an aggregation
+    """
+    j_builder = _JAggSpecApproximateTopK.builder().k(k).counts(counts)
+    if wcol is not None:
+        j_builder.weight(_JColumnName.of(wcol))
+    if capacity is not None:
+        j_builder.capacity(capacity)
+    return Aggregation(j_agg_spec=j_builder.build(), cols=cols)
+
+
 def first(cols: Union[str, List[str]] = None) -> Aggregation:
     """Creates a First aggregation.
 
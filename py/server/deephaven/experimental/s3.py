@@ -47,7 +47,11 @@ class S3Instructions(JObjectWrapper):
                  anonymous_access: bool = False,
                  endpoint_override: Optional[str] = None,
                  write_part_size: Optional[int] = None,
-                 num_concurrent_write_parts: Optional[int] = None):
+                 num_concurrent_write_parts: Optional[int] = None,
+                 max_prefetch_request_size: Optional[int] = None,
+                 max_concurrent_prefetch_requests: Optional[int] = None,
+                 disk_cache_directory: Optional[str] = None,
+                 disk_cache_size: Optional[int] = None):
 
         """
         Initializes the instructions.
@@ -86,6 +90,17 @@ class S3Instructions(JObjectWrapper):
             num_concurrent_write_parts (int): the maximum number of parts that can be uploaded concurrently when writing
                 to S3 without blocking, defaults to 64. Setting a higher value may increase throughput, but may also
                 increase memory usage.
+            max_prefetch_request_size (int): the maximum size (in bytes) of a single request sent to prefetch the byte
+                ranges a reader has announced it will read, such as the column chunks of a parquet file. Adjacent ranges
+                are coalesced into requests of up to this size. Defaults to 8 MiB, and must be at least 8 KiB.
+            max_concurrent_prefetch_requests (int): the maximum number of prefetch requests in flight at once, defaults
+                to 0, which disables prefetching. Prefetching fetches whole column chunks as soon as any part of them
+                is read, which speeds up scans but wastes bandwidth on point reads.
+            disk_cache_directory (str): a local directory in which to cache fragments read from S3, so that they
+                survive process restarts and can be shared between processes on the same host. Cached fragments are
+                keyed by the object's URI and ETag. If not provided, fragments are only cached in memory.
+            disk_cache_size (int): the maximum number of bytes to store in the disk cache directory, defaults to
+                10 GiB. The least recently used fragments are evicted once this is exceeded.
 
         Raises:
             DHError: If unable to build the instructions object.
@@ -136,6 +151,18 @@ class S3Instructions(JObjectWrapper):
             if num_concurrent_write_parts is not None:
                 builder.numConcurrentWriteParts(num_concurrent_write_parts)
 
+            if max_prefetch_request_size is not None:
+                builder.maxPrefetchRequestSize(max_prefetch_request_size)
+
+            if max_concurrent_prefetch_requests is not None:
+                builder.maxConcurrentPrefetchRequests(max_concurrent_prefetch_requests)
+
+            if disk_cache_directory is not None:
+                builder.diskCacheDirectory(disk_cache_directory)
+
+            if disk_cache_size is not None:
+                builder.diskCacheSize(disk_cache_size)
+
             self._j_object = builder.build()
         except Exception as e:
             raise DHError(e, "Failed to build S3 instructions") from e
@@ -32,7 +32,8 @@ public class ReplicateSegmentedSortedMultiset {
         fixupObjectSsm(objectSsm, ReplicateSegmentedSortedMultiset::fixupNulls,
                 ReplicateSegmentedSortedMultiset::fixupTHashes,
                 ReplicateSegmentedSortedMultiset::fixupSsmConstructor,
-                ReplicateSegmentedSortedMultiset::fixupObjectCompare);
+                ReplicateSegmentedSortedMultiset::fixupObjectCompare,
+                ReplicateSegmentedSortedMultiset::fixupValueBytes);
 
         charToAllButBoolean(TASK,
                 "engine/table/src/main/java/io/deephaven/engine/table/impl/by/ssmminmax/CharSetResult.java");
@@ -207,6 +208,12 @@ public class ReplicateSegmentedSortedMultiset {
                         "    }"));
     }
 
+    private static List<String> fixupValueBytes(List<String> lines) {
+        return replaceRegion(lines, "ValueBytes", Arrays.asList(
+                "    // the values are references to objects that are not themselves accounted for",
+                "    private static final int VALUE_BYTES = Long.BYTES;"));
+    }
+
     private static List<String> fixupSourceConstructor(List<String> lines) {
         return replaceRegion(lines, "Constructor",
                 Collections.singletonList("    public ObjectSsmBackedSource(Class type) {\n" +
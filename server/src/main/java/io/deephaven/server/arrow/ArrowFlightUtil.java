@@ -23,6 +23,7 @@ import io.deephaven.engine.table.impl.perf.QueryPerformanceNugget;
 import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
 import io.deephaven.engine.table.impl.util.BarrageMessage;
 import io.deephaven.engine.updategraph.UpdateGraph;
+import io.deephaven.extensions.barrage.BarrageOptionHeaders;
 import io.deephaven.extensions.barrage.BarragePerformanceLog;
 import io.deephaven.extensions.barrage.BarrageSnapshotOptions;
 import io.deephaven.extensions.barrage.BarrageStreamGenerator;
@@ -44,6 +45,7 @@ import io.deephaven.server.session.SessionService;
 import io.deephaven.server.session.SessionState;
 import io.deephaven.server.session.TicketRouter;
 import io.deephaven.util.SafeCloseable;
+import io.grpc.stub.CallStreamObserver;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.apache.arrow.flatbuf.MessageHeader;
@@ -55,19 +57,38 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static io.deephaven.extensions.barrage.util.BarrageUtil.DEFAULT_SNAPSHOT_DESER_OPTIONS;
 
 public class ArrowFlightUtil {
     private static final Logger log = LoggerFactory.getLogger(ArrowFlightUtil.class);
 
-    private static class MessageViewAdapter implements StreamObserver<BarrageStreamGenerator.MessageView> {
+    private static class MessageViewAdapter implements BarrageMessageProducer.FlowControlledListener {
         private final StreamObserver<InputStream> delegate;
+        private volatile Runnable onReady;
 
         private MessageViewAdapter(StreamObserver<InputStream> delegate) {
             this.delegate = delegate;
         }
 
+        @Override
+        public boolean isReady() {
+            return !(delegate instanceof CallStreamObserver) || ((CallStreamObserver<InputStream>) delegate).isReady();
+        }
+
+        @Override
+        public void setOnReadyHandler(final Runnable onReady) {
+            this.onReady = onReady;
+        }
+
+        private void onReady() {
+            final Runnable localOnReady = onReady;
+            if (localOnReady != null) {
+                localOnReady.run();
+            }
+        }
+
         public void onNext(BarrageStreamGenerator.MessageView value) {
             synchronized (delegate) {
                 try {
@@ -369,6 +390,7 @@ public class ArrowFlightUtil {
         private final HierarchicalTableViewSubscription.Factory htvsFactory;
         private final BarrageMessageProducer.Adapter<BarrageSubscriptionRequest, BarrageSubscriptionOptions> subscriptionOptAdapter;
         private final BarrageMessageProducer.Adapter<BarrageSnapshotRequest, BarrageSnapshotOptions> snapshotOptAdapter;
+        private final Function<String, String> optionHeaders;
         private final SessionService.ErrorTransformer errorTransformer;
 
         /**
@@ -399,16 +421,31 @@ public class ArrowFlightUtil {
             this.htvsFactory = htvsFactory;
             this.subscriptionOptAdapter = subscriptionOptAdapter;
             this.snapshotOptAdapter = snapshotOptAdapter;
+            // the handlers adapt requests on other threads, so capture the headers of this call while it starts
+            this.optionHeaders = BarrageOptionHeadersInterceptor.currentHeaders();
             this.session = session;
-            this.listener = new MessageViewAdapter(responseObserver);
+            final MessageViewAdapter adapter = new MessageViewAdapter(responseObserver);
+            this.listener = adapter;
             this.errorTransformer = errorTransformer;
 
             this.session.addOnCloseCallback(this);
             if (responseObserver instanceof ServerCallStreamObserver) {
-                ((ServerCallStreamObserver<InputStream>) responseObserver).setOnCancelHandler(this::onCancel);
+                final ServerCallStreamObserver<InputStream> serverCallObserver =
+                        (ServerCallStreamObserver<InputStream>) responseObserver;
+                serverCallObserver.setOnCancelHandler(this::onCancel);
+                // the on-ready handler may only be set while the call is being started
+                serverCallObserver.setOnReadyHandler(adapter::onReady);
             }
         }
 
+        private BarrageSubscriptionOptions subscriptionOptions(final BarrageSubscriptionRequest subscriptionRequest) {
+            return BarrageOptionHeaders.apply(subscriptionOptAdapter.adapt(subscriptionRequest), optionHeaders);
+        }
+
+        private BarrageSnapshotOptions snapshotOptions(final BarrageSnapshotRequest snapshotRequest) {
+            return BarrageOptionHeaders.apply(snapshotOptAdapter.adapt(snapshotRequest), optionHeaders);
+        }
+
         // this entry is used for client-streaming requests
         @Override
         public void onNext(final InputStream request) {
@@ -566,7 +603,7 @@ public class ArrowFlightUtil {
                                     // push the schema to the listener
                                     listener.onNext(streamGeneratorFactory.getSchemaView(
                                             fbb -> BarrageUtil.makeTableSchemaPayload(fbb,
-                                                    snapshotOptAdapter.adapt(snapshotRequest),
+                                                    snapshotOptions(snapshotRequest),
                                                     table.getDefinition(), table.getAttributes(), table.isFlat())));
 
                                     // collect the viewport and columnsets (if provided)
@@ -584,7 +621,7 @@ public class ArrowFlightUtil {
 
                                     // leverage common code for `DoGet` and `BarrageSnapshotOptions`
                                     BarrageUtil.createAndSendSnapshot(streamGeneratorFactory, table, columns, viewport,
-                                            reverseViewport, snapshotOptAdapter.adapt(snapshotRequest), listener,
+                                            reverseViewport, snapshotOptions(snapshotRequest), listener,
                                             metrics);
                                     HalfClosedState newState = halfClosedState.updateAndGet(current -> {
                                         switch (current) {
@@ -751,7 +788,7 @@ public class ArrowFlightUtil {
                     final UpdateGraph ug = hierarchicalTableView.getHierarchicalTable().getSource().getUpdateGraph();
                     try (final SafeCloseable ignored = ExecutionContext.getContext().withUpdateGraph(ug).open()) {
                         htvs = htvsFactory.create(hierarchicalTableView, listener,
-                                subscriptionOptAdapter.adapt(subscriptionRequest), minUpdateIntervalMs);
+                                subscriptionOptions(subscriptionRequest), minUpdateIntervalMs);
                         if (hierarchicalTableView.getHierarchicalTable().getSource().isRefreshing()) {
                             manage(htvs);
                         }
@@ -776,7 +813,7 @@ public class ArrowFlightUtil {
                 final boolean reverseViewport = subscriptionRequest.reverseViewport();
 
                 if (bmp != null) {
-                    bmp.addSubscription(listener, subscriptionOptAdapter.adapt(subscriptionRequest), columns, viewport,
+                    bmp.addSubscription(listener, subscriptionOptions(subscriptionRequest), columns, viewport,
                             reverseViewport);
                 } else if (htvs != null) {
                     htvs.setViewport(columns, viewport, reverseViewport);
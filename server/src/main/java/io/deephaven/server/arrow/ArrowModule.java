@@ -15,6 +15,7 @@ import io.deephaven.extensions.barrage.BarrageSubscriptionOptions;
 import io.deephaven.server.barrage.BarrageMessageProducer;
 import io.deephaven.extensions.barrage.BarrageStreamGeneratorImpl;
 import io.grpc.BindableService;
+import io.grpc.ServerInterceptor;
 
 import javax.inject.Singleton;
 
@@ -28,6 +29,10 @@ public abstract class ArrowModule {
     @IntoSet
     abstract BindableService bindBrowserFlightServiceBinding(BrowserFlightServiceGrpcBinding service);
 
+    @Binds
+    @IntoSet
+    abstract ServerInterceptor bindBarrageOptionHeadersInterceptor(BarrageOptionHeadersInterceptor interceptor);
+
     @Provides
     @Singleton
     static BarrageStreamGenerator.Factory bindStreamGenerator() {
@@ -0,0 +1,44 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.server.arrow;
+
+import io.deephaven.extensions.barrage.BarrageOptionHeaders;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.function.Function;
+
+/**
+ * Interceptor to provide the headers of a call to the barrage handlers, which read the serialization options that
+ * clients negotiate through {@link BarrageOptionHeaders} from them.
+ */
+@Singleton
+public class BarrageOptionHeadersInterceptor implements ServerInterceptor {
+    private static final Context.Key<Function<String, String>> HEADERS_KEY = Context.key("barrage-option-headers");
+
+    @Inject
+    public BarrageOptionHeadersInterceptor() {}
+
+    /**
+     * @return a lookup from header name to header value for the current call, returning null for absent headers
+     */
+    public static Function<String, String> currentHeaders() {
+        final Function<String, String> headers = HEADERS_KEY.get();
+        return headers == null ? header -> null : headers;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(final ServerCall<ReqT, RespT> call,
+            final Metadata headers, final ServerCallHandler<ReqT, RespT> next) {
+        final Function<String, String> lookup =
+                header -> headers.get(Metadata.Key.of(header, Metadata.ASCII_STRING_MARSHALLER));
+        return Contexts.interceptCall(Context.current().withValue(HEADERS_KEY, lookup), call, headers, next);
+    }
+}
@@ -31,6 +31,7 @@ import io.deephaven.engine.table.impl.util.ShiftInversionHelper;
 import io.deephaven.engine.table.impl.util.UpdateCoalescer;
 import io.deephaven.engine.updategraph.*;
 import io.deephaven.engine.updategraph.impl.PeriodicUpdateGraph;
+import io.deephaven.extensions.barrage.BarrageDictionaries;
 import io.deephaven.extensions.barrage.BarragePerformanceLog;
 import io.deephaven.extensions.barrage.BarrageStreamGenerator;
 import io.deephaven.extensions.barrage.BarrageSubscriptionOptions;
@@ -53,11 +54,15 @@ import org.HdrHistogram.Histogram;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
@@ -89,10 +94,50 @@ public class BarrageMessageProducer extends LivenessArtifact
 
     private static final Logger log = LoggerFactory.getLogger(BarrageMessageProducer.class);
 
+    /**
+     * The maximum number of threads, including the propagation job's own, that serialize an update's column payloads
+     * and subscriber views concurrently.
+     */
+    @VisibleForTesting
+    static int propagationParallelism = Configuration.getInstance().getIntegerForClassWithDefault(
+            BarrageMessageProducer.class, "propagationParallelism", 4);
+
+    /**
+     * How long, in milliseconds, a {@link FlowControlledListener} may remain not ready before its subscription stops
+     * receiving updates. Such a subscription is resynchronized with a single snapshot once its listener is ready again.
+     * A negative value disables conflation, so that slow subscribers buffer every update.
+     */
+    @VisibleForTesting
+    static int slowSubscriberThresholdMs = Configuration.getInstance().getIntegerForClassWithDefault(
+            BarrageMessageProducer.class, "slowSubscriberThresholdMs", 5000);
+
     public static final boolean SUBSCRIPTION_GROWTH_ENABLED =
             Configuration.getInstance().getBooleanForClassWithDefault(BarrageMessageProducer.class,
                     "subscriptionGrowthEnabled", false);
 
+    @VisibleForTesting
+    static boolean subscriptionGrowthEnabled = SUBSCRIPTION_GROWTH_ENABLED;
+
+    /**
+     * Subscriptions whose snapshot would exceed this many cells are grown in bounded slices over several update cycles,
+     * even when {@link #SUBSCRIPTION_GROWTH_ENABLED subscription growth} is disabled. Updates that arrive between
+     * slices are propagated to the client, which applies them to its partial snapshot, so a snapshot that cannot
+     * complete concurrently with the update graph holds its lock for no longer than one slice.
+     */
+    @VisibleForTesting
+    static long slicedSnapshotCellThreshold =
+            Configuration.getInstance().getLongForClassWithDefault(BarrageMessageProducer.class,
+                    "slicedSnapshotCellThreshold", 1L << 26);
+
+    /**
+     * The number of cells in the first slice of a sliced snapshot; later slices are sized to take
+     * {@link BarrageUtil#TARGET_SNAPSHOT_PERCENTAGE} of an update cycle.
+     */
+    @VisibleForTesting
+    static long initialSnapshotSliceCellCount =
+            Configuration.getInstance().getLongForClassWithDefault(BarrageMessageProducer.class,
+                    "initialSnapshotSliceCellCount", 1L << 20);
+
     private long snapshotTargetCellCount = MIN_SNAPSHOT_CELL_COUNT;
     private double snapshotNanosPerCell = 0;
 
@@ -106,6 +151,24 @@ public class BarrageMessageProducer extends LivenessArtifact
         V adapt(T t);
     }
 
+    /**
+     * A subscription listener that reports whether its transport can accept more messages. A subscription whose
+     * listener stays not ready for longer than {@code BarrageMessageProducer.slowSubscriberThresholdMs} stops receiving
+     * updates; once the listener is ready again the client is sent a single update that removes every row it holds,
+     * followed by a fresh snapshot of its subscription.
+     */
+    public interface FlowControlledListener extends StreamObserver<BarrageStreamGenerator.MessageView> {
+        /**
+         * @return whether the listener can accept another message without buffering it
+         */
+        boolean isReady();
+
+        /**
+         * @param onReady invoked whenever the listener becomes ready after having not been ready
+         */
+        void setOnReadyHandler(Runnable onReady);
+    }
+
     public static class Operation
             implements QueryTable.MemoizableOperation<BarrageMessageProducer> {
 
@@ -414,6 +477,7 @@ public class BarrageMessageProducer extends LivenessArtifact
         final BarrageSubscriptionOptions options;
         final StreamObserver<BarrageStreamGenerator.MessageView> listener;
         final String logPrefix;
+        BarrageDictionaries dictionaries; // dictionaries sent to the client, if it dictionary encodes strings
 
         RowSet viewport; // active viewport
         BitSet subscribedColumns; // active subscription columns
@@ -423,6 +487,15 @@ public class BarrageMessageProducer extends LivenessArtifact
         boolean pendingDelete = false; // is this subscription deleted as far as the client is concerned?
         boolean hasPendingUpdate = false; // is this subscription in our pending list?
         boolean pendingInitialSnapshot = true; // do we need to send the initial snapshot?
+        boolean pendingResync = false; // do we need to send a resynchronizing snapshot to a lagging client?
+
+        final FlowControlledListener flowControlledListener; // null if the listener does not report readiness
+        // when the listener was first seen not ready, or zero if it has become ready since
+        volatile long notReadySinceMillis = 0;
+        volatile boolean isLagging = false; // are updates skipped until the listener is ready?
+        WritableRowSet laggingRowSet = null; // the rows a lagging client holds; removed when it is resynchronized
+        long numConflatedUpdates = 0; // the number of updates skipped by a lagging client
+        long laggingSinceMillis = 0; // when the listener of a lagging client was first seen not ready
 
         RowSet pendingViewport; // if an update is pending this is our new viewport
         boolean pendingReverseViewport; // is the pending viewport reversed (indexed from end of table)
@@ -449,6 +522,8 @@ public class BarrageMessageProducer extends LivenessArtifact
                 final boolean reverseViewport) {
             this.options = options;
             this.listener = listener;
+            this.flowControlledListener =
+                    listener instanceof FlowControlledListener ? (FlowControlledListener) listener : null;
             this.logPrefix = "Sub{" + Integer.toHexString(System.identityHashCode(listener)) + "}: ";
             this.viewport = RowSetFactory.empty();
             this.subscribedColumns = new BitSet();
@@ -510,6 +585,16 @@ public class BarrageMessageProducer extends LivenessArtifact
             subscription.hasPendingUpdate = true;
             pendingSubscriptions.add(subscription);
 
+            if (subscription.flowControlledListener != null) {
+                subscription.flowControlledListener.setOnReadyHandler(() -> {
+                    // a listener that is not ready when next sampled has been so only since that sample
+                    subscription.notReadySinceMillis = 0;
+                    if (subscription.isLagging) {
+                        updatePropagationJob.scheduleImmediately();
+                    }
+                });
+            }
+
             // we'd like to send the initial snapshot as soon as possible
             updatePropagationJob.scheduleImmediately();
         }
@@ -1094,11 +1179,15 @@ public class BarrageMessageProducer extends LivenessArtifact
         boolean pendingChanges = false;
 
         List<Subscription> deletedSubscriptions = null;
+        List<Subscription> resyncSubscriptions = null;
 
         // check for pending changes (under the lock)
         synchronized (this) {
             List<Subscription> updatedSubscriptions = null;
 
+            // lagging subscriptions that are ready again are resubscribed, so must be resumed before pending changes
+            resyncSubscriptions = resumeLaggingSubscriptions();
+
             if (!pendingSubscriptions.isEmpty()) {
                 updatedSubscriptions = this.pendingSubscriptions;
                 pendingSubscriptions = new ArrayList<>();
@@ -1124,6 +1213,10 @@ public class BarrageMessageProducer extends LivenessArtifact
                     if (sub.isGrowingViewport) {
                         --numGrowingSubscriptions;
                     }
+                    if (sub.laggingRowSet != null) {
+                        sub.laggingRowSet.close();
+                        sub.laggingRowSet = null;
+                    }
 
                     // remove this deleted subscription from future consideration
                     activeSubscriptions.set(i, activeSubscriptions.get(activeSubscriptions.size() - 1));
@@ -1225,10 +1318,18 @@ public class BarrageMessageProducer extends LivenessArtifact
             final long columnCount = Math.max(1, snapshotColumns.cardinality());
 
             long rowsRemaining;
-            if (SUBSCRIPTION_GROWTH_ENABLED) {
+            final boolean slicedSnapshot =
+                    !subscriptionGrowthEnabled && !isBlinkTable && needsSlicedSnapshot(growingSubscriptions);
+            if (subscriptionGrowthEnabled) {
                 final long cellCount =
                         Math.max(MIN_SNAPSHOT_CELL_COUNT, Math.min(snapshotTargetCellCount, MAX_SNAPSHOT_CELL_COUNT));
                 rowsRemaining = cellCount / columnCount;
+            } else if (slicedSnapshot) {
+                // until we have measured a slice, we cannot project how many cells fit in the target time
+                final long cellCount = snapshotNanosPerCell == 0
+                        ? initialSnapshotSliceCellCount
+                        : Math.min(snapshotTargetCellCount, MAX_SNAPSHOT_CELL_COUNT);
+                rowsRemaining = Math.max(1, cellCount / columnCount);
             } else {
                 // growth is disabled, allow unlimited snapshot size
                 rowsRemaining = Long.MAX_VALUE;
@@ -1349,7 +1450,7 @@ public class BarrageMessageProducer extends LivenessArtifact
                 long elapsed = System.nanoTime() - start;
                 recordMetric(stats -> stats.snapshot, elapsed);
 
-                if (SUBSCRIPTION_GROWTH_ENABLED && !snapshot.rowsIncluded.isEmpty()) {
+                if ((subscriptionGrowthEnabled || slicedSnapshot) && !snapshot.rowsIncluded.isEmpty()) {
                     // very simplistic logic to take the last snapshot and extrapolate max number of rows that will
                     // not exceed the target UGP processing time percentage
                     PeriodicUpdateGraph updateGraph = parent.getUpdateGraph().cast();
@@ -1440,6 +1541,14 @@ public class BarrageMessageProducer extends LivenessArtifact
         }
 
         // now, propagate updates
+        if (resyncSubscriptions != null) {
+            for (final Subscription subscription : resyncSubscriptions) {
+                final long startTm = System.nanoTime();
+                propagateFlushForSubscription(subscription);
+                recordMetric(stats -> stats.propagate, System.nanoTime() - startTm);
+            }
+        }
+
         if (preSnapshot != null) {
             final long startTm = System.nanoTime();
             propagateToSubscribers(preSnapshot, preSnapRowSet);
@@ -1517,39 +1626,338 @@ public class BarrageMessageProducer extends LivenessArtifact
         // message is released via transfer to stream generator (as it must live until all view's are closed)
         try (final BarrageStreamGenerator generator = streamGeneratorFactory.newGenerator(
                 message, this::recordWriteMetrics)) {
-            for (final Subscription subscription : activeSubscriptions) {
-                if (subscription.pendingInitialSnapshot || subscription.pendingDelete) {
-                    continue;
+            final List<Subscription> subscriptions = new ArrayList<>(activeSubscriptions.size());
+            final List<RowSet> clientViews = new ArrayList<>(activeSubscriptions.size());
+            try {
+                for (final Subscription subscription : activeSubscriptions) {
+                    if (subscription.pendingInitialSnapshot || subscription.pendingResync
+                            || subscription.pendingDelete) {
+                        continue;
+                    }
+                    if (subscription.isLagging) {
+                        ++subscription.numConflatedUpdates;
+                        continue;
+                    }
+                    if (isSlowSubscriber(subscription)) {
+                        startLagging(subscription, message, propRowSetForMessage);
+                        continue;
+                    }
+
+                    // There are four messages that might be sent this update:
+                    // - pre-snapshot: snapshotViewport/snapshotColumn values apply during this phase
+                    // - pre-snapshot flush: rm all existing rows from a blink table to make empty snapshot valid
+                    // - snapshot: here we close and clear the snapshotViewport/snapshotColumn values; officially we
+                    // recognize the subscription change
+                    // - post-snapshot: now we use the viewport/subscribedColumn values (these are the values the UGP
+                    // listener uses)
+
+                    final boolean isPreSnapshot = subscription.snapshotViewport != null;
+                    final RowSet vp = isPreSnapshot ? subscription.snapshotViewport : subscription.viewport;
+                    final boolean isReversed =
+                            isPreSnapshot ? subscription.snapshotReverseViewport : subscription.reverseViewport;
+
+                    subscriptions.add(subscription);
+                    clientViews.add(vp != null ? propRowSetForMessage.subSetForPositions(vp, isReversed) : null);
                 }
 
-                // There are four messages that might be sent this update:
-                // - pre-snapshot: snapshotViewport/snapshotColumn values apply during this phase
-                // - pre-snapshot flush: rm all existing rows from a blink table to make empty snapshot valid
-                // - snapshot: here we close and clear the snapshotViewport/snapshotColumn values; officially we
-                // recognize the subscription change
-                // - post-snapshot: now we use the viewport/subscribedColumn values (these are the values the UGP
-                // listener uses)
-
-                final boolean isPreSnapshot = subscription.snapshotViewport != null;
-
-                final RowSet vp = isPreSnapshot ? subscription.snapshotViewport : subscription.viewport;
-                final BitSet cols = isPreSnapshot ? subscription.snapshotColumns : subscription.subscribedColumns;
-                final boolean isReversed =
-                        isPreSnapshot ? subscription.snapshotReverseViewport : subscription.reverseViewport;
-
-                try (final RowSet clientView =
-                        vp != null ? propRowSetForMessage.subSetForPositions(vp, isReversed) : null) {
-                    subscription.listener.onNext(generator.getSubView(
-                            subscription.options, false, vp, subscription.reverseViewport, clientView, cols));
-                } catch (final Exception e) {
+                // serialize the shared column payloads first, so that no view waits on another to serialize them
+                final int[] sharedPayloads = sharedColumnPayloads(generator, subscriptions);
+                runConcurrently(scheduler, propagationParallelism, sharedPayloads.length, jj -> {
                     try {
-                        subscription.listener.onError(errorTransformer.transform(e));
+                        generator.computeColumnPayload(sharedPayloads[jj]);
                     } catch (final Exception ignored) {
+                        // the views that need this payload will fail, and report the error to their subscribers
                     }
-                    removeSubscription(subscription.listener);
+                });
+
+                // create every view before sending any, so that the generator knows which views serialize identically
+                final List<BarrageStreamGenerator.MessageView> views = new ArrayList<>(subscriptions.size());
+                for (int ii = 0; ii < subscriptions.size(); ++ii) {
+                    views.add(getSubView(generator, subscriptions.get(ii), clientViews.get(ii)));
+                }
+                runConcurrently(scheduler, propagationParallelism, subscriptions.size(), ii -> {
+                    if (views.get(ii) != null) {
+                        sendToSubscriber(subscriptions.get(ii), views.get(ii));
+                    }
+                });
+            } finally {
+                SafeCloseable.closeAll(clientViews.stream().filter(Objects::nonNull));
+            }
+        }
+    }
+
+    /**
+     * Choose the column payloads of {@code generator} that at least one subscription will send unencoded. A String
+     * column that every subscription dictionary encodes is sent as {@link Integer#BYTES} indices per row, preceded by
+     * each subscriber's own dictionary delta, both of which are serialized by the views; its UTF-8 payload would never
+     * be sent, so computing it would only occupy the propagation threads.
+     *
+     * @param generator the generator whose payloads are being computed
+     * @param subscriptions the subscriptions that will be sent views of the generator
+     * @return the indices of the payloads to compute, in {@code [0, generator.numColumnPayloads())}
+     */
+    private static int[] sharedColumnPayloads(final BarrageStreamGenerator generator,
+            final List<Subscription> subscriptions) {
+        final int numAddColumns = generator.getMessage().addColumnData.length;
+        final BitSet encodedByAll = new BitSet();
+        encodedByAll.set(0, numAddColumns);
+        for (final Subscription subscription : subscriptions) {
+            if (subscription.dictionaries == null || subscription.options.columnsAsList()) {
+                encodedByAll.clear();
+                break;
+            }
+            for (int ci = encodedByAll.nextSetBit(0); ci >= 0; ci = encodedByAll.nextSetBit(ci + 1)) {
+                if (!subscription.dictionaries.isEncoded(ci)) {
+                    encodedByAll.clear(ci);
                 }
             }
         }
+
+        final int numPayloads = generator.numColumnPayloads();
+        final int[] payloads = new int[numPayloads];
+        int numShared = 0;
+        for (int payloadIndex = 0; payloadIndex < numPayloads; ++payloadIndex) {
+            final int ci = payloadIndex < numAddColumns ? payloadIndex : payloadIndex - numAddColumns;
+            if (!encodedByAll.get(ci)) {
+                payloads[numShared++] = payloadIndex;
+            }
+        }
+        return Arrays.copyOf(payloads, numShared);
+    }
+
+    /**
+     * @return the view of {@code generator} to send to {@code subscription}, or null if it could not be created, in
+     *         which case the subscription has been notified of the error and removed
+     */
+    @Nullable
+    private BarrageStreamGenerator.MessageView getSubView(final BarrageStreamGenerator generator,
+            final Subscription subscription, @Nullable final RowSet clientView) {
+        final boolean isPreSnapshot = subscription.snapshotViewport != null;
+        final RowSet vp = isPreSnapshot ? subscription.snapshotViewport : subscription.viewport;
+        final BitSet cols = isPreSnapshot ? subscription.snapshotColumns : subscription.subscribedColumns;
+
+        try {
+            return generator.getSubView(
+                    subscription.options, false, vp, subscription.reverseViewport, clientView, cols,
+                    subscription.dictionaries);
+        } catch (final Exception e) {
+            reportPropagationError(subscription, e);
+            return null;
+        }
+    }
+
+    private void sendToSubscriber(final Subscription subscription, final BarrageStreamGenerator.MessageView view) {
+        try {
+            subscription.listener.onNext(view);
+        } catch (final Exception e) {
+            reportPropagationError(subscription, e);
+        }
+    }
+
+    private void reportPropagationError(final Subscription subscription, final Exception e) {
+        try {
+            subscription.listener.onError(errorTransformer.transform(e));
+        } catch (final Exception ignored) {
+        }
+        removeSubscription(subscription.listener);
+    }
+
+    /**
+     * Determine whether a subscription should stop receiving updates because its listener has not been ready for
+     * longer than {@link #slowSubscriberThresholdMs}. Subscriptions that are growing, or that receive a blink table,
+     * are never considered slow.
+     */
+    private boolean isSlowSubscriber(final Subscription subscription) {
+        if (slowSubscriberThresholdMs < 0 || isBlinkTable || subscription.flowControlledListener == null
+                || subscription.isGrowingViewport || subscription.snapshotViewport != null) {
+            return false;
+        }
+        if (subscription.flowControlledListener.isReady()) {
+            subscription.notReadySinceMillis = 0;
+            return false;
+        }
+
+        final long now = scheduler.currentTimeMillis();
+        if (subscription.notReadySinceMillis == 0) {
+            subscription.notReadySinceMillis = now;
+            return false;
+        }
+        return now - subscription.notReadySinceMillis >= slowSubscriberThresholdMs;
+    }
+
+    /**
+     * Stop propagating updates to a slow subscription, starting with {@code message}.
+     *
+     * @param subscription the slow subscription
+     * @param message the first update the client will not receive
+     * @param propRowSetForMessage the table's RowSet after {@code message}
+     */
+    private void startLagging(final Subscription subscription, final BarrageMessage message,
+            final RowSet propRowSetForMessage) {
+        // the client holds the rows from before this message; these are removed when it is resynchronized
+        final WritableRowSet clientRowSet = propRowSetForMessage.copy();
+        clientRowSet.remove(message.rowsAdded);
+        message.shifted.unapply(clientRowSet);
+        clientRowSet.insert(message.rowsRemoved);
+
+        if (log.isDebugEnabled()) {
+            log.debug().append(logPrefix).append(subscription.logPrefix)
+                    .append("listener is not ready; conflating updates until it is ready").endl();
+        }
+
+        subscription.laggingRowSet = clientRowSet;
+        subscription.numConflatedUpdates = 1;
+        // the on-ready handler may have cleared the not-ready time since the listener was sampled
+        final long notReadySinceMillis = subscription.notReadySinceMillis;
+        subscription.laggingSinceMillis =
+                notReadySinceMillis != 0 ? notReadySinceMillis : scheduler.currentTimeMillis();
+        subscription.notReadySinceMillis = 0;
+        subscription.isLagging = true;
+
+        // the listener may have become ready before the on-ready handler could observe that we are lagging
+        if (subscription.flowControlledListener.isReady()) {
+            updatePropagationJob.scheduleImmediately();
+        }
+    }
+
+    /**
+     * Resubscribe each lagging subscription whose listener is ready again, or whose client has changed its
+     * subscription. Each is treated as a new subscription to its (requested) viewport and columns, so that it is sent a
+     * snapshot; {@link #propagateFlushForSubscription} must first remove the rows the client still holds.
+     *
+     * @return the subscriptions that must be resynchronized, or null if there are none
+     */
+    private List<Subscription> resumeLaggingSubscriptions() {
+        Assert.assertion(Thread.holdsLock(this), "resumeLaggingSubscriptions must hold lock!");
+
+        List<Subscription> resyncSubscriptions = null;
+        for (final Subscription subscription : activeSubscriptions) {
+            if (!subscription.isLagging || subscription.pendingDelete
+                    || (!subscription.hasPendingUpdate && !subscription.flowControlledListener.isReady())) {
+                continue;
+            }
+
+            if (resyncSubscriptions == null) {
+                resyncSubscriptions = new ArrayList<>();
+            }
+            resyncSubscriptions.add(subscription);
+
+            final long conflatedUpdates = subscription.numConflatedUpdates;
+            recordMetric(stats -> stats.conflatedUpdates, conflatedUpdates);
+            final long notReadyNanos =
+                    TimeUnit.MILLISECONDS.toNanos(scheduler.currentTimeMillis() - subscription.laggingSinceMillis);
+            recordMetric(stats -> stats.notReady, notReadyNanos);
+            subscription.numConflatedUpdates = 0;
+            subscription.isLagging = false;
+            subscription.pendingResync = true;
+
+            if (!subscription.isViewport()) {
+                --numFullSubscriptions;
+            }
+            if (subscription.hasPendingUpdate) {
+                // the client has already requested a new viewport and columns
+                if (subscription.viewport != null) {
+                    subscription.viewport.close();
+                }
+            } else {
+                subscription.pendingViewport = subscription.viewport;
+                subscription.pendingColumns = subscription.subscribedColumns;
+                subscription.pendingReverseViewport = subscription.reverseViewport;
+                subscription.hasPendingUpdate = true;
+                pendingSubscriptions.add(subscription);
+            }
+
+            // after the flush the client holds no rows, just as when it first subscribed
+            subscription.viewport = RowSetFactory.empty();
+            subscription.subscribedColumns = new BitSet();
+        }
+        return resyncSubscriptions;
+    }
+
+    /**
+     * Send a resynchronized subscription an update that removes every row its client holds, so that the snapshot that
+     * follows may be applied as if the client were new.
+     */
+    private void propagateFlushForSubscription(final Subscription subscription) {
+        final BarrageMessage flush = new BarrageMessage();
+        flush.rowsAdded = RowSetFactory.empty();
+        flush.rowsIncluded = RowSetFactory.empty();
+        flush.rowsRemoved = subscription.laggingRowSet;
+        flush.shifted = RowSetShiftData.EMPTY;
+        subscription.laggingRowSet = null;
+
+        flush.addColumnData = new BarrageMessage.AddColumnData[sourceColumns.length];
+        flush.modColumnData = new BarrageMessage.ModColumnData[sourceColumns.length];
+        for (int ci = 0; ci < sourceColumns.length; ++ci) {
+            final BarrageMessage.AddColumnData adds = new BarrageMessage.AddColumnData();
+            adds.data = new ArrayList<>();
+            adds.chunkType = deltaColumns[ci].getChunkType();
+            adds.type = realColumnType[ci];
+            adds.componentType = realColumnComponentType[ci];
+            flush.addColumnData[ci] = adds;
+
+            final BarrageMessage.ModColumnData mods = new BarrageMessage.ModColumnData();
+            mods.data = new ArrayList<>();
+            mods.chunkType = deltaColumns[ci].getChunkType();
+            mods.type = realColumnType[ci];
+            mods.componentType = realColumnComponentType[ci];
+            mods.rowsModified = RowSetFactory.empty();
+            flush.modColumnData[ci] = mods;
+        }
+
+        try (final BarrageStreamGenerator generator =
+                streamGeneratorFactory.newGenerator(flush, this::recordWriteMetrics)) {
+            subscription.listener.onNext(generator.getSubView(
+                    subscription.options, false, null, false, null, null, subscription.dictionaries));
+        } catch (final Exception e) {
+            GrpcUtil.safelyError(subscription.listener, errorTransformer.transform(e));
+            removeSubscription(subscription.listener);
+        }
+    }
+
+    /**
+     * Run {@code numJobs} jobs on the calling thread and up to {@code parallelism - 1} threads of {@code scheduler}.
+     * Jobs are claimed from a shared counter, so the calling thread runs every job that no scheduler thread has
+     * started; it only waits for jobs that are already running, never for a job queued behind other work.
+     *
+     * @param scheduler the scheduler whose concurrent threads may help run the jobs
+     * @param parallelism the maximum number of threads, including the calling thread, to run the jobs on
+     * @param numJobs the number of jobs to run
+     * @param job the job to run, given the index of the job
+     */
+    @VisibleForTesting
+    static void runConcurrently(final Scheduler scheduler, final int parallelism, final int numJobs,
+            final IntConsumer job) {
+        final AtomicInteger nextJob = new AtomicInteger();
+        final CountDownLatch remainingJobs = new CountDownLatch(numJobs);
+        final Runnable worker = () -> {
+            for (int jj = nextJob.getAndIncrement(); jj < numJobs; jj = nextJob.getAndIncrement()) {
+                try {
+                    job.accept(jj);
+                } finally {
+                    remainingJobs.countDown();
+                }
+            }
+        };
+
+        final int numHelpers = Math.min(parallelism, numJobs) - 1;
+        for (int hh = 0; hh < numHelpers; ++hh) {
+            scheduler.runImmediately(worker);
+        }
+        worker.run();
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                remainingJobs.await();
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void clearObjectDeltaColumns(@NotNull final BitSet objectColumnsToClear) {
@@ -1569,7 +1977,7 @@ public class BarrageMessageProducer extends LivenessArtifact
 
     private void propagateSnapshotForSubscription(final Subscription subscription,
             final BarrageStreamGenerator snapshotGenerator) {
-        boolean needsSnapshot = subscription.pendingInitialSnapshot;
+        boolean needsSnapshot = subscription.pendingInitialSnapshot || subscription.pendingResync;
 
         // This is a little confusing, but by the time we propagate, the `snapshotViewport`/`snapshotColumns` objects
         // are the previous subscription items. The ones we want are already active; since we no longer hold the lock
@@ -1598,17 +2006,28 @@ public class BarrageMessageProducer extends LivenessArtifact
                     .subSetForPositions(subscription.growingIncrementalViewport, subscription.reverseViewport)) {
 
                 if (subscription.pendingInitialSnapshot) {
+                    // choose the String columns to dictionary encode from the values of the initial snapshot
+                    final BitSet encodedColumns = subscription.options.dictionaryEncodeStrings()
+                            && !subscription.options.columnsAsList()
+                                    ? dictionaryEncodedColumns(snapshotGenerator.getMessage())
+                                    : null;
+                    subscription.dictionaries = encodedColumns == null || encodedColumns.isEmpty()
+                            ? null
+                            : new BarrageDictionaries(sourceColumns.length, encodedColumns);
+
                     // Send schema metadata to this new client.
                     subscription.listener.onNext(streamGeneratorFactory.getSchemaView(
                             fbb -> BarrageUtil.makeTableSchemaPayload(fbb, subscription.options,
-                                    parent.getDefinition(), parent.getAttributes(), parent.isFlat())));
+                                    parent.getDefinition(), parent.getAttributes(), parent.isFlat(),
+                                    encodedColumns)));
                 }
 
-                // some messages may be empty of rows, but we need to update the client viewport and column set
-                subscription.listener
-                        .onNext(snapshotGenerator.getSubView(subscription.options, subscription.pendingInitialSnapshot,
-                                subscription.viewport, subscription.reverseViewport, keySpaceViewport,
-                                subscription.subscribedColumns));
+                // some messages may be empty of rows, but we need to update the client viewport and column set; a
+                // resynchronized client holds no rows, so it needs the full RowSet just as a new client does
+                subscription.listener.onNext(snapshotGenerator.getSubView(subscription.options,
+                        subscription.pendingInitialSnapshot || subscription.pendingResync,
+                        subscription.viewport, subscription.reverseViewport, keySpaceViewport,
+                        subscription.subscribedColumns, subscription.dictionaries));
 
             } catch (final Exception e) {
                 GrpcUtil.safelyError(subscription.listener, errorTransformer.transform(e));
@@ -1622,6 +2041,24 @@ public class BarrageMessageProducer extends LivenessArtifact
         }
 
         subscription.pendingInitialSnapshot = false;
+        subscription.pendingResync = false;
+    }
+
+    /**
+     * Choose the String columns that are worth dictionary encoding, from the values of a snapshot.
+     *
+     * @param snapshot the snapshot to sample
+     * @return the positions of the String columns to dictionary encode
+     */
+    private static BitSet dictionaryEncodedColumns(final BarrageMessage snapshot) {
+        final BitSet encodedColumns = new BitSet();
+        for (int ci = 0; ci < snapshot.addColumnData.length; ++ci) {
+            final BarrageMessage.AddColumnData column = snapshot.addColumnData[ci];
+            if (column.type == String.class && BarrageDictionaries.isWorthEncoding(column.data)) {
+                encodedColumns.set(ci);
+            }
+        }
+        return encodedColumns;
     }
 
     private BarrageMessage aggregateUpdatesInRange(final int startDelta, final int endDelta) {
@@ -2013,6 +2450,24 @@ public class BarrageMessageProducer extends LivenessArtifact
         });
     }
 
+    /**
+     * Determine whether any growing subscription's complete snapshot would exceed
+     * {@link #slicedSnapshotCellThreshold}. The decision depends on the subscription's target rather than on its
+     * remaining rows, so that a subscription keeps growing in slices until it is complete.
+     */
+    private boolean needsSlicedSnapshot(final List<Subscription> growingSubscriptions) {
+        for (final Subscription subscription : growingSubscriptions) {
+            final long targetRows = subscription.targetViewport == null
+                    ? parentTableSize
+                    : Math.min(subscription.targetViewport.size(), parentTableSize);
+            final long targetColumns = Math.max(1, subscription.targetColumns.cardinality());
+            if (targetRows > slicedSnapshotCellThreshold / targetColumns) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void flipSnapshotStateForSubscriptions(
             final List<Subscription> subscriptions) {
         for (final Subscription subscription : subscriptions) {
@@ -2285,6 +2740,8 @@ public class BarrageMessageProducer extends LivenessArtifact
         public final Histogram updateJob = new Histogram(NUM_SIG_FIGS);
         public final Histogram writeTime = new Histogram(NUM_SIG_FIGS);
         public final Histogram writeBits = new Histogram(NUM_SIG_FIGS);
+        public final Histogram notReady = new Histogram(NUM_SIG_FIGS);
+        public final Histogram conflatedUpdates = new Histogram(NUM_SIG_FIGS);
 
         private volatile boolean running = true;
 
@@ -2315,6 +2772,8 @@ public class BarrageMessageProducer extends LivenessArtifact
                 flush(now, logger, updateJob, "UpdateJobMillis");
                 flush(now, logger, writeTime, "WriteMillis");
                 flush(now, logger, writeBits, "WriteMegabits");
+                flush(now, logger, notReady, "NotReadyMillis");
+                flushCounts(now, logger, conflatedUpdates, "ConflatedUpdates");
             }
         }
 
@@ -2326,6 +2785,15 @@ public class BarrageMessageProducer extends LivenessArtifact
             logger.log(tableId, tableKey, statType, now, hist);
             hist.reset();
         }
+
+        private void flushCounts(final Instant now, final BarrageSubscriptionPerformanceLogger logger,
+                final Histogram hist, final String statType) {
+            if (hist.getTotalCount() == 0) {
+                return;
+            }
+            logger.logCounts(tableId, tableKey, statType, now, hist);
+            hist.reset();
+        }
     }
 
     ////////////////////////////////////////////////////
@@ -290,6 +290,14 @@ class AggSpecAdapter {
                     AggSpec::absSum);
         }
 
+        @Override
+        public void visit(io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approxCountDistinct) {
+            // Not yet represented in the gRPC AggSpec; nothing to register when visited by AggSpec.visitAll
+            if (approxCountDistinct != null) {
+                throw new UnsupportedOperationException("AggSpecApproximateCountDistinct is not supported over gRPC");
+            }
+        }
+
         @Override
         public void visit(io.deephaven.api.agg.spec.AggSpecApproximatePercentile approxPct) {
             add(
@@ -300,6 +308,14 @@ class AggSpecAdapter {
                     AggSpecAdapter::adapt);
         }
 
+        @Override
+        public void visit(io.deephaven.api.agg.spec.AggSpecApproximateTopK approxTopK) {
+            // Not yet represented in the gRPC AggSpec; nothing to register when visited by AggSpec.visitAll
+            if (approxTopK != null) {
+                throw new UnsupportedOperationException("AggSpecApproximateTopK is not supported over gRPC");
+            }
+        }
+
         @Override
         public void visit(io.deephaven.api.agg.spec.AggSpecAvg avg) {
             add(
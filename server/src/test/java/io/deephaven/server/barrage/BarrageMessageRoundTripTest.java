@@ -8,6 +8,7 @@ import dagger.Component;
 import io.deephaven.api.ColumnName;
 import io.deephaven.api.Selectable;
 import io.deephaven.base.Pair;
+import io.deephaven.base.clock.Clock;
 import io.deephaven.base.verify.Assert;
 import io.deephaven.client.impl.BarrageSubscriptionImpl.BarrageDataMarshaller;
 import io.deephaven.engine.context.ExecutionContext;
@@ -26,8 +27,11 @@ import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
 import io.deephaven.engine.updategraph.UpdateSourceCombiner;
 import io.deephaven.engine.util.TableDiff;
 import io.deephaven.engine.util.TableTools;
+import io.deephaven.extensions.barrage.BarrageDictionaries;
 import io.deephaven.extensions.barrage.BarrageStreamGenerator;
+import io.deephaven.extensions.barrage.BarrageStreamGeneratorImpl;
 import io.deephaven.extensions.barrage.BarrageSubscriptionOptions;
+import io.deephaven.extensions.barrage.BodyCompressionCodec;
 import io.deephaven.extensions.barrage.table.BarrageTable;
 import io.deephaven.extensions.barrage.util.BarrageStreamReader;
 import io.deephaven.extensions.barrage.util.BarrageUtil;
@@ -51,6 +55,10 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -66,6 +74,9 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
     private Deque<Throwable> exceptions;
     private UpdateSourceCombiner updateSourceCombiner;
     private boolean useDeephavenNulls;
+    private boolean dictionaryEncodeStrings;
+    private BodyCompressionCodec bodyCompression;
+    private boolean flowControlledClients;
 
     private TestComponent daggerRoot;
 
@@ -92,6 +103,9 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
         scheduler = new TestControlledScheduler();
         exceptions = new ArrayDeque<>();
         useDeephavenNulls = true;
+        dictionaryEncodeStrings = false;
+        bodyCompression = BodyCompressionCodec.NONE;
+        flowControlledClients = false;
 
         daggerRoot = DaggerBarrageMessageRoundTripTest_TestComponent
                 .builder()
@@ -188,12 +202,16 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
 
             final BarrageSubscriptionOptions options = BarrageSubscriptionOptions.builder()
                     .useDeephavenNulls(useDeephavenNulls)
+                    .dictionaryEncodeStrings(dictionaryEncodeStrings)
+                    .bodyCompression(bodyCompression)
                     .build();
             final BarrageDataMarshaller marshaller = new BarrageDataMarshaller(
                     options, barrageTable.getWireChunkTypes(), barrageTable.getWireTypes(),
                     barrageTable.getWireComponentTypes(),
                     new BarrageStreamReader(barrageTable.getDeserializationTmConsumer()));
-            this.dummyObserver = new DummyObserver(marshaller, commandQueue);
+            this.dummyObserver = flowControlledClients
+                    ? new FlowControlledObserver(marshaller, commandQueue)
+                    : new DummyObserver(marshaller, commandQueue);
 
             if (viewport == null) {
                 replicatedTUV = TableUpdateValidator.make(barrageTable);
@@ -216,6 +234,8 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
             subscribed = true;
             final BarrageSubscriptionOptions options = BarrageSubscriptionOptions.builder()
                     .useDeephavenNulls(useDeephavenNulls)
+                    .dictionaryEncodeStrings(dictionaryEncodeStrings)
+                    .bodyCompression(bodyCompression)
                     .build();
             barrageMessageProducer.addSubscription(dummyObserver, options, subscribedColumns,
                     viewport == null ? null : viewport.copy(), reverseViewport);
@@ -1276,6 +1296,274 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
         remoteNugget.validate("large mod rows update");
     }
 
+    public void testSlowSubscribersAreResynchronized() {
+        final int oldThreshold = BarrageMessageProducer.slowSubscriberThresholdMs;
+        BarrageMessageProducer.slowSubscriberThresholdMs = 0;
+        flowControlledClients = true;
+        try {
+            for (final int size : new int[] {10, 100, 1000}) {
+                testSlowSubscribersAreResynchronized(size);
+            }
+        } finally {
+            BarrageMessageProducer.slowSubscriberThresholdMs = oldThreshold;
+        }
+    }
+
+    private void testSlowSubscribersAreResynchronized(final int size) {
+        final SharedProducerForAllClients helper = new SharedProducerForAllClients(1, 1, size, 0, new MutableInt(0));
+        helper.createTable();
+        // every update appends rows, so that each of these producers propagates every update
+        helper.createNuggetsForTableMaker(() -> helper.sourceTable);
+        helper.createNuggetsForTableMaker(helper.sourceTable::flatten);
+        helper.createNuggetsForTableMaker(() -> helper.sourceTable.sort("doubleCol"));
+        final RemoteNugget[] nuggets = helper.nuggets.toArray(new RemoteNugget[0]);
+
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        final Runnable produceUpdate = () -> {
+            updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateShiftAwareTableUpdates(
+                    GenerateTableUpdates.DEFAULT_PROFILE, size, helper.random, helper.sourceTable,
+                    helper.columnInfo));
+
+            final long lastKey = helper.sourceTable.getRowSet().isNonempty()
+                    ? helper.sourceTable.getRowSet().lastRowKey()
+                    : -1;
+            final TableUpdateImpl update = new TableUpdateImpl();
+            update.added = RowSetFactory.fromRange(lastKey + 1, lastKey + Math.max(1, size / 100));
+            update.removed = i();
+            update.modified = i();
+            update.shifted = RowSetShiftData.EMPTY;
+            update.modifiedColumnSet = ModifiedColumnSet.EMPTY;
+            updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateTableUpdates(update,
+                    helper.random, helper.sourceTable, helper.columnInfo));
+
+            flushProducerTable();
+        };
+        final Runnable consumeUpdates = () -> {
+            for (final RemoteNugget nugget : nuggets) {
+                nugget.flushClientEvents();
+            }
+            updateGraph.runWithinUnitTestCycle(updateSourceCombiner::run);
+        };
+
+        flushProducerTable();
+        consumeUpdates.run();
+        TstUtils.validate("initial snapshot", nuggets);
+
+        for (final RemoteNugget nugget : nuggets) {
+            for (final RemoteClient client : nugget.clients) {
+                ((FlowControlledObserver) client.dummyObserver).setReady(false);
+            }
+        }
+
+        // the first update that finds a client not ready only starts its clock; the next makes it lag
+        for (int step = 0; step < 3; ++step) {
+            produceUpdate.run();
+        }
+        final Map<RemoteClient, Integer> queuedMessages = new HashMap<>();
+        for (final RemoteNugget nugget : nuggets) {
+            for (final RemoteClient client : nugget.clients) {
+                queuedMessages.put(client, client.commandQueue.size());
+            }
+        }
+        for (int step = 0; step < 3; ++step) {
+            produceUpdate.run();
+        }
+        for (final RemoteNugget nugget : nuggets) {
+            for (final RemoteClient client : nugget.clients) {
+                assertEquals(client.name, (int) queuedMessages.get(client), client.commandQueue.size());
+            }
+        }
+
+        // apply what was received before lagging; lagging clients are stale until they are resynchronized
+        consumeUpdates.run();
+
+        // the viewport subscriptions change while lagging, which resynchronizes them to the new viewport
+        for (final RemoteNugget nugget : nuggets) {
+            for (final RemoteClient client : nugget.clients) {
+                if (client.viewport != null) {
+                    final WritableRowSet viewport = client.viewport.copy();
+                    viewport.shiftInPlace(Math.max(size / 25, 1));
+                    client.setViewport(viewport, client.reverseViewport);
+                }
+                ((FlowControlledObserver) client.dummyObserver).setReady(true);
+            }
+        }
+
+        // each client is sent an update that removes all of its rows, followed by a second initial snapshot
+        produceUpdate.run();
+        consumeUpdates.run();
+        TstUtils.validate("resynchronized", nuggets);
+
+        for (int step = 0; step < 5; ++step) {
+            produceUpdate.run();
+            consumeUpdates.run();
+            TstUtils.validate("after resynchronization", nuggets);
+        }
+    }
+
+    public void testSharedSubscriptionViews() {
+        final boolean oldShareViewMessages = BarrageStreamGeneratorImpl.shareViewMessages;
+        final int oldPropagationParallelism = BarrageMessageProducer.propagationParallelism;
+        try {
+            for (final boolean shareViewMessages : new boolean[] {false, true}) {
+                for (final int propagationParallelism : new int[] {1, 4}) {
+                    BarrageStreamGeneratorImpl.shareViewMessages = shareViewMessages;
+                    BarrageMessageProducer.propagationParallelism = propagationParallelism;
+                    for (final int size : new int[] {10, 100, 1000}) {
+                        testSharedSubscriptionViews(size);
+                    }
+                }
+            }
+        } finally {
+            BarrageStreamGeneratorImpl.shareViewMessages = oldShareViewMessages;
+            BarrageMessageProducer.propagationParallelism = oldPropagationParallelism;
+        }
+    }
+
+    private void testSharedSubscriptionViews(final int size) {
+        final TestHelper helper = new SharedProducerForAllClients(1, 1, size, 0, new MutableInt(20)) {
+            @Override
+            void createNuggetsForTableMaker(final Supplier<Table> makeTable) {
+                final RemoteNugget nugget = new RemoteNugget(makeTable);
+                nuggets.add(nugget);
+
+                final BitSet allColumns = new BitSet();
+                allColumns.set(0, nugget.originalTable.numColumns());
+                final BitSet someColumns = new BitSet();
+                someColumns.set(1, 3);
+
+                // three full subscriptions that serialize identically, a pair that differs by columns, a pair on the
+                // same first page, and one on a different page
+                nugget.newClient(null, allColumns, "full-1");
+                nugget.newClient(null, allColumns, "full-2");
+                nugget.newClient(null, allColumns, "full-3");
+                nugget.newClient(null, (BitSet) someColumns.clone(), "some-1");
+                nugget.newClient(null, (BitSet) someColumns.clone(), "some-2");
+                nugget.newClient(RowSetFactory.fromRange(0, size / 10), allColumns, "header-1");
+                nugget.newClient(RowSetFactory.fromRange(0, size / 10), allColumns, "header-2");
+                nugget.newClient(RowSetFactory.fromRange(size / 10 + 1, size / 5), allColumns, "second-page");
+            }
+        };
+        helper.runTest(() -> {
+            final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+            updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateShiftAwareTableUpdates(
+                    GenerateTableUpdates.DEFAULT_PROFILE,
+                    helper.size, helper.random, helper.sourceTable, helper.columnInfo));
+        });
+    }
+
+    public void testRunConcurrently() throws InterruptedException {
+        final Scheduler.DelegatingImpl concurrentScheduler = new Scheduler.DelegatingImpl(
+                Executors.newSingleThreadExecutor(), Executors.newScheduledThreadPool(4), Clock.system());
+        try {
+            for (final int parallelism : new int[] {1, 2, 4, 8}) {
+                for (final int numJobs : new int[] {0, 1, 3, 100}) {
+                    final AtomicIntegerArray runCounts = new AtomicIntegerArray(numJobs);
+                    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+                    BarrageMessageProducer.runConcurrently(concurrentScheduler, parallelism, numJobs, jj -> {
+                        threads.add(Thread.currentThread());
+                        runCounts.incrementAndGet(jj);
+                    });
+                    // every job has completed, exactly once, by the time runConcurrently returns
+                    for (int jj = 0; jj < numJobs; ++jj) {
+                        assertEquals(1, runCounts.get(jj));
+                    }
+                    assertTrue(threads.size() <= Math.max(1, Math.min(parallelism, numJobs)));
+                }
+            }
+
+            // the calling thread runs the jobs that no helper has claimed, so it never waits on queued helpers
+            final CountDownLatch blockHelpers = new CountDownLatch(1);
+            final Scheduler.DelegatingImpl busyScheduler = new Scheduler.DelegatingImpl(
+                    Executors.newSingleThreadExecutor(), Executors.newScheduledThreadPool(1), Clock.system());
+            try {
+                busyScheduler.runImmediately(() -> {
+                    try {
+                        blockHelpers.await();
+                    } catch (final InterruptedException ignored) {
+                    }
+                });
+                final AtomicIntegerArray runCounts = new AtomicIntegerArray(10);
+                BarrageMessageProducer.runConcurrently(busyScheduler, 4, 10, runCounts::incrementAndGet);
+                for (int jj = 0; jj < 10; ++jj) {
+                    assertEquals(1, runCounts.get(jj));
+                }
+            } finally {
+                blockHelpers.countDown();
+                busyScheduler.shutdown();
+            }
+        } finally {
+            concurrentScheduler.shutdown();
+        }
+    }
+
+    public void testSlicedSnapshotConvergesWhileUpdating() {
+        final boolean oldSubscriptionGrowthEnabled = BarrageMessageProducer.subscriptionGrowthEnabled;
+        final long oldSlicedSnapshotCellThreshold = BarrageMessageProducer.slicedSnapshotCellThreshold;
+        final long oldInitialSnapshotSliceCellCount = BarrageMessageProducer.initialSnapshotSliceCellCount;
+        try {
+            BarrageMessageProducer.subscriptionGrowthEnabled = false;
+            // every subscription below is sliced, and the first slice holds only a handful of rows
+            BarrageMessageProducer.slicedSnapshotCellThreshold = 100;
+            BarrageMessageProducer.initialSnapshotSliceCellCount = 24;
+            for (final int size : new int[] {400, 4000}) {
+                for (int seed = 0; seed < 3; ++seed) {
+                    testSlicedSnapshotConvergesWhileUpdating(size, seed);
+                }
+            }
+        } finally {
+            BarrageMessageProducer.subscriptionGrowthEnabled = oldSubscriptionGrowthEnabled;
+            BarrageMessageProducer.slicedSnapshotCellThreshold = oldSlicedSnapshotCellThreshold;
+            BarrageMessageProducer.initialSnapshotSliceCellCount = oldInitialSnapshotSliceCellCount;
+        }
+    }
+
+    private void testSlicedSnapshotConvergesWhileUpdating(final int size, final int seed) {
+        final TestHelper helper = new SharedProducerForAllClients(1, 1, size, seed, new MutableInt(0)) {
+            @Override
+            public void createNuggets() {
+                createNuggetsForTableMaker(() -> sourceTable);
+            }
+
+            @Override
+            void createNuggetsForTableMaker(final Supplier<Table> makeTable) {
+                final RemoteNugget nugget = new RemoteNugget(makeTable);
+                nuggets.add(nugget);
+
+                final BitSet allColumns = new BitSet();
+                allColumns.set(0, nugget.originalTable.numColumns());
+                nugget.newClient(null, allColumns, "full");
+                nugget.newClient(RowSetFactory.fromRange(size / 20, size / 5), allColumns, "floating");
+            }
+        };
+        helper.createTable();
+        helper.createNuggets();
+        final RemoteNugget nugget = helper.nuggets.get(0);
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+
+        // the first slice is taken as soon as the clients subscribe
+        scheduler.runOne();
+        nugget.flushClientEvents();
+        updateGraph.runWithinUnitTestCycle(updateSourceCombiner::run);
+        assertTrue(nugget.clients.get(0).barrageTable.size() < helper.sourceTable.size());
+
+        // later slices are scheduled an update interval apart, so the source ticks between them
+        for (int step = 0; step < 20; ++step) {
+            updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateShiftAwareTableUpdates(
+                    GenerateTableUpdates.DEFAULT_PROFILE, helper.size, helper.random, helper.sourceTable,
+                    helper.columnInfo));
+            scheduler.runThrough(scheduler.currentTimeMillis() + UPDATE_INTERVAL / 2);
+            nugget.flushClientEvents();
+            updateGraph.runWithinUnitTestCycle(updateSourceCombiner::run);
+        }
+
+        // once the remaining slices have been taken, the clients match the source
+        flushProducerTable();
+        nugget.flushClientEvents();
+        updateGraph.runWithinUnitTestCycle(updateSourceCombiner::run);
+        nugget.validate("sliced snapshot");
+    }
+
     public void testAllUniqueChunkTypeColumnSourcesWithValidityBuffers() {
         testAllUniqueChunkTypeColumnSources(false);
     }
@@ -1284,6 +1572,26 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
         testAllUniqueChunkTypeColumnSources(true);
     }
 
+    public void testAllUniqueChunkTypeColumnSourcesWithLz4FrameCompression() {
+        testAllUniqueChunkTypeColumnSourcesWithBodyCompression(BodyCompressionCodec.LZ4_FRAME);
+    }
+
+    public void testAllUniqueChunkTypeColumnSourcesWithZstdCompression() {
+        testAllUniqueChunkTypeColumnSourcesWithBodyCompression(BodyCompressionCodec.ZSTD);
+    }
+
+    private void testAllUniqueChunkTypeColumnSourcesWithBodyCompression(final BodyCompressionCodec codec) {
+        final int oldMinCompressedBufferSize = BarrageStreamGeneratorImpl.minCompressedBufferSize;
+        try {
+            // compress the buffers of the small batches too, so that every column type is sent compressed
+            BarrageStreamGeneratorImpl.minCompressedBufferSize = 0;
+            bodyCompression = codec;
+            testAllUniqueChunkTypeColumnSources(false);
+        } finally {
+            BarrageStreamGeneratorImpl.minCompressedBufferSize = oldMinCompressedBufferSize;
+        }
+    }
+
     private void testAllUniqueChunkTypeColumnSources(final boolean useDeephavenNulls) {
         this.useDeephavenNulls = useDeephavenNulls;
 
@@ -1352,6 +1660,69 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
         testAllUniqueNonJavaSerRoundTripTypes(true);
     }
 
+    public void testAllUniqueNonJavaSerRoundTripTypesWithDictionaryEncoding() {
+        dictionaryEncodeStrings = true;
+        testAllUniqueNonJavaSerRoundTripTypes(false);
+    }
+
+    public void testDictionaryEncodingDeltasAndReplacements() {
+        dictionaryEncodeStrings = true;
+        final int oldMaxDictionarySize = BarrageDictionaries.maxDictionarySize;
+        try {
+            // symCol repeats and is dictionary encoded; idCol is unique and is sent unencoded
+            final QueryTable queryTable = TstUtils.testRefreshingTable(i(0, 1, 2, 3, 4, 5).toTracking(),
+                    col("symCol", "AAPL", "MSFT", "AAPL", "MSFT", null, "AAPL"),
+                    col("idCol", "id-000000", "id-000001", "id-000002", "id-000003", "id-000004", "id-000005"));
+            final BitSet allColumns = new BitSet();
+            allColumns.set(0, 2);
+            final RemoteNugget remoteNugget = new RemoteNugget(() -> queryTable);
+            remoteNugget.newClient(null, allColumns, "full");
+            propagateDictionaryTestStep(remoteNugget, "initial snapshot");
+
+            // modifications introduce values that are sent as a dictionary delta
+            final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+            updateGraph.runWithinUnitTestCycle(() -> {
+                TstUtils.addToTable(queryTable, i(1, 2),
+                        col("symCol", "GOOG", "GOOG"), col("idCol", "id-000001", "id-000002"));
+                queryTable.notifyListeners(new TableUpdateImpl(
+                        RowSetFactory.empty(), RowSetFactory.empty(), RowSetFactory.fromKeys(1, 2),
+                        RowSetShiftData.EMPTY, ModifiedColumnSet.ALL));
+            });
+            propagateDictionaryTestStep(remoteNugget, "modified with new value");
+
+            // the dictionary holds three values; two new values do not fit and replace it
+            BarrageDictionaries.maxDictionarySize = 4;
+            updateGraph.runWithinUnitTestCycle(() -> {
+                TstUtils.addToTable(queryTable, i(10, 11),
+                        col("symCol", "IBM", "TSLA"), col("idCol", "id-000010", "id-000011"));
+                queryTable.notifyListeners(new TableUpdateImpl(
+                        RowSetFactory.fromKeys(10, 11), RowSetFactory.empty(), RowSetFactory.empty(),
+                        RowSetShiftData.EMPTY, ModifiedColumnSet.EMPTY));
+            });
+            propagateDictionaryTestStep(remoteNugget, "added beyond dictionary size");
+
+            // a value sent before the replacement is sent again, as a delta to the replaced dictionary
+            updateGraph.runWithinUnitTestCycle(() -> {
+                TstUtils.addToTable(queryTable, i(0, 10),
+                        col("symCol", "MSFT", "AAPL"), col("idCol", "id-000000", "id-000010"));
+                queryTable.notifyListeners(new TableUpdateImpl(
+                        RowSetFactory.empty(), RowSetFactory.empty(), RowSetFactory.fromKeys(0, 10),
+                        RowSetShiftData.EMPTY, ModifiedColumnSet.ALL));
+            });
+            propagateDictionaryTestStep(remoteNugget, "modified after replacement");
+        } finally {
+            BarrageDictionaries.maxDictionarySize = oldMaxDictionarySize;
+        }
+    }
+
+    private void propagateDictionaryTestStep(final RemoteNugget remoteNugget, final String msg) {
+        flushProducerTable();
+        remoteNugget.flushClientEvents();
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(updateSourceCombiner::run);
+        remoteNugget.validate(msg);
+    }
+
     private void testAllUniqueNonJavaSerRoundTripTypes(final boolean useDeephavenNulls) {
         this.useDeephavenNulls = useDeephavenNulls;
 
@@ -1451,4 +1822,32 @@ public class BarrageMessageRoundTripTest extends RefreshingTableTestCase {
             completed = true;
         }
     }
+
+    public static class FlowControlledObserver extends DummyObserver
+            implements BarrageMessageProducer.FlowControlledListener {
+        private volatile boolean ready = true;
+        private volatile Runnable onReady;
+
+        FlowControlledObserver(final BarrageDataMarshaller marshaller, final Queue<BarrageMessage> receivedCommands) {
+            super(marshaller, receivedCommands);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(final Runnable onReady) {
+            this.onReady = onReady;
+        }
+
+        void setReady(final boolean ready) {
+            this.ready = ready;
+            final Runnable localOnReady = onReady;
+            if (ready && localOnReady != null) {
+                localOnReady.run();
+            }
+        }
+    }
 }
@@ -6,7 +6,9 @@ package io.deephaven.api.agg;
 import io.deephaven.api.ColumnName;
 import io.deephaven.api.Pair;
 import io.deephaven.api.agg.spec.AggSpec;
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecApproximatePercentile;
+import io.deephaven.api.agg.spec.AggSpecApproximateTopK;
 import io.deephaven.api.agg.spec.AggSpecCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecDistinct;
 import io.deephaven.api.agg.spec.AggSpecFormula;
@@ -140,6 +142,33 @@ public interface Aggregation {
         return of(AggSpec.absSum(), pairs);
     }
 
+    /**
+     * Create an {@link io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approximate count distinct}
+     * aggregation for the supplied column name pairs with the default HyperLogLog
+     * {@link AggSpecApproximateCountDistinct#precision() precision}. This will not count {@code null} values from the
+     * input column(s).
+     *
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxCountDistinct(String... pairs) {
+        return of(AggSpec.approximateCountDistinct(), pairs);
+    }
+
+    /**
+     * Create an {@link io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approximate count distinct}
+     * aggregation for the supplied HyperLogLog precision and column name pairs. This will not count {@code null} values
+     * from the input column(s).
+     *
+     * @param precision HyperLogLog {@link AggSpecApproximateCountDistinct#precision() precision}; the base-2 logarithm
+     *        of the number of registers per group
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxCountDistinct(int precision, String... pairs) {
+        return of(AggSpec.approximateCountDistinct(precision), pairs);
+    }
+
     /**
      * Create an {@link io.deephaven.api.agg.spec.AggSpecApproximatePercentile approximate percentile} aggregation for
      * the supplied percentile and column name pairs with the default T-Digest
@@ -203,6 +232,66 @@ public interface Aggregation {
         return of(aggFactory, inputColumn, percentileOutputs);
     }
 
+    /**
+     * Create an {@link io.deephaven.api.agg.spec.AggSpecApproximateTopK approximate top-K} aggregation for the supplied
+     * number of values and column name pairs, with the default sketch {@link AggSpecApproximateTopK#capacity()
+     * capacity}. Each output is a vector of the approximate {@code k} most frequent non-null values of its input, in
+     * descending order of frequency.
+     *
+     * @param k The maximum number of values to output
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxTopK(int k, String... pairs) {
+        return of(AggSpec.approximateTopK(k), pairs);
+    }
+
+    /**
+     * Create an {@link io.deephaven.api.agg.spec.AggSpecApproximateTopK approximate top-K} aggregation for the supplied
+     * number of values and column name pairs, with the default sketch {@link AggSpecApproximateTopK#capacity()
+     * capacity}. Each output is a vector of the estimated frequencies of the values output by
+     * {@link #AggApproxTopK(int, String...)} for the same input and {@code k}, in the same order.
+     *
+     * @param k The maximum number of frequencies to output
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxTopKCounts(int k, String... pairs) {
+        return of(AggSpecApproximateTopK.builder().k(k).counts(true).build(), pairs);
+    }
+
+    /**
+     * Create a weighted {@link io.deephaven.api.agg.spec.AggSpecApproximateTopK approximate top-K} aggregation for the
+     * supplied number of values, weight column name, and column name pairs, with the default sketch
+     * {@link AggSpecApproximateTopK#capacity() capacity}. Each output is a vector of the approximate {@code k} non-null
+     * values of its input with the largest sums of weights, in descending order of summed weight.
+     *
+     * @param k The maximum number of values to output
+     * @param weightColumn The {@link AggSpecApproximateTopK#weight() weight column name}
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxWTopK(int k, String weightColumn, String... pairs) {
+        return of(AggSpec.approximateTopK(k, weightColumn), pairs);
+    }
+
+    /**
+     * Create a weighted {@link io.deephaven.api.agg.spec.AggSpecApproximateTopK approximate top-K} aggregation for the
+     * supplied number of values, weight column name, and column name pairs, with the default sketch
+     * {@link AggSpecApproximateTopK#capacity() capacity}. Each output is a vector of the estimated summed weights of
+     * the values output by {@link #AggApproxWTopK(int, String, String...)} for the same input, weight column, and
+     * {@code k}, in the same order.
+     *
+     * @param k The maximum number of summed weights to output
+     * @param weightColumn The {@link AggSpecApproximateTopK#weight() weight column name}
+     * @param pairs The input/output column name pairs
+     * @return The aggregation
+     */
+    static Aggregation AggApproxWTopKCounts(int k, String weightColumn, String... pairs) {
+        return of(AggSpecApproximateTopK.builder().k(k).weight(ColumnName.of(weightColumn)).counts(true).build(),
+                pairs);
+    }
+
     /**
      * Create an {@link io.deephaven.api.agg.spec.AggSpecAvg average} (<i>arithmetic mean</i>) aggregation for the
      * supplied column name pairs.
@@ -40,6 +40,34 @@ public interface AggSpec {
         return AggSpecApproximatePercentile.of(percentile, compression);
     }
 
+    /**
+     * @return {@link AggSpecApproximateCountDistinct#of()}
+     */
+    static AggSpecApproximateCountDistinct approximateCountDistinct() {
+        return AggSpecApproximateCountDistinct.of();
+    }
+
+    /**
+     * @return {@link AggSpecApproximateCountDistinct#of(int)} for {@code precision}
+     */
+    static AggSpecApproximateCountDistinct approximateCountDistinct(int precision) {
+        return AggSpecApproximateCountDistinct.of(precision);
+    }
+
+    /**
+     * @return {@link AggSpecApproximateTopK#of(int)} for {@code k}
+     */
+    static AggSpecApproximateTopK approximateTopK(int k) {
+        return AggSpecApproximateTopK.of(k);
+    }
+
+    /**
+     * @return {@link AggSpecApproximateTopK#of(int, ColumnName)} for {@code k} and {@code weightColumn}
+     */
+    static AggSpecApproximateTopK approximateTopK(int k, String weightColumn) {
+        return AggSpecApproximateTopK.of(k, ColumnName.of(weightColumn));
+    }
+
     /**
      * @return {@link AggSpecAvg#of()}
      */
@@ -269,7 +297,9 @@ public interface AggSpec {
      */
     static void visitAll(Visitor visitor) {
         visitor.visit((AggSpecAbsSum) null);
+        visitor.visit((AggSpecApproximateCountDistinct) null);
         visitor.visit((AggSpecApproximatePercentile) null);
+        visitor.visit((AggSpecApproximateTopK) null);
         visitor.visit((AggSpecAvg) null);
         visitor.visit((AggSpecCountDistinct) null);
         visitor.visit((AggSpecDistinct) null);
@@ -341,8 +371,12 @@ public interface AggSpec {
     interface Visitor {
         void visit(AggSpecAbsSum absSum);
 
+        void visit(AggSpecApproximateCountDistinct approxCountDistinct);
+
         void visit(AggSpecApproximatePercentile approxPct);
 
+        void visit(AggSpecApproximateTopK approxTopK);
+
         void visit(AggSpecAvg avg);
 
         void visit(AggSpecCountDistinct countDistinct);
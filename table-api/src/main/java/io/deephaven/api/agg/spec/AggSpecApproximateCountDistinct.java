@@ -0,0 +1,84 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.api.agg.spec;
+
+import io.deephaven.annotations.SimpleStyle;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Parameter;
+
+import java.util.OptionalInt;
+
+/**
+ * Specifies an aggregation that outputs an estimate of the count of distinct non-null values for each group, using a
+ * HyperLogLog sketch with {@code 2^}{@link #precision() precision} registers per group.
+ *
+ * <p>
+ * Unlike {@link AggSpecCountDistinct}, the memory used per group is bounded by the sketch size regardless of the number
+ * of distinct values. The relative standard error of the estimate is approximately {@code 1.04 / sqrt(2^precision)}.
+ *
+ * <p>
+ * May only be used on static, add-only, or blink tables.
+ */
+@Immutable
+@SimpleStyle
+public abstract class AggSpecApproximateCountDistinct extends AggSpecBase {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    /**
+     * Create a new AggSpecApproximateCountDistinct with {@code precision} chosen by the server.
+     *
+     * @return the agg spec
+     */
+    public static AggSpecApproximateCountDistinct of() {
+        return ImmutableAggSpecApproximateCountDistinct.of(OptionalInt.empty());
+    }
+
+    /**
+     * Create a new AggSpecApproximateCountDistinct.
+     *
+     * @param precision the precision
+     * @return the agg spec
+     */
+    public static AggSpecApproximateCountDistinct of(int precision) {
+        return ImmutableAggSpecApproximateCountDistinct.of(OptionalInt.of(precision));
+    }
+
+    @Override
+    public final String description() {
+        if (precision().isPresent()) {
+            return String.format("approximate count distinct with precision %d", precision().getAsInt());
+        }
+        return "approximate count distinct with default precision";
+    }
+
+    /**
+     * HyperLogLog precision, the base-2 logarithm of the number of registers per group. Must be in the range
+     * [{@value MIN_PRECISION}, {@value MAX_PRECISION}].
+     *
+     * <p>
+     * When not specified, the server will choose a precision value.
+     *
+     * @return The HyperLogLog precision if specified
+     */
+    @Parameter
+    public abstract OptionalInt precision();
+
+    @Override
+    public final <V extends Visitor> V walk(V visitor) {
+        visitor.visit(this);
+        return visitor;
+    }
+
+    @Check
+    final void checkPrecision() {
+        if (precision().isPresent()
+                && (precision().getAsInt() < MIN_PRECISION || precision().getAsInt() > MAX_PRECISION)) {
+            throw new IllegalArgumentException(String.format("Precision must be in the range [%d, %d]",
+                    MIN_PRECISION, MAX_PRECISION));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.api.agg.spec;
+
+import io.deephaven.annotations.BuildableStyle;
+import io.deephaven.api.ColumnName;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Specifies an aggregation that outputs an array of the approximate {@link #k() k} most frequent non-null values for
+ * each group, in descending order of frequency, using a Space-Saving sketch that monitors at most
+ * {@link #capacity() capacity} values per group. When a {@link #weight() weight column} is specified, frequency is the
+ * sum of the weights rather than the number of occurrences.
+ *
+ * <p>
+ * If {@link #counts()} is {@code true}, the output is instead an array of the estimated frequencies of those values, in
+ * the same order. Estimates are never below the true frequency, and over-estimate it by at most the total frequency of
+ * the group divided by the capacity. Aggregations over the same input column with the same parameters always agree on
+ * the order of their outputs.
+ *
+ * <p>
+ * Outputs are Deephaven vectors (io.deephaven.vector.Vector), so the result may be {@code ungroup}ed.
+ *
+ * <p>
+ * May only be used on static, add-only, or blink tables.
+ */
+@Immutable
+@BuildableStyle
+public abstract class AggSpecApproximateTopK extends AggSpecBase {
+
+    public static final boolean COUNTS_DEFAULT = false;
+
+    public static Builder builder() {
+        return ImmutableAggSpecApproximateTopK.builder();
+    }
+
+    /**
+     * Create a new AggSpecApproximateTopK that outputs the {@code k} most frequent values, with {@code capacity} chosen
+     * by the server.
+     *
+     * @param k the number of values to output
+     * @return the agg spec
+     */
+    public static AggSpecApproximateTopK of(int k) {
+        return builder().k(k).build();
+    }
+
+    /**
+     * Create a new AggSpecApproximateTopK that outputs the {@code k} values with the largest sum of {@code weight},
+     * with {@code capacity} chosen by the server.
+     *
+     * @param k the number of values to output
+     * @param weight the weight column name
+     * @return the agg spec
+     */
+    public static AggSpecApproximateTopK of(int k, ColumnName weight) {
+        return builder().k(k).weight(weight).build();
+    }
+
+    @Override
+    public final String description() {
+        return String.format("approximate top %d %s%s with %s", k(), counts() ? "counts" : "values",
+                weight().map(w -> " weighted by " + w.name()).orElse(""),
+                capacity().isPresent() ? "capacity " + capacity().getAsInt() : "default capacity");
+    }
+
+    /**
+     * The maximum number of values to output for each group. Must be positive.
+     *
+     * @return The number of values to output
+     */
+    public abstract int k();
+
+    /**
+     * The maximum number of distinct values monitored by the sketch for each group. Must be greater than or equal to
+     * {@link #k() k}. Larger capacities improve accuracy at the cost of memory.
+     *
+     * <p>
+     * When not specified, the server will choose a capacity value.
+     *
+     * @return The sketch capacity if specified
+     */
+    public abstract OptionalInt capacity();
+
+    /**
+     * Column name for the source of input weights. Weights must be numeric; {@code null}, {@code NaN}, and non-positive
+     * weights are ignored.
+     *
+     * <p>
+     * When not specified, each value has weight one.
+     *
+     * @return The weight column name if specified
+     */
+    public abstract Optional<ColumnName> weight();
+
+    /**
+     * Whether to output the estimated frequencies of the most frequent values, rather than the values themselves.
+     * Frequencies are {@code long} when unweighted, and {@code double} when weighted.
+     *
+     * @return Whether to output frequencies
+     */
+    @Default
+    public boolean counts() {
+        return COUNTS_DEFAULT;
+    }
+
+    @Override
+    public final <V extends Visitor> V walk(V visitor) {
+        visitor.visit(this);
+        return visitor;
+    }
+
+    @Check
+    final void checkK() {
+        if (k() < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+    }
+
+    @Check
+    final void checkCapacity() {
+        if (capacity().isPresent() && capacity().getAsInt() < k()) {
+            throw new IllegalArgumentException("Capacity must be greater than or equal to k");
+        }
+    }
+
+    public interface Builder {
+        Builder k(int k);
+
+        Builder capacity(int capacity);
+
+        Builder weight(ColumnName weight);
+
+        Builder counts(boolean counts);
+
+        AggSpecApproximateTopK build();
+    }
+}
@@ -28,11 +28,23 @@ public class AggSpecColumnReferences implements AggSpec.Visitor {
         out = Collections.emptySet();
     }
 
+    @Override
+    public void visit(AggSpecApproximateCountDistinct approxCountDistinct) {
+        out = Collections.emptySet();
+    }
+
     @Override
     public void visit(AggSpecApproximatePercentile approxPct) {
         out = Collections.emptySet();
     }
 
+    @Override
+    public void visit(AggSpecApproximateTopK approxTopK) {
+        out = approxTopK.weight().isPresent()
+                ? Collections.singleton(approxTopK.weight().get())
+                : Collections.emptySet();
+    }
+
     @Override
     public void visit(AggSpecAvg avg) {
         out = Collections.emptySet();
@@ -0,0 +1,104 @@
+//
+// Copyright (c) 2016-2024 Deephaven Data Labs and Patent Pending
+//
+package io.deephaven.api.updateby.spec;
+
+import io.deephaven.annotations.BuildableStyle;
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Immutable;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+
+/**
+ * An {@link UpdateBySpec} for performing a windowed rolling estimate of the count of distinct non-null values, using a
+ * HyperLogLog sketch with {@code 2^}{@link #precision() precision} registers per bucket.
+ *
+ * <p>
+ * The relative standard error of the estimate is approximately {@code 1.04 / sqrt(2^precision)}, as for
+ * {@link AggSpecApproximateCountDistinct}.
+ */
+@Immutable
+@BuildableStyle
+public abstract class RollingApproximateCountDistinctSpec extends RollingOpSpec {
+
+    /**
+     * HyperLogLog precision, the base-2 logarithm of the number of registers per bucket. Must be in the range
+     * [{@value AggSpecApproximateCountDistinct#MIN_PRECISION}, {@value AggSpecApproximateCountDistinct#MAX_PRECISION}].
+     *
+     * <p>
+     * When not specified, the server will choose a precision value.
+     *
+     * @return The HyperLogLog precision if specified
+     */
+    public abstract OptionalInt precision();
+
+    public static RollingApproximateCountDistinctSpec ofTicks(long revTicks) {
+        return of(WindowScale.ofTicks(revTicks));
+    }
+
+    public static RollingApproximateCountDistinctSpec ofTicks(long revTicks, long fwdTicks) {
+        return of(WindowScale.ofTicks(revTicks), WindowScale.ofTicks(fwdTicks));
+    }
+
+    public static RollingApproximateCountDistinctSpec ofTime(final String timestampCol, Duration revDuration) {
+        return of(WindowScale.ofTime(timestampCol, revDuration));
+    }
+
+    public static RollingApproximateCountDistinctSpec ofTime(final String timestampCol, Duration revDuration,
+            Duration fwdDuration) {
+        return of(WindowScale.ofTime(timestampCol, revDuration),
+                WindowScale.ofTime(timestampCol, fwdDuration));
+    }
+
+    public static RollingApproximateCountDistinctSpec ofTime(final String timestampCol, long revDuration) {
+        return of(WindowScale.ofTime(timestampCol, revDuration));
+    }
+
+    public static RollingApproximateCountDistinctSpec ofTime(final String timestampCol, long revDuration,
+            long fwdDuration) {
+        return of(WindowScale.ofTime(timestampCol, revDuration),
+                WindowScale.ofTime(timestampCol, fwdDuration));
+    }
+
+    public static RollingApproximateCountDistinctSpec of(WindowScale revWindowScale) {
+        return ImmutableRollingApproximateCountDistinctSpec.builder().revWindowScale(revWindowScale).build();
+    }
+
+    public static RollingApproximateCountDistinctSpec of(WindowScale revWindowScale, WindowScale fwdWindowScale) {
+        return ImmutableRollingApproximateCountDistinctSpec.builder()
+                .revWindowScale(revWindowScale)
+                .fwdWindowScale(fwdWindowScale)
+                .build();
+    }
+
+    public static RollingApproximateCountDistinctSpec of(WindowScale revWindowScale, WindowScale fwdWindowScale,
+            int precision) {
+        return ImmutableRollingApproximateCountDistinctSpec.builder()
+                .revWindowScale(revWindowScale)
+                .fwdWindowScale(fwdWindowScale)
+                .precision(precision)
+                .build();
+    }
+
+    @Override
+    public final boolean applicableTo(Class<?> inputType) {
+        return true;
+    }
+
+    @Override
+    public final <T> T walk(Visitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Check
+    final void checkPrecision() {
+        if (precision().isPresent()
+                && (precision().getAsInt() < AggSpecApproximateCountDistinct.MIN_PRECISION
+                        || precision().getAsInt() > AggSpecApproximateCountDistinct.MAX_PRECISION)) {
+            throw new IllegalArgumentException(String.format("Precision must be in the range [%d, %d]",
+                    AggSpecApproximateCountDistinct.MIN_PRECISION, AggSpecApproximateCountDistinct.MAX_PRECISION));
+        }
+    }
+}
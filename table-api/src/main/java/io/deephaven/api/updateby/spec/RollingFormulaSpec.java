@@ -11,6 +11,14 @@ import java.time.Duration;
 
 /**
  * An {@link UpdateBySpec} for performing a windowed rolling formula operation.
+ * <p>
+ * A formula that is a single {@code sum}, {@code avg}, {@code std} or {@code count} of a numeric primitive column
+ * (or {@code min} or {@code max} of an integral column), such as {@code avg(x)}, is computed by the equivalent rolling
+ * operator ({@link RollingSumSpec}, {@link RollingAvgSpec}, {@link RollingStdSpec}, {@link RollingCountSpec} or
+ * {@link RollingMinMaxSpec}), which updates its result as values enter and leave the window rather than evaluating the
+ * formula over every window. Those operators accumulate in a different order than the formula functions, so results
+ * computed in floating point ({@code avg} and {@code std}, and {@code sum} of {@code float} and {@code double}
+ * columns) may differ from evaluating the formula in their low-order bits.
  */
 @Immutable
 @BuildableStyle
@@ -100,6 +100,8 @@ public interface UpdateBySpec {
         T visit(RollingWAvgSpec w);
 
         T visit(RollingFormulaSpec w);
+
+        T visit(RollingApproximateCountDistinctSpec spec);
     }
     // endregion
 }
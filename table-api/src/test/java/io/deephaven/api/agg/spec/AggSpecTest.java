@@ -41,11 +41,21 @@ public class AggSpecTest {
             ++count;
         }
 
+        @Override
+        public void visit(AggSpecApproximateCountDistinct approxCountDistinct) {
+            ++count;
+        }
+
         @Override
         public void visit(AggSpecApproximatePercentile approxPct) {
             ++count;
         }
 
+        @Override
+        public void visit(AggSpecApproximateTopK approxTopK) {
+            ++count;
+        }
+
         @Override
         public void visit(AggSpecAvg avg) {
             ++count;